@@ -0,0 +1,464 @@
+package hyminh.uth.domain.audit;
+
+import hyminh.uth.domain.codec.BinaryWriter;
+import hyminh.uth.domain.entity.Admin;
+import hyminh.uth.domain.exception.AuditLogException;
+import hyminh.uth.domain.time.BusinessClock;
+import hyminh.uth.domain.valueobject.AdminAction;
+import hyminh.uth.domain.valueobject.AuditEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only audit log of the operations admins perform.
+ *
+ * Recording an event puts it into a lock-free ring buffer and returns; it never waits for
+ * the disk. A background writer drains the buffer in batches, appends each batch to the
+ * current segment file and forces it to disk. The position an event got in the buffer is
+ * its sequence number, so events are numbered without a lock and in the order they were
+ * recorded. When a segment reaches its maximum size it is sealed with an index of its
+ * records per admin and per action, and a new segment is started.
+ *
+ * Queries such as "every DELETE_USER by admin X last week" skip the segments outside the
+ * time range, intersect the admin and action offset lists of the rest and read only the
+ * records those offsets point at, so they never replay the whole log. Opening a directory
+ * that already holds a log continues its sequence; a segment the process was writing when it
+ * stopped is scanned once and a torn record at its end is cut off.
+ *
+ * If the buffer is full, recording waits for the writer to make room. If the writer fails
+ * to write, recording throws {@link AuditLogException}, so privileged operations are not
+ * performed without an audit trail.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class AuditLog implements AutoCloseable {
+
+    /**
+     * Default number of events the ring buffer holds.
+     */
+    public static final int DEFAULT_CAPACITY = 8_192;
+
+    /**
+     * Default size at which a segment is sealed and a new one started.
+     */
+    public static final long DEFAULT_SEGMENT_SIZE = 16L * 1024 * 1024;
+
+    private static final int MAX_BATCH_SIZE = 4_096;
+    private static final int MAX_ID_LENGTH = 64;
+    private static final int MAX_OPERATION_LENGTH = 128;
+    private static final int MAX_TARGET_LENGTH = 256;
+
+    // Khoảng ngủ của worker khi rảnh, và của người ghi khi bộ đệm đầy
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Path directory;
+    private final long segmentSize;
+    private final AuditRingBuffer<Pending> ring;
+    private final long firstSequence;
+    private final List<AuditSegment> segments = new CopyOnWriteArrayList<>();
+    private volatile AuditSegment active;
+    private final Thread writer;
+
+    private final AtomicInteger submitting = new AtomicInteger();
+    private volatile boolean closed;
+    private volatile Throwable failure;
+
+    private final ReentrantLock progressLock = new ReentrantLock();
+    private final Condition progressed = progressLock.newCondition();
+    private volatile long written;
+
+    private final AtomicLong stalledCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+
+    /**
+     * Opens the audit log in a directory with the default capacity and segment size.
+     *
+     * @param directory the directory holding the segment files, created if missing
+     * @throws IllegalArgumentException if directory is null
+     * @throws AuditLogException if the existing log cannot be read or a new segment cannot be created
+     */
+    public AuditLog(Path directory) {
+        this(directory, DEFAULT_CAPACITY, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the audit log in a directory and starts its writer thread.
+     *
+     * @param directory the directory holding the segment files, created if missing
+     * @param capacity the number of events the ring buffer holds, a power of two
+     * @param segmentSize the size in bytes at which a segment is sealed, at most 1 GiB
+     * @throws IllegalArgumentException if directory is null, capacity is not a positive power
+     *                                  of two or segmentSize is out of range
+     * @throws AuditLogException if the existing log cannot be read or a new segment cannot be created
+     */
+    public AuditLog(Path directory, int capacity, long segmentSize) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Directory cannot be null");
+        }
+        if (segmentSize < 1024 || segmentSize > AuditSegment.MAX_SIZE) {
+            throw new IllegalArgumentException("Segment size must be between 1 KiB and 1 GiB");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.ring = new AuditRingBuffer<>(capacity);
+        long lastSequence = 0;
+        int nextNumber = 1;
+        try {
+            Files.createDirectories(directory);
+            for (int number : AuditSegment.list(directory)) {
+                AuditSegment segment = AuditSegment.open(directory, number);
+                if (segment.count() == 0) {
+                    segment.delete();
+                    continue;
+                }
+                segments.add(segment);
+                lastSequence = Math.max(lastSequence, segment.lastSequence());
+                nextNumber = number + 1;
+            }
+            this.active = AuditSegment.create(directory, nextNumber);
+        } catch (IOException e) {
+            throw new AuditLogException("Failed to open audit log in " + directory, e);
+        }
+        this.firstSequence = lastSequence + 1;
+        this.writer = Thread.ofPlatform().name("audit-log-writer").daemon().start(this::drain);
+    }
+
+    /**
+     * Checks whether an admin may perform an action and records the attempt, allowed or not.
+     *
+     * @param admin the admin
+     * @param action the permission the operation requires
+     * @param operation the name of the operation, such as DELETE_USER
+     * @param target the ID of the object the operation applies to, may be null
+     * @return true if the admin holds the permission, false otherwise
+     * @throws IllegalArgumentException if admin, action or operation is null or invalid
+     * @throws IllegalStateException if the log is closed
+     * @throws AuditLogException if the writer has failed
+     */
+    public boolean authorize(Admin admin, AdminAction action, String operation, String target) {
+        if (admin == null) {
+            throw new IllegalArgumentException("Admin cannot be null");
+        }
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        boolean allowed = admin.canPerformAction(action);
+        record(admin.getUserId(), action, operation, target, allowed);
+        return allowed;
+    }
+
+    /**
+     * Records an operation at the current business time.
+     *
+     * @param adminId the user ID of the admin
+     * @param action the permission the operation required
+     * @param operation the name of the operation, such as DELETE_USER
+     * @param target the ID of the object the operation applied to, may be null
+     * @param allowed whether the operation was allowed
+     * @throws IllegalArgumentException if adminId, action or operation is null, empty or too long
+     * @throws IllegalStateException if the log is closed
+     * @throws AuditLogException if the writer has failed
+     */
+    public void record(String adminId, AdminAction action, String operation, String target, boolean allowed) {
+        validate(adminId, action, operation, target);
+        Pending event = new Pending(BusinessClock.now(), adminId, action, operation, target, allowed);
+        submitting.incrementAndGet();
+        try {
+            ensureOpen();
+            if (ring.offer(event) >= 0) {
+                return;
+            }
+            stalledCount.incrementAndGet();
+            do {
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+                ensureHealthy();
+            } while (ring.offer(event) < 0);
+        } finally {
+            submitting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Waits until every event recorded before this call is on disk.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     * @throws AuditLogException if the writer failed before writing them
+     */
+    public void flush() throws InterruptedException {
+        long target = ring.claimed();
+        LockSupport.unpark(writer);
+        progressLock.lock();
+        try {
+            while (written < target && writer.isAlive() && failure == null) {
+                progressed.await(IDLE_PARK_NANOS, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            progressLock.unlock();
+        }
+        if (written < target) {
+            ensureHealthy();
+            throw new AuditLogException("Audit log writer stopped before writing all events");
+        }
+    }
+
+    /**
+     * Finds the events of one admin and action within a time range.
+     *
+     * @see #find(String, AdminAction, String, LocalDateTime, LocalDateTime)
+     */
+    public List<AuditEvent> find(String adminId, AdminAction action, LocalDateTime from, LocalDateTime to) {
+        return find(adminId, action, null, from, to);
+    }
+
+    /**
+     * Finds the written events that match every given filter, in sequence order. Events still
+     * in the ring buffer are not included; call {@link #flush()} first to see them.
+     *
+     * @param adminId the admin ID, or null for any admin
+     * @param action the action, or null for any action
+     * @param operation the operation name, or null for any operation
+     * @param from the earliest timestamp, inclusive
+     * @param to the latest timestamp, inclusive
+     * @return the matching events
+     * @throws IllegalArgumentException if from or to is null, or from is after to
+     * @throws AuditLogException if a segment cannot be read
+     */
+    public List<AuditEvent> find(String adminId, AdminAction action, String operation,
+                                 LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Time range cannot be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start of range cannot be after its end");
+        }
+        long fromNanos = AuditSegment.toEpochNanos(from);
+        long toNanos = AuditSegment.toEpochNanos(to);
+        List<AuditEvent> events = new ArrayList<>();
+        try {
+            for (AuditSegment segment : snapshot()) {
+                for (AuditEvent event : segment.find(adminId, action, fromNanos, toNanos)) {
+                    if (operation == null || operation.equals(event.getOperation())) {
+                        events.add(event);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new AuditLogException("Failed to read audit log in " + directory, e);
+        }
+        return events;
+    }
+
+    /**
+     * Stops accepting events, writes every recorded event, seals the current segment and
+     * stops the writer thread.
+     *
+     * @throws AuditLogException if the writer failed
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        boolean interrupted = false;
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        ensureHealthy();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns the number of segment files, including the one being written.
+     */
+    public int getSegmentCount() {
+        return snapshot().size();
+    }
+
+    /**
+     * Returns the sequence number the next recorded event will get.
+     */
+    public long getNextSequence() {
+        return firstSequence + ring.claimed();
+    }
+
+    // Getters
+    public long getRecordedCount() { return ring.claimed(); }
+    public long getWrittenCount() { return written; }
+    public long getStalledCount() { return stalledCount.get(); }
+    public long getBatchCount() { return batchCount.get(); }
+
+    // ========== WRITER ==========
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        List<AuditSegment.Appended> appended = new ArrayList<>(MAX_BATCH_SIZE);
+        BinaryWriter out = new BinaryWriter(64 * 1024);
+        BinaryWriter body = new BinaryWriter(512);
+        CRC32 crc = new CRC32();
+        try {
+            while (true) {
+                if (ring.drain(batch::add, MAX_BATCH_SIZE) == 0) {
+                    if (closed && submitting.get() == 0 && ring.claimed() == ring.drained()) {
+                        finish();
+                        return;
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                long sequence = firstSequence + written;
+                for (Pending event : batch) {
+                    int start = out.size();
+                    AuditSegment.encode(out, body, crc, sequence, event.timestamp, event.adminId, event.action,
+                            event.operation, event.target, event.allowed);
+                    if (active.size() + out.size() > segmentSize && (active.count() > 0 || start > 0)) {
+                        // Bản ghi này làm segment vượt kích thước: ghi phần trước nó rồi sang segment mới
+                        byte[] bytes = out.toByteArray();
+                        out.reset();
+                        if (start > 0) {
+                            active.append(bytes, start, appended);
+                            appended.clear();
+                        }
+                        roll();
+                        out.writeBytes(bytes, start, bytes.length - start);
+                        start = 0;
+                    }
+                    appended.add(new AuditSegment.Appended((int) (active.size() + start), sequence,
+                            event.timestamp, event.adminId, event.action));
+                    sequence++;
+                }
+                active.append(out.toByteArray(), out.size(), appended);
+                out.reset();
+                appended.clear();
+                publish(batch.size());
+                batch.clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            signalProgress();
+        }
+    }
+
+    private void finish() throws IOException {
+        if (active.count() > 0) {
+            active.seal();
+            segments.add(active);
+        } else {
+            active.delete();
+        }
+    }
+
+    private void roll() throws IOException {
+        AuditSegment sealed = active;
+        sealed.seal();
+        segments.add(sealed);
+        active = AuditSegment.create(directory, sealed.number() + 1);
+    }
+
+    private void publish(int count) {
+        batchCount.incrementAndGet();
+        progressLock.lock();
+        try {
+            written += count;
+            progressed.signalAll();
+        } finally {
+            progressLock.unlock();
+        }
+    }
+
+    private void signalProgress() {
+        progressLock.lock();
+        try {
+            progressed.signalAll();
+        } finally {
+            progressLock.unlock();
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private List<AuditSegment> snapshot() {
+        // Đọc active trước: nếu worker vừa niêm phong nó thì nó đã nằm trong danh sách
+        AuditSegment current = active;
+        List<AuditSegment> all = new ArrayList<>(segments);
+        if (!all.contains(current) && current.count() > 0) {
+            all.add(current);
+        }
+        return all;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Audit log is closed");
+        }
+        ensureHealthy();
+    }
+
+    private void ensureHealthy() {
+        Throwable cause = failure;
+        if (cause != null) {
+            throw new AuditLogException("Audit log writer failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static void validate(String adminId, AdminAction action, String operation, String target) {
+        if (adminId == null || adminId.trim().isEmpty() || adminId.length() > MAX_ID_LENGTH) {
+            throw new IllegalArgumentException("Admin ID must be between 1 and " + MAX_ID_LENGTH + " characters");
+        }
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        if (operation == null || operation.trim().isEmpty() || operation.length() > MAX_OPERATION_LENGTH) {
+            throw new IllegalArgumentException("Operation must be between 1 and " + MAX_OPERATION_LENGTH
+                    + " characters");
+        }
+        if (target != null && target.length() > MAX_TARGET_LENGTH) {
+            throw new IllegalArgumentException("Target cannot be longer than " + MAX_TARGET_LENGTH + " characters");
+        }
+    }
+
+    /**
+     * An event waiting in the ring buffer; it gets its sequence number when written.
+     */
+    private static final class Pending {
+        final LocalDateTime timestamp;
+        final String adminId;
+        final AdminAction action;
+        final String operation;
+        final String target;
+        final boolean allowed;
+
+        Pending(LocalDateTime timestamp, String adminId, AdminAction action, String operation,
+                String target, boolean allowed) {
+            this.timestamp = timestamp;
+            this.adminId = adminId;
+            this.action = action;
+            this.operation = operation;
+            this.target = target;
+            this.allowed = allowed;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package hyminh.uth.domain.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue for many producers and one consumer.
+ *
+ * Every slot carries a sequence number that says whose turn it is: a producer claims position
+ * p by moving the tail from p to p + 1 with one compare-and-set when the slot's sequence is p,
+ * stores its element and publishes it by setting the sequence to p + 1. The consumer takes
+ * the element at the head once the sequence shows it was published and hands the slot to the
+ * next lap by setting the sequence to head + capacity. Producers never wait for each other
+ * beyond a failed compare-and-set, and a full buffer is reported instead of waited on.
+ *
+ * Positions are claimed in order, so the position of an element is also its rank among all
+ * elements ever offered, which the audit log uses as sequence number.
+ *
+ * @param <E> the element type
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class AuditRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    /**
+     * Constructs an empty buffer.
+     *
+     * @param capacity the number of slots, a power of two
+     * @throws IllegalArgumentException if capacity is not a positive power of two
+     */
+    AuditRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two");
+        }
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element if there is room.
+     *
+     * @param element the element
+     * @return the position of the element, or -1 if the buffer is full
+     */
+    long offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int slot = (int) position & mask;
+            long sequence = sequences.get(slot);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(slot, element);
+                    sequences.set(slot, position + 1);
+                    return position;
+                }
+            } else if (sequence < position) {
+                return -1;
+            }
+            // Another producer claimed the position first; read the new tail and try again
+        }
+    }
+
+    /**
+     * Removes up to max published elements in order. Only one thread may drain.
+     *
+     * @param consumer receives the elements
+     * @param max the maximum number of elements to remove
+     * @return the number of elements removed
+     */
+    int drain(Consumer<E> consumer, int max) {
+        long position = head;
+        int count = 0;
+        while (count < max) {
+            int slot = (int) position & mask;
+            if (sequences.get(slot) != position + 1) {
+                break;
+            }
+            E element = elements.get(slot);
+            elements.lazySet(slot, null);
+            sequences.set(slot, position + mask + 1);
+            position++;
+            count++;
+            consumer.accept(element);
+        }
+        head = position;
+        return count;
+    }
+
+    /**
+     * Returns the number of positions claimed so far, including elements not yet published.
+     */
+    long claimed() {
+        return tail.get();
+    }
+
+    /**
+     * Returns the number of elements drained so far.
+     */
+    long drained() {
+        return head;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,597 @@
+package hyminh.uth.domain.audit;
+
+import hyminh.uth.domain.codec.BinaryReader;
+import hyminh.uth.domain.codec.BinaryWriter;
+import hyminh.uth.domain.exception.AuditLogException;
+import hyminh.uth.domain.exception.SnapshotFormatException;
+import hyminh.uth.domain.valueobject.AdminAction;
+import hyminh.uth.domain.valueobject.AuditEvent;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * One append-only file of the audit log and its index.
+ *
+ * The log file holds a header with the action names used by its records, followed by the
+ * records:
+ * <pre>
+ * "GYMA", varint version, varint n, n action names     header
+ * (varint length, body, varlong CRC-32 of body)*       records
+ * </pre>
+ * A body holds the sequence, timestamp, admin ID, action (index into the header names),
+ * operation, target and whether the action was allowed.
+ *
+ * While a segment is written, the offsets of its records are kept in memory per admin and
+ * per action, together with the sequence and time range of the segment. Sealing writes that
+ * index next to the log ({@code .idx}), so reopening the log reads a few compact offset
+ * lists instead of every record, and a query only reads the records whose offsets match.
+ * A segment without a valid index, such as the one being written when the process stopped,
+ * is scanned once on open; a torn record at its end is cut off.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class AuditSegment {
+
+    /**
+     * Largest segment size, so that record offsets fit in an int.
+     */
+    static final long MAX_SIZE = 1L << 30;
+
+    private static final String PREFIX = "audit-";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final byte[] LOG_MAGIC = {'G', 'Y', 'M', 'A'};
+    private static final byte[] INDEX_MAGIC = {'G', 'Y', 'M', 'I'};
+    private static final int FORMAT_VERSION = 1;
+    private static final AdminAction[] ACTIONS = AdminAction.values();
+    private static final int FIRST_READ = 512;
+
+    private final int number;
+    private final Path logPath;
+    private final Path indexPath;
+    private AdminAction[] dictionary = ACTIONS;
+    private FileChannel channel;
+
+    // Chỉ mục; worker ghi, truy vấn đọc bản sao dưới khoá của segment
+    private long size;
+    private int count;
+    private long firstSequence;
+    private long lastSequence;
+    private long minNanos = Long.MAX_VALUE;
+    private long maxNanos = Long.MIN_VALUE;
+    private final Map<String, OffsetList> byAdmin = new HashMap<>();
+    private final OffsetList[] byAction = new OffsetList[ACTIONS.length];
+
+    private AuditSegment(Path directory, int number) {
+        this.number = number;
+        this.logPath = directory.resolve(String.format("%s%08d%s", PREFIX, number, LOG_SUFFIX));
+        this.indexPath = directory.resolve(String.format("%s%08d%s", PREFIX, number, INDEX_SUFFIX));
+    }
+
+    /**
+     * Creates a new empty segment and opens it for appending.
+     */
+    static AuditSegment create(Path directory, int number) throws IOException {
+        AuditSegment segment = new AuditSegment(directory, number);
+        BinaryWriter header = new BinaryWriter(128);
+        header.writeBytes(LOG_MAGIC, 0, LOG_MAGIC.length);
+        header.writeVarInt(FORMAT_VERSION);
+        header.writeVarInt(ACTIONS.length);
+        for (AdminAction action : ACTIONS) {
+            header.writeString(action.name());
+        }
+        segment.channel = FileChannel.open(segment.logPath, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE, StandardOpenOption.READ);
+        writeFully(segment.channel, header.toByteArray(), header.size());
+        segment.channel.force(true);
+        segment.size = header.size();
+        return segment;
+    }
+
+    /**
+     * Opens an existing, sealed segment, rebuilding and sealing its index if it has none.
+     */
+    static AuditSegment open(Path directory, int number) throws IOException {
+        AuditSegment segment = new AuditSegment(directory, number);
+        if (!segment.loadIndex()) {
+            segment.recover();
+            segment.writeIndex();
+        }
+        return segment;
+    }
+
+    /**
+     * Returns the numbers of the segments in a directory, oldest first.
+     */
+    static int[] list(Path directory) throws IOException {
+        List<Integer> numbers = new ArrayList<>();
+        try (var files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                 .filter(name -> name.startsWith(PREFIX) && name.endsWith(LOG_SUFFIX))
+                 .forEach(name -> {
+                     String digits = name.substring(PREFIX.length(), name.length() - LOG_SUFFIX.length());
+                     if (!digits.isEmpty() && digits.chars().allMatch(Character::isDigit)) {
+                         numbers.add(Integer.parseInt(digits));
+                     }
+                 });
+        }
+        return numbers.stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    // ========== WRITING ==========
+
+    /**
+     * Encodes a record into a batch that will be appended at the given segment offset.
+     */
+    static void encode(BinaryWriter batch, BinaryWriter body, CRC32 crc, long sequence, LocalDateTime timestamp,
+                       String adminId, AdminAction action, String operation, String target, boolean allowed) {
+        body.reset();
+        body.writeVarLong(sequence);
+        body.writeDateTime(timestamp);
+        body.writeString(adminId);
+        body.writeVarInt(action.ordinal());
+        body.writeString(operation);
+        body.writeString(target);
+        body.writeBoolean(allowed);
+        byte[] bytes = body.toByteArray();
+        crc.reset();
+        crc.update(bytes);
+        batch.writeVarInt(bytes.length);
+        batch.writeBytes(bytes, 0, bytes.length);
+        batch.writeVarLong(crc.getValue());
+    }
+
+    /**
+     * Appends an encoded batch, forces it to disk and adds its records to the index.
+     */
+    void append(byte[] batch, int length, List<Appended> records) throws IOException {
+        writeFully(channel, batch, length);
+        channel.force(false);
+        synchronized (this) {
+            for (Appended record : records) {
+                add(record.offset, record.sequence, toEpochNanos(record.timestamp), record.adminId,
+                        record.action.ordinal());
+            }
+            size += length;
+        }
+    }
+
+    /**
+     * Closes the file and writes the index, after which the segment is read-only.
+     */
+    void seal() throws IOException {
+        if (channel != null) {
+            channel.force(true);
+            channel.close();
+            channel = null;
+        }
+        writeIndex();
+    }
+
+    /**
+     * Closes the file and deletes a segment without records.
+     */
+    void delete() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+        Files.deleteIfExists(logPath);
+        Files.deleteIfExists(indexPath);
+    }
+
+    // ========== READING ==========
+
+    /**
+     * Finds the records of the segment that match the filters, in log order.
+     *
+     * @param adminId the admin ID, or null for any
+     * @param action the action, or null for any
+     * @param fromNanos the earliest timestamp as epoch nanoseconds
+     * @param toNanos the latest timestamp as epoch nanoseconds
+     */
+    List<AuditEvent> find(String adminId, AdminAction action, long fromNanos, long toNanos) throws IOException {
+        int[] offsets = null;
+        long limit;
+        synchronized (this) {
+            if (count == 0 || maxNanos < fromNanos || minNanos > toNanos) {
+                return List.of();
+            }
+            limit = size;
+            if (adminId != null) {
+                OffsetList list = byAdmin.get(adminId);
+                if (list == null) {
+                    return List.of();
+                }
+                offsets = list.toArray();
+            }
+            if (action != null) {
+                OffsetList list = byAction[action.ordinal()];
+                if (list == null) {
+                    return List.of();
+                }
+                offsets = offsets == null ? list.toArray() : intersect(offsets, list.toArray());
+            }
+        }
+        List<AuditEvent> events = new ArrayList<>();
+        try (FileChannel reader = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            if (offsets == null) {
+                byte[] bytes = readRange(reader, 0, (int) limit);
+                BinaryReader in = new BinaryReader(bytes);
+                int position = readHeader(in);
+                while (position < limit) {
+                    in.reset(bytes, position, (int) limit - position);
+                    AuditEvent event = decode(in, bytes);
+                    position = in.position();
+                    addIfInRange(events, event, fromNanos, toNanos);
+                }
+            } else {
+                for (int offset : offsets) {
+                    addIfInRange(events, readAt(reader, offset), fromNanos, toNanos);
+                }
+            }
+        } catch (SnapshotFormatException e) {
+            throw new AuditLogException("Corrupt audit segment " + logPath.getFileName() + ": " + e.getMessage(), e);
+        }
+        return events;
+    }
+
+    private AuditEvent readAt(FileChannel reader, int offset) throws IOException {
+        byte[] bytes = readRange(reader, offset, FIRST_READ);
+        BinaryReader in = new BinaryReader(bytes);
+        int length = in.readVarInt();
+        int needed = in.position() + length + 10;
+        if (needed > bytes.length) {
+            bytes = readRange(reader, offset, needed);
+            in = new BinaryReader(bytes);
+        }
+        in.reset(bytes, 0, bytes.length);
+        return decode(in, bytes);
+    }
+
+    /**
+     * Decodes the record at the reader position and checks its CRC.
+     */
+    private AuditEvent decode(BinaryReader in, byte[] bytes) {
+        int length = in.readVarInt();
+        int start = in.position();
+        in.skip(length);
+        long expected = in.readVarLong();
+        int end = in.position();
+        CRC32 crc = new CRC32();
+        crc.update(bytes, start, length);
+        if (crc.getValue() != expected) {
+            throw new SnapshotFormatException("Record checksum mismatch at offset " + start);
+        }
+        in.reset(bytes, start, length);
+        long sequence = in.readVarLong();
+        LocalDateTime timestamp = in.readDateTime();
+        String adminId = in.readString();
+        int action = in.readVarInt();
+        if (action >= dictionary.length) {
+            throw new SnapshotFormatException("Unknown action index " + action);
+        }
+        String operation = in.readString();
+        String target = in.readString();
+        boolean allowed = in.readBoolean();
+        in.reset(bytes, end, bytes.length - end);
+        try {
+            return new AuditEvent(sequence, timestamp, adminId, dictionary[action], operation, target, allowed);
+        } catch (IllegalArgumentException e) {
+            throw new SnapshotFormatException("Invalid audit record: " + e.getMessage(), e);
+        }
+    }
+
+    // ========== INDEX ==========
+
+    private void add(int offset, long sequence, long nanos, String adminId, int action) {
+        if (count == 0) {
+            firstSequence = sequence;
+        }
+        count++;
+        lastSequence = sequence;
+        minNanos = Math.min(minNanos, nanos);
+        maxNanos = Math.max(maxNanos, nanos);
+        byAdmin.computeIfAbsent(adminId, id -> new OffsetList()).add(offset);
+        if (byAction[action] == null) {
+            byAction[action] = new OffsetList();
+        }
+        byAction[action].add(offset);
+    }
+
+    /**
+     * Scans the log, rebuilding the index and cutting off a torn or corrupt tail.
+     */
+    private void recover() throws IOException {
+        try (FileChannel file = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long fileSize = file.size();
+            if (fileSize > MAX_SIZE) {
+                throw new AuditLogException("Audit segment too large: " + logPath.getFileName());
+            }
+            byte[] bytes = readRange(file, 0, (int) fileSize);
+            BinaryReader in = new BinaryReader(bytes);
+            int position;
+            try {
+                position = readHeader(in);
+            } catch (SnapshotFormatException e) {
+                throw new AuditLogException("Corrupt audit segment header: " + logPath.getFileName(), e);
+            }
+            while (position < bytes.length) {
+                try {
+                    in.reset(bytes, position, bytes.length - position);
+                    AuditEvent event = decode(in, bytes);
+                    add(position, event.getSequence(), toEpochNanos(event.getTimestamp()), event.getAdminId(),
+                            event.getAction().ordinal());
+                    position = in.position();
+                } catch (SnapshotFormatException e) {
+                    // Bản ghi ghi dở khi tiến trình dừng: cắt bỏ từ đây
+                    break;
+                }
+            }
+            if (position < fileSize) {
+                file.truncate(position);
+                file.force(true);
+            }
+            size = position;
+        }
+    }
+
+    private boolean loadIndex() throws IOException {
+        if (!Files.exists(indexPath)) {
+            return false;
+        }
+        byte[] bytes = Files.readAllBytes(indexPath);
+        try {
+            BinaryReader in = new BinaryReader(bytes);
+            for (byte magic : INDEX_MAGIC) {
+                if (in.readByte() != (magic & 0xFF)) {
+                    return false;
+                }
+            }
+            if (in.readVarInt() != FORMAT_VERSION) {
+                return false;
+            }
+            long indexedSize = in.readVarLong();
+            if (indexedSize != Files.size(logPath)) {
+                return false;
+            }
+            firstSequence = in.readVarLong();
+            lastSequence = in.readVarLong();
+            count = in.readVarInt();
+            minNanos = in.readSignedVarLong();
+            maxNanos = in.readSignedVarLong();
+            int admins = in.readCount();
+            for (int i = 0; i < admins; i++) {
+                String adminId = in.readString();
+                byAdmin.put(adminId, OffsetList.read(in));
+            }
+            int actions = in.readCount();
+            for (int i = 0; i < actions; i++) {
+                AdminAction action = actionOf(in.readString());
+                byAction[action.ordinal()] = OffsetList.read(in);
+            }
+            int end = in.position();
+            long expected = in.readVarLong();
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, end);
+            if (crc.getValue() != expected) {
+                return false;
+            }
+            size = indexedSize;
+        } catch (SnapshotFormatException e) {
+            byAdmin.clear();
+            Arrays.fill(byAction, null);
+            count = 0;
+            minNanos = Long.MAX_VALUE;
+            maxNanos = Long.MIN_VALUE;
+            return false;
+        }
+        try (FileChannel file = FileChannel.open(logPath, StandardOpenOption.READ)) {
+            readHeader(new BinaryReader(readRange(file, 0, (int) Math.min(size, FIRST_READ))));
+        } catch (SnapshotFormatException e) {
+            throw new AuditLogException("Corrupt audit segment header: " + logPath.getFileName(), e);
+        }
+        return true;
+    }
+
+    private synchronized void writeIndex() throws IOException {
+        BinaryWriter out = new BinaryWriter(1024);
+        out.writeBytes(INDEX_MAGIC, 0, INDEX_MAGIC.length);
+        out.writeVarInt(FORMAT_VERSION);
+        out.writeVarLong(size);
+        out.writeVarLong(firstSequence);
+        out.writeVarLong(lastSequence);
+        out.writeVarInt(count);
+        out.writeSignedVarLong(minNanos);
+        out.writeSignedVarLong(maxNanos);
+        out.writeVarInt(byAdmin.size());
+        for (Map.Entry<String, OffsetList> entry : byAdmin.entrySet()) {
+            out.writeString(entry.getKey());
+            entry.getValue().write(out);
+        }
+        int actions = 0;
+        for (OffsetList list : byAction) {
+            actions += list == null ? 0 : 1;
+        }
+        out.writeVarInt(actions);
+        for (int i = 0; i < byAction.length; i++) {
+            if (byAction[i] != null) {
+                out.writeString(ACTIONS[i].name());
+                byAction[i].write(out);
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(out.toByteArray());
+        out.writeVarLong(crc.getValue());
+
+        Path temporary = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try (FileChannel file = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(file, out.toByteArray(), out.size());
+            file.force(true);
+        }
+        Files.move(temporary, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    /**
+     * Reads the log header, keeping its action names, and returns the offset of the first record.
+     */
+    private int readHeader(BinaryReader in) {
+        for (byte magic : LOG_MAGIC) {
+            if (in.readByte() != (magic & 0xFF)) {
+                throw new SnapshotFormatException("Not an audit segment");
+            }
+        }
+        int version = in.readVarInt();
+        if (version > FORMAT_VERSION) {
+            throw new SnapshotFormatException("Unsupported audit segment version " + version);
+        }
+        int names = in.readCount();
+        AdminAction[] actions = new AdminAction[names];
+        for (int i = 0; i < names; i++) {
+            actions[i] = actionOf(in.readString());
+        }
+        dictionary = actions;
+        return in.position();
+    }
+
+    /**
+     * Resolves a stored action name, reporting a renamed or corrupt one as a format error.
+     */
+    private static AdminAction actionOf(String name) {
+        try {
+            return AdminAction.valueOf(name);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new SnapshotFormatException("Unknown admin action " + name, e);
+        }
+    }
+
+    private static void addIfInRange(List<AuditEvent> events, AuditEvent event, long fromNanos, long toNanos) {
+        long nanos = toEpochNanos(event.getTimestamp());
+        if (nanos >= fromNanos && nanos <= toNanos) {
+            events.add(event);
+        }
+    }
+
+    static long toEpochNanos(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + timestamp.getNano();
+    }
+
+    private static int[] intersect(int[] first, int[] second) {
+        int[] result = new int[Math.min(first.length, second.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[n++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private static byte[] readRange(FileChannel file, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(0, Math.min(length, file.size() - position)));
+        while (buffer.hasRemaining()) {
+            if (file.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    private static void writeFully(FileChannel file, byte[] bytes, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, length);
+        while (buffer.hasRemaining()) {
+            file.write(buffer);
+        }
+    }
+
+    // Getters
+    int number() { return number; }
+    synchronized long size() { return size; }
+    synchronized int count() { return count; }
+    synchronized long lastSequence() { return lastSequence; }
+
+    /**
+     * A record appended by the writer, waiting to be added to the index.
+     */
+    static final class Appended {
+        final int offset;
+        final long sequence;
+        final LocalDateTime timestamp;
+        final String adminId;
+        final AdminAction action;
+
+        Appended(int offset, long sequence, LocalDateTime timestamp, String adminId, AdminAction action) {
+            this.offset = offset;
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+            this.adminId = adminId;
+            this.action = action;
+        }
+    }
+
+    /**
+     * Growable list of ascending record offsets, stored on disk as varint deltas.
+     */
+    private static final class OffsetList {
+        private int[] offsets = new int[8];
+        private int size;
+
+        void add(int offset) {
+            if (size == offsets.length) {
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            offsets[size++] = offset;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(offsets, size);
+        }
+
+        void write(BinaryWriter out) {
+            out.writeVarInt(size);
+            int previous = 0;
+            for (int i = 0; i < size; i++) {
+                out.writeVarInt(offsets[i] - previous);
+                previous = offsets[i];
+            }
+        }
+
+        static OffsetList read(BinaryReader in) {
+            OffsetList list = new OffsetList();
+            int size = in.readCount();
+            list.offsets = new int[Math.max(size, 1)];
+            int offset = 0;
+            for (int i = 0; i < size; i++) {
+                offset += in.readVarInt();
+                list.offsets[i] = offset;
+            }
+            list.size = size;
+            return list;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package hyminh.uth.domain.codec;
+
+import hyminh.uth.domain.exception.SnapshotFormatException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Reads the encodings written by {@link BinaryWriter} from a slice of a byte array.
+ * The reader does not copy its input and can be pointed at a new slice with
+ * {@link #reset(byte[], int, int)}, so one instance serves a whole snapshot.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class BinaryReader {
+
+    private byte[] buffer;
+    private int position;
+    private int limit;
+
+    /**
+     * Constructs a new BinaryReader over a whole array.
+     *
+     * @param buffer the bytes to read
+     * @throws IllegalArgumentException if buffer is null
+     */
+    public BinaryReader(byte[] buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("Buffer cannot be null");
+        }
+        reset(buffer, 0, buffer.length);
+    }
+
+    /**
+     * Points the reader at a new slice.
+     *
+     * @param buffer the bytes to read
+     * @param offset the first byte to read
+     * @param length the number of bytes available
+     * @throws IllegalArgumentException if the slice is out of bounds
+     */
+    public void reset(byte[] buffer, int offset, int length) {
+        if (buffer == null || offset < 0 || length < 0 || offset + length > buffer.length) {
+            throw new IllegalArgumentException("Invalid buffer slice");
+        }
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    public int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public int readVarInt() {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new SnapshotFormatException("Malformed varint at offset " + position);
+    }
+
+    public long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new SnapshotFormatException("Malformed varint at offset " + position);
+    }
+
+    public long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public long readFixedLong() {
+        require(8);
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 8) {
+            value |= (long) (buffer[position++] & 0xFF) << shift;
+        }
+        return value;
+    }
+
+    public double readDouble() {
+        long tagged = readVarLong();
+        if ((tagged & 1) != 0) {
+            return Double.longBitsToDouble(readFixedLong());
+        }
+        long zigzag = tagged >>> 1;
+        return ((zigzag >>> 1) ^ -(zigzag & 1)) / 100.0;
+    }
+
+    public String readString() {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Reads the length of a list whose elements follow in this slice. Every element takes at
+     * least one byte, so a length larger than the bytes left is malformed.
+     *
+     * @return the list length
+     * @throws SnapshotFormatException if the length is negative or exceeds the remaining bytes
+     */
+    public int readCount() {
+        int count = readVarInt();
+        if (count < 0 || count > remaining()) {
+            throw new SnapshotFormatException("Invalid list length " + count + " at offset " + position);
+        }
+        return count;
+    }
+
+    public LocalDate readDate() {
+        long epochDay = readSignedVarLong();
+        try {
+            return LocalDate.ofEpochDay(epochDay);
+        } catch (DateTimeException e) {
+            throw new SnapshotFormatException("Invalid date at offset " + position, e);
+        }
+    }
+
+    public LocalDateTime readDateTime() {
+        long seconds = readSignedVarLong();
+        int nanos = readNanos();
+        try {
+            return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        } catch (DateTimeException e) {
+            throw new SnapshotFormatException("Invalid date-time at offset " + position, e);
+        }
+    }
+
+    public Duration readDuration() {
+        long seconds = readSignedVarLong();
+        return Duration.ofSeconds(seconds, readNanos());
+    }
+
+    /**
+     * Skips bytes, for example the unknown trailing fields of a newer record.
+     *
+     * @param count the number of bytes to skip
+     */
+    public void skip(int count) {
+        require(count);
+        position += count;
+    }
+
+    // Getters
+    public int position() { return position; }
+    public int remaining() { return limit - position; }
+
+    private int readNanos() {
+        int nanos = readVarInt();
+        if (nanos < 0 || nanos > 999_999_999) {
+            throw new SnapshotFormatException("Invalid nanosecond value " + nanos + " at offset " + position);
+        }
+        return nanos;
+    }
+
+    private void require(int count) {
+        if (count < 0 || limit - position < count) {
+            throw new SnapshotFormatException("Unexpected end of data at offset " + position);
+        }
+    }
+}
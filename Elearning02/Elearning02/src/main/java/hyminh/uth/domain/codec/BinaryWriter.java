@@ -0,0 +1,227 @@
+package hyminh.uth.domain.codec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer with compact encodings for the snapshot format.
+ *
+ * Encodings:
+ * - unsigned integers as LEB128 varints (7 bits per byte), signed ones zigzag-encoded first
+ * - strings as a varint of (UTF-8 length + 1) followed by the bytes, 0 meaning null;
+ *   pure ASCII strings are copied without an intermediate byte array
+ * - doubles with at most two decimals (weights, prices, percentages) as a zigzag varint of
+ *   hundredths, other doubles as 8 raw bytes
+ * - dates as a zigzag varint of the epoch day, date-times as epoch seconds (UTC) plus nanos
+ *
+ * The buffer is meant to be reused: {@link #reset()} keeps the allocated capacity.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class BinaryWriter {
+
+    private static final int DEFAULT_CAPACITY = 64 * 1024;
+    private static final long MAX_SCALED = 1L << 52;
+
+    private byte[] buffer;
+    private int position;
+
+    /**
+     * Constructs a new BinaryWriter with the default initial capacity.
+     */
+    public BinaryWriter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new BinaryWriter.
+     *
+     * @param initialCapacity the initial buffer size in bytes
+     * @throws IllegalArgumentException if initialCapacity is not positive
+     */
+    public BinaryWriter(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Initial capacity must be positive");
+        }
+        this.buffer = new byte[initialCapacity];
+    }
+
+    /**
+     * Discards the written bytes, keeping the buffer for reuse.
+     */
+    public void reset() {
+        position = 0;
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes an int as an unsigned varint. Negative values take five bytes.
+     */
+    public void writeVarInt(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Writes a long as an unsigned varint. Negative values take ten bytes.
+     */
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Writes a signed long as a zigzag varint, so small negative values stay short.
+     */
+    public void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public void writeFixedLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 0; shift < 64; shift += 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * Writes a double, as hundredths when that is exact and 8 raw bytes otherwise.
+     * The lowest bit of the leading varint tells the two forms apart.
+     */
+    public void writeDouble(double value) {
+        long scaled = Math.round(value * 100);
+        if (Math.abs(scaled) < MAX_SCALED && Double.compare(scaled / 100.0, value) == 0) {
+            writeVarLong(((scaled << 1) ^ (scaled >> 63)) << 1);
+        } else {
+            writeByte(1);
+            writeFixedLong(Double.doubleToRawLongBits(value));
+        }
+    }
+
+    /**
+     * Writes a nullable string.
+     */
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        int length = value.length();
+        if (isAscii(value, length)) {
+            writeVarInt(length + 1);
+            ensureCapacity(length);
+            for (int i = 0; i < length; i++) {
+                buffer[position++] = (byte) value.charAt(i);
+            }
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length + 1);
+            writeBytes(bytes, 0, bytes.length);
+        }
+    }
+
+    public void writeBytes(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    /**
+     * Writes a non-null date as a zigzag varint of its epoch day.
+     */
+    public void writeDate(LocalDate date) {
+        writeSignedVarLong(date.toEpochDay());
+    }
+
+    /**
+     * Writes a non-null date-time as epoch seconds (UTC) and nanoseconds.
+     */
+    public void writeDateTime(LocalDateTime dateTime) {
+        writeSignedVarLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+        writeVarInt(dateTime.getNano());
+    }
+
+    /**
+     * Writes a non-null duration as seconds and nanoseconds.
+     */
+    public void writeDuration(Duration duration) {
+        writeSignedVarLong(duration.getSeconds());
+        writeVarInt(duration.getNano());
+    }
+
+    /**
+     * Inserts the length of everything written since {@code start} as a varint at
+     * {@code start}, for prefixes that are only known once the content has been written.
+     */
+    void prefixLength(int start) {
+        int length = position - start;
+        int size = 1;
+        for (int rest = length >>> 7; rest != 0; rest >>>= 7) {
+            size++;
+        }
+        ensureCapacity(size);
+        System.arraycopy(buffer, start, buffer, start + size, length);
+        position += size;
+        int index = start;
+        while ((length & ~0x7F) != 0) {
+            buffer[index++] = (byte) ((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        buffer[index] = (byte) length;
+    }
+
+    /**
+     * Copies the written bytes to a stream.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, position);
+    }
+
+    /**
+     * Returns a copy of the written bytes.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    // Getters
+    public int size() { return position; }
+
+    private static boolean isAscii(String value, int length) {
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package hyminh.uth.domain.codec;
+
+import hyminh.uth.domain.dto.ExerciseDTO;
+import hyminh.uth.domain.valueobject.DifficultyLevel;
+import hyminh.uth.domain.valueobject.ExerciseType;
+import java.time.Duration;
+
+/**
+ * Record layout of {@link ExerciseDTO}. Same fields as the entity, but every reference may
+ * be null.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class ExerciseDtoFormat extends RecordFormat<ExerciseDTO> {
+
+    private static final int ACTIVE = 1;
+    private static final int HAS_DURATION = 2;
+
+    ExerciseDtoFormat() {
+        super(6, "ExerciseDTO", 1);
+    }
+
+    @Override
+    void write(ExerciseDTO dto, RecordOutput out) {
+        BinaryWriter writer = out.out();
+        writer.writeVarInt((dto.isActive() ? ACTIVE : 0) | (dto.getEstimatedDuration() != null ? HAS_DURATION : 0));
+        writer.writeString(dto.getExerciseId());
+        writer.writeString(dto.getName());
+        out.writeEnum(dto.getType());
+        out.writeEnum(dto.getDifficulty());
+        writer.writeString(dto.getDescription());
+        out.writeInterned(dto.getInstructions());
+        if (dto.getEstimatedDuration() != null) {
+            writer.writeDuration(dto.getEstimatedDuration());
+        }
+        writer.writeVarInt(dto.getDefaultSets());
+        writer.writeVarInt(dto.getDefaultReps());
+        writer.writeDouble(dto.getDefaultWeight());
+        out.writeInterned(dto.getTargetMuscles());
+        out.writeInterned(dto.getEquipment());
+    }
+
+    @Override
+    ExerciseDTO read(RecordInput in, int end) {
+        BinaryReader reader = in.in();
+        int flags = reader.readVarInt();
+        String exerciseId = reader.readString();
+        String name = reader.readString();
+        ExerciseType type = in.readEnum(ExerciseType.class);
+        DifficultyLevel difficulty = in.readEnum(DifficultyLevel.class);
+        String description = reader.readString();
+        String instructions = in.readInterned();
+        Duration duration = (flags & HAS_DURATION) != 0 ? reader.readDuration() : null;
+        return new ExerciseDTO(exerciseId, name, type, difficulty, description, instructions, duration,
+                reader.readVarInt(), reader.readVarInt(), reader.readDouble(),
+                in.readInterned(), in.readInterned(), (flags & ACTIVE) != 0);
+    }
+}
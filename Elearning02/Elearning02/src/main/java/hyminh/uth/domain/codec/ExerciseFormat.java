@@ -0,0 +1,51 @@
+package hyminh.uth.domain.codec;
+
+import hyminh.uth.domain.entity.Exercise;
+import hyminh.uth.domain.valueobject.DifficultyLevel;
+import hyminh.uth.domain.valueobject.ExerciseType;
+
+/**
+ * Record layout of {@link Exercise}. Instructions, target muscles and equipment repeat a lot
+ * across a catalog, so they go through the string dictionary.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class ExerciseFormat extends RecordFormat<Exercise> {
+
+    ExerciseFormat() {
+        super(3, "Exercise", 1);
+    }
+
+    @Override
+    void write(Exercise exercise, RecordOutput out) {
+        BinaryWriter writer = out.out();
+        writer.writeString(exercise.getExerciseId());
+        writer.writeString(exercise.getName());
+        out.writeEnum(exercise.getType());
+        out.writeEnum(exercise.getDifficulty());
+        writer.writeString(exercise.getDescription());
+        out.writeInterned(exercise.getInstructions());
+        writer.writeDuration(exercise.getEstimatedDuration());
+        writer.writeVarInt(exercise.getDefaultSets());
+        writer.writeVarInt(exercise.getDefaultReps());
+        writer.writeDouble(exercise.getDefaultWeight());
+        out.writeInterned(exercise.getTargetMuscles());
+        out.writeInterned(exercise.getEquipment());
+        writer.writeBoolean(exercise.isActive());
+    }
+
+    @Override
+    Exercise read(RecordInput in, int end) {
+        BinaryReader reader = in.in();
+        Exercise exercise = new Exercise(reader.readString(), reader.readString(),
+                in.readEnum(ExerciseType.class), in.readEnum(DifficultyLevel.class),
+                reader.readString(), in.readInterned(), reader.readDuration(),
+                reader.readVarInt(), reader.readVarInt(), reader.readDouble(),
+                in.readInterned(), in.readInterned());
+        if (!reader.readBoolean()) {
+            exercise.deactivate();
+        }
+        return exercise;
+    }
+}
@@ -0,0 +1,97 @@
+package hyminh.uth.domain.codec;
+
+import hyminh.uth.domain.dto.MemberDTO;
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.SubscriptionStatus;
+import hyminh.uth.domain.valueobject.UserRole;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Record layout of {@link MemberDTO}. A leading bit set records which of the nullable
+ * date fields are present; strings and enums encode null themselves.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class MemberDtoFormat extends RecordFormat<MemberDTO> {
+
+    private static final int ACTIVE = 1;
+    private static final int HAS_REGISTRATION_DATE = 1 << 1;
+    private static final int HAS_SUBSCRIPTION_START = 1 << 2;
+    private static final int HAS_SUBSCRIPTION_END = 1 << 3;
+    private static final int HAS_CREATED_AT = 1 << 4;
+    private static final int HAS_LAST_MODIFIED_AT = 1 << 5;
+
+    MemberDtoFormat() {
+        super(5, "MemberDTO", 1);
+    }
+
+    @Override
+    void write(MemberDTO dto, RecordOutput out) {
+        BinaryWriter writer = out.out();
+        int flags = (dto.isActive() ? ACTIVE : 0)
+                | (dto.getRegistrationDate() != null ? HAS_REGISTRATION_DATE : 0)
+                | (dto.getSubscriptionStartDate() != null ? HAS_SUBSCRIPTION_START : 0)
+                | (dto.getSubscriptionEndDate() != null ? HAS_SUBSCRIPTION_END : 0)
+                | (dto.getCreatedAt() != null ? HAS_CREATED_AT : 0)
+                | (dto.getLastModifiedAt() != null ? HAS_LAST_MODIFIED_AT : 0);
+        writer.writeVarInt(flags);
+        writer.writeString(dto.getUserId());
+        writer.writeString(dto.getUsername());
+        writer.writeString(dto.getEmail());
+        writer.writeString(dto.getPhone());
+        out.writeEnum(dto.getRole());
+        MemberFormat.writeMemberId(writer, dto.getMemberId());
+        if (dto.getRegistrationDate() != null) {
+            writer.writeDate(dto.getRegistrationDate());
+        }
+        writer.writeString(dto.getSubscriptionId());
+        out.writeEnum(dto.getSubscriptionStatus());
+        if (dto.getSubscriptionStartDate() != null) {
+            writer.writeDate(dto.getSubscriptionStartDate());
+        }
+        if (dto.getSubscriptionEndDate() != null) {
+            writer.writeDate(dto.getSubscriptionEndDate());
+        }
+        writer.writeDouble(dto.getWeight());
+        writer.writeDouble(dto.getBodyFat());
+        writer.writeVarInt(dto.getWorkoutsCompleted());
+        writer.writeVarInt(dto.getWorkoutScheduleCount());
+        writer.writeVarInt(dto.getAttendanceCount());
+        if (dto.getCreatedAt() != null) {
+            writer.writeDateTime(dto.getCreatedAt());
+        }
+        if (dto.getLastModifiedAt() != null) {
+            writer.writeDateTime(dto.getLastModifiedAt());
+        }
+    }
+
+    @Override
+    MemberDTO read(RecordInput in, int end) {
+        BinaryReader reader = in.in();
+        int flags = reader.readVarInt();
+        String userId = reader.readString();
+        String username = reader.readString();
+        String email = reader.readString();
+        String phone = reader.readString();
+        UserRole role = in.readEnum(UserRole.class);
+        MemberId memberId = MemberFormat.readMemberId(reader);
+        LocalDate registrationDate = (flags & HAS_REGISTRATION_DATE) != 0 ? reader.readDate() : null;
+        String subscriptionId = reader.readString();
+        SubscriptionStatus status = in.readEnum(SubscriptionStatus.class);
+        LocalDate subscriptionStart = (flags & HAS_SUBSCRIPTION_START) != 0 ? reader.readDate() : null;
+        LocalDate subscriptionEnd = (flags & HAS_SUBSCRIPTION_END) != 0 ? reader.readDate() : null;
+        double weight = reader.readDouble();
+        double bodyFat = reader.readDouble();
+        int workoutsCompleted = reader.readVarInt();
+        int workoutScheduleCount = reader.readVarInt();
+        int attendanceCount = reader.readVarInt();
+        LocalDateTime createdAt = (flags & HAS_CREATED_AT) != 0 ? reader.readDateTime() : null;
+        LocalDateTime lastModifiedAt = (flags & HAS_LAST_MODIFIED_AT) != 0 ? reader.readDateTime() : null;
+        return new MemberDTO(userId, username, email, phone, role, memberId, registrationDate,
+                subscriptionId, status, subscriptionStart, subscriptionEnd, weight, bodyFat,
+                workoutsCompleted, workoutScheduleCount, attendanceCount, (flags & ACTIVE) != 0,
+                createdAt, lastModifiedAt);
+    }
+}
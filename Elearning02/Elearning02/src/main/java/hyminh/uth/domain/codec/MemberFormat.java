@@ -0,0 +1,134 @@
+package hyminh.uth.domain.codec;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.PersistenceAccess;
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.exception.SnapshotFormatException;
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.ProgressMetrics;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Record layout of {@link Member}, including its current subscription and progress metrics.
+ * Member IDs ("MEM-" and six digits) are stored as their numeric part. Schema 2 appends the
+ * stored version; members read from schema 1 records have version 0.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class MemberFormat extends RecordFormat<Member> {
+
+    private static final int ACTIVE = 1;
+    private static final int HAS_SUBSCRIPTION = 2;
+
+    MemberFormat() {
+        super(1, "Member", 2);
+    }
+
+    @Override
+    void write(Member member, RecordOutput out) {
+        BinaryWriter writer = out.out();
+        writer.writeString(member.getUserId());
+        writer.writeString(member.getUsername());
+        writer.writeString(PersistenceAccess.passwordOf(member));
+        writer.writeString(member.getEmail());
+        writer.writeString(member.getPhone());
+        writeMemberId(writer, member.getMemberId());
+        writer.writeDate(member.getRegistrationDate());
+        writer.writeDateTime(member.getCreatedAt());
+        writer.writeDateTime(member.getLastModifiedAt());
+        Subscription subscription = member.getCurrentSubscription();
+        writer.writeVarInt((member.isActive() ? ACTIVE : 0) | (subscription != null ? HAS_SUBSCRIPTION : 0));
+        if (subscription != null) {
+            SubscriptionFormat.writeBody(subscription, out);
+        }
+        writeIds(writer, member.getWorkoutScheduleIds());
+        writeIds(writer, member.getAttendanceIds());
+        ProgressMetricsFormat.writeBody(member.getProgressMetrics(), out);
+        writer.writeVarLong(member.getVersion());
+    }
+
+    @Override
+    Member read(RecordInput in, int end) {
+        BinaryReader reader = in.in();
+        String userId = reader.readString();
+        String username = reader.readString();
+        String password = reader.readString();
+        String email = reader.readString();
+        String phone = reader.readString();
+        MemberId memberId = readMemberId(reader);
+        if (memberId == null) {
+            throw new SnapshotFormatException("Member record without a member ID");
+        }
+        LocalDate registrationDate = reader.readDate();
+        LocalDateTime createdAt = reader.readDateTime();
+        LocalDateTime lastModifiedAt = reader.readDateTime();
+        int flags = reader.readVarInt();
+        Subscription subscription = (flags & HAS_SUBSCRIPTION) != 0 ? SubscriptionFormat.readBody(in) : null;
+        List<String> scheduleIds = readIds(reader);
+        List<String> attendanceIds = readIds(reader);
+        ProgressMetrics metrics = ProgressMetricsFormat.readBody(memberId.getValue(), in);
+        Member member = Member.restore(userId, username, password, email, phone, memberId, registrationDate,
+                createdAt, lastModifiedAt, (flags & ACTIVE) != 0, subscription, scheduleIds, attendanceIds, metrics);
+        if (in.hasMore(end)) {
+            long version = reader.readVarLong();
+            if (version < 0) {
+                throw new SnapshotFormatException("Invalid member version " + version);
+            }
+            PersistenceAccess.setVersion(member, version);
+        }
+        return member;
+    }
+
+    /**
+     * Writes a nullable member ID as its numeric part plus one, 0 meaning null.
+     */
+    static void writeMemberId(BinaryWriter writer, MemberId memberId) {
+        if (memberId == null) {
+            writer.writeVarInt(0);
+            return;
+        }
+        String value = memberId.getValue();
+        int numeric = 0;
+        for (int i = 4; i < value.length(); i++) {
+            numeric = numeric * 10 + (value.charAt(i) - '0');
+        }
+        writer.writeVarInt(numeric + 1);
+    }
+
+    static MemberId readMemberId(BinaryReader reader) {
+        int code = reader.readVarInt();
+        if (code == 0) {
+            return null;
+        }
+        int numeric = code - 1;
+        if (numeric < 0 || numeric > 999_999) {
+            throw new SnapshotFormatException("Invalid member number " + numeric);
+        }
+        char[] chars = {'M', 'E', 'M', '-', '0', '0', '0', '0', '0', '0'};
+        for (int i = chars.length - 1; numeric > 0; i--) {
+            chars[i] = (char) ('0' + numeric % 10);
+            numeric /= 10;
+        }
+        return new MemberId(new String(chars));
+    }
+
+    private static void writeIds(BinaryWriter writer, List<String> ids) {
+        writer.writeVarInt(ids.size());
+        for (String id : ids) {
+            writer.writeString(id);
+        }
+    }
+
+    private static List<String> readIds(BinaryReader reader) {
+        int count = reader.readCount();
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(reader.readString());
+        }
+        return ids;
+    }
+}
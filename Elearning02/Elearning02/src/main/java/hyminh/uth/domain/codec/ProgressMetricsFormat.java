@@ -0,0 +1,45 @@
+package hyminh.uth.domain.codec;
+
+import hyminh.uth.domain.valueobject.ProgressMetrics;
+
+/**
+ * Record layout of {@link ProgressMetrics}.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class ProgressMetricsFormat extends RecordFormat<ProgressMetrics> {
+
+    ProgressMetricsFormat() {
+        super(4, "ProgressMetrics", 1);
+    }
+
+    @Override
+    void write(ProgressMetrics metrics, RecordOutput out) {
+        out.out().writeString(metrics.getMemberId());
+        writeBody(metrics, out);
+    }
+
+    @Override
+    ProgressMetrics read(RecordInput in, int end) {
+        return readBody(in.in().readString(), in);
+    }
+
+    /**
+     * Writes the metrics without the member ID, which a member record already holds.
+     */
+    static void writeBody(ProgressMetrics metrics, RecordOutput out) {
+        BinaryWriter writer = out.out();
+        writer.writeDate(metrics.getDate());
+        writer.writeDouble(metrics.getWeight());
+        writer.writeDouble(metrics.getBodyFat());
+        writer.writeVarInt(metrics.getWorkoutsCompleted());
+        out.writeInterned(metrics.getNotes());
+    }
+
+    static ProgressMetrics readBody(String memberId, RecordInput in) {
+        BinaryReader reader = in.in();
+        return new ProgressMetrics(memberId, reader.readDate(), reader.readDouble(), reader.readDouble(),
+                reader.readVarInt(), in.readInterned());
+    }
+}
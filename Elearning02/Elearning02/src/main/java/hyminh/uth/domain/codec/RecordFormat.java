@@ -0,0 +1,60 @@
+package hyminh.uth.domain.codec;
+
+import hyminh.uth.domain.dto.ExerciseDTO;
+import hyminh.uth.domain.dto.MemberDTO;
+import hyminh.uth.domain.entity.Exercise;
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.valueobject.ProgressMetrics;
+
+/**
+ * Binary record layout of one entity or DTO type, used with {@link SnapshotCodec}.
+ *
+ * Every format has a type ID, written into the snapshot header so a snapshot cannot be read
+ * as the wrong type, and a schema version. Schemas evolve by appending fields only: readers
+ * skip trailing fields they do not know (records are length-prefixed) and use defaults for
+ * appended fields missing from records written by older versions.
+ *
+ * @param <T> the record type
+ * @author Gym Management System
+ * @version 1.0
+ */
+public abstract class RecordFormat<T> {
+
+    public static final RecordFormat<Member> MEMBER = new MemberFormat();
+    public static final RecordFormat<Subscription> SUBSCRIPTION = new SubscriptionFormat();
+    public static final RecordFormat<Exercise> EXERCISE = new ExerciseFormat();
+    public static final RecordFormat<ProgressMetrics> PROGRESS_METRICS = new ProgressMetricsFormat();
+    public static final RecordFormat<MemberDTO> MEMBER_DTO = new MemberDtoFormat();
+    public static final RecordFormat<ExerciseDTO> EXERCISE_DTO = new ExerciseDtoFormat();
+
+    private final int typeId;
+    private final String name;
+    private final int schemaVersion;
+
+    RecordFormat(int typeId, String name, int schemaVersion) {
+        this.typeId = typeId;
+        this.name = name;
+        this.schemaVersion = schemaVersion;
+    }
+
+    /**
+     * Writes the fields of one record.
+     */
+    abstract void write(T value, RecordOutput out);
+
+    /**
+     * Reads the fields of one record ending at {@code end}.
+     */
+    abstract T read(RecordInput in, int end);
+
+    // Getters
+    public int getTypeId() { return typeId; }
+    public String getName() { return name; }
+    public int getSchemaVersion() { return schemaVersion; }
+
+    @Override
+    public String toString() {
+        return name + " v" + schemaVersion;
+    }
+}
@@ -0,0 +1,156 @@
+package hyminh.uth.domain.codec;
+
+import hyminh.uth.domain.exception.SnapshotFormatException;
+import hyminh.uth.domain.valueobject.PlanType;
+import hyminh.uth.domain.valueobject.SubscriptionPlan;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read side of one snapshot: the input reader plus the dictionaries rebuilt while reading.
+ * See {@link RecordOutput} for the dictionary encodings.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class RecordInput {
+
+    private final BinaryReader in;
+    private final int schemaVersion;
+    private final Enum<?>[][] enumTables = new Enum<?>[RecordOutput.ENUM_TYPES.size()][];
+    private final String[][] enumNames = new String[RecordOutput.ENUM_TYPES.size()][];
+    private final List<String> strings = new ArrayList<>();
+    private final List<SubscriptionPlan> plans = new ArrayList<>();
+
+    RecordInput(BinaryReader in, int schemaVersion) {
+        this.in = in;
+        this.schemaVersion = schemaVersion;
+    }
+
+    /**
+     * Reads the enum dictionary of the snapshot header and maps each code to the constant
+     * with the same name in this version of the enum. Unknown types are ignored.
+     */
+    void readEnumTable() {
+        int typeCount = in.readCount();
+        for (int t = 0; t < typeCount; t++) {
+            String typeName = in.readString();
+            int count = in.readCount();
+            String[] names = new String[count];
+            for (int i = 0; i < count; i++) {
+                names[i] = in.readString();
+            }
+            for (int index = 0; index < RecordOutput.ENUM_TYPES.size(); index++) {
+                Class<? extends Enum<?>> type = RecordOutput.ENUM_TYPES.get(index);
+                if (type.getSimpleName().equals(typeName)) {
+                    enumTables[index] = mapByName(type, names);
+                    enumNames[index] = names;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a nullable enum written with {@link RecordOutput#writeEnum(Enum)}.
+     *
+     * @throws SnapshotFormatException if the code names a constant this enum does not have
+     */
+    <E extends Enum<E>> E readEnum(Class<E> type) {
+        int code = in.readVarInt();
+        if (code == 0) {
+            return null;
+        }
+        int index = RecordOutput.ENUM_TYPES.indexOf(type);
+        Enum<?>[] table = enumTables[index];
+        if (table == null || code > table.length) {
+            throw new SnapshotFormatException("Unknown " + type.getSimpleName() + " code " + code);
+        }
+        Enum<?> value = table[code - 1];
+        if (value == null) {
+            throw new SnapshotFormatException("Unknown " + type.getSimpleName() + " constant '"
+                    + enumNames[index][code - 1] + "'");
+        }
+        return type.cast(value);
+    }
+
+    /**
+     * Reads a nullable string written with {@link RecordOutput#writeInterned(String)}.
+     */
+    String readInterned() {
+        int code = in.readVarInt();
+        if (code == 0) {
+            return null;
+        }
+        if (code == 1) {
+            String value = in.readString();
+            strings.add(value);
+            return value;
+        }
+        if (code - 2 >= strings.size()) {
+            throw new SnapshotFormatException("Invalid string reference " + code);
+        }
+        return strings.get(code - 2);
+    }
+
+    /**
+     * Reads a plan written with {@link RecordOutput#writePlan(SubscriptionPlan)}.
+     *
+     * @throws SnapshotFormatException if the reference is unknown or the plan fields are invalid
+     */
+    SubscriptionPlan readPlan() {
+        int code = in.readVarInt();
+        if (code > 0) {
+            if (code - 1 >= plans.size()) {
+                throw new SnapshotFormatException("Invalid plan reference " + code);
+            }
+            return plans.get(code - 1);
+        }
+        String planId = in.readString();
+        String planName = in.readString();
+        int durationMonths = in.readVarInt();
+        double price = in.readDouble();
+        String description = readInterned();
+        PlanType planType = readEnum(PlanType.class);
+        int features = in.readVarInt();
+        SubscriptionPlan plan;
+        try {
+            plan = new SubscriptionPlan(planId, planName, durationMonths, price, description,
+                    planType, (features & 1) != 0, (features & 2) != 0, (features & 4) != 0);
+        } catch (IllegalArgumentException e) {
+            throw new SnapshotFormatException("Invalid subscription plan '" + planId + "'", e);
+        }
+        plans.add(plan);
+        return plan;
+    }
+
+    /**
+     * Checks if the current record has fields left before {@code end}. Fields added in later
+     * schema versions are appended, so readers call this before reading them and fall back to
+     * defaults for records written by older versions.
+     */
+    boolean hasMore(int end) {
+        return in.position() < end;
+    }
+
+    BinaryReader in() {
+        return in;
+    }
+
+    int schemaVersion() {
+        return schemaVersion;
+    }
+
+    private static Enum<?>[] mapByName(Class<? extends Enum<?>> type, String[] names) {
+        Map<String, Enum<?>> byName = new HashMap<>();
+        for (Enum<?> constant : type.getEnumConstants()) {
+            byName.put(constant.name(), constant);
+        }
+        Enum<?>[] table = new Enum<?>[names.length];
+        for (int i = 0; i < names.length; i++) {
+            table[i] = byName.get(names[i]);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,110 @@
+package hyminh.uth.domain.codec;
+
+import hyminh.uth.domain.valueobject.DifficultyLevel;
+import hyminh.uth.domain.valueobject.ExerciseType;
+import hyminh.uth.domain.valueobject.PlanType;
+import hyminh.uth.domain.valueobject.SubscriptionPlan;
+import hyminh.uth.domain.valueobject.SubscriptionStatus;
+import hyminh.uth.domain.valueobject.UserRole;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write side of one snapshot: the output buffer plus the dictionaries built while writing.
+ *
+ * Enums are written as their ordinal, and the snapshot header lists the constant names of
+ * every enum type in ordinal order, so readers map codes back by name and are not affected
+ * by constants being reordered or added. Repetitive strings (equipment, target muscles,
+ * notes) and subscription plans are written in full the first time and as a back-reference
+ * to the first occurrence afterwards.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class RecordOutput {
+
+    /**
+     * Enum types listed in the snapshot header, in header order.
+     */
+    static final List<Class<? extends Enum<?>>> ENUM_TYPES = Collections.unmodifiableList(Arrays.asList(
+            UserRole.class, SubscriptionStatus.class, PlanType.class, ExerciseType.class, DifficultyLevel.class));
+
+    private final BinaryWriter out;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<SubscriptionPlan, Integer> plans = new HashMap<>();
+
+    RecordOutput(BinaryWriter out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes the enum dictionary for the snapshot header.
+     */
+    static void writeEnumTable(BinaryWriter out) {
+        out.writeVarInt(ENUM_TYPES.size());
+        for (Class<? extends Enum<?>> type : ENUM_TYPES) {
+            out.writeString(type.getSimpleName());
+            Enum<?>[] constants = type.getEnumConstants();
+            out.writeVarInt(constants.length);
+            for (Enum<?> constant : constants) {
+                out.writeString(constant.name());
+            }
+        }
+    }
+
+    /**
+     * Writes a nullable enum as its ordinal plus one.
+     */
+    void writeEnum(Enum<?> value) {
+        out.writeVarInt(value == null ? 0 : value.ordinal() + 1);
+    }
+
+    /**
+     * Writes a nullable string through the string dictionary:
+     * 0 for null, 1 followed by the string for a first occurrence, otherwise the index plus two.
+     */
+    void writeInterned(String value) {
+        if (value == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        Integer index = strings.get(value);
+        if (index != null) {
+            out.writeVarInt(index + 2);
+            return;
+        }
+        strings.put(value, strings.size());
+        out.writeVarInt(1);
+        out.writeString(value);
+    }
+
+    /**
+     * Writes a plan through the plan dictionary:
+     * 0 followed by the plan for a first occurrence, otherwise the index plus one.
+     */
+    void writePlan(SubscriptionPlan plan) {
+        Integer index = plans.get(plan);
+        if (index != null) {
+            out.writeVarInt(index + 1);
+            return;
+        }
+        plans.put(plan, plans.size());
+        out.writeVarInt(0);
+        out.writeString(plan.getPlanId());
+        out.writeString(plan.getPlanName());
+        out.writeVarInt(plan.getDurationMonths());
+        out.writeDouble(plan.getPrice());
+        writeInterned(plan.getDescription());
+        writeEnum(plan.getPlanType());
+        out.writeVarInt((plan.includesPersonalTraining() ? 1 : 0)
+                | (plan.includesGroupClasses() ? 2 : 0)
+                | (plan.includesLockerAccess() ? 4 : 0));
+    }
+
+    BinaryWriter out() {
+        return out;
+    }
+}
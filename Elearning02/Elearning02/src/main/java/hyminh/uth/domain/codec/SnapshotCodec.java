@@ -0,0 +1,278 @@
+package hyminh.uth.domain.codec;
+
+import hyminh.uth.domain.exception.SnapshotFormatException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compact, versioned binary snapshots of domain entities and DTOs.
+ *
+ * A snapshot holds records of one {@link RecordFormat}:
+ * <pre>
+ * "GYMS"                                 magic
+ * varint length, header                  format version, type ID, schema version,
+ *                                        record count, enum dictionary
+ * (varint length, records)*              blocks of about {@value #BLOCK_SIZE} bytes
+ * varint 0                               end of snapshot
+ * </pre>
+ * Each record is prefixed with its length, so readers skip fields appended by newer schema
+ * versions. Streams are written and read one block at a time through buffers that the codec
+ * keeps and reuses, so snapshotting millions of records needs neither a second copy of the
+ * data nor per-record buffers.
+ *
+ * A codec is not thread-safe; use one instance per thread.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class SnapshotCodec {
+
+    /**
+     * Version of the container layout. Readers reject snapshots with a newer version.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final byte[] MAGIC = {'G', 'Y', 'M', 'S'};
+    private static final int BLOCK_SIZE = 64 * 1024;
+    private static final int MAX_PRESIZE = 1 << 16;
+
+    private final BinaryWriter writer = new BinaryWriter(2 * BLOCK_SIZE);
+    private byte[] readBuffer = new byte[2 * BLOCK_SIZE];
+
+    /**
+     * Encodes records into a new byte array.
+     *
+     * @param format the record format
+     * @param items the records to encode
+     * @param <T> the record type
+     * @return the snapshot bytes
+     * @throws IllegalArgumentException if format or items is null, or items contains null
+     */
+    public <T> byte[] encode(RecordFormat<T> format, Collection<? extends T> items) {
+        try {
+            encode(format, items, null);
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory encoding cannot fail", e);
+        }
+        byte[] result = writer.toByteArray();
+        writer.reset();
+        return result;
+    }
+
+    /**
+     * Writes records to a stream, one block at a time.
+     *
+     * @param format the record format
+     * @param items the records to write
+     * @param out the target stream, which is not closed
+     * @param <T> the record type
+     * @throws IllegalArgumentException if any parameter is null, or items contains null
+     * @throws IOException if writing to the stream fails
+     */
+    public <T> void write(RecordFormat<T> format, Collection<? extends T> items, OutputStream out)
+            throws IOException {
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream cannot be null");
+        }
+        encode(format, items, out);
+    }
+
+    /**
+     * Decodes records from a byte array without copying it.
+     *
+     * @param format the expected record format
+     * @param data the snapshot bytes
+     * @param <T> the record type
+     * @return the decoded records, in encoding order
+     * @throws IllegalArgumentException if format or data is null
+     * @throws SnapshotFormatException if the data is not a valid snapshot of this format
+     */
+    public <T> List<T> decode(RecordFormat<T> format, byte[] data) {
+        if (format == null || data == null) {
+            throw new IllegalArgumentException("Format and data cannot be null");
+        }
+        BinaryReader reader = new BinaryReader(data);
+        for (byte b : MAGIC) {
+            if ((byte) reader.readByte() != b) {
+                throw new SnapshotFormatException("Not a snapshot: bad magic number");
+            }
+        }
+        int headerEnd = reader.readVarInt() + reader.position();
+        Header header = readHeader(format, reader, headerEnd);
+        List<T> result = new ArrayList<>(Math.min(header.count, data.length));
+        while (true) {
+            int blockLength = reader.readVarInt();
+            if (blockLength == 0) {
+                return result;
+            }
+            readRecords(format, header.input, reader.position() + blockLength, result);
+        }
+    }
+
+    /**
+     * Reads records from a stream, one block at a time.
+     *
+     * @param format the expected record format
+     * @param in the source stream, which is not closed
+     * @param <T> the record type
+     * @return the decoded records, in encoding order
+     * @throws IllegalArgumentException if format or in is null
+     * @throws SnapshotFormatException if the data is not a valid snapshot of this format
+     * @throws IOException if reading from the stream fails
+     */
+    public <T> List<T> read(RecordFormat<T> format, InputStream in) throws IOException {
+        if (format == null || in == null) {
+            throw new IllegalArgumentException("Format and input stream cannot be null");
+        }
+        byte[] magic = in.readNBytes(MAGIC.length);
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (magic.length != MAGIC.length || magic[i] != MAGIC[i]) {
+                throw new SnapshotFormatException("Not a snapshot: bad magic number");
+            }
+        }
+        int headerLength = readVarInt(in);
+        byte[] headerBytes = fill(in, headerLength);
+        BinaryReader reader = new BinaryReader(headerBytes);
+        reader.reset(headerBytes, 0, headerLength);
+        Header header = readHeader(format, reader, headerLength);
+        List<T> result = new ArrayList<>(Math.min(header.count, MAX_PRESIZE));
+        while (true) {
+            int blockLength = readVarInt(in);
+            if (blockLength == 0) {
+                return result;
+            }
+            reader.reset(fill(in, blockLength), 0, blockLength);
+            readRecords(format, header.input, blockLength, result);
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private <T> void encode(RecordFormat<T> format, Collection<? extends T> items, OutputStream out)
+            throws IOException {
+        if (format == null || items == null) {
+            throw new IllegalArgumentException("Format and items cannot be null");
+        }
+        writer.reset();
+        writer.writeBytes(MAGIC, 0, MAGIC.length);
+        int headerStart = writer.size();
+        writer.writeVarInt(FORMAT_VERSION);
+        writer.writeVarInt(format.getTypeId());
+        writer.writeVarInt(format.getSchemaVersion());
+        writer.writeVarInt(items.size());
+        RecordOutput.writeEnumTable(writer);
+        writer.prefixLength(headerStart);
+
+        RecordOutput output = new RecordOutput(writer);
+        int blockStart = writer.size();
+        for (T item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException("Items cannot contain null");
+            }
+            int recordStart = writer.size();
+            format.write(item, output);
+            writer.prefixLength(recordStart);
+            if (writer.size() - blockStart >= BLOCK_SIZE) {
+                writer.prefixLength(blockStart);
+                if (out != null) {
+                    writer.writeTo(out);
+                    writer.reset();
+                }
+                blockStart = writer.size();
+            }
+        }
+        if (writer.size() > blockStart) {
+            writer.prefixLength(blockStart);
+        }
+        writer.writeVarInt(0);
+        if (out != null) {
+            writer.writeTo(out);
+            writer.reset();
+        }
+    }
+
+    private static Header readHeader(RecordFormat<?> format, BinaryReader reader, int headerEnd) {
+        int formatVersion = reader.readVarInt();
+        if (formatVersion > FORMAT_VERSION) {
+            throw new SnapshotFormatException("Unsupported snapshot format version " + formatVersion
+                    + " (supported up to " + FORMAT_VERSION + ")");
+        }
+        int typeId = reader.readVarInt();
+        if (typeId != format.getTypeId()) {
+            throw new SnapshotFormatException("Snapshot holds type " + typeId + ", expected " + format);
+        }
+        int schemaVersion = reader.readVarInt();
+        int count = reader.readVarInt();
+        if (count < 0) {
+            throw new SnapshotFormatException("Invalid record count " + count);
+        }
+        RecordInput input = new RecordInput(reader, schemaVersion);
+        input.readEnumTable();
+        reader.skip(headerEnd - reader.position());
+        return new Header(input, count);
+    }
+
+    private static <T> void readRecords(RecordFormat<T> format, RecordInput input, int blockEnd, List<T> result) {
+        BinaryReader reader = input.in();
+        while (reader.position() < blockEnd) {
+            int recordEnd = reader.readVarInt() + reader.position();
+            result.add(format.read(input, recordEnd));
+            if (reader.position() > recordEnd) {
+                throw new SnapshotFormatException("Record overruns its length at offset " + recordEnd);
+            }
+            reader.skip(recordEnd - reader.position());   // Fields appended by newer versions
+        }
+        if (reader.position() != blockEnd) {
+            throw new SnapshotFormatException("Block overruns its length at offset " + blockEnd);
+        }
+    }
+
+    private byte[] fill(InputStream in, int length) throws IOException {
+        if (length < 0) {
+            throw new SnapshotFormatException("Invalid block length " + length);
+        }
+        if (length > readBuffer.length) {
+            readBuffer = new byte[Math.max(length, readBuffer.length * 2)];
+        }
+        int read = in.readNBytes(readBuffer, 0, length);
+        if (read != length) {
+            throw new SnapshotFormatException("Unexpected end of stream");
+        }
+        return readBuffer;
+    }
+
+    private static int readVarInt(InputStream in) throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new SnapshotFormatException("Unexpected end of stream");
+            }
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (result < 0) {
+                    throw new SnapshotFormatException("Invalid length " + result);
+                }
+                return result;
+            }
+        }
+        throw new SnapshotFormatException("Malformed varint in stream");
+    }
+
+    /**
+     * Decoded snapshot header.
+     */
+    private static final class Header {
+        final RecordInput input;
+        final int count;
+
+        Header(RecordInput input, int count) {
+            this.input = input;
+            this.count = count;
+        }
+    }
+}
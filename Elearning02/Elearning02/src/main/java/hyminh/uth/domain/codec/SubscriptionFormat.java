@@ -0,0 +1,57 @@
+package hyminh.uth.domain.codec;
+
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.valueobject.SubscriptionPlan;
+import hyminh.uth.domain.valueobject.SubscriptionStatus;
+import java.time.LocalDate;
+
+/**
+ * Record layout of {@link Subscription}. The plan goes through the plan dictionary and the
+ * end and creation dates are stored as day offsets from the start date.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class SubscriptionFormat extends RecordFormat<Subscription> {
+
+    SubscriptionFormat() {
+        super(2, "Subscription", 1);
+    }
+
+    @Override
+    void write(Subscription subscription, RecordOutput out) {
+        writeBody(subscription, out);
+    }
+
+    @Override
+    Subscription read(RecordInput in, int end) {
+        return readBody(in);
+    }
+
+    /**
+     * Writes a subscription, also used for the subscription embedded in a member record.
+     */
+    static void writeBody(Subscription subscription, RecordOutput out) {
+        BinaryWriter writer = out.out();
+        LocalDate start = subscription.getStartDate();
+        writer.writeString(subscription.getSubscriptionId());
+        out.writePlan(subscription.getPlan());
+        writer.writeDate(start);
+        writer.writeSignedVarLong(subscription.getEndDate().toEpochDay() - start.toEpochDay());
+        writer.writeDouble(subscription.getAmount());
+        out.writeEnum(subscription.getStatus());
+        writer.writeSignedVarLong(subscription.getCreatedAt().toEpochDay() - start.toEpochDay());
+    }
+
+    static Subscription readBody(RecordInput in) {
+        BinaryReader reader = in.in();
+        String subscriptionId = reader.readString();
+        SubscriptionPlan plan = in.readPlan();
+        LocalDate start = reader.readDate();
+        LocalDate endDate = start.plusDays(reader.readSignedVarLong());
+        double amount = reader.readDouble();
+        SubscriptionStatus status = in.readEnum(SubscriptionStatus.class);
+        LocalDate createdAt = start.plusDays(reader.readSignedVarLong());
+        return Subscription.restore(subscriptionId, plan, start, endDate, amount, status, createdAt);
+    }
+}
@@ -0,0 +1,135 @@
+package hyminh.uth.domain.demo;
+
+import hyminh.uth.domain.repository.impl.InMemoryMemberRepository;
+import hyminh.uth.domain.repository.impl.InMemorySubscriptionRepository;
+import hyminh.uth.domain.service.CheckInPipeline;
+import hyminh.uth.domain.service.MemberService;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Benchmark lượt check-in giờ mở cửa: nhiều luồng (cửa quay) gửi check-in, mỗi lượt cộng một
+ * buổi tập. So sánh gọi thẳng MemberService.incrementWorkouts (mỗi lượt một ProgressMetrics và
+ * một lần lưu) với CheckInPipeline (gộp các lượt của cùng hội viên trong một cửa sổ ngắn). Một
+ * nửa số lượt rơi vào 1% hội viên, giống các hội viên quẹt thẻ nhiều lần khi vào ra.
+ *
+ * Chạy: {@code java hyminh.uth.domain.demo.CheckInPipelineBenchmark [số hội viên] [số lượt] [số luồng]}
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class CheckInPipelineBenchmark {
+
+    private static final int DEFAULT_MEMBERS = 20_000;
+    private static final int DEFAULT_CHECK_INS = 400_000;
+
+    public static void main(String[] args) throws Exception {
+        int members = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MEMBERS;
+        int checkIns = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CHECK_INS;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        List<MemberId> events = createEvents(members, checkIns);
+
+        System.out.println("=== BENCHMARK CHECK-IN GIỜ MỞ CỬA ===");
+        System.out.println(members + " hội viên, " + checkIns + " lượt, " + threads + " luồng, "
+                + Runtime.getRuntime().availableProcessors() + " CPU\n");
+        System.out.printf("%-26s %14s %12s %12s%n", "Cách ghi", "Lượt/s", "Lần lưu", "Lô");
+
+        run("Trực tiếp", members, events, threads, null);        // Khởi động JIT
+        run("Trực tiếp", members, events, threads, Duration.ZERO);
+        for (int window : new int[] {1, 10, 50}) {
+            run("Pipeline, cửa sổ " + window + " ms", members, events, threads, Duration.ofMillis(window));
+        }
+    }
+
+    /**
+     * Chạy một cấu hình; window null nghĩa là khởi động và không in kết quả, ZERO là gọi thẳng.
+     */
+    private static void run(String label, int members, List<MemberId> events, int threads, Duration window)
+            throws InterruptedException {
+        MemberService service = createService(members);
+        long start = System.nanoTime();
+        long saves;
+        long batches;
+        if (window == null || window.isZero()) {
+            runThreads(events, threads, service::incrementWorkouts);
+            saves = events.size();
+            batches = 0;
+        } else {
+            CheckInPipeline pipeline = new CheckInPipeline(service, CheckInPipeline.DEFAULT_CAPACITY, window,
+                    CheckInPipeline.DEFAULT_MAX_BATCH_SIZE);
+            runThreads(events, threads, memberId -> {
+                try {
+                    pipeline.checkIn(memberId);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            pipeline.close();
+            saves = pipeline.getSaveCount();
+            batches = pipeline.getBatchCount();
+            if (pipeline.getAppliedCount() != events.size()) {
+                throw new IllegalStateException("Lost check-ins: " + pipeline.getAppliedCount());
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        long total = 0;
+        for (int i = 1; i <= members; i++) {
+            total += service.findById(memberId(i)).getWorkoutsCompleted();
+        }
+        if (total != events.size()) {
+            throw new IllegalStateException("Expected " + events.size() + " workouts, counted " + total);
+        }
+        if (window != null) {
+            System.out.printf("%-26s %,14.0f %,12d %,12d%n", label, events.size() / (elapsed / 1e9), saves, batches);
+        }
+    }
+
+    private static void runThreads(List<MemberId> events, int threads, Consumer<MemberId> action)
+            throws InterruptedException {
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            int from = (int) ((long) events.size() * t / threads);
+            int to = (int) ((long) events.size() * (t + 1) / threads);
+            workers.add(Thread.ofPlatform().start(() -> {
+                for (int i = from; i < to; i++) {
+                    action.accept(events.get(i));
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private static MemberService createService(int members) {
+        MemberService service = new MemberService(new InMemoryMemberRepository(), new InMemorySubscriptionRepository());
+        for (int i = 1; i <= members; i++) {
+            String suffix = String.format("%06d", i);
+            service.createMember("USER-" + suffix, "member_" + suffix, "password" + suffix,
+                    "member" + suffix + "@example.com", "+849" + suffix, memberId(i));
+        }
+        return service;
+    }
+
+    private static List<MemberId> createEvents(int members, int checkIns) {
+        SplittableRandom random = new SplittableRandom(42);
+        MemberId[] ids = new MemberId[members];
+        for (int i = 0; i < members; i++) {
+            ids[i] = memberId(i + 1);
+        }
+        int hot = Math.max(1, members / 100);
+        List<MemberId> events = new ArrayList<>(checkIns);
+        for (int i = 0; i < checkIns; i++) {
+            events.add(ids[random.nextBoolean() ? random.nextInt(hot) : random.nextInt(members)]);
+        }
+        return events;
+    }
+
+    private static MemberId memberId(int number) {
+        return new MemberId(String.format("MEM-%06d", number));
+    }
+}
@@ -0,0 +1,118 @@
+package hyminh.uth.domain.demo;
+
+import hyminh.uth.domain.entity.Exercise;
+import hyminh.uth.domain.recommendation.ExerciseSimilarityIndex;
+import hyminh.uth.domain.recommendation.Recommendation;
+import hyminh.uth.domain.valueobject.DifficultyLevel;
+import hyminh.uth.domain.valueobject.ExerciseType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark tìm bài tập thay thế trên thư viện 100.000 bài tập tổng hợp.
+ * Đo thời gian dựng chỉ mục, độ trễ trung bình mỗi truy vấn k-NN và độ phủ (recall@10) của
+ * ExerciseSimilarityIndex với các số cụm dò khác nhau, so với quét toàn bộ thư viện.
+ * Độ phủ tính theo khoảng cách: một kết quả đúng nếu nó gần ít nhất bằng kết quả thứ 10
+ * của phép quét toàn bộ, vì nhiều bài tập có cùng vector đặc trưng.
+ *
+ * Chạy: {@code java hyminh.uth.domain.demo.ExerciseSimilarityBenchmark}
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class ExerciseSimilarityBenchmark {
+
+    private static final int EXERCISES = 100_000;
+    private static final int QUERIES = 200;
+    private static final int K = 10;
+    private static final int ROUNDS = 5;
+    private static final int[] PROBES = {1, 2, 4, 8, 16, 32};
+    private static final long SEED = 42L;
+    private static final String[] MUSCLES = {"chest", "back", "lower back", "shoulders", "biceps", "triceps",
+            "forearms", "core", "obliques", "glutes", "quadriceps", "hamstrings", "calves", "hip flexors",
+            "adductors", "neck", "lats", "traps", "rotator cuff", "full body"};
+    private static final String[] EQUIPMENT = {"barbell", "dumbbell", "kettlebell", "cable machine", "bench",
+            "pull-up bar", "resistance band", "medicine ball", "rowing machine", "treadmill", "bike", "box"};
+
+    public static void main(String[] args) {
+        System.out.println("=== BENCHMARK TÌM BÀI TẬP TƯƠNG TỰ ===");
+        System.out.println(EXERCISES + " bài tập, " + QUERIES + " truy vấn, k = " + K + "\n");
+
+        List<Exercise> library = createLibrary();
+        Random random = new Random(SEED + 1);
+        List<Exercise> queries = new ArrayList<>();
+        for (int i = 0; i < QUERIES; i++) {
+            queries.add(library.get(random.nextInt(library.size())));
+        }
+
+        long start = System.nanoTime();
+        ExerciseSimilarityIndex exactIndex = new ExerciseSimilarityIndex();
+        exactIndex.rebuild(library);
+        System.out.printf("Dựng chỉ mục: %.0f ms, %d cụm%n%n", (System.nanoTime() - start) / 1e6,
+                exactIndex.getClusterCount());
+
+        // Kết quả chuẩn bằng quét toàn bộ; lượt đầu cũng là lượt khởi động JIT
+        List<List<Recommendation>> truth = new ArrayList<>();
+        for (Exercise query : queries) {
+            truth.add(exactIndex.findSimilarExact(query, K, exercise -> true));
+        }
+        start = System.nanoTime();
+        for (Exercise query : queries) {
+            exactIndex.findSimilarExact(query, K, exercise -> true);
+        }
+        double exactMicros = (System.nanoTime() - start) / 1e3 / QUERIES;
+        System.out.printf("%-22s %10.1f µs/truy vấn  recall@%d 1.000%n", "Quét toàn bộ", exactMicros, K);
+
+        for (int probes : PROBES) {
+            ExerciseSimilarityIndex index = new ExerciseSimilarityIndex(probes);
+            index.rebuild(library);
+            for (Exercise query : queries) {
+                index.findSimilar(query, K);
+            }
+            double found = 0;
+            List<List<Recommendation>> results = new ArrayList<>();
+            start = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++) {
+                results.clear();
+                for (Exercise query : queries) {
+                    results.add(index.findSimilar(query, K));
+                }
+            }
+            double micros = (System.nanoTime() - start) / 1e3 / QUERIES / ROUNDS;
+            for (int q = 0; q < QUERIES; q++) {
+                double threshold = truth.get(q).get(truth.get(q).size() - 1).getScore() - 1e-9;
+                for (Recommendation hit : results.get(q)) {
+                    if (hit.getScore() >= threshold) {
+                        found++;
+                    }
+                }
+            }
+            System.out.printf("%-22s %10.1f µs/truy vấn  recall@%d %.3f  (nhanh hơn %.0fx)%n",
+                    "Chỉ mục, " + probes + " cụm dò", micros, K, found / (QUERIES * K), exactMicros / micros);
+        }
+    }
+
+    private static List<Exercise> createLibrary() {
+        Random random = new Random(SEED);
+        ExerciseType[] types = ExerciseType.values();
+        DifficultyLevel[] levels = DifficultyLevel.values();
+        List<Exercise> library = new ArrayList<>(EXERCISES);
+        for (int i = 1; i <= EXERCISES; i++) {
+            StringBuilder muscles = new StringBuilder(MUSCLES[random.nextInt(MUSCLES.length)]);
+            for (int extra = random.nextInt(3); extra > 0; extra--) {
+                muscles.append(", ").append(MUSCLES[random.nextInt(MUSCLES.length)]);
+            }
+            String equipment = random.nextInt(3) == 0 ? "None" : EQUIPMENT[random.nextInt(EQUIPMENT.length)]
+                    + (random.nextInt(4) == 0 ? ", " + EQUIPMENT[random.nextInt(EQUIPMENT.length)] : "");
+            boolean weighted = !equipment.equals("None") && random.nextBoolean();
+            library.add(new Exercise(String.format("EX-%06d", i), "Exercise " + i,
+                    types[random.nextInt(types.length)], levels[random.nextInt(levels.length)],
+                    "Synthetic exercise " + i, "Follow proper form and technique",
+                    Duration.ofMinutes(2 + random.nextInt(58)), 2 + random.nextInt(4), 5 + random.nextInt(16),
+                    weighted ? 2.5 * (1 + random.nextInt(60)) : 0.0, muscles.toString(), equipment));
+        }
+        return library;
+    }
+}
@@ -0,0 +1,131 @@
+package hyminh.uth.domain.demo;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.repository.MemberRepository;
+import hyminh.uth.domain.repository.impl.InMemoryMemberRepository;
+import hyminh.uth.domain.repository.jdbc.JdbcDataSources;
+import hyminh.uth.domain.repository.jdbc.JdbcMemberRepository;
+import hyminh.uth.domain.repository.jdbc.JdbcSchema;
+import hyminh.uth.domain.time.BusinessClock;
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.SubscriptionPlan;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark so sánh JdbcMemberRepository (H2 nhúng trong bộ nhớ, pool HikariCP) với
+ * InMemoryMemberRepository: ghi từng hội viên, ghi theo lô (JDBC batch), tra cứu theo ID,
+ * quét toàn bộ bằng luồng (fetch size) và đếm theo tháng đăng ký qua chỉ mục.
+ *
+ * Chạy: {@code java hyminh.uth.domain.demo.JdbcRepositoryBenchmark [số hội viên] [JDBC URL]}
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class JdbcRepositoryBenchmark {
+
+    private static final int DEFAULT_MEMBERS = 50_000;
+    private static final int SINGLE_SAVES = 5_000;
+    private static final int LOOKUPS = 20_000;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MEMBERS;
+        String url = args.length > 1 ? args[1] : "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1";
+        List<Member> members = createMembers(count);
+        int singles = Math.min(SINGLE_SAVES, count);
+
+        System.out.println("=== BENCHMARK KHO HỘI VIÊN JDBC / BỘ NHỚ ===");
+        System.out.println(count + " hội viên, " + url + "\n");
+
+        try (HikariDataSource dataSource = JdbcDataSources.pooled(url, "sa", "", 4)) {
+            JdbcSchema.create(dataSource);
+            JdbcMemberRepository jdbc = new JdbcMemberRepository(dataSource);
+            InMemoryMemberRepository inMemory = new InMemoryMemberRepository();
+
+            System.out.printf("%-34s %14s %14s%n", "Thao tác", "Bộ nhớ", "JDBC");
+            long memorySingle = time(() -> members.subList(0, singles).forEach(inMemory::save));
+            long jdbcSingle = time(() -> members.subList(0, singles).forEach(jdbc::save));
+            report("Ghi từng HV (HV/s)", singles, memorySingle, jdbcSingle);
+
+            List<Member> rest = members.subList(singles, count);
+            long memoryBatch = time(() -> rest.forEach(inMemory::save));
+            long jdbcBatch = time(() -> jdbc.saveAll(rest));
+            report("Ghi theo lô (HV/s)", rest.size(), memoryBatch, jdbcBatch);
+            long jdbcUpdate = time(() -> jdbc.saveAll(rest));
+            System.out.printf("%-34s %14s %,14.0f%n", "Cập nhật theo lô (HV/s)", "-",
+                    rest.size() / (jdbcUpdate / 1e9));
+
+            report("Tra cứu theo ID (lượt/s)", LOOKUPS, time(() -> lookups(inMemory, count)),
+                    time(() -> lookups(jdbc, count)));
+
+            AtomicLong streamed = new AtomicLong();
+            long memoryScan = time(() -> streamed.addAndGet(inMemory.findAll().size()));
+            long jdbcScan = time(() -> jdbc.forEach(member -> streamed.incrementAndGet()));
+            report("Quét toàn bộ (HV/s)", count, memoryScan, jdbcScan);
+
+            LocalDate today = BusinessClock.today();
+            long[] counts = new long[2];
+            long memoryCount = time(() -> counts[0] = inMemory.countByRegistrationMonth(today.getYear(),
+                    today.getMonthValue()));
+            long jdbcCount = time(() -> counts[1] = jdbc.countByRegistrationMonth(today.getYear(),
+                    today.getMonthValue()));
+            System.out.printf("%-34s %11.2f ms %11.2f ms%n", "Đếm theo tháng đăng ký", memoryCount / 1e6,
+                    jdbcCount / 1e6);
+
+            System.out.printf("%nKiểm tra: %d / %d hội viên, đếm tháng %d / %d%n", inMemory.count(), jdbc.count(),
+                    counts[0], counts[1]);
+            System.out.printf("Ghi theo lô nhanh hơn ghi từng HV %.1fx%n",
+                    (jdbcSingle / (double) singles) / (jdbcBatch / (double) rest.size()));
+        }
+    }
+
+    private static void lookups(MemberRepository repository, int count) {
+        Random random = new Random(42);
+        for (int i = 0; i < LOOKUPS; i++) {
+            MemberId memberId = new MemberId(String.format("MEM-%06d", 1 + random.nextInt(count)));
+            if (repository.findById(memberId).isEmpty()) {
+                throw new IllegalStateException("Missing " + memberId);
+            }
+        }
+    }
+
+    private static void report(String label, int operations, long memoryNanos, long jdbcNanos) {
+        System.out.printf("%-34s %,14.0f %,14.0f%n", label, operations / (memoryNanos / 1e9),
+                operations / (jdbcNanos / 1e9));
+    }
+
+    private static long time(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        return System.nanoTime() - start;
+    }
+
+    private static List<Member> createMembers(int count) {
+        SubscriptionPlan[] plans = {
+            SubscriptionPlan.createBasic("PLAN-BASIC", "Gói cơ bản", 1, 500_000),
+            SubscriptionPlan.createPremium("PLAN-PREMIUM", "Gói cao cấp", 6, 2_700_000),
+            SubscriptionPlan.createPremium("PLAN-YEAR", "Gói năm", 12, 4_800_000)
+        };
+        List<Member> members = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String suffix = String.format("%06d", i);
+            Member member = new Member("USER-" + suffix, "member_" + suffix, "password" + suffix,
+                    "member" + suffix + "@example.com", "+849" + suffix, new MemberId("MEM-" + suffix));
+            if (i % 4 != 0) {
+                member.assignSubscription(new Subscription("SUB-" + suffix, plans[i % plans.length],
+                        BusinessClock.today().plusDays(i % 30)));
+            }
+            for (int s = 0; s < i % 5; s++) {
+                member.addWorkoutSchedule("SCH-" + suffix + "-" + s);
+            }
+            member.updateProgress(50 + i % 40 + (i % 10) / 10.0, 10 + i % 25, i % 200);
+            members.add(member);
+        }
+        return members;
+    }
+}
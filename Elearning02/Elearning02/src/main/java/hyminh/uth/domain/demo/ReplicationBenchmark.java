@@ -0,0 +1,130 @@
+package hyminh.uth.domain.demo;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.repository.MemberRepository;
+import hyminh.uth.domain.repository.impl.InMemoryMemberRepository;
+import hyminh.uth.domain.repository.impl.InMemorySubscriptionRepository;
+import hyminh.uth.domain.replication.ReplicationFollower;
+import hyminh.uth.domain.replication.ReplicationLeader;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark sao chép leader–follower qua socket loopback trong cùng một JVM.
+ * Đo thời gian follower mới bắt kịp bằng snapshot, sau đó cho nhiều luồng ghi liên tục
+ * (thêm hội viên mới, rồi cập nhật ngẫu nhiên hội viên có sẵn) và đo số thay đổi mỗi giây
+ * ở leader, số thay đổi follower đã áp dụng, băng thông và độ trễ sao chép.
+ *
+ * Chạy: {@code java hyminh.uth.domain.demo.ReplicationBenchmark [số hội viên ban đầu] [số luồng ghi]}
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class ReplicationBenchmark {
+
+    private static final int DEFAULT_MEMBERS = 100_000;
+    private static final int DEFAULT_WRITERS = 2;
+    private static final long RUN_MILLIS = 5_000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    public static void main(String[] args) throws Exception {
+        int initial = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MEMBERS;
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_WRITERS;
+
+        System.out.println("=== BENCHMARK SAO CHÉP LEADER–FOLLOWER ===");
+        System.out.println(initial + " hội viên ban đầu, " + writers + " luồng ghi, "
+                + Runtime.getRuntime().availableProcessors() + " CPU\n");
+
+        try (ReplicationLeader leader = new ReplicationLeader(new InMemoryMemberRepository(),
+                new InMemorySubscriptionRepository());
+             ReplicationFollower follower = new ReplicationFollower(new InMemoryMemberRepository(),
+                     new InMemorySubscriptionRepository())) {
+            leader.start(0);
+            MemberRepository members = leader.getMemberRepository();
+            for (int i = 1; i <= initial; i++) {
+                members.save(member(i));
+            }
+
+            long start = System.nanoTime();
+            follower.connect("localhost", leader.getPort());
+            if (!follower.awaitSequence(leader.flush(), TIMEOUT)) {
+                throw new IllegalStateException("Follower did not catch up");
+            }
+            long snapshotNanos = System.nanoTime() - start;
+            System.out.printf("Bắt kịp bằng snapshot: %,d hội viên trong %.0f ms (%,.0f hội viên/s)%n%n",
+                    initial, snapshotNanos / 1e6, initial / (snapshotNanos / 1e9));
+
+            System.out.printf("%-10s %14s %16s %12s %12s %12s%n",
+                    "Tải", "Ghi (TĐ/s)", "Áp dụng (TĐ/s)", "MB/s", "Trễ TB (ms)", "Trễ max (ms)");
+            AtomicInteger nextId = new AtomicInteger(initial);
+            run("Thêm mới", leader, follower, writers, random -> members.save(member(nextId.incrementAndGet())));
+            run("Cập nhật", leader, follower, writers, random -> {
+                Member member = members.findById(memberId(1 + random.nextInt(initial))).orElseThrow();
+                member.incrementWorkouts();
+                members.save(member);
+            });
+        }
+    }
+
+    private static void run(String label, ReplicationLeader leader, ReplicationFollower follower,
+                            int writers, Operation operation) throws InterruptedException {
+        long appliedBefore = follower.getAppliedChanges();
+        long bytesBefore = leader.getBytesSent();
+        LongAdder writes = new LongAdder();
+        long deadline = System.nanoTime() + RUN_MILLIS * 1_000_000;
+        Thread[] threads = new Thread[writers];
+        for (int t = 0; t < writers; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            threads[t] = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    operation.apply(random);
+                    writes.increment();
+                }
+            });
+            threads[t].start();
+        }
+
+        long lagSum = 0;
+        long lagMax = 0;
+        int samples = 0;
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            long lag = follower.getLagMillis();
+            lagSum += lag;
+            lagMax = Math.max(lagMax, lag);
+            samples++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (!follower.awaitSequence(leader.flush(), TIMEOUT)) {
+            throw new IllegalStateException("Follower did not catch up");
+        }
+        long elapsedNanos = RUN_MILLIS * 1_000_000;
+        System.out.printf("%-10s %,14.0f %,16.0f %12.1f %12.1f %12d%n", label,
+                writes.sum() / (elapsedNanos / 1e9),
+                (follower.getAppliedChanges() - appliedBefore) / (elapsedNanos / 1e9),
+                (leader.getBytesSent() - bytesBefore) / 1_048_576.0 / (elapsedNanos / 1e9),
+                (double) lagSum / Math.max(1, samples), lagMax);
+    }
+
+    private static MemberId memberId(int number) {
+        return new MemberId(String.format("MEM-%06d", number));
+    }
+
+    private static Member member(int number) {
+        String suffix = String.format("%06d", number);
+        return new Member("USER-" + suffix, "member_" + suffix, "password" + suffix,
+                "member" + suffix + "@example.com", "+849" + suffix, memberId(number));
+    }
+
+    /**
+     * Một thao tác ghi của luồng ghi.
+     */
+    private interface Operation {
+        void apply(SplittableRandom random);
+    }
+}
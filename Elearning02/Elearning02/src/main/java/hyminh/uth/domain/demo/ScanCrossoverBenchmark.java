@@ -0,0 +1,99 @@
+package hyminh.uth.domain.demo;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.query.ScanExecutor;
+import hyminh.uth.domain.query.ScanExecutor.Mode;
+import hyminh.uth.domain.repository.impl.InMemoryMemberRepository;
+import hyminh.uth.domain.valueobject.MemberId;
+
+/**
+ * Benchmark đo điểm giao nhau giữa quét tuần tự và quét song song trên repository.
+ * Với mỗi kích thước repository, chương trình đo thời gian của findActiveMembers và
+ * countWithActiveSubscriptions ở hai chế độ SEQUENTIAL và PARALLEL, rồi in ra kích thước
+ * nhỏ nhất mà quét song song nhanh hơn. Giá trị này nên được dùng làm
+ * {@link ScanExecutor#setParallelThreshold(int)} cho máy chạy thực tế.
+ *
+ * Chạy: {@code java hyminh.uth.domain.demo.ScanCrossoverBenchmark [số luồng]}
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class ScanCrossoverBenchmark {
+
+    private static final int[] SIZES = {1_000, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000};
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 30;
+
+    // Cộng dồn kết quả mọi vòng quét và in ra cuối chương trình để JIT không loại bỏ các vòng quét
+    private static long checksum;
+
+    public static void main(String[] args) {
+        int parallelism = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        ScanExecutor executor = new ScanExecutor(ScanExecutor.newPool(parallelism));
+        InMemoryMemberRepository repository = new InMemoryMemberRepository(executor);
+
+        System.out.println("=== BENCHMARK QUÉT TUẦN TỰ / SONG SONG (" + parallelism + " luồng) ===\n");
+        System.out.printf("%10s %14s %14s %9s%n", "Kích thước", "Tuần tự (µs)", "Song song (µs)", "Tăng tốc");
+
+        // Điểm giao nhau là kích thước nhỏ nhất mà từ đó quét song song luôn nhanh hơn
+        int crossover = -1;
+        int loaded = 0;
+        for (int size : SIZES) {
+            for (; loaded < size; loaded++) {
+                repository.save(createMember(loaded + 1));
+            }
+
+            double sequential = measure(repository, executor, Mode.SEQUENTIAL);
+            double parallel = measure(repository, executor, Mode.PARALLEL);
+            System.out.printf("%10d %14.1f %14.1f %8.2fx%n", size, sequential, parallel, sequential / parallel);
+            if (parallel < sequential) {
+                if (crossover < 0) {
+                    crossover = size;
+                }
+            } else {
+                crossover = -1;
+            }
+        }
+
+        System.out.println();
+        if (crossover > 0) {
+            System.out.println("Điểm giao nhau: quét song song nhanh hơn từ khoảng " + crossover + " bản ghi");
+        } else {
+            System.out.println("Quét song song không nhanh hơn ở các kích thước đã đo");
+        }
+        System.out.println("Ngưỡng mặc định hiện tại: " + ScanExecutor.DEFAULT_PARALLEL_THRESHOLD);
+        System.out.println("Tổng kiểm tra kết quả quét: " + checksum);
+        if (parallelism == 1) {
+            System.out.println("Lưu ý: chỉ có 1 luồng, kết quả song song chỉ phản ánh chi phí fork/join");
+        }
+    }
+
+    private static double measure(InMemoryMemberRepository repository, ScanExecutor executor, Mode mode) {
+        executor.setMode(mode);
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += runScans(repository);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += runScans(repository);
+        }
+        long elapsed = System.nanoTime() - start;
+        checksum += sink;
+        return elapsed / 1_000.0 / MEASURED_ROUNDS;
+    }
+
+    private static long runScans(InMemoryMemberRepository repository) {
+        return repository.findActiveMembers().size() + repository.countWithActiveSubscriptions();
+    }
+
+    private static Member createMember(int number) {
+        String suffix = String.format("%06d", number);
+        Member member = new Member("USER-" + suffix, "member_" + suffix, "password123",
+                "member" + suffix + "@example.com", "+84" + suffix, new MemberId("MEM-" + suffix));
+        if (number % 3 == 0) {
+            member.deactivate();
+        }
+        return member;
+    }
+}
@@ -0,0 +1,119 @@
+package hyminh.uth.domain.demo;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.repository.MemberRepository;
+import hyminh.uth.domain.repository.impl.InMemoryMemberRepository;
+import hyminh.uth.domain.repository.shard.ShardedMemberRepository;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark khả năng mở rộng của kho hội viên phân mảnh (ShardedMemberRepository) theo số
+ * shard. Với mỗi cấu hình, nhiều luồng chạy song song một tải hỗn hợp (70% tìm theo mã hội
+ * viên, 25% cập nhật, 5% tìm theo userId) trong một khoảng thời gian cố định; sau đó đo thời
+ * gian một truy vấn quét toàn bộ các shard và thời gian thêm một shard (số hội viên phải di
+ * chuyển). Dòng đầu tiên là InMemoryMemberRepository không phân mảnh để so sánh.
+ *
+ * Chạy: {@code java hyminh.uth.domain.demo.ShardScalingBenchmark [số hội viên] [số luồng]}
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class ShardScalingBenchmark {
+
+    private static final int DEFAULT_MEMBERS = 200_000;
+    private static final int[] SHARD_COUNTS = {1, 2, 4, 8, 16};
+    private static final long RUN_MILLIS = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MEMBERS;
+        int threads = args.length > 1 ? Integer.parseInt(args[1])
+                : Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+        List<Member> members = createMembers(count);
+
+        System.out.println("=== BENCHMARK KHO HỘI VIÊN PHÂN MẢNH ===");
+        System.out.println(count + " hội viên, " + threads + " luồng, "
+                + Runtime.getRuntime().availableProcessors() + " CPU\n");
+        System.out.printf("%-14s %14s %14s %16s %14s%n",
+                "Cấu hình", "Thao tác/s", "Quét (ms)", "Thêm shard (ms)", "Di chuyển");
+
+        run("Không phân mảnh", new InMemoryMemberRepository(), members, threads);
+        for (int shards : SHARD_COUNTS) {
+            run(shards + " shard", new ShardedMemberRepository(shards), members, threads);
+        }
+    }
+
+    private static void run(String label, MemberRepository repository, List<Member> members, int threads)
+            throws InterruptedException {
+        for (Member member : members) {
+            repository.save(member);
+        }
+        runWorkload(repository, members, threads, RUN_MILLIS / 4);   // Khởi động JIT
+        double throughput = runWorkload(repository, members, threads, RUN_MILLIS);
+
+        long scanNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            repository.findActiveMembers();
+            scanNanos = Math.min(scanNanos, System.nanoTime() - start);
+        }
+
+        String resize = "-";
+        String moved = "-";
+        if (repository instanceof ShardedMemberRepository sharded) {
+            long start = System.nanoTime();
+            int movedMembers = sharded.resize(sharded.getShardCount() + 1);
+            resize = String.format("%.0f", (System.nanoTime() - start) / 1e6);
+            moved = String.format("%.1f%%", 100.0 * movedMembers / members.size());
+        }
+        System.out.printf("%-14s %,14.0f %14.1f %16s %14s%n", label, throughput, scanNanos / 1e6, resize, moved);
+    }
+
+    private static double runWorkload(MemberRepository repository, List<Member> members, int threads, long millis)
+            throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        CountDownLatch done = new CountDownLatch(threads);
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            Thread worker = new Thread(() -> {
+                long local = 0;
+                while ((local & 0xFF) != 0 || System.nanoTime() < deadline) {
+                    Member member = members.get(random.nextInt(members.size()));
+                    int op = random.nextInt(100);
+                    if (op < 70) {
+                        repository.findById(member.getMemberId());
+                    } else if (op < 95) {
+                        repository.save(member);
+                    } else {
+                        repository.findByUserId(member.getUserId());
+                    }
+                    local++;
+                }
+                operations.add(local);
+                done.countDown();
+            });
+            worker.start();
+        }
+        done.await();
+        return operations.sum() / (millis / 1000.0);
+    }
+
+    private static List<Member> createMembers(int count) {
+        List<Member> members = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String suffix = String.format("%06d", i);
+            Member member = new Member("USER-" + suffix, "member_" + suffix, "password" + suffix,
+                    "member" + suffix + "@example.com", "+849" + suffix, new MemberId("MEM-" + suffix));
+            if (i % 5 == 0) {
+                member.deactivate();
+            }
+            members.add(member);
+        }
+        return members;
+    }
+}
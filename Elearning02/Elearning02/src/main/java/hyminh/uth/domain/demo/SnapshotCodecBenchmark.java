@@ -0,0 +1,142 @@
+package hyminh.uth.domain.demo;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.google.gson.reflect.TypeToken;
+import hyminh.uth.domain.codec.RecordFormat;
+import hyminh.uth.domain.codec.SnapshotCodec;
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.time.BusinessClock;
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.SubscriptionPlan;
+import hyminh.uth.util.LocalDateAdapter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark so sánh snapshot nhị phân (SnapshotCodec) với JSON Gson như DataManager
+ * (pretty printing, adapter cho ngày tháng) khi ghi và đọc lại toàn bộ hội viên kèm
+ * gói tập và chỉ số tiến độ. In ra kích thước dữ liệu, thời gian và số bản ghi mỗi giây.
+ *
+ * Chạy: {@code java hyminh.uth.domain.demo.SnapshotCodecBenchmark [số hội viên]}
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class SnapshotCodecBenchmark {
+
+    private static final int DEFAULT_MEMBERS = 100_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_MEMBERS;
+        List<Member> members = createMembers(count);
+        SnapshotCodec codec = new SnapshotCodec();
+        Gson gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
+                .registerTypeAdapter(LocalDateTime.class, (JsonSerializer<LocalDateTime>)
+                        (value, type, context) -> new JsonPrimitive(value.toString()))
+                .registerTypeAdapter(LocalDateTime.class, (JsonDeserializer<LocalDateTime>)
+                        (json, type, context) -> LocalDateTime.parse(json.getAsString()))
+                .setPrettyPrinting()
+                .create();
+
+        System.out.println("=== BENCHMARK SNAPSHOT NHỊ PHÂN / JSON ===");
+        System.out.println(count + " hội viên, tốt nhất trong " + ROUNDS + " lần\n");
+
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        long binaryWrite = best(() -> {
+            binary.reset();
+            codec.write(RecordFormat.MEMBER, members, binary);
+        });
+        long binaryRead = best(() -> check(codec.read(RecordFormat.MEMBER,
+                new ByteArrayInputStream(binary.toByteArray())), count));
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        long jsonWrite = best(() -> {
+            json.reset();
+            try (Writer writer = new OutputStreamWriter(json, StandardCharsets.UTF_8)) {
+                gson.toJson(members, writer);
+            }
+        });
+        long jsonRead = best(() -> {
+            try (Reader reader = new InputStreamReader(new ByteArrayInputStream(json.toByteArray()),
+                    StandardCharsets.UTF_8)) {
+                check(gson.fromJson(reader, new TypeToken<List<Member>>() { }.getType()), count);
+            }
+        });
+
+        System.out.printf("%-10s %12s %12s %12s %14s %14s%n",
+                "Định dạng", "Kích thước", "Byte/HV", "", "Ghi (HV/s)", "Đọc (HV/s)");
+        report("Nhị phân", binary.size(), count, binaryWrite, binaryRead);
+        report("JSON", json.size(), count, jsonWrite, jsonRead);
+        System.out.printf("%nNhỏ hơn %.1fx, ghi nhanh hơn %.1fx, đọc nhanh hơn %.1fx%n",
+                (double) json.size() / binary.size(), (double) jsonWrite / binaryWrite,
+                (double) jsonRead / binaryRead);
+    }
+
+    private static void report(String label, int bytes, int count, long writeNanos, long readNanos) {
+        System.out.printf("%-10s %9.1f MB %12d %12s %,14.0f %,14.0f%n", label, bytes / 1_048_576.0,
+                bytes / count, "", count / (writeNanos / 1e9), count / (readNanos / 1e9));
+    }
+
+    private static long best(Task task) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            task.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static void check(List<?> decoded, int expected) {
+        if (decoded.size() != expected) {
+            throw new IllegalStateException("Decoded " + decoded.size() + " of " + expected);
+        }
+    }
+
+    private static List<Member> createMembers(int count) {
+        SubscriptionPlan[] plans = {
+            SubscriptionPlan.createBasic("PLAN-BASIC", "Gói cơ bản", 1, 500_000),
+            SubscriptionPlan.createPremium("PLAN-PREMIUM", "Gói cao cấp", 6, 2_700_000),
+            SubscriptionPlan.createPremium("PLAN-YEAR", "Gói năm", 12, 4_800_000)
+        };
+        List<Member> members = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            String suffix = String.format("%06d", i);
+            Member member = new Member("USER-" + suffix, "member_" + suffix, "password" + suffix,
+                    "member" + suffix + "@example.com", "+849" + suffix, new MemberId("MEM-" + suffix));
+            if (i % 4 != 0) {
+                member.assignSubscription(new Subscription("SUB-" + suffix, plans[i % plans.length],
+                        BusinessClock.today().plusDays(i % 30)));
+            }
+            for (int s = 0; s < i % 5; s++) {
+                member.addWorkoutSchedule("SCH-" + suffix + "-" + s);
+            }
+            member.updateProgress(50 + i % 40 + (i % 10) / 10.0, 10 + i % 25, i % 200);
+            members.add(member);
+        }
+        return members;
+    }
+
+    /**
+     * Một lần đo có thể ném ngoại lệ.
+     */
+    private interface Task {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,121 @@
+package hyminh.uth.domain.demo;
+
+import hyminh.uth.domain.entity.Trainer;
+import hyminh.uth.domain.service.TrainerAssignmentEngine;
+import hyminh.uth.domain.valueobject.Specialization;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmark phân công hàng loạt hội viên cho huấn luyện viên khi mở chi nhánh mới.
+ * Phân công 100.000 hội viên cho 2.000 huấn luyện viên bằng TrainerAssignmentEngine
+ * (hàng đợi ưu tiên theo chuyên môn, O(log T) mỗi hội viên) và so sánh với cách quét
+ * tuần tự toàn bộ huấn luyện viên cho từng hội viên (O(T) mỗi hội viên).
+ *
+ * Chạy: {@code java hyminh.uth.domain.demo.TrainerAssignmentBenchmark}
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class TrainerAssignmentBenchmark {
+
+    private static final int MEMBERS = 100_000;
+    private static final int TRAINERS = 2_000;
+    private static final int CAPACITY = 60;
+    private static final long SEED = 42L;
+
+    public static void main(String[] args) {
+        System.out.println("=== BENCHMARK PHÂN CÔNG HUẤN LUYỆN VIÊN ===");
+        System.out.println(MEMBERS + " hội viên, " + TRAINERS + " huấn luyện viên, tối đa "
+                + CAPACITY + " hội viên/HLV\n");
+
+        Map<String, Specialization> requests = createRequests();
+
+        // Khởi động JIT trên một bộ dữ liệu riêng
+        for (int i = 0; i < 3; i++) {
+            TrainerAssignmentEngine warmup = new TrainerAssignmentEngine(CAPACITY);
+            warmup.registerTrainers(createTrainers());
+            warmup.assignAll(requests);
+        }
+
+        List<Trainer> trainers = createTrainers();
+        TrainerAssignmentEngine engine = new TrainerAssignmentEngine(CAPACITY);
+        long start = System.nanoTime();
+        engine.registerTrainers(trainers);
+        TrainerAssignmentEngine.Result result = engine.assignAll(requests);
+        long engineNanos = System.nanoTime() - start;
+        report("Hàng đợi ưu tiên", engineNanos, result.getAssignedCount(), trainers);
+
+        List<Trainer> naiveTrainers = createTrainers();
+        start = System.nanoTime();
+        int naiveAssigned = assignByLinearScan(naiveTrainers, requests);
+        long naiveNanos = System.nanoTime() - start;
+        report("Quét tuần tự", naiveNanos, naiveAssigned, naiveTrainers);
+
+        System.out.printf("%nTăng tốc: %.1fx%n", (double) naiveNanos / engineNanos);
+    }
+
+    private static void report(String label, long nanos, int assigned, List<Trainer> trainers) {
+        Map<Specialization, int[]> spread = new EnumMap<>(Specialization.class);
+        for (Trainer trainer : trainers) {
+            int[] minMax = spread.computeIfAbsent(trainer.getSpecialization(),
+                    s -> new int[] {Integer.MAX_VALUE, Integer.MIN_VALUE});
+            minMax[0] = Math.min(minMax[0], trainer.getWorkload());
+            minMax[1] = Math.max(minMax[1], trainer.getWorkload());
+        }
+        System.out.printf("%-18s %8.1f ms  %,10.0f phân công/giây  đã phân công %d/%d%n", label,
+                nanos / 1_000_000.0, assigned / (nanos / 1_000_000_000.0), assigned, MEMBERS);
+        spread.forEach((specialization, minMax) ->
+                System.out.printf("    %-24s tải thấp nhất %3d, cao nhất %3d%n", specialization, minMax[0], minMax[1]));
+    }
+
+    private static int assignByLinearScan(List<Trainer> trainers, Map<String, Specialization> requests) {
+        int assigned = 0;
+        for (Map.Entry<String, Specialization> request : requests.entrySet()) {
+            Trainer best = null;
+            for (Trainer trainer : trainers) {
+                if (trainer.isAvailable() && trainer.canHandleMoreMembers(CAPACITY)
+                        && trainer.isQualifiedFor(request.getValue())
+                        && (best == null || trainer.getWorkload() < best.getWorkload())) {
+                    best = trainer;
+                }
+            }
+            if (best != null) {
+                best.assignMember(request.getKey());
+                assigned++;
+            }
+        }
+        return assigned;
+    }
+
+    private static Map<String, Specialization> createRequests() {
+        Random random = new Random(SEED);
+        Specialization[] specializations = Specialization.values();
+        Map<String, Specialization> requests = new LinkedHashMap<>();
+        for (int i = 1; i <= MEMBERS; i++) {
+            requests.put(String.format("MEM-%06d", i), specializations[random.nextInt(specializations.length)]);
+        }
+        return requests;
+    }
+
+    private static List<Trainer> createTrainers() {
+        Random random = new Random(SEED);
+        Specialization[] specializations = Specialization.values();
+        List<Trainer> trainers = new ArrayList<>(TRAINERS);
+        for (int i = 1; i <= TRAINERS; i++) {
+            String suffix = String.format("%05d", i);
+            Trainer trainer = new Trainer("TRAINER-" + suffix, "trainer_" + suffix, "password123",
+                    "trainer" + suffix + "@example.com", "+849" + suffix,
+                    specializations[i % specializations.length], random.nextInt(15));
+            if (i % 50 == 0) {
+                trainer.setAvailability(false);   // Một phần HLV đang nghỉ phép
+            }
+            trainers.add(trainer);
+        }
+        return trainers;
+    }
+}
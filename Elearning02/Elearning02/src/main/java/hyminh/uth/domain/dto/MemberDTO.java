@@ -3,6 +3,7 @@ package hyminh.uth.domain.dto;
 import hyminh.uth.domain.valueobject.MemberId;
 import hyminh.uth.domain.valueobject.UserRole;
 import hyminh.uth.domain.valueobject.SubscriptionStatus;
+import hyminh.uth.domain.time.BusinessClock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -113,7 +114,7 @@ public class MemberDTO {
      * @return the number of days since registration
      */
     public long getMembershipDurationInDays() {
-        return java.time.temporal.ChronoUnit.DAYS.between(registrationDate, LocalDate.now());
+        return java.time.temporal.ChronoUnit.DAYS.between(registrationDate, BusinessClock.today());
     }
     
     /**
@@ -2,6 +2,7 @@ package hyminh.uth.domain.entity;
 
 import hyminh.uth.domain.valueobject.UserRole;
 import hyminh.uth.domain.valueobject.AdminAction;
+import hyminh.uth.domain.time.BusinessClock;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -40,7 +41,7 @@ public class Admin extends User {
             throw new IllegalArgumentException("Admin level cannot be null or empty");
         }
         
-        this.adminSince = LocalDateTime.now();
+        this.adminSince = BusinessClock.now();
         this.adminLevel = adminLevel;
         this.canManageUsers = true;
         this.canManageSubscriptions = true;
@@ -72,13 +73,66 @@ public class Admin extends User {
             throw new IllegalArgumentException("Admin level cannot be null or empty");
         }
         
-        this.adminSince = LocalDateTime.now();
+        this.adminSince = BusinessClock.now();
         this.adminLevel = adminLevel;
         this.canManageUsers = canManageUsers;
         this.canManageSubscriptions = canManageSubscriptions;
         this.canManageReports = canManageReports;
         this.canManageSystemSettings = canManageSystemSettings;
     }
+
+    /**
+     * Restores a persisted Admin with its full state.
+     */
+    private Admin(String userId, String username, String password, String email, String phone,
+                  LocalDateTime createdAt, LocalDateTime lastModifiedAt, boolean isActive,
+                  LocalDateTime adminSince, String adminLevel, boolean canManageUsers,
+                  boolean canManageSubscriptions, boolean canManageReports, boolean canManageSystemSettings) {
+        super(userId, username, password, email, phone, UserRole.ADMIN, createdAt, lastModifiedAt, isActive);
+        if (adminSince == null) {
+            throw new IllegalArgumentException("Admin since cannot be null");
+        }
+        if (adminLevel == null || adminLevel.trim().isEmpty()) {
+            throw new IllegalArgumentException("Admin level cannot be null or empty");
+        }
+        this.adminSince = adminSince;
+        this.adminLevel = adminLevel;
+        this.canManageUsers = canManageUsers;
+        this.canManageSubscriptions = canManageSubscriptions;
+        this.canManageReports = canManageReports;
+        this.canManageSystemSettings = canManageSystemSettings;
+    }
+
+    /**
+     * Restores a persisted Admin (for example from a database) with its full state,
+     * without resetting the admin-since date and timestamps to the current clock.
+     *
+     * @param userId the unique identifier for the user
+     * @param username the username for login
+     * @param password the password for authentication
+     * @param email the email address
+     * @param phone the phone number
+     * @param createdAt when the account was created
+     * @param lastModifiedAt when the account was last modified
+     * @param isActive whether the account is active
+     * @param adminSince when the user became an admin
+     * @param adminLevel the level of admin privileges
+     * @param canManageUsers whether the admin can manage users
+     * @param canManageSubscriptions whether the admin can manage subscriptions
+     * @param canManageReports whether the admin can manage reports
+     * @param canManageSystemSettings whether the admin can manage system settings
+     * @return the restored admin
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public static Admin restore(String userId, String username, String password, String email, String phone,
+                                LocalDateTime createdAt, LocalDateTime lastModifiedAt, boolean isActive,
+                                LocalDateTime adminSince, String adminLevel, boolean canManageUsers,
+                                boolean canManageSubscriptions, boolean canManageReports,
+                                boolean canManageSystemSettings) {
+        return new Admin(userId, username, password, email, phone, createdAt, lastModifiedAt, isActive,
+                         adminSince, adminLevel, canManageUsers, canManageSubscriptions, canManageReports,
+                         canManageSystemSettings);
+    }
     
     /**
      * Updates the admin's permissions.
@@ -137,7 +191,7 @@ public class Admin extends User {
      * @return the number of days since becoming admin
      */
     public long getTenureInDays() {
-        return java.time.temporal.ChronoUnit.DAYS.between(adminSince, LocalDateTime.now());
+        return java.time.temporal.ChronoUnit.DAYS.between(adminSince, BusinessClock.now());
     }
     
     /**
@@ -4,7 +4,9 @@ import hyminh.uth.domain.valueobject.MemberId;
 import hyminh.uth.domain.valueobject.SubscriptionStatus;
 import hyminh.uth.domain.valueobject.ProgressMetrics;
 import hyminh.uth.domain.valueobject.UserRole;
+import hyminh.uth.domain.time.BusinessClock;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -21,6 +23,10 @@ import java.util.Objects;
  * - Quản lý lịch tập và điểm danh
  * - Tính toán các chỉ số như tỷ lệ tham gia, thời gian thành viên
  * 
+ * Biểu diễn gọn trong bộ nhớ: ngày được lưu dưới dạng số ngày kể từ 1970-01-01, chỉ số tiến
+ * độ được trải phẳng thành các trường nguyên thuỷ (getProgressMetrics() dựng lại ProgressMetrics
+ * khi được gọi) và danh sách lịch tập, điểm danh chỉ được cấp phát ở lần thêm đầu tiên.
+ * 
  * @author Gym Management System
  * @version 1.0
  */
@@ -28,11 +34,19 @@ public class Member extends User {
     
     // Các thuộc tính cụ thể của thành viên
     private final MemberId memberId;                    // ID duy nhất của thành viên
-    private final LocalDate registrationDate;           // Ngày đăng ký thành viên
+    private final int registrationEpochDay;             // Ngày đăng ký thành viên
     private Subscription currentSubscription;           // Gói tập hiện tại (có thể null)
-    private final List<String> workoutScheduleIds;      // Danh sách ID lịch tập
-    private final List<String> attendanceIds;           // Danh sách ID điểm danh
-    private ProgressMetrics progressMetrics;            // Chỉ số tiến độ tập luyện
+    private List<String> workoutScheduleIds;            // Danh sách ID lịch tập (null khi rỗng)
+    private List<String> attendanceIds;                 // Danh sách ID điểm danh (null khi rỗng)
+    private long version;                               // Phiên bản đã lưu, dùng cho compare-and-set
+    
+    // Chỉ số tiến độ tập luyện, trải phẳng từ ProgressMetrics
+    private int progressEpochDay;                       // Ngày ghi nhận tiến độ
+    private double weight;                              // Cân nặng (kg)
+    private double bodyFat;                             // Tỷ lệ mỡ (%)
+    private int workoutsCompleted;                      // Số buổi tập đã hoàn thành
+    private String progressNotes;                       // Ghi chú
+
     
     /**
      * Khởi tạo một Member mới với các tham số được chỉ định.
@@ -57,12 +71,107 @@ public class Member extends User {
         
         // Khởi tạo các thuộc tính cụ thể của thành viên
         this.memberId = memberId;
-        this.registrationDate = LocalDate.now();                    // Ngày đăng ký là hôm nay
-        this.workoutScheduleIds = new ArrayList<>();                // Khởi tạo danh sách lịch tập rỗng
-        this.attendanceIds = new ArrayList<>();                     // Khởi tạo danh sách điểm danh rỗng
-        this.progressMetrics = new ProgressMetrics(memberId.getValue(), LocalDate.now()); // Khởi tạo chỉ số tiến độ
+        this.registrationEpochDay = toEpochDay(BusinessClock.today());    // Ngày đăng ký là hôm nay
+        this.progressEpochDay = registrationEpochDay;               // Chỉ số tiến độ mặc định: 0 kg, 0 %, 0 buổi
+        this.progressNotes = "";
     }
-    
+
+    /**
+     * Khôi phục một Member đã lưu (ví dụ từ snapshot) với đầy đủ trạng thái.
+     */
+    private Member(String userId, String username, String password, String email, String phone,
+                   MemberId memberId, LocalDate registrationDate, LocalDateTime createdAt,
+                   LocalDateTime lastModifiedAt, boolean isActive, Subscription currentSubscription,
+                   List<String> workoutScheduleIds, List<String> attendanceIds, ProgressMetrics progressMetrics) {
+        super(userId, username, password, email, phone, UserRole.MEMBER, createdAt, lastModifiedAt, isActive);
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+        if (registrationDate == null) {
+            throw new IllegalArgumentException("Registration date cannot be null");
+        }
+        if (workoutScheduleIds == null || attendanceIds == null) {
+            throw new IllegalArgumentException("Schedule and attendance IDs cannot be null");
+        }
+        if (progressMetrics == null) {
+            throw new IllegalArgumentException("Progress metrics cannot be null");
+        }
+        if (!memberId.getValue().equals(progressMetrics.getMemberId())) {
+            throw new IllegalArgumentException("Progress metrics belong to another member");
+        }
+        this.memberId = memberId;
+        this.registrationEpochDay = toEpochDay(registrationDate);
+        this.currentSubscription = currentSubscription;
+        this.workoutScheduleIds = workoutScheduleIds.isEmpty() ? null : new ArrayList<>(workoutScheduleIds);
+        this.attendanceIds = attendanceIds.isEmpty() ? null : new ArrayList<>(attendanceIds);
+        this.progressEpochDay = toEpochDay(progressMetrics.getDate());
+        this.weight = progressMetrics.getWeight();
+        this.bodyFat = progressMetrics.getBodyFat();
+        this.workoutsCompleted = progressMetrics.getWorkoutsCompleted();
+        this.progressNotes = progressMetrics.getNotes().isEmpty() ? "" : progressMetrics.getNotes();
+    }
+
+    /**
+     * Khôi phục một Member đã lưu (ví dụ từ snapshot) với đầy đủ trạng thái,
+     * không gán lại ngày đăng ký và thời gian tạo theo đồng hồ hiện tại.
+     *
+     * @param userId ID duy nhất của người dùng
+     * @param username tên đăng nhập
+     * @param password mật khẩu để xác thực
+     * @param email địa chỉ email
+     * @param phone số điện thoại
+     * @param memberId ID duy nhất của thành viên
+     * @param registrationDate ngày đăng ký
+     * @param createdAt thời gian tạo tài khoản
+     * @param lastModifiedAt thời gian cập nhật cuối cùng
+     * @param isActive trạng thái hoạt động của tài khoản
+     * @param currentSubscription gói tập hiện tại (có thể null)
+     * @param workoutScheduleIds danh sách ID lịch tập
+     * @param attendanceIds danh sách ID điểm danh
+     * @param progressMetrics chỉ số tiến độ tập luyện
+     * @return thành viên đã khôi phục
+     * @throws IllegalArgumentException nếu bất kỳ tham số nào không hợp lệ
+     */
+    public static Member restore(String userId, String username, String password, String email, String phone,
+                                 MemberId memberId, LocalDate registrationDate, LocalDateTime createdAt,
+                                 LocalDateTime lastModifiedAt, boolean isActive, Subscription currentSubscription,
+                                 List<String> workoutScheduleIds, List<String> attendanceIds,
+                                 ProgressMetrics progressMetrics) {
+        return new Member(userId, username, password, email, phone, memberId, registrationDate, createdAt,
+                          lastModifiedAt, isActive, currentSubscription, workoutScheduleIds, attendanceIds,
+                          progressMetrics);
+    }
+
+    /**
+     * Tạo một bản sao tách rời của thành viên, cùng phiên bản, để sửa đổi rồi ghi lại bằng
+     * {@code MemberRepository.compareAndSave} mà không động vào đối tượng mà repository đang giữ.
+     * Danh sách lịch tập và điểm danh được sao chép; gói tập hiện tại được dùng chung.
+     *
+     * @return bản sao của thành viên
+     */
+    public Member copy() {
+        Member copy = new Member(getUserId(), getUsername(), getPassword(), getEmail(), getPhone(), memberId,
+                                 getRegistrationDate(), getCreatedAt(), getLastModifiedAt(), isActive(),
+                                 currentSubscription, getWorkoutScheduleIds(), getAttendanceIds(),
+                                 getProgressMetrics());
+        copy.version = version;
+        return copy;
+    }
+
+    /**
+     * Gán phiên bản đã lưu. Tầng lưu trữ gọi phương thức này qua
+     * {@link PersistenceAccess#setVersion(Member, long)} sau mỗi lần ghi thành công.
+     *
+     * @param version phiên bản mới
+     * @throws IllegalArgumentException nếu phiên bản âm
+     */
+    void setVersion(long version) {
+        if (version < 0) {
+            throw new IllegalArgumentException("Version cannot be negative");
+        }
+        this.version = version;
+    }
+
     /**
      * Gán gói tập cho thành viên này.
      * 
@@ -104,6 +213,9 @@ public class Member extends User {
         if (scheduleId == null || scheduleId.trim().isEmpty()) {
             throw new IllegalArgumentException("Schedule ID cannot be null or empty");
         }
+        if (workoutScheduleIds == null) {
+            workoutScheduleIds = new ArrayList<>(2);
+        }
         if (!workoutScheduleIds.contains(scheduleId)) {
             workoutScheduleIds.add(scheduleId);
         }
@@ -115,7 +227,9 @@ public class Member extends User {
      * @param scheduleId the workout schedule ID to remove
      */
     public void removeWorkoutSchedule(String scheduleId) {
-        workoutScheduleIds.remove(scheduleId);
+        if (workoutScheduleIds != null && workoutScheduleIds.remove(scheduleId) && workoutScheduleIds.isEmpty()) {
+            workoutScheduleIds = null;
+        }
     }
     
     /**
@@ -128,6 +242,9 @@ public class Member extends User {
         if (attendanceId == null || attendanceId.trim().isEmpty()) {
             throw new IllegalArgumentException("Attendance ID cannot be null or empty");
         }
+        if (attendanceIds == null) {
+            attendanceIds = new ArrayList<>(2);
+        }
         if (!attendanceIds.contains(attendanceId)) {
             attendanceIds.add(attendanceId);
         }
@@ -152,21 +269,34 @@ public class Member extends User {
             throw new IllegalArgumentException("Workouts completed cannot be negative");
         }
         
-        this.progressMetrics = new ProgressMetrics(
-            memberId.getValue(), 
-            LocalDate.now(), 
-            weight, 
-            bodyFat, 
-            workoutsCompleted,
-            ""
-        );
+        this.progressEpochDay = toEpochDay(BusinessClock.today());
+        this.weight = weight;
+        this.bodyFat = bodyFat;
+        this.workoutsCompleted = workoutsCompleted;
+        this.progressNotes = "";
     }
     
     /**
      * Increments the number of completed workouts.
      */
     public void incrementWorkouts() {
-        this.progressMetrics = this.progressMetrics.incrementWorkouts();
+        addWorkouts(1);
+    }
+    
+    /**
+     * Adds several completed workouts at once.
+     * 
+     * @param count the number of workouts to add
+     * @throws IllegalArgumentException if count is not positive
+     */
+    public void addWorkouts(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Workout count must be positive");
+        }
+        if (workoutsCompleted > Integer.MAX_VALUE - count) {
+            throw new IllegalArgumentException("Workouts completed overflow");
+        }
+        this.workoutsCompleted += count;
     }
     
     /**
@@ -175,7 +305,7 @@ public class Member extends User {
      * @return the number of days since registration
      */
     public long getMembershipDurationInDays() {
-        return java.time.temporal.ChronoUnit.DAYS.between(registrationDate, LocalDate.now());
+        return BusinessClock.today().toEpochDay() - registrationEpochDay;
     }
     
     /**
@@ -184,19 +314,40 @@ public class Member extends User {
      * @return the attendance rate as a percentage (0.0 to 100.0)
      */
     public double getAttendanceRate() {
-        if (workoutScheduleIds.isEmpty()) {
+        if (workoutScheduleIds == null) {
             return 0.0;
         }
-        return (double) attendanceIds.size() / workoutScheduleIds.size() * 100.0;
+        int attended = attendanceIds != null ? attendanceIds.size() : 0;
+        return (double) attended / workoutScheduleIds.size() * 100.0;
     }
     
     // Getters
     public MemberId getMemberId() { return memberId; }
-    public LocalDate getRegistrationDate() { return registrationDate; }
+    public LocalDate getRegistrationDate() { return LocalDate.ofEpochDay(registrationEpochDay); }
     public Subscription getCurrentSubscription() { return currentSubscription; }
-    public List<String> getWorkoutScheduleIds() { return Collections.unmodifiableList(workoutScheduleIds); }
-    public List<String> getAttendanceIds() { return Collections.unmodifiableList(attendanceIds); }
-    public ProgressMetrics getProgressMetrics() { return progressMetrics; }
+    public List<String> getWorkoutScheduleIds() { return unmodifiable(workoutScheduleIds); }
+    public List<String> getAttendanceIds() { return unmodifiable(attendanceIds); }
+    public int getWorkoutsCompleted() { return workoutsCompleted; }
+    public long getVersion() { return version; }
+    
+    /**
+     * Returns the member's progress metrics, built from the stored fields on every call.
+     * Prefer {@link #getWorkoutsCompleted()} when only the workout count is needed.
+     * 
+     * @return the progress metrics
+     */
+    public ProgressMetrics getProgressMetrics() {
+        return new ProgressMetrics(memberId.getValue(), LocalDate.ofEpochDay(progressEpochDay), weight, bodyFat,
+                                   workoutsCompleted, progressNotes);
+    }
+    
+    private static List<String> unmodifiable(List<String> ids) {
+        return ids != null ? Collections.unmodifiableList(ids) : List.of();
+    }
+    
+    private static int toEpochDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
     
     @Override
     public boolean equals(Object obj) {
@@ -217,6 +368,6 @@ public class Member extends User {
         return String.format("Member{memberId=%s, username='%s', email='%s', subscription=%s, workouts=%d, attendance=%d}", 
                            memberId, getUsername(), getEmail(), 
                            currentSubscription != null ? currentSubscription.getStatus() : "None",
-                           workoutScheduleIds.size(), attendanceIds.size());
+                           getWorkoutScheduleIds().size(), getAttendanceIds().size());
     }
 }
@@ -0,0 +1,46 @@
+package hyminh.uth.domain.entity;
+
+/**
+ * Cửa truy cập dành riêng cho tầng lưu trữ (snapshot codec, repository) tới các trường mà
+ * thực thể không công khai, như mật khẩu của người dùng hay phiên bản đã lưu của thành viên.
+ *
+ * Mã ứng dụng không được dùng lớp này: để kiểm tra mật khẩu hãy dùng
+ * {@link User#authenticate(String, String)}.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class PersistenceAccess {
+
+    private PersistenceAccess() {
+    }
+
+    /**
+     * Lấy mật khẩu đã lưu của người dùng để ghi xuống kho lưu trữ.
+     *
+     * @param user người dùng
+     * @return mật khẩu đã lưu
+     * @throws IllegalArgumentException nếu user null
+     */
+    public static String passwordOf(User user) {
+        if (user == null) {
+            throw new IllegalArgumentException("User cannot be null");
+        }
+        return user.getPassword();
+    }
+
+    /**
+     * Gán phiên bản đã lưu của thành viên sau khi ghi hoặc khi đọc lại từ kho lưu trữ.
+     * Mã ứng dụng không được tự đổi phiên bản, vì compare-and-set dựa vào nó.
+     *
+     * @param member thành viên
+     * @param version phiên bản đã lưu
+     * @throws IllegalArgumentException nếu member null hoặc phiên bản âm
+     */
+    public static void setVersion(Member member, long version) {
+        if (member == null) {
+            throw new IllegalArgumentException("Member cannot be null");
+        }
+        member.setVersion(version);
+    }
+}
@@ -2,6 +2,7 @@ package hyminh.uth.domain.entity;
 
 import hyminh.uth.domain.valueobject.SubscriptionStatus;
 import hyminh.uth.domain.valueobject.SubscriptionPlan;
+import hyminh.uth.domain.time.BusinessClock;
 import java.time.LocalDate;
 import java.util.Objects;
 
@@ -40,7 +41,8 @@ public class Subscription {
         if (startDate == null) {
             throw new IllegalArgumentException("Start date cannot be null");
         }
-        if (startDate.isBefore(LocalDate.now())) {
+        LocalDate today = BusinessClock.today();
+        if (startDate.isBefore(today)) {
             throw new IllegalArgumentException("Start date cannot be in the past");
         }
         
@@ -50,16 +52,76 @@ public class Subscription {
         this.endDate = startDate.plusMonths(plan.getDurationMonths());
         this.amount = plan.getPrice();
         this.status = SubscriptionStatus.ACTIVE;
-        this.createdAt = LocalDate.now();
+        this.createdAt = today;
     }
-    
+
+    private Subscription(String subscriptionId, SubscriptionPlan plan, LocalDate startDate, LocalDate endDate,
+                         double amount, SubscriptionStatus status, LocalDate createdAt) {
+        this.subscriptionId = subscriptionId;
+        this.plan = plan;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.amount = amount;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Restores a stored subscription (for example from a snapshot) with its full state.
+     * Unlike the public constructor, the start date may lie in the past.
+     *
+     * @param subscriptionId the unique subscription identifier
+     * @param plan the subscription plan
+     * @param startDate the start date
+     * @param endDate the end date
+     * @param amount the amount paid
+     * @param status the subscription status
+     * @param createdAt the creation date
+     * @return the restored subscription
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public static Subscription restore(String subscriptionId, SubscriptionPlan plan, LocalDate startDate,
+                                       LocalDate endDate, double amount, SubscriptionStatus status,
+                                       LocalDate createdAt) {
+        if (subscriptionId == null || subscriptionId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Subscription ID cannot be null or empty");
+        }
+        if (plan == null) {
+            throw new IllegalArgumentException("Subscription plan cannot be null");
+        }
+        if (startDate == null || endDate == null || createdAt == null) {
+            throw new IllegalArgumentException("Dates cannot be null");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("End date cannot be before start date");
+        }
+        if (amount < 0) {
+            throw new IllegalArgumentException("Amount cannot be negative");
+        }
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        return new Subscription(subscriptionId, plan, startDate, endDate, amount, status, createdAt);
+    }
+
     /**
      * Checks if the subscription is currently active.
      * 
      * @return true if the subscription is active, false otherwise
      */
     public boolean isActive() {
-        return status == SubscriptionStatus.ACTIVE && !isExpired();
+        return isActive(BusinessClock.today());
+    }
+    
+    /**
+     * Checks if the subscription is active on the given day.
+     * Scans should read the clock once and pass the day to every row.
+     * 
+     * @param today the reference day
+     * @return true if the subscription is active, false otherwise
+     */
+    public boolean isActive(LocalDate today) {
+        return status == SubscriptionStatus.ACTIVE && !isExpired(today);
     }
     
     /**
@@ -68,7 +130,17 @@ public class Subscription {
      * @return true if the subscription has expired, false otherwise
      */
     public boolean isExpired() {
-        return LocalDate.now().isAfter(endDate);
+        return isExpired(BusinessClock.today());
+    }
+    
+    /**
+     * Checks if the subscription has expired as of the given day.
+     * 
+     * @param today the reference day
+     * @return true if the subscription has expired, false otherwise
+     */
+    public boolean isExpired(LocalDate today) {
+        return today.isAfter(endDate);
     }
     
     /**
@@ -78,11 +150,22 @@ public class Subscription {
      * @return true if the subscription expires within the specified days, false otherwise
      */
     public boolean isExpiringWithin(int days) {
+        return isExpiringWithin(days, BusinessClock.today());
+    }
+    
+    /**
+     * Checks if the subscription is about to expire within the specified days of the given day.
+     * 
+     * @param days the number of days to check
+     * @param today the reference day
+     * @return true if the subscription expires within the specified days, false otherwise
+     */
+    public boolean isExpiringWithin(int days, LocalDate today) {
         if (days < 0) {
             throw new IllegalArgumentException("Days cannot be negative");
         }
-        LocalDate expirationThreshold = LocalDate.now().plusDays(days);
-        return !isExpired() && endDate.isBefore(expirationThreshold);
+        LocalDate expirationThreshold = today.plusDays(days);
+        return !isExpired(today) && endDate.isBefore(expirationThreshold);
     }
     
     /**
@@ -112,7 +195,7 @@ public class Subscription {
         if (newStartDate == null) {
             throw new IllegalArgumentException("New start date cannot be null");
         }
-        if (newStartDate.isBefore(LocalDate.now())) {
+        if (newStartDate.isBefore(BusinessClock.today())) {
             throw new IllegalArgumentException("New start date cannot be in the past");
         }
         if (status == SubscriptionStatus.CANCELLED) {
@@ -125,17 +208,37 @@ public class Subscription {
             newStartDate
         );
     }
-    
+
+    /**
+     * Creates a detached copy of this subscription with the same state, so later calls to
+     * {@link #cancel()} or {@link #updateStatus()} on either object do not affect the other.
+     *
+     * @return a copy of the subscription
+     */
+    public Subscription copy() {
+        return new Subscription(subscriptionId, plan, startDate, endDate, amount, status, createdAt);
+    }
+
     /**
      * Calculates the number of days remaining in the subscription.
      * 
      * @return the number of days remaining (0 if expired)
      */
     public long getDaysRemaining() {
-        if (isExpired()) {
+        return getDaysRemaining(BusinessClock.today());
+    }
+    
+    /**
+     * Calculates the number of days remaining in the subscription as of the given day.
+     * 
+     * @param today the reference day
+     * @return the number of days remaining (0 if expired)
+     */
+    public long getDaysRemaining(LocalDate today) {
+        if (isExpired(today)) {
             return 0;
         }
-        return java.time.temporal.ChronoUnit.DAYS.between(LocalDate.now(), endDate);
+        return java.time.temporal.ChronoUnit.DAYS.between(today, endDate);
     }
     
     /**
@@ -160,7 +263,7 @@ public class Subscription {
      * Updates the subscription status based on current date.
      */
     public void updateStatus() {
-        if (isExpired() && status == SubscriptionStatus.ACTIVE) {
+        if (isExpired(BusinessClock.today()) && status == SubscriptionStatus.ACTIVE) {
             this.status = SubscriptionStatus.EXPIRED;
         }
     }
@@ -2,6 +2,7 @@ package hyminh.uth.domain.entity;
 
 import hyminh.uth.domain.valueobject.Specialization;
 import hyminh.uth.domain.valueobject.UserRole;
+import hyminh.uth.domain.time.BusinessClock;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -50,11 +51,70 @@ public class Trainer extends User {
         
         this.specialization = specialization;
         this.assignedMemberIds = new ArrayList<>();
-        this.certificationDate = LocalDateTime.now();
+        this.certificationDate = BusinessClock.now();
         this.yearsOfExperience = yearsOfExperience;
         this.isAvailable = true;
         this.workoutScheduleIds = new ArrayList<>();
     }
+
+    /**
+     * Restores a persisted Trainer with its full state.
+     */
+    private Trainer(String userId, String username, String password, String email, String phone,
+                    LocalDateTime createdAt, LocalDateTime lastModifiedAt, boolean isActive,
+                    Specialization specialization, LocalDateTime certificationDate, int yearsOfExperience,
+                    boolean isAvailable, List<String> assignedMemberIds, List<String> workoutScheduleIds) {
+        super(userId, username, password, email, phone, UserRole.TRAINER, createdAt, lastModifiedAt, isActive);
+        if (specialization == null) {
+            throw new IllegalArgumentException("Specialization cannot be null");
+        }
+        if (certificationDate == null) {
+            throw new IllegalArgumentException("Certification date cannot be null");
+        }
+        if (yearsOfExperience < 0) {
+            throw new IllegalArgumentException("Years of experience cannot be negative");
+        }
+        if (assignedMemberIds == null || workoutScheduleIds == null) {
+            throw new IllegalArgumentException("Member and schedule IDs cannot be null");
+        }
+        this.specialization = specialization;
+        this.assignedMemberIds = new ArrayList<>(assignedMemberIds);
+        this.certificationDate = certificationDate;
+        this.yearsOfExperience = yearsOfExperience;
+        this.isAvailable = isAvailable;
+        this.workoutScheduleIds = new ArrayList<>(workoutScheduleIds);
+    }
+
+    /**
+     * Restores a persisted Trainer (for example from a database) with its full state,
+     * without resetting the certification date and timestamps to the current clock.
+     *
+     * @param userId the unique identifier for the user
+     * @param username the username for login
+     * @param password the password for authentication
+     * @param email the email address
+     * @param phone the phone number
+     * @param createdAt when the account was created
+     * @param lastModifiedAt when the account was last modified
+     * @param isActive whether the account is active
+     * @param specialization the trainer's specialization
+     * @param certificationDate when the trainer was certified
+     * @param yearsOfExperience the number of years of experience
+     * @param isAvailable whether the trainer accepts new members
+     * @param assignedMemberIds the IDs of the assigned members
+     * @param workoutScheduleIds the IDs of the trainer's workout schedules
+     * @return the restored trainer
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public static Trainer restore(String userId, String username, String password, String email, String phone,
+                                  LocalDateTime createdAt, LocalDateTime lastModifiedAt, boolean isActive,
+                                  Specialization specialization, LocalDateTime certificationDate,
+                                  int yearsOfExperience, boolean isAvailable, List<String> assignedMemberIds,
+                                  List<String> workoutScheduleIds) {
+        return new Trainer(userId, username, password, email, phone, createdAt, lastModifiedAt, isActive,
+                           specialization, certificationDate, yearsOfExperience, isAvailable,
+                           assignedMemberIds, workoutScheduleIds);
+    }
     
     /**
      * Assigns a member to this trainer.
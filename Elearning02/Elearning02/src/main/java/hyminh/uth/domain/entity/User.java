@@ -1,7 +1,10 @@
 package hyminh.uth.domain.entity;
 
+import hyminh.uth.domain.memory.StringPool;
 import hyminh.uth.domain.valueobject.UserRole;
+import hyminh.uth.domain.time.BusinessClock;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Objects;
 import java.util.regex.Pattern;
 
@@ -16,6 +19,10 @@ import java.util.regex.Pattern;
  * - Quản lý trạng thái hoạt động của tài khoản
  * - Theo dõi thời gian tạo và cập nhật cuối cùng
  * 
+ * Để giảm bộ nhớ khi có hàng triệu người dùng, thời gian được lưu dưới dạng số nano giây
+ * nguyên thuỷ (LocalDateTime được dựng lại khi đọc) và tên miền email được dùng chung qua
+ * {@link StringPool}.
+ * 
  * @author Gym Management System
  * @version 1.0
  */
@@ -34,11 +41,12 @@ public abstract class User {
     private final String userId;           // ID duy nhất của người dùng (không thể thay đổi)
     private final String username;         // Tên đăng nhập (không thể thay đổi)
     private String password;               // Mật khẩu (có thể thay đổi)
-    private String email;                  // Email (có thể thay đổi)
+    private String emailLocalPart;         // Phần trước '@' của email (có thể thay đổi)
+    private String emailDomain;            // Phần sau '@', dùng chung qua StringPool
     private String phone;                  // Số điện thoại (có thể thay đổi)
     private final UserRole role;           // Vai trò của người dùng (không thể thay đổi)
-    private final LocalDateTime createdAt; // Thời gian tạo tài khoản (không thể thay đổi)
-    private LocalDateTime lastModifiedAt;  // Thời gian cập nhật cuối cùng
+    private final long createdAtNanos;     // Thời gian tạo tài khoản (không thể thay đổi)
+    private long lastModifiedAtNanos;      // Thời gian cập nhật cuối cùng
     private boolean isActive;              // Trạng thái hoạt động của tài khoản
     
     /**
@@ -54,6 +62,27 @@ public abstract class User {
      */
     protected User(String userId, String username, String password, 
                    String email, String phone, UserRole role) {
+        // Thời gian tạo và cập nhật là hiện tại, mặc định tài khoản được kích hoạt
+        this(userId, username, password, email, phone, role, BusinessClock.now(), BusinessClock.now(), true);
+    }
+    
+    /**
+     * Khôi phục một User đã lưu (ví dụ từ snapshot) với đầy đủ trạng thái.
+     *
+     * @param userId ID duy nhất của người dùng
+     * @param username tên đăng nhập
+     * @param password mật khẩu để xác thực
+     * @param email địa chỉ email
+     * @param phone số điện thoại
+     * @param role vai trò của người dùng
+     * @param createdAt thời gian tạo tài khoản
+     * @param lastModifiedAt thời gian cập nhật cuối cùng
+     * @param isActive trạng thái hoạt động của tài khoản
+     * @throws IllegalArgumentException nếu bất kỳ tham số nào không hợp lệ
+     */
+    protected User(String userId, String username, String password,
+                   String email, String phone, UserRole role,
+                   LocalDateTime createdAt, LocalDateTime lastModifiedAt, boolean isActive) {
         // Validate tất cả các tham số đầu vào trước khi khởi tạo
         validateUserId(userId);
         validateUsername(username);
@@ -61,17 +90,20 @@ public abstract class User {
         validateEmail(email);
         validatePhone(phone);
         validateRole(role);
+        if (createdAt == null || lastModifiedAt == null) {
+            throw new IllegalArgumentException("Timestamps cannot be null");
+        }
         
         // Gán giá trị cho các thuộc tính
         this.userId = userId;
         this.username = username;
         this.password = password;
-        this.email = email;
+        setEmail(email);
         this.phone = phone;
         this.role = role;
-        this.createdAt = LocalDateTime.now();        // Thời gian tạo là hiện tại
-        this.lastModifiedAt = LocalDateTime.now();   // Thời gian cập nhật cuối cùng là hiện tại
-        this.isActive = true;                        // Mặc định tài khoản được kích hoạt
+        this.createdAtNanos = toEpochNanos(createdAt);
+        this.lastModifiedAtNanos = toEpochNanos(lastModifiedAt);
+        this.isActive = isActive;
     }
     
     /**
@@ -99,7 +131,7 @@ public abstract class User {
     public void updatePassword(String newPassword) {
         validatePassword(newPassword);              // Validate mật khẩu mới
         this.password = newPassword;                // Cập nhật mật khẩu
-        this.lastModifiedAt = LocalDateTime.now();  // Cập nhật thời gian sửa đổi cuối cùng
+        this.lastModifiedAtNanos = toEpochNanos(BusinessClock.now());  // Cập nhật thời gian sửa đổi cuối cùng
     }
     
     /**
@@ -110,8 +142,8 @@ public abstract class User {
      */
     public void updateEmail(String newEmail) {
         validateEmail(newEmail);
-        this.email = newEmail;
-        this.lastModifiedAt = LocalDateTime.now();
+        setEmail(newEmail);
+        this.lastModifiedAtNanos = toEpochNanos(BusinessClock.now());
     }
     
     /**
@@ -123,7 +155,7 @@ public abstract class User {
     public void updatePhone(String newPhone) {
         validatePhone(newPhone);
         this.phone = newPhone;
-        this.lastModifiedAt = LocalDateTime.now();
+        this.lastModifiedAtNanos = toEpochNanos(BusinessClock.now());
     }
     
     /**
@@ -131,7 +163,7 @@ public abstract class User {
      */
     public void deactivate() {
         this.isActive = false;
-        this.lastModifiedAt = LocalDateTime.now();
+        this.lastModifiedAtNanos = toEpochNanos(BusinessClock.now());
     }
     
     /**
@@ -139,7 +171,7 @@ public abstract class User {
      */
     public void activate() {
         this.isActive = true;
-        this.lastModifiedAt = LocalDateTime.now();
+        this.lastModifiedAtNanos = toEpochNanos(BusinessClock.now());
     }
     
     // ========== CÁC PHƯƠNG THỨC VALIDATION ==========
@@ -222,14 +254,53 @@ public abstract class User {
         }
     }
     
+    // ========== BIỂU DIỄN GỌN ==========
+    
+    /**
+     * Tách email đã validate thành phần riêng và tên miền dùng chung.
+     */
+    private void setEmail(String email) {
+        int at = email.lastIndexOf('@');
+        this.emailLocalPart = email.substring(0, at);
+        this.emailDomain = StringPool.intern(email.substring(at + 1));
+    }
+    
+    /**
+     * Chuyển thời gian thành số nano giây kể từ 1970-01-01T00:00 (không múi giờ), đủ cho các
+     * năm 1677 đến 2262.
+     * @throws IllegalArgumentException nếu thời gian nằm ngoài khoảng đó
+     */
+    private static long toEpochNanos(LocalDateTime dateTime) {
+        try {
+            return Math.addExact(Math.multiplyExact(dateTime.toEpochSecond(ZoneOffset.UTC), 1_000_000_000L),
+                                 dateTime.getNano());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Timestamp out of range: " + dateTime);
+        }
+    }
+    
+    private static LocalDateTime fromEpochNanos(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                                           (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+    
+    /**
+     * Lấy mật khẩu đã lưu. Chỉ dùng trong gói entity; tầng lưu trữ đi qua {@link PersistenceAccess}.
+     *
+     * @return mật khẩu đã lưu
+     */
+    String getPassword() {
+        return password;
+    }
+
     // Getters
     public String getUserId() { return userId; }
     public String getUsername() { return username; }
-    public String getEmail() { return email; }
+    public String getEmail() { return emailLocalPart + '@' + emailDomain; }
     public String getPhone() { return phone; }
     public UserRole getRole() { return role; }
-    public LocalDateTime getCreatedAt() { return createdAt; }
-    public LocalDateTime getLastModifiedAt() { return lastModifiedAt; }
+    public LocalDateTime getCreatedAt() { return fromEpochNanos(createdAtNanos); }
+    public LocalDateTime getLastModifiedAt() { return fromEpochNanos(lastModifiedAtNanos); }
     public boolean isActive() { return isActive; }
     
     @Override
@@ -248,6 +319,6 @@ public abstract class User {
     @Override
     public String toString() {
         return String.format("User{userId='%s', username='%s', email='%s', role=%s, isActive=%s}", 
-                           userId, username, email, role, isActive);
+                           userId, username, getEmail(), role, isActive);
     }
 }
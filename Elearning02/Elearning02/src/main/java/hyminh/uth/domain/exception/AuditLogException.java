@@ -0,0 +1,31 @@
+package hyminh.uth.domain.exception;
+
+/**
+ * Exception thrown when the admin audit log cannot write or read its files.
+ * Once the background writer has failed, recording further actions throws this exception too,
+ * so privileged operations are not performed without an audit trail.
+ * 
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class AuditLogException extends RuntimeException {
+    
+    /**
+     * Constructs a new AuditLogException with the specified detail message.
+     * 
+     * @param message the detail message
+     */
+    public AuditLogException(String message) {
+        super(message);
+    }
+    
+    /**
+     * Constructs a new AuditLogException with the specified detail message and cause.
+     * 
+     * @param message the detail message
+     * @param cause the cause of the exception
+     */
+    public AuditLogException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
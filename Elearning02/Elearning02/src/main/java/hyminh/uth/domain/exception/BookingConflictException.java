@@ -0,0 +1,30 @@
+package hyminh.uth.domain.exception;
+
+/**
+ * Exception thrown when a requested booking overlaps an existing booking.
+ * This exception is used to indicate that a trainer time slot is already taken.
+ * 
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class BookingConflictException extends RuntimeException {
+    
+    /**
+     * Constructs a new BookingConflictException with the specified detail message.
+     * 
+     * @param message the detail message
+     */
+    public BookingConflictException(String message) {
+        super(message);
+    }
+    
+    /**
+     * Constructs a new BookingConflictException with the specified detail message and cause.
+     * 
+     * @param message the detail message
+     * @param cause the cause of the exception
+     */
+    public BookingConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
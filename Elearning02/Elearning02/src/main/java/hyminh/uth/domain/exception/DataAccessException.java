@@ -0,0 +1,32 @@
+package hyminh.uth.domain.exception;
+
+/**
+ * Exception thrown when a database-backed repository cannot read or write its tables.
+ * This exception wraps the underlying {@link java.sql.SQLException}; constraint violations that the
+ * in-memory repositories report as invalid arguments (duplicate username, email or user ID) are
+ * still reported as {@link IllegalArgumentException}.
+ * 
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class DataAccessException extends RuntimeException {
+    
+    /**
+     * Constructs a new DataAccessException with the specified detail message.
+     * 
+     * @param message the detail message
+     */
+    public DataAccessException(String message) {
+        super(message);
+    }
+    
+    /**
+     * Constructs a new DataAccessException with the specified detail message and cause.
+     * 
+     * @param message the detail message
+     * @param cause the cause of the exception
+     */
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,30 @@
+package hyminh.uth.domain.exception;
+
+/**
+ * Exception thrown when a replication stream cannot be set up or decoded.
+ * This exception is used to indicate a peer that is not a replication leader or follower, an unsupported protocol version, or a corrupt frame.
+ * 
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class ReplicationException extends RuntimeException {
+    
+    /**
+     * Constructs a new ReplicationException with the specified detail message.
+     * 
+     * @param message the detail message
+     */
+    public ReplicationException(String message) {
+        super(message);
+    }
+    
+    /**
+     * Constructs a new ReplicationException with the specified detail message and cause.
+     * 
+     * @param message the detail message
+     * @param cause the cause of the exception
+     */
+    public ReplicationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
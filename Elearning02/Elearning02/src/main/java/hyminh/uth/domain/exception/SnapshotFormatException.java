@@ -0,0 +1,30 @@
+package hyminh.uth.domain.exception;
+
+/**
+ * Exception thrown when binary snapshot data cannot be decoded.
+ * This exception is used to indicate truncated or corrupt data, or a format version newer than the reader supports.
+ * 
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class SnapshotFormatException extends RuntimeException {
+    
+    /**
+     * Constructs a new SnapshotFormatException with the specified detail message.
+     * 
+     * @param message the detail message
+     */
+    public SnapshotFormatException(String message) {
+        super(message);
+    }
+    
+    /**
+     * Constructs a new SnapshotFormatException with the specified detail message and cause.
+     * 
+     * @param message the detail message
+     * @param cause the cause of the exception
+     */
+    public SnapshotFormatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,30 @@
+package hyminh.uth.domain.exception;
+
+/**
+ * Exception thrown when an optimistic update keeps losing the compare-and-set race, because
+ * other writers changed the same entity every time it was re-read.
+ * 
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class VersionConflictException extends RuntimeException {
+    
+    /**
+     * Constructs a new VersionConflictException with the specified detail message.
+     * 
+     * @param message the detail message
+     */
+    public VersionConflictException(String message) {
+        super(message);
+    }
+    
+    /**
+     * Constructs a new VersionConflictException with the specified detail message and cause.
+     * 
+     * @param message the detail message
+     * @param cause the cause of the exception
+     */
+    public VersionConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
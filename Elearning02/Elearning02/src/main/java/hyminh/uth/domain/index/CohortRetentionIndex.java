@@ -0,0 +1,335 @@
+package hyminh.uth.domain.index;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.time.BusinessClock;
+import hyminh.uth.domain.valueobject.CohortRetentionMatrix;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Incrementally maintained registration cohort retention matrix.
+ * A member belongs to the cohort of its registration month and counts as retained in month
+ * k of its cohort when one of its subscriptions covered at least one day of that month.
+ *
+ * For every member the index keeps the days each of its subscriptions covered and the set of
+ * months since registration those days touch. A lifecycle change recomputes that set for
+ * one member and adds or subtracts only the months that changed, so the matrix itself is
+ * always current and reading it copies at most one cell per cohort and month. Because
+ * coverage is stored as date ranges, subscriptions that simply run out need no event; only
+ * subscriptions that end early must be reported with
+ * {@link #endSubscription(MemberId, String, LocalDate)}.
+ *
+ * Subscriptions carry no member reference, so the index cannot observe a cancellation made
+ * with {@code SubscriptionRepository.cancel} or {@link Subscription#cancel()}; such a
+ * subscription keeps counting as retained until its end date. {@code MemberService} reports
+ * the cancellations made through {@code cancelSubscription}.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class CohortRetentionIndex {
+
+    private static final int INITIAL_COLUMNS = 24;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<MemberId, Entry> entries = new HashMap<>();
+    private final TreeMap<Integer, Cohort> cohorts = new TreeMap<>();
+
+    /**
+     * Adds a member to the cohort of its registration month, together with its current
+     * subscription if it has one. Adding a member again replaces what was known about it.
+     * A current subscription that no longer allows access counts until its end date or
+     * today, whichever comes first.
+     *
+     * @param member the member
+     * @throws IllegalArgumentException if member is null
+     */
+    public void registerMember(Member member) {
+        if (member == null) {
+            throw new IllegalArgumentException("Member cannot be null");
+        }
+        Entry entry = new Entry(epochMonth(member.getRegistrationDate()));
+        Subscription subscription = member.getCurrentSubscription();
+        if (subscription != null) {
+            LocalDate lastDay = subscription.getEndDate();
+            if (!subscription.getStatus().allowsAccess()) {
+                LocalDate today = BusinessClock.today();
+                lastDay = today.isBefore(lastDay) ? today : lastDay;
+            }
+            entry.cover(subscription.getSubscriptionId(), subscription.getStartDate(), lastDay);
+        }
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(member.getMemberId());
+            if (previous != null) {
+                cohortOf(previous).size--;
+                apply(previous, previous.months, new BitSet());
+            }
+            entries.put(member.getMemberId(), entry);
+            cohortOf(entry).size++;
+            apply(entry, new BitSet(), entry.coveredMonths());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records that a member took a subscription, replacing the coverage previously recorded
+     * for the same subscription ID.
+     *
+     * @param memberId the member ID
+     * @param subscription the subscription
+     * @return true if the member is registered in the index, false otherwise
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public boolean recordSubscription(MemberId memberId, Subscription subscription) {
+        validateMemberId(memberId);
+        if (subscription == null) {
+            throw new IllegalArgumentException("Subscription cannot be null");
+        }
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(memberId);
+            if (entry == null) {
+                return false;
+            }
+            entry.cover(subscription.getSubscriptionId(), subscription.getStartDate(), subscription.getEndDate());
+            update(entry);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records that a subscription of a member ended early, for example when it was removed or
+     * cancelled. A subscription that ends before it starts no longer counts at all.
+     *
+     * @param memberId the member ID
+     * @param subscriptionId the subscription ID
+     * @param lastDay the last day the subscription gave access
+     * @return true if the subscription of the member is in the index, false otherwise
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public boolean endSubscription(MemberId memberId, String subscriptionId, LocalDate lastDay) {
+        validateMemberId(memberId);
+        if (subscriptionId == null || lastDay == null) {
+            throw new IllegalArgumentException("Subscription ID and last day cannot be null");
+        }
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(memberId);
+            if (entry == null || !entry.truncate(subscriptionId, lastDay)) {
+                return false;
+            }
+            update(entry);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a member and its coverage from the matrix.
+     *
+     * @param memberId the member ID
+     * @return true if the member was in the index, false otherwise
+     * @throws IllegalArgumentException if memberId is null
+     */
+    public boolean removeMember(MemberId memberId) {
+        validateMemberId(memberId);
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.remove(memberId);
+            if (entry == null) {
+                return false;
+            }
+            cohortOf(entry).size--;
+            apply(entry, entry.months, new BitSet());
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the matrix up to the current business month. Early endings count only once
+     * reported with {@link #endSubscription(MemberId, String, LocalDate)}.
+     *
+     * @return the cohort retention matrix
+     */
+    public CohortRetentionMatrix getMatrix() {
+        return getMatrix(YearMonth.from(BusinessClock.today()));
+    }
+
+    /**
+     * Returns the matrix of the cohorts registered up to a month, with the months since
+     * registration up to that month. Early endings count only once reported with
+     * {@link #endSubscription(MemberId, String, LocalDate)}.
+     *
+     * @param asOf the last month included
+     * @return the cohort retention matrix
+     * @throws IllegalArgumentException if asOf is null
+     */
+    public CohortRetentionMatrix getMatrix(YearMonth asOf) {
+        if (asOf == null) {
+            throw new IllegalArgumentException("As-of month cannot be null");
+        }
+        int last = epochMonth(asOf);
+        List<YearMonth> months = new ArrayList<>();
+        List<int[]> rows = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<Integer, Cohort> cohort : cohorts.headMap(last, true).entrySet()) {
+                if (cohort.getValue().size == 0) {
+                    continue;
+                }
+                int[] retained = cohort.getValue().retained;
+                int columns = last - cohort.getKey() + 1;
+                months.add(yearMonth(cohort.getKey()));
+                sizes.add(cohort.getValue().size);
+                rows.add(Arrays.copyOf(retained, columns));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new CohortRetentionMatrix(asOf, months, sizes.stream().mapToInt(Integer::intValue).toArray(),
+                rows.toArray(new int[0][]));
+    }
+
+    /**
+     * Returns the number of members in the index.
+     *
+     * @return the number of members
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== MATRIX ==========
+
+    private void update(Entry entry) {
+        BitSet months = entry.coveredMonths();
+        apply(entry, entry.months, months);
+    }
+
+    /**
+     * Moves a member's contribution from the old set of months to the new one, touching only
+     * the months in which the two differ.
+     */
+    private void apply(Entry entry, BitSet oldMonths, BitSet newMonths) {
+        BitSet changed = (BitSet) oldMonths.clone();
+        changed.xor(newMonths);
+        if (!changed.isEmpty()) {
+            Cohort cohort = cohortOf(entry);
+            cohort.ensureColumns(changed.length());
+            for (int month = changed.nextSetBit(0); month >= 0; month = changed.nextSetBit(month + 1)) {
+                cohort.retained[month] += newMonths.get(month) ? 1 : -1;
+            }
+        }
+        entry.months = newMonths;
+    }
+
+    private Cohort cohortOf(Entry entry) {
+        return cohorts.computeIfAbsent(entry.cohort, month -> new Cohort());
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static int epochMonth(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private static int epochMonth(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+
+    private static YearMonth yearMonth(int epochMonth) {
+        return YearMonth.of(Math.floorDiv(epochMonth, 12), Math.floorMod(epochMonth, 12) + 1);
+    }
+
+    private static void validateMemberId(MemberId memberId) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+    }
+
+    /**
+     * The members of one registration month and how many of them were subscribed in each
+     * month since.
+     */
+    private static final class Cohort {
+        int size;
+        int[] retained = new int[INITIAL_COLUMNS];
+
+        void ensureColumns(int columns) {
+            if (columns > retained.length) {
+                retained = Arrays.copyOf(retained, Math.max(columns, retained.length * 2));
+            }
+        }
+    }
+
+    /**
+     * The subscription coverage of one member.
+     */
+    private static final class Entry {
+        final int cohort;
+        final Map<String, long[]> coverage = new HashMap<>(4);
+        BitSet months = new BitSet();
+
+        Entry(int cohort) {
+            this.cohort = cohort;
+        }
+
+        void cover(String subscriptionId, LocalDate firstDay, LocalDate lastDay) {
+            coverage.put(subscriptionId, new long[] {firstDay.toEpochDay(), lastDay.toEpochDay()});
+        }
+
+        boolean truncate(String subscriptionId, LocalDate lastDay) {
+            long[] days = coverage.get(subscriptionId);
+            if (days == null) {
+                return false;
+            }
+            long last = lastDay.toEpochDay();
+            if (last < days[0]) {
+                coverage.remove(subscriptionId);
+            } else if (last < days[1]) {
+                days[1] = last;
+            }
+            return true;
+        }
+
+        /**
+         * Returns the months since registration touched by any subscription. Days before the
+         * registration month are ignored.
+         */
+        BitSet coveredMonths() {
+            BitSet covered = new BitSet();
+            for (long[] days : coverage.values()) {
+                int first = epochMonth(LocalDate.ofEpochDay(days[0])) - cohort;
+                int last = epochMonth(LocalDate.ofEpochDay(days[1])) - cohort;
+                if (last >= 0) {
+                    covered.set(Math.max(first, 0), last + 1);
+                }
+            }
+            return covered;
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package hyminh.uth.domain.index;
+
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.valueobject.PlanType;
+import hyminh.uth.domain.valueobject.SubscriptionStatus;
+import hyminh.uth.domain.time.BusinessClock;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Incrementally maintained revenue index over subscriptions.
+ * Revenue is bucketed by day for each date field (created, start, end), plan type and
+ * subscription status, and each bucket series is kept in a Fenwick tree so that range
+ * revenue and plan-mix queries run in O(log n) instead of scanning every subscription.
+ *
+ * Amounts are stored as whole cents to keep sums exact. The index keeps a snapshot of
+ * each indexed subscription, so re-indexing after a status change (for example a
+ * cancellation) moves its revenue to the new status bucket.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class SubscriptionRevenueIndex {
+
+    /**
+     * The subscription date used to bucket revenue.
+     */
+    public enum DateField {
+        /**
+         * The date the subscription was created.
+         */
+        CREATED,
+
+        /**
+         * The date the subscription starts.
+         */
+        START,
+
+        /**
+         * The date the subscription ends.
+         */
+        END
+    }
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int FIELDS = DateField.values().length;
+    private static final int PLANS = PlanType.values().length;
+    private static final int STATUSES = SubscriptionStatus.values().length;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final long[][] trees = new long[FIELDS * PLANS * STATUSES][];
+    private long baseDay;
+    private int capacity;
+    private long totalCents;
+
+    /**
+     * Constructs an empty index.
+     */
+    public SubscriptionRevenueIndex() {
+        this.baseDay = BusinessClock.today().toEpochDay() - INITIAL_CAPACITY / 2;
+        this.capacity = INITIAL_CAPACITY;
+        allocateTrees();
+    }
+
+    /**
+     * Adds a subscription to the index, replacing any previously indexed snapshot with the same ID.
+     *
+     * @param subscription the subscription to index
+     * @throws IllegalArgumentException if subscription is null
+     */
+    public void index(Subscription subscription) {
+        if (subscription == null) {
+            throw new IllegalArgumentException("Subscription cannot be null");
+        }
+        Entry entry = new Entry(subscription);
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(subscription.getSubscriptionId());
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            ensureCovers(entry.minDay(), entry.maxDay());
+            entries.put(subscription.getSubscriptionId(), entry);
+            apply(entry, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a subscription from the index.
+     *
+     * @param subscriptionId the subscription ID to remove
+     * @return true if the subscription was indexed, false otherwise
+     */
+    public boolean remove(String subscriptionId) {
+        if (subscriptionId == null) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(subscriptionId);
+            if (previous == null) {
+                return false;
+            }
+            apply(previous, -1);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Calculates the revenue of all subscriptions whose date falls in [from, to].
+     *
+     * @param field the date field to bucket by
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive)
+     * @return the revenue in the range
+     */
+    public double getRevenue(DateField field, LocalDate from, LocalDate to) {
+        return getRevenue(field, from, to, EnumSet.allOf(PlanType.class), EnumSet.allOf(SubscriptionStatus.class));
+    }
+
+    /**
+     * Calculates the revenue of subscriptions of one plan type whose date falls in [from, to].
+     *
+     * @param field the date field to bucket by
+     * @param planType the plan type to include
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive)
+     * @return the revenue in the range for the plan type
+     */
+    public double getRevenue(DateField field, PlanType planType, LocalDate from, LocalDate to) {
+        if (planType == null) {
+            throw new IllegalArgumentException("Plan type cannot be null");
+        }
+        return getRevenue(field, from, to, EnumSet.of(planType), EnumSet.allOf(SubscriptionStatus.class));
+    }
+
+    /**
+     * Calculates the revenue of subscriptions matching the given plan types and statuses
+     * whose date falls in [from, to].
+     *
+     * @param field the date field to bucket by
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive)
+     * @param planTypes the plan types to include
+     * @param statuses the subscription statuses to include
+     * @return the revenue in the range
+     * @throws IllegalArgumentException if any parameter is null or from is after to
+     */
+    public double getRevenue(DateField field, LocalDate from, LocalDate to,
+                             Set<PlanType> planTypes, Set<SubscriptionStatus> statuses) {
+        validateRange(field, from, to);
+        if (planTypes == null || statuses == null) {
+            throw new IllegalArgumentException("Plan types and statuses cannot be null");
+        }
+        lock.readLock().lock();
+        try {
+            long cents = 0;
+            for (PlanType planType : planTypes) {
+                for (SubscriptionStatus status : statuses) {
+                    cents += rangeSum(field, planType, status, from.toEpochDay(), to.toEpochDay());
+                }
+            }
+            return cents / 100.0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calculates the revenue per plan type for subscriptions whose date falls in [from, to].
+     *
+     * @param field the date field to bucket by
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive)
+     * @param excludeCancelled whether cancelled subscriptions are left out
+     * @return the revenue for every plan type
+     */
+    public Map<PlanType, Double> getPlanMix(DateField field, LocalDate from, LocalDate to,
+                                            boolean excludeCancelled) {
+        validateRange(field, from, to);
+        Map<PlanType, Double> mix = new EnumMap<>(PlanType.class);
+        lock.readLock().lock();
+        try {
+            for (PlanType planType : PlanType.values()) {
+                long cents = 0;
+                for (SubscriptionStatus status : SubscriptionStatus.values()) {
+                    if (excludeCancelled && status == SubscriptionStatus.CANCELLED) {
+                        continue;
+                    }
+                    cents += rangeSum(field, planType, status, from.toEpochDay(), to.toEpochDay());
+                }
+                mix.put(planType, cents / 100.0);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return mix;
+    }
+
+    /**
+     * Returns the revenue of every indexed subscription.
+     *
+     * @return the total revenue
+     */
+    public double getTotalRevenue() {
+        lock.readLock().lock();
+        try {
+            return totalCents / 100.0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calculates the revenue of subscriptions with status ACTIVE that have not yet ended
+     * on the given day.
+     *
+     * @param today the reference day
+     * @return the active revenue
+     */
+    public double getActiveRevenue(LocalDate today) {
+        if (today == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        lock.readLock().lock();
+        try {
+            long cents = 0;
+            long lastDay = baseDay + capacity - 1;
+            for (PlanType planType : PlanType.values()) {
+                cents += rangeSum(DateField.END, planType, SubscriptionStatus.ACTIVE, today.toEpochDay(), lastDay);
+            }
+            return cents / 100.0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed subscriptions.
+     *
+     * @return the number of indexed subscriptions
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private void apply(Entry entry, int sign) {
+        long delta = sign * entry.cents;
+        add(DateField.CREATED, entry, entry.createdDay, delta);
+        add(DateField.START, entry, entry.startDay, delta);
+        add(DateField.END, entry, entry.endDay, delta);
+        totalCents += delta;
+    }
+
+    private void add(DateField field, Entry entry, long day, long delta) {
+        long[] tree = trees[treeIndex(field, entry.planType, entry.status)];
+        for (int i = (int) (day - baseDay) + 1; i <= capacity; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private long rangeSum(DateField field, PlanType planType, SubscriptionStatus status, long fromDay, long toDay) {
+        long from = Math.max(fromDay, baseDay);
+        long to = Math.min(toDay, baseDay + capacity - 1);
+        if (from > to) {
+            return 0;
+        }
+        long[] tree = trees[treeIndex(field, planType, status)];
+        return prefixSum(tree, (int) (to - baseDay) + 1) - prefixSum(tree, (int) (from - baseDay));
+    }
+
+    private static long prefixSum(long[] tree, int count) {
+        long sum = 0;
+        for (int i = count; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private void ensureCovers(long minDay, long maxDay) {
+        if (minDay >= baseDay && maxDay < baseDay + capacity) {
+            return;
+        }
+        long low = Math.min(baseDay, minDay);
+        long high = Math.max(baseDay + capacity - 1, maxDay);
+        int newCapacity = capacity * 2;
+        while (newCapacity < high - low + 1) {
+            newCapacity *= 2;
+        }
+        // Leave headroom on both sides so that steady growth does not rebuild every time
+        baseDay = low - (newCapacity - (high - low + 1)) / 2;
+        capacity = newCapacity;
+        allocateTrees();
+        totalCents = 0;
+        for (Entry existing : entries.values()) {
+            apply(existing, 1);
+        }
+    }
+
+    private void allocateTrees() {
+        for (int i = 0; i < trees.length; i++) {
+            trees[i] = new long[capacity + 1];
+        }
+    }
+
+    private static int treeIndex(DateField field, PlanType planType, SubscriptionStatus status) {
+        return (field.ordinal() * PLANS + planType.ordinal()) * STATUSES + status.ordinal();
+    }
+
+    private static void validateRange(DateField field, LocalDate from, LocalDate to) {
+        if (field == null) {
+            throw new IllegalArgumentException("Date field cannot be null");
+        }
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+    }
+
+    /**
+     * Snapshot of the indexed fields of a subscription.
+     */
+    private static final class Entry {
+        final long createdDay;
+        final long startDay;
+        final long endDay;
+        final PlanType planType;
+        final SubscriptionStatus status;
+        final long cents;
+
+        Entry(Subscription subscription) {
+            this.createdDay = subscription.getCreatedAt().toEpochDay();
+            this.startDay = subscription.getStartDate().toEpochDay();
+            this.endDay = subscription.getEndDate().toEpochDay();
+            this.planType = subscription.getPlan().getPlanType();
+            this.status = subscription.getStatus();
+            this.cents = Math.round(subscription.getAmount() * 100);
+        }
+
+        long minDay() {
+            return Math.min(createdDay, Math.min(startDay, endDay));
+        }
+
+        long maxDay() {
+            return Math.max(createdDay, Math.max(startDay, endDay));
+        }
+    }
+}
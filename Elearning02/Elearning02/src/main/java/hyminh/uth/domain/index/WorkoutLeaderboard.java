@@ -0,0 +1,520 @@
+package hyminh.uth.domain.index;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.time.BusinessClock;
+import hyminh.uth.domain.valueobject.LeaderboardEntry;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Incrementally maintained leaderboard of members by workouts completed, overall and per branch.
+ *
+ * Every board is an order-statistic treap ordered by workouts (highest first) and member ID,
+ * where each node knows the size of its subtree. Recording a change moves one member in
+ * O(log n), the rank of a member is the number of members with more workouts plus one,
+ * counted in O(log n), and the top K are the first K nodes in order, read in O(log n + K).
+ *
+ * The monthly boards count the workouts recorded during the current month of the
+ * {@link BusinessClock}. When the month changes they are replaced by empty boards in O(1);
+ * each member's monthly count restarts the first time the member is recorded in the new month.
+ * The all-time boards rank the latest workouts completed of each member; records carry the
+ * member version, so a record that arrives after a newer one only adds to the monthly count.
+ * Members without workouts in a period are not ranked for that period.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class WorkoutLeaderboard {
+
+    /**
+     * The period a board counts workouts over.
+     */
+    public enum Period {
+        /**
+         * Workouts recorded during the current month.
+         */
+        MONTH,
+
+        /**
+         * All workouts completed by the member.
+         */
+        ALL_TIME
+    }
+
+    private final Function<Member, String> branchKey;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<MemberId, Standing> standings = new HashMap<>();
+    private final Board overall = new Board();
+    private final Map<String, Board> branches = new HashMap<>();
+    private final SplittableRandom priorities = new SplittableRandom();
+    private volatile YearMonth month;
+
+    /**
+     * Constructs an empty leaderboard without branch boards.
+     */
+    public WorkoutLeaderboard() {
+        this(null);
+    }
+
+    /**
+     * Constructs an empty leaderboard.
+     *
+     * @param branchKey returns the branch of a member, or null for members only ranked overall;
+     *                  null to keep only the overall boards
+     */
+    public WorkoutLeaderboard(Function<Member, String> branchKey) {
+        this.branchKey = branchKey;
+        this.month = YearMonth.from(BusinessClock.today());
+    }
+
+    /**
+     * Records a saved member: moves it to its current all-time position and adds the workouts
+     * to its monthly count. Call with zero workouts to add a member loaded from storage.
+     *
+     * @param member the member as saved
+     * @param workoutsAdded the workouts the save added, negative when a correction removed some
+     * @throws IllegalArgumentException if member is null
+     */
+    public void record(Member member, int workoutsAdded) {
+        if (member == null) {
+            throw new IllegalArgumentException("Member cannot be null");
+        }
+        rollOver();
+        lock.writeLock().lock();
+        try {
+            MemberId memberId = member.getMemberId();
+            Standing standing = standings.get(memberId);
+            if (standing == null) {
+                standing = new Standing();
+                standings.put(memberId, standing);
+            } else {
+                detach(memberId, standing);
+            }
+            if (member.getVersion() >= standing.version) {
+                standing.version = member.getVersion();
+                standing.total = member.getWorkoutsCompleted();
+                standing.branch = branchKey == null ? null : branchKey.apply(member);
+            }
+            if (!month.equals(standing.month)) {
+                standing.month = month;
+                standing.monthWorkouts = 0;
+            }
+            standing.monthWorkouts = saturatedAdd(standing.monthWorkouts, workoutsAdded);
+            attach(memberId, standing);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a member from every board.
+     *
+     * @param memberId the member ID
+     * @throws IllegalArgumentException if memberId is null
+     */
+    public void remove(MemberId memberId) {
+        validateMemberId(memberId);
+        rollOver();
+        lock.writeLock().lock();
+        try {
+            Standing standing = standings.remove(memberId);
+            if (standing != null) {
+                detach(memberId, standing);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the members with the most workouts in the period across all branches.
+     *
+     * @param period the period
+     * @param limit the maximum number of entries
+     * @return up to limit entries, best first
+     * @throws IllegalArgumentException if period is null or limit is negative
+     */
+    public List<LeaderboardEntry> getTop(Period period, int limit) {
+        validatePeriod(period);
+        return top(period, null, limit);
+    }
+
+    /**
+     * Returns the members of a branch with the most workouts in the period.
+     *
+     * @param period the period
+     * @param branch the branch
+     * @param limit the maximum number of entries
+     * @return up to limit entries, best first; empty for a branch without ranked members
+     * @throws IllegalArgumentException if period or branch is null or limit is negative
+     */
+    public List<LeaderboardEntry> getTop(Period period, String branch, int limit) {
+        validatePeriod(period);
+        validateBranch(branch);
+        return top(period, branch, limit);
+    }
+
+    /**
+     * Finds the overall position of a member in the period.
+     *
+     * @param period the period
+     * @param memberId the member ID
+     * @return the entry of the member, or empty if the member is not ranked in the period
+     * @throws IllegalArgumentException if period or memberId is null
+     */
+    public Optional<LeaderboardEntry> findEntry(Period period, MemberId memberId) {
+        validatePeriod(period);
+        validateMemberId(memberId);
+        return entry(period, memberId, false);
+    }
+
+    /**
+     * Finds the position of a member within its branch in the period.
+     *
+     * @param period the period
+     * @param memberId the member ID
+     * @return the entry of the member, or empty if the member has no branch or is not ranked
+     * @throws IllegalArgumentException if period or memberId is null
+     */
+    public Optional<LeaderboardEntry> findBranchEntry(Period period, MemberId memberId) {
+        validatePeriod(period);
+        validateMemberId(memberId);
+        return entry(period, memberId, true);
+    }
+
+    /**
+     * Returns the number of members ranked overall in the period.
+     *
+     * @param period the period
+     * @return the number of ranked members
+     * @throws IllegalArgumentException if period is null
+     */
+    public int getRankedCount(Period period) {
+        validatePeriod(period);
+        rollOver();
+        lock.readLock().lock();
+        try {
+            return overall.tree(period).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public YearMonth getMonth() {
+        rollOver();
+        return month;
+    }
+
+    // ========== BOARDS ==========
+
+    private List<LeaderboardEntry> top(Period period, String branch, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        rollOver();
+        lock.readLock().lock();
+        try {
+            Board board = branch == null ? overall : branches.get(branch);
+            return board == null ? List.of() : board.tree(period).top(limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Optional<LeaderboardEntry> entry(Period period, MemberId memberId, boolean withinBranch) {
+        rollOver();
+        lock.readLock().lock();
+        try {
+            Standing standing = standings.get(memberId);
+            if (standing == null || (withinBranch && standing.branch == null)) {
+                return Optional.empty();
+            }
+            int workouts = standing.workouts(period, month);
+            if (workouts <= 0) {
+                return Optional.empty();
+            }
+            Board board = withinBranch ? branches.get(standing.branch) : overall;
+            return Optional.of(new LeaderboardEntry(memberId, board.tree(period).countAbove(workouts) + 1, workouts));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void attach(MemberId memberId, Standing standing) {
+        Board branchBoard = standing.branch == null ? null
+                : branches.computeIfAbsent(standing.branch, branch -> new Board());
+        for (Period period : Period.values()) {
+            int workouts = standing.workouts(period, month);
+            if (workouts > 0) {
+                overall.tree(period).insert(workouts, memberId, priorities.nextInt());
+                if (branchBoard != null) {
+                    branchBoard.tree(period).insert(workouts, memberId, priorities.nextInt());
+                }
+            }
+        }
+    }
+
+    private void detach(MemberId memberId, Standing standing) {
+        Board branchBoard = standing.branch == null ? null : branches.get(standing.branch);
+        for (Period period : Period.values()) {
+            int workouts = standing.workouts(period, month);
+            if (workouts > 0) {
+                overall.tree(period).remove(workouts, memberId);
+                if (branchBoard != null) {
+                    branchBoard.tree(period).remove(workouts, memberId);
+                }
+            }
+        }
+        if (branchBoard != null && branchBoard.isEmpty()) {
+            branches.remove(standing.branch);
+        }
+    }
+
+    /**
+     * Starts a new monthly window when the business month has changed since the last call.
+     */
+    private void rollOver() {
+        YearMonth current = YearMonth.from(BusinessClock.today());
+        if (current.equals(month)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!current.equals(month)) {
+                overall.month = new RankTree();
+                for (Board board : branches.values()) {
+                    board.month = new RankTree();
+                }
+                branches.values().removeIf(Board::isEmpty);
+                month = current;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static int saturatedAdd(int value, int delta) {
+        long sum = (long) value + delta;
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, sum));
+    }
+
+    private static void validatePeriod(Period period) {
+        if (period == null) {
+            throw new IllegalArgumentException("Period cannot be null");
+        }
+    }
+
+    private static void validateBranch(String branch) {
+        if (branch == null) {
+            throw new IllegalArgumentException("Branch cannot be null");
+        }
+    }
+
+    private static void validateMemberId(MemberId memberId) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+    }
+
+    /**
+     * What the leaderboard knows about one member.
+     */
+    private static final class Standing {
+        String branch;
+        long version = -1;
+        int total;
+        YearMonth month;
+        int monthWorkouts;
+
+        int workouts(Period period, YearMonth current) {
+            if (period == Period.ALL_TIME) {
+                return total;
+            }
+            return current.equals(month) ? monthWorkouts : 0;
+        }
+    }
+
+    /**
+     * The monthly and all-time boards of one scope (overall or a branch).
+     */
+    private static final class Board {
+        RankTree month = new RankTree();
+        final RankTree allTime = new RankTree();
+
+        RankTree tree(Period period) {
+            return period == Period.MONTH ? month : allTime;
+        }
+
+        boolean isEmpty() {
+            return month.size() == 0 && allTime.size() == 0;
+        }
+    }
+
+    /**
+     * Treap ordered by workouts descending, then member ID, with subtree sizes for ranking.
+     */
+    private static final class RankTree {
+        private Node root;
+
+        int size() {
+            return size(root);
+        }
+
+        void insert(int workouts, MemberId memberId, int priority) {
+            root = insert(root, new Node(workouts, memberId, priority));
+        }
+
+        void remove(int workouts, MemberId memberId) {
+            root = remove(root, workouts, memberId.getValue());
+        }
+
+        /**
+         * Counts the members with more workouts than the given number.
+         */
+        int countAbove(int workouts) {
+            int count = 0;
+            Node node = root;
+            while (node != null) {
+                if (node.workouts > workouts) {
+                    count += size(node.left) + 1;
+                    node = node.right;
+                } else {
+                    node = node.left;
+                }
+            }
+            return count;
+        }
+
+        List<LeaderboardEntry> top(int limit) {
+            List<LeaderboardEntry> entries = new ArrayList<>(Math.min(limit, size()));
+            Deque<Node> path = new ArrayDeque<>();
+            Node node = root;
+            int rank = 0;
+            while (entries.size() < limit && (node != null || !path.isEmpty())) {
+                while (node != null) {
+                    path.push(node);
+                    node = node.left;
+                }
+                node = path.pop();
+                // Members with equal workouts share a rank
+                if (entries.isEmpty() || entries.get(entries.size() - 1).getWorkouts() != node.workouts) {
+                    rank = entries.size() + 1;
+                }
+                entries.add(new LeaderboardEntry(node.memberId, rank, node.workouts));
+                node = node.right;
+            }
+            return entries;
+        }
+
+        private static Node insert(Node node, Node added) {
+            if (node == null) {
+                return added;
+            }
+            if (compare(added.workouts, added.memberId.getValue(), node) < 0) {
+                node.left = insert(node.left, added);
+                if (node.left.priority > node.priority) {
+                    node = rotateRight(node);
+                }
+            } else {
+                node.right = insert(node.right, added);
+                if (node.right.priority > node.priority) {
+                    node = rotateLeft(node);
+                }
+            }
+            node.update();
+            return node;
+        }
+
+        private static Node remove(Node node, int workouts, String memberId) {
+            if (node == null) {
+                return null;
+            }
+            int comparison = compare(workouts, memberId, node);
+            if (comparison < 0) {
+                node.left = remove(node.left, workouts, memberId);
+            } else if (comparison > 0) {
+                node.right = remove(node.right, workouts, memberId);
+            } else {
+                return merge(node.left, node.right);
+            }
+            node.update();
+            return node;
+        }
+
+        private static Node merge(Node left, Node right) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            if (left.priority > right.priority) {
+                left.right = merge(left.right, right);
+                left.update();
+                return left;
+            }
+            right.left = merge(left, right.left);
+            right.update();
+            return right;
+        }
+
+        private static Node rotateRight(Node node) {
+            Node left = node.left;
+            node.left = left.right;
+            left.right = node;
+            node.update();
+            return left;
+        }
+
+        private static Node rotateLeft(Node node) {
+            Node right = node.right;
+            node.right = right.left;
+            right.left = node;
+            node.update();
+            return right;
+        }
+
+        private static int compare(int workouts, String memberId, Node node) {
+            if (workouts != node.workouts) {
+                return workouts > node.workouts ? -1 : 1;
+            }
+            return memberId.compareTo(node.memberId.getValue());
+        }
+
+        private static int size(Node node) {
+            return node == null ? 0 : node.size;
+        }
+
+        private static final class Node {
+            final int workouts;
+            final MemberId memberId;
+            final int priority;
+            int size = 1;
+            Node left;
+            Node right;
+
+            Node(int workouts, MemberId memberId, int priority) {
+                this.workouts = workouts;
+                this.memberId = memberId;
+                this.priority = priority;
+            }
+
+            void update() {
+                size = 1 + RankTree.size(left) + RankTree.size(right);
+            }
+        }
+    }
+}
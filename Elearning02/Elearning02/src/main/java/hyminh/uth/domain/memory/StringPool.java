@@ -0,0 +1,60 @@
+package hyminh.uth.domain.memory;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared pool of strings that repeat across many entities, such as email domains and plan
+ * names, so that millions of entities hold references to one instance instead of millions of
+ * equal copies.
+ *
+ * The pool is a ConcurrentHashMap rather than {@link String#intern()}: lookups do not go through
+ * the JVM string table, and values are only pooled where they are known to repeat. To keep a
+ * stream of distinct values from growing it without bound, the pool stops accepting new
+ * values at {@value #MAX_SIZE} entries and then returns unpooled values unchanged.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class StringPool {
+
+    /**
+     * Maximum number of distinct values the pool holds.
+     */
+    public static final int MAX_SIZE = 65_536;
+
+    private static final ConcurrentHashMap<String, String> POOL = new ConcurrentHashMap<>();
+
+    private StringPool() {
+    }
+
+    /**
+     * Returns the pooled instance equal to the value, pooling the value if it is new and the
+     * pool has room.
+     *
+     * @param value the value, may be null
+     * @return an equal pooled string, the value itself, or null if value is null
+     */
+    public static String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = POOL.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (POOL.size() >= MAX_SIZE) {
+            return value;
+        }
+        pooled = POOL.putIfAbsent(value, value);
+        return pooled != null ? pooled : value;
+    }
+
+    /**
+     * Returns the number of pooled values.
+     *
+     * @return the pool size
+     */
+    public static int size() {
+        return POOL.size();
+    }
+}
@@ -0,0 +1,107 @@
+package hyminh.uth.domain.query;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Named, typed attribute of a domain entity used to build specifications and secondary indexes.
+ * Attributes are compared by name, so two attributes with the same name on the same entity
+ * type refer to the same index.
+ *
+ * @param <T> the entity type
+ * @param <V> the attribute value type
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class Attribute<T, V> {
+
+    private final String name;
+    private final Function<? super T, ? extends V> extractor;
+
+    private Attribute(String name, Function<? super T, ? extends V> extractor) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Attribute name cannot be null or empty");
+        }
+        if (extractor == null) {
+            throw new IllegalArgumentException("Attribute extractor cannot be null");
+        }
+        this.name = name;
+        this.extractor = extractor;
+    }
+
+    /**
+     * Creates a new attribute.
+     *
+     * @param name the attribute name shown in query plans
+     * @param extractor the function that reads the attribute from an entity
+     * @param <T> the entity type
+     * @param <V> the attribute value type
+     * @return a new Attribute instance
+     */
+    public static <T, V> Attribute<T, V> of(String name, Function<? super T, ? extends V> extractor) {
+        return new Attribute<>(name, extractor);
+    }
+
+    /**
+     * Reads the attribute value from an entity.
+     *
+     * @param entity the entity
+     * @return the attribute value
+     */
+    public V valueOf(T entity) {
+        return extractor.apply(entity);
+    }
+
+    /**
+     * Creates an equality specification on this attribute. Equality specifications can be
+     * answered from a secondary index.
+     *
+     * @param value the value to match
+     * @return a new specification
+     */
+    public Specification<T> eq(V value) {
+        return Specification.equalTo(this, value);
+    }
+
+    /**
+     * Creates a specification that tests the attribute value with a predicate.
+     *
+     * @param description the description shown in query plans
+     * @param predicate the predicate applied to the attribute value
+     * @return a new specification
+     */
+    public Specification<T> matches(String description, Predicate<? super V> predicate) {
+        if (predicate == null) {
+            throw new IllegalArgumentException("Predicate cannot be null");
+        }
+        return Specification.where(name + " " + description, entity -> predicate.test(valueOf(entity)));
+    }
+
+    /**
+     * Returns the attribute name.
+     *
+     * @return the attribute name
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Attribute<?, ?> that = (Attribute<?, ?>) obj;
+        return Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,45 @@
+package hyminh.uth.domain.query;
+
+import hyminh.uth.domain.entity.Exercise;
+import hyminh.uth.domain.valueobject.DifficultyLevel;
+import hyminh.uth.domain.valueobject.ExerciseType;
+import java.time.Duration;
+
+/**
+ * Queryable attributes of {@link Exercise}.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class ExerciseAttributes {
+
+    /**
+     * The exercise type (indexed).
+     */
+    public static final Attribute<Exercise, ExerciseType> TYPE = Attribute.of("type", Exercise::getType);
+
+    /**
+     * The difficulty level (indexed).
+     */
+    public static final Attribute<Exercise, DifficultyLevel> DIFFICULTY =
+            Attribute.of("difficulty", Exercise::getDifficulty);
+
+    /**
+     * Whether the exercise is active. Not indexed: it changes in place.
+     */
+    public static final Attribute<Exercise, Boolean> ACTIVE = Attribute.of("active", Exercise::isActive);
+
+    /**
+     * The exercise name.
+     */
+    public static final Attribute<Exercise, String> NAME = Attribute.of("name", Exercise::getName);
+
+    /**
+     * The estimated duration.
+     */
+    public static final Attribute<Exercise, Duration> ESTIMATED_DURATION =
+            Attribute.of("estimatedDuration", Exercise::getEstimatedDuration);
+
+    private ExerciseAttributes() {
+    }
+}
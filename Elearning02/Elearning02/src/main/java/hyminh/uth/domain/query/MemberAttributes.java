@@ -0,0 +1,46 @@
+package hyminh.uth.domain.query;
+
+import hyminh.uth.domain.entity.Member;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Queryable attributes of {@link Member}.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class MemberAttributes {
+
+    /**
+     * The month the member registered (indexed).
+     */
+    public static final Attribute<Member, YearMonth> REGISTRATION_MONTH =
+            Attribute.of("registrationMonth", member -> YearMonth.from(member.getRegistrationDate()));
+
+    /**
+     * Whether the member account is active. Not indexed: it changes in place.
+     */
+    public static final Attribute<Member, Boolean> ACTIVE = Attribute.of("active", Member::isActive);
+
+    /**
+     * The registration date.
+     */
+    public static final Attribute<Member, LocalDate> REGISTRATION_DATE =
+            Attribute.of("registrationDate", Member::getRegistrationDate);
+
+    /**
+     * Whether the member currently holds an active subscription.
+     */
+    public static final Attribute<Member, Boolean> HAS_ACTIVE_SUBSCRIPTION =
+            Attribute.of("hasActiveSubscription", Member::hasActiveSubscription);
+
+    /**
+     * The number of completed workouts.
+     */
+    public static final Attribute<Member, Integer> WORKOUTS_COMPLETED =
+            Attribute.of("workoutsCompleted", Member::getWorkoutsCompleted);
+
+    private MemberAttributes() {
+    }
+}
@@ -0,0 +1,101 @@
+package hyminh.uth.domain.query;
+
+import java.util.Comparator;
+
+/**
+ * Immutable query over a domain repository: a specification plus optional ordering and limit.
+ *
+ * @param <T> the entity type
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class Query<T> {
+
+    private final Specification<T> specification;
+    private final Comparator<? super T> order;
+    private final String orderDescription;
+    private final int limit;
+
+    private Query(Specification<T> specification, Comparator<? super T> order, String orderDescription, int limit) {
+        this.specification = specification;
+        this.order = order;
+        this.orderDescription = orderDescription;
+        this.limit = limit;
+    }
+
+    /**
+     * Creates a query for entities matching a specification.
+     *
+     * @param specification the specification to match
+     * @param <T> the entity type
+     * @return a new query
+     * @throws IllegalArgumentException if specification is null
+     */
+    public static <T> Query<T> where(Specification<T> specification) {
+        if (specification == null) {
+            throw new IllegalArgumentException("Specification cannot be null");
+        }
+        return new Query<>(specification, null, null, -1);
+    }
+
+    /**
+     * Returns a copy of this query ordered by an attribute.
+     *
+     * @param attribute the attribute to order by
+     * @param descending whether to order from the largest value
+     * @param <V> the attribute value type
+     * @return a new query
+     */
+    public <V extends Comparable<? super V>> Query<T> orderBy(Attribute<T, V> attribute, boolean descending) {
+        if (attribute == null) {
+            throw new IllegalArgumentException("Attribute cannot be null");
+        }
+        Comparator<T> comparator = Comparator.comparing(attribute::valueOf,
+                Comparator.nullsLast(Comparator.<V>naturalOrder()));
+        return orderBy(attribute.getName() + (descending ? " DESC" : " ASC"),
+                descending ? comparator.reversed() : comparator);
+    }
+
+    /**
+     * Returns a copy of this query ordered by a comparator.
+     *
+     * @param description the description shown in query plans
+     * @param comparator the comparator
+     * @return a new query
+     */
+    public Query<T> orderBy(String description, Comparator<? super T> comparator) {
+        if (description == null || comparator == null) {
+            throw new IllegalArgumentException("Description and comparator cannot be null");
+        }
+        return new Query<>(specification, comparator, description, limit);
+    }
+
+    /**
+     * Returns a copy of this query returning at most {@code maxResults} entities.
+     *
+     * @param maxResults the maximum number of results
+     * @return a new query
+     * @throws IllegalArgumentException if maxResults is negative
+     */
+    public Query<T> limit(int maxResults) {
+        if (maxResults < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
+        }
+        return new Query<>(specification, order, orderDescription, maxResults);
+    }
+
+    // Getters
+    public Specification<T> getSpecification() { return specification; }
+    public Comparator<? super T> getOrder() { return order; }
+    public String getOrderDescription() { return orderDescription; }
+    public int getLimit() { return limit; }
+    public boolean hasOrder() { return order != null; }
+    public boolean hasLimit() { return limit >= 0; }
+
+    @Override
+    public String toString() {
+        return String.format("Query{where=%s, orderBy=%s, limit=%s}", specification,
+                           orderDescription != null ? orderDescription : "none",
+                           hasLimit() ? String.valueOf(limit) : "none");
+    }
+}
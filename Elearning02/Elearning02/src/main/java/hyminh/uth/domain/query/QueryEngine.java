@@ -0,0 +1,238 @@
+package hyminh.uth.domain.query;
+
+import hyminh.uth.domain.query.QueryPlan.AccessPath;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Plans and executes {@link Query} objects over an in-memory entity collection.
+ *
+ * The planner looks at the equality constraints of the query's specification and, for every
+ * one backed by a secondary index, estimates how many rows the index bucket holds. If the
+ * smallest bucket is below the selectivity threshold the query reads only that bucket;
+ * otherwise it scans every entity, in parallel when the {@link ScanExecutor} decides the
+ * collection is large enough. The full specification is always re-applied to the candidates,
+ * so index buckets only need to be a superset of the matches.
+ *
+ * Indexes reflect entity state as of the last {@link #indexed(Object)} call, which the owning
+ * repository makes from {@code save}. Re-applying the specification removes candidates that no
+ * longer match, but cannot find an entity filed under a stale key, so only attributes that do
+ * not change on a stored entity (such as a plan type, not a status) may be indexed.
+ *
+ * @param <T> the entity type
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class QueryEngine<T> {
+
+    /**
+     * Default largest fraction of rows an index lookup may read before a scan is preferred.
+     */
+    public static final double DEFAULT_INDEX_SELECTIVITY_THRESHOLD = 0.2;
+
+    private final Supplier<? extends Collection<T>> source;
+    private final Function<? super T, ?> identity;
+    private final ScanExecutor scanExecutor;
+    private final Map<String, SecondaryIndex<T, ?>> indexes = new ConcurrentHashMap<>();
+    private volatile double indexSelectivityThreshold = DEFAULT_INDEX_SELECTIVITY_THRESHOLD;
+
+    /**
+     * Constructs a new QueryEngine over a live entity collection, using a scan executor on the shared pool.
+     *
+     * @param source supplies the current entities (typically {@code map::values})
+     * @param identity extracts the unique ID of an entity
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public QueryEngine(Supplier<? extends Collection<T>> source, Function<? super T, ?> identity) {
+        this(source, identity, new ScanExecutor());
+    }
+
+    /**
+     * Constructs a new QueryEngine over a live entity collection.
+     *
+     * @param source supplies the current entities (typically {@code map::values})
+     * @param identity extracts the unique ID of an entity
+     * @param scanExecutor decides whether scans run in parallel and runs them
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public QueryEngine(Supplier<? extends Collection<T>> source, Function<? super T, ?> identity,
+                       ScanExecutor scanExecutor) {
+        if (source == null || identity == null || scanExecutor == null) {
+            throw new IllegalArgumentException("Source, identity and scan executor cannot be null");
+        }
+        this.source = source;
+        this.identity = identity;
+        this.scanExecutor = scanExecutor;
+    }
+
+    /**
+     * Adds a secondary index on an attribute and fills it from the current entities.
+     * The attribute must not change on an entity between saves, or lookups may miss it.
+     *
+     * @param attribute the attribute to index
+     * @param <V> the attribute value type
+     * @return this engine
+     * @throws IllegalArgumentException if attribute is null
+     */
+    public <V> QueryEngine<T> addIndex(Attribute<T, V> attribute) {
+        if (attribute == null) {
+            throw new IllegalArgumentException("Attribute cannot be null");
+        }
+        SecondaryIndex<T, V> index = new SecondaryIndex<>(attribute, identity);
+        for (T entity : source.get()) {
+            index.put(entity);
+        }
+        indexes.put(attribute.getName(), index);
+        return this;
+    }
+
+    /**
+     * Checks if an attribute is indexed.
+     *
+     * @param attribute the attribute to check
+     * @return true if the attribute has a secondary index, false otherwise
+     */
+    public boolean hasIndex(Attribute<T, ?> attribute) {
+        return attribute != null && indexes.containsKey(attribute.getName());
+    }
+
+    /**
+     * Updates every index after an entity was saved.
+     *
+     * @param entity the saved entity
+     */
+    public void indexed(T entity) {
+        for (SecondaryIndex<T, ?> index : indexes.values()) {
+            index.put(entity);
+        }
+    }
+
+    /**
+     * Updates every index after an entity was deleted.
+     *
+     * @param entity the deleted entity
+     */
+    public void removed(T entity) {
+        for (SecondaryIndex<T, ?> index : indexes.values()) {
+            index.remove(entity);
+        }
+    }
+
+    /**
+     * Chooses the access path for a query without executing it.
+     *
+     * @param query the query to plan
+     * @return the query plan
+     * @throws IllegalArgumentException if query is null
+     */
+    public QueryPlan plan(Query<T> query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        long total = source.get().size();
+        SecondaryIndex<T, ?> bestIndex = null;
+        Object bestKey = null;
+        long bestEstimate = Long.MAX_VALUE;
+        for (Specification.Equality<T, ?> equality : query.getSpecification().getEqualities()) {
+            SecondaryIndex<T, ?> index = indexes.get(equality.attribute.getName());
+            if (index == null) {
+                continue;
+            }
+            long estimate = index.estimate(equality.value);
+            if (estimate < bestEstimate) {
+                bestIndex = index;
+                bestKey = equality.value;
+                bestEstimate = estimate;
+            }
+        }
+
+        String filter = query.getSpecification().getDescription();
+        if (bestIndex != null && bestEstimate <= total * indexSelectivityThreshold) {
+            return new QueryPlan(AccessPath.INDEX_LOOKUP, bestIndex.getAttribute().getName(), bestKey,
+                    bestEstimate, total, filter, query.getOrderDescription(), query.getLimit());
+        }
+        AccessPath path = scanExecutor.isParallel(total) ? AccessPath.PARALLEL_SCAN : AccessPath.FULL_SCAN;
+        return new QueryPlan(path, null, null, total, total, filter, query.getOrderDescription(), query.getLimit());
+    }
+
+    /**
+     * Executes a query.
+     *
+     * @param query the query to execute
+     * @return the matching entities, ordered and limited as requested
+     * @throws IllegalArgumentException if query is null
+     */
+    public List<T> execute(Query<T> query) {
+        QueryPlan plan = plan(query);
+        Specification<T> specification = query.getSpecification();
+        List<T> matches;
+        switch (plan.getAccessPath()) {
+            case INDEX_LOOKUP:
+                matches = indexes.get(plan.getIndexName()).lookup(plan.getIndexKey()).stream()
+                        .filter(specification::test)
+                        .collect(Collectors.toList());
+                break;
+            case PARALLEL_SCAN:
+                matches = scanExecutor.filterParallel(source.get(), specification::test);
+                break;
+            default:
+                matches = source.get().stream()
+                        .filter(specification::test)
+                        .collect(Collectors.toList());
+                break;
+        }
+
+        if (query.hasOrder() && query.hasLimit()) {
+            return topK(matches, query.getOrder(), query.getLimit());
+        }
+        if (query.hasOrder()) {
+            matches.sort(query.getOrder());
+        }
+        if (query.hasLimit() && matches.size() > query.getLimit()) {
+            return new ArrayList<>(matches.subList(0, query.getLimit()));
+        }
+        return matches;
+    }
+
+    /**
+     * Sets the largest fraction of rows an index lookup may read before a scan is preferred.
+     *
+     * @param threshold the selectivity threshold between 0.0 and 1.0
+     * @throws IllegalArgumentException if threshold is out of range
+     */
+    public void setIndexSelectivityThreshold(double threshold) {
+        if (threshold < 0.0 || threshold > 1.0) {
+            throw new IllegalArgumentException("Threshold must be between 0.0 and 1.0");
+        }
+        this.indexSelectivityThreshold = threshold;
+    }
+
+    private static <T> List<T> topK(List<T> matches, Comparator<? super T> order, int k) {
+        List<T> result = new ArrayList<>(Math.min(k, matches.size()));
+        if (k == 0) {
+            return result;
+        }
+        // Max-heap of the k best rows seen so far: the worst of them sits at the head
+        Comparator<T> comparator = order::compare;
+        PriorityQueue<T> heap = new PriorityQueue<>(k + 1, comparator.reversed());
+        for (T entity : matches) {
+            if (heap.size() < k) {
+                heap.offer(entity);
+            } else if (comparator.compare(entity, heap.peek()) < 0) {
+                heap.poll();
+                heap.offer(entity);
+            }
+        }
+        result.addAll(heap);
+        result.sort(comparator);
+        return result;
+    }
+}
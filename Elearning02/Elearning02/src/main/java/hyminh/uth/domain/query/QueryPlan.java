@@ -0,0 +1,155 @@
+package hyminh.uth.domain.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Access path chosen by the query planner for one query, with the estimates it was based on.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class QueryPlan {
+
+    /**
+     * The way the planner reads candidate entities.
+     */
+    public enum AccessPath {
+        /**
+         * Candidates come from one secondary index bucket.
+         */
+        INDEX_LOOKUP,
+
+        /**
+         * Every entity is tested sequentially.
+         */
+        FULL_SCAN,
+
+        /**
+         * Every entity is tested, split across worker threads.
+         */
+        PARALLEL_SCAN,
+
+        /**
+         * The query runs on every partition with its own plan and the results are merged.
+         */
+        FAN_OUT
+    }
+
+    private final AccessPath accessPath;
+    private final String indexName;
+    private final Object indexKey;
+    private final long estimatedRows;
+    private final long totalRows;
+    private final String filter;
+    private final String order;
+    private final int limit;
+    private final List<QueryPlan> partitionPlans;
+
+    QueryPlan(AccessPath accessPath, String indexName, Object indexKey, long estimatedRows,
+              long totalRows, String filter, String order, int limit) {
+        this(accessPath, indexName, indexKey, estimatedRows, totalRows, filter, order, limit, List.of());
+    }
+
+    private QueryPlan(AccessPath accessPath, String indexName, Object indexKey, long estimatedRows,
+                      long totalRows, String filter, String order, int limit, List<QueryPlan> partitionPlans) {
+        this.accessPath = accessPath;
+        this.indexName = indexName;
+        this.indexKey = indexKey;
+        this.estimatedRows = estimatedRows;
+        this.totalRows = totalRows;
+        this.filter = filter;
+        this.order = order;
+        this.limit = limit;
+        this.partitionPlans = partitionPlans;
+    }
+
+    /**
+     * Combines the plans of one query on several partitions (for example the shards of a
+     * sharded repository) into a {@link AccessPath#FAN_OUT} plan whose estimates are the sums
+     * of the partition estimates.
+     *
+     * @param partitionPlans the plan of each partition, in partition order
+     * @return the fan-out plan
+     * @throws IllegalArgumentException if partitionPlans is null, empty or contains null
+     */
+    public static QueryPlan fanOut(List<QueryPlan> partitionPlans) {
+        if (partitionPlans == null || partitionPlans.isEmpty()) {
+            throw new IllegalArgumentException("Partition plans cannot be null or empty");
+        }
+        long estimatedRows = 0;
+        long totalRows = 0;
+        for (QueryPlan plan : partitionPlans) {
+            if (plan == null) {
+                throw new IllegalArgumentException("Partition plans cannot contain null");
+            }
+            estimatedRows += plan.estimatedRows;
+            totalRows += plan.totalRows;
+        }
+        QueryPlan first = partitionPlans.get(0);
+        return new QueryPlan(AccessPath.FAN_OUT, null, null, estimatedRows, totalRows, first.filter, first.order,
+                first.limit, Collections.unmodifiableList(new ArrayList<>(partitionPlans)));
+    }
+
+    /**
+     * Returns the estimated fraction of rows read by the access path.
+     *
+     * @return the selectivity between 0.0 and 1.0
+     */
+    public double getSelectivity() {
+        return totalRows == 0 ? 0.0 : (double) estimatedRows / totalRows;
+    }
+
+    /**
+     * Describes the plan in a single human-readable line.
+     *
+     * @return the plan description
+     */
+    public String explain() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(accessPath);
+        if (accessPath == AccessPath.INDEX_LOOKUP) {
+            sb.append(' ').append(indexName).append('=').append(formatValue(indexKey));
+        } else if (accessPath == AccessPath.FAN_OUT) {
+            sb.append(' ').append(partitionPlans.size()).append(" partitions [");
+            for (int i = 0; i < partitionPlans.size(); i++) {
+                sb.append(i == 0 ? "" : ", ").append(partitionPlans.get(i).accessPath);
+            }
+            sb.append(']');
+        }
+        sb.append(String.format(" (est. %d of %d rows, selectivity %.1f%%)", estimatedRows, totalRows,
+                getSelectivity() * 100));
+        sb.append(" -> filter ").append(filter);
+        if (accessPath == AccessPath.FAN_OUT) {
+            sb.append(" -> merge");
+        }
+        if (order != null) {
+            sb.append(" -> ").append(limit >= 0 ? "top-k " : "sort ").append(order);
+        }
+        if (limit >= 0) {
+            sb.append(" -> limit ").append(limit);
+        }
+        return sb.toString();
+    }
+
+    // Getters
+    public AccessPath getAccessPath() { return accessPath; }
+    public String getIndexName() { return indexName; }
+    public Object getIndexKey() { return indexKey; }
+    public long getEstimatedRows() { return estimatedRows; }
+    public long getTotalRows() { return totalRows; }
+    public List<QueryPlan> getPartitionPlans() { return partitionPlans; }
+
+    /**
+     * Formats an attribute value for plan output, using constant names for enums.
+     */
+    static String formatValue(Object value) {
+        return value instanceof Enum ? ((Enum<?>) value).name() : String.valueOf(value);
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+}
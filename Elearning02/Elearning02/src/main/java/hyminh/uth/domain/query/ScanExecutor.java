@@ -0,0 +1,343 @@
+package hyminh.uth.domain.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Executes repository scans either sequentially or split into chunks on a dedicated ForkJoinPool.
+ *
+ * Parallel scans split the source's spliterator recursively until each chunk holds at most
+ * {@link #getChunkSize()} elements, filter the chunks on the pool and concatenate the chunk
+ * results in encounter order, so the output matches a sequential scan of the same collection.
+ * The pool is separate from {@link ForkJoinPool#commonPool()}, so repository scans neither
+ * compete with nor get blocked by unrelated parallel streams. Executors created with
+ * {@link #ScanExecutor()} all run on one shared pool but keep their own mode and tuning, so
+ * changing the mode of one repository's executor does not affect other repositories.
+ *
+ * In {@link Mode#ADAPTIVE} mode a scan runs in parallel only once the source holds at least
+ * {@link #getParallelThreshold()} elements, below which the fork/join overhead dominates.
+ * The crossover on a given machine can be measured with
+ * {@code hyminh.uth.domain.demo.ScanCrossoverBenchmark}.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class ScanExecutor {
+
+    /**
+     * How scans are executed.
+     */
+    public enum Mode {
+        /**
+         * Always scan on the calling thread.
+         */
+        SEQUENTIAL,
+
+        /**
+         * Always scan on the pool.
+         */
+        PARALLEL,
+
+        /**
+         * Scan on the pool once the source reaches the parallel threshold.
+         */
+        ADAPTIVE
+    }
+
+    /**
+     * Default source size from which adaptive scans run in parallel.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 50_000;
+
+    /**
+     * Default maximum number of elements scanned by one task.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 4_096;
+
+    private static final ForkJoinPool SHARED_POOL = newPool(Runtime.getRuntime().availableProcessors());
+
+    private final ForkJoinPool pool;
+    private volatile Mode mode = Mode.ADAPTIVE;
+    private volatile int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private volatile int chunkSize = DEFAULT_CHUNK_SIZE;
+
+    /**
+     * Constructs a new ScanExecutor running parallel scans on the shared pool, which has one
+     * worker per available processor.
+     */
+    public ScanExecutor() {
+        this(SHARED_POOL);
+    }
+
+    /**
+     * Constructs a new ScanExecutor running parallel scans on the given pool.
+     *
+     * @param pool the pool for parallel scans
+     * @throws IllegalArgumentException if pool is null
+     */
+    public ScanExecutor(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Creates a pool of daemon worker threads named {@code repository-scan-N}.
+     *
+     * @param parallelism the number of worker threads
+     * @return a new pool
+     * @throws IllegalArgumentException if parallelism is not positive
+     */
+    public static ForkJoinPool newPool(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return new ForkJoinPool(parallelism, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("repository-scan-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Checks if a scan over a source of the given size would run in parallel.
+     *
+     * @param size the number of elements in the source
+     * @return true if the scan would run on the pool, false otherwise
+     */
+    public boolean isParallel(long size) {
+        switch (mode) {
+            case PARALLEL:
+                return true;
+            case SEQUENTIAL:
+                return false;
+            default:
+                return size >= parallelThreshold && pool.getParallelism() > 1;
+        }
+    }
+
+    /**
+     * Finds all elements matching a predicate, in the source's encounter order.
+     *
+     * @param source the elements to scan
+     * @param predicate the predicate to test
+     * @param <T> the element type
+     * @return the matching elements
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public <T> List<T> filter(Collection<T> source, Predicate<? super T> predicate) {
+        validate(source, predicate);
+        if (!isParallel(source.size())) {
+            List<T> result = new ArrayList<>();
+            for (T element : source) {
+                if (predicate.test(element)) {
+                    result.add(element);
+                }
+            }
+            return result;
+        }
+        return filterParallel(source, predicate);
+    }
+
+    /**
+     * Finds all elements matching a predicate on the pool, regardless of mode and source size.
+     *
+     * @param source the elements to scan
+     * @param predicate the predicate to test
+     * @param <T> the element type
+     * @return the matching elements, in the source's encounter order
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public <T> List<T> filterParallel(Collection<T> source, Predicate<? super T> predicate) {
+        validate(source, predicate);
+        Chunk<T> chunks = pool.invoke(new FilterTask<>(source.spliterator(), predicate, chunkSize));
+        List<T> result = new ArrayList<>(chunks.size);
+        chunks.appendTo(result);
+        return result;
+    }
+
+    /**
+     * Counts the elements matching a predicate.
+     *
+     * @param source the elements to scan
+     * @param predicate the predicate to test
+     * @param <T> the element type
+     * @return the number of matching elements
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public <T> long count(Collection<T> source, Predicate<? super T> predicate) {
+        validate(source, predicate);
+        if (!isParallel(source.size())) {
+            long count = 0;
+            for (T element : source) {
+                if (predicate.test(element)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        return pool.invoke(new CountTask<>(source.spliterator(), predicate, chunkSize));
+    }
+
+    // Getters and setters
+    public Mode getMode() { return mode; }
+    public int getParallelThreshold() { return parallelThreshold; }
+    public int getChunkSize() { return chunkSize; }
+    public int getParallelism() { return pool.getParallelism(); }
+
+    /**
+     * Sets how scans are executed.
+     *
+     * @param mode the execution mode
+     * @throws IllegalArgumentException if mode is null
+     */
+    public void setMode(Mode mode) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Mode cannot be null");
+        }
+        this.mode = mode;
+    }
+
+    /**
+     * Sets the source size from which adaptive scans run in parallel.
+     *
+     * @param parallelThreshold the minimum number of elements for a parallel scan
+     * @throws IllegalArgumentException if parallelThreshold is not positive
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold <= 0) {
+            throw new IllegalArgumentException("Parallel threshold must be positive");
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Sets the maximum number of elements scanned by one task.
+     *
+     * @param chunkSize the chunk size
+     * @throws IllegalArgumentException if chunkSize is not positive
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    private static void validate(Collection<?> source, Predicate<?> predicate) {
+        if (source == null || predicate == null) {
+            throw new IllegalArgumentException("Source and predicate cannot be null");
+        }
+    }
+
+    /**
+     * Result of a filter task: either the matches of one chunk or the concatenation of two
+     * sub-results. Results are only flattened once, into a list of the exact final size.
+     */
+    private static final class Chunk<T> {
+        final List<T> matches;
+        final Chunk<T> left;
+        final Chunk<T> right;
+        final int size;
+
+        Chunk(List<T> matches) {
+            this.matches = matches;
+            this.left = null;
+            this.right = null;
+            this.size = matches.size();
+        }
+
+        Chunk(Chunk<T> left, Chunk<T> right) {
+            this.matches = null;
+            this.left = left;
+            this.right = right;
+            this.size = left.size + right.size;
+        }
+
+        void appendTo(List<T> target) {
+            if (matches != null) {
+                target.addAll(matches);
+            } else {
+                left.appendTo(target);
+                right.appendTo(target);
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")  // Tasks only run on the pool and are never serialized
+    private static final class FilterTask<T> extends RecursiveTask<Chunk<T>> {
+        private final Spliterator<T> spliterator;
+        private final Predicate<? super T> predicate;
+        private final int chunkSize;
+
+        FilterTask(Spliterator<T> spliterator, Predicate<? super T> predicate, int chunkSize) {
+            this.spliterator = spliterator;
+            this.predicate = predicate;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected Chunk<T> compute() {
+            if (spliterator.estimateSize() > chunkSize) {
+                // trySplit hands out the prefix, so the forked task holds the earlier elements
+                Spliterator<T> prefix = spliterator.trySplit();
+                if (prefix != null) {
+                    FilterTask<T> left = new FilterTask<>(prefix, predicate, chunkSize);
+                    left.fork();
+                    Chunk<T> right = new FilterTask<>(spliterator, predicate, chunkSize).compute();
+                    return new Chunk<>(left.join(), right);
+                }
+            }
+            List<T> matches = new ArrayList<>();
+            spliterator.forEachRemaining(element -> {
+                if (predicate.test(element)) {
+                    matches.add(element);
+                }
+            });
+            return new Chunk<>(matches);
+        }
+    }
+
+    @SuppressWarnings("serial")  // Tasks only run on the pool and are never serialized
+    private static final class CountTask<T> extends RecursiveTask<Long> {
+        private final Spliterator<T> spliterator;
+        private final Predicate<? super T> predicate;
+        private final int chunkSize;
+
+        CountTask(Spliterator<T> spliterator, Predicate<? super T> predicate, int chunkSize) {
+            this.spliterator = spliterator;
+            this.predicate = predicate;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected Long compute() {
+            if (spliterator.estimateSize() > chunkSize) {
+                Spliterator<T> prefix = spliterator.trySplit();
+                if (prefix != null) {
+                    CountTask<T> left = new CountTask<>(prefix, predicate, chunkSize);
+                    left.fork();
+                    long right = new CountTask<>(spliterator, predicate, chunkSize).compute();
+                    return left.join() + right;
+                }
+            }
+            long[] count = new long[1];
+            spliterator.forEachRemaining(element -> {
+                if (predicate.test(element)) {
+                    count[0]++;
+                }
+            });
+            return count[0];
+        }
+    }
+}
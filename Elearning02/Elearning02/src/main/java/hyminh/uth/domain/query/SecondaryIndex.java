@@ -0,0 +1,79 @@
+package hyminh.uth.domain.query;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Hash index from attribute value to the entities saved with that value.
+ * The index remembers the key each entity was stored under, so entities that were mutated
+ * in place before being saved again are still moved out of their old bucket.
+ *
+ * @param <T> the entity type
+ * @param <V> the attribute value type
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class SecondaryIndex<T, V> {
+
+    private static final Object NULL_KEY = new Object();
+
+    private final Attribute<T, V> attribute;
+    private final Function<? super T, ?> identity;
+    private final Map<Object, Map<Object, T>> buckets = new ConcurrentHashMap<>();
+    private final Map<Object, Object> keyOf = new ConcurrentHashMap<>();
+
+    SecondaryIndex(Attribute<T, V> attribute, Function<? super T, ?> identity) {
+        this.attribute = attribute;
+        this.identity = identity;
+    }
+
+    synchronized void put(T entity) {
+        Object id = identity.apply(entity);
+        Object key = keyFor(attribute.valueOf(entity));
+        Object previous = keyOf.put(id, key);
+        if (previous != null && !previous.equals(key)) {
+            removeFromBucket(previous, id);
+        }
+        buckets.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(id, entity);
+    }
+
+    synchronized void remove(T entity) {
+        Object id = identity.apply(entity);
+        Object previous = keyOf.remove(id);
+        if (previous != null) {
+            removeFromBucket(previous, id);
+        }
+    }
+
+    Collection<T> lookup(Object value) {
+        Map<Object, T> bucket = buckets.get(keyFor(value));
+        return bucket != null ? bucket.values() : Collections.emptyList();
+    }
+
+    long estimate(Object value) {
+        Map<Object, T> bucket = buckets.get(keyFor(value));
+        return bucket != null ? bucket.size() : 0;
+    }
+
+    Attribute<T, V> getAttribute() {
+        return attribute;
+    }
+
+    private void removeFromBucket(Object key, Object id) {
+        Map<Object, T> bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.remove(id);
+            if (bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private static Object keyFor(Object value) {
+        return Objects.requireNonNullElse(value, NULL_KEY);
+    }
+}
@@ -0,0 +1,168 @@
+package hyminh.uth.domain.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Composable, immutable predicate over a domain entity.
+ * Besides the predicate itself, a specification remembers the equality constraints that
+ * must hold for every matching entity, so the query planner can answer it from a
+ * secondary index and apply the full predicate only to the candidates.
+ *
+ * @param <T> the entity type
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class Specification<T> {
+
+    private final Predicate<? super T> predicate;
+    private final String description;
+    private final List<Equality<T, ?>> equalities;
+
+    private Specification(Predicate<? super T> predicate, String description, List<Equality<T, ?>> equalities) {
+        this.predicate = predicate;
+        this.description = description;
+        this.equalities = equalities;
+    }
+
+    /**
+     * Creates a specification matching every entity.
+     *
+     * @param <T> the entity type
+     * @return a new specification
+     */
+    public static <T> Specification<T> all() {
+        return new Specification<>(entity -> true, "TRUE", Collections.emptyList());
+    }
+
+    /**
+     * Creates a specification from an arbitrary predicate. Such specifications are never
+     * answered from an index.
+     *
+     * @param description the description shown in query plans
+     * @param predicate the predicate
+     * @param <T> the entity type
+     * @return a new specification
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public static <T> Specification<T> where(String description, Predicate<? super T> predicate) {
+        if (description == null || predicate == null) {
+            throw new IllegalArgumentException("Description and predicate cannot be null");
+        }
+        return new Specification<>(predicate, description, Collections.emptyList());
+    }
+
+    /**
+     * Creates an equality specification on an attribute.
+     *
+     * @param attribute the attribute
+     * @param value the value to match
+     * @param <T> the entity type
+     * @param <V> the attribute value type
+     * @return a new specification
+     * @throws IllegalArgumentException if attribute is null
+     */
+    public static <T, V> Specification<T> equalTo(Attribute<T, V> attribute, V value) {
+        if (attribute == null) {
+            throw new IllegalArgumentException("Attribute cannot be null");
+        }
+        return new Specification<>(entity -> Objects.equals(attribute.valueOf(entity), value),
+                attribute.getName() + "=" + QueryPlan.formatValue(value),
+                Collections.singletonList(new Equality<>(attribute, value)));
+    }
+
+    /**
+     * Combines this specification with another using logical AND.
+     *
+     * @param other the other specification
+     * @return a new specification
+     */
+    public Specification<T> and(Specification<T> other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Other specification cannot be null");
+        }
+        List<Equality<T, ?>> combined = new ArrayList<>(equalities);
+        combined.addAll(other.equalities);
+        Predicate<? super T> left = predicate;
+        Predicate<? super T> right = other.predicate;
+        return new Specification<>(entity -> left.test(entity) && right.test(entity),
+                "(" + description + " AND " + other.description + ")",
+                Collections.unmodifiableList(combined));
+    }
+
+    /**
+     * Combines this specification with another using logical OR.
+     * The result cannot be answered from a single index.
+     *
+     * @param other the other specification
+     * @return a new specification
+     */
+    public Specification<T> or(Specification<T> other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Other specification cannot be null");
+        }
+        Predicate<? super T> left = predicate;
+        Predicate<? super T> right = other.predicate;
+        return new Specification<>(entity -> left.test(entity) || right.test(entity),
+                "(" + description + " OR " + other.description + ")", Collections.emptyList());
+    }
+
+    /**
+     * Negates this specification. The result cannot be answered from an index.
+     *
+     * @return a new specification
+     */
+    public Specification<T> not() {
+        Predicate<? super T> inner = predicate;
+        return new Specification<>(entity -> !inner.test(entity), "NOT " + description, Collections.emptyList());
+    }
+
+    /**
+     * Tests an entity against this specification.
+     *
+     * @param entity the entity to test
+     * @return true if the entity matches, false otherwise
+     */
+    public boolean test(T entity) {
+        return predicate.test(entity);
+    }
+
+    /**
+     * Returns the equality constraints implied by this specification.
+     *
+     * @return the equality constraints usable for index lookups
+     */
+    List<Equality<T, ?>> getEqualities() {
+        return equalities;
+    }
+
+    /**
+     * Returns a readable description of this specification.
+     *
+     * @return the description
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+    /**
+     * Equality constraint between an attribute and a value.
+     */
+    static final class Equality<T, V> {
+        final Attribute<T, V> attribute;
+        final V value;
+
+        Equality(Attribute<T, V> attribute, V value) {
+            this.attribute = attribute;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package hyminh.uth.domain.query;
+
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.valueobject.PlanType;
+import hyminh.uth.domain.valueobject.SubscriptionStatus;
+import java.time.LocalDate;
+
+/**
+ * Queryable attributes of {@link Subscription}.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class SubscriptionAttributes {
+
+    /**
+     * The subscription status. Not indexed: it changes in place.
+     */
+    public static final Attribute<Subscription, SubscriptionStatus> STATUS =
+            Attribute.of("status", Subscription::getStatus);
+
+    /**
+     * The plan type (indexed).
+     */
+    public static final Attribute<Subscription, PlanType> PLAN_TYPE =
+            Attribute.of("planType", subscription -> subscription.getPlan().getPlanType());
+
+    /**
+     * The start date.
+     */
+    public static final Attribute<Subscription, LocalDate> START_DATE =
+            Attribute.of("startDate", Subscription::getStartDate);
+
+    /**
+     * The end date.
+     */
+    public static final Attribute<Subscription, LocalDate> END_DATE =
+            Attribute.of("endDate", Subscription::getEndDate);
+
+    /**
+     * The amount paid.
+     */
+    public static final Attribute<Subscription, Double> AMOUNT = Attribute.of("amount", Subscription::getAmount);
+
+    private SubscriptionAttributes() {
+    }
+}
@@ -0,0 +1,37 @@
+package hyminh.uth.domain.query;
+
+import hyminh.uth.domain.entity.User;
+import hyminh.uth.domain.valueobject.UserRole;
+import java.time.LocalDateTime;
+
+/**
+ * Queryable attributes of {@link User}.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class UserAttributes {
+
+    /**
+     * The user role (indexed).
+     */
+    public static final Attribute<User, UserRole> ROLE = Attribute.of("role", User::getRole);
+
+    /**
+     * Whether the account is active. Not indexed: it changes in place.
+     */
+    public static final Attribute<User, Boolean> ACTIVE = Attribute.of("active", User::isActive);
+
+    /**
+     * The creation timestamp.
+     */
+    public static final Attribute<User, LocalDateTime> CREATED_AT = Attribute.of("createdAt", User::getCreatedAt);
+
+    /**
+     * The username.
+     */
+    public static final Attribute<User, String> USERNAME = Attribute.of("username", User::getUsername);
+
+    private UserAttributes() {
+    }
+}
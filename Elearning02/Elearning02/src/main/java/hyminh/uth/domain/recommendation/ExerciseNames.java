@@ -0,0 +1,41 @@
+package hyminh.uth.domain.recommendation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the free-text muscle and equipment lists of an exercise into normalised names, the
+ * same way for the recommender and the similarity index.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class ExerciseNames {
+
+    private static final Pattern NAME_SEPARATOR = Pattern.compile("\\s*(?:,|/|;|\\band\\b|&)\\s*");
+    private static final List<String> NO_EQUIPMENT = Arrays.asList("none", "bodyweight", "body weight", "no equipment");
+
+    private ExerciseNames() {
+    }
+
+    /**
+     * Splits a list such as "Chest, Triceps and Shoulders" into distinct lower-case names.
+     */
+    static String[] split(String names) {
+        return Arrays.stream(NAME_SEPARATOR.split(names.trim().toLowerCase(Locale.ROOT)))
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Splits an equipment list, leaving out the names that mean no equipment is needed.
+     */
+    static String[] equipment(String equipment) {
+        return Arrays.stream(split(equipment))
+                .filter(name -> !NO_EQUIPMENT.contains(name))
+                .toArray(String[]::new);
+    }
+}
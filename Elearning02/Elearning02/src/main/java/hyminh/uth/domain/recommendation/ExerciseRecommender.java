@@ -0,0 +1,265 @@
+package hyminh.uth.domain.recommendation;
+
+import hyminh.uth.domain.entity.Exercise;
+import hyminh.uth.domain.repository.ExerciseRepository;
+import hyminh.uth.domain.valueobject.DifficultyLevel;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Ranks exercises for members and keeps the results of the nightly recommendation batch.
+ *
+ * Candidates are precomputed per segment (member level) whenever the catalog is rebuilt:
+ * each segment holds the active exercises suitable for that level, with their parsed muscle
+ * and equipment names and a base score for how well the exercise difficulty fits the level,
+ * sorted by base score. Ranking a member then walks the segment, skips exercises needing
+ * equipment the member lacks, adds bonuses for target muscles and preferred types, subtracts
+ * a penalty for recently done exercises and keeps the best {@code k} in a bounded min-heap.
+ * Because the bonuses are bounded, the walk stops as soon as no remaining candidate can
+ * enter the heap.
+ *
+ * Score components:
+ * - difficulty fit: 1.0 for the member's own level, 0.2 less per level below it
+ * - target muscles: up to {@value #MUSCLE_WEIGHT}, by the share of the exercise's muscles the member targets
+ * - preferred type: {@value #TYPE_WEIGHT}
+ * - recently done: minus {@value #RECENT_PENALTY}
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class ExerciseRecommender {
+
+    /**
+     * Weight of the target muscle bonus.
+     */
+    public static final double MUSCLE_WEIGHT = 1.0;
+
+    /**
+     * Bonus for exercises of a preferred type.
+     */
+    public static final double TYPE_WEIGHT = 0.5;
+
+    /**
+     * Penalty for exercises the member did recently.
+     */
+    public static final double RECENT_PENALTY = 0.8;
+
+    private static final double MAX_BONUS = MUSCLE_WEIGHT + TYPE_WEIGHT;
+    private static final double LEVEL_STEP_PENALTY = 0.2;
+    private static final Comparator<Recommendation> RANKING = Comparator
+            .comparingDouble(Recommendation::getScore)
+            .thenComparing(Recommendation::getExerciseId, Comparator.reverseOrder());
+
+    private final ForkJoinPool pool;
+    private volatile Candidate[][] segments = new Candidate[DifficultyLevel.values().length][0];
+    private volatile Map<MemberId, List<Recommendation>> latest = Collections.emptyMap();
+
+    /**
+     * Constructs a new ExerciseRecommender whose nightly batch runs on the common pool.
+     */
+    public ExerciseRecommender() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new ExerciseRecommender whose nightly batch runs on the given pool.
+     *
+     * @param pool the pool for the nightly batch
+     * @throws IllegalArgumentException if pool is null
+     */
+    public ExerciseRecommender(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Rebuilds the per-segment candidate lists from the active exercises of a repository.
+     *
+     * @param exerciseRepository the exercise repository
+     * @throws IllegalArgumentException if exerciseRepository is null
+     */
+    public void rebuild(ExerciseRepository exerciseRepository) {
+        if (exerciseRepository == null) {
+            throw new IllegalArgumentException("Exercise repository cannot be null");
+        }
+        rebuild(exerciseRepository.findActiveExercises());
+    }
+
+    /**
+     * Rebuilds the per-segment candidate lists from a collection of exercises.
+     * Inactive exercises are ignored.
+     *
+     * @param exercises the exercise catalog
+     * @throws IllegalArgumentException if exercises is null
+     */
+    public void rebuild(Collection<Exercise> exercises) {
+        if (exercises == null) {
+            throw new IllegalArgumentException("Exercises cannot be null");
+        }
+        DifficultyLevel[] levels = DifficultyLevel.values();
+        Candidate[][] rebuilt = new Candidate[levels.length][];
+        for (DifficultyLevel level : levels) {
+            List<Candidate> candidates = new ArrayList<>();
+            for (Exercise exercise : exercises) {
+                if (exercise.isActive() && exercise.isSuitableFor(level)) {
+                    double base = 1.0 - LEVEL_STEP_PENALTY * (level.getLevel() - exercise.getDifficulty().getLevel());
+                    candidates.add(new Candidate(exercise, base));
+                }
+            }
+            candidates.sort(Comparator.comparingDouble((Candidate c) -> c.baseScore).reversed()
+                    .thenComparing(c -> c.exercise.getExerciseId()));
+            rebuilt[level.ordinal()] = candidates.toArray(new Candidate[0]);
+        }
+        segments = rebuilt;
+    }
+
+    /**
+     * Ranks the best exercises for one member.
+     *
+     * @param profile the member profile
+     * @param k the maximum number of recommendations
+     * @return up to {@code k} recommendations, best first
+     * @throws IllegalArgumentException if profile is null or k is negative
+     */
+    public List<Recommendation> recommend(MemberProfile profile, int k) {
+        if (profile == null) {
+            throw new IllegalArgumentException("Profile cannot be null");
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException("K cannot be negative");
+        }
+        if (k == 0) {
+            return Collections.emptyList();
+        }
+
+        // Min-heap of the k best so far: the weakest recommendation sits at the head
+        PriorityQueue<Recommendation> heap = new PriorityQueue<>(k + 1, RANKING);
+        for (Candidate candidate : segments[profile.getLevel().ordinal()]) {
+            if (heap.size() == k && candidate.baseScore + MAX_BONUS < heap.peek().getScore()) {
+                break;   // Candidates are sorted by base score, so none of the rest can qualify
+            }
+            if (!candidate.isUsableWith(profile)) {
+                continue;
+            }
+            Recommendation recommendation = new Recommendation(candidate.exercise, candidate.score(profile));
+            if (heap.size() < k) {
+                heap.offer(recommendation);
+            } else if (RANKING.compare(recommendation, heap.peek()) > 0) {
+                heap.poll();
+                heap.offer(recommendation);
+            }
+        }
+
+        List<Recommendation> result = new ArrayList<>(heap);
+        result.sort(RANKING.reversed());
+        return result;
+    }
+
+    /**
+     * Ranks exercises for every member in parallel and publishes the results, replacing the
+     * previous batch.
+     *
+     * @param profiles the profiles of all members to rank for
+     * @param k the maximum number of recommendations per member
+     * @return the recommendations per member
+     * @throws IllegalArgumentException if profiles is null or k is negative
+     */
+    public Map<MemberId, List<Recommendation>> runNightlyBatch(Collection<MemberProfile> profiles, int k) {
+        if (profiles == null) {
+            throw new IllegalArgumentException("Profiles cannot be null");
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException("K cannot be negative");
+        }
+        // A parallel stream started from inside a pool task runs on that pool
+        Map<MemberId, List<Recommendation>> results = pool.submit(() -> profiles.parallelStream()
+                .collect(Collectors.toConcurrentMap(MemberProfile::getMemberId,
+                        profile -> Collections.unmodifiableList(recommend(profile, k)),
+                        (first, second) -> second)))
+                .join();
+        latest = Collections.unmodifiableMap(results);
+        return latest;
+    }
+
+    /**
+     * Returns a member's recommendations from the last nightly batch.
+     *
+     * @param memberId the member ID
+     * @return the recommendations, or an empty list if the member was not in the batch
+     */
+    public List<Recommendation> getRecommendations(MemberId memberId) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+        return latest.getOrDefault(memberId, Collections.emptyList());
+    }
+
+    /**
+     * Returns the number of candidates precomputed for a level.
+     *
+     * @param level the member level
+     * @return the number of candidate exercises
+     */
+    public int getCandidateCount(DifficultyLevel level) {
+        if (level == null) {
+            throw new IllegalArgumentException("Level cannot be null");
+        }
+        return segments[level.ordinal()].length;
+    }
+
+    /**
+     * An exercise with its precomputed base score and parsed names.
+     */
+    private static final class Candidate {
+        final Exercise exercise;
+        final double baseScore;
+        final String[] muscles;
+        final String[] equipment;
+
+        Candidate(Exercise exercise, double baseScore) {
+            this.exercise = exercise;
+            this.baseScore = baseScore;
+            this.muscles = ExerciseNames.split(exercise.getTargetMuscles());
+            this.equipment = ExerciseNames.equipment(exercise.getEquipment());
+        }
+
+        boolean isUsableWith(MemberProfile profile) {
+            for (String item : equipment) {
+                if (!profile.getAvailableEquipment().contains(item)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double score(MemberProfile profile) {
+            double score = baseScore;
+            if (muscles.length > 0 && !profile.getTargetMuscles().isEmpty()) {
+                int matched = 0;
+                for (String muscle : muscles) {
+                    if (profile.getTargetMuscles().contains(muscle)) {
+                        matched++;
+                    }
+                }
+                score += MUSCLE_WEIGHT * matched / muscles.length;
+            }
+            if (profile.getPreferredTypes().contains(exercise.getType())) {
+                score += TYPE_WEIGHT;
+            }
+            if (profile.getRecentExerciseIds().contains(exercise.getExerciseId())) {
+                score -= RECENT_PENALTY;
+            }
+            return score;
+        }
+    }
+}
@@ -0,0 +1,482 @@
+package hyminh.uth.domain.recommendation;
+
+import hyminh.uth.domain.entity.Exercise;
+import hyminh.uth.domain.repository.ExerciseRepository;
+import hyminh.uth.domain.valueobject.DifficultyLevel;
+import hyminh.uth.domain.valueobject.ExerciseType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Finds the exercises most similar to a given one, for example to substitute an exercise when
+ * its equipment is broken or the member is injured.
+ *
+ * Every exercise is described by a feature vector of {@link #DIMENSIONS} numbers:
+ * - type: one position per exercise type, {@value #TYPE_WEIGHT} for the exercise's type
+ * - difficulty: the level scaled to 0..1
+ * - target muscles and equipment: each name hashed to one of a few positions, the group
+ *   scaled to length {@value #MUSCLE_WEIGHT} and {@value #EQUIPMENT_WEIGHT}
+ * - estimated duration, volume (sets times reps) and default weight: log-scaled to about 0..1
+ * and two exercises are the more similar the smaller the Euclidean distance between them.
+ *
+ * {@link #rebuild(Collection)} groups the vectors into about the square root of the number
+ * of exercises clusters with k-means and stores each cluster's vectors next to each other.
+ * A search compares the query only with the cluster centres and then with the exercises of
+ * the {@code probes} nearest clusters, so it reads a small share of the catalog instead of
+ * all of it. Because a near neighbour can sit just across a cluster border the result is
+ * approximate; more probes trade speed for recall, and {@link #findSimilarExact} scans the
+ * whole catalog for comparison.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class ExerciseSimilarityIndex {
+
+    /**
+     * Default number of clusters searched per query.
+     */
+    public static final int DEFAULT_PROBES = 8;
+
+    /**
+     * Value of the position of the exercise's type.
+     */
+    public static final double TYPE_WEIGHT = 1.0;
+
+    /**
+     * Length of the target muscle part of the vector.
+     */
+    public static final double MUSCLE_WEIGHT = 1.5;
+
+    /**
+     * Length of the equipment part of the vector.
+     */
+    public static final double EQUIPMENT_WEIGHT = 1.0;
+
+    private static final int TYPE_OFFSET = 0;
+    private static final int DIFFICULTY_OFFSET = TYPE_OFFSET + ExerciseType.values().length;
+    private static final int MUSCLE_OFFSET = DIFFICULTY_OFFSET + 1;
+    private static final int MUSCLE_BUCKETS = 32;
+    private static final int EQUIPMENT_OFFSET = MUSCLE_OFFSET + MUSCLE_BUCKETS;
+    private static final int EQUIPMENT_BUCKETS = 16;
+    private static final int DURATION_OFFSET = EQUIPMENT_OFFSET + EQUIPMENT_BUCKETS;
+    private static final int VOLUME_OFFSET = DURATION_OFFSET + 1;
+    private static final int LOAD_OFFSET = VOLUME_OFFSET + 1;
+
+    /**
+     * Number of positions in a feature vector, one past the last feature.
+     */
+    public static final int DIMENSIONS = LOAD_OFFSET + 1;
+    private static final int MAX_LEVEL = Arrays.stream(DifficultyLevel.values())
+            .mapToInt(DifficultyLevel::getLevel).max().orElse(1);
+
+    private static final int KMEANS_ITERATIONS = 8;
+    private static final int TRAINING_POINTS_PER_CLUSTER = 64;
+    private static final long SEED = 42L;
+    private static final Comparator<Recommendation> RANKING = Comparator
+            .comparingDouble(Recommendation::getScore)
+            .thenComparing(Recommendation::getExerciseId, Comparator.reverseOrder());
+
+    private final int probes;
+    private volatile Snapshot snapshot = new Snapshot(new Exercise[0], new float[0], new float[0], new int[] {0}, 0);
+
+    /**
+     * Constructs a new ExerciseSimilarityIndex that searches {@value #DEFAULT_PROBES} clusters per query.
+     */
+    public ExerciseSimilarityIndex() {
+        this(DEFAULT_PROBES);
+    }
+
+    /**
+     * Constructs a new ExerciseSimilarityIndex.
+     *
+     * @param probes the number of nearest clusters searched per query
+     * @throws IllegalArgumentException if probes is not positive
+     */
+    public ExerciseSimilarityIndex(int probes) {
+        if (probes <= 0) {
+            throw new IllegalArgumentException("Probes must be positive");
+        }
+        this.probes = probes;
+    }
+
+    /**
+     * Rebuilds the index from the active exercises of a repository.
+     *
+     * @param exerciseRepository the exercise repository
+     * @throws IllegalArgumentException if exerciseRepository is null
+     */
+    public void rebuild(ExerciseRepository exerciseRepository) {
+        if (exerciseRepository == null) {
+            throw new IllegalArgumentException("Exercise repository cannot be null");
+        }
+        rebuild(exerciseRepository.findActiveExercises());
+    }
+
+    /**
+     * Rebuilds the index from a collection of exercises. Inactive exercises are ignored.
+     * Searches running meanwhile use the previous index.
+     *
+     * @param exercises the exercise catalog
+     * @throws IllegalArgumentException if exercises is null
+     */
+    public void rebuild(Collection<Exercise> exercises) {
+        if (exercises == null) {
+            throw new IllegalArgumentException("Exercises cannot be null");
+        }
+        List<Exercise> active = new ArrayList<>();
+        for (Exercise exercise : exercises) {
+            if (exercise.isActive()) {
+                active.add(exercise);
+            }
+        }
+        int n = active.size();
+        float[] vectors = new float[n * DIMENSIONS];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(features(active.get(i)), 0, vectors, i * DIMENSIONS, DIMENSIONS);
+        }
+        int clusters = Math.max(1, (int) Math.round(Math.sqrt(n)));
+        float[] centroids = train(vectors, n, clusters);
+
+        // Gom vector của từng cụm lại liền nhau để một lần dò đọc bộ nhớ tuần tự
+        int[] assignment = new int[n];
+        int[] offsets = new int[clusters + 1];
+        for (int i = 0; i < n; i++) {
+            assignment[i] = nearest(centroids, clusters, vectors, i * DIMENSIONS);
+            offsets[assignment[i] + 1]++;
+        }
+        for (int c = 0; c < clusters; c++) {
+            offsets[c + 1] += offsets[c];
+        }
+        int[] next = Arrays.copyOf(offsets, clusters);
+        Exercise[] ordered = new Exercise[n];
+        float[] data = new float[n * DIMENSIONS];
+        for (int i = 0; i < n; i++) {
+            int slot = next[assignment[i]]++;
+            ordered[slot] = active.get(i);
+            System.arraycopy(vectors, i * DIMENSIONS, data, slot * DIMENSIONS, DIMENSIONS);
+        }
+        snapshot = new Snapshot(ordered, data, centroids, offsets, clusters);
+    }
+
+    /**
+     * Finds the exercises most similar to an exercise.
+     *
+     * @see #findSimilar(Exercise, int, Predicate)
+     */
+    public List<Recommendation> findSimilar(Exercise exercise, int k) {
+        return findSimilar(exercise, k, candidate -> true);
+    }
+
+    /**
+     * Finds the exercises most similar to an exercise among those accepted by a filter, for
+     * example those not needing a broken machine. The exercise itself is never returned. If
+     * the nearest clusters hold fewer than {@code k} accepted exercises, further clusters are
+     * searched in order of distance.
+     *
+     * @param exercise the exercise to replace, indexed or not
+     * @param k the maximum number of alternatives
+     * @param filter accepts the exercises that may be suggested
+     * @return up to {@code k} alternatives, most similar first, scored 1 / (1 + distance)
+     * @throws IllegalArgumentException if exercise or filter is null, or k is negative
+     */
+    public List<Recommendation> findSimilar(Exercise exercise, int k, Predicate<Exercise> filter) {
+        validate(exercise, k, filter);
+        Snapshot current = snapshot;
+        float[] query = features(exercise);
+        // Khoảng cách không âm nên thứ tự bit float trùng thứ tự giá trị: sắp xếp long thay vì đối tượng
+        long[] order = new long[current.clusters];
+        for (int c = 0; c < current.clusters; c++) {
+            float centreDistance = (float) distance(query, 0, current.centroids, c * DIMENSIONS);
+            order[c] = ((long) Float.floatToIntBits(centreDistance) << 32) | c;
+        }
+        Arrays.sort(order);
+
+        TopK top = new TopK(k);
+        for (int p = 0; p < order.length && (p < probes || top.size() < k); p++) {
+            int cluster = (int) order[p];
+            scan(current, query, exercise, filter, current.offsets[cluster], current.offsets[cluster + 1], top);
+        }
+        return top.toList(current);
+    }
+
+    /**
+     * Finds the exercises most similar to an exercise by comparing it with every indexed
+     * exercise. The result is exact but the cost grows with the catalog.
+     *
+     * @param exercise the exercise to replace, indexed or not
+     * @param k the maximum number of alternatives
+     * @param filter accepts the exercises that may be suggested
+     * @return up to {@code k} alternatives, most similar first
+     * @throws IllegalArgumentException if exercise or filter is null, or k is negative
+     */
+    public List<Recommendation> findSimilarExact(Exercise exercise, int k, Predicate<Exercise> filter) {
+        validate(exercise, k, filter);
+        Snapshot current = snapshot;
+        TopK top = new TopK(k);
+        scan(current, features(exercise), exercise, filter, 0, current.exercises.length, top);
+        return top.toList(current);
+    }
+
+    /**
+     * Returns the number of indexed exercises.
+     *
+     * @return the number of exercises
+     */
+    public int size() {
+        return snapshot.exercises.length;
+    }
+
+    /**
+     * Returns the number of clusters of the current index.
+     *
+     * @return the number of clusters
+     */
+    public int getClusterCount() {
+        return snapshot.clusters;
+    }
+
+    public int getProbes() {
+        return probes;
+    }
+
+    // ========== FEATURES ==========
+
+    /**
+     * Computes the feature vector of an exercise.
+     */
+    static float[] features(Exercise exercise) {
+        float[] vector = new float[DIMENSIONS];
+        ExerciseType type = exercise.getType();
+        vector[TYPE_OFFSET + type.ordinal()] = (float) TYPE_WEIGHT;
+        vector[DIFFICULTY_OFFSET] = (float) exercise.getDifficulty().getLevel() / MAX_LEVEL;
+        hashNames(vector, MUSCLE_OFFSET, MUSCLE_BUCKETS, ExerciseNames.split(exercise.getTargetMuscles()),
+                MUSCLE_WEIGHT);
+        hashNames(vector, EQUIPMENT_OFFSET, EQUIPMENT_BUCKETS, ExerciseNames.equipment(exercise.getEquipment()),
+                EQUIPMENT_WEIGHT);
+        vector[DURATION_OFFSET] = logScale(exercise.getEstimatedDuration().toMinutes(), 120);
+        vector[VOLUME_OFFSET] = logScale((double) exercise.getDefaultSets() * exercise.getDefaultReps(), 500);
+        vector[LOAD_OFFSET] = logScale(exercise.getDefaultWeight(), 300);
+        return vector;
+    }
+
+    private static void hashNames(float[] vector, int offset, int buckets, String[] names, double length) {
+        if (names.length == 0) {
+            return;
+        }
+        for (String name : names) {
+            vector[offset + Math.floorMod(name.hashCode(), buckets)] += 1f;
+        }
+        double norm = 0;
+        for (int i = offset; i < offset + buckets; i++) {
+            norm += vector[i] * vector[i];
+        }
+        float scale = (float) (length / Math.sqrt(norm));
+        for (int i = offset; i < offset + buckets; i++) {
+            vector[i] *= scale;
+        }
+    }
+
+    private static float logScale(double value, double max) {
+        return (float) (Math.log1p(Math.max(0, value)) / Math.log1p(max));
+    }
+
+    // ========== CLUSTERING ==========
+
+    /**
+     * Runs k-means on a sample of the vectors, starting from randomly chosen vectors.
+     */
+    private static float[] train(float[] vectors, int n, int clusters) {
+        float[] centroids = new float[clusters * DIMENSIONS];
+        if (n == 0) {
+            return centroids;
+        }
+        Random random = new Random(SEED);
+        int sampleSize = Math.min(n, clusters * TRAINING_POINTS_PER_CLUSTER);
+        int[] sample = new int[sampleSize];
+        int[] all = new int[n];
+        for (int i = 0; i < n; i++) {
+            all[i] = i;
+        }
+        for (int i = 0; i < sampleSize; i++) {
+            int j = i + random.nextInt(n - i);
+            int swap = all[i];
+            all[i] = all[j];
+            all[j] = swap;
+            sample[i] = all[i];
+        }
+        for (int c = 0; c < clusters; c++) {
+            System.arraycopy(vectors, sample[c % sampleSize] * DIMENSIONS, centroids, c * DIMENSIONS, DIMENSIONS);
+        }
+
+        double[] sums = new double[clusters * DIMENSIONS];
+        int[] counts = new int[clusters];
+        for (int iteration = 0; iteration < KMEANS_ITERATIONS; iteration++) {
+            Arrays.fill(sums, 0);
+            Arrays.fill(counts, 0);
+            for (int point : sample) {
+                int c = nearest(centroids, clusters, vectors, point * DIMENSIONS);
+                counts[c]++;
+                for (int d = 0; d < DIMENSIONS; d++) {
+                    sums[c * DIMENSIONS + d] += vectors[point * DIMENSIONS + d];
+                }
+            }
+            for (int c = 0; c < clusters; c++) {
+                if (counts[c] == 0) {
+                    // Cụm rỗng: đặt lại vào một điểm ngẫu nhiên của mẫu
+                    System.arraycopy(vectors, sample[random.nextInt(sampleSize)] * DIMENSIONS,
+                            centroids, c * DIMENSIONS, DIMENSIONS);
+                    continue;
+                }
+                for (int d = 0; d < DIMENSIONS; d++) {
+                    centroids[c * DIMENSIONS + d] = (float) (sums[c * DIMENSIONS + d] / counts[c]);
+                }
+            }
+        }
+        return centroids;
+    }
+
+    private static int nearest(float[] centroids, int clusters, float[] vectors, int offset) {
+        int best = 0;
+        double bestDistance = Double.MAX_VALUE;
+        for (int c = 0; c < clusters; c++) {
+            double d = distance(vectors, offset, centroids, c * DIMENSIONS);
+            if (d < bestDistance) {
+                bestDistance = d;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static void scan(Snapshot current, float[] query, Exercise exercise, Predicate<Exercise> filter,
+                             int from, int to, TopK top) {
+        for (int i = from; i < to; i++) {
+            double d = distance(query, 0, current.data, i * DIMENSIONS);
+            if (top.accepts(d)) {
+                Exercise candidate = current.exercises[i];
+                if (!candidate.getExerciseId().equals(exercise.getExerciseId()) && filter.test(candidate)) {
+                    top.offer(i, d);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the squared Euclidean distance, which ranks the same as the distance.
+     */
+    private static double distance(float[] a, int aOffset, float[] b, int bOffset) {
+        float sum = 0f;
+        for (int d = 0; d < DIMENSIONS; d++) {
+            float diff = a[aOffset + d] - b[bOffset + d];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    private static void validate(Exercise exercise, int k, Predicate<Exercise> filter) {
+        if (exercise == null) {
+            throw new IllegalArgumentException("Exercise cannot be null");
+        }
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter cannot be null");
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException("K cannot be negative");
+        }
+    }
+
+    /**
+     * An immutable index version: exercises and vectors ordered by cluster, the cluster
+     * centres and where each cluster starts.
+     */
+    private static final class Snapshot {
+        final Exercise[] exercises;
+        final float[] data;
+        final float[] centroids;
+        final int[] offsets;
+        final int clusters;
+
+        Snapshot(Exercise[] exercises, float[] data, float[] centroids, int[] offsets, int clusters) {
+            this.exercises = exercises;
+            this.data = data;
+            this.centroids = centroids;
+            this.offsets = offsets;
+            this.clusters = clusters;
+        }
+    }
+
+    /**
+     * Bounded max-heap of the k nearest positions found so far: the farthest sits at the root.
+     */
+    private static final class TopK {
+        private final int k;
+        private final int[] positions;
+        private final double[] distances;
+        private int size;
+
+        TopK(int k) {
+            this.k = k;
+            this.positions = new int[k];
+            this.distances = new double[k];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean accepts(double distance) {
+            return size < k || (k > 0 && distance < distances[0]);
+        }
+
+        void offer(int position, double distance) {
+            int index;
+            if (size < k) {
+                index = size++;
+                while (index > 0) {
+                    int parent = (index - 1) >>> 1;
+                    if (distances[parent] >= distance) {
+                        break;
+                    }
+                    positions[index] = positions[parent];
+                    distances[index] = distances[parent];
+                    index = parent;
+                }
+            } else {
+                index = 0;
+                while (true) {
+                    int child = 2 * index + 1;
+                    if (child >= size) {
+                        break;
+                    }
+                    if (child + 1 < size && distances[child + 1] > distances[child]) {
+                        child++;
+                    }
+                    if (distances[child] <= distance) {
+                        break;
+                    }
+                    positions[index] = positions[child];
+                    distances[index] = distances[child];
+                    index = child;
+                }
+            }
+            positions[index] = position;
+            distances[index] = distance;
+        }
+
+        List<Recommendation> toList(Snapshot current) {
+            List<Recommendation> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(new Recommendation(current.exercises[positions[i]], 1.0 / (1.0 + Math.sqrt(distances[i]))));
+            }
+            result.sort(RANKING.reversed());
+            return result;
+        }
+    }
+}
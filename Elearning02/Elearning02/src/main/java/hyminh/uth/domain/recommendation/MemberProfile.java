@@ -0,0 +1,149 @@
+package hyminh.uth.domain.recommendation;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.valueobject.DifficultyLevel;
+import hyminh.uth.domain.valueobject.ExerciseType;
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.ProgressMetrics;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of what the recommender needs to know about a member: their level,
+ * the equipment they can use, the muscles they want to train, preferred exercise types and
+ * the exercises they did recently. Equipment and muscle names are compared case-insensitively.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class MemberProfile {
+
+    private final MemberId memberId;
+    private final DifficultyLevel level;
+    private final Set<String> availableEquipment;
+    private final Set<String> targetMuscles;
+    private final Set<ExerciseType> preferredTypes;
+    private final Set<String> recentExerciseIds;
+
+    /**
+     * Constructs a new MemberProfile.
+     *
+     * @param memberId the member ID
+     * @param level the member's training level
+     * @param availableEquipment the equipment the member can use
+     * @param targetMuscles the muscle groups the member wants to train
+     * @param preferredTypes the exercise types the member prefers
+     * @param recentExerciseIds the IDs of exercises the member did recently
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public MemberProfile(MemberId memberId, DifficultyLevel level, Set<String> availableEquipment,
+                         Set<String> targetMuscles, Set<ExerciseType> preferredTypes,
+                         Set<String> recentExerciseIds) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+        if (level == null) {
+            throw new IllegalArgumentException("Level cannot be null");
+        }
+        if (availableEquipment == null || targetMuscles == null || preferredTypes == null
+                || recentExerciseIds == null) {
+            throw new IllegalArgumentException("Profile sets cannot be null");
+        }
+        this.memberId = memberId;
+        this.level = level;
+        this.availableEquipment = normalize(availableEquipment);
+        this.targetMuscles = normalize(targetMuscles);
+        this.preferredTypes = preferredTypes.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(preferredTypes));
+        this.recentExerciseIds = Collections.unmodifiableSet(new HashSet<>(recentExerciseIds));
+    }
+
+    /**
+     * Creates a profile for a member, deriving the level from their progress metrics.
+     *
+     * @param member the member
+     * @param availableEquipment the equipment the member can use
+     * @param targetMuscles the muscle groups the member wants to train
+     * @param preferredTypes the exercise types the member prefers
+     * @param recentExerciseIds the IDs of exercises the member did recently
+     * @return a new MemberProfile
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public static MemberProfile from(Member member, Set<String> availableEquipment, Set<String> targetMuscles,
+                                     Set<ExerciseType> preferredTypes, Set<String> recentExerciseIds) {
+        if (member == null) {
+            throw new IllegalArgumentException("Member cannot be null");
+        }
+        return new MemberProfile(member.getMemberId(), levelFor(member.getProgressMetrics()),
+                availableEquipment, targetMuscles, preferredTypes, recentExerciseIds);
+    }
+
+    /**
+     * Derives a training level from the number of completed workouts.
+     *
+     * @param metrics the member's progress metrics
+     * @return the training level
+     */
+    public static DifficultyLevel levelFor(ProgressMetrics metrics) {
+        int workouts = metrics != null ? metrics.getWorkoutsCompleted() : 0;
+        if (workouts < 12) {
+            return DifficultyLevel.BEGINNER;
+        }
+        if (workouts < 40) {
+            return DifficultyLevel.NOVICE;
+        }
+        if (workouts < 120) {
+            return DifficultyLevel.INTERMEDIATE;
+        }
+        if (workouts < 300) {
+            return DifficultyLevel.ADVANCED;
+        }
+        return DifficultyLevel.EXPERT;
+    }
+
+    private static Set<String> normalize(Set<String> names) {
+        Set<String> normalized = new HashSet<>();
+        for (String name : names) {
+            if (name != null && !name.trim().isEmpty()) {
+                normalized.add(name.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return Collections.unmodifiableSet(normalized);
+    }
+
+    // Getters
+    public MemberId getMemberId() { return memberId; }
+    public DifficultyLevel getLevel() { return level; }
+    public Set<String> getAvailableEquipment() { return availableEquipment; }
+    public Set<String> getTargetMuscles() { return targetMuscles; }
+    public Set<ExerciseType> getPreferredTypes() { return preferredTypes; }
+    public Set<String> getRecentExerciseIds() { return recentExerciseIds; }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        MemberProfile that = (MemberProfile) obj;
+        return Objects.equals(memberId, that.memberId) && level == that.level
+                && Objects.equals(availableEquipment, that.availableEquipment)
+                && Objects.equals(targetMuscles, that.targetMuscles)
+                && Objects.equals(preferredTypes, that.preferredTypes)
+                && Objects.equals(recentExerciseIds, that.recentExerciseIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(memberId, level, availableEquipment, targetMuscles, preferredTypes, recentExerciseIds);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MemberProfile{memberId=%s, level=%s, equipment=%s, muscles=%s}",
+                           memberId, level, availableEquipment, targetMuscles);
+    }
+}
@@ -0,0 +1,54 @@
+package hyminh.uth.domain.recommendation;
+
+import hyminh.uth.domain.entity.Exercise;
+import java.util.Objects;
+
+/**
+ * An exercise suggested to a member, with the score it was ranked by.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class Recommendation {
+
+    private final Exercise exercise;
+    private final double score;
+
+    /**
+     * Constructs a new Recommendation.
+     *
+     * @param exercise the recommended exercise
+     * @param score the ranking score (higher is better)
+     * @throws IllegalArgumentException if exercise is null
+     */
+    public Recommendation(Exercise exercise, double score) {
+        if (exercise == null) {
+            throw new IllegalArgumentException("Exercise cannot be null");
+        }
+        this.exercise = exercise;
+        this.score = score;
+    }
+
+    // Getters
+    public Exercise getExercise() { return exercise; }
+    public String getExerciseId() { return exercise.getExerciseId(); }
+    public double getScore() { return score; }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Recommendation that = (Recommendation) obj;
+        return Double.compare(that.score, score) == 0 && Objects.equals(exercise, that.exercise);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(exercise, score);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Recommendation{exercise=%s, score=%.3f}", exercise.getExerciseId(), score);
+    }
+}
@@ -0,0 +1,23 @@
+package hyminh.uth.domain.replication;
+
+/**
+ * An encoded {@link ChangeSet} with its position in the change log. Batches are encoded once
+ * by the leader and the same bytes are sent to every follower.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class ChangeBatch {
+
+    final long sequence;
+    final long committedAtMillis;
+    final byte[] payload;
+    final int changeCount;
+
+    ChangeBatch(long sequence, long committedAtMillis, byte[] payload, int changeCount) {
+        this.sequence = sequence;
+        this.committedAtMillis = committedAtMillis;
+        this.payload = payload;
+        this.changeCount = changeCount;
+    }
+}
@@ -0,0 +1,94 @@
+package hyminh.uth.domain.replication;
+
+import hyminh.uth.domain.codec.RecordFormat;
+import hyminh.uth.domain.codec.SnapshotCodec;
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.exception.ReplicationException;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The net effect of a batch of repository changes: the latest state of every saved entity
+ * and the IDs of deleted ones. An entity appears at most once, so applying a change set is
+ * idempotent and its entries can be applied in any order.
+ *
+ * Encoded as a member snapshot and a subscription snapshot ({@link SnapshotCodec}), followed
+ * by the deleted member IDs and the deleted subscription IDs, each as a count and strings.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class ChangeSet {
+
+    final List<Member> savedMembers;
+    final List<MemberId> deletedMembers;
+    final List<Subscription> savedSubscriptions;
+    final List<String> deletedSubscriptions;
+
+    ChangeSet(List<Member> savedMembers, List<MemberId> deletedMembers,
+              List<Subscription> savedSubscriptions, List<String> deletedSubscriptions) {
+        this.savedMembers = savedMembers;
+        this.deletedMembers = deletedMembers;
+        this.savedSubscriptions = savedSubscriptions;
+        this.deletedSubscriptions = deletedSubscriptions;
+    }
+
+    int size() {
+        return savedMembers.size() + deletedMembers.size() + savedSubscriptions.size() + deletedSubscriptions.size();
+    }
+
+    byte[] encode(SnapshotCodec codec) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + 160 * size());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            codec.write(RecordFormat.MEMBER, savedMembers, out);
+            codec.write(RecordFormat.SUBSCRIPTION, savedSubscriptions, out);
+            out.writeInt(deletedMembers.size());
+            for (MemberId memberId : deletedMembers) {
+                out.writeUTF(memberId.getValue());
+            }
+            out.writeInt(deletedSubscriptions.size());
+            for (String subscriptionId : deletedSubscriptions) {
+                out.writeUTF(subscriptionId);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory encoding cannot fail", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static ChangeSet decode(SnapshotCodec codec, byte[] data, int length) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, length));
+        List<Member> savedMembers = codec.read(RecordFormat.MEMBER, in);
+        List<Subscription> savedSubscriptions = codec.read(RecordFormat.SUBSCRIPTION, in);
+        int deletedMemberCount = readCount(in, length);
+        List<MemberId> deletedMembers = new ArrayList<>(deletedMemberCount);
+        for (int i = 0; i < deletedMemberCount; i++) {
+            deletedMembers.add(new MemberId(in.readUTF()));
+        }
+        int deletedSubscriptionCount = readCount(in, length);
+        List<String> deletedSubscriptions = new ArrayList<>(deletedSubscriptionCount);
+        for (int i = 0; i < deletedSubscriptionCount; i++) {
+            deletedSubscriptions.add(in.readUTF());
+        }
+        return new ChangeSet(savedMembers, deletedMembers, savedSubscriptions, deletedSubscriptions);
+    }
+
+    /**
+     * Reads a deleted-ID count; every ID takes at least two bytes, so a count beyond the
+     * payload length can only come from a corrupt batch.
+     */
+    private static int readCount(DataInputStream in, int length) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > length) {
+            throw new ReplicationException("Corrupt change set: count " + count);
+        }
+        return count;
+    }
+}
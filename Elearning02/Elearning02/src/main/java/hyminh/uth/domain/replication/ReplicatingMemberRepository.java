@@ -0,0 +1,167 @@
+package hyminh.uth.domain.replication;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryPlan;
+import hyminh.uth.domain.repository.MemberRepository;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * MemberRepository that reports every successful save and delete to a
+ * {@link ReplicationLeader}. Reads go straight to the wrapped repository.
+ *
+ * A write and its record happen under the member's stripe lock, so two writers of the same
+ * member record their changes in the order the wrapped repository applied them. The leader
+ * receives a detached copy, because it encodes the change later on its flush thread.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class ReplicatingMemberRepository implements MemberRepository {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final MemberRepository delegate;
+    private final ReplicationLeader leader;
+    private final ReentrantLock[] writeLocks = new ReentrantLock[LOCK_STRIPES];
+
+    ReplicatingMemberRepository(MemberRepository delegate, ReplicationLeader leader) {
+        this.delegate = delegate;
+        this.leader = leader;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            writeLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Member save(Member member) {
+        if (member == null) {
+            return delegate.save(null);
+        }
+        ReentrantLock lock = stripe(member.getMemberId());
+        lock.lock();
+        try {
+            Member saved = delegate.save(member);
+            leader.recordMember(saved.getMemberId(), detach(saved));
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean compareAndSave(Member member) {
+        if (member == null) {
+            return delegate.compareAndSave(null);
+        }
+        ReentrantLock lock = stripe(member.getMemberId());
+        lock.lock();
+        try {
+            boolean saved = delegate.compareAndSave(member);
+            if (saved) {
+                leader.recordMember(member.getMemberId(), detach(member));
+            }
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteById(MemberId memberId) {
+        if (memberId == null) {
+            return delegate.deleteById(null);
+        }
+        ReentrantLock lock = stripe(memberId);
+        lock.lock();
+        try {
+            boolean deleted = delegate.deleteById(memberId);
+            if (deleted) {
+                leader.recordMember(memberId, null);
+            }
+            return deleted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Member> findById(MemberId memberId) { return delegate.findById(memberId); }
+
+    @Override
+    public Optional<Member> findByUserId(String userId) { return delegate.findByUserId(userId); }
+
+    @Override
+    public List<Member> findByRegistrationDateAfter(LocalDate date) { return delegate.findByRegistrationDateAfter(date); }
+
+    @Override
+    public List<Member> findByRegistrationDateBefore(LocalDate date) { return delegate.findByRegistrationDateBefore(date); }
+
+    @Override
+    public List<Member> findWithActiveSubscriptions() { return delegate.findWithActiveSubscriptions(); }
+
+    @Override
+    public List<Member> findWithoutActiveSubscriptions() { return delegate.findWithoutActiveSubscriptions(); }
+
+    @Override
+    public List<Member> findByTrainerId(String trainerId) { return delegate.findByTrainerId(trainerId); }
+
+    @Override
+    public List<Member> findActiveMembers() { return delegate.findActiveMembers(); }
+
+    @Override
+    public List<Member> findInactiveMembers() { return delegate.findInactiveMembers(); }
+
+    @Override
+    public List<Member> findAll() { return delegate.findAll(); }
+
+    @Override
+    public boolean existsById(MemberId memberId) { return delegate.existsById(memberId); }
+
+    @Override
+    public boolean existsByUserId(String userId) { return delegate.existsByUserId(userId); }
+
+    @Override
+    public long count() { return delegate.count(); }
+
+    @Override
+    public long countWithActiveSubscriptions() { return delegate.countWithActiveSubscriptions(); }
+
+    @Override
+    public long countWithoutActiveSubscriptions() { return delegate.countWithoutActiveSubscriptions(); }
+
+    @Override
+    public long countByTrainerId(String trainerId) { return delegate.countByTrainerId(trainerId); }
+
+    @Override
+    public long countByRegistrationMonth(int year, int month) { return delegate.countByRegistrationMonth(year, month); }
+
+    @Override
+    public List<Member> query(Query<Member> query) { return delegate.query(query); }
+
+    @Override
+    public QueryPlan explain(Query<Member> query) { return delegate.explain(query); }
+
+    // ========== HELPER METHODS ==========
+
+    private ReentrantLock stripe(MemberId memberId) {
+        int hash = memberId.hashCode();
+        return writeLocks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Copies the member and its current subscription, so later changes to the saved objects
+     * cannot leak into a batch that has not been encoded yet.
+     */
+    private static Member detach(Member member) {
+        Member copy = member.copy();
+        if (copy.getCurrentSubscription() != null) {
+            copy.assignSubscription(copy.getCurrentSubscription().copy());
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,137 @@
+package hyminh.uth.domain.replication;
+
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryPlan;
+import hyminh.uth.domain.repository.SubscriptionRepository;
+import hyminh.uth.domain.valueobject.SubscriptionStatus;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * SubscriptionRepository that reports every successful save and delete to a
+ * {@link ReplicationLeader}. Reads go straight to the wrapped repository.
+ *
+ * A write and its record happen under the subscription's stripe lock, so two writers of the
+ * same subscription record their changes in the order the wrapped repository applied them.
+ * The leader receives a detached copy, because it encodes the change later on its flush thread.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class ReplicatingSubscriptionRepository implements SubscriptionRepository {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final SubscriptionRepository delegate;
+    private final ReplicationLeader leader;
+    private final ReentrantLock[] writeLocks = new ReentrantLock[LOCK_STRIPES];
+
+    ReplicatingSubscriptionRepository(SubscriptionRepository delegate, ReplicationLeader leader) {
+        this.delegate = delegate;
+        this.leader = leader;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            writeLocks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public Subscription save(Subscription subscription) {
+        if (subscription == null) {
+            return delegate.save(null);
+        }
+        ReentrantLock lock = stripe(subscription.getSubscriptionId());
+        lock.lock();
+        try {
+            Subscription saved = delegate.save(subscription);
+            leader.recordSubscription(saved.getSubscriptionId(), saved.copy());
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteById(String subscriptionId) {
+        if (subscriptionId == null) {
+            return delegate.deleteById(null);
+        }
+        ReentrantLock lock = stripe(subscriptionId);
+        lock.lock();
+        try {
+            boolean deleted = delegate.deleteById(subscriptionId);
+            if (deleted) {
+                leader.recordSubscription(subscriptionId, null);
+            }
+            return deleted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Subscription> findById(String subscriptionId) { return delegate.findById(subscriptionId); }
+
+    @Override
+    public List<Subscription> findByStatus(SubscriptionStatus status) { return delegate.findByStatus(status); }
+
+    @Override
+    public List<Subscription> findActiveSubscriptions() { return delegate.findActiveSubscriptions(); }
+
+    @Override
+    public List<Subscription> findExpiredSubscriptions() { return delegate.findExpiredSubscriptions(); }
+
+    @Override
+    public List<Subscription> findExpiringBy(LocalDate date) { return delegate.findExpiringBy(date); }
+
+    @Override
+    public List<Subscription> findByStartDateAfter(LocalDate date) { return delegate.findByStartDateAfter(date); }
+
+    @Override
+    public List<Subscription> findByEndDateBefore(LocalDate date) { return delegate.findByEndDateBefore(date); }
+
+    @Override
+    public List<Subscription> findByCreatedDate(LocalDate date) { return delegate.findByCreatedDate(date); }
+
+    @Override
+    public List<Subscription> findAll() { return delegate.findAll(); }
+
+    @Override
+    public boolean existsById(String subscriptionId) { return delegate.existsById(subscriptionId); }
+
+    @Override
+    public long count() { return delegate.count(); }
+
+    @Override
+    public long countByStatus(SubscriptionStatus status) { return delegate.countByStatus(status); }
+
+    @Override
+    public long countActiveSubscriptions() { return delegate.countActiveSubscriptions(); }
+
+    @Override
+    public long countExpiredSubscriptions() { return delegate.countExpiredSubscriptions(); }
+
+    @Override
+    public long countExpiringBy(LocalDate date) { return delegate.countExpiringBy(date); }
+
+    @Override
+    public double calculateTotalRevenue() { return delegate.calculateTotalRevenue(); }
+
+    @Override
+    public double calculateActiveRevenue() { return delegate.calculateActiveRevenue(); }
+
+    @Override
+    public List<Subscription> query(Query<Subscription> query) { return delegate.query(query); }
+
+    @Override
+    public QueryPlan explain(Query<Subscription> query) { return delegate.explain(query); }
+
+    // ========== HELPER METHODS ==========
+
+    private ReentrantLock stripe(String subscriptionId) {
+        int hash = subscriptionId.hashCode();
+        return writeLocks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+}
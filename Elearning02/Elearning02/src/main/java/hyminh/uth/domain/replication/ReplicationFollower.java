@@ -0,0 +1,265 @@
+package hyminh.uth.domain.replication;
+
+import hyminh.uth.domain.codec.SnapshotCodec;
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.exception.ReplicationException;
+import hyminh.uth.domain.repository.MemberRepository;
+import hyminh.uth.domain.repository.SubscriptionRepository;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Follower side of member and subscription replication: a read replica that applies the
+ * change log of a {@link ReplicationLeader} to its own repositories, typically
+ * {@code InMemoryMemberRepository} and {@code InMemorySubscriptionRepository} in a reporting
+ * JVM. The follower's repositories must not be written by anyone else.
+ *
+ * The follower remembers the last sequence it applied, so after {@link #close()} a new
+ * {@link #connect(String, int)} resumes from there (or from a snapshot if the leader no
+ * longer has the missing batches).
+ *
+ * Lag is reported two ways: {@link #getSequenceLag()} counts the batches the leader has
+ * announced but the follower has not applied, and {@link #getLagMillis()} is the time between
+ * the leader committing the last applied batch and the follower applying it (both clocks are
+ * assumed to be synchronized, as on one host or with NTP).
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class ReplicationFollower implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final MemberRepository members;
+    private final SubscriptionRepository subscriptions;
+    private final SnapshotCodec codec = new SnapshotCodec();
+    private final Object progress = new Object();
+    private byte[] payload = new byte[BUFFER_SIZE];
+
+    private volatile Socket socket;
+    private volatile Thread receiver;
+    private volatile long appliedSequence;
+    private volatile long leaderSequence;
+    private volatile long lagMillis;
+    private volatile long maxLagMillis;
+    private volatile long appliedChanges;
+    private volatile int snapshotCount;
+    private volatile Exception failure;
+
+    /**
+     * Constructs a new ReplicationFollower.
+     *
+     * @param members the replica member repository
+     * @param subscriptions the replica subscription repository
+     * @throws IllegalArgumentException if members or subscriptions is null
+     */
+    public ReplicationFollower(MemberRepository members, SubscriptionRepository subscriptions) {
+        if (members == null || subscriptions == null) {
+            throw new IllegalArgumentException("Repositories cannot be null");
+        }
+        this.members = members;
+        this.subscriptions = subscriptions;
+    }
+
+    /**
+     * Connects to a leader and starts applying its changes on a background thread.
+     *
+     * @param host the leader host
+     * @param port the leader port
+     * @throws IOException if the connection fails
+     * @throws IllegalStateException if the follower is already connected
+     */
+    public synchronized void connect(String host, int port) throws IOException {
+        if (isConnected()) {
+            throw new IllegalStateException("Follower already connected");
+        }
+        Socket connection = new Socket();
+        connection.connect(new InetSocketAddress(host, port));
+        connection.setTcpNoDelay(true);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+        ReplicationProtocol.writeHello(out, appliedSequence);
+        failure = null;
+        socket = connection;
+        receiver = Thread.ofPlatform().name("replication-follower").daemon().start(() -> receive(connection, out));
+    }
+
+    /**
+     * Waits until a sequence has been applied.
+     *
+     * @param sequence the sequence to wait for
+     * @param timeout the maximum time to wait
+     * @return true if the sequence was applied in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitSequence(long sequence, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (progress) {
+            while (appliedSequence < sequence) {
+                long remainingMillis = (deadline - System.nanoTime()) / 1_000_000;
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                progress.wait(remainingMillis);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns whether the follower is connected to a leader.
+     *
+     * @return true while connected
+     */
+    public boolean isConnected() {
+        Socket current = socket;
+        return current != null && !current.isClosed();
+    }
+
+    /**
+     * Returns the number of batches announced by the leader and not yet applied.
+     *
+     * @return the sequence lag
+     */
+    public long getSequenceLag() {
+        return Math.max(0, leaderSequence - appliedSequence);
+    }
+
+    // Getters
+    public long getAppliedSequence() { return appliedSequence; }
+    public long getLeaderSequence() { return leaderSequence; }
+    public long getLagMillis() { return lagMillis; }
+    public long getMaxLagMillis() { return maxLagMillis; }
+    public long getAppliedChanges() { return appliedChanges; }
+    public int getSnapshotCount() { return snapshotCount; }
+    public Exception getFailure() { return failure; }
+
+    /**
+     * Disconnects from the leader and waits until the frame being applied, if any, is done.
+     * The replica keeps its data and applied sequence.
+     */
+    @Override
+    public void close() {
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+        Thread running = receiver;
+        if (running != null && running != Thread.currentThread()) {
+            try {
+                running.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private void receive(Socket connection, DataOutputStream out) {
+        try (connection) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream(), BUFFER_SIZE));
+            while (true) {
+                byte type = in.readByte();
+                long sequence = in.readLong();
+                long committedAt = in.readLong();
+                leaderSequence = Math.max(leaderSequence, sequence);
+                if (type == ReplicationProtocol.HEARTBEAT) {
+                    if (sequence <= appliedSequence) {
+                        lagMillis = 0;
+                    }
+                    continue;
+                }
+                if (type != ReplicationProtocol.SNAPSHOT && type != ReplicationProtocol.BATCH) {
+                    throw new ReplicationException("Unknown replication frame type " + type);
+                }
+                int length = in.readInt();
+                if (length > payload.length) {
+                    payload = new byte[Math.max(length, payload.length * 2)];
+                }
+                in.readFully(payload, 0, length);
+                if (connection.isClosed()) {
+                    return;   // Closed while the frame was buffered: apply nothing after close()
+                }
+                ChangeSet changes = ChangeSet.decode(codec, payload, length);
+                if (type == ReplicationProtocol.SNAPSHOT) {
+                    replaceAll(changes);
+                    snapshotCount++;
+                } else {
+                    apply(changes);
+                }
+                applied(sequence, committedAt, changes.size());
+                if (in.available() == 0) {
+                    out.writeLong(sequence);
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // Leader closed the connection or the follower was closed
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+    }
+
+    private void apply(ChangeSet changes) {
+        // Deletes first, so a user ID released in this batch can be taken by a saved member
+        for (MemberId memberId : changes.deletedMembers) {
+            members.deleteById(memberId);
+        }
+        for (String subscriptionId : changes.deletedSubscriptions) {
+            subscriptions.deleteById(subscriptionId);
+        }
+        for (Subscription subscription : changes.savedSubscriptions) {
+            subscriptions.save(subscription);
+        }
+        for (Member member : changes.savedMembers) {
+            members.save(member);
+        }
+    }
+
+    private void replaceAll(ChangeSet state) {
+        Set<MemberId> memberIds = new HashSet<>();
+        for (Member member : state.savedMembers) {
+            memberIds.add(member.getMemberId());
+        }
+        for (Member member : members.findAll()) {
+            if (!memberIds.contains(member.getMemberId())) {
+                members.deleteById(member.getMemberId());
+            }
+        }
+        Set<String> subscriptionIds = new HashSet<>();
+        for (Subscription subscription : state.savedSubscriptions) {
+            subscriptionIds.add(subscription.getSubscriptionId());
+        }
+        for (Subscription subscription : subscriptions.findAll()) {
+            if (!subscriptionIds.contains(subscription.getSubscriptionId())) {
+                subscriptions.deleteById(subscription.getSubscriptionId());
+            }
+        }
+        apply(state);
+    }
+
+    private void applied(long sequence, long committedAt, int changeCount) {
+        long lag = Math.max(0, System.currentTimeMillis() - committedAt);
+        lagMillis = lag;
+        maxLagMillis = Math.max(maxLagMillis, lag);
+        appliedChanges += changeCount;
+        synchronized (progress) {
+            appliedSequence = sequence;
+            progress.notifyAll();
+        }
+    }
+}
@@ -0,0 +1,555 @@
+package hyminh.uth.domain.replication;
+
+import hyminh.uth.domain.codec.SnapshotCodec;
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.exception.ReplicationException;
+import hyminh.uth.domain.repository.MemberRepository;
+import hyminh.uth.domain.repository.SubscriptionRepository;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Leader side of member and subscription replication.
+ *
+ * The application writes through {@link #getMemberRepository()} and
+ * {@link #getSubscriptionRepository()}, which record every save and delete. Recorded changes
+ * are coalesced per entity and cut into numbered batches every flush interval, or as soon as
+ * {@code maxBatchSize} entities are pending; each batch is encoded once with
+ * {@link SnapshotCodec} and kept in a bounded in-memory change log.
+ *
+ * Followers connect over TCP and send the last sequence they applied. A follower whose next
+ * batch is still in the log receives the log from there; a new follower, or one that fell
+ * further behind than the log reaches, first receives a snapshot of the whole state and then
+ * the batches committed after it. Batches are re-sent as whole entity states, so applying a
+ * batch twice is harmless. Idle connections get heartbeats, and followers acknowledge every
+ * frame, which gives the lag reported by {@link #getReplicationLag()}.
+ *
+ * A batch that fails to encode is not lost: its changes go back to the pending maps, unless a
+ * newer change to the same entity arrived meanwhile, and the flush thread logs the failure and
+ * retries after a growing pause. The accept thread backs off the same way on socket errors.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class ReplicationLeader implements AutoCloseable {
+
+    /**
+     * Default number of pending entities that triggers a flush before the interval ends.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1_000;
+
+    /**
+     * Default interval between two batches.
+     */
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(5);
+
+    /**
+     * Default number of batches kept for reconnecting followers.
+     */
+    public static final int DEFAULT_RETAINED_BATCHES = 4_096;
+
+    private static final long HEARTBEAT_MILLIS = 1_000;
+    private static final int HELLO_TIMEOUT_MILLIS = 10_000;
+    private static final int MAX_FRAMES_PER_FLUSH = 64;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long MAX_BACKOFF_MILLIS = 1_000;
+    private static final System.Logger LOGGER = System.getLogger(ReplicationLeader.class.getName());
+
+    private final MemberRepository members;
+    private final SubscriptionRepository subscriptions;
+    private final MemberRepository replicatedMembers;
+    private final SubscriptionRepository replicatedSubscriptions;
+    private final int maxBatchSize;
+    private final long flushIntervalNanos;
+
+    private final ReentrantLock captureLock = new ReentrantLock();
+    private final Condition batchFull = captureLock.newCondition();
+    private Map<MemberId, Member> pendingMembers = new LinkedHashMap<>();
+    private Map<String, Subscription> pendingSubscriptions = new LinkedHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final SnapshotCodec codec = new SnapshotCodec();
+    private final ChangeBatch[] log;
+    private long sequence;   // Guarded by log
+
+    private final List<FollowerSession> sessions = new CopyOnWriteArrayList<>();
+    private final AtomicLong changeCount = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private ServerSocket serverSocket;
+    private Thread flusher;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new ReplicationLeader with the default batching and log size.
+     *
+     * @param members the member repository to replicate
+     * @param subscriptions the subscription repository to replicate
+     * @throws IllegalArgumentException if members or subscriptions is null
+     */
+    public ReplicationLeader(MemberRepository members, SubscriptionRepository subscriptions) {
+        this(members, subscriptions, DEFAULT_MAX_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL, DEFAULT_RETAINED_BATCHES);
+    }
+
+    /**
+     * Constructs a new ReplicationLeader.
+     *
+     * @param members the member repository to replicate
+     * @param subscriptions the subscription repository to replicate
+     * @param maxBatchSize the number of pending entities that triggers an early flush
+     * @param flushInterval the interval between two batches
+     * @param retainedBatches the number of batches kept for reconnecting followers
+     * @throws IllegalArgumentException if a repository or flushInterval is null, or a number
+     *                                  is not positive
+     */
+    public ReplicationLeader(MemberRepository members, SubscriptionRepository subscriptions,
+                             int maxBatchSize, Duration flushInterval, int retainedBatches) {
+        if (members == null || subscriptions == null) {
+            throw new IllegalArgumentException("Repositories cannot be null");
+        }
+        if (maxBatchSize <= 0 || retainedBatches <= 0) {
+            throw new IllegalArgumentException("Batch size and retained batches must be positive");
+        }
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("Flush interval must be positive");
+        }
+        this.members = members;
+        this.subscriptions = subscriptions;
+        this.replicatedMembers = new ReplicatingMemberRepository(members, this);
+        this.replicatedSubscriptions = new ReplicatingSubscriptionRepository(subscriptions, this);
+        this.maxBatchSize = maxBatchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.log = new ChangeBatch[retainedBatches];
+    }
+
+    /**
+     * Starts accepting followers on the loopback interface.
+     *
+     * @param port the port, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     * @throws IllegalStateException if the leader was already started or is closed
+     */
+    public void start(int port) throws IOException {
+        start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Starts accepting followers. The stream is neither authenticated nor encrypted, so bind
+     * to an address only reachable by the replicas.
+     *
+     * @param address the address to listen on
+     * @throws IOException if the address cannot be bound
+     * @throws IllegalStateException if the leader was already started or is closed
+     */
+    public synchronized void start(InetSocketAddress address) throws IOException {
+        if (closed || serverSocket != null) {
+            throw new IllegalStateException("Leader already started or closed");
+        }
+        serverSocket = new ServerSocket();
+        serverSocket.bind(address);
+        Thread.ofPlatform().name("replication-accept").daemon().start(this::acceptFollowers);
+        flusher = Thread.ofPlatform().name("replication-flush").daemon().start(this::flushPeriodically);
+    }
+
+    /**
+     * Returns the member repository the application must write through to be replicated.
+     *
+     * @return the recording member repository
+     */
+    public MemberRepository getMemberRepository() {
+        return replicatedMembers;
+    }
+
+    /**
+     * Returns the subscription repository the application must write through to be replicated.
+     *
+     * @return the recording subscription repository
+     */
+    public SubscriptionRepository getSubscriptionRepository() {
+        return replicatedSubscriptions;
+    }
+
+    /**
+     * Cuts the pending changes into a batch now instead of waiting for the flush interval.
+     *
+     * @return the sequence of the latest batch
+     * @throws ReplicationException if the changes cannot be encoded; they stay pending
+     */
+    public long flush() {
+        flushLock.lock();
+        try {
+            Map<MemberId, Member> memberChanges;
+            Map<String, Subscription> subscriptionChanges;
+            captureLock.lock();
+            try {
+                if (pendingMembers.isEmpty() && pendingSubscriptions.isEmpty()) {
+                    return getSequence();
+                }
+                memberChanges = pendingMembers;
+                subscriptionChanges = pendingSubscriptions;
+                pendingMembers = new LinkedHashMap<>();
+                pendingSubscriptions = new LinkedHashMap<>();
+            } finally {
+                captureLock.unlock();
+            }
+
+            ChangeSet changes = new ChangeSet(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            memberChanges.forEach((memberId, member) -> {
+                if (member == null) {
+                    changes.deletedMembers.add(memberId);
+                } else {
+                    changes.savedMembers.add(member);
+                }
+            });
+            subscriptionChanges.forEach((subscriptionId, subscription) -> {
+                if (subscription == null) {
+                    changes.deletedSubscriptions.add(subscriptionId);
+                } else {
+                    changes.savedSubscriptions.add(subscription);
+                }
+            });
+            byte[] payload;
+            try {
+                payload = changes.encode(codec);
+            } catch (RuntimeException e) {
+                restore(memberChanges, subscriptionChanges);
+                throw new ReplicationException("Cannot encode a batch of " + changes.size() + " changes", e);
+            }
+            changeCount.addAndGet(changes.size());
+            synchronized (log) {
+                sequence++;
+                log[(int) (sequence % log.length)] =
+                        new ChangeBatch(sequence, System.currentTimeMillis(), payload, changes.size());
+                log.notifyAll();
+                return sequence;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the sequence of the latest batch.
+     *
+     * @return the latest sequence, 0 before the first batch
+     */
+    public long getSequence() {
+        synchronized (log) {
+            return sequence;
+        }
+    }
+
+    /**
+     * Returns how many batches the slowest connected follower has not yet acknowledged.
+     *
+     * @return the lag in batches, 0 without followers
+     */
+    public long getReplicationLag() {
+        long head = getSequence();
+        long lag = 0;
+        for (FollowerSession session : sessions) {
+            lag = Math.max(lag, head - session.acknowledged.get());
+        }
+        return lag;
+    }
+
+    // Getters
+    public int getPort() { return serverSocket == null ? -1 : serverSocket.getLocalPort(); }
+    public int getFollowerCount() { return sessions.size(); }
+    public long getChangeCount() { return changeCount.get(); }
+    public long getBytesSent() { return bytesSent.get(); }
+
+    /**
+     * Flushes the pending changes, lets connected followers receive them for up to a second,
+     * then disconnects them and stops listening.
+     */
+    @Override
+    public void close() {
+        try {
+            flush();
+        } catch (ReplicationException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Closing with unflushed changes", e);
+        }
+        closed = true;
+        synchronized (log) {
+            log.notifyAll();
+        }
+        try {
+            if (serverSocket != null) {
+                serverSocket.close();
+            }
+        } catch (IOException e) {
+            // Closing anyway
+        }
+        if (flusher != null) {
+            flusher.interrupt();
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        for (FollowerSession session : sessions) {
+            session.awaitDrained(deadline);
+            session.disconnect();
+        }
+    }
+
+    // ========== CHANGE CAPTURE ==========
+
+    void recordMember(MemberId memberId, Member member) {
+        captureLock.lock();
+        try {
+            pendingMembers.put(memberId, member);
+            signalIfFull();
+        } finally {
+            captureLock.unlock();
+        }
+    }
+
+    void recordSubscription(String subscriptionId, Subscription subscription) {
+        captureLock.lock();
+        try {
+            pendingSubscriptions.put(subscriptionId, subscription);
+            signalIfFull();
+        } finally {
+            captureLock.unlock();
+        }
+    }
+
+    /**
+     * Puts the changes of a failed batch back, keeping any newer change to the same entity.
+     */
+    private void restore(Map<MemberId, Member> memberChanges, Map<String, Subscription> subscriptionChanges) {
+        captureLock.lock();
+        try {
+            memberChanges.forEach(pendingMembers::putIfAbsent);
+            subscriptionChanges.forEach(pendingSubscriptions::putIfAbsent);
+        } finally {
+            captureLock.unlock();
+        }
+    }
+
+    private void signalIfFull() {
+        if (pendingMembers.size() + pendingSubscriptions.size() >= maxBatchSize) {
+            batchFull.signal();
+        }
+    }
+
+    private void flushPeriodically() {
+        long backoffMillis = 0;
+        while (!closed) {
+            captureLock.lock();
+            try {
+                if (pendingMembers.size() + pendingSubscriptions.size() < maxBatchSize) {
+                    batchFull.awaitNanos(flushIntervalNanos);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                captureLock.unlock();
+            }
+            try {
+                flush();
+                backoffMillis = 0;
+            } catch (RuntimeException e) {
+                LOGGER.log(System.Logger.Level.ERROR, "Replication flush failed, changes kept pending", e);
+                backoffMillis = nextBackoff(backoffMillis);
+                if (!pause(backoffMillis)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // ========== FOLLOWER SESSIONS ==========
+
+    private void acceptFollowers() {
+        long backoffMillis = 0;
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                backoffMillis = 0;
+                try {
+                    socket.setTcpNoDelay(true);
+                } catch (IOException e) {
+                    socket.close();
+                    continue;
+                }
+                FollowerSession session = new FollowerSession(socket);
+                sessions.add(session);
+                Thread.ofVirtual().name("replication-follower").start(session);
+            } catch (IOException e) {
+                if (closed || serverSocket.isClosed()) {
+                    return;
+                }
+                LOGGER.log(System.Logger.Level.WARNING, "Accepting a follower failed", e);
+                backoffMillis = nextBackoff(backoffMillis);
+                if (!pause(backoffMillis)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static long nextBackoff(long backoffMillis) {
+        return backoffMillis == 0 ? 1 : Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+    }
+
+    /**
+     * Sleeps for a backoff pause; false if the thread was interrupted.
+     */
+    private static boolean pause(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Copies the whole state, positioned at the latest batch: later changes are either in the
+     * copy already or in a later batch, and re-applying them is harmless.
+     */
+    private ChangeBatch snapshot() {
+        List<Member> allMembers;
+        List<Subscription> allSubscriptions;
+        long snapshotSequence;
+        flushLock.lock();
+        try {
+            snapshotSequence = flush();
+            allMembers = members.findAll();
+            allSubscriptions = subscriptions.findAll();
+        } finally {
+            flushLock.unlock();
+        }
+        ChangeSet state = new ChangeSet(allMembers, List.of(), allSubscriptions, List.of());
+        return new ChangeBatch(snapshotSequence, System.currentTimeMillis(),
+                state.encode(new SnapshotCodec()), state.size());
+    }
+
+    /**
+     * Returns the batches from {@code next} on, waiting up to {@code timeoutMillis} for one;
+     * an empty list on timeout, or null if {@code next} is no longer in the log.
+     */
+    private List<ChangeBatch> awaitBatches(long next, long timeoutMillis) throws InterruptedException {
+        synchronized (log) {
+            long deadline = System.currentTimeMillis() + timeoutMillis;
+            while (sequence < next && !closed) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return List.of();
+                }
+                log.wait(remaining);
+            }
+            if (next <= sequence - log.length) {
+                return null;
+            }
+            List<ChangeBatch> batches = new ArrayList<>();
+            for (long s = next; s <= sequence && batches.size() < MAX_FRAMES_PER_FLUSH; s++) {
+                batches.add(log[(int) (s % log.length)]);
+            }
+            return batches;
+        }
+    }
+
+    /**
+     * Streams the change log to one follower and reads its acknowledgements.
+     */
+    private final class FollowerSession implements Runnable {
+        private final Socket socket;
+        private final AtomicLong acknowledged = new AtomicLong();
+
+        FollowerSession(Socket socket) {
+            this.socket = socket;
+        }
+
+        @Override
+        public void run() {
+            try (socket) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+                socket.setSoTimeout(HELLO_TIMEOUT_MILLIS);
+                long lastApplied = ReplicationProtocol.readHello(in);
+                socket.setSoTimeout(0);
+                acknowledged.set(lastApplied);
+                Thread.ofVirtual().name("replication-ack").start(() -> readAcknowledgements(in));
+
+                long head = getSequence();
+                long next = lastApplied == 0 || lastApplied > head ? -1 : lastApplied + 1;
+                while (!closed || next <= getSequence()) {
+                    List<ChangeBatch> batches = next < 0 ? null : awaitBatches(next, HEARTBEAT_MILLIS);
+                    if (batches == null) {
+                        ChangeBatch state = snapshot();
+                        send(out, ReplicationProtocol.SNAPSHOT, state);
+                        next = state.sequence + 1;
+                    } else if (batches.isEmpty()) {
+                        ReplicationProtocol.writeHeartbeat(out, next - 1, System.currentTimeMillis());
+                    } else {
+                        for (ChangeBatch batch : batches) {
+                            send(out, ReplicationProtocol.BATCH, batch);
+                        }
+                        next = batches.get(batches.size() - 1).sequence + 1;
+                    }
+                    out.flush();
+                }
+            } catch (IOException | ReplicationException e) {
+                // Follower disconnected or is not a follower; it reconnects with its sequence
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                sessions.remove(this);
+            }
+        }
+
+        private void send(DataOutputStream out, byte type, ChangeBatch batch) throws IOException {
+            ReplicationProtocol.writeFrame(out, type, batch);
+            bytesSent.addAndGet(batch.payload.length + 21L);
+        }
+
+        private void readAcknowledgements(DataInputStream in) {
+            try {
+                while (true) {
+                    acknowledged.set(in.readLong());
+                }
+            } catch (IOException e) {
+                // The session ends when its socket closes
+            }
+        }
+
+        void awaitDrained(long deadlineNanos) {
+            long target = getSequence();
+            try {
+                while (sessions.contains(this) && acknowledged.get() < target && System.nanoTime() < deadlineNanos) {
+                    Thread.sleep(1);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void disconnect() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package hyminh.uth.domain.replication;
+
+import hyminh.uth.domain.exception.ReplicationException;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Wire format between a {@link ReplicationLeader} and its followers.
+ *
+ * <pre>
+ * follower -> leader   "GYMR", version, last applied sequence     once, on connect
+ *                      sequence                                   acknowledgement per applied frame
+ * leader -> follower   type, sequence, commit time (ms)[, length, change set]
+ * </pre>
+ * Frame types are {@link #SNAPSHOT} (the whole state, replacing the follower's), {@link #BATCH}
+ * (the changes of one sequence number) and {@link #HEARTBEAT} (no changes; carries the
+ * leader's latest sequence so idle followers know they are up to date).
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class ReplicationProtocol {
+
+    static final int MAGIC = 0x47594D52;   // "GYMR"
+    static final int VERSION = 1;
+
+    static final byte SNAPSHOT = 1;
+    static final byte BATCH = 2;
+    static final byte HEARTBEAT = 3;
+
+    private ReplicationProtocol() {
+    }
+
+    static void writeHello(DataOutputStream out, long lastAppliedSequence) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(lastAppliedSequence);
+        out.flush();
+    }
+
+    /**
+     * Reads a follower's hello and returns its last applied sequence.
+     */
+    static long readHello(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new ReplicationException("Peer is not a replication follower");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new ReplicationException("Unsupported replication protocol version " + version);
+        }
+        return in.readLong();
+    }
+
+    static void writeFrame(DataOutputStream out, byte type, ChangeBatch batch) throws IOException {
+        out.writeByte(type);
+        out.writeLong(batch.sequence);
+        out.writeLong(batch.committedAtMillis);
+        out.writeInt(batch.payload.length);
+        out.write(batch.payload);
+    }
+
+    static void writeHeartbeat(DataOutputStream out, long sequence, long timeMillis) throws IOException {
+        out.writeByte(HEARTBEAT);
+        out.writeLong(sequence);
+        out.writeLong(timeMillis);
+    }
+}
@@ -13,7 +13,7 @@ import java.util.Optional;
  * @author Gym Management System
  * @version 1.0
  */
-public interface ExerciseRepository {
+public interface ExerciseRepository extends QueryableRepository<Exercise> {
     
     /**
      * Saves an exercise to the repository.
@@ -108,6 +108,17 @@ public interface ExerciseRepository {
      */
     List<Exercise> searchByName(String name);
     
+    /**
+     * Searches the names, descriptions, instructions and target muscles of exercises for a
+     * phrase, ignoring case and Vietnamese diacritics and ranking by relevance.
+     * 
+     * @param text the search phrase, such as "lower back pain safe"
+     * @param limit the maximum number of exercises to return
+     * @return the matching exercises, most relevant first
+     * @throws IllegalArgumentException if text is null or empty, or limit is not positive
+     */
+    List<Exercise> searchText(String text, int limit);
+    
     /**
      * Checks if an exercise exists with the specified ID.
      * 
@@ -13,7 +13,7 @@ import java.util.Optional;
  * @author Gym Management System
  * @version 1.0
  */
-public interface MemberRepository {
+public interface MemberRepository extends QueryableRepository<Member> {
     
     /**
      * Saves a member to the repository.
@@ -24,6 +24,18 @@ public interface MemberRepository {
      */
     Member save(Member member);
     
+    /**
+     * Saves a member only if the stored version still equals {@link Member#getVersion()}
+     * (compare-and-set). A member that is not stored yet is inserted if its version is 0.
+     * On success the member's version is advanced to the new stored version; plain
+     * {@link #save(Member)} advances the version too, without checking it.
+     * 
+     * @param member the member to save
+     * @return true if the member was saved, false if another save changed it first
+     * @throws IllegalArgumentException if member is null or its user ID belongs to another member
+     */
+    boolean compareAndSave(Member member);
+    
     /**
      * Finds a member by their ID.
      * 
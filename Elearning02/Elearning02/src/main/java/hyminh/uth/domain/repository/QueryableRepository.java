@@ -0,0 +1,33 @@
+package hyminh.uth.domain.repository;
+
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryPlan;
+import java.util.List;
+
+/**
+ * Repository that can answer ad-hoc {@link Query} objects built from specifications.
+ *
+ * @param <T> the entity type
+ * @author Gym Management System
+ * @version 1.0
+ */
+public interface QueryableRepository<T> {
+
+    /**
+     * Finds all entities matching a query.
+     *
+     * @param query the query to execute
+     * @return the matching entities, ordered and limited as requested
+     * @throws IllegalArgumentException if query is null
+     */
+    List<T> query(Query<T> query);
+
+    /**
+     * Describes how a query would be executed without running it.
+     *
+     * @param query the query to plan
+     * @return the chosen query plan
+     * @throws IllegalArgumentException if query is null
+     */
+    QueryPlan explain(Query<T> query);
+}
@@ -1,6 +1,7 @@
 package hyminh.uth.domain.repository;
 
 import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.exception.SubscriptionNotFoundException;
 import hyminh.uth.domain.valueobject.SubscriptionStatus;
 import java.time.LocalDate;
 import java.util.List;
@@ -13,7 +14,7 @@ import java.util.Optional;
  * @author Gym Management System
  * @version 1.0
  */
-public interface SubscriptionRepository {
+public interface SubscriptionRepository extends QueryableRepository<Subscription> {
     
     /**
      * Saves a subscription to the repository.
@@ -156,6 +157,23 @@ public interface SubscriptionRepository {
      */
     long countExpiringBy(LocalDate date);
     
+    /**
+     * Cancels a subscription and saves the new status so that derived data such as
+     * revenue indexes reflect the cancellation.
+     * 
+     * @param subscriptionId the subscription ID to cancel
+     * @return the cancelled subscription
+     * @throws IllegalArgumentException if subscriptionId is null or empty
+     * @throws SubscriptionNotFoundException if the subscription is not found
+     * @throws IllegalStateException if the subscription is already cancelled or expired
+     */
+    default Subscription cancel(String subscriptionId) {
+        Subscription subscription = findById(subscriptionId)
+                .orElseThrow(() -> new SubscriptionNotFoundException("Subscription not found: " + subscriptionId));
+        subscription.cancel();
+        return save(subscription);
+    }
+    
     /**
      * Calculates the total revenue from all subscriptions.
      * 
@@ -12,7 +12,7 @@ import java.util.Optional;
  * @author Gym Management System
  * @version 1.0
  */
-public interface UserRepository {
+public interface UserRepository extends QueryableRepository<User> {
     
     /**
      * Saves a user to the repository.
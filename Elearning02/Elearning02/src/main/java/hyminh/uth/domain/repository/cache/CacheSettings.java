@@ -0,0 +1,65 @@
+package hyminh.uth.domain.repository.cache;
+
+import java.time.Duration;
+
+/**
+ * Size and expiration settings shared by the caching repository decorators.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class CacheSettings {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+    public static final Duration DEFAULT_EXPIRE_AFTER_WRITE = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_EXPIRE_ABSENT_AFTER_WRITE = Duration.ofSeconds(30);
+
+    private static final CacheSettings DEFAULTS = new CacheSettings(DEFAULT_MAXIMUM_SIZE,
+            DEFAULT_EXPIRE_AFTER_WRITE, DEFAULT_EXPIRE_ABSENT_AFTER_WRITE);
+
+    private final int maximumSize;
+    private final Duration expireAfterWrite;
+    private final Duration expireAbsentAfterWrite;
+
+    /**
+     * Constructs new settings.
+     *
+     * @param maximumSize the maximum number of entries of each cache
+     * @param expireAfterWrite how long a found entity stays cached
+     * @param expireAbsentAfterWrite how long a miss stays cached; zero disables negative caching
+     * @throws IllegalArgumentException if maximumSize or expireAfterWrite is not positive, or
+     *                                  expireAbsentAfterWrite is null or negative
+     */
+    public CacheSettings(int maximumSize, Duration expireAfterWrite, Duration expireAbsentAfterWrite) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        if (expireAfterWrite == null || expireAfterWrite.isNegative() || expireAfterWrite.isZero()) {
+            throw new IllegalArgumentException("Expiration must be positive");
+        }
+        if (expireAbsentAfterWrite == null || expireAbsentAfterWrite.isNegative()) {
+            throw new IllegalArgumentException("Absent expiration cannot be null or negative");
+        }
+        this.maximumSize = maximumSize;
+        this.expireAfterWrite = expireAfterWrite;
+        this.expireAbsentAfterWrite = expireAbsentAfterWrite;
+    }
+
+    /**
+     * Returns the default settings: 10,000 entries, 5 minutes, 30 seconds for misses.
+     *
+     * @return the default settings
+     */
+    public static CacheSettings defaults() {
+        return DEFAULTS;
+    }
+
+    <K, V> WTinyLfuCache<K, V> newCache() {
+        return new WTinyLfuCache<>(maximumSize, expireAfterWrite, expireAbsentAfterWrite);
+    }
+
+    // Getters
+    public int getMaximumSize() { return maximumSize; }
+    public Duration getExpireAfterWrite() { return expireAfterWrite; }
+    public Duration getExpireAbsentAfterWrite() { return expireAbsentAfterWrite; }
+}
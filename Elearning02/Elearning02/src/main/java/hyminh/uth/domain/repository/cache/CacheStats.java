@@ -0,0 +1,72 @@
+package hyminh.uth.domain.repository.cache;
+
+/**
+ * Immutable snapshot of cache statistics.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class CacheStats {
+
+    private final long hitCount;
+    private final long negativeHitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long expirationCount;
+
+    /**
+     * Constructs a new CacheStats.
+     *
+     * @param hitCount lookups answered by the cache, including negative hits
+     * @param negativeHitCount lookups answered by a cached absence
+     * @param missCount lookups that went to the backing repository
+     * @param evictionCount entries removed to respect the maximum size
+     * @param expirationCount entries removed because they outlived their time to live
+     */
+    public CacheStats(long hitCount, long negativeHitCount, long missCount, long evictionCount, long expirationCount) {
+        this.hitCount = hitCount;
+        this.negativeHitCount = negativeHitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expirationCount = expirationCount;
+    }
+
+    /**
+     * Returns the sum of two statistics, for decorators with several caches.
+     *
+     * @param other the statistics to add
+     * @return the combined statistics
+     */
+    public CacheStats plus(CacheStats other) {
+        return new CacheStats(hitCount + other.hitCount, negativeHitCount + other.negativeHitCount,
+                missCount + other.missCount, evictionCount + other.evictionCount,
+                expirationCount + other.expirationCount);
+    }
+
+    /**
+     * Returns the fraction of lookups answered by the cache.
+     *
+     * @return the hit rate, 1.0 when there were no lookups
+     */
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    // Getters
+    public long getHitCount() { return hitCount; }
+    public long getNegativeHitCount() { return negativeHitCount; }
+    public long getMissCount() { return missCount; }
+    public long getEvictionCount() { return evictionCount; }
+    public long getExpirationCount() { return expirationCount; }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStats{hits=%d (negative %d), misses=%d, hitRate=%.1f%%, evictions=%d, expirations=%d}",
+                hitCount, negativeHitCount, missCount, hitRate() * 100, evictionCount, expirationCount);
+    }
+}
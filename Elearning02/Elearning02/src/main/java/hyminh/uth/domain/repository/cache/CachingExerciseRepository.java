@@ -0,0 +1,143 @@
+package hyminh.uth.domain.repository.cache;
+
+import hyminh.uth.domain.entity.Exercise;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryPlan;
+import hyminh.uth.domain.repository.ExerciseRepository;
+import hyminh.uth.domain.valueobject.DifficultyLevel;
+import hyminh.uth.domain.valueobject.ExerciseType;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ExerciseRepository decorator caching lookups by exercise ID in a {@link WTinyLfuCache},
+ * misses included. Saves and deletes go to the wrapped repository and invalidate the entry;
+ * finders, searches, counts and queries are not cached.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class CachingExerciseRepository implements ExerciseRepository {
+
+    private final ExerciseRepository delegate;
+    private final WTinyLfuCache<String, Exercise> byId;
+
+    /**
+     * Constructs a new CachingExerciseRepository with the default cache settings.
+     *
+     * @param delegate the repository to cache
+     * @throws IllegalArgumentException if delegate is null
+     */
+    public CachingExerciseRepository(ExerciseRepository delegate) {
+        this(delegate, CacheSettings.defaults());
+    }
+
+    /**
+     * Constructs a new CachingExerciseRepository.
+     *
+     * @param delegate the repository to cache
+     * @param settings the size and expiration of the cache
+     * @throws IllegalArgumentException if delegate or settings is null
+     */
+    public CachingExerciseRepository(ExerciseRepository delegate, CacheSettings settings) {
+        if (delegate == null || settings == null) {
+            throw new IllegalArgumentException("Delegate and settings cannot be null");
+        }
+        this.delegate = delegate;
+        this.byId = settings.newCache();
+    }
+
+    @Override
+    public Exercise save(Exercise exercise) {
+        Exercise saved = delegate.save(exercise);
+        byId.invalidate(saved.getExerciseId());
+        return saved;
+    }
+
+    @Override
+    public boolean deleteById(String exerciseId) {
+        boolean deleted = delegate.deleteById(exerciseId);
+        byId.invalidate(exerciseId);
+        return deleted;
+    }
+
+    @Override
+    public Optional<Exercise> findById(String exerciseId) {
+        if (exerciseId == null) {
+            return delegate.findById(null);
+        }
+        return Optional.ofNullable(byId.get(exerciseId, id -> delegate.findById(id).orElse(null)));
+    }
+
+    @Override
+    public boolean existsById(String exerciseId) {
+        return findById(exerciseId).isPresent();
+    }
+
+    /**
+     * Returns the statistics of the exercise ID cache.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats getStats() {
+        return byId.stats();
+    }
+
+    /**
+     * Empties the cache, for example after the backing store was changed directly.
+     */
+    public void invalidateAll() {
+        byId.invalidateAll();
+    }
+
+    @Override
+    public List<Exercise> findByType(ExerciseType type) { return delegate.findByType(type); }
+
+    @Override
+    public List<Exercise> findByDifficulty(DifficultyLevel difficulty) { return delegate.findByDifficulty(difficulty); }
+
+    @Override
+    public List<Exercise> findSuitableFor(DifficultyLevel difficulty) { return delegate.findSuitableFor(difficulty); }
+
+    @Override
+    public List<Exercise> findByTargetMuscle(String muscleGroup) { return delegate.findByTargetMuscle(muscleGroup); }
+
+    @Override
+    public List<Exercise> findByEquipment(String equipment) { return delegate.findByEquipment(equipment); }
+
+    @Override
+    public List<Exercise> findActiveExercises() { return delegate.findActiveExercises(); }
+
+    @Override
+    public List<Exercise> findInactiveExercises() { return delegate.findInactiveExercises(); }
+
+    @Override
+    public List<Exercise> findAll() { return delegate.findAll(); }
+
+    @Override
+    public List<Exercise> searchByName(String name) { return delegate.searchByName(name); }
+
+    @Override
+    public List<Exercise> searchText(String text, int limit) { return delegate.searchText(text, limit); }
+
+    @Override
+    public long count() { return delegate.count(); }
+
+    @Override
+    public long countByType(ExerciseType type) { return delegate.countByType(type); }
+
+    @Override
+    public long countByDifficulty(DifficultyLevel difficulty) { return delegate.countByDifficulty(difficulty); }
+
+    @Override
+    public long countActiveExercises() { return delegate.countActiveExercises(); }
+
+    @Override
+    public long countByTargetMuscle(String muscleGroup) { return delegate.countByTargetMuscle(muscleGroup); }
+
+    @Override
+    public List<Exercise> query(Query<Exercise> query) { return delegate.query(query); }
+
+    @Override
+    public QueryPlan explain(Query<Exercise> query) { return delegate.explain(query); }
+}
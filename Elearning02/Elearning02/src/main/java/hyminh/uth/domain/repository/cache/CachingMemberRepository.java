@@ -0,0 +1,177 @@
+package hyminh.uth.domain.repository.cache;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryPlan;
+import hyminh.uth.domain.repository.MemberRepository;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * MemberRepository decorator caching lookups by member ID and by user ID in
+ * {@link WTinyLfuCache}s, misses included. Saves and deletes go to the wrapped repository
+ * and invalidate the affected entries; finders, counts and queries are not cached.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class CachingMemberRepository implements MemberRepository {
+
+    private final MemberRepository delegate;
+    private final WTinyLfuCache<MemberId, Member> byId;
+    private final WTinyLfuCache<String, Member> byUserId;
+
+    /**
+     * Constructs a new CachingMemberRepository with the default cache settings.
+     *
+     * @param delegate the repository to cache
+     * @throws IllegalArgumentException if delegate is null
+     */
+    public CachingMemberRepository(MemberRepository delegate) {
+        this(delegate, CacheSettings.defaults());
+    }
+
+    /**
+     * Constructs a new CachingMemberRepository.
+     *
+     * @param delegate the repository to cache
+     * @param settings the size and expiration of each cache
+     * @throws IllegalArgumentException if delegate or settings is null
+     */
+    public CachingMemberRepository(MemberRepository delegate, CacheSettings settings) {
+        if (delegate == null || settings == null) {
+            throw new IllegalArgumentException("Delegate and settings cannot be null");
+        }
+        this.delegate = delegate;
+        this.byId = settings.newCache();
+        this.byUserId = settings.newCache();
+    }
+
+    @Override
+    public Member save(Member member) {
+        Member saved = delegate.save(member);
+        byId.invalidate(saved.getMemberId());
+        byUserId.invalidate(saved.getUserId());
+        return saved;
+    }
+
+    /**
+     * Invalidates the member whether or not it was saved: a failed compare-and-set means the
+     * cached copy may be stale, and the caller is about to read it again.
+     */
+    @Override
+    public boolean compareAndSave(Member member) {
+        boolean saved = delegate.compareAndSave(member);
+        byId.invalidate(member.getMemberId());
+        byUserId.invalidate(member.getUserId());
+        return saved;
+    }
+
+    @Override
+    public boolean deleteById(MemberId memberId) {
+        Optional<Member> existing = findById(memberId);
+        boolean deleted = delegate.deleteById(memberId);
+        byId.invalidate(memberId);
+        existing.ifPresent(member -> byUserId.invalidate(member.getUserId()));
+        return deleted;
+    }
+
+    @Override
+    public Optional<Member> findById(MemberId memberId) {
+        if (memberId == null) {
+            return delegate.findById(null);
+        }
+        return Optional.ofNullable(byId.get(memberId, id -> delegate.findById(id).orElse(null)));
+    }
+
+    /**
+     * Finds a member by user ID. A cached member whose user ID has changed since it was
+     * cached is dropped and looked up again.
+     */
+    @Override
+    public Optional<Member> findByUserId(String userId) {
+        if (userId == null) {
+            return delegate.findByUserId(null);
+        }
+        Member member = byUserId.get(userId, id -> delegate.findByUserId(id).orElse(null));
+        if (member != null && !userId.equals(member.getUserId())) {
+            byUserId.invalidate(userId);
+            member = byUserId.get(userId, id -> delegate.findByUserId(id).orElse(null));
+        }
+        return Optional.ofNullable(member);
+    }
+
+    @Override
+    public boolean existsById(MemberId memberId) {
+        return findById(memberId).isPresent();
+    }
+
+    @Override
+    public boolean existsByUserId(String userId) {
+        return findByUserId(userId).isPresent();
+    }
+
+    /**
+     * Returns the combined statistics of the member ID and user ID caches.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats getStats() {
+        return byId.stats().plus(byUserId.stats());
+    }
+
+    /**
+     * Empties the caches, for example after the backing store was changed directly.
+     */
+    public void invalidateAll() {
+        byId.invalidateAll();
+        byUserId.invalidateAll();
+    }
+
+    @Override
+    public List<Member> findByRegistrationDateAfter(LocalDate date) { return delegate.findByRegistrationDateAfter(date); }
+
+    @Override
+    public List<Member> findByRegistrationDateBefore(LocalDate date) { return delegate.findByRegistrationDateBefore(date); }
+
+    @Override
+    public List<Member> findWithActiveSubscriptions() { return delegate.findWithActiveSubscriptions(); }
+
+    @Override
+    public List<Member> findWithoutActiveSubscriptions() { return delegate.findWithoutActiveSubscriptions(); }
+
+    @Override
+    public List<Member> findByTrainerId(String trainerId) { return delegate.findByTrainerId(trainerId); }
+
+    @Override
+    public List<Member> findActiveMembers() { return delegate.findActiveMembers(); }
+
+    @Override
+    public List<Member> findInactiveMembers() { return delegate.findInactiveMembers(); }
+
+    @Override
+    public List<Member> findAll() { return delegate.findAll(); }
+
+    @Override
+    public long count() { return delegate.count(); }
+
+    @Override
+    public long countWithActiveSubscriptions() { return delegate.countWithActiveSubscriptions(); }
+
+    @Override
+    public long countWithoutActiveSubscriptions() { return delegate.countWithoutActiveSubscriptions(); }
+
+    @Override
+    public long countByTrainerId(String trainerId) { return delegate.countByTrainerId(trainerId); }
+
+    @Override
+    public long countByRegistrationMonth(int year, int month) { return delegate.countByRegistrationMonth(year, month); }
+
+    @Override
+    public List<Member> query(Query<Member> query) { return delegate.query(query); }
+
+    @Override
+    public QueryPlan explain(Query<Member> query) { return delegate.explain(query); }
+}
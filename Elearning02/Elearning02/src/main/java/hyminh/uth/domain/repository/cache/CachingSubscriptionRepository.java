@@ -0,0 +1,143 @@
+package hyminh.uth.domain.repository.cache;
+
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryPlan;
+import hyminh.uth.domain.repository.SubscriptionRepository;
+import hyminh.uth.domain.valueobject.SubscriptionStatus;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * SubscriptionRepository decorator caching lookups by subscription ID in a
+ * {@link WTinyLfuCache}, misses included. Saves and deletes go to the wrapped repository and
+ * invalidate the entry; finders, counts, revenue and queries are not cached.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class CachingSubscriptionRepository implements SubscriptionRepository {
+
+    private final SubscriptionRepository delegate;
+    private final WTinyLfuCache<String, Subscription> byId;
+
+    /**
+     * Constructs a new CachingSubscriptionRepository with the default cache settings.
+     *
+     * @param delegate the repository to cache
+     * @throws IllegalArgumentException if delegate is null
+     */
+    public CachingSubscriptionRepository(SubscriptionRepository delegate) {
+        this(delegate, CacheSettings.defaults());
+    }
+
+    /**
+     * Constructs a new CachingSubscriptionRepository.
+     *
+     * @param delegate the repository to cache
+     * @param settings the size and expiration of the cache
+     * @throws IllegalArgumentException if delegate or settings is null
+     */
+    public CachingSubscriptionRepository(SubscriptionRepository delegate, CacheSettings settings) {
+        if (delegate == null || settings == null) {
+            throw new IllegalArgumentException("Delegate and settings cannot be null");
+        }
+        this.delegate = delegate;
+        this.byId = settings.newCache();
+    }
+
+    @Override
+    public Subscription save(Subscription subscription) {
+        Subscription saved = delegate.save(subscription);
+        byId.invalidate(saved.getSubscriptionId());
+        return saved;
+    }
+
+    @Override
+    public boolean deleteById(String subscriptionId) {
+        boolean deleted = delegate.deleteById(subscriptionId);
+        byId.invalidate(subscriptionId);
+        return deleted;
+    }
+
+    @Override
+    public Optional<Subscription> findById(String subscriptionId) {
+        if (subscriptionId == null) {
+            return delegate.findById(null);
+        }
+        return Optional.ofNullable(byId.get(subscriptionId, id -> delegate.findById(id).orElse(null)));
+    }
+
+    @Override
+    public boolean existsById(String subscriptionId) {
+        return findById(subscriptionId).isPresent();
+    }
+
+    /**
+     * Returns the statistics of the subscription ID cache.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats getStats() {
+        return byId.stats();
+    }
+
+    /**
+     * Empties the cache, for example after the backing store was changed directly.
+     */
+    public void invalidateAll() {
+        byId.invalidateAll();
+    }
+
+    @Override
+    public List<Subscription> findByStatus(SubscriptionStatus status) { return delegate.findByStatus(status); }
+
+    @Override
+    public List<Subscription> findActiveSubscriptions() { return delegate.findActiveSubscriptions(); }
+
+    @Override
+    public List<Subscription> findExpiredSubscriptions() { return delegate.findExpiredSubscriptions(); }
+
+    @Override
+    public List<Subscription> findExpiringBy(LocalDate date) { return delegate.findExpiringBy(date); }
+
+    @Override
+    public List<Subscription> findByStartDateAfter(LocalDate date) { return delegate.findByStartDateAfter(date); }
+
+    @Override
+    public List<Subscription> findByEndDateBefore(LocalDate date) { return delegate.findByEndDateBefore(date); }
+
+    @Override
+    public List<Subscription> findByCreatedDate(LocalDate date) { return delegate.findByCreatedDate(date); }
+
+    @Override
+    public List<Subscription> findAll() { return delegate.findAll(); }
+
+    @Override
+    public long count() { return delegate.count(); }
+
+    @Override
+    public long countByStatus(SubscriptionStatus status) { return delegate.countByStatus(status); }
+
+    @Override
+    public long countActiveSubscriptions() { return delegate.countActiveSubscriptions(); }
+
+    @Override
+    public long countExpiredSubscriptions() { return delegate.countExpiredSubscriptions(); }
+
+    @Override
+    public long countExpiringBy(LocalDate date) { return delegate.countExpiringBy(date); }
+
+    @Override
+    public double calculateTotalRevenue() { return delegate.calculateTotalRevenue(); }
+
+    @Override
+    public double calculateActiveRevenue() { return delegate.calculateActiveRevenue(); }
+
+    @Override
+    public List<Subscription> query(Query<Subscription> query) { return delegate.query(query); }
+
+    @Override
+    public QueryPlan explain(Query<Subscription> query) { return delegate.explain(query); }
+}
@@ -0,0 +1,155 @@
+package hyminh.uth.domain.repository.cache;
+
+import hyminh.uth.domain.entity.User;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryPlan;
+import hyminh.uth.domain.repository.UserRepository;
+import hyminh.uth.domain.valueobject.UserRole;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * UserRepository decorator caching lookups by user ID and by username (the login path) in
+ * {@link WTinyLfuCache}s, misses included. Saves and deletes go to the wrapped repository
+ * and invalidate the affected entries; finders, counts and queries are not cached.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class CachingUserRepository implements UserRepository {
+
+    private final UserRepository delegate;
+    private final WTinyLfuCache<String, User> byId;
+    private final WTinyLfuCache<String, User> byUsername;
+
+    /**
+     * Constructs a new CachingUserRepository with the default cache settings.
+     *
+     * @param delegate the repository to cache
+     * @throws IllegalArgumentException if delegate is null
+     */
+    public CachingUserRepository(UserRepository delegate) {
+        this(delegate, CacheSettings.defaults());
+    }
+
+    /**
+     * Constructs a new CachingUserRepository.
+     *
+     * @param delegate the repository to cache
+     * @param settings the size and expiration of each cache
+     * @throws IllegalArgumentException if delegate or settings is null
+     */
+    public CachingUserRepository(UserRepository delegate, CacheSettings settings) {
+        if (delegate == null || settings == null) {
+            throw new IllegalArgumentException("Delegate and settings cannot be null");
+        }
+        this.delegate = delegate;
+        this.byId = settings.newCache();
+        this.byUsername = settings.newCache();
+    }
+
+    @Override
+    public User save(User user) {
+        User saved = delegate.save(user);
+        byId.invalidate(saved.getUserId());
+        byUsername.invalidate(saved.getUsername());
+        return saved;
+    }
+
+    @Override
+    public boolean deleteById(String userId) {
+        Optional<User> existing = findById(userId);
+        boolean deleted = delegate.deleteById(userId);
+        byId.invalidate(userId);
+        existing.ifPresent(user -> byUsername.invalidate(user.getUsername()));
+        return deleted;
+    }
+
+    @Override
+    public Optional<User> findById(String userId) {
+        if (userId == null) {
+            return delegate.findById(null);
+        }
+        return Optional.ofNullable(byId.get(userId, id -> delegate.findById(id).orElse(null)));
+    }
+
+    /**
+     * Finds a user by username. A cached user whose username has changed since it was
+     * cached is dropped and looked up again.
+     */
+    @Override
+    public Optional<User> findByUsername(String username) {
+        if (username == null) {
+            return delegate.findByUsername(null);
+        }
+        User user = byUsername.get(username, name -> delegate.findByUsername(name).orElse(null));
+        if (user != null && !username.equals(user.getUsername())) {
+            byUsername.invalidate(username);
+            user = byUsername.get(username, name -> delegate.findByUsername(name).orElse(null));
+        }
+        return Optional.ofNullable(user);
+    }
+
+    @Override
+    public boolean existsById(String userId) {
+        return findById(userId).isPresent();
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        return findByUsername(username).isPresent();
+    }
+
+    /**
+     * Returns the combined statistics of the user ID and username caches.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats getStats() {
+        return byId.stats().plus(byUsername.stats());
+    }
+
+    /**
+     * Empties the caches, for example after the backing store was changed directly.
+     */
+    public void invalidateAll() {
+        byId.invalidateAll();
+        byUsername.invalidateAll();
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) { return delegate.findByEmail(email); }
+
+    @Override
+    public List<User> findByRole(UserRole role) { return delegate.findByRole(role); }
+
+    @Override
+    public List<User> findActiveUsers() { return delegate.findActiveUsers(); }
+
+    @Override
+    public List<User> findInactiveUsers() { return delegate.findInactiveUsers(); }
+
+    @Override
+    public List<User> findAll() { return delegate.findAll(); }
+
+    @Override
+    public boolean existsByEmail(String email) { return delegate.existsByEmail(email); }
+
+    @Override
+    public long count() { return delegate.count(); }
+
+    @Override
+    public long countByRole(UserRole role) { return delegate.countByRole(role); }
+
+    @Override
+    public long countActiveUsers() { return delegate.countActiveUsers(); }
+
+    @Override
+    public long countInactiveUsers() { return delegate.countInactiveUsers(); }
+
+    @Override
+    public List<User> query(Query<User> query) { return delegate.query(query); }
+
+    @Override
+    public QueryPlan explain(Query<User> query) { return delegate.explain(query); }
+}
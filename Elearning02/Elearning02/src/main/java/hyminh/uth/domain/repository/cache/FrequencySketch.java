@@ -0,0 +1,76 @@
+package hyminh.uth.domain.repository.cache;
+
+/**
+ * Count-min sketch of 4-bit counters estimating how often each key was accessed recently.
+ *
+ * Every key maps to four counters in different rows; its estimate is the smallest of them.
+ * After {@code 10 * maximumSize} increments all counters are halved, so the sketch forgets
+ * old popularity and follows shifts in the workload. Sixteen counters share one long, so the
+ * sketch takes 8 bytes per cached entry. Not thread-safe.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        int length = Integer.highestOneBit(Math.max(1, Math.min(maximumSize, 1 << 26)) - 1) << 1;
+        this.table = new long[Math.max(length, 8)];
+        this.mask = table.length - 1;
+        this.sampleSize = (int) Math.min(10L * Math.max(maximumSize, 1), Integer.MAX_VALUE);
+    }
+
+    int frequency(Object key) {
+        int spread = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+        for (int row = 0; row < 4; row++) {
+            long hash = (spread + SEEDS[row]) * SEEDS[row];
+            int index = (int) (hash >>> 32) & mask;
+            int offset = (int) ((hash & 0xF) << 2);
+            frequency = Math.min(frequency, (int) ((table[index] >>> offset) & 0xF));
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int spread = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < 4; row++) {
+            long hash = (spread + SEEDS[row]) * SEEDS[row];
+            int index = (int) (hash >>> 32) & mask;
+            int offset = (int) ((hash & 0xF) << 2);
+            if (((table[index] >>> offset) & 0xF) < MAX_COUNT) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 17;
+        hash *= 0xED5AD4BB;
+        hash ^= hash >>> 11;
+        return hash;
+    }
+}
@@ -0,0 +1,384 @@
+package hyminh.uth.domain.repository.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded concurrent cache with W-TinyLFU admission and eviction.
+ *
+ * New entries enter a small LRU window (1% of the capacity). Entries pushed out of the window
+ * only enter the main area if a {@link FrequencySketch} says they were accessed more often
+ * than the entry the main area would evict, so a burst of one-off lookups (a report scanning
+ * every member) cannot flush the frequently used entries. The main area is a segmented LRU:
+ * entries hit again in the probation segment move to the protected segment (80% of the main
+ * area).
+ *
+ * Entries also expire a fixed time after they were written. Absent values (a loader returning
+ * null) can be cached too, with their own, usually shorter, time to live.
+ *
+ * Lookups never block: the map is concurrent and the eviction policy is only updated when its
+ * lock is free, so under contention some accesses are not counted. Loads racing with an
+ * {@link #invalidate(Object)} of the same key are not cached, so a value read from the backing
+ * store before a write cannot outlive that write in the cache.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class WTinyLfuCache<K, V> {
+
+    private static final int STAMP_STRIPES = 64;
+
+    private final Map<K, Node<K, V>> entries = new ConcurrentHashMap<>();
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final long absentTtlNanos;
+    private final LongSupplier ticker;
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final Queue<K, V> window = new Queue<>();
+    private final Queue<K, V> probation = new Queue<>();
+    private final Queue<K, V> protectedQueue = new Queue<>();
+    private final int maxWindow;
+    private final int maxProtected;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * Constructs a new cache.
+     *
+     * @param maximumSize the maximum number of entries, absent ones included
+     * @param expireAfterWrite how long a value stays cached
+     * @param expireAbsentAfterWrite how long an absence stays cached; zero disables negative caching
+     * @throws IllegalArgumentException if maximumSize or expireAfterWrite is not positive, or
+     *                                  expireAbsentAfterWrite is null or negative
+     */
+    public WTinyLfuCache(int maximumSize, Duration expireAfterWrite, Duration expireAbsentAfterWrite) {
+        this(maximumSize, expireAfterWrite, expireAbsentAfterWrite, System::nanoTime);
+    }
+
+    WTinyLfuCache(int maximumSize, Duration expireAfterWrite, Duration expireAbsentAfterWrite, LongSupplier ticker) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        if (expireAfterWrite == null || expireAfterWrite.isNegative() || expireAfterWrite.isZero()) {
+            throw new IllegalArgumentException("Expiration must be positive");
+        }
+        if (expireAbsentAfterWrite == null || expireAbsentAfterWrite.isNegative()) {
+            throw new IllegalArgumentException("Absent expiration cannot be null or negative");
+        }
+        this.maximumSize = maximumSize;
+        this.ttlNanos = expireAfterWrite.toNanos();
+        this.absentTtlNanos = expireAbsentAfterWrite.toNanos();
+        this.ticker = ticker;
+        this.sketch = new FrequencySketch(maximumSize);
+        this.maxWindow = Math.max(1, maximumSize / 100);
+        this.maxProtected = (int) ((maximumSize - maxWindow) * 0.8);
+    }
+
+    /**
+     * Returns the cached value of a key, loading and caching it on a miss.
+     *
+     * @param key the key
+     * @param loader reads the value from the backing store; returns null if it does not exist
+     * @return the value, or null if it does not exist
+     * @throws IllegalArgumentException if key or loader is null
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        if (key == null || loader == null) {
+            throw new IllegalArgumentException("Key and loader cannot be null");
+        }
+        Node<K, V> node = lookup(key);
+        if (node != null) {
+            return node.value;
+        }
+        long stamp = stamps.get(stripe(key));
+        V value = loader.apply(key);
+        if (value != null || absentTtlNanos > 0) {
+            insert(key, value, stamp);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached value of a key without loading it.
+     *
+     * @param key the key
+     * @return the value, or null if it is not cached or cached as absent
+     */
+    public V getIfPresent(K key) {
+        Node<K, V> node = key == null ? null : lookup(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Caches a value.
+     *
+     * @param key the key
+     * @param value the value, or null to cache an absence
+     * @throws IllegalArgumentException if key is null
+     */
+    public void put(K key, V value) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        insert(key, value, stamps.get(stripe(key)));
+    }
+
+    /**
+     * Removes a key, and stops loads of that key already in progress from caching their result.
+     *
+     * @param key the key
+     */
+    public void invalidate(K key) {
+        if (key == null) {
+            return;
+        }
+        stamps.incrementAndGet(stripe(key));
+        policyLock.lock();
+        try {
+            Node<K, V> node = entries.remove(key);
+            if (node != null) {
+                node.queue.unlink(node);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void invalidateAll() {
+        policyLock.lock();
+        try {
+            for (int i = 0; i < STAMP_STRIPES; i++) {
+                stamps.incrementAndGet(i);
+            }
+            entries.clear();
+            window.clear();
+            probation.clear();
+            protectedQueue.clear();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current statistics.
+     *
+     * @return a snapshot of the counters
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), negativeHits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    // Getters
+    public int size() { return entries.size(); }
+    public int getMaximumSize() { return maximumSize; }
+
+    // ========== POLICY ==========
+
+    private Node<K, V> lookup(K key) {
+        Node<K, V> node = entries.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        if (ticker.getAsLong() - node.expiresAt >= 0) {
+            misses.increment();
+            expire(node);
+            return null;
+        }
+        hits.increment();
+        if (node.value == null) {
+            negativeHits.increment();
+        }
+        if (policyLock.tryLock()) {
+            try {
+                sketch.increment(key);
+                if (node.queue != null) {
+                    onAccess(node);
+                }
+            } finally {
+                policyLock.unlock();
+            }
+        }
+        return node;
+    }
+
+    private void insert(K key, V value, long stamp) {
+        long expiresAt = ticker.getAsLong() + (value == null ? absentTtlNanos : ttlNanos);
+        policyLock.lock();
+        try {
+            if (stamps.get(stripe(key)) != stamp) {
+                return;   // Invalidated while the value was being loaded
+            }
+            sketch.increment(key);
+            Node<K, V> existing = entries.get(key);
+            if (existing != null) {
+                existing.value = value;
+                existing.expiresAt = expiresAt;
+                onAccess(existing);
+                return;
+            }
+            Node<K, V> node = new Node<>(key, value, expiresAt);
+            entries.put(key, node);
+            window.addLast(node);
+            evict();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void expire(Node<K, V> node) {
+        policyLock.lock();
+        try {
+            if (node.queue != null && entries.remove(node.key, node)) {
+                node.queue.unlink(node);
+                expirations.increment();
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (node.queue == probation) {
+            probation.unlink(node);
+            protectedQueue.addLast(node);
+            if (protectedQueue.size > maxProtected) {
+                probation.addLast(protectedQueue.unlink(protectedQueue.head));
+            }
+        } else {
+            node.queue.moveToLast(node);
+        }
+    }
+
+    /**
+     * Moves window overflow into the main area, letting each candidate in only if it is used
+     * more often than the main area's eviction victim.
+     */
+    private void evict() {
+        while (window.size > maxWindow) {
+            Node<K, V> candidate = window.unlink(window.head);
+            if (entries.size() <= maximumSize) {
+                probation.addLast(candidate);
+                continue;
+            }
+            Node<K, V> victim = probation.head != null ? probation.head : protectedQueue.head;
+            if (victim == null || sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                probation.addLast(candidate);
+                if (victim != null) {
+                    remove(victim);
+                }
+            } else {
+                remove(candidate);
+            }
+        }
+        while (entries.size() > maximumSize) {
+            Queue<K, V> queue = probation.head != null ? probation : protectedQueue.head != null ? protectedQueue : window;
+            remove(queue.head);
+        }
+    }
+
+    private void remove(Node<K, V> node) {
+        if (node.queue != null) {
+            node.queue.unlink(node);
+        }
+        entries.remove(node.key, node);
+        evictions.increment();
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STAMP_STRIPES - 1);
+    }
+
+    /**
+     * Cache entry, linked into one of the three LRU queues.
+     */
+    private static final class Node<K, V> {
+        final K key;
+        volatile V value;
+        volatile long expiresAt;
+        Queue<K, V> queue;
+        Node<K, V> previous;
+        Node<K, V> next;
+
+        Node(K key, V value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked LRU list, least recently used first. Guarded by the policy lock.
+     */
+    private static final class Queue<K, V> {
+        Node<K, V> head;
+        Node<K, V> tail;
+        int size;
+
+        void addLast(Node<K, V> node) {
+            node.queue = this;
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        Node<K, V> unlink(Node<K, V> node) {
+            if (node.previous == null) {
+                head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            node.queue = null;
+            size--;
+            return node;
+        }
+
+        void moveToLast(Node<K, V> node) {
+            if (node != tail) {
+                unlink(node);
+                addLast(node);
+            }
+        }
+
+        void clear() {
+            for (Node<K, V> node = head; node != null; node = node.next) {
+                node.queue = null;
+            }
+            head = null;
+            tail = null;
+            size = 0;
+        }
+    }
+}
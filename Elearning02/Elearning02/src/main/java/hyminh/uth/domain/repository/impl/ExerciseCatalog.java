@@ -0,0 +1,152 @@
+package hyminh.uth.domain.repository.impl;
+
+import hyminh.uth.domain.entity.Exercise;
+import hyminh.uth.domain.valueobject.DifficultyLevel;
+import hyminh.uth.domain.valueobject.ExerciseType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * One immutable version of the exercise catalog, as published by {@link FrozenExerciseRepository}.
+ *
+ * Each exercise gets the slot a {@link MinimalPerfectHash} assigns to its ID; the slot holds
+ * the ID and a ready-made Optional of the exercise, so a lookup by ID hashes once, compares
+ * one key and allocates nothing. The lists answered by the type, difficulty, suitability and activity
+ * finders are built once, sorted by exercise ID, and shared as unmodifiable lists. Substring
+ * finders (name, target muscle, equipment) are computed on first use and cached in the
+ * version, up to {@value #MAX_CACHED_SEARCHES} distinct arguments per finder.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class ExerciseCatalog {
+
+    static final int MAX_CACHED_SEARCHES = 1_024;
+
+    private static final DifficultyLevel[] LEVELS = DifficultyLevel.values();
+    private static final ExerciseType[] TYPES = ExerciseType.values();
+
+    private final long version;
+    private final MinimalPerfectHash hash;
+    private final String[] idBySlot;
+    private final Optional<Exercise>[] found;
+    private final Exercise[] sorted;
+    private final List<Exercise> all;
+    private final List<Exercise>[] byType;
+    private final List<Exercise>[] byDifficulty;
+    private final List<Exercise>[] suitableFor;
+    private final List<Exercise> active;
+    private final List<Exercise> inactive;
+
+    private final Map<String, List<Exercise>> byName = new ConcurrentHashMap<>();
+    private final Map<String, List<Exercise>> byMuscle = new ConcurrentHashMap<>();
+    private final Map<String, List<Exercise>> byEquipment = new ConcurrentHashMap<>();
+
+    /**
+     * Builds a catalog version from exercises with distinct IDs.
+     *
+     * @param exercises the exercises
+     * @param version the version number
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})  // Generic arrays cannot be created directly
+    ExerciseCatalog(Collection<Exercise> exercises, long version) {
+        this.version = version;
+        this.sorted = exercises.toArray(new Exercise[0]);
+        Arrays.sort(sorted, Comparator.comparing(Exercise::getExerciseId));
+        this.all = share(sorted);
+
+        String[] ids = new String[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            ids[i] = sorted[i].getExerciseId();
+        }
+        this.hash = MinimalPerfectHash.build(ids);
+        this.idBySlot = new String[sorted.length];
+        this.found = new Optional[sorted.length];
+        for (Exercise exercise : sorted) {
+            int slot = hash.slotOf(exercise.getExerciseId());
+            idBySlot[slot] = exercise.getExerciseId();
+            found[slot] = Optional.of(exercise);
+        }
+
+        this.byType = new List[TYPES.length];
+        for (ExerciseType type : TYPES) {
+            byType[type.ordinal()] = select(sorted, exercise -> exercise.getType() == type);
+        }
+        this.byDifficulty = new List[LEVELS.length];
+        this.suitableFor = new List[LEVELS.length];
+        for (DifficultyLevel level : LEVELS) {
+            byDifficulty[level.ordinal()] = select(sorted, exercise -> exercise.getDifficulty() == level);
+            suitableFor[level.ordinal()] = select(sorted, exercise -> exercise.isSuitableFor(level));
+        }
+        this.active = select(sorted, Exercise::isActive);
+        this.inactive = select(sorted, exercise -> !exercise.isActive());
+    }
+
+    /**
+     * Looks up an exercise by ID without allocating.
+     */
+    Optional<Exercise> findById(String exerciseId) {
+        int slot = hash.slotOf(exerciseId);
+        if (slot < 0 || !idBySlot[slot].equals(exerciseId)) {
+            return Optional.empty();
+        }
+        return found[slot];
+    }
+
+    List<Exercise> searchByName(String name) {
+        return cached(byName, name, exercise -> exercise.getName().toLowerCase().contains(name.toLowerCase()));
+    }
+
+    List<Exercise> findByTargetMuscle(String muscleGroup) {
+        return cached(byMuscle, muscleGroup, exercise -> exercise.targetsMuscleGroup(muscleGroup));
+    }
+
+    List<Exercise> findByEquipment(String equipment) {
+        return cached(byEquipment, equipment, exercise -> exercise.requiresEquipment(equipment));
+    }
+
+    // Getters
+    long version() { return version; }
+    List<Exercise> all() { return all; }
+    List<Exercise> byType(ExerciseType type) { return byType[type.ordinal()]; }
+    List<Exercise> byDifficulty(DifficultyLevel level) { return byDifficulty[level.ordinal()]; }
+    List<Exercise> suitableFor(DifficultyLevel level) { return suitableFor[level.ordinal()]; }
+    List<Exercise> active() { return active; }
+    List<Exercise> inactive() { return inactive; }
+
+    // ========== HELPER METHODS ==========
+
+    private List<Exercise> cached(Map<String, List<Exercise>> cache, String key, Predicate<Exercise> filter) {
+        List<Exercise> result = cache.get(key);
+        if (result == null) {
+            result = select(sorted, filter);
+            if (cache.size() < MAX_CACHED_SEARCHES) {
+                cache.putIfAbsent(key, result);
+            }
+        }
+        return result;
+    }
+
+    private static List<Exercise> select(Exercise[] sorted, Predicate<Exercise> filter) {
+        List<Exercise> selected = new ArrayList<>();
+        for (Exercise exercise : sorted) {
+            if (filter.test(exercise)) {
+                selected.add(exercise);
+            }
+        }
+        return share(selected.toArray(new Exercise[0]));
+    }
+
+    private static List<Exercise> share(Exercise[] exercises) {
+        return exercises.length == 0 ? Collections.emptyList()
+                : Collections.unmodifiableList(Arrays.asList(exercises));
+    }
+}
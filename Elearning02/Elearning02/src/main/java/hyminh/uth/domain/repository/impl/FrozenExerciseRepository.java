@@ -0,0 +1,278 @@
+package hyminh.uth.domain.repository.impl;
+
+import hyminh.uth.domain.entity.Exercise;
+import hyminh.uth.domain.query.ExerciseAttributes;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryEngine;
+import hyminh.uth.domain.query.QueryPlan;
+import hyminh.uth.domain.repository.ExerciseRepository;
+import hyminh.uth.domain.search.ExerciseSearchIndex;
+import hyminh.uth.domain.search.SearchHit;
+import hyminh.uth.domain.valueobject.DifficultyLevel;
+import hyminh.uth.domain.valueobject.ExerciseType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ExerciseRepository for read-mostly workloads such as the exercise library, where the catalog
+ * changes a few times a day and is read on every request.
+ *
+ * Readers never lock: every finder reads the current immutable {@link ExerciseCatalog}
+ * version from a volatile field, looks up IDs through a minimal perfect hash and answers with
+ * lists that were built when the version was published, so {@link #findById(String)},
+ * {@link #findByType(ExerciseType)} and the other indexed finders allocate nothing. Writers
+ * are serialized, apply their change to a private copy of the catalog and publish the new
+ * version together with its query indexes and search index in one volatile write, so a reader
+ * sees either all of a write or none of it. A write therefore costs a rebuild of the whole
+ * catalog and both indexes; load many exercises with {@link #saveAll(Collection)} to pay for
+ * it once.
+ *
+ * Two differences from {@link InMemoryExerciseRepository} follow from sharing the results:
+ * the returned lists are unmodifiable, and an exercise mutated in place (for example by
+ * {@link Exercise#deactivate()}) only moves between the active and inactive lists once it is
+ * saved again.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class FrozenExerciseRepository implements ExerciseRepository {
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Map<String, Exercise> exercises = new HashMap<>();
+    private volatile Published published = new Published(new ExerciseCatalog(List.of(), 0));
+
+    /**
+     * Constructs a new, empty repository.
+     */
+    public FrozenExerciseRepository() {
+    }
+
+    @Override
+    public Exercise save(Exercise exercise) {
+        if (exercise == null) {
+            throw new IllegalArgumentException("Exercise cannot be null");
+        }
+        saveAll(List.of(exercise));
+        return exercise;
+    }
+
+    /**
+     * Saves several exercises and publishes them as a single new catalog version.
+     *
+     * @param exercisesToSave the exercises to save
+     * @throws IllegalArgumentException if the collection is null or contains null
+     */
+    public void saveAll(Collection<Exercise> exercisesToSave) {
+        if (exercisesToSave == null) {
+            throw new IllegalArgumentException("Exercises cannot be null");
+        }
+        for (Exercise exercise : exercisesToSave) {
+            if (exercise == null) {
+                throw new IllegalArgumentException("Exercise cannot be null");
+            }
+        }
+        writeLock.lock();
+        try {
+            for (Exercise exercise : exercisesToSave) {
+                exercises.put(exercise.getExerciseId(), exercise);
+            }
+            publish();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Exercise> findById(String exerciseId) {
+        if (exerciseId == null || exerciseId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Exercise ID cannot be null or empty");
+        }
+        return published.catalog.findById(exerciseId);
+    }
+
+    @Override
+    public List<Exercise> findByType(ExerciseType type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Type cannot be null");
+        }
+        return published.catalog.byType(type);
+    }
+
+    @Override
+    public List<Exercise> findByDifficulty(DifficultyLevel difficulty) {
+        if (difficulty == null) {
+            throw new IllegalArgumentException("Difficulty cannot be null");
+        }
+        return published.catalog.byDifficulty(difficulty);
+    }
+
+    @Override
+    public List<Exercise> findSuitableFor(DifficultyLevel difficulty) {
+        if (difficulty == null) {
+            throw new IllegalArgumentException("Difficulty cannot be null");
+        }
+        return published.catalog.suitableFor(difficulty);
+    }
+
+    @Override
+    public List<Exercise> findByTargetMuscle(String muscleGroup) {
+        if (muscleGroup == null || muscleGroup.trim().isEmpty()) {
+            throw new IllegalArgumentException("Muscle group cannot be null or empty");
+        }
+        return published.catalog.findByTargetMuscle(muscleGroup);
+    }
+
+    @Override
+    public List<Exercise> findByEquipment(String equipment) {
+        if (equipment == null || equipment.trim().isEmpty()) {
+            throw new IllegalArgumentException("Equipment cannot be null or empty");
+        }
+        return published.catalog.findByEquipment(equipment);
+    }
+
+    @Override
+    public List<Exercise> findActiveExercises() {
+        return published.catalog.active();
+    }
+
+    @Override
+    public List<Exercise> findInactiveExercises() {
+        return published.catalog.inactive();
+    }
+
+    @Override
+    public List<Exercise> findAll() {
+        return published.catalog.all();
+    }
+
+    @Override
+    public List<Exercise> searchByName(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            throw new IllegalArgumentException("Name cannot be null or empty");
+        }
+        return published.catalog.searchByName(name);
+    }
+
+    @Override
+    public List<Exercise> searchText(String text, int limit) {
+        if (text == null || text.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search text cannot be null or empty");
+        }
+        List<Exercise> result = new ArrayList<>();
+        for (SearchHit hit : published.searchIndex.search(text, limit)) {
+            result.add(hit.getExercise());
+        }
+        return result;
+    }
+
+    @Override
+    public boolean existsById(String exerciseId) {
+        return findById(exerciseId).isPresent();
+    }
+
+    @Override
+    public boolean deleteById(String exerciseId) {
+        if (exerciseId == null || exerciseId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Exercise ID cannot be null or empty");
+        }
+        writeLock.lock();
+        try {
+            Exercise removed = exercises.remove(exerciseId);
+            if (removed == null) {
+                return false;
+            }
+            publish();
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        return published.catalog.all().size();
+    }
+
+    @Override
+    public long countByType(ExerciseType type) {
+        return findByType(type).size();
+    }
+
+    @Override
+    public long countByDifficulty(DifficultyLevel difficulty) {
+        return findByDifficulty(difficulty).size();
+    }
+
+    @Override
+    public long countActiveExercises() {
+        return published.catalog.active().size();
+    }
+
+    @Override
+    public long countByTargetMuscle(String muscleGroup) {
+        return findByTargetMuscle(muscleGroup).size();
+    }
+
+    /**
+     * Returns the number of the current catalog version, which every write increments.
+     *
+     * @return the catalog version
+     */
+    public long getVersion() {
+        return published.catalog.version();
+    }
+
+    /**
+     * Returns the full-text index of the current catalog version, which answers
+     * {@link #searchText(String, int)}. The next write publishes a new index.
+     *
+     * @return the search index
+     */
+    public ExerciseSearchIndex getSearchIndex() {
+        return published.searchIndex;
+    }
+
+    @Override
+    public List<Exercise> query(Query<Exercise> query) {
+        return published.queryEngine.execute(query);
+    }
+
+    @Override
+    public QueryPlan explain(Query<Exercise> query) {
+        return published.queryEngine.plan(query);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    /**
+     * Builds the next catalog version from the master map and publishes it. Callers hold the
+     * write lock.
+     */
+    private void publish() {
+        published = new Published(new ExerciseCatalog(exercises.values(), published.catalog.version() + 1));
+    }
+
+    /**
+     * A catalog version with the query and search indexes built from it, published as a whole.
+     */
+    private static final class Published {
+        final ExerciseCatalog catalog;
+        final QueryEngine<Exercise> queryEngine;
+        final ExerciseSearchIndex searchIndex = new ExerciseSearchIndex();
+
+        Published(ExerciseCatalog catalog) {
+            this.catalog = catalog;
+            this.queryEngine = new QueryEngine<Exercise>(catalog::all, Exercise::getExerciseId);
+            queryEngine.addIndex(ExerciseAttributes.TYPE);
+            queryEngine.addIndex(ExerciseAttributes.DIFFICULTY);
+            for (Exercise exercise : catalog.all()) {
+                searchIndex.index(exercise);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package hyminh.uth.domain.repository.impl;
+
+import hyminh.uth.domain.entity.Member;
+
+/**
+ * Access for repositories built from in-memory repositories (such as the shards of a sharded
+ * repository) to writes that ordinary callers must not make.
+ *
+ * Application code must not use this class: save members with
+ * {@link InMemoryMemberRepository#save(Member)} or
+ * {@link InMemoryMemberRepository#compareAndSave(Member)}.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class InMemoryAccess {
+
+    private InMemoryAccess() {
+    }
+
+    /**
+     * Stores a member with the version it already carries. The owning repository checks and
+     * advances the version itself, so a copy of the member keeps that version instead of
+     * restarting from the target repository's count.
+     *
+     * @param repository the repository to write to
+     * @param member the member to store
+     * @throws IllegalArgumentException if any parameter is null, or the user ID belongs to
+     *                                  another member of the repository
+     */
+    public static void put(InMemoryMemberRepository repository, Member member) {
+        if (repository == null) {
+            throw new IllegalArgumentException("Repository cannot be null");
+        }
+        repository.put(member);
+    }
+}
@@ -1,12 +1,18 @@
 package hyminh.uth.domain.repository.impl;
 
 import hyminh.uth.domain.entity.Exercise;
+import hyminh.uth.domain.query.ExerciseAttributes;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryEngine;
+import hyminh.uth.domain.query.QueryPlan;
+import hyminh.uth.domain.query.ScanExecutor;
 import hyminh.uth.domain.repository.ExerciseRepository;
+import hyminh.uth.domain.search.ExerciseSearchIndex;
+import hyminh.uth.domain.search.SearchHit;
 import hyminh.uth.domain.valueobject.ExerciseType;
 import hyminh.uth.domain.valueobject.DifficultyLevel;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * Triển khai trong bộ nhớ của ExerciseRepository.
@@ -18,6 +24,32 @@ import java.util.stream.Collectors;
 public class InMemoryExerciseRepository implements ExerciseRepository {
     
     private final Map<String, Exercise> exercises = new ConcurrentHashMap<>();
+    private final ScanExecutor scanExecutor;
+    private final QueryEngine<Exercise> queryEngine;
+    private final ExerciseSearchIndex searchIndex = new ExerciseSearchIndex();
+    
+    /**
+     * Constructs a new repository whose scans use its own scan executor on the shared pool.
+     */
+    public InMemoryExerciseRepository() {
+        this(new ScanExecutor());
+    }
+    
+    /**
+     * Constructs a new repository whose scans use the given scan executor.
+     * 
+     * @param scanExecutor decides whether finders scan sequentially or in parallel
+     * @throws IllegalArgumentException if scanExecutor is null
+     */
+    public InMemoryExerciseRepository(ScanExecutor scanExecutor) {
+        if (scanExecutor == null) {
+            throw new IllegalArgumentException("Scan executor cannot be null");
+        }
+        this.scanExecutor = scanExecutor;
+        this.queryEngine = new QueryEngine<Exercise>(exercises::values, Exercise::getExerciseId, scanExecutor);
+        queryEngine.addIndex(ExerciseAttributes.TYPE);
+        queryEngine.addIndex(ExerciseAttributes.DIFFICULTY);
+    }
     
     @Override
     public Exercise save(Exercise exercise) {
@@ -25,6 +57,8 @@ public class InMemoryExerciseRepository implements ExerciseRepository {
             throw new IllegalArgumentException("Exercise cannot be null");
         }
         exercises.put(exercise.getExerciseId(), exercise);
+        queryEngine.indexed(exercise);
+        searchIndex.index(exercise);
         return exercise;
     }
     
@@ -41,9 +75,7 @@ public class InMemoryExerciseRepository implements ExerciseRepository {
         if (type == null) {
             throw new IllegalArgumentException("Type cannot be null");
         }
-        return exercises.values().stream()
-                .filter(exercise -> exercise.getType() == type)
-                .collect(Collectors.toList());
+        return scanExecutor.filter(exercises.values(), exercise -> exercise.getType() == type);
     }
     
     @Override
@@ -51,9 +83,7 @@ public class InMemoryExerciseRepository implements ExerciseRepository {
         if (difficulty == null) {
             throw new IllegalArgumentException("Difficulty cannot be null");
         }
-        return exercises.values().stream()
-                .filter(exercise -> exercise.getDifficulty() == difficulty)
-                .collect(Collectors.toList());
+        return scanExecutor.filter(exercises.values(), exercise -> exercise.getDifficulty() == difficulty);
     }
     
     @Override
@@ -61,9 +91,7 @@ public class InMemoryExerciseRepository implements ExerciseRepository {
         if (difficulty == null) {
             throw new IllegalArgumentException("Difficulty cannot be null");
         }
-        return exercises.values().stream()
-                .filter(exercise -> exercise.isSuitableFor(difficulty))
-                .collect(Collectors.toList());
+        return scanExecutor.filter(exercises.values(), exercise -> exercise.isSuitableFor(difficulty));
     }
     
     @Override
@@ -71,9 +99,7 @@ public class InMemoryExerciseRepository implements ExerciseRepository {
         if (muscleGroup == null || muscleGroup.trim().isEmpty()) {
             throw new IllegalArgumentException("Muscle group cannot be null or empty");
         }
-        return exercises.values().stream()
-                .filter(exercise -> exercise.targetsMuscleGroup(muscleGroup))
-                .collect(Collectors.toList());
+        return scanExecutor.filter(exercises.values(), exercise -> exercise.targetsMuscleGroup(muscleGroup));
     }
     
     @Override
@@ -81,23 +107,17 @@ public class InMemoryExerciseRepository implements ExerciseRepository {
         if (equipment == null || equipment.trim().isEmpty()) {
             throw new IllegalArgumentException("Equipment cannot be null or empty");
         }
-        return exercises.values().stream()
-                .filter(exercise -> exercise.requiresEquipment(equipment))
-                .collect(Collectors.toList());
+        return scanExecutor.filter(exercises.values(), exercise -> exercise.requiresEquipment(equipment));
     }
     
     @Override
     public List<Exercise> findActiveExercises() {
-        return exercises.values().stream()
-                .filter(Exercise::isActive)
-                .collect(Collectors.toList());
+        return scanExecutor.filter(exercises.values(), Exercise::isActive);
     }
     
     @Override
     public List<Exercise> findInactiveExercises() {
-        return exercises.values().stream()
-                .filter(exercise -> !exercise.isActive())
-                .collect(Collectors.toList());
+        return scanExecutor.filter(exercises.values(), exercise -> !exercise.isActive());
     }
     
     @Override
@@ -111,9 +131,20 @@ public class InMemoryExerciseRepository implements ExerciseRepository {
             throw new IllegalArgumentException("Name cannot be null or empty");
         }
         String searchTerm = name.toLowerCase();
-        return exercises.values().stream()
-                .filter(exercise -> exercise.getName().toLowerCase().contains(searchTerm))
-                .collect(Collectors.toList());
+        return scanExecutor.filter(exercises.values(),
+                exercise -> exercise.getName().toLowerCase().contains(searchTerm));
+    }
+    
+    @Override
+    public List<Exercise> searchText(String text, int limit) {
+        if (text == null || text.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search text cannot be null or empty");
+        }
+        List<Exercise> result = new ArrayList<>();
+        for (SearchHit hit : searchIndex.search(text, limit)) {
+            result.add(hit.getExercise());
+        }
+        return result;
     }
     
     @Override
@@ -129,7 +160,13 @@ public class InMemoryExerciseRepository implements ExerciseRepository {
         if (exerciseId == null || exerciseId.trim().isEmpty()) {
             throw new IllegalArgumentException("Exercise ID cannot be null or empty");
         }
-        return exercises.remove(exerciseId) != null;
+        Exercise removed = exercises.remove(exerciseId);
+        if (removed == null) {
+            return false;
+        }
+        queryEngine.removed(removed);
+        searchIndex.remove(exerciseId);
+        return true;
     }
     
     @Override
@@ -142,9 +179,7 @@ public class InMemoryExerciseRepository implements ExerciseRepository {
         if (type == null) {
             throw new IllegalArgumentException("Type cannot be null");
         }
-        return exercises.values().stream()
-                .filter(exercise -> exercise.getType() == type)
-                .count();
+        return scanExecutor.count(exercises.values(), exercise -> exercise.getType() == type);
     }
     
     @Override
@@ -152,16 +187,12 @@ public class InMemoryExerciseRepository implements ExerciseRepository {
         if (difficulty == null) {
             throw new IllegalArgumentException("Difficulty cannot be null");
         }
-        return exercises.values().stream()
-                .filter(exercise -> exercise.getDifficulty() == difficulty)
-                .count();
+        return scanExecutor.count(exercises.values(), exercise -> exercise.getDifficulty() == difficulty);
     }
     
     @Override
     public long countActiveExercises() {
-        return exercises.values().stream()
-                .filter(Exercise::isActive)
-                .count();
+        return scanExecutor.count(exercises.values(), Exercise::isActive);
     }
     
     @Override
@@ -169,8 +200,35 @@ public class InMemoryExerciseRepository implements ExerciseRepository {
         if (muscleGroup == null || muscleGroup.trim().isEmpty()) {
             throw new IllegalArgumentException("Muscle group cannot be null or empty");
         }
-        return exercises.values().stream()
-                .filter(exercise -> exercise.targetsMuscleGroup(muscleGroup))
-                .count();
+        return scanExecutor.count(exercises.values(), exercise -> exercise.targetsMuscleGroup(muscleGroup));
+    }
+    
+    /**
+     * Returns the executor used by this repository's scans, e.g. to switch its mode.
+     * 
+     * @return the scan executor
+     */
+    public ScanExecutor getScanExecutor() {
+        return scanExecutor;
+    }
+    
+    /**
+     * Returns the full-text index behind {@link #searchText(String, int)}, e.g. to read the
+     * relevance scores of the hits.
+     * 
+     * @return the search index
+     */
+    public ExerciseSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+    
+    @Override
+    public List<Exercise> query(Query<Exercise> query) {
+        return queryEngine.execute(query);
+    }
+    
+    @Override
+    public QueryPlan explain(Query<Exercise> query) {
+        return queryEngine.plan(query);
     }
 }
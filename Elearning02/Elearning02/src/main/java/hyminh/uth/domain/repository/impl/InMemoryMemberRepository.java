@@ -1,6 +1,12 @@
 package hyminh.uth.domain.repository.impl;
 
 import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.PersistenceAccess;
+import hyminh.uth.domain.query.MemberAttributes;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryEngine;
+import hyminh.uth.domain.query.QueryPlan;
+import hyminh.uth.domain.query.ScanExecutor;
 import hyminh.uth.domain.repository.MemberRepository;
 import hyminh.uth.domain.valueobject.MemberId;
 import java.time.LocalDate;
@@ -20,9 +26,60 @@ public class InMemoryMemberRepository implements MemberRepository {
     private final Map<MemberId, Member> members = new ConcurrentHashMap<>();
     private final Map<String, MemberId> userIdToMemberId = new ConcurrentHashMap<>();
     private final Map<String, Set<MemberId>> trainerToMembers = new ConcurrentHashMap<>();
+    private final ScanExecutor scanExecutor;
+    private final QueryEngine<Member> queryEngine;
+    
+    /**
+     * Constructs a new repository whose scans use its own scan executor on the shared pool.
+     */
+    public InMemoryMemberRepository() {
+        this(new ScanExecutor());
+    }
+    
+    /**
+     * Constructs a new repository whose scans use the given scan executor.
+     * 
+     * @param scanExecutor decides whether finders scan sequentially or in parallel
+     * @throws IllegalArgumentException if scanExecutor is null
+     */
+    public InMemoryMemberRepository(ScanExecutor scanExecutor) {
+        if (scanExecutor == null) {
+            throw new IllegalArgumentException("Scan executor cannot be null");
+        }
+        this.scanExecutor = scanExecutor;
+        this.queryEngine = new QueryEngine<Member>(members::values, Member::getMemberId, scanExecutor);
+        queryEngine.addIndex(MemberAttributes.REGISTRATION_MONTH);
+    }
     
     @Override
     public Member save(Member member) {
+        store(member, false);
+        return member;
+    }
+    
+    @Override
+    public boolean compareAndSave(Member member) {
+        return store(member, true);
+    }
+    
+    /**
+     * Stores a member with the version it already carries, without checking or advancing it.
+     * Used by {@link InMemoryAccess} for copies whose version is owned by another repository.
+     */
+    void put(Member member) {
+        store(member, false, true);
+    }
+    
+    private boolean store(Member member, boolean checkVersion) {
+        return store(member, checkVersion, false);
+    }
+    
+    /**
+     * Writes a member. The version check, the version bump and the replacement of the stored
+     * member happen inside one {@code compute} on the member ID, so two compare-and-set saves
+     * of the same member cannot both succeed.
+     */
+    private boolean store(Member member, boolean checkVersion, boolean keepVersion) {
         if (member == null) {
             throw new IllegalArgumentException("Member cannot be null");
         }
@@ -38,22 +95,33 @@ public class InMemoryMemberRepository implements MemberRepository {
             }
         }
         
-        // Remove old mappings if updating existing member
-        Member existingMember = members.get(memberId);
-        if (existingMember != null) {
-            userIdToMemberId.remove(existingMember.getUserId());
-            // Remove from trainer mappings
-            removeFromTrainerMappings(existingMember);
-        }
-        
-        // Save member and update mappings
-        members.put(memberId, member);
-        userIdToMemberId.put(userId, memberId);
-        
-        // Add to trainer mappings
-        addToTrainerMappings(member);
-        
-        return member;
+        boolean[] stored = new boolean[1];
+        members.compute(memberId, (id, existingMember) -> {
+            long storedVersion = existingMember != null ? existingMember.getVersion() : 0;
+            if (checkVersion && storedVersion != member.getVersion()) {
+                return existingMember;   // Bị ghi đè bởi lần lưu khác, để người gọi thử lại
+            }
+            
+            // Remove old mappings if updating existing member
+            if (existingMember != null) {
+                userIdToMemberId.remove(existingMember.getUserId());
+                // Remove from trainer mappings
+                removeFromTrainerMappings(existingMember);
+            }
+            
+            // Save member and update mappings
+            if (!keepVersion) {
+                PersistenceAccess.setVersion(member, storedVersion + 1);
+            }
+            userIdToMemberId.put(userId, memberId);
+            queryEngine.indexed(member);
+            
+            // Add to trainer mappings
+            addToTrainerMappings(member);
+            stored[0] = true;
+            return member;
+        });
+        return stored[0];
     }
     
     @Override
@@ -78,9 +146,7 @@ public class InMemoryMemberRepository implements MemberRepository {
         if (date == null) {
             throw new IllegalArgumentException("Date cannot be null");
         }
-        return members.values().stream()
-                .filter(member -> member.getRegistrationDate().isAfter(date))
-                .collect(Collectors.toList());
+        return scanExecutor.filter(members.values(), member -> member.getRegistrationDate().isAfter(date));
     }
     
     @Override
@@ -88,23 +154,17 @@ public class InMemoryMemberRepository implements MemberRepository {
         if (date == null) {
             throw new IllegalArgumentException("Date cannot be null");
         }
-        return members.values().stream()
-                .filter(member -> member.getRegistrationDate().isBefore(date))
-                .collect(Collectors.toList());
+        return scanExecutor.filter(members.values(), member -> member.getRegistrationDate().isBefore(date));
     }
     
     @Override
     public List<Member> findWithActiveSubscriptions() {
-        return members.values().stream()
-                .filter(Member::hasActiveSubscription)
-                .collect(Collectors.toList());
+        return scanExecutor.filter(members.values(), Member::hasActiveSubscription);
     }
     
     @Override
     public List<Member> findWithoutActiveSubscriptions() {
-        return members.values().stream()
-                .filter(member -> !member.hasActiveSubscription())
-                .collect(Collectors.toList());
+        return scanExecutor.filter(members.values(), member -> !member.hasActiveSubscription());
     }
     
     @Override
@@ -124,16 +184,12 @@ public class InMemoryMemberRepository implements MemberRepository {
     
     @Override
     public List<Member> findActiveMembers() {
-        return members.values().stream()
-                .filter(Member::isActive)
-                .collect(Collectors.toList());
+        return scanExecutor.filter(members.values(), Member::isActive);
     }
     
     @Override
     public List<Member> findInactiveMembers() {
-        return members.values().stream()
-                .filter(member -> !member.isActive())
-                .collect(Collectors.toList());
+        return scanExecutor.filter(members.values(), member -> !member.isActive());
     }
     
     @Override
@@ -167,6 +223,7 @@ public class InMemoryMemberRepository implements MemberRepository {
         if (member != null) {
             userIdToMemberId.remove(member.getUserId());
             removeFromTrainerMappings(member);
+            queryEngine.removed(member);
             return true;
         }
         return false;
@@ -179,16 +236,12 @@ public class InMemoryMemberRepository implements MemberRepository {
     
     @Override
     public long countWithActiveSubscriptions() {
-        return members.values().stream()
-                .filter(Member::hasActiveSubscription)
-                .count();
+        return scanExecutor.count(members.values(), Member::hasActiveSubscription);
     }
     
     @Override
     public long countWithoutActiveSubscriptions() {
-        return members.values().stream()
-                .filter(member -> !member.hasActiveSubscription())
-                .count();
+        return scanExecutor.count(members.values(), member -> !member.hasActiveSubscription());
     }
     
     @Override
@@ -209,12 +262,10 @@ public class InMemoryMemberRepository implements MemberRepository {
             throw new IllegalArgumentException("Month must be between 1 and 12");
         }
         
-        return members.values().stream()
-                .filter(member -> {
-                    LocalDate regDate = member.getRegistrationDate();
-                    return regDate.getYear() == year && regDate.getMonthValue() == month;
-                })
-                .count();
+        return scanExecutor.count(members.values(), member -> {
+            LocalDate regDate = member.getRegistrationDate();
+            return regDate.getYear() == year && regDate.getMonthValue() == month;
+        });
     }
     
     private void addToTrainerMappings(Member member) {
@@ -226,4 +277,23 @@ public class InMemoryMemberRepository implements MemberRepository {
         // This would need to be implemented based on how trainers are assigned
         // For now, we'll leave this as a placeholder
     }
+    
+    /**
+     * Returns the executor used by this repository's scans, e.g. to switch its mode.
+     * 
+     * @return the scan executor
+     */
+    public ScanExecutor getScanExecutor() {
+        return scanExecutor;
+    }
+    
+    @Override
+    public List<Member> query(Query<Member> query) {
+        return queryEngine.execute(query);
+    }
+    
+    @Override
+    public QueryPlan explain(Query<Member> query) {
+        return queryEngine.plan(query);
+    }
 }
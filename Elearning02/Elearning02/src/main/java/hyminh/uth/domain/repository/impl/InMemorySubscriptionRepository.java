@@ -1,31 +1,94 @@
 package hyminh.uth.domain.repository.impl;
 
 import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.query.SubscriptionAttributes;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryEngine;
+import hyminh.uth.domain.query.QueryPlan;
+import hyminh.uth.domain.query.ScanExecutor;
+import hyminh.uth.domain.index.SubscriptionRevenueIndex;
 import hyminh.uth.domain.repository.SubscriptionRepository;
+import hyminh.uth.domain.exception.SubscriptionNotFoundException;
 import hyminh.uth.domain.valueobject.SubscriptionStatus;
+import hyminh.uth.domain.time.BusinessClock;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Triển khai trong bộ nhớ của SubscriptionRepository.
  * Triển khai này lưu trữ subscriptions trong bộ nhớ sử dụng cấu trúc dữ liệu đồng thời.
+ * Một lần ghi cập nhật map, chỉ mục truy vấn và chỉ mục doanh thu dưới khóa stripe của subscription,
+ * nên hai lần ghi cùng một subscription không thể để các chỉ mục ở hai trạng thái khác nhau.
  * 
  * @author Gym Management System
  * @version 1.0
  */
 public class InMemorySubscriptionRepository implements SubscriptionRepository {
     
+    private static final int LOCK_STRIPES = 64;
+    
     private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final SubscriptionRevenueIndex revenueIndex = new SubscriptionRevenueIndex();
+    private final ScanExecutor scanExecutor;
+    private final QueryEngine<Subscription> queryEngine;
+    private final ReentrantLock[] writeLocks = new ReentrantLock[LOCK_STRIPES];
+    
+    /**
+     * Constructs a new repository whose scans use its own scan executor on the shared pool.
+     */
+    public InMemorySubscriptionRepository() {
+        this(new ScanExecutor());
+    }
+    
+    /**
+     * Constructs a new repository whose scans use the given scan executor.
+     * 
+     * @param scanExecutor decides whether finders scan sequentially or in parallel
+     * @throws IllegalArgumentException if scanExecutor is null
+     */
+    public InMemorySubscriptionRepository(ScanExecutor scanExecutor) {
+        if (scanExecutor == null) {
+            throw new IllegalArgumentException("Scan executor cannot be null");
+        }
+        this.scanExecutor = scanExecutor;
+        this.queryEngine = new QueryEngine<Subscription>(subscriptions::values, Subscription::getSubscriptionId, scanExecutor);
+        queryEngine.addIndex(SubscriptionAttributes.PLAN_TYPE);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            writeLocks[i] = new ReentrantLock();
+        }
+    }
     
     @Override
     public Subscription save(Subscription subscription) {
         if (subscription == null) {
             throw new IllegalArgumentException("Subscription cannot be null");
         }
-        subscriptions.put(subscription.getSubscriptionId(), subscription);
-        return subscription;
+        ReentrantLock lock = stripe(subscription.getSubscriptionId());
+        lock.lock();
+        try {
+            subscriptions.put(subscription.getSubscriptionId(), subscription);
+            queryEngine.indexed(subscription);
+            revenueIndex.index(subscription);   // Cập nhật chỉ mục doanh thu (kể cả khi trạng thái thay đổi)
+            return subscription;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Override
+    public Subscription cancel(String subscriptionId) {
+        Subscription subscription = findById(subscriptionId)
+                .orElseThrow(() -> new SubscriptionNotFoundException("Subscription not found: " + subscriptionId));
+        ReentrantLock lock = stripe(subscriptionId);
+        lock.lock();
+        try {
+            subscription.cancel();   // Hủy và lập chỉ mục lại trong cùng một lần giữ khóa
+            return save(subscription);
+        } finally {
+            lock.unlock();
+        }
     }
     
     @Override
@@ -41,23 +104,19 @@ public class InMemorySubscriptionRepository implements SubscriptionRepository {
         if (status == null) {
             throw new IllegalArgumentException("Status cannot be null");
         }
-        return subscriptions.values().stream()
-                .filter(subscription -> subscription.getStatus() == status)
-                .collect(Collectors.toList());
+        return scanExecutor.filter(subscriptions.values(), subscription -> subscription.getStatus() == status);
     }
     
     @Override
     public List<Subscription> findActiveSubscriptions() {
-        return subscriptions.values().stream()
-                .filter(Subscription::isActive)
-                .collect(Collectors.toList());
+        LocalDate today = BusinessClock.today();   // Đọc đồng hồ một lần cho cả lượt quét
+        return scanExecutor.filter(subscriptions.values(), subscription -> subscription.isActive(today));
     }
     
     @Override
     public List<Subscription> findExpiredSubscriptions() {
-        return subscriptions.values().stream()
-                .filter(Subscription::isExpired)
-                .collect(Collectors.toList());
+        LocalDate today = BusinessClock.today();
+        return scanExecutor.filter(subscriptions.values(), subscription -> subscription.isExpired(today));
     }
     
     @Override
@@ -65,11 +124,11 @@ public class InMemorySubscriptionRepository implements SubscriptionRepository {
         if (date == null) {
             throw new IllegalArgumentException("Date cannot be null");
         }
-        return subscriptions.values().stream()
-                .filter(subscription -> !subscription.isExpired() && 
+        LocalDate today = BusinessClock.today();
+        return scanExecutor.filter(subscriptions.values(),
+                subscription -> !subscription.isExpired(today) && 
                         subscription.getEndDate().isBefore(date) || 
-                        subscription.getEndDate().isEqual(date))
-                .collect(Collectors.toList());
+                        subscription.getEndDate().isEqual(date));
     }
     
     @Override
@@ -77,9 +136,7 @@ public class InMemorySubscriptionRepository implements SubscriptionRepository {
         if (date == null) {
             throw new IllegalArgumentException("Date cannot be null");
         }
-        return subscriptions.values().stream()
-                .filter(subscription -> subscription.getStartDate().isAfter(date))
-                .collect(Collectors.toList());
+        return scanExecutor.filter(subscriptions.values(), subscription -> subscription.getStartDate().isAfter(date));
     }
     
     @Override
@@ -87,9 +144,7 @@ public class InMemorySubscriptionRepository implements SubscriptionRepository {
         if (date == null) {
             throw new IllegalArgumentException("Date cannot be null");
         }
-        return subscriptions.values().stream()
-                .filter(subscription -> subscription.getEndDate().isBefore(date))
-                .collect(Collectors.toList());
+        return scanExecutor.filter(subscriptions.values(), subscription -> subscription.getEndDate().isBefore(date));
     }
     
     @Override
@@ -97,9 +152,7 @@ public class InMemorySubscriptionRepository implements SubscriptionRepository {
         if (date == null) {
             throw new IllegalArgumentException("Date cannot be null");
         }
-        return subscriptions.values().stream()
-                .filter(subscription -> subscription.getCreatedAt().equals(date))
-                .collect(Collectors.toList());
+        return scanExecutor.filter(subscriptions.values(), subscription -> subscription.getCreatedAt().equals(date));
     }
     
     @Override
@@ -120,7 +173,19 @@ public class InMemorySubscriptionRepository implements SubscriptionRepository {
         if (subscriptionId == null || subscriptionId.trim().isEmpty()) {
             throw new IllegalArgumentException("Subscription ID cannot be null or empty");
         }
-        return subscriptions.remove(subscriptionId) != null;
+        ReentrantLock lock = stripe(subscriptionId);
+        lock.lock();
+        try {
+            Subscription removed = subscriptions.remove(subscriptionId);
+            if (removed == null) {
+                return false;
+            }
+            queryEngine.removed(removed);
+            revenueIndex.remove(subscriptionId);
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
     
     @Override
@@ -133,23 +198,19 @@ public class InMemorySubscriptionRepository implements SubscriptionRepository {
         if (status == null) {
             throw new IllegalArgumentException("Status cannot be null");
         }
-        return subscriptions.values().stream()
-                .filter(subscription -> subscription.getStatus() == status)
-                .count();
+        return scanExecutor.count(subscriptions.values(), subscription -> subscription.getStatus() == status);
     }
     
     @Override
     public long countActiveSubscriptions() {
-        return subscriptions.values().stream()
-                .filter(Subscription::isActive)
-                .count();
+        LocalDate today = BusinessClock.today();
+        return scanExecutor.count(subscriptions.values(), subscription -> subscription.isActive(today));
     }
     
     @Override
     public long countExpiredSubscriptions() {
-        return subscriptions.values().stream()
-                .filter(Subscription::isExpired)
-                .count();
+        LocalDate today = BusinessClock.today();
+        return scanExecutor.count(subscriptions.values(), subscription -> subscription.isExpired(today));
     }
     
     @Override
@@ -157,25 +218,63 @@ public class InMemorySubscriptionRepository implements SubscriptionRepository {
         if (date == null) {
             throw new IllegalArgumentException("Date cannot be null");
         }
-        return subscriptions.values().stream()
-                .filter(subscription -> !subscription.isExpired() && 
+        LocalDate today = BusinessClock.today();
+        return scanExecutor.count(subscriptions.values(),
+                subscription -> !subscription.isExpired(today) && 
                         subscription.getEndDate().isBefore(date) || 
-                        subscription.getEndDate().isEqual(date))
-                .count();
+                        subscription.getEndDate().isEqual(date));
     }
     
     @Override
     public double calculateTotalRevenue() {
-        return subscriptions.values().stream()
-                .mapToDouble(Subscription::getAmount)
-                .sum();
+        return revenueIndex.getTotalRevenue();   // Số tiền không đổi sau khi lưu, nên chỉ mục luôn đúng
     }
     
     @Override
     public double calculateActiveRevenue() {
-        return subscriptions.values().stream()
-                .filter(Subscription::isActive)
-                .mapToDouble(Subscription::getAmount)
-                .sum();
+        // Quét trực tiếp: cancel()/updateStatus() trên đối tượng và việc hết hạn không đi qua save()
+        LocalDate today = BusinessClock.today();
+        double revenue = 0;
+        for (Subscription subscription : subscriptions.values()) {
+            if (subscription.isActive(today)) {
+                revenue += subscription.getAmount();
+            }
+        }
+        return revenue;
+    }
+    
+    /**
+     * Trả về chỉ mục doanh thu để truy vấn doanh thu theo khoảng ngày và loại gói.
+     * 
+     * @return chỉ mục doanh thu được cập nhật theo save/deleteById/cancel
+     */
+    public SubscriptionRevenueIndex getRevenueIndex() {
+        return revenueIndex;
+    }
+    
+    /**
+     * Returns the executor used by this repository's scans, e.g. to switch its mode.
+     * 
+     * @return the scan executor
+     */
+    public ScanExecutor getScanExecutor() {
+        return scanExecutor;
+    }
+    
+    @Override
+    public List<Subscription> query(Query<Subscription> query) {
+        return queryEngine.execute(query);
+    }
+    
+    @Override
+    public QueryPlan explain(Query<Subscription> query) {
+        return queryEngine.plan(query);
+    }
+    
+    // ========== CÁC PHƯƠNG THỨC HỖ TRỢ ==========
+    
+    private ReentrantLock stripe(String subscriptionId) {
+        int hash = subscriptionId.hashCode();
+        return writeLocks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
     }
 }
@@ -1,11 +1,15 @@
 package hyminh.uth.domain.repository.impl;
 
 import hyminh.uth.domain.entity.User;
+import hyminh.uth.domain.query.UserAttributes;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryEngine;
+import hyminh.uth.domain.query.QueryPlan;
+import hyminh.uth.domain.query.ScanExecutor;
 import hyminh.uth.domain.repository.UserRepository;
 import hyminh.uth.domain.valueobject.UserRole;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * In-memory implementation of UserRepository.
@@ -19,6 +23,30 @@ public class InMemoryUserRepository implements UserRepository {
     private final Map<String, User> users = new ConcurrentHashMap<>();
     private final Map<String, String> usernameToUserId = new ConcurrentHashMap<>();
     private final Map<String, String> emailToUserId = new ConcurrentHashMap<>();
+    private final ScanExecutor scanExecutor;
+    private final QueryEngine<User> queryEngine;
+    
+    /**
+     * Constructs a new repository whose scans use its own scan executor on the shared pool.
+     */
+    public InMemoryUserRepository() {
+        this(new ScanExecutor());
+    }
+    
+    /**
+     * Constructs a new repository whose scans use the given scan executor.
+     * 
+     * @param scanExecutor decides whether finders scan sequentially or in parallel
+     * @throws IllegalArgumentException if scanExecutor is null
+     */
+    public InMemoryUserRepository(ScanExecutor scanExecutor) {
+        if (scanExecutor == null) {
+            throw new IllegalArgumentException("Scan executor cannot be null");
+        }
+        this.scanExecutor = scanExecutor;
+        this.queryEngine = new QueryEngine<User>(users::values, User::getUserId, scanExecutor);
+        queryEngine.addIndex(UserAttributes.ROLE);
+    }
     
     @Override
     public User save(User user) {
@@ -57,6 +85,7 @@ public class InMemoryUserRepository implements UserRepository {
         users.put(userId, user);
         usernameToUserId.put(username, userId);
         emailToUserId.put(email, userId);
+        queryEngine.indexed(user);
         
         return user;
     }
@@ -92,23 +121,17 @@ public class InMemoryUserRepository implements UserRepository {
         if (role == null) {
             throw new IllegalArgumentException("Role cannot be null");
         }
-        return users.values().stream()
-                .filter(user -> user.getRole() == role)
-                .collect(Collectors.toList());
+        return scanExecutor.filter(users.values(), user -> user.getRole() == role);
     }
     
     @Override
     public List<User> findActiveUsers() {
-        return users.values().stream()
-                .filter(User::isActive)
-                .collect(Collectors.toList());
+        return scanExecutor.filter(users.values(), User::isActive);
     }
     
     @Override
     public List<User> findInactiveUsers() {
-        return users.values().stream()
-                .filter(user -> !user.isActive())
-                .collect(Collectors.toList());
+        return scanExecutor.filter(users.values(), user -> !user.isActive());
     }
     
     @Override
@@ -150,6 +173,7 @@ public class InMemoryUserRepository implements UserRepository {
         if (user != null) {
             usernameToUserId.remove(user.getUsername());
             emailToUserId.remove(user.getEmail());
+            queryEngine.removed(user);
             return true;
         }
         return false;
@@ -165,22 +189,35 @@ public class InMemoryUserRepository implements UserRepository {
         if (role == null) {
             throw new IllegalArgumentException("Role cannot be null");
         }
-        return users.values().stream()
-                .filter(user -> user.getRole() == role)
-                .count();
+        return scanExecutor.count(users.values(), user -> user.getRole() == role);
     }
     
     @Override
     public long countActiveUsers() {
-        return users.values().stream()
-                .filter(User::isActive)
-                .count();
+        return scanExecutor.count(users.values(), User::isActive);
     }
     
     @Override
     public long countInactiveUsers() {
-        return users.values().stream()
-                .filter(user -> !user.isActive())
-                .count();
+        return scanExecutor.count(users.values(), user -> !user.isActive());
+    }
+    
+    /**
+     * Returns the executor used by this repository's scans, e.g. to switch its mode.
+     * 
+     * @return the scan executor
+     */
+    public ScanExecutor getScanExecutor() {
+        return scanExecutor;
+    }
+    
+    @Override
+    public List<User> query(Query<User> query) {
+        return queryEngine.execute(query);
+    }
+    
+    @Override
+    public QueryPlan explain(Query<User> query) {
+        return queryEngine.plan(query);
     }
 }
@@ -0,0 +1,188 @@
+package hyminh.uth.domain.repository.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Minimal perfect hash function over a fixed set of string keys: each of the n keys maps to
+ * its own slot in 0..n-1, so a table of exactly n entries needs no probing and no chains.
+ *
+ * Built with hash-and-displace: keys are first spread over n / {@value #KEYS_PER_BUCKET}
+ * buckets, then, largest bucket first, each bucket is given the smallest displacement under
+ * which all its keys land on free slots. A lookup hashes the key once, reads the displacement
+ * of its bucket and mixes it in. Keys outside the set also map to some slot, so callers keep
+ * the key in the slot and compare it.
+ *
+ * The key hash starts from {@link String#hashCode()}, which strings cache, so a lookup does
+ * not walk the characters again. Only when two keys of the set share a hash code does the
+ * function hash the characters itself.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class MinimalPerfectHash {
+
+    private static final int KEYS_PER_BUCKET = 4;
+    private static final int MAX_DISPLACEMENT = 1 << 20;
+    private static final int MAX_ATTEMPTS = 16;
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private final boolean hashChars;
+    private final int size;
+    private final int[] displacements;
+
+    private MinimalPerfectHash(long seed, boolean hashChars, int size, int[] displacements) {
+        this.seed = seed;
+        this.hashChars = hashChars;
+        this.size = size;
+        this.displacements = displacements;
+    }
+
+    /**
+     * Builds the function for a set of distinct keys.
+     *
+     * @param keys the keys
+     * @return the function
+     * @throws IllegalArgumentException if keys is null or contains null or duplicate keys
+     */
+    static MinimalPerfectHash build(String[] keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("Keys cannot be null");
+        }
+        Set<String> distinct = new HashSet<>();
+        Set<Integer> hashCodes = new HashSet<>();
+        for (String key : keys) {
+            if (key == null || !distinct.add(key)) {
+                throw new IllegalArgumentException("Keys must be distinct and not null");
+            }
+            hashCodes.add(key.hashCode());
+        }
+        boolean hashChars = hashCodes.size() < keys.length;
+        long seed = GOLDEN;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            MinimalPerfectHash hash = tryBuild(keys, seed, hashChars);
+            if (hash != null) {
+                return hash;
+            }
+            // Hiếm: hai khoá trùng hash 64 bit hoặc một bucket không xếp được, thử lại với seed khác
+            seed = mix(seed + GOLDEN);
+        }
+        throw new IllegalStateException("Could not build a perfect hash for " + keys.length + " keys");
+    }
+
+    /**
+     * Returns the slot of a key of the set, or an arbitrary slot for other keys.
+     *
+     * @param key the key
+     * @return the slot in 0..size-1, or -1 if the set is empty
+     */
+    int slotOf(String key) {
+        if (size == 0) {
+            return -1;
+        }
+        long hash = hash(key, seed, hashChars);
+        return slot(hash, displacements[bucket(hash, displacements.length)], size);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // ========== BUILD ==========
+
+    private static MinimalPerfectHash tryBuild(String[] keys, long seed, boolean hashChars) {
+        int n = keys.length;
+        int bucketCount = Math.max(1, n / KEYS_PER_BUCKET);
+        long[] hashes = new long[n];
+        int[] bucketSizes = new int[bucketCount];
+        for (int i = 0; i < n; i++) {
+            hashes[i] = hash(keys[i], seed, hashChars);
+            bucketSizes[bucket(hashes[i], bucketCount)]++;
+        }
+        // Khoá của từng bucket nằm liền nhau trong members
+        int[] starts = new int[bucketCount + 1];
+        for (int b = 0; b < bucketCount; b++) {
+            starts[b + 1] = starts[b] + bucketSizes[b];
+        }
+        int[] fill = Arrays.copyOf(starts, bucketCount);
+        long[] members = new long[n];
+        for (int i = 0; i < n; i++) {
+            members[fill[bucket(hashes[i], bucketCount)]++] = hashes[i];
+        }
+        List<Integer> order = new ArrayList<>(bucketCount);
+        for (int b = 0; b < bucketCount; b++) {
+            order.add(b);
+        }
+        order.sort((a, b) -> Integer.compare(bucketSizes[b], bucketSizes[a]));
+
+        boolean[] taken = new boolean[n];
+        int[] displacements = new int[bucketCount];
+        int[] slots = new int[Math.max(1, Arrays.stream(bucketSizes).max().orElse(1))];
+        for (int b : order) {
+            int count = bucketSizes[b];
+            if (count == 0) {
+                break;
+            }
+            boolean placed = false;
+            for (int d = 0; d < MAX_DISPLACEMENT && !placed; d++) {
+                placed = true;
+                for (int j = 0; j < count && placed; j++) {
+                    int slot = slot(members[starts[b] + j], d, n);
+                    if (taken[slot]) {
+                        placed = false;
+                    }
+                    for (int other = 0; other < j && placed; other++) {
+                        placed = slots[other] != slot;
+                    }
+                    slots[j] = slot;
+                }
+                if (placed) {
+                    for (int j = 0; j < count; j++) {
+                        taken[slots[j]] = true;
+                    }
+                    displacements[b] = d;
+                }
+            }
+            if (!placed) {
+                return null;
+            }
+        }
+        return new MinimalPerfectHash(seed, hashChars, n, displacements);
+    }
+
+    // ========== HASHING ==========
+
+    /**
+     * Mixes the cached hash code with the seed, or, when hash codes collide, runs a 64-bit
+     * FNV-1a over the characters started from the seed and finished with the same mixer.
+     */
+    private static long hash(String key, long seed, boolean hashChars) {
+        if (!hashChars) {
+            return mix(seed ^ key.hashCode());
+        }
+        long hash = seed ^ 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static int bucket(long hash, int bucketCount) {
+        return (int) (((hash >>> 32) * bucketCount) >>> 32);
+    }
+
+    private static int slot(long hash, int displacement, int size) {
+        long mixed = mix(hash + (displacement + 1L) * GOLDEN);
+        return (int) (((mixed >>> 32) * size) >>> 32);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+}
@@ -0,0 +1,243 @@
+package hyminh.uth.domain.repository.jdbc;
+
+import hyminh.uth.domain.entity.Admin;
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.PersistenceAccess;
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.entity.Trainer;
+import hyminh.uth.domain.entity.User;
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.PlanType;
+import hyminh.uth.domain.valueobject.ProgressMetrics;
+import hyminh.uth.domain.valueobject.Specialization;
+import hyminh.uth.domain.valueobject.SubscriptionPlan;
+import hyminh.uth.domain.valueobject.SubscriptionStatus;
+import hyminh.uth.domain.valueobject.UserRole;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Column lists, row mappers and parameter binders for the tables of {@link JdbcSchema}.
+ *
+ * Every UPDATE and INSERT of a table binds its parameters in the same order (the key columns
+ * last), so one binder serves both statements and a batch can switch from one to the other.
+ * Column names are unique across the joined tables, so rows are read by label.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class EntityRows {
+
+    // ========== SQL ==========
+
+    static final String SUBSCRIPTION_COLUMNS = "s.subscription_id, s.plan_id, s.plan_name, "
+            + "s.plan_duration_months, s.plan_price, s.plan_description, s.plan_type, "
+            + "s.plan_personal_training, s.plan_group_classes, s.plan_locker_access, s.start_date, "
+            + "s.end_date, s.amount, s.status, s.created_on";
+    static final String USER_COLUMNS = "u.user_id, u.username, u.password, u.email, u.phone, u.role, "
+            + "u.created_at, u.last_modified_at, u.active";
+    static final String MEMBER_COLUMNS = "m.member_id, m.registration_date, m.current_subscription_id, "
+            + "m.progress_date, m.progress_weight, m.progress_body_fat, m.progress_workouts, "
+            + "m.progress_notes, m.schedule_ids, m.attendance_ids, m.version";
+    static final String TRAINER_COLUMNS = "t.specialization, t.certification_date, t.years_of_experience, "
+            + "t.available, t.trainer_schedule_ids";
+    static final String ADMIN_COLUMNS = "a.admin_since, a.admin_level, a.manage_users, "
+            + "a.manage_subscriptions, a.manage_reports, a.manage_system_settings";
+
+    static final String SUBSCRIPTION_SELECT = "SELECT " + SUBSCRIPTION_COLUMNS + " FROM gym_subscription s";
+    static final String MEMBER_SELECT = "SELECT " + USER_COLUMNS + ", " + MEMBER_COLUMNS + ", "
+            + SUBSCRIPTION_COLUMNS + " FROM gym_member m JOIN gym_user u ON u.user_id = m.user_id "
+            + "LEFT JOIN gym_subscription s ON s.subscription_id = m.current_subscription_id";
+    static final String USER_SELECT = "SELECT " + USER_COLUMNS + ", " + MEMBER_COLUMNS + ", "
+            + SUBSCRIPTION_COLUMNS + ", " + TRAINER_COLUMNS + ", " + ADMIN_COLUMNS + " FROM gym_user u "
+            + "LEFT JOIN gym_member m ON m.user_id = u.user_id "
+            + "LEFT JOIN gym_subscription s ON s.subscription_id = m.current_subscription_id "
+            + "LEFT JOIN gym_trainer t ON t.user_id = u.user_id "
+            + "LEFT JOIN gym_admin a ON a.user_id = u.user_id";
+
+    static final String SUBSCRIPTION_UPDATE = "UPDATE gym_subscription SET plan_id = ?, plan_name = ?, "
+            + "plan_duration_months = ?, plan_price = ?, plan_description = ?, plan_type = ?, "
+            + "plan_personal_training = ?, plan_group_classes = ?, plan_locker_access = ?, start_date = ?, "
+            + "end_date = ?, amount = ?, status = ?, created_on = ? WHERE subscription_id = ?";
+    static final String SUBSCRIPTION_INSERT = "INSERT INTO gym_subscription (plan_id, plan_name, "
+            + "plan_duration_months, plan_price, plan_description, plan_type, plan_personal_training, "
+            + "plan_group_classes, plan_locker_access, start_date, end_date, amount, status, created_on, "
+            + "subscription_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String USER_UPDATE = "UPDATE gym_user SET username = ?, password = ?, email = ?, phone = ?, "
+            + "created_at = ?, last_modified_at = ?, active = ? WHERE user_id = ? AND role = ?";
+    static final String USER_INSERT = "INSERT INTO gym_user (username, password, email, phone, created_at, "
+            + "last_modified_at, active, user_id, role) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String MEMBER_UPDATE = "UPDATE gym_member SET registration_date = ?, "
+            + "current_subscription_id = ?, progress_date = ?, progress_weight = ?, progress_body_fat = ?, "
+            + "progress_workouts = ?, progress_notes = ?, schedule_ids = ?, attendance_ids = ?, "
+            + "version = version + 1 WHERE user_id = ? AND member_id = ?";
+    /** MEMBER_UPDATE that only matches the stored version bound as the last parameter. */
+    static final String MEMBER_COMPARE_AND_UPDATE = MEMBER_UPDATE + " AND version = ?";
+    static final String MEMBER_INSERT = "INSERT INTO gym_member (registration_date, current_subscription_id, "
+            + "progress_date, progress_weight, progress_body_fat, progress_workouts, progress_notes, "
+            + "schedule_ids, attendance_ids, version, user_id, member_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 1, ?, ?)";
+    static final String TRAINER_UPDATE = "UPDATE gym_trainer SET specialization = ?, certification_date = ?, "
+            + "years_of_experience = ?, available = ?, trainer_schedule_ids = ? WHERE user_id = ?";
+    static final String TRAINER_INSERT = "INSERT INTO gym_trainer (specialization, certification_date, "
+            + "years_of_experience, available, trainer_schedule_ids, user_id) VALUES (?, ?, ?, ?, ?, ?)";
+    static final String ADMIN_UPDATE = "UPDATE gym_admin SET admin_since = ?, admin_level = ?, manage_users = ?, "
+            + "manage_subscriptions = ?, manage_reports = ?, manage_system_settings = ? WHERE user_id = ?";
+    static final String ADMIN_INSERT = "INSERT INTO gym_admin (admin_since, admin_level, manage_users, "
+            + "manage_subscriptions, manage_reports, manage_system_settings, user_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private EntityRows() {
+    }
+
+    // ========== ROW MAPPERS ==========
+
+    /**
+     * Reads the subscription columns of a row, or null when an outer join found none.
+     */
+    static Subscription subscription(ResultSet rows) throws SQLException {
+        String subscriptionId = rows.getString("subscription_id");
+        if (subscriptionId == null) {
+            return null;
+        }
+        SubscriptionPlan plan = new SubscriptionPlan(rows.getString("plan_id"), rows.getString("plan_name"),
+                rows.getInt("plan_duration_months"), rows.getDouble("plan_price"),
+                rows.getString("plan_description"), PlanType.valueOf(rows.getString("plan_type")),
+                rows.getBoolean("plan_personal_training"), rows.getBoolean("plan_group_classes"),
+                rows.getBoolean("plan_locker_access"));
+        return Subscription.restore(subscriptionId, plan, JdbcSupport.getDate(rows, "start_date"),
+                JdbcSupport.getDate(rows, "end_date"), rows.getDouble("amount"),
+                SubscriptionStatus.valueOf(rows.getString("status")), JdbcSupport.getDate(rows, "created_on"));
+    }
+
+    static Member member(ResultSet rows) throws SQLException {
+        MemberId memberId = new MemberId(rows.getString("member_id"));
+        ProgressMetrics progress = new ProgressMetrics(memberId.getValue(),
+                JdbcSupport.getDate(rows, "progress_date"), rows.getDouble("progress_weight"),
+                rows.getDouble("progress_body_fat"), rows.getInt("progress_workouts"),
+                rows.getString("progress_notes"));
+        Member member = Member.restore(rows.getString("user_id"), rows.getString("username"),
+                rows.getString("password"), rows.getString("email"), rows.getString("phone"), memberId,
+                JdbcSupport.getDate(rows, "registration_date"), JdbcSupport.getDateTime(rows, "created_at"),
+                JdbcSupport.getDateTime(rows, "last_modified_at"), rows.getBoolean("active"), subscription(rows),
+                JdbcSupport.fromJson(rows.getString("schedule_ids")),
+                JdbcSupport.fromJson(rows.getString("attendance_ids")), progress);
+        PersistenceAccess.setVersion(member, rows.getLong("version"));
+        return member;
+    }
+
+    /**
+     * Reads a trainer without its assigned members, which live in a child table; see
+     * {@link #withAssignedMembers(Trainer, List)}.
+     */
+    static Trainer trainer(ResultSet rows) throws SQLException {
+        return Trainer.restore(rows.getString("user_id"), rows.getString("username"), rows.getString("password"),
+                rows.getString("email"), rows.getString("phone"), JdbcSupport.getDateTime(rows, "created_at"),
+                JdbcSupport.getDateTime(rows, "last_modified_at"), rows.getBoolean("active"),
+                Specialization.valueOf(rows.getString("specialization")),
+                JdbcSupport.getDateTime(rows, "certification_date"), rows.getInt("years_of_experience"),
+                rows.getBoolean("available"), List.of(),
+                JdbcSupport.fromJson(rows.getString("trainer_schedule_ids")));
+    }
+
+    static Trainer withAssignedMembers(Trainer trainer, List<String> memberIds) {
+        return Trainer.restore(trainer.getUserId(), trainer.getUsername(), PersistenceAccess.passwordOf(trainer),
+                trainer.getEmail(), trainer.getPhone(), trainer.getCreatedAt(), trainer.getLastModifiedAt(),
+                trainer.isActive(), trainer.getSpecialization(), trainer.getCertificationDate(),
+                trainer.getYearsOfExperience(), trainer.isAvailable(), memberIds, trainer.getWorkoutScheduleIds());
+    }
+
+    static Admin admin(ResultSet rows) throws SQLException {
+        return Admin.restore(rows.getString("user_id"), rows.getString("username"), rows.getString("password"),
+                rows.getString("email"), rows.getString("phone"), JdbcSupport.getDateTime(rows, "created_at"),
+                JdbcSupport.getDateTime(rows, "last_modified_at"), rows.getBoolean("active"),
+                JdbcSupport.getDateTime(rows, "admin_since"), rows.getString("admin_level"),
+                rows.getBoolean("manage_users"), rows.getBoolean("manage_subscriptions"),
+                rows.getBoolean("manage_reports"), rows.getBoolean("manage_system_settings"));
+    }
+
+    /**
+     * Reads a row of {@link #USER_SELECT} as the subclass matching its role.
+     */
+    static User user(ResultSet rows) throws SQLException {
+        switch (UserRole.valueOf(rows.getString("role"))) {
+            case MEMBER:
+                return member(rows);
+            case TRAINER:
+                return trainer(rows);
+            case ADMIN:
+                return admin(rows);
+            default:
+                throw new IllegalStateException("Unknown role: " + rows.getString("role"));
+        }
+    }
+
+    // ========== BINDERS ==========
+
+    static void bindSubscription(PreparedStatement statement, Subscription subscription) throws SQLException {
+        SubscriptionPlan plan = subscription.getPlan();
+        statement.setString(1, plan.getPlanId());
+        statement.setString(2, plan.getPlanName());
+        statement.setInt(3, plan.getDurationMonths());
+        statement.setDouble(4, plan.getPrice());
+        statement.setString(5, plan.getDescription());
+        statement.setString(6, plan.getPlanType().name());
+        statement.setBoolean(7, plan.includesPersonalTraining());
+        statement.setBoolean(8, plan.includesGroupClasses());
+        statement.setBoolean(9, plan.includesLockerAccess());
+        JdbcSupport.setDate(statement, 10, subscription.getStartDate());
+        JdbcSupport.setDate(statement, 11, subscription.getEndDate());
+        statement.setDouble(12, subscription.getAmount());
+        statement.setString(13, subscription.getStatus().name());
+        JdbcSupport.setDate(statement, 14, subscription.getCreatedAt());
+        statement.setString(15, subscription.getSubscriptionId());
+    }
+
+    static void bindUser(PreparedStatement statement, User user) throws SQLException {
+        statement.setString(1, user.getUsername());
+        statement.setString(2, PersistenceAccess.passwordOf(user));
+        statement.setString(3, user.getEmail());
+        statement.setString(4, user.getPhone());
+        JdbcSupport.setDateTime(statement, 5, user.getCreatedAt());
+        JdbcSupport.setDateTime(statement, 6, user.getLastModifiedAt());
+        statement.setBoolean(7, user.isActive());
+        statement.setString(8, user.getUserId());
+        statement.setString(9, user.getRole().name());
+    }
+
+    static void bindMember(PreparedStatement statement, Member member) throws SQLException {
+        ProgressMetrics progress = member.getProgressMetrics();
+        Subscription subscription = member.getCurrentSubscription();
+        JdbcSupport.setDate(statement, 1, member.getRegistrationDate());
+        statement.setString(2, subscription != null ? subscription.getSubscriptionId() : null);
+        JdbcSupport.setDate(statement, 3, progress.getDate());
+        statement.setDouble(4, progress.getWeight());
+        statement.setDouble(5, progress.getBodyFat());
+        statement.setInt(6, progress.getWorkoutsCompleted());
+        statement.setString(7, progress.getNotes());
+        statement.setString(8, JdbcSupport.toJson(member.getWorkoutScheduleIds()));
+        statement.setString(9, JdbcSupport.toJson(member.getAttendanceIds()));
+        statement.setString(10, member.getUserId());
+        statement.setString(11, member.getMemberId().getValue());
+    }
+
+    static void bindTrainer(PreparedStatement statement, Trainer trainer) throws SQLException {
+        statement.setString(1, trainer.getSpecialization().name());
+        JdbcSupport.setDateTime(statement, 2, trainer.getCertificationDate());
+        statement.setInt(3, trainer.getYearsOfExperience());
+        statement.setBoolean(4, trainer.isAvailable());
+        statement.setString(5, JdbcSupport.toJson(trainer.getWorkoutScheduleIds()));
+        statement.setString(6, trainer.getUserId());
+    }
+
+    static void bindAdmin(PreparedStatement statement, Admin admin) throws SQLException {
+        JdbcSupport.setDateTime(statement, 1, admin.getAdminSince());
+        statement.setString(2, admin.getAdminLevel());
+        statement.setBoolean(3, admin.canManageUsers());
+        statement.setBoolean(4, admin.canManageSubscriptions());
+        statement.setBoolean(5, admin.canManageReports());
+        statement.setBoolean(6, admin.canManageSystemSettings());
+        statement.setString(7, admin.getUserId());
+    }
+}
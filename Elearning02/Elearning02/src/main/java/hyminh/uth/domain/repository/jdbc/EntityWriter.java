@@ -0,0 +1,441 @@
+package hyminh.uth.domain.repository.jdbc;
+
+import hyminh.uth.domain.entity.Admin;
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.PersistenceAccess;
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.entity.Trainer;
+import hyminh.uth.domain.entity.User;
+import hyminh.uth.domain.valueobject.UserRole;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes entities to the tables of {@link JdbcSchema} on a connection owned by the caller, who
+ * runs the calls in a transaction.
+ *
+ * Saves are upserts done as UPDATE first and INSERT for the rows that matched nothing, which
+ * every database supports and which costs one statement for the common case of saving a known
+ * entity. Collections are written with JDBC batches: one prepared statement per table, executed
+ * every {@value #BATCH_SIZE} rows. New rows are checked for clashing keys with one IN query per
+ * chunk, so only rows that replace an existing entity take the slow, row-by-row path.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class EntityWriter {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final int MAX_IN_PARAMETERS = 512;
+
+    private EntityWriter() {
+    }
+
+    // ========== SUBSCRIPTIONS ==========
+
+    static void saveSubscriptions(Connection connection, Collection<Subscription> subscriptions)
+            throws SQLException {
+        Map<String, Subscription> latest = new LinkedHashMap<>();
+        for (Subscription subscription : subscriptions) {
+            latest.put(subscription.getSubscriptionId(), subscription);
+        }
+        upsert(connection, EntityRows.SUBSCRIPTION_UPDATE, EntityRows.SUBSCRIPTION_INSERT,
+                new ArrayList<>(latest.values()), EntityRows::bindSubscription);
+    }
+
+    // ========== MEMBERS ==========
+
+    /**
+     * Saves members with their user rows and current subscriptions.
+     *
+     * @param strictUserId whether a user ID that belongs to another member is rejected, as
+     *                     MemberRepository does, rather than replaced, as UserRepository does
+     * @return the stored version of every saved member by member ID; apply it with
+     *         {@link #applyVersions(Collection, Map)} once the transaction has committed
+     * @throws IllegalArgumentException if strictUserId is set and a user ID belongs to another member
+     */
+    static Map<String, Long> saveMembers(Connection connection, Collection<Member> members, boolean strictUserId)
+            throws SQLException {
+        Map<String, Member> latest = new LinkedHashMap<>();
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (Member member : members) {
+            latest.put(member.getMemberId().getValue(), member);
+            if (member.getCurrentSubscription() != null) {
+                subscriptions.add(member.getCurrentSubscription());
+            }
+        }
+        List<Member> rows = new ArrayList<>(latest.values());
+        List<Member> missing = new ArrayList<>();
+        List<Member> updated = new ArrayList<>();
+        split(connection, EntityRows.MEMBER_UPDATE, rows, EntityRows::bindMember, updated, missing);
+        batch(connection, EntityRows.USER_UPDATE, updated, EntityRows::bindUser);
+
+        if (!missing.isEmpty()) {
+            List<String> userIds = new ArrayList<>(missing.size());
+            List<String> memberIds = new ArrayList<>(missing.size());
+            for (Member member : missing) {
+                userIds.add(member.getUserId());
+                memberIds.add(member.getMemberId().getValue());
+            }
+            Set<String> takenUserIds = existing(connection, "SELECT user_id FROM gym_user WHERE user_id", userIds);
+            Set<String> takenMemberIds = existing(connection,
+                    "SELECT member_id FROM gym_member WHERE member_id", memberIds);
+            List<Member> fresh = new ArrayList<>(missing.size());
+            for (Member member : missing) {
+                if (takenUserIds.contains(member.getUserId())
+                        || takenMemberIds.contains(member.getMemberId().getValue())) {
+                    replaceMember(connection, member, strictUserId);
+                } else {
+                    fresh.add(member);
+                }
+            }
+            batch(connection, EntityRows.USER_INSERT, fresh, EntityRows::bindUser);
+            batch(connection, EntityRows.MEMBER_INSERT, fresh, EntityRows::bindMember);
+        }
+        saveSubscriptions(connection, subscriptions);
+        return versions(connection, new ArrayList<>(latest.keySet()));
+    }
+
+    /**
+     * Saves a member only if its stored version still equals {@link Member#getVersion()}; a
+     * member that is not stored is inserted if its version is 0.
+     *
+     * @return whether the member was saved; its version is not changed here
+     */
+    static boolean compareAndSaveMember(Connection connection, Member member) throws SQLException {
+        int updated = JdbcSupport.update(connection, EntityRows.MEMBER_COMPARE_AND_UPDATE, statement -> {
+            EntityRows.bindMember(statement, member);
+            statement.setLong(12, member.getVersion());
+        });
+        if (updated > 0) {
+            JdbcSupport.update(connection, EntityRows.USER_UPDATE, statement -> EntityRows.bindUser(statement, member));
+            if (member.getCurrentSubscription() != null) {
+                saveSubscriptions(connection, List.of(member.getCurrentSubscription()));
+            }
+            return true;
+        }
+        if (member.getVersion() != 0 || !existing(connection, "SELECT member_id FROM gym_member WHERE member_id",
+                List.of(member.getMemberId().getValue())).isEmpty()) {
+            return false;
+        }
+        saveMembers(connection, List.of(member), true);
+        return true;
+    }
+
+    /**
+     * Sets the versions read by {@link #saveMembers(Connection, Collection, boolean)} on the members.
+     */
+    static void applyVersions(Collection<? extends User> users, Map<String, Long> versions) {
+        for (User user : users) {
+            if (user instanceof Member) {
+                Member member = (Member) user;
+                Long version = versions.get(member.getMemberId().getValue());
+                if (version != null) {
+                    PersistenceAccess.setVersion(member, version);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Long> versions(Connection connection, List<String> memberIds) throws SQLException {
+        Map<String, Long> versions = new HashMap<>();
+        for (int from = 0; from < memberIds.size(); from += MAX_IN_PARAMETERS) {
+            List<String> chunk = memberIds.subList(from, Math.min(memberIds.size(), from + MAX_IN_PARAMETERS));
+            int size = paddedSize(chunk.size());
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT member_id, version FROM gym_member WHERE member_id IN " + placeholders(size))) {
+                bindPadded(statement, chunk, size);
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        versions.put(rows.getString(1), rows.getLong(2));
+                    }
+                }
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Inserts a member whose user ID or member ID is already stored, removing the rows it replaces.
+     */
+    private static void replaceMember(Connection connection, Member member, boolean strictUserId)
+            throws SQLException {
+        String userId = member.getUserId();
+        String memberId = member.getMemberId().getValue();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT u.role, m.member_id "
+                + "FROM gym_user u LEFT JOIN gym_member m ON m.user_id = u.user_id WHERE u.user_id = ?")) {
+            statement.setString(1, userId);
+            try (ResultSet rows = statement.executeQuery()) {
+                if (rows.next() && strictUserId && UserRole.MEMBER.name().equals(rows.getString(1))
+                        && !memberId.equals(rows.getString(2))) {
+                    throw new IllegalArgumentException("User ID already exists: " + userId);
+                }
+            }
+        }
+        JdbcSupport.update(connection, "DELETE FROM gym_user WHERE user_id = ?",
+                statement -> statement.setString(1, userId));
+        JdbcSupport.update(connection, "DELETE FROM gym_user WHERE user_id IN "
+                + "(SELECT user_id FROM gym_member WHERE member_id = ?)", statement -> statement.setString(1, memberId));
+        JdbcSupport.update(connection, EntityRows.USER_INSERT, statement -> EntityRows.bindUser(statement, member));
+        JdbcSupport.update(connection, EntityRows.MEMBER_INSERT, statement -> EntityRows.bindMember(statement, member));
+    }
+
+    // ========== USERS ==========
+
+    /**
+     * Saves a user of any role, replacing a stored user with the same ID.
+     *
+     * @throws IllegalArgumentException if the user type is not supported
+     */
+    static void saveUser(Connection connection, User user) throws SQLException {
+        if (user instanceof Member) {
+            saveMembers(connection, List.of((Member) user), false);
+            return;
+        }
+        if (!(user instanceof Trainer) && !(user instanceof Admin)) {
+            throw new IllegalArgumentException("Unsupported user type: " + user.getClass().getName());
+        }
+        boolean known = JdbcSupport.update(connection, EntityRows.USER_UPDATE,
+                statement -> EntityRows.bindUser(statement, user)) > 0;
+        if (!known) {
+            // New user, or the ID belonged to a user of another role
+            JdbcSupport.update(connection, "DELETE FROM gym_user WHERE user_id = ?",
+                    statement -> statement.setString(1, user.getUserId()));
+            JdbcSupport.update(connection, EntityRows.USER_INSERT, statement -> EntityRows.bindUser(statement, user));
+        }
+        if (user instanceof Trainer) {
+            Trainer trainer = (Trainer) user;
+            upsert(connection, EntityRows.TRAINER_UPDATE, EntityRows.TRAINER_INSERT, List.of(trainer),
+                    EntityRows::bindTrainer);
+            saveAssignments(connection, trainer);
+        } else {
+            upsert(connection, EntityRows.ADMIN_UPDATE, EntityRows.ADMIN_INSERT, List.of((Admin) user),
+                    EntityRows::bindAdmin);
+        }
+    }
+
+    private static void saveAssignments(Connection connection, Trainer trainer) throws SQLException {
+        String trainerId = trainer.getUserId();
+        JdbcSupport.update(connection, "DELETE FROM gym_trainer_member WHERE trainer_id = ?",
+                statement -> statement.setString(1, trainerId));
+        List<String> memberIds = new ArrayList<>(new LinkedHashSet<>(trainer.getAssignedMemberIds()));
+        if (memberIds.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO gym_trainer_member (trainer_id, member_id, position) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < memberIds.size(); i++) {
+                statement.setString(1, trainerId);
+                statement.setString(2, memberIds.get(i));
+                statement.setInt(3, i);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Loads the assigned member IDs of trainers, in assignment order.
+     */
+    static Map<String, List<String>> assignedMembers(Connection connection, Collection<String> trainerIds)
+            throws SQLException {
+        Map<String, List<String>> result = new HashMap<>();
+        List<String> keys = new ArrayList<>(trainerIds);
+        for (int from = 0; from < keys.size(); from += MAX_IN_PARAMETERS) {
+            List<String> chunk = keys.subList(from, Math.min(keys.size(), from + MAX_IN_PARAMETERS));
+            int size = paddedSize(chunk.size());
+            String sql = "SELECT trainer_id, member_id FROM gym_trainer_member WHERE trainer_id IN "
+                    + placeholders(size) + " ORDER BY trainer_id, position";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                bindPadded(statement, chunk, size);
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        result.computeIfAbsent(rows.getString(1), id -> new ArrayList<>()).add(rows.getString(2));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    // ========== CONFLICTS ==========
+
+    /**
+     * Explains a constraint violation raised while saving users, with the messages of the
+     * in-memory repositories. Runs after the failed transaction was rolled back.
+     *
+     * @return the exception to report, or null if no clash with a known key was found
+     */
+    static RuntimeException explainConflict(Connection connection, Collection<? extends User> users,
+                                            boolean strictUserId) throws SQLException {
+        Map<String, String> usernames = new HashMap<>();
+        Map<String, String> emails = new HashMap<>();
+        Map<String, String> memberIds = new HashMap<>();
+        for (User user : users) {
+            String userId = user.getUserId();
+            String owner = usernames.putIfAbsent(user.getUsername(), userId);
+            if (owner != null && !owner.equals(userId)) {
+                return new IllegalArgumentException("Username already exists: " + user.getUsername());
+            }
+            owner = emails.putIfAbsent(user.getEmail(), userId);
+            if (owner != null && !owner.equals(userId)) {
+                return new IllegalArgumentException("Email already exists: " + user.getEmail());
+            }
+            if (strictUserId && user instanceof Member) {
+                String memberId = ((Member) user).getMemberId().getValue();
+                String other = memberIds.putIfAbsent(userId, memberId);
+                if (other != null && !other.equals(memberId)) {
+                    return new IllegalArgumentException("User ID already exists: " + userId);
+                }
+            }
+        }
+        try (PreparedStatement byUsername = connection.prepareStatement(
+                     "SELECT user_id FROM gym_user WHERE username = ?");
+             PreparedStatement byEmail = connection.prepareStatement(
+                     "SELECT user_id FROM gym_user WHERE email = ?")) {
+            for (User user : users) {
+                if (ownedByOther(byUsername, user.getUsername(), user.getUserId())) {
+                    return new IllegalArgumentException("Username already exists: " + user.getUsername());
+                }
+                if (ownedByOther(byEmail, user.getEmail(), user.getUserId())) {
+                    return new IllegalArgumentException("Email already exists: " + user.getEmail());
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean ownedByOther(PreparedStatement statement, String key, String userId) throws SQLException {
+        statement.setString(1, key);
+        try (ResultSet rows = statement.executeQuery()) {
+            return rows.next() && !rows.getString(1).equals(userId);
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static <T> void upsert(Connection connection, String updateSql, String insertSql, List<T> items,
+                                   RowBinder<T> binder) throws SQLException {
+        List<T> missing = new ArrayList<>();
+        split(connection, updateSql, items, binder, null, missing);
+        batch(connection, insertSql, missing, binder);
+    }
+
+    /**
+     * Runs a batched UPDATE and sorts the items by whether they matched a row. Rows whose count
+     * the driver does not report are updated again one by one to find out.
+     */
+    private static <T> void split(Connection connection, String updateSql, List<T> items, RowBinder<T> binder,
+                                  List<T> updated, List<T> missing) throws SQLException {
+        int[] counts = batch(connection, updateSql, items, binder);
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            int count = counts[i];
+            if (count == Statement.SUCCESS_NO_INFO) {
+                count = JdbcSupport.update(connection, updateSql, statement -> binder.bind(statement, item));
+            }
+            if (count > 0) {
+                if (updated != null) {
+                    updated.add(item);
+                }
+            } else {
+                missing.add(item);
+            }
+        }
+    }
+
+    /**
+     * Executes one statement for every item, reusing the prepared statement and sending the
+     * rows in batches.
+     *
+     * @return the update count of every item
+     */
+    private static <T> int[] batch(Connection connection, String sql, List<T> items, RowBinder<T> binder)
+            throws SQLException {
+        int[] counts = new int[items.size()];
+        if (items.isEmpty()) {
+            return counts;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            int pending = 0;
+            for (int i = 0; i < items.size(); i++) {
+                binder.bind(statement, items.get(i));
+                statement.addBatch();
+                if (++pending == BATCH_SIZE || i == items.size() - 1) {
+                    int[] chunk = statement.executeBatch();
+                    System.arraycopy(chunk, 0, counts, i + 1 - pending, pending);
+                    pending = 0;
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the keys that a {@code SELECT key FROM table WHERE key} query finds.
+     */
+    private static Set<String> existing(Connection connection, String selectWhereKey, List<String> keys)
+            throws SQLException {
+        Set<String> found = new HashSet<>();
+        for (int from = 0; from < keys.size(); from += MAX_IN_PARAMETERS) {
+            List<String> chunk = keys.subList(from, Math.min(keys.size(), from + MAX_IN_PARAMETERS));
+            int size = paddedSize(chunk.size());
+            try (PreparedStatement statement = connection.prepareStatement(
+                    selectWhereKey + " IN " + placeholders(size))) {
+                bindPadded(statement, chunk, size);
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        found.add(rows.getString(1));
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Rounds the length of an IN list up to a power of two, so the number of distinct
+     * statements, and with it the statement cache footprint, stays small.
+     */
+    private static int paddedSize(int count) {
+        return count <= 1 ? 1 : Math.min(Integer.highestOneBit(count - 1) << 1, MAX_IN_PARAMETERS);
+    }
+
+    private static String placeholders(int size) {
+        StringBuilder sql = new StringBuilder(size * 3 + 2).append('(');
+        for (int i = 0; i < size; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(')').toString();
+    }
+
+    /**
+     * Binds the keys, repeating the last one in the padding slots of the IN list.
+     */
+    private static void bindPadded(PreparedStatement statement, List<String> keys, int size) throws SQLException {
+        for (int i = 0; i < size; i++) {
+            statement.setString(i + 1, keys.get(Math.min(i, keys.size() - 1)));
+        }
+    }
+
+    /**
+     * Binds the parameters of one row.
+     */
+    @FunctionalInterface
+    interface RowBinder<T> {
+        void bind(PreparedStatement statement, T item) throws SQLException;
+    }
+}
@@ -0,0 +1,65 @@
+package hyminh.uth.domain.repository.jdbc;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Creates the pooled data sources used by the JDBC repositories.
+ *
+ * Connections are pooled by HikariCP, so a repository call only borrows a connection instead of
+ * opening one. MySQL and PostgreSQL drivers are configured to cache prepared statements per
+ * connection and to rewrite batched inserts into multi-row statements; H2 keeps its own
+ * per-session cache of parsed statements. Within one repository call a statement is prepared
+ * once and reused for every row of a batch.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class JdbcDataSources {
+
+    /**
+     * Number of prepared statements each connection keeps cached, for drivers that support it.
+     */
+    public static final int STATEMENT_CACHE_SIZE = 250;
+
+    private JdbcDataSources() {
+    }
+
+    /**
+     * Creates a connection pool.
+     *
+     * @param url the JDBC URL
+     * @param username the database user
+     * @param password the database password
+     * @param maxPoolSize the maximum number of open connections
+     * @return the pooled data source, to be closed by the caller
+     * @throws IllegalArgumentException if url is null or empty, or maxPoolSize is not positive
+     */
+    public static HikariDataSource pooled(String url, String username, String password, int maxPoolSize) {
+        if (url == null || url.trim().isEmpty()) {
+            throw new IllegalArgumentException("JDBC URL cannot be null or empty");
+        }
+        if (maxPoolSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(maxPoolSize);
+        config.setMinimumIdle(Math.min(2, maxPoolSize));
+        config.setPoolName("gym-jdbc");
+        // Driver-specific settings; H2 rejects connection properties it does not know
+        if (url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:mariadb:")) {
+            config.addDataSourceProperty("cachePrepStmts", "true");
+            config.addDataSourceProperty("prepStmtCacheSize", String.valueOf(STATEMENT_CACHE_SIZE));
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            config.addDataSourceProperty("useServerPrepStmts", "true");
+            config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        } else if (url.startsWith("jdbc:postgresql:")) {
+            config.addDataSourceProperty("preparedStatementCacheQueries", String.valueOf(STATEMENT_CACHE_SIZE));
+            config.addDataSourceProperty("reWriteBatchedInserts", "true");
+        }
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,276 @@
+package hyminh.uth.domain.repository.jdbc;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.PersistenceAccess;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryEngine;
+import hyminh.uth.domain.query.QueryPlan;
+import hyminh.uth.domain.query.ScanExecutor;
+import hyminh.uth.domain.repository.MemberRepository;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+
+/**
+ * JDBC implementation of MemberRepository.
+ *
+ * A member is a row of {@code gym_user} plus a row of {@code gym_member}; saving a member also
+ * saves its current subscription, and reads join it back in, so one statement loads a member
+ * completely. Deleting a member deletes its user row. The user and member tables are shared
+ * with {@link JdbcUserRepository}, so both repositories see the same members.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class JdbcMemberRepository implements MemberRepository {
+
+    private static final String WITH_ACTIVE_SUBSCRIPTION = " WHERE s.status = 'ACTIVE'";
+    private static final String WITHOUT_ACTIVE_SUBSCRIPTION = " WHERE s.status IS NULL OR s.status <> 'ACTIVE'";
+    private static final String BY_TRAINER = " JOIN gym_trainer_member tm ON tm.member_id = m.member_id"
+            + " WHERE tm.trainer_id = ?";
+
+    private final JdbcSupport jdbc;
+    private final QueryEngine<Member> queryEngine;
+
+    /**
+     * Constructs a new JdbcMemberRepository. The schema must exist; see {@link JdbcSchema}.
+     *
+     * @param dataSource the (pooled) data source
+     * @throws IllegalArgumentException if dataSource is null
+     */
+    public JdbcMemberRepository(DataSource dataSource) {
+        this.jdbc = new JdbcSupport(dataSource);
+        this.queryEngine = new QueryEngine<Member>(this::findAll, Member::getMemberId, new ScanExecutor());
+    }
+
+    @Override
+    public Member save(Member member) {
+        if (member == null) {
+            throw new IllegalArgumentException("Member cannot be null");
+        }
+        write(List.of(member));
+        return member;
+    }
+
+    /**
+     * Saves members in one transaction, using JDBC batches for the user, member and
+     * subscription rows. Either all members are saved or none.
+     *
+     * @param members the members to save
+     * @throws IllegalArgumentException if members is null or contains null, or a user ID,
+     *                                  username or email belongs to another user
+     */
+    public void saveAll(Collection<Member> members) {
+        if (members == null) {
+            throw new IllegalArgumentException("Members cannot be null");
+        }
+        for (Member item : members) {
+            if (item == null) {
+                throw new IllegalArgumentException("Members cannot contain null");
+            }
+        }
+        write(members);
+    }
+
+    /**
+     * Saves the member with {@code UPDATE ... WHERE version = ?}, so a concurrent save from
+     * another connection or process is detected by the database.
+     */
+    @Override
+    public boolean compareAndSave(Member member) {
+        if (member == null) {
+            throw new IllegalArgumentException("Member cannot be null");
+        }
+        List<Member> rows = List.of(member);
+        boolean saved = jdbc.transaction(connection -> EntityWriter.compareAndSaveMember(connection, member),
+                connection -> EntityWriter.explainConflict(connection, rows, true));
+        if (saved) {
+            PersistenceAccess.setVersion(member, member.getVersion() + 1);
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Member> findById(MemberId memberId) {
+        validateMemberId(memberId);
+        return select(" WHERE m.member_id = ?", statement -> statement.setString(1, memberId.getValue()))
+                .stream().findFirst();
+    }
+
+    @Override
+    public Optional<Member> findByUserId(String userId) {
+        validateUserId(userId);
+        return select(" WHERE m.user_id = ?", statement -> statement.setString(1, userId)).stream().findFirst();
+    }
+
+    @Override
+    public List<Member> findByRegistrationDateAfter(LocalDate date) {
+        validateDate(date);
+        return select(" WHERE m.registration_date > ?", statement -> JdbcSupport.setDate(statement, 1, date));
+    }
+
+    @Override
+    public List<Member> findByRegistrationDateBefore(LocalDate date) {
+        validateDate(date);
+        return select(" WHERE m.registration_date < ?", statement -> JdbcSupport.setDate(statement, 1, date));
+    }
+
+    @Override
+    public List<Member> findWithActiveSubscriptions() {
+        return select(WITH_ACTIVE_SUBSCRIPTION, JdbcSupport.Binder.NONE);
+    }
+
+    @Override
+    public List<Member> findWithoutActiveSubscriptions() {
+        return select(WITHOUT_ACTIVE_SUBSCRIPTION, JdbcSupport.Binder.NONE);
+    }
+
+    @Override
+    public List<Member> findByTrainerId(String trainerId) {
+        validateTrainerId(trainerId);
+        return select(BY_TRAINER + " ORDER BY tm.position", statement -> statement.setString(1, trainerId));
+    }
+
+    @Override
+    public List<Member> findActiveMembers() {
+        return select(" WHERE u.active = TRUE", JdbcSupport.Binder.NONE);
+    }
+
+    @Override
+    public List<Member> findInactiveMembers() {
+        return select(" WHERE u.active = FALSE", JdbcSupport.Binder.NONE);
+    }
+
+    @Override
+    public List<Member> findAll() {
+        return select("", JdbcSupport.Binder.NONE);
+    }
+
+    /**
+     * Streams all members without loading the table into memory.
+     *
+     * @param action the action to run for each member
+     * @throws IllegalArgumentException if action is null
+     */
+    public void forEach(Consumer<? super Member> action) {
+        jdbc.stream(EntityRows.MEMBER_SELECT, JdbcSupport.Binder.NONE, EntityRows::member, action);
+    }
+
+    @Override
+    public boolean existsById(MemberId memberId) {
+        validateMemberId(memberId);
+        return jdbc.exists("SELECT 1 FROM gym_member WHERE member_id = ?",
+                statement -> statement.setString(1, memberId.getValue()));
+    }
+
+    @Override
+    public boolean existsByUserId(String userId) {
+        validateUserId(userId);
+        return jdbc.exists("SELECT 1 FROM gym_member WHERE user_id = ?", statement -> statement.setString(1, userId));
+    }
+
+    @Override
+    public boolean deleteById(MemberId memberId) {
+        validateMemberId(memberId);
+        return jdbc.transaction(connection -> JdbcSupport.update(connection,
+                "DELETE FROM gym_user WHERE user_id IN (SELECT user_id FROM gym_member WHERE member_id = ?)",
+                statement -> statement.setString(1, memberId.getValue())) > 0);
+    }
+
+    @Override
+    public long count() {
+        return jdbc.count("SELECT COUNT(*) FROM gym_member", JdbcSupport.Binder.NONE);
+    }
+
+    @Override
+    public long countWithActiveSubscriptions() {
+        return jdbc.count("SELECT COUNT(*) FROM gym_member m JOIN gym_subscription s "
+                + "ON s.subscription_id = m.current_subscription_id" + WITH_ACTIVE_SUBSCRIPTION, JdbcSupport.Binder.NONE);
+    }
+
+    @Override
+    public long countWithoutActiveSubscriptions() {
+        return jdbc.count("SELECT COUNT(*) FROM gym_member m LEFT JOIN gym_subscription s "
+                + "ON s.subscription_id = m.current_subscription_id" + WITHOUT_ACTIVE_SUBSCRIPTION,
+                JdbcSupport.Binder.NONE);
+    }
+
+    @Override
+    public long countByTrainerId(String trainerId) {
+        validateTrainerId(trainerId);
+        return jdbc.count("SELECT COUNT(*) FROM gym_member m" + BY_TRAINER,
+                statement -> statement.setString(1, trainerId));
+    }
+
+    @Override
+    public long countByRegistrationMonth(int year, int month) {
+        if (year < 1900 || year > 2100) {
+            throw new IllegalArgumentException("Year must be between 1900 and 2100");
+        }
+        if (month < 1 || month > 12) {
+            throw new IllegalArgumentException("Month must be between 1 and 12");
+        }
+        LocalDate first = LocalDate.of(year, month, 1);
+        return jdbc.count("SELECT COUNT(*) FROM gym_member WHERE registration_date >= ? AND registration_date < ?",
+                statement -> {
+                    JdbcSupport.setDate(statement, 1, first);
+                    JdbcSupport.setDate(statement, 2, first.plusMonths(1));
+                });
+    }
+
+    /**
+     * Evaluates the query over a scan of the table; the SQL finders cover the indexed access paths.
+     */
+    @Override
+    public List<Member> query(Query<Member> query) {
+        return queryEngine.execute(query);
+    }
+
+    @Override
+    public QueryPlan explain(Query<Member> query) {
+        return queryEngine.plan(query);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private void write(Collection<Member> members) {
+        List<Member> rows = new ArrayList<>(members);
+        Map<String, Long> versions = jdbc.transaction(connection -> EntityWriter.saveMembers(connection, rows, true),
+                connection -> EntityWriter.explainConflict(connection, rows, true));
+        EntityWriter.applyVersions(rows, versions);
+    }
+
+    private List<Member> select(String where, JdbcSupport.Binder binder) {
+        return jdbc.list(EntityRows.MEMBER_SELECT + where, binder, EntityRows::member);
+    }
+
+    private static void validateMemberId(MemberId memberId) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+    }
+
+    private static void validateUserId(String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new IllegalArgumentException("User ID cannot be null or empty");
+        }
+    }
+
+    private static void validateTrainerId(String trainerId) {
+        if (trainerId == null || trainerId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Trainer ID cannot be null or empty");
+        }
+    }
+
+    private static void validateDate(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+    }
+}
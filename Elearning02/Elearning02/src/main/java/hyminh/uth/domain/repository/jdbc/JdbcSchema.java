@@ -0,0 +1,136 @@
+package hyminh.uth.domain.repository.jdbc;
+
+import hyminh.uth.domain.exception.DataAccessException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * Tables and indexes used by the JDBC repositories.
+ *
+ * Users live in {@code gym_user}, with one row per role-specific table ({@code gym_member},
+ * {@code gym_trainer}, {@code gym_admin}) that is deleted together with the user. Every finder of
+ * the repositories is backed by an index: unique keys for username, email and member ID, and
+ * secondary indexes for role, active flag, registration date, subscription status and the
+ * subscription dates. Subscriptions are stored on their own so a member row only references its
+ * current subscription; trainer-member assignments are a child table keyed by trainer.
+ *
+ * The DDL sticks to standard SQL with {@code IF NOT EXISTS}, which H2 and PostgreSQL accept.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class JdbcSchema {
+
+    private static final List<String> STATEMENTS = List.of(
+            "CREATE TABLE IF NOT EXISTS gym_subscription ("
+                    + "subscription_id VARCHAR(64) PRIMARY KEY, "
+                    + "plan_id VARCHAR(64) NOT NULL, "
+                    + "plan_name VARCHAR(200) NOT NULL, "
+                    + "plan_duration_months INTEGER NOT NULL, "
+                    + "plan_price DOUBLE PRECISION NOT NULL, "
+                    + "plan_description VARCHAR(2000) NOT NULL, "
+                    + "plan_type VARCHAR(20) NOT NULL, "
+                    + "plan_personal_training BOOLEAN NOT NULL, "
+                    + "plan_group_classes BOOLEAN NOT NULL, "
+                    + "plan_locker_access BOOLEAN NOT NULL, "
+                    + "start_date DATE NOT NULL, "
+                    + "end_date DATE NOT NULL, "
+                    + "amount DOUBLE PRECISION NOT NULL, "
+                    + "status VARCHAR(20) NOT NULL, "
+                    + "created_on DATE NOT NULL)",
+            "CREATE INDEX IF NOT EXISTS idx_subscription_status_end ON gym_subscription (status, end_date)",
+            "CREATE INDEX IF NOT EXISTS idx_subscription_end ON gym_subscription (end_date)",
+            "CREATE INDEX IF NOT EXISTS idx_subscription_start ON gym_subscription (start_date)",
+            "CREATE INDEX IF NOT EXISTS idx_subscription_created ON gym_subscription (created_on)",
+
+            "CREATE TABLE IF NOT EXISTS gym_user ("
+                    + "user_id VARCHAR(64) PRIMARY KEY, "
+                    + "username VARCHAR(50) NOT NULL, "
+                    + "password VARCHAR(200) NOT NULL, "
+                    + "email VARCHAR(254) NOT NULL, "
+                    + "phone VARCHAR(20) NOT NULL, "
+                    + "role VARCHAR(20) NOT NULL, "
+                    + "created_at TIMESTAMP NOT NULL, "
+                    + "last_modified_at TIMESTAMP NOT NULL, "
+                    + "active BOOLEAN NOT NULL, "
+                    + "CONSTRAINT uq_user_username UNIQUE (username), "
+                    + "CONSTRAINT uq_user_email UNIQUE (email))",
+            "CREATE INDEX IF NOT EXISTS idx_user_role_active ON gym_user (role, active)",
+            "CREATE INDEX IF NOT EXISTS idx_user_active ON gym_user (active)",
+
+            "CREATE TABLE IF NOT EXISTS gym_member ("
+                    + "user_id VARCHAR(64) PRIMARY KEY REFERENCES gym_user (user_id) ON DELETE CASCADE, "
+                    + "member_id VARCHAR(64) NOT NULL, "
+                    + "registration_date DATE NOT NULL, "
+                    + "current_subscription_id VARCHAR(64), "
+                    + "progress_date DATE NOT NULL, "
+                    + "progress_weight DOUBLE PRECISION NOT NULL, "
+                    + "progress_body_fat DOUBLE PRECISION NOT NULL, "
+                    + "progress_workouts INTEGER NOT NULL, "
+                    + "progress_notes VARCHAR(2000) NOT NULL, "
+                    + "schedule_ids VARCHAR NOT NULL, "
+                    + "attendance_ids VARCHAR NOT NULL, "
+                    + "version BIGINT NOT NULL DEFAULT 0, "
+                    + "CONSTRAINT uq_member_member_id UNIQUE (member_id))",
+            "CREATE INDEX IF NOT EXISTS idx_member_registration ON gym_member (registration_date)",
+            "CREATE INDEX IF NOT EXISTS idx_member_subscription ON gym_member (current_subscription_id)",
+
+            "CREATE TABLE IF NOT EXISTS gym_trainer ("
+                    + "user_id VARCHAR(64) PRIMARY KEY REFERENCES gym_user (user_id) ON DELETE CASCADE, "
+                    + "specialization VARCHAR(30) NOT NULL, "
+                    + "certification_date TIMESTAMP NOT NULL, "
+                    + "years_of_experience INTEGER NOT NULL, "
+                    + "available BOOLEAN NOT NULL, "
+                    + "trainer_schedule_ids VARCHAR NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS gym_trainer_member ("
+                    + "trainer_id VARCHAR(64) NOT NULL REFERENCES gym_trainer (user_id) ON DELETE CASCADE, "
+                    + "member_id VARCHAR(64) NOT NULL, "
+                    + "position INTEGER NOT NULL, "
+                    + "PRIMARY KEY (trainer_id, member_id))",
+            "CREATE INDEX IF NOT EXISTS idx_trainer_member_member ON gym_trainer_member (member_id)",
+
+            "CREATE TABLE IF NOT EXISTS gym_admin ("
+                    + "user_id VARCHAR(64) PRIMARY KEY REFERENCES gym_user (user_id) ON DELETE CASCADE, "
+                    + "admin_since TIMESTAMP NOT NULL, "
+                    + "admin_level VARCHAR(50) NOT NULL, "
+                    + "manage_users BOOLEAN NOT NULL, "
+                    + "manage_subscriptions BOOLEAN NOT NULL, "
+                    + "manage_reports BOOLEAN NOT NULL, "
+                    + "manage_system_settings BOOLEAN NOT NULL)");
+
+    private JdbcSchema() {
+    }
+
+    /**
+     * Creates the tables and indexes that do not exist yet.
+     *
+     * @param dataSource the database to initialize
+     * @throws IllegalArgumentException if dataSource is null
+     * @throws DataAccessException if a statement fails
+     */
+    public static void create(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Data source cannot be null");
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : STATEMENTS) {
+                statement.execute(sql);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to create schema", e);
+        }
+    }
+
+    /**
+     * Returns the DDL statements, in execution order.
+     *
+     * @return the statements
+     */
+    public static List<String> statements() {
+        return STATEMENTS;
+    }
+}
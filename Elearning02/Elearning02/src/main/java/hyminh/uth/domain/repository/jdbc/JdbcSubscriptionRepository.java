@@ -0,0 +1,255 @@
+package hyminh.uth.domain.repository.jdbc;
+
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryEngine;
+import hyminh.uth.domain.query.QueryPlan;
+import hyminh.uth.domain.query.ScanExecutor;
+import hyminh.uth.domain.repository.SubscriptionRepository;
+import hyminh.uth.domain.time.BusinessClock;
+import hyminh.uth.domain.valueobject.SubscriptionStatus;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+
+/**
+ * JDBC implementation of SubscriptionRepository, storing subscriptions with their plan in
+ * {@code gym_subscription}.
+ *
+ * Every finder and counter is one SQL statement on an indexed column; "today" is read from
+ * {@link BusinessClock} once per call and passed as a parameter, like the in-memory scans do.
+ * Revenue totals are summed by the database.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class JdbcSubscriptionRepository implements SubscriptionRepository {
+
+    private static final String ACTIVE = " WHERE s.status = 'ACTIVE' AND s.end_date >= ?";
+    private static final String EXPIRING = " WHERE (s.end_date >= ? AND s.end_date < ?) OR s.end_date = ?";
+
+    private final JdbcSupport jdbc;
+    private final QueryEngine<Subscription> queryEngine;
+
+    /**
+     * Constructs a new JdbcSubscriptionRepository. The schema must exist; see {@link JdbcSchema}.
+     *
+     * @param dataSource the (pooled) data source
+     * @throws IllegalArgumentException if dataSource is null
+     */
+    public JdbcSubscriptionRepository(DataSource dataSource) {
+        this.jdbc = new JdbcSupport(dataSource);
+        this.queryEngine = new QueryEngine<Subscription>(this::findAll, Subscription::getSubscriptionId,
+                new ScanExecutor());
+    }
+
+    @Override
+    public Subscription save(Subscription subscription) {
+        if (subscription == null) {
+            throw new IllegalArgumentException("Subscription cannot be null");
+        }
+        jdbc.transaction(connection -> {
+            EntityWriter.saveSubscriptions(connection, List.of(subscription));
+            return null;
+        });
+        return subscription;
+    }
+
+    /**
+     * Saves subscriptions in one transaction, using JDBC batches.
+     *
+     * @param subscriptions the subscriptions to save
+     * @throws IllegalArgumentException if subscriptions is null or contains null
+     */
+    public void saveAll(Collection<Subscription> subscriptions) {
+        if (subscriptions == null) {
+            throw new IllegalArgumentException("Subscriptions cannot be null");
+        }
+        for (Subscription item : subscriptions) {
+            if (item == null) {
+                throw new IllegalArgumentException("Subscriptions cannot contain null");
+            }
+        }
+        jdbc.transaction(connection -> {
+            EntityWriter.saveSubscriptions(connection, subscriptions);
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<Subscription> findById(String subscriptionId) {
+        validateId(subscriptionId);
+        List<Subscription> found = jdbc.list(EntityRows.SUBSCRIPTION_SELECT + " WHERE s.subscription_id = ?",
+                statement -> statement.setString(1, subscriptionId), EntityRows::subscription);
+        return found.stream().findFirst();
+    }
+
+    @Override
+    public List<Subscription> findByStatus(SubscriptionStatus status) {
+        validateStatus(status);
+        return select(" WHERE s.status = ?", statement -> statement.setString(1, status.name()));
+    }
+
+    @Override
+    public List<Subscription> findActiveSubscriptions() {
+        LocalDate today = BusinessClock.today();
+        return select(ACTIVE, statement -> JdbcSupport.setDate(statement, 1, today));
+    }
+
+    @Override
+    public List<Subscription> findExpiredSubscriptions() {
+        LocalDate today = BusinessClock.today();
+        return select(" WHERE s.end_date < ?", statement -> JdbcSupport.setDate(statement, 1, today));
+    }
+
+    @Override
+    public List<Subscription> findExpiringBy(LocalDate date) {
+        validateDate(date);
+        return select(EXPIRING, expiringBinder(date));
+    }
+
+    @Override
+    public List<Subscription> findByStartDateAfter(LocalDate date) {
+        validateDate(date);
+        return select(" WHERE s.start_date > ?", statement -> JdbcSupport.setDate(statement, 1, date));
+    }
+
+    @Override
+    public List<Subscription> findByEndDateBefore(LocalDate date) {
+        validateDate(date);
+        return select(" WHERE s.end_date < ?", statement -> JdbcSupport.setDate(statement, 1, date));
+    }
+
+    @Override
+    public List<Subscription> findByCreatedDate(LocalDate date) {
+        validateDate(date);
+        return select(" WHERE s.created_on = ?", statement -> JdbcSupport.setDate(statement, 1, date));
+    }
+
+    @Override
+    public List<Subscription> findAll() {
+        return select("", JdbcSupport.Binder.NONE);
+    }
+
+    /**
+     * Streams all subscriptions without loading the table into memory.
+     *
+     * @param action the action to run for each subscription
+     * @throws IllegalArgumentException if action is null
+     */
+    public void forEach(Consumer<? super Subscription> action) {
+        jdbc.stream(EntityRows.SUBSCRIPTION_SELECT, JdbcSupport.Binder.NONE, EntityRows::subscription, action);
+    }
+
+    @Override
+    public boolean existsById(String subscriptionId) {
+        validateId(subscriptionId);
+        return jdbc.exists("SELECT 1 FROM gym_subscription WHERE subscription_id = ?",
+                statement -> statement.setString(1, subscriptionId));
+    }
+
+    @Override
+    public boolean deleteById(String subscriptionId) {
+        validateId(subscriptionId);
+        return jdbc.transaction(connection -> JdbcSupport.update(connection,
+                "DELETE FROM gym_subscription WHERE subscription_id = ?",
+                statement -> statement.setString(1, subscriptionId)) > 0);
+    }
+
+    @Override
+    public long count() {
+        return jdbc.count("SELECT COUNT(*) FROM gym_subscription", JdbcSupport.Binder.NONE);
+    }
+
+    @Override
+    public long countByStatus(SubscriptionStatus status) {
+        validateStatus(status);
+        return jdbc.count("SELECT COUNT(*) FROM gym_subscription s WHERE s.status = ?",
+                statement -> statement.setString(1, status.name()));
+    }
+
+    @Override
+    public long countActiveSubscriptions() {
+        LocalDate today = BusinessClock.today();
+        return jdbc.count("SELECT COUNT(*) FROM gym_subscription s" + ACTIVE,
+                statement -> JdbcSupport.setDate(statement, 1, today));
+    }
+
+    @Override
+    public long countExpiredSubscriptions() {
+        LocalDate today = BusinessClock.today();
+        return jdbc.count("SELECT COUNT(*) FROM gym_subscription s WHERE s.end_date < ?",
+                statement -> JdbcSupport.setDate(statement, 1, today));
+    }
+
+    @Override
+    public long countExpiringBy(LocalDate date) {
+        validateDate(date);
+        return jdbc.count("SELECT COUNT(*) FROM gym_subscription s" + EXPIRING, expiringBinder(date));
+    }
+
+    @Override
+    public double calculateTotalRevenue() {
+        return jdbc.sum("SELECT COALESCE(SUM(amount), 0) FROM gym_subscription", JdbcSupport.Binder.NONE);
+    }
+
+    @Override
+    public double calculateActiveRevenue() {
+        LocalDate today = BusinessClock.today();
+        return jdbc.sum("SELECT COALESCE(SUM(s.amount), 0) FROM gym_subscription s" + ACTIVE,
+                statement -> JdbcSupport.setDate(statement, 1, today));
+    }
+
+    /**
+     * Evaluates the query over a scan of the table; the SQL finders cover the indexed access paths.
+     */
+    @Override
+    public List<Subscription> query(Query<Subscription> query) {
+        return queryEngine.execute(query);
+    }
+
+    @Override
+    public QueryPlan explain(Query<Subscription> query) {
+        return queryEngine.plan(query);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private List<Subscription> select(String where, JdbcSupport.Binder binder) {
+        return jdbc.list(EntityRows.SUBSCRIPTION_SELECT + where, binder, EntityRows::subscription);
+    }
+
+    /**
+     * Same predicate as the in-memory repository: not yet expired and ending before the date,
+     * or ending exactly on it.
+     */
+    private static JdbcSupport.Binder expiringBinder(LocalDate date) {
+        LocalDate today = BusinessClock.today();
+        return statement -> {
+            JdbcSupport.setDate(statement, 1, today);
+            JdbcSupport.setDate(statement, 2, date);
+            JdbcSupport.setDate(statement, 3, date);
+        };
+    }
+
+    private static void validateId(String subscriptionId) {
+        if (subscriptionId == null || subscriptionId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Subscription ID cannot be null or empty");
+        }
+    }
+
+    private static void validateStatus(SubscriptionStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+    }
+
+    private static void validateDate(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+    }
+}
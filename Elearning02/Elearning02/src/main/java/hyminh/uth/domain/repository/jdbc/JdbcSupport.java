@@ -0,0 +1,264 @@
+package hyminh.uth.domain.repository.jdbc;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import hyminh.uth.domain.exception.DataAccessException;
+import java.lang.reflect.Type;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.sql.DataSource;
+
+/**
+ * Connection handling shared by the JDBC repositories: borrowing pooled connections, running
+ * work in a transaction, streaming result sets with a tuned fetch size, and translating
+ * {@link SQLException}s.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+final class JdbcSupport {
+
+    /**
+     * Rows fetched per round trip when scanning; drivers that stream (PostgreSQL, MySQL with
+     * cursor fetch) keep only this many rows in memory.
+     */
+    static final int FETCH_SIZE = 500;
+
+    private static final Gson GSON = new Gson();
+    private static final Type STRING_LIST = new TypeToken<List<String>>() { }.getType();
+
+    private final DataSource dataSource;
+
+    JdbcSupport(DataSource dataSource) {
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Data source cannot be null");
+        }
+        this.dataSource = dataSource;
+    }
+
+    // ========== EXECUTION ==========
+
+    /**
+     * Runs work on an auto-commit connection, for single-statement reads.
+     */
+    <R> R read(SqlWork<R> work) {
+        try (Connection connection = dataSource.getConnection()) {
+            return work.run(connection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Database read failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs work in a transaction that is committed when the work returns and rolled back when it
+     * throws.
+     */
+    <R> R transaction(SqlWork<R> work) {
+        return transaction(work, null);
+    }
+
+    /**
+     * Runs work in a transaction. When the work fails with a constraint violation, the
+     * transaction is rolled back and {@code explainConflict} may inspect the committed state on
+     * the same connection and return the exception to throw instead (null to report the
+     * violation itself).
+     */
+    <R> R transaction(SqlWork<R> work, SqlWork<RuntimeException> explainConflict) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                R result = work.run(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException e) {
+                connection.rollback();
+                if (explainConflict != null && isConstraintViolation(e)) {
+                    connection.setAutoCommit(true);
+                    RuntimeException explained = explainConflict.run(connection);
+                    if (explained != null) {
+                        throw explained;
+                    }
+                }
+                throw e;
+            } catch (RuntimeException | Error e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Database write failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Streams the rows of a query to a consumer, holding at most one fetch of rows in memory.
+     * Runs in a read-only transaction because some drivers only use cursors outside auto-commit.
+     */
+    <T> void stream(String sql, Binder binder, RowMapper<T> mapper, Consumer<? super T> consumer) {
+        if (consumer == null) {
+            throw new IllegalArgumentException("Consumer cannot be null");
+        }
+        transaction(connection -> {
+            try (PreparedStatement statement = prepareScan(connection, sql)) {
+                binder.bind(statement);
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        consumer.accept(mapper.map(rows));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Collects the rows of a query on an open connection.
+     */
+    static <T> List<T> list(Connection connection, String sql, Binder binder, RowMapper<T> mapper)
+            throws SQLException {
+        try (PreparedStatement statement = prepareScan(connection, sql)) {
+            binder.bind(statement);
+            try (ResultSet rows = statement.executeQuery()) {
+                List<T> result = new ArrayList<>();
+                while (rows.next()) {
+                    result.add(mapper.map(rows));
+                }
+                return result;
+            }
+        }
+    }
+
+    <T> List<T> list(String sql, Binder binder, RowMapper<T> mapper) {
+        return read(connection -> list(connection, sql, binder, mapper));
+    }
+
+    long count(String sql, Binder binder) {
+        return read(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                binder.bind(statement);
+                try (ResultSet rows = statement.executeQuery()) {
+                    return rows.next() ? rows.getLong(1) : 0L;
+                }
+            }
+        });
+    }
+
+    double sum(String sql, Binder binder) {
+        return read(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                binder.bind(statement);
+                try (ResultSet rows = statement.executeQuery()) {
+                    return rows.next() ? rows.getDouble(1) : 0.0;
+                }
+            }
+        });
+    }
+
+    boolean exists(String sql, Binder binder) {
+        return read(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                binder.bind(statement);
+                statement.setMaxRows(1);
+                try (ResultSet rows = statement.executeQuery()) {
+                    return rows.next();
+                }
+            }
+        });
+    }
+
+    static int update(Connection connection, String sql, Binder binder) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            binder.bind(statement);
+            return statement.executeUpdate();
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static PreparedStatement prepareScan(Connection connection, String sql) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(FETCH_SIZE);
+        return statement;
+    }
+
+    /**
+     * Checks for an integrity constraint violation (SQLSTATE class 23), including the chained
+     * exceptions of a failed batch.
+     */
+    static boolean isConstraintViolation(SQLException e) {
+        for (SQLException current = e; current != null; current = current.getNextException()) {
+            String state = current.getSQLState();
+            if (state != null && state.startsWith("23")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static void setDate(PreparedStatement statement, int index, LocalDate date) throws SQLException {
+        statement.setObject(index, date);
+    }
+
+    static void setDateTime(PreparedStatement statement, int index, LocalDateTime dateTime) throws SQLException {
+        statement.setObject(index, dateTime);
+    }
+
+    static LocalDate getDate(ResultSet rows, String column) throws SQLException {
+        return rows.getObject(column, LocalDate.class);
+    }
+
+    static LocalDateTime getDateTime(ResultSet rows, String column) throws SQLException {
+        return rows.getObject(column, LocalDateTime.class);
+    }
+
+    /**
+     * Encodes an ID list as a JSON array, the way DataManager stores lists.
+     */
+    static String toJson(List<String> ids) {
+        return ids.isEmpty() ? "[]" : GSON.toJson(ids);
+    }
+
+    static List<String> fromJson(String json) {
+        if (json == null || json.equals("[]")) {
+            return Collections.emptyList();
+        }
+        List<String> ids = GSON.fromJson(json, STRING_LIST);
+        return ids != null ? ids : Collections.emptyList();
+    }
+
+    /**
+     * Work on a connection.
+     */
+    @FunctionalInterface
+    interface SqlWork<R> {
+        R run(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Binds the parameters of a statement.
+     */
+    @FunctionalInterface
+    interface Binder {
+        Binder NONE = statement -> { };
+
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+
+    /**
+     * Maps the current row of a result set.
+     */
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet rows) throws SQLException;
+    }
+}
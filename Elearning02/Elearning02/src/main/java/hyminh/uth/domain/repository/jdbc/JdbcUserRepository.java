@@ -0,0 +1,230 @@
+package hyminh.uth.domain.repository.jdbc;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.Trainer;
+import hyminh.uth.domain.entity.User;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryEngine;
+import hyminh.uth.domain.query.QueryPlan;
+import hyminh.uth.domain.query.ScanExecutor;
+import hyminh.uth.domain.repository.UserRepository;
+import hyminh.uth.domain.valueobject.UserRole;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import javax.sql.DataSource;
+
+/**
+ * JDBC implementation of UserRepository for members, trainers and admins.
+ *
+ * Users are read with one statement that outer-joins the role tables; the assigned members of
+ * the trainers in a result are then loaded with one IN query per chunk of trainers. Saving a user
+ * under an ID that belongs to a user of another role replaces that user, as the in-memory
+ * repository does.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class JdbcUserRepository implements UserRepository {
+
+    private final JdbcSupport jdbc;
+    private final QueryEngine<User> queryEngine;
+
+    /**
+     * Constructs a new JdbcUserRepository. The schema must exist; see {@link JdbcSchema}.
+     *
+     * @param dataSource the (pooled) data source
+     * @throws IllegalArgumentException if dataSource is null
+     */
+    public JdbcUserRepository(DataSource dataSource) {
+        this.jdbc = new JdbcSupport(dataSource);
+        this.queryEngine = new QueryEngine<User>(this::findAll, User::getUserId, new ScanExecutor());
+    }
+
+    @Override
+    public User save(User user) {
+        if (user == null) {
+            throw new IllegalArgumentException("User cannot be null");
+        }
+        write(List.of(user));
+        return user;
+    }
+
+    /**
+     * Saves users in one transaction; members are written with JDBC batches. Either all users
+     * are saved or none.
+     *
+     * @param users the users to save
+     * @throws IllegalArgumentException if users is null or contains null, or a username or
+     *                                  email belongs to another user
+     */
+    public void saveAll(Collection<? extends User> users) {
+        if (users == null) {
+            throw new IllegalArgumentException("Users cannot be null");
+        }
+        for (User item : users) {
+            if (item == null) {
+                throw new IllegalArgumentException("Users cannot contain null");
+            }
+        }
+        write(users);
+    }
+
+    @Override
+    public Optional<User> findById(String userId) {
+        validateText(userId, "User ID");
+        return select(" WHERE u.user_id = ?", statement -> statement.setString(1, userId)).stream().findFirst();
+    }
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        validateText(username, "Username");
+        return select(" WHERE u.username = ?", statement -> statement.setString(1, username)).stream().findFirst();
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        validateText(email, "Email");
+        return select(" WHERE u.email = ?", statement -> statement.setString(1, email)).stream().findFirst();
+    }
+
+    @Override
+    public List<User> findByRole(UserRole role) {
+        validateRole(role);
+        return select(" WHERE u.role = ?", statement -> statement.setString(1, role.name()));
+    }
+
+    @Override
+    public List<User> findActiveUsers() {
+        return select(" WHERE u.active = TRUE", JdbcSupport.Binder.NONE);
+    }
+
+    @Override
+    public List<User> findInactiveUsers() {
+        return select(" WHERE u.active = FALSE", JdbcSupport.Binder.NONE);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return select("", JdbcSupport.Binder.NONE);
+    }
+
+    @Override
+    public boolean existsById(String userId) {
+        validateText(userId, "User ID");
+        return jdbc.exists("SELECT 1 FROM gym_user WHERE user_id = ?", statement -> statement.setString(1, userId));
+    }
+
+    @Override
+    public boolean existsByUsername(String username) {
+        validateText(username, "Username");
+        return jdbc.exists("SELECT 1 FROM gym_user WHERE username = ?",
+                statement -> statement.setString(1, username));
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        validateText(email, "Email");
+        return jdbc.exists("SELECT 1 FROM gym_user WHERE email = ?", statement -> statement.setString(1, email));
+    }
+
+    @Override
+    public boolean deleteById(String userId) {
+        validateText(userId, "User ID");
+        return jdbc.transaction(connection -> JdbcSupport.update(connection, "DELETE FROM gym_user WHERE user_id = ?",
+                statement -> statement.setString(1, userId)) > 0);
+    }
+
+    @Override
+    public long count() {
+        return jdbc.count("SELECT COUNT(*) FROM gym_user", JdbcSupport.Binder.NONE);
+    }
+
+    @Override
+    public long countByRole(UserRole role) {
+        validateRole(role);
+        return jdbc.count("SELECT COUNT(*) FROM gym_user WHERE role = ?", statement -> statement.setString(1, role.name()));
+    }
+
+    @Override
+    public long countActiveUsers() {
+        return jdbc.count("SELECT COUNT(*) FROM gym_user WHERE active = TRUE", JdbcSupport.Binder.NONE);
+    }
+
+    @Override
+    public long countInactiveUsers() {
+        return jdbc.count("SELECT COUNT(*) FROM gym_user WHERE active = FALSE", JdbcSupport.Binder.NONE);
+    }
+
+    /**
+     * Evaluates the query over a scan of the table; the SQL finders cover the indexed access paths.
+     */
+    @Override
+    public List<User> query(Query<User> query) {
+        return queryEngine.execute(query);
+    }
+
+    @Override
+    public QueryPlan explain(Query<User> query) {
+        return queryEngine.plan(query);
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private void write(Collection<? extends User> users) {
+        List<User> rows = new ArrayList<>(users);
+        Map<String, Long> versions = jdbc.transaction(connection -> {
+            List<Member> members = new ArrayList<>();
+            for (User user : rows) {
+                if (user instanceof Member) {
+                    members.add((Member) user);
+                } else {
+                    EntityWriter.saveUser(connection, user);
+                }
+            }
+            return EntityWriter.saveMembers(connection, members, false);
+        }, connection -> EntityWriter.explainConflict(connection, rows, false));
+        EntityWriter.applyVersions(rows, versions);
+    }
+
+    private List<User> select(String where, JdbcSupport.Binder binder) {
+        return jdbc.read(connection -> withAssignedMembers(connection,
+                JdbcSupport.list(connection, EntityRows.USER_SELECT + where, binder, EntityRows::user)));
+    }
+
+    private static List<User> withAssignedMembers(Connection connection, List<User> users) throws SQLException {
+        List<String> trainerIds = new ArrayList<>();
+        for (User user : users) {
+            if (user instanceof Trainer) {
+                trainerIds.add(user.getUserId());
+            }
+        }
+        if (trainerIds.isEmpty()) {
+            return users;
+        }
+        Map<String, List<String>> assignments = EntityWriter.assignedMembers(connection, trainerIds);
+        for (int i = 0; i < users.size(); i++) {
+            List<String> memberIds = assignments.get(users.get(i).getUserId());
+            if (memberIds != null) {
+                users.set(i, EntityRows.withAssignedMembers((Trainer) users.get(i), memberIds));
+            }
+        }
+        return users;
+    }
+
+    private static void validateText(String value, String name) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException(name + " cannot be null or empty");
+        }
+    }
+
+    private static void validateRole(UserRole role) {
+        if (role == null) {
+            throw new IllegalArgumentException("Role cannot be null");
+        }
+    }
+}
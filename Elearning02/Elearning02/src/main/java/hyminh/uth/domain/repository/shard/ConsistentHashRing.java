@@ -0,0 +1,141 @@
+package hyminh.uth.domain.repository.shard;
+
+import java.util.Arrays;
+
+/**
+ * Immutable consistent-hash ring mapping string keys to shard indexes.
+ *
+ * Every shard owns {@link #getVirtualNodes()} points on a 64-bit ring and a key belongs to the
+ * shard owning the first point at or after the key's hash. Spreading each shard over many
+ * points keeps the shards evenly loaded, and growing the ring from N to N + 1 shards moves
+ * only about 1/(N + 1) of the keys, all of them to the new shard.
+ *
+ * Lookups run on every repository call, so the ring is split into {@code 2^12} buckets by
+ * the top bits of the hash, each remembering its first point: a lookup scans the one or two
+ * points of its bucket instead of binary-searching the whole ring.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class ConsistentHashRing {
+
+    /**
+     * Default number of ring points per shard.
+     */
+    public static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private static final int BUCKET_BITS = 12;
+
+    private final int shardCount;
+    private final int virtualNodes;
+    private final long[] points;
+    private final int[] owners;
+    private final int[] buckets;
+
+    /**
+     * Constructs a ring with the default number of virtual nodes.
+     *
+     * @param shardCount the number of shards
+     * @throws IllegalArgumentException if shardCount is not positive
+     */
+    public ConsistentHashRing(int shardCount) {
+        this(shardCount, DEFAULT_VIRTUAL_NODES);
+    }
+
+    /**
+     * Constructs a ring.
+     *
+     * @param shardCount the number of shards
+     * @param virtualNodes the number of ring points per shard
+     * @throws IllegalArgumentException if shardCount or virtualNodes is not positive
+     */
+    public ConsistentHashRing(int shardCount, int virtualNodes) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Virtual nodes must be positive");
+        }
+        this.shardCount = shardCount;
+        this.virtualNodes = virtualNodes;
+
+        long[][] entries = new long[shardCount * virtualNodes][];
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                entries[shard * virtualNodes + node] = new long[] {hash("shard-" + shard + "#" + node), shard};
+            }
+        }
+        Arrays.sort(entries, (a, b) -> a[0] != b[0] ? Long.compareUnsigned(a[0], b[0]) : Long.compare(a[1], b[1]));
+        this.points = new long[entries.length];
+        this.owners = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            points[i] = entries[i][0];
+            owners[i] = (int) entries[i][1];
+        }
+        this.buckets = new int[(1 << BUCKET_BITS) + 1];
+        int point = 0;
+        for (int bucket = 0; bucket < 1 << BUCKET_BITS; bucket++) {
+            while (point < points.length && points[point] >>> (64 - BUCKET_BITS) < bucket) {
+                point++;
+            }
+            buckets[bucket] = point;
+        }
+        buckets[1 << BUCKET_BITS] = points.length;
+    }
+
+    /**
+     * Returns the shard owning a key.
+     *
+     * @param key the routing key
+     * @return the shard index, between 0 and {@code getShardCount() - 1}
+     * @throws IllegalArgumentException if key is null
+     */
+    public int shardFor(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        long hash = hash(key);
+        int bucket = (int) (hash >>> (64 - BUCKET_BITS));
+        int index = buckets[bucket];
+        int end = buckets[bucket + 1];
+        while (index < end && Long.compareUnsigned(points[index], hash) < 0) {
+            index++;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /**
+     * Returns a ring with a different number of shards and the same virtual node count.
+     *
+     * @param newShardCount the new number of shards
+     * @return the resized ring
+     * @throws IllegalArgumentException if newShardCount is not positive
+     */
+    public ConsistentHashRing resize(int newShardCount) {
+        return new ConsistentHashRing(newShardCount, virtualNodes);
+    }
+
+    // Getters
+    public int getShardCount() { return shardCount; }
+    public int getVirtualNodes() { return virtualNodes; }
+
+    /**
+     * Spreads the string hash (cached by String, and fixed by the language specification)
+     * over 64 bits with the MurmurHash3 finalizer, so that keys differing only in their last
+     * characters still land far apart on the ring.
+     */
+    static long hash(String key) {
+        long h = key.hashCode();
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConsistentHashRing{shards=%d, virtualNodes=%d}", shardCount, virtualNodes);
+    }
+}
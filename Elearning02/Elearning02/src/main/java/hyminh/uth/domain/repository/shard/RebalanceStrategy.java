@@ -0,0 +1,79 @@
+package hyminh.uth.domain.repository.shard;
+
+/**
+ * Decides how the members that change shard after a resize are moved.
+ *
+ * A strategy drives a {@link Migration} by calling {@link Migration#moveNext(int)} until
+ * nothing is left. Writes to the repository are blocked while a batch is being moved but
+ * proceed between batches, so smaller batches trade total rebalancing time for shorter write
+ * pauses. Reads are never blocked.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface RebalanceStrategy {
+
+    /**
+     * Moves all members of a migration.
+     *
+     * @param migration the pending migration
+     */
+    void execute(Migration migration);
+
+    /**
+     * Returns a strategy moving everything in one batch: fastest, but blocks writes for the
+     * whole migration.
+     *
+     * @return the strategy
+     */
+    static RebalanceStrategy allAtOnce() {
+        return migration -> migration.moveNext(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a strategy moving fixed-size batches and yielding to waiting writers in between.
+     *
+     * @param batchSize the number of members per batch
+     * @return the strategy
+     * @throws IllegalArgumentException if batchSize is not positive
+     */
+    static RebalanceStrategy batched(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        return migration -> {
+            while (migration.moveNext(batchSize) > 0) {
+                Thread.yield();
+            }
+        };
+    }
+
+    /**
+     * Members waiting to be copied to their new shard.
+     */
+    interface Migration {
+
+        /**
+         * Copies up to {@code maxMembers} members to their new shard.
+         *
+         * @param maxMembers the maximum number of members to copy
+         * @return the number of members copied, 0 once the migration is complete
+         */
+        int moveNext(int maxMembers);
+
+        /**
+         * Returns the number of members still to be copied.
+         *
+         * @return the remaining member count
+         */
+        int getRemaining();
+
+        /**
+         * Returns the number of members that change shard.
+         *
+         * @return the total member count of the migration
+         */
+        int getTotal();
+    }
+}
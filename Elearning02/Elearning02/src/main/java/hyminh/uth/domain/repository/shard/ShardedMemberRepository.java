@@ -0,0 +1,596 @@
+package hyminh.uth.domain.repository.shard;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.PersistenceAccess;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryPlan;
+import hyminh.uth.domain.query.ScanExecutor;
+import hyminh.uth.domain.repository.MemberRepository;
+import hyminh.uth.domain.repository.impl.InMemoryAccess;
+import hyminh.uth.domain.repository.impl.InMemoryMemberRepository;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * MemberRepository partitioned over independent in-memory shards.
+ *
+ * Members are routed by {@link MemberId} through a {@link ConsistentHashRing}, so each shard
+ * has its own maps and indexes: writers to different shards never contend, and each shard's
+ * scans and query indexes stay small. When a branch key is configured, members of the same
+ * branch are routed by branch instead and live together on one shard, which keeps
+ * {@link #findByBranch(String)} a single-shard query.
+ *
+ * Lookups by member ID go to one shard, and so do lookups by user ID through a global user ID
+ * map, which also keeps user IDs unique across shards. Finders, counts and queries fan out to
+ * all shards on a fork-join pool and merge the results (queries are re-sorted and re-limited
+ * after the merge).
+ *
+ * {@link #resize(int)} changes the shard count online. The members that change owner are
+ * copied to their new shard in batches chosen by a {@link RebalanceStrategy}, while writes are
+ * applied to both the old and the new owner; the ring is then switched and the stale copies
+ * removed. Reads keep using the old ring until the switch, so no member is ever missing.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class ShardedMemberRepository implements MemberRepository {
+
+    private static final int LOCK_STRIPES = 64;
+    private static final String BRANCH_PREFIX = "branch:";
+
+    private final Function<Member, String> branchKey;
+    private final RebalanceStrategy rebalanceStrategy;
+    private final ForkJoinPool pool;
+    private final ScanExecutor shardScanExecutor;
+    private final Map<MemberId, String> branches = new ConcurrentHashMap<>();
+    private final Map<String, MemberId> userIdToMemberId = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock rebalanceLock = new ReentrantReadWriteLock();
+    private final ReentrantLock[] writeLocks = new ReentrantLock[LOCK_STRIPES];
+    private final ReentrantLock resizeLock = new ReentrantLock();
+
+    private volatile Layout layout;
+    private volatile Layout pending;
+
+    /**
+     * Constructs a new repository without branch routing, rebalancing all at once and
+     * fanning out on the common pool.
+     *
+     * @param shardCount the number of shards
+     * @throws IllegalArgumentException if shardCount is not positive
+     */
+    public ShardedMemberRepository(int shardCount) {
+        this(shardCount, null, RebalanceStrategy.allAtOnce(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new repository.
+     *
+     * @param shardCount the number of shards
+     * @param branchKey returns the branch of a member, or null for members routed by ID;
+     *                  null to route every member by ID
+     * @param rebalanceStrategy how members are moved when the shard count changes
+     * @param pool the pool running cross-shard finders and queries
+     * @throws IllegalArgumentException if shardCount is not positive, or rebalanceStrategy
+     *                                  or pool is null
+     */
+    public ShardedMemberRepository(int shardCount, Function<Member, String> branchKey,
+                                   RebalanceStrategy rebalanceStrategy, ForkJoinPool pool) {
+        if (rebalanceStrategy == null) {
+            throw new IllegalArgumentException("Rebalance strategy cannot be null");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool cannot be null");
+        }
+        this.branchKey = branchKey;
+        this.rebalanceStrategy = rebalanceStrategy;
+        this.pool = pool;
+        // Shards scan sequentially: the fan-out across shards already provides the parallelism
+        this.shardScanExecutor = new ScanExecutor(pool);
+        shardScanExecutor.setMode(ScanExecutor.Mode.SEQUENTIAL);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            writeLocks[i] = new ReentrantLock();
+        }
+        this.layout = new Layout(new ConsistentHashRing(shardCount), newShards(List.of(), shardCount));
+    }
+
+    // ========== WRITES ==========
+
+    @Override
+    public Member save(Member member) {
+        store(member, false);
+        return member;
+    }
+
+    @Override
+    public boolean compareAndSave(Member member) {
+        return store(member, true);
+    }
+
+    /**
+     * Writes a member under its stripe locks. The version is checked and advanced here rather
+     * than by the shards, because during a resize the member is written to two shards.
+     */
+    private boolean store(Member member, boolean checkVersion) {
+        if (member == null) {
+            throw new IllegalArgumentException("Member cannot be null");
+        }
+        MemberId memberId = member.getMemberId();
+        rebalanceLock.readLock().lock();
+        // Lock the member and its user ID in stripe order, so concurrent saves cannot deadlock
+        int memberStripe = stripeIndex(memberId.getValue());
+        int userStripe = stripeIndex(member.getUserId());
+        ReentrantLock first = writeLocks[Math.min(memberStripe, userStripe)];
+        ReentrantLock second = writeLocks[Math.max(memberStripe, userStripe)];
+        first.lock();
+        second.lock();
+        try {
+            String userId = member.getUserId();
+            MemberId owner = userIdToMemberId.get(userId);
+            if (owner != null && !owner.equals(memberId)) {
+                throw new IllegalArgumentException("User ID already exists: " + userId);
+            }
+            String oldKey = routingKey(memberId);
+            Layout current = layout;
+            Optional<Member> previous = current.shardFor(oldKey).findById(memberId);
+            long version = previous.map(Member::getVersion).orElse(0L);
+            if (checkVersion && version != member.getVersion()) {
+                return false;
+            }
+            String branch = branchKey == null ? null : branchKey.apply(member);
+            String newKey = branch == null ? memberId.getValue() : BRANCH_PREFIX + branch;
+
+            // Advance the version once, then store the member with it on every owner
+            PersistenceAccess.setVersion(member, version + 1);
+            InMemoryAccess.put(current.shardFor(newKey), member);
+            Layout next = pending;
+            if (next != null) {
+                InMemoryAccess.put(next.shardFor(newKey), member);
+            }
+            if (branch == null) {
+                branches.remove(memberId);
+            } else {
+                branches.put(memberId, branch);
+            }
+            userIdToMemberId.put(userId, memberId);
+            if (previous.isPresent() && !previous.get().getUserId().equals(userId)) {
+                userIdToMemberId.remove(previous.get().getUserId(), memberId);
+            }
+            if (!oldKey.equals(newKey)) {
+                // The branch changed: drop the copy left on the previous owner
+                removeStale(current, oldKey, newKey, memberId);
+                if (next != null) {
+                    removeStale(next, oldKey, newKey, memberId);
+                }
+            }
+            return true;
+        } finally {
+            second.unlock();
+            first.unlock();
+            rebalanceLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteById(MemberId memberId) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+        rebalanceLock.readLock().lock();
+        ReentrantLock lock = stripe(memberId.getValue());
+        lock.lock();
+        try {
+            String key = routingKey(memberId);
+            InMemoryMemberRepository shard = layout.shardFor(key);
+            Optional<Member> existing = shard.findById(memberId);
+            if (existing.isEmpty()) {
+                return false;
+            }
+            shard.deleteById(memberId);
+            Layout next = pending;
+            if (next != null) {
+                next.shardFor(key).deleteById(memberId);
+            }
+            branches.remove(memberId);
+            userIdToMemberId.remove(existing.get().getUserId(), memberId);
+            return true;
+        } finally {
+            lock.unlock();
+            rebalanceLock.readLock().unlock();
+        }
+    }
+
+    // ========== SINGLE-SHARD READS ==========
+
+    @Override
+    public Optional<Member> findById(MemberId memberId) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+        return layout.shardFor(routingKey(memberId)).findById(memberId);
+    }
+
+    @Override
+    public boolean existsById(MemberId memberId) {
+        return findById(memberId).isPresent();
+    }
+
+    /**
+     * Finds the members of a branch. With branch routing all of them live on one shard, so
+     * only that shard is scanned.
+     *
+     * @param branch the branch
+     * @return the members whose branch key equals branch
+     * @throws IllegalArgumentException if branch is null
+     * @throws IllegalStateException if the repository has no branch key
+     */
+    public List<Member> findByBranch(String branch) {
+        if (branch == null) {
+            throw new IllegalArgumentException("Branch cannot be null");
+        }
+        if (branchKey == null) {
+            throw new IllegalStateException("Repository is not routed by branch");
+        }
+        return shardScanExecutor.filter(layout.shardFor(BRANCH_PREFIX + branch).findAll(),
+                member -> branch.equals(branchKey.apply(member)));
+    }
+
+    @Override
+    public Optional<Member> findByUserId(String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            throw new IllegalArgumentException("User ID cannot be null or empty");
+        }
+        MemberId memberId = userIdToMemberId.get(userId);
+        return memberId == null ? Optional.empty() : findById(memberId);
+    }
+
+    @Override
+    public boolean existsByUserId(String userId) {
+        return findByUserId(userId).isPresent();
+    }
+
+    // ========== CROSS-SHARD READS ==========
+
+    @Override
+    public List<Member> findByRegistrationDateAfter(LocalDate date) {
+        return gather(shard -> shard.findByRegistrationDateAfter(date));
+    }
+
+    @Override
+    public List<Member> findByRegistrationDateBefore(LocalDate date) {
+        return gather(shard -> shard.findByRegistrationDateBefore(date));
+    }
+
+    @Override
+    public List<Member> findWithActiveSubscriptions() {
+        return gather(InMemoryMemberRepository::findWithActiveSubscriptions);
+    }
+
+    @Override
+    public List<Member> findWithoutActiveSubscriptions() {
+        return gather(InMemoryMemberRepository::findWithoutActiveSubscriptions);
+    }
+
+    @Override
+    public List<Member> findByTrainerId(String trainerId) {
+        return gather(shard -> shard.findByTrainerId(trainerId));
+    }
+
+    @Override
+    public List<Member> findActiveMembers() {
+        return gather(InMemoryMemberRepository::findActiveMembers);
+    }
+
+    @Override
+    public List<Member> findInactiveMembers() {
+        return gather(InMemoryMemberRepository::findInactiveMembers);
+    }
+
+    @Override
+    public List<Member> findAll() {
+        return gather(InMemoryMemberRepository::findAll);
+    }
+
+    @Override
+    public long count() {
+        return sum(InMemoryMemberRepository::count);
+    }
+
+    @Override
+    public long countWithActiveSubscriptions() {
+        return sum(InMemoryMemberRepository::countWithActiveSubscriptions);
+    }
+
+    @Override
+    public long countWithoutActiveSubscriptions() {
+        return sum(InMemoryMemberRepository::countWithoutActiveSubscriptions);
+    }
+
+    @Override
+    public long countByTrainerId(String trainerId) {
+        return sum(shard -> shard.countByTrainerId(trainerId));
+    }
+
+    @Override
+    public long countByRegistrationMonth(int year, int month) {
+        return sum(shard -> shard.countByRegistrationMonth(year, month));
+    }
+
+    /**
+     * Runs the query on every shard and merges the results. Each shard already applies the
+     * order and limit, so the merge only re-sorts and cuts the per-shard top results.
+     */
+    @Override
+    public List<Member> query(Query<Member> query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        List<Member> result = gather(shard -> shard.query(query));
+        if (query.hasOrder()) {
+            result.sort(query.getOrder());
+        }
+        if (query.hasLimit() && result.size() > query.getLimit()) {
+            return new ArrayList<>(result.subList(0, query.getLimit()));
+        }
+        return result;
+    }
+
+    /**
+     * Explains the query as a fan-out over every shard. Shards share their indexes but not
+     * their data, so each shard may choose a different access path.
+     */
+    @Override
+    public QueryPlan explain(Query<Member> query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        List<QueryPlan> plans = new ArrayList<>();
+        for (InMemoryMemberRepository shard : layout.shards) {
+            plans.add(shard.explain(query));
+        }
+        return QueryPlan.fanOut(plans);
+    }
+
+    // ========== REBALANCING ==========
+
+    /**
+     * Changes the number of shards, moving the members whose owner changes with the
+     * configured {@link RebalanceStrategy}. Reads and writes continue during the move;
+     * concurrent resizes run one after the other.
+     *
+     * @param newShardCount the new number of shards
+     * @return the number of members that moved to another shard
+     * @throws IllegalArgumentException if newShardCount is not positive
+     */
+    public int resize(int newShardCount) {
+        if (newShardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        resizeLock.lock();
+        try {
+            Layout current = layout;
+            if (newShardCount == current.shards.size()) {
+                return 0;
+            }
+            Layout next = new Layout(current.ring.resize(newShardCount), newShards(current.shards, newShardCount));
+            MigrationPlan migration;
+            rebalanceLock.writeLock().lock();
+            try {
+                pending = next;
+                migration = new MigrationPlan(current, next);
+            } finally {
+                rebalanceLock.writeLock().unlock();
+            }
+            rebalanceStrategy.execute(migration);
+            migration.moveNext(Integer.MAX_VALUE);   // Whatever a strategy left behind
+
+            rebalanceLock.writeLock().lock();
+            try {
+                layout = next;
+                pending = null;
+            } finally {
+                rebalanceLock.writeLock().unlock();
+            }
+            removeStaleCopies(next);
+            return migration.getTotal();
+        } finally {
+            resizeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether a resize is in progress.
+     *
+     * @return true while members are being moved
+     */
+    public boolean isRebalancing() {
+        return pending != null;
+    }
+
+    // Getters
+    public int getShardCount() { return layout.shards.size(); }
+    public ConsistentHashRing getRing() { return layout.ring; }
+
+    /**
+     * Returns the number of members on each shard.
+     *
+     * @return the member counts, indexed by shard
+     */
+    public List<Long> getShardSizes() {
+        List<Long> sizes = new ArrayList<>();
+        for (InMemoryMemberRepository shard : layout.shards) {
+            sizes.add(shard.count());
+        }
+        return sizes;
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private String routingKey(MemberId memberId) {
+        String branch = branches.get(memberId);
+        return branch == null ? memberId.getValue() : BRANCH_PREFIX + branch;
+    }
+
+    private ReentrantLock stripe(String key) {
+        return writeLocks[stripeIndex(key)];
+    }
+
+    private static int stripeIndex(String key) {
+        return (int) (ConsistentHashRing.hash(key) >>> 58);
+    }
+
+    private static void removeStale(Layout target, String oldKey, String newKey, MemberId memberId) {
+        InMemoryMemberRepository oldShard = target.shardFor(oldKey);
+        if (oldShard != target.shardFor(newKey)) {
+            oldShard.deleteById(memberId);
+        }
+    }
+
+    /**
+     * Deletes the copies left on shards that no longer own a member. Each deletion holds the
+     * member's write lock, so a concurrent save cannot be undone.
+     */
+    private void removeStaleCopies(Layout target) {
+        for (InMemoryMemberRepository shard : target.shards) {
+            for (Member member : shard.findAll()) {
+                MemberId memberId = member.getMemberId();
+                ReentrantLock lock = stripe(memberId.getValue());
+                lock.lock();
+                try {
+                    if (target.shardFor(routingKey(memberId)) != shard) {
+                        shard.deleteById(memberId);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    private List<InMemoryMemberRepository> newShards(List<InMemoryMemberRepository> existing, int count) {
+        List<InMemoryMemberRepository> shards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            shards.add(i < existing.size() ? existing.get(i) : new InMemoryMemberRepository(shardScanExecutor));
+        }
+        return Collections.unmodifiableList(shards);
+    }
+
+    private List<Member> gather(Function<InMemoryMemberRepository, List<Member>> finder) {
+        List<InMemoryMemberRepository> shards = layout.shards;
+        if (shards.size() == 1) {
+            return new ArrayList<>(finder.apply(shards.get(0)));
+        }
+        List<CompletableFuture<List<Member>>> parts = new ArrayList<>(shards.size());
+        for (InMemoryMemberRepository shard : shards) {
+            parts.add(CompletableFuture.supplyAsync(() -> finder.apply(shard), pool));
+        }
+        List<Member> result = new ArrayList<>();
+        for (CompletableFuture<List<Member>> part : parts) {
+            result.addAll(part.join());
+        }
+        return result;
+    }
+
+    private long sum(ToLongFunction<InMemoryMemberRepository> counter) {
+        List<InMemoryMemberRepository> shards = layout.shards;
+        if (shards.size() == 1) {
+            return counter.applyAsLong(shards.get(0));
+        }
+        List<CompletableFuture<Long>> parts = new ArrayList<>(shards.size());
+        for (InMemoryMemberRepository shard : shards) {
+            parts.add(CompletableFuture.supplyAsync(() -> counter.applyAsLong(shard), pool));
+        }
+        long total = 0;
+        for (CompletableFuture<Long> part : parts) {
+            total += part.join();
+        }
+        return total;
+    }
+
+    /**
+     * A ring and its shards, replaced as a whole on resize.
+     */
+    private static final class Layout {
+        final ConsistentHashRing ring;
+        final List<InMemoryMemberRepository> shards;
+
+        Layout(ConsistentHashRing ring, List<InMemoryMemberRepository> shards) {
+            this.ring = ring;
+            this.shards = shards;
+        }
+
+        InMemoryMemberRepository shardFor(String key) {
+            return shards.get(ring.shardFor(key));
+        }
+    }
+
+    /**
+     * Members whose owner differs between two layouts. Batches hold the rebalance write lock,
+     * so no save or delete interleaves with a copy.
+     */
+    private final class MigrationPlan implements RebalanceStrategy.Migration {
+        private final Layout next;
+        private final List<Move> moves = new ArrayList<>();
+        private int position;
+
+        MigrationPlan(Layout current, Layout next) {
+            this.next = next;
+            for (InMemoryMemberRepository shard : current.shards) {
+                for (Member member : shard.findAll()) {
+                    InMemoryMemberRepository target = next.shardFor(routingKey(member.getMemberId()));
+                    if (target != shard) {
+                        moves.add(new Move(member.getMemberId(), shard));
+                    }
+                }
+            }
+        }
+
+        @Override
+        public int moveNext(int maxMembers) {
+            rebalanceLock.writeLock().lock();
+            try {
+                int end = (int) Math.min(moves.size(), (long) position + Math.max(0, maxMembers));
+                int moved = end - position;
+                for (; position < end; position++) {
+                    Move move = moves.get(position);
+                    // Re-read the member: it may have been updated or deleted since planning
+                    move.source.findById(move.memberId).ifPresent(member ->
+                            InMemoryAccess.put(next.shardFor(routingKey(move.memberId)), member));
+                }
+                return moved;
+            } finally {
+                rebalanceLock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public int getRemaining() { return moves.size() - position; }
+
+        @Override
+        public int getTotal() { return moves.size(); }
+    }
+
+    /**
+     * A member to copy and the shard currently holding it.
+     */
+    private static final class Move {
+        final MemberId memberId;
+        final InMemoryMemberRepository source;
+
+        Move(MemberId memberId, InMemoryMemberRepository source) {
+            this.memberId = memberId;
+            this.source = source;
+        }
+    }
+}
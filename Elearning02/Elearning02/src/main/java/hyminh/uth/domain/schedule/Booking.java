@@ -0,0 +1,100 @@
+package hyminh.uth.domain.schedule;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Value object representing a personal-training session booked with a trainer.
+ * The session occupies the half-open interval [start, end).
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class Booking {
+
+    private final String bookingId;
+    private final String trainerId;
+    private final String memberId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    /**
+     * Constructs a new Booking.
+     *
+     * @param bookingId the booking ID
+     * @param trainerId the trainer ID
+     * @param memberId the member ID
+     * @param start the session start (inclusive)
+     * @param end the session end (exclusive)
+     * @throws IllegalArgumentException if any parameter is null or empty, or end is not after start
+     */
+    public Booking(String bookingId, String trainerId, String memberId, LocalDateTime start, LocalDateTime end) {
+        if (bookingId == null || bookingId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Booking ID cannot be null or empty");
+        }
+        if (trainerId == null || trainerId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Trainer ID cannot be null or empty");
+        }
+        if (memberId == null || memberId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Member ID cannot be null or empty");
+        }
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start and end cannot be null");
+        }
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("End must be after start");
+        }
+        this.bookingId = bookingId;
+        this.trainerId = trainerId;
+        this.memberId = memberId;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Checks if this booking overlaps a time range.
+     *
+     * @param otherStart the range start (inclusive)
+     * @param otherEnd the range end (exclusive)
+     * @return true if the booking and the range share any instant, false otherwise
+     */
+    public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && otherStart.isBefore(end);
+    }
+
+    /**
+     * Returns the length of the session.
+     *
+     * @return the session duration
+     */
+    public Duration getDuration() {
+        return Duration.between(start, end);
+    }
+
+    // Getters
+    public String getBookingId() { return bookingId; }
+    public String getTrainerId() { return trainerId; }
+    public String getMemberId() { return memberId; }
+    public LocalDateTime getStart() { return start; }
+    public LocalDateTime getEnd() { return end; }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Booking booking = (Booking) obj;
+        return Objects.equals(bookingId, booking.bookingId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(bookingId);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Booking{id='%s', trainer='%s', member='%s', %s - %s}",
+                           bookingId, trainerId, memberId, start, end);
+    }
+}
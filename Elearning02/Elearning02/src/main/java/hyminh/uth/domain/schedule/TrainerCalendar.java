@@ -0,0 +1,391 @@
+package hyminh.uth.domain.schedule;
+
+import hyminh.uth.domain.exception.BookingConflictException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Calendar of booked sessions for one trainer.
+ *
+ * Bookings never overlap, so the calendar is an ordered set of intervals keyed by start
+ * time. It is stored as a persistent (copy-on-write) treap whose nodes are augmented with
+ * the earliest start, latest end and largest free gap between consecutive bookings of their
+ * subtree. This gives O(log n) expected time for booking, cancellation, conflict checks and
+ * "next free slot of length N" queries: the gap augmentation lets the search skip whole
+ * subtrees that contain no large enough gap.
+ *
+ * Writers use optimistic concurrency: they build a new version of the tree from the current
+ * snapshot (copying only the O(log n) nodes on the changed path) and publish it with a
+ * compare-and-set, retrying if another writer got there first. Readers never block and always
+ * see a consistent snapshot, and writers for different trainers never contend.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class TrainerCalendar {
+
+    private static final long NO_GAP = -1;
+    private static final long UNSET = Long.MIN_VALUE;
+    private static final long NOT_FOUND = Long.MIN_VALUE;
+
+    private final String trainerId;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(null, 0));
+    private final Map<String, Booking> bookingsById = new ConcurrentHashMap<>();
+    private final AtomicLong bookingSequence = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+
+    /**
+     * Constructs an empty calendar.
+     *
+     * @param trainerId the trainer ID
+     * @throws IllegalArgumentException if trainerId is null or empty
+     */
+    public TrainerCalendar(String trainerId) {
+        if (trainerId == null || trainerId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Trainer ID cannot be null or empty");
+        }
+        this.trainerId = trainerId;
+    }
+
+    /**
+     * Books a session.
+     *
+     * @param memberId the member ID
+     * @param start the session start (inclusive)
+     * @param length the session length
+     * @return the new booking
+     * @throws IllegalArgumentException if any parameter is invalid
+     * @throws BookingConflictException if the session overlaps an existing booking
+     */
+    public Booking book(String memberId, LocalDateTime start, Duration length) {
+        if (start == null || length == null || length.isNegative() || length.isZero()) {
+            throw new IllegalArgumentException("Start cannot be null and length must be positive");
+        }
+        Booking booking = new Booking(trainerId + "-BKG-" + bookingSequence.incrementAndGet(),
+                trainerId, memberId, start, start.plus(length));
+        long from = toSeconds(booking.getStart());
+        long to = toSeconds(booking.getEnd());
+        while (true) {
+            Snapshot current = snapshot.get();
+            Node conflict = lastStartingBefore(current.root, to);
+            if (conflict != null && conflict.end > from) {
+                throw new BookingConflictException("Slot " + booking.getStart() + " - " + booking.getEnd()
+                        + " overlaps booking " + conflict.booking.getBookingId());
+            }
+            Node[] parts = split(current.root, from);
+            Node root = merge(merge(parts[0], new Node(booking, from, to, priorityOf(from), null, null)), parts[1]);
+            if (snapshot.compareAndSet(current, new Snapshot(root, current.version + 1))) {
+                bookingsById.put(booking.getBookingId(), booking);
+                return booking;
+            }
+            retries.incrementAndGet();
+        }
+    }
+
+    /**
+     * Cancels a booking.
+     *
+     * @param bookingId the booking ID
+     * @return true if the booking was cancelled, false if it does not exist
+     */
+    public boolean cancel(String bookingId) {
+        Booking booking = bookingId != null ? bookingsById.get(bookingId) : null;
+        if (booking == null) {
+            return false;
+        }
+        long key = toSeconds(booking.getStart());
+        while (true) {
+            Snapshot current = snapshot.get();
+            Node[] lower = split(current.root, key);
+            Node[] upper = split(lower[1], key + 1);
+            if (upper[0] == null || !upper[0].booking.getBookingId().equals(bookingId)) {
+                return false;   // Cancelled concurrently
+            }
+            Node root = merge(lower[0], upper[1]);
+            if (snapshot.compareAndSet(current, new Snapshot(root, current.version + 1))) {
+                bookingsById.remove(bookingId);
+                return true;
+            }
+            retries.incrementAndGet();
+        }
+    }
+
+    /**
+     * Checks if a time range is free.
+     *
+     * @param start the range start (inclusive)
+     * @param end the range end (exclusive)
+     * @return true if no booking overlaps the range, false otherwise
+     */
+    public boolean isFree(LocalDateTime start, LocalDateTime end) {
+        return findConflict(start, end).isEmpty();
+    }
+
+    /**
+     * Finds the booking overlapping a time range, if any.
+     *
+     * @param start the range start (inclusive)
+     * @param end the range end (exclusive)
+     * @return the overlapping booking, or empty if the range is free
+     * @throws IllegalArgumentException if start or end is null or end is not after start
+     */
+    public Optional<Booking> findConflict(LocalDateTime start, LocalDateTime end) {
+        validateRange(start, end);
+        Node candidate = lastStartingBefore(snapshot.get().root, toSeconds(end));
+        if (candidate != null && candidate.end > toSeconds(start)) {
+            return Optional.of(candidate.booking);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the earliest start at or after {@code from} where a session of the given length fits.
+     *
+     * @param from the earliest acceptable start
+     * @param length the session length
+     * @return the start of the first free slot
+     * @throws IllegalArgumentException if from is null or length is not positive
+     */
+    public LocalDateTime findNextFreeSlot(LocalDateTime from, Duration length) {
+        if (from == null || length == null || length.isNegative() || length.isZero()) {
+            throw new IllegalArgumentException("From cannot be null and length must be positive");
+        }
+        Node root = snapshot.get().root;
+        long needed = length.getSeconds();
+        long candidate = toSeconds(from);
+
+        Node covering = lastStartingBefore(root, candidate + 1);
+        if (covering != null && covering.end > candidate) {
+            candidate = covering.end;
+        }
+        Node next = firstStartingAtOrAfter(root, candidate);
+        if (next == null || next.start - candidate >= needed) {
+            return fromSeconds(candidate);
+        }
+
+        long[] previousEnd = {UNSET};
+        long found = findGap(root, next.start, needed, previousEnd);
+        return fromSeconds(found != NOT_FOUND ? found : previousEnd[0]);
+    }
+
+    /**
+     * Lists the bookings overlapping a time range, ordered by start.
+     *
+     * @param start the range start (inclusive)
+     * @param end the range end (exclusive)
+     * @return the overlapping bookings
+     * @throws IllegalArgumentException if start or end is null or end is not after start
+     */
+    public List<Booking> getBookings(LocalDateTime start, LocalDateTime end) {
+        validateRange(start, end);
+        List<Booking> result = new ArrayList<>();
+        collect(snapshot.get().root, toSeconds(start), toSeconds(end), result);
+        return result;
+    }
+
+    /**
+     * Finds a booking by ID.
+     *
+     * @param bookingId the booking ID
+     * @return the booking, or empty if it does not exist
+     */
+    public Optional<Booking> findBooking(String bookingId) {
+        return bookingId != null ? Optional.ofNullable(bookingsById.get(bookingId)) : Optional.empty();
+    }
+
+    // Getters
+    public String getTrainerId() { return trainerId; }
+    public int getBookingCount() { return size(snapshot.get().root); }
+    public long getVersion() { return snapshot.get().version; }
+    public long getRetryCount() { return retries.get(); }
+
+    // ========== TREE OPERATIONS ==========
+
+    /**
+     * Splits a tree into the nodes starting before {@code key} and the rest.
+     */
+    private static Node[] split(Node node, long key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (node.start < key) {
+            Node[] right = split(node.right, key);
+            return new Node[] {node.with(node.left, right[0]), right[1]};
+        }
+        Node[] left = split(node.left, key);
+        return new Node[] {left[0], node.with(left[1], node.right)};
+    }
+
+    /**
+     * Joins two trees where every start in {@code left} precedes every start in {@code right}.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            return left.with(left.left, merge(left.right, right));
+        }
+        return right.with(merge(left, right.left), right.right);
+    }
+
+    private static Node lastStartingBefore(Node node, long key) {
+        Node best = null;
+        while (node != null) {
+            if (node.start < key) {
+                best = node;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return best;
+    }
+
+    private static Node firstStartingAtOrAfter(Node node, long key) {
+        Node best = null;
+        while (node != null) {
+            if (node.start >= key) {
+                best = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Walks the bookings starting at or after {@code key} in order and returns the end of the
+     * first one followed by a gap of at least {@code needed} seconds. {@code previousEnd} carries
+     * the end of the last booking visited, so when no gap is found it holds the end of the
+     * last booking.
+     */
+    private static long findGap(Node node, long key, long needed, long[] previousEnd) {
+        if (node == null) {
+            return NOT_FOUND;
+        }
+        if (node.minStart >= key) {
+            long gapBefore = previousEnd[0] == UNSET ? NO_GAP : node.minStart - previousEnd[0];
+            if (Math.max(gapBefore, node.maxGap) < needed) {
+                previousEnd[0] = node.maxEnd;   // No gap in this subtree: skip it whole
+                return NOT_FOUND;
+            }
+        }
+        if (node.start >= key) {
+            long found = findGap(node.left, key, needed, previousEnd);
+            if (found != NOT_FOUND) {
+                return found;
+            }
+            if (previousEnd[0] != UNSET && node.start - previousEnd[0] >= needed) {
+                return previousEnd[0];
+            }
+            previousEnd[0] = node.end;
+        }
+        return findGap(node.right, key, needed, previousEnd);
+    }
+
+    private static void collect(Node node, long from, long to, List<Booking> result) {
+        if (node == null || node.maxEnd <= from || node.minStart >= to) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (node.start < to && node.end > from) {
+            result.add(node.booking);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int priorityOf(long key) {
+        // Deterministic pseudo-random priority (SplitMix64 finalizer) keeps the treap balanced
+        long z = key + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return (int) (z ^ (z >>> 31));
+    }
+
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromSeconds(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+
+    private static void validateRange(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null) {
+            throw new IllegalArgumentException("Start and end cannot be null");
+        }
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("End must be after start");
+        }
+    }
+
+    /**
+     * Immutable version of the calendar.
+     */
+    private static final class Snapshot {
+        final Node root;
+        final long version;
+
+        Snapshot(Node root, long version) {
+            this.root = root;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Immutable treap node with subtree aggregates.
+     */
+    private static final class Node {
+        final Booking booking;
+        final long start;
+        final long end;
+        final int priority;
+        final Node left;
+        final Node right;
+        final long minStart;
+        final long maxEnd;
+        final long maxGap;
+        final int size;
+
+        Node(Booking booking, long start, long end, int priority, Node left, Node right) {
+            this.booking = booking;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.minStart = left != null ? left.minStart : start;
+            this.maxEnd = right != null ? right.maxEnd : end;
+            long gap = NO_GAP;
+            if (left != null) {
+                gap = Math.max(gap, Math.max(left.maxGap, start - left.maxEnd));
+            }
+            if (right != null) {
+                gap = Math.max(gap, Math.max(right.maxGap, right.minStart - end));
+            }
+            this.maxGap = gap;
+            this.size = 1 + size(left) + size(right);
+        }
+
+        Node with(Node newLeft, Node newRight) {
+            return new Node(booking, start, end, priority, newLeft, newRight);
+        }
+    }
+}
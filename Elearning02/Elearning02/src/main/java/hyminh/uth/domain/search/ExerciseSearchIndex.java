@@ -0,0 +1,412 @@
+package hyminh.uth.domain.search;
+
+import hyminh.uth.domain.entity.Exercise;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the text of exercises, ranked with BM25.
+ *
+ * The name, description, instructions and target muscles of every exercise are analyzed
+ * with {@link TextAnalyzer}. Each term has a posting list of the exercises containing it and
+ * its weighted frequency there; a term in the name counts {@value #NAME_WEIGHT} times. A
+ * search scores only the exercises on the posting lists of its terms:
+ * <pre>
+ * score = sum over terms of idf * tf * (k1 + 1) / (tf + k1 * (1 - b + b * length / averageLength))
+ * idf   = ln(1 + (n - df + 0.5) / (df + 0.5))
+ * </pre>
+ *
+ * Indexing an exercise again replaces it. Exercises are numbered in the order they were
+ * indexed, so new postings are appended at the end of their lists; a replaced or removed
+ * exercise is only marked deleted and skipped by searches, and the lists are compacted once
+ * deleted entries outnumber live ones.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class ExerciseSearchIndex {
+
+    /**
+     * BM25 term frequency saturation.
+     */
+    public static final double K1 = 1.2;
+
+    /**
+     * BM25 document length normalization.
+     */
+    public static final double B = 0.75;
+
+    /**
+     * Weight of terms in the exercise name, relative to the other fields.
+     */
+    public static final double NAME_WEIGHT = 2.0;
+
+    private static final int MIN_COMPACTION = 1_024;
+    private static final Comparator<SearchHit> RANKING = Comparator
+            .comparingDouble(SearchHit::getScore).reversed()
+            .thenComparing(SearchHit::getExerciseId);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> docOf = new HashMap<>();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private Postings[] postings = new Postings[1_024];
+
+    // Theo số thứ tự tài liệu; null ở exercises nghĩa là đã xoá
+    private Exercise[] exercises = new Exercise[1_024];
+    private float[] lengths = new float[1_024];
+    private int[][] docTerms = new int[1_024][];
+    private int nextDoc;
+    private int liveCount;
+    private double totalLength;
+
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * Adds an exercise to the index, replacing the entry with the same exercise ID.
+     *
+     * @param exercise the exercise
+     * @throws IllegalArgumentException if exercise is null
+     */
+    public void index(Exercise exercise) {
+        if (exercise == null) {
+            throw new IllegalArgumentException("Exercise cannot be null");
+        }
+        Map<String, float[]> frequencies = new LinkedHashMap<>();
+        float length = count(frequencies, exercise.getName(), (float) NAME_WEIGHT)
+                + count(frequencies, exercise.getDescription(), 1f)
+                + count(frequencies, exercise.getInstructions(), 1f)
+                + count(frequencies, exercise.getTargetMuscles(), 1f);
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = docOf.remove(exercise.getExerciseId());
+            if (previous != null) {
+                delete(previous);
+            }
+            int doc = nextDoc++;
+            ensureDocCapacity(doc + 1);
+            int[] terms = new int[frequencies.size()];
+            int i = 0;
+            for (Map.Entry<String, float[]> entry : frequencies.entrySet()) {
+                int term = termId(entry.getKey());
+                postings[term].add(doc, entry.getValue()[0]);
+                terms[i++] = term;
+            }
+            exercises[doc] = exercise;
+            lengths[doc] = length;
+            docTerms[doc] = terms;
+            docOf.put(exercise.getExerciseId(), doc);
+            liveCount++;
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an exercise from the index.
+     *
+     * @param exerciseId the exercise ID
+     * @return true if the exercise was indexed, false otherwise
+     * @throws IllegalArgumentException if exerciseId is null
+     */
+    public boolean remove(String exerciseId) {
+        if (exerciseId == null) {
+            throw new IllegalArgumentException("Exercise ID cannot be null");
+        }
+        lock.writeLock().lock();
+        try {
+            Integer doc = docOf.remove(exerciseId);
+            if (doc == null) {
+                return false;
+            }
+            delete(doc);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the exercises most relevant to a phrase. An exercise matches if it contains at
+     * least one of the phrase's terms; exercises containing more and rarer terms rank higher.
+     *
+     * @param query the search phrase
+     * @param limit the maximum number of hits
+     * @return the hits, best first, ties by exercise ID
+     * @throws IllegalArgumentException if query is null or limit is not positive
+     */
+    public List<SearchHit> search(String query, int limit) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.analyze(query)));
+        Scratch work = scratch.get();
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0 || terms.isEmpty()) {
+                return List.of();
+            }
+            work.ensureCapacity(nextDoc);
+            float[] scores = work.scores;
+            int touched = 0;
+            double averageLength = totalLength / liveCount;
+            for (String term : terms) {
+                Integer id = termIds.get(term);
+                if (id == null || postings[id].live == 0) {
+                    continue;
+                }
+                Postings list = postings[id];
+                double idf = Math.log(1 + (liveCount - list.live + 0.5) / (list.live + 0.5));
+                float idfScale = (float) (idf * (K1 + 1));
+                float base = (float) (K1 * (1 - B));
+                float perLength = (float) (K1 * B / averageLength);
+                int[] docs = list.docs;
+                float[] tfs = list.tfs;
+                for (int i = 0; i < list.size; i++) {
+                    int doc = docs[i];
+                    if (exercises[doc] == null) {
+                        continue;
+                    }
+                    float tf = tfs[i];
+                    if (scores[doc] == 0f) {
+                        work.touched[touched++] = doc;
+                    }
+                    scores[doc] += idfScale * tf / (tf + base + perLength * lengths[doc]);
+                }
+            }
+            return top(work, touched, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed exercises.
+     *
+     * @return the number of exercises
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of distinct terms, including terms only deleted exercises had.
+     *
+     * @return the number of terms
+     */
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return termIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ========== INDEX ==========
+
+    private void delete(int doc) {
+        for (int term : docTerms[doc]) {
+            postings[term].live--;
+        }
+        totalLength -= lengths[doc];
+        liveCount--;
+        exercises[doc] = null;
+        docTerms[doc] = null;
+        if (nextDoc - liveCount > Math.max(liveCount, MIN_COMPACTION)) {
+            compact();
+        }
+    }
+
+    /**
+     * Renumbers the live exercises from 0 and rebuilds the posting lists without deleted entries.
+     */
+    private void compact() {
+        int[] renumbered = new int[nextDoc];
+        int live = 0;
+        for (int doc = 0; doc < nextDoc; doc++) {
+            renumbered[doc] = exercises[doc] == null ? -1 : live++;
+        }
+        for (int term = 0; term < termIds.size(); term++) {
+            postings[term].compact(renumbered);
+        }
+        for (int doc = 0; doc < nextDoc; doc++) {
+            int target = renumbered[doc];
+            if (target >= 0) {
+                exercises[target] = exercises[doc];
+                lengths[target] = lengths[doc];
+                docTerms[target] = docTerms[doc];
+                docOf.put(exercises[target].getExerciseId(), target);
+            }
+        }
+        Arrays.fill(exercises, live, nextDoc, null);
+        Arrays.fill(docTerms, live, nextDoc, null);
+        nextDoc = live;
+    }
+
+    private int termId(String term) {
+        Integer id = termIds.get(term);
+        if (id == null) {
+            id = termIds.size();
+            if (id == postings.length) {
+                postings = Arrays.copyOf(postings, id * 2);
+            }
+            postings[id] = new Postings();
+            termIds.put(term, id);
+        }
+        return id;
+    }
+
+    private void ensureDocCapacity(int capacity) {
+        if (capacity > exercises.length) {
+            int grown = Math.max(capacity, exercises.length * 2);
+            exercises = Arrays.copyOf(exercises, grown);
+            lengths = Arrays.copyOf(lengths, grown);
+            docTerms = Arrays.copyOf(docTerms, grown);
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private static float count(Map<String, float[]> frequencies, String text, float weight) {
+        List<String> terms = TextAnalyzer.analyze(text);
+        for (String term : terms) {
+            frequencies.computeIfAbsent(term, t -> new float[1])[0] += weight;
+        }
+        return terms.size() * weight;
+    }
+
+    /**
+     * Selects the best hits among the scored exercises with a bounded min-heap and clears
+     * the scores for the next search.
+     */
+    private List<SearchHit> top(Scratch work, int touched, int limit) {
+        float[] scores = work.scores;
+        int[] heap = work.heap;
+        int size = 0;
+        int capacity = Math.min(limit, touched);
+        if (heap.length < capacity) {
+            heap = work.heap = new int[capacity];
+        }
+        for (int i = 0; i < touched; i++) {
+            int doc = work.touched[i];
+            if (size < capacity) {
+                heap[size] = doc;
+                siftUp(heap, size++, scores);
+            } else if (scores[doc] > scores[heap[0]]) {
+                heap[0] = doc;
+                siftDown(heap, size, scores);
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            hits.add(new SearchHit(exercises[heap[i]], scores[heap[i]]));
+        }
+        for (int i = 0; i < touched; i++) {
+            scores[work.touched[i]] = 0f;
+        }
+        hits.sort(RANKING);
+        return hits;
+    }
+
+    private static void siftUp(int[] heap, int index, float[] scores) {
+        int doc = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[heap[parent]] <= scores[doc]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = doc;
+    }
+
+    private static void siftDown(int[] heap, int size, float[] scores) {
+        int doc = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && scores[heap[child + 1]] < scores[heap[child]]) {
+                child++;
+            }
+            if (scores[heap[child]] >= scores[doc]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = doc;
+    }
+
+    /**
+     * The exercises containing one term, in exercise number order, and the weighted number
+     * of times they contain it.
+     */
+    private static final class Postings {
+        int[] docs = new int[4];
+        float[] tfs = new float[4];
+        int size;
+        int live;
+
+        void add(int doc, float tf) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            docs[size] = doc;
+            tfs[size] = tf;
+            size++;
+            live++;
+        }
+
+        void compact(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = renumbered[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    tfs[kept] = tfs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+
+    /**
+     * Per-thread score accumulator, sized to the number of exercises and reused across searches.
+     */
+    private static final class Scratch {
+        float[] scores = new float[0];
+        int[] touched = new int[0];
+        int[] heap = new int[16];
+
+        void ensureCapacity(int docs) {
+            if (scores.length < docs) {
+                scores = new float[docs];
+                touched = new int[docs];
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package hyminh.uth.domain.search;
+
+import hyminh.uth.domain.entity.Exercise;
+import java.util.Objects;
+
+/**
+ * An exercise matching a full-text search, with its BM25 relevance score.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class SearchHit {
+
+    private final Exercise exercise;
+    private final double score;
+
+    /**
+     * Constructs a new SearchHit.
+     *
+     * @param exercise the matching exercise
+     * @param score the relevance score (higher is better)
+     * @throws IllegalArgumentException if exercise is null
+     */
+    public SearchHit(Exercise exercise, double score) {
+        if (exercise == null) {
+            throw new IllegalArgumentException("Exercise cannot be null");
+        }
+        this.exercise = exercise;
+        this.score = score;
+    }
+
+    // Getters
+    public Exercise getExercise() { return exercise; }
+    public String getExerciseId() { return exercise.getExerciseId(); }
+    public double getScore() { return score; }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        SearchHit that = (SearchHit) obj;
+        return Double.compare(that.score, score) == 0 && Objects.equals(exercise, that.exercise);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(exercise, score);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SearchHit{exercise=%s, score=%.3f}", exercise.getExerciseId(), score);
+    }
+}
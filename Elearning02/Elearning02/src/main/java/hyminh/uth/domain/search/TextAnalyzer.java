@@ -0,0 +1,153 @@
+package hyminh.uth.domain.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Turns exercise text and search phrases into index terms.
+ *
+ * Text is lower-cased and folded to plain ASCII letters: Vietnamese diacritics are removed
+ * and "đ" becomes "d", so "đau lưng" and "dau lung" produce the same terms. It is then split
+ * at every character that is not a letter or digit, common English stop words are dropped
+ * and English words are reduced to a stem with a light suffix stripper, so "stretching",
+ * "stretches" and "stretched" all match "stretch". The stripper only touches suffixes that
+ * Vietnamese syllables do not have, so folded Vietnamese words pass through unchanged.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class TextAnalyzer {
+
+    // Chỉ giữ những từ không trùng với âm tiết tiếng Việt đã bỏ dấu ("an", "the", "to", ...)
+    private static final Set<String> STOP_WORDS = Set.of(
+            "and", "are", "by", "for", "from", "into", "its", "of", "or", "with", "your", "you",
+            "this", "that", "then", "when", "while");
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * Splits text into stemmed, folded terms, in order and with repeats.
+     *
+     * @param text the text, may be null
+     * @return the terms, empty for null or blank text
+     */
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String token = folded.substring(start, i);
+                if (!STOP_WORDS.contains(token)) {
+                    terms.add(stem(token));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Lower-cases text and removes diacritics.
+     *
+     * @param text the text
+     * @return the folded text
+     */
+    static String fold(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        boolean ascii = true;
+        for (int i = 0; i < lower.length() && ascii; i++) {
+            ascii = lower.charAt(i) < 0x80;
+        }
+        if (ascii) {
+            return lower;
+        }
+        String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            folded.append(c == 'đ' ? 'd' : c);
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Strips common English inflection suffixes from a folded token.
+     *
+     * @param token the token
+     * @return the stem
+     */
+    static String stem(String token) {
+        if (token.length() < 4 || !isAsciiLetters(token)) {
+            return token;
+        }
+        String word = token;
+        // Số nhiều
+        if (word.endsWith("sses")) {
+            word = word.substring(0, word.length() - 2);
+        } else if (word.endsWith("ies") && word.length() > 4) {
+            word = word.substring(0, word.length() - 3) + "y";
+        } else if (word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is")) {
+            word = word.substring(0, word.length() - 1);
+        }
+        // Đuôi -ing, -ed, -ly
+        if (word.endsWith("ing") && hasVowel(word, word.length() - 3) && word.length() > 5) {
+            word = undouble(word.substring(0, word.length() - 3));
+        } else if (word.endsWith("ed") && !word.endsWith("eed") && hasVowel(word, word.length() - 2)
+                && word.length() > 4) {
+            word = undouble(word.substring(0, word.length() - 2));
+        } else if (word.endsWith("ly") && word.length() > 5) {
+            word = word.substring(0, word.length() - 2);
+        }
+        // Chữ e câm cuối từ: "raise", "raised" và "raising" đều thành "rais"
+        if (word.length() > 3 && word.endsWith("e") && !word.endsWith("ee")) {
+            word = word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+
+    private static String undouble(String stem) {
+        int n = stem.length();
+        if (n > 2 && stem.charAt(n - 1) == stem.charAt(n - 2) && "lsz".indexOf(stem.charAt(n - 1)) < 0
+                && !isVowel(stem.charAt(n - 1))) {
+            return stem.substring(0, n - 1);
+        }
+        return stem;
+    }
+
+    private static boolean hasVowel(String word, int end) {
+        for (int i = 0; i < end; i++) {
+            if (isVowel(word.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u' || c == 'y';
+    }
+
+    private static boolean isAsciiLetters(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
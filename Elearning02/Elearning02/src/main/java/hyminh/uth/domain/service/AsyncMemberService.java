@@ -0,0 +1,335 @@
+package hyminh.uth.domain.service;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.exception.MemberNotFoundException;
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.ProgressSummary;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Asynchronous facade over {@link MemberService}.
+ * Every operation runs on its own virtual thread and returns a {@link CompletableFuture},
+ * so callers can fan out many lookups and updates and wait for them together. Failures of
+ * the underlying operation (for example {@link MemberNotFoundException}) complete the
+ * future exceptionally.
+ *
+ * Concurrent updates to the same member are not lost: {@link MemberService} applies each
+ * update to a copy and saves it with a compare-and-set on the member's version, retrying
+ * when another update won. The batch operations {@link #findAllById(Collection)} and
+ * {@link #incrementWorkoutsAll(Collection)} run at most {@link #getMaxConcurrency()}
+ * operations of one batch at the same time.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class AsyncMemberService implements AutoCloseable {
+
+    /**
+     * Default maximum number of operations of one batch running at the same time.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = 64;
+
+    private final MemberService memberService;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final int maxConcurrency;
+
+    /**
+     * Constructs a new AsyncMemberService that starts one virtual thread per operation.
+     *
+     * @param memberService the synchronous member service
+     * @throws IllegalArgumentException if memberService is null
+     */
+    public AsyncMemberService(MemberService memberService) {
+        this(memberService, Executors.newVirtualThreadPerTaskExecutor(), DEFAULT_MAX_CONCURRENCY, true);
+    }
+
+    /**
+     * Constructs a new AsyncMemberService running operations on the given executor.
+     * The executor is not shut down by {@link #close()}.
+     *
+     * @param memberService the synchronous member service
+     * @param executor the executor running the operations
+     * @param maxConcurrency the maximum number of operations of one batch running at the same time
+     * @throws IllegalArgumentException if any parameter is null or maxConcurrency is not positive
+     */
+    public AsyncMemberService(MemberService memberService, ExecutorService executor, int maxConcurrency) {
+        this(memberService, executor, maxConcurrency, false);
+    }
+
+    private AsyncMemberService(MemberService memberService, ExecutorService executor, int maxConcurrency,
+                               boolean ownsExecutor) {
+        if (memberService == null) {
+            throw new IllegalArgumentException("Member service cannot be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be positive");
+        }
+        this.memberService = memberService;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Creates a new member asynchronously.
+     *
+     * @param userId the user ID
+     * @param username the username
+     * @param password the password
+     * @param email the email
+     * @param phone the phone
+     * @param memberId the member ID
+     * @return a future completing with the created member
+     * @see MemberService#createMember(String, String, String, String, String, MemberId)
+     */
+    public CompletableFuture<Member> createMember(String userId, String username, String password,
+                                                  String email, String phone, MemberId memberId) {
+        return supply(() -> memberService.createMember(userId, username, password, email, phone, memberId));
+    }
+
+    /**
+     * Finds a member by their ID asynchronously.
+     *
+     * @param memberId the member ID
+     * @return a future completing with the member, or exceptionally with MemberNotFoundException
+     */
+    public CompletableFuture<Member> findById(MemberId memberId) {
+        return supply(() -> memberService.findById(memberId));
+    }
+
+    /**
+     * Finds a member by their user ID asynchronously.
+     *
+     * @param userId the user ID
+     * @return a future completing with the member, or exceptionally with MemberNotFoundException
+     */
+    public CompletableFuture<Member> findByUserId(String userId) {
+        return supply(() -> memberService.findByUserId(userId));
+    }
+
+    /**
+     * Assigns a subscription to a member asynchronously.
+     *
+     * @param memberId the member ID
+     * @param subscriptionId the subscription ID
+     * @return a future completing when the subscription is assigned
+     * @see MemberService#assignSubscription(MemberId, String)
+     */
+    public CompletableFuture<Void> assignSubscription(MemberId memberId, String subscriptionId) {
+        return run(() -> memberService.assignSubscription(memberId, subscriptionId));
+    }
+
+    /**
+     * Removes a subscription from a member asynchronously.
+     *
+     * @param memberId the member ID
+     * @return a future completing when the subscription is removed
+     * @see MemberService#removeSubscription(MemberId)
+     */
+    public CompletableFuture<Void> removeSubscription(MemberId memberId) {
+        return run(() -> memberService.removeSubscription(memberId));
+    }
+
+    /**
+     * Updates a member's progress metrics asynchronously.
+     *
+     * @param memberId the member ID
+     * @param weight the new weight
+     * @param bodyFat the new body fat percentage
+     * @param workoutsCompleted the number of workouts completed
+     * @return a future completing when the progress is updated
+     * @see MemberService#updateProgress(MemberId, double, double, int)
+     */
+    public CompletableFuture<Void> updateProgress(MemberId memberId, double weight, double bodyFat,
+                                                  int workoutsCompleted) {
+        return run(() -> memberService.updateProgress(memberId, weight, bodyFat, workoutsCompleted));
+    }
+
+    /**
+     * Increments the number of completed workouts for a member asynchronously.
+     *
+     * @param memberId the member ID
+     * @return a future completing when the workout is counted
+     * @see MemberService#incrementWorkouts(MemberId)
+     */
+    public CompletableFuture<Void> incrementWorkouts(MemberId memberId) {
+        return run(() -> memberService.incrementWorkouts(memberId));
+    }
+
+    /**
+     * Summarizes a member's progress history asynchronously.
+     *
+     * @param memberId the member ID
+     * @param from the first date of the range
+     * @param to the last date of the range
+     * @return a future completing with the progress summary
+     * @see MemberService#getProgressSummary(MemberId, LocalDate, LocalDate)
+     */
+    public CompletableFuture<ProgressSummary> getProgressSummary(MemberId memberId, LocalDate from, LocalDate to) {
+        return supply(() -> memberService.getProgressSummary(memberId, from, to));
+    }
+
+    /**
+     * Gets all members with active subscriptions asynchronously.
+     *
+     * @return a future completing with the members
+     */
+    public CompletableFuture<List<Member>> getMembersWithActiveSubscriptions() {
+        return supply(memberService::getMembersWithActiveSubscriptions);
+    }
+
+    /**
+     * Gets all members without active subscriptions asynchronously.
+     *
+     * @return a future completing with the members
+     */
+    public CompletableFuture<List<Member>> getMembersWithoutActiveSubscriptions() {
+        return supply(memberService::getMembersWithoutActiveSubscriptions);
+    }
+
+    /**
+     * Gets all members registered in a specific month asynchronously.
+     *
+     * @param year the year
+     * @param month the month (1-12)
+     * @return a future completing with the members
+     */
+    public CompletableFuture<List<Member>> getMembersByRegistrationMonth(int year, int month) {
+        return supply(() -> memberService.getMembersByRegistrationMonth(year, month));
+    }
+
+    /**
+     * Calculates the total number of members asynchronously.
+     *
+     * @return a future completing with the total number of members
+     */
+    public CompletableFuture<Long> getTotalMemberCount() {
+        return supply(memberService::getTotalMemberCount);
+    }
+
+    /**
+     * Calculates the number of members with active subscriptions asynchronously.
+     *
+     * @return a future completing with the number of members with active subscriptions
+     */
+    public CompletableFuture<Long> getActiveSubscriptionCount() {
+        return supply(memberService::getActiveSubscriptionCount);
+    }
+
+    /**
+     * Calculates the member retention rate asynchronously.
+     *
+     * @return a future completing with the retention rate as a percentage
+     */
+    public CompletableFuture<Double> getMemberRetentionRate() {
+        return supply(memberService::getMemberRetentionRate);
+    }
+
+    /**
+     * Finds several members by ID, looking them up concurrently.
+     * Unknown IDs are skipped.
+     *
+     * @param memberIds the member IDs to look up
+     * @return a future completing with the found members, in the order of the given IDs
+     * @throws IllegalArgumentException if memberIds is null or contains null
+     */
+    public CompletableFuture<List<Member>> findAllById(Collection<MemberId> memberIds) {
+        return fanOut(memberIds, memberId -> {
+            try {
+                return memberService.findById(memberId);
+            } catch (MemberNotFoundException e) {
+                return null;
+            }
+        }).thenApply(members -> members.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Increments the number of completed workouts for several members concurrently.
+     * An ID listed several times is incremented once per occurrence. Every increment is
+     * attempted; if any of them fails the future completes exceptionally with the first failure.
+     *
+     * @param memberIds the member IDs
+     * @return a future completing when every workout is counted
+     * @throws IllegalArgumentException if memberIds is null or contains null
+     */
+    public CompletableFuture<Void> incrementWorkoutsAll(Collection<MemberId> memberIds) {
+        return fanOut(memberIds, memberId -> {
+            memberService.incrementWorkouts(memberId);
+            return null;
+        }).thenApply(ignored -> null);
+    }
+
+    /**
+     * Returns the maximum number of operations of one batch running at the same time.
+     *
+     * @return the maximum batch concurrency
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Shuts down the executor if this service created it, waiting for running operations.
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.close();
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private <R> CompletableFuture<R> supply(Supplier<R> operation) {
+        return CompletableFuture.supplyAsync(operation, executor);
+    }
+
+    private CompletableFuture<Void> run(Runnable operation) {
+        return CompletableFuture.runAsync(operation, executor);
+    }
+
+    private <R> CompletableFuture<List<R>> fanOut(Collection<MemberId> memberIds, Function<MemberId, R> operation) {
+        if (memberIds == null) {
+            throw new IllegalArgumentException("Member IDs cannot be null");
+        }
+        List<MemberId> ids = new ArrayList<>(memberIds);
+        if (ids.contains(null)) {
+            throw new IllegalArgumentException("Member IDs cannot contain null");
+        }
+        // One permit pool per batch: a large batch cannot starve the others, and blocking
+        // on a permit only parks a virtual thread
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<CompletableFuture<R>> futures = new ArrayList<>(ids.size());
+        for (MemberId memberId : ids) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    return operation.apply(memberId);
+                } finally {
+                    permits.release();
+                }
+            }, executor));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> futures.stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList()));
+    }
+}
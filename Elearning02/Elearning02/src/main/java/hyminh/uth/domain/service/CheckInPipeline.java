@@ -0,0 +1,306 @@
+package hyminh.uth.domain.service;
+
+import hyminh.uth.domain.valueobject.MemberId;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Batched ingestion of turnstile check-ins, each of which counts one completed workout.
+ *
+ * Check-ins go into a bounded queue that one worker thread drains. The worker waits up to the
+ * coalescing window after the first check-in of a batch, sums the check-ins of the batch per
+ * member and applies every sum with {@link MemberService#addWorkouts(MemberId, int)}: one
+ * ProgressMetrics rebuild, one save and one progress history record per member per batch,
+ * instead of one per check-in.
+ *
+ * When the queue is full, {@link #checkIn(MemberId)} blocks until the worker catches up
+ * (backpressure), while {@link #tryCheckIn(MemberId, Duration)} gives up after a timeout.
+ * {@link #flush()} waits until every check-in accepted before the call has been applied, and
+ * {@link #close()} stops accepting check-ins, applies the queued ones without waiting for the
+ * window and stops the worker. Check-ins that cannot be applied, for example for an unknown
+ * member, are dropped and counted by {@link #getFailedCount()}.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class CheckInPipeline implements AutoCloseable {
+
+    /**
+     * Default number of check-ins the queue holds before check-ins block.
+     */
+    public static final int DEFAULT_CAPACITY = 65_536;
+
+    /**
+     * Default time the worker collects check-ins after the first one of a batch.
+     */
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(50);
+
+    /**
+     * Default maximum number of check-ins applied as one batch.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 16_384;
+
+    // Khoảng thức dậy tối thiểu khi rảnh hoặc khi chờ flush, để nhận ra close() và worker đã dừng
+    private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final MemberService memberService;
+    private final BlockingQueue<MemberId> queue;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final Thread worker;
+
+    // Người gửi đang ở giữa checkIn; worker chỉ dừng khi không còn ai để không mất lượt check-in
+    private final AtomicInteger submitting = new AtomicInteger();
+    private volatile boolean closed;
+
+    private final ReentrantLock progressLock = new ReentrantLock();
+    private final Condition progressed = progressLock.newCondition();
+    private long processed;
+
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong appliedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong saveCount = new AtomicLong();
+
+    /**
+     * Constructs a new CheckInPipeline with the default capacity, window and batch size.
+     *
+     * @param memberService the service that applies the workouts
+     * @throws IllegalArgumentException if memberService is null
+     */
+    public CheckInPipeline(MemberService memberService) {
+        this(memberService, DEFAULT_CAPACITY, DEFAULT_WINDOW, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a new CheckInPipeline and starts its worker thread.
+     *
+     * @param memberService the service that applies the workouts
+     * @param capacity the number of check-ins the queue holds before check-ins block
+     * @param window the time the worker collects check-ins after the first one of a batch
+     * @param maxBatchSize the maximum number of check-ins applied as one batch
+     * @throws IllegalArgumentException if memberService or window is null, window is negative,
+     *                                  or capacity or maxBatchSize is not positive
+     */
+    public CheckInPipeline(MemberService memberService, int capacity, Duration window, int maxBatchSize) {
+        if (memberService == null) {
+            throw new IllegalArgumentException("Member service cannot be null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (window == null || window.isNegative()) {
+            throw new IllegalArgumentException("Window cannot be null or negative");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        this.memberService = memberService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.worker = Thread.ofPlatform().name("check-in-pipeline").daemon().start(this::drain);
+    }
+
+    /**
+     * Queues a check-in, waiting for room in the queue if it is full.
+     *
+     * @param memberId the member who checked in
+     * @throws IllegalArgumentException if memberId is null
+     * @throws IllegalStateException if the pipeline is closed
+     * @throws InterruptedException if interrupted while waiting for room
+     */
+    public void checkIn(MemberId memberId) throws InterruptedException {
+        validateMemberId(memberId);
+        submitting.incrementAndGet();
+        try {
+            ensureOpen();
+            queue.put(memberId);
+            submittedCount.incrementAndGet();
+        } finally {
+            submitting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Queues a check-in, waiting at most the timeout for room in the queue.
+     *
+     * @param memberId the member who checked in
+     * @param timeout how long to wait for room, zero to not wait
+     * @return true if the check-in was queued, false if the queue stayed full
+     * @throws IllegalArgumentException if memberId or timeout is null, or timeout is negative
+     * @throws IllegalStateException if the pipeline is closed
+     * @throws InterruptedException if interrupted while waiting for room
+     */
+    public boolean tryCheckIn(MemberId memberId, Duration timeout) throws InterruptedException {
+        validateMemberId(memberId);
+        if (timeout == null || timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout cannot be null or negative");
+        }
+        submitting.incrementAndGet();
+        try {
+            ensureOpen();
+            if (!queue.offer(memberId, timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejectedCount.incrementAndGet();
+                return false;
+            }
+            submittedCount.incrementAndGet();
+            return true;
+        } finally {
+            submitting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Waits until every check-in queued before this call has been applied (or dropped as failed).
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void flush() throws InterruptedException {
+        long target = submittedCount.get();
+        progressLock.lock();
+        try {
+            while (processed < target && worker.isAlive()) {
+                progressed.await(IDLE_POLL_NANOS, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            progressLock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting check-ins, applies every queued check-in and stops the worker thread.
+     * Check-ins blocked on a full queue when the pipeline closes are still applied.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        boolean interrupted = false;
+        while (worker.isAlive()) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    // Getters
+    public long getSubmittedCount() { return submittedCount.get(); }
+    public long getRejectedCount() { return rejectedCount.get(); }
+    public long getAppliedCount() { return appliedCount.get(); }
+    public long getFailedCount() { return failedCount.get(); }
+    public long getBatchCount() { return batchCount.get(); }
+    public long getSaveCount() { return saveCount.get(); }
+
+    // ========== WORKER ==========
+
+    private void drain() {
+        List<MemberId> batch = new ArrayList<>(Math.min(maxBatchSize, 4_096));
+        Map<MemberId, int[]> counts = new LinkedHashMap<>();
+        while (true) {
+            MemberId first = poll(IDLE_POLL_NANOS);
+            if (first == null) {
+                if (closed && submitting.get() == 0 && queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            collect(batch);
+            apply(batch, counts);
+            batch.clear();
+            counts.clear();
+        }
+    }
+
+    /**
+     * Adds the check-ins that arrive within the window to the batch. After close the window
+     * is skipped, so shutting down only applies what is already queued.
+     */
+    private void collect(List<MemberId> batch) {
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0 || closed) {
+                return;
+            }
+            // Chờ từng đoạn ngắn để close() không phải đợi hết cửa sổ
+            MemberId next = poll(Math.min(remaining, IDLE_POLL_NANOS));
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+    }
+
+    private void apply(List<MemberId> batch, Map<MemberId, int[]> counts) {
+        for (MemberId memberId : batch) {
+            counts.computeIfAbsent(memberId, id -> new int[1])[0]++;
+        }
+        for (Map.Entry<MemberId, int[]> entry : counts.entrySet()) {
+            int count = entry.getValue()[0];
+            try {
+                memberService.addWorkouts(entry.getKey(), count);
+                appliedCount.addAndGet(count);
+                saveCount.incrementAndGet();
+            } catch (RuntimeException e) {
+                failedCount.addAndGet(count);
+            }
+        }
+        batchCount.incrementAndGet();
+        progressLock.lock();
+        try {
+            processed += batch.size();
+            progressed.signalAll();
+        } finally {
+            progressLock.unlock();
+        }
+    }
+
+    private MemberId poll(long nanos) {
+        try {
+            return queue.poll(nanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            // Chỉ close() mới dừng worker; ngắt luồng không được làm mất check-in đang chờ
+            return null;
+        }
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Check-in pipeline is closed");
+        }
+    }
+
+    private static void validateMemberId(MemberId memberId) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+    }
+}
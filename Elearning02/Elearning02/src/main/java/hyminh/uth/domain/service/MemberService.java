@@ -2,26 +2,56 @@ package hyminh.uth.domain.service;
 
 import hyminh.uth.domain.entity.Member;
 import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.index.CohortRetentionIndex;
+import hyminh.uth.domain.index.WorkoutLeaderboard;
 import hyminh.uth.domain.repository.MemberRepository;
 import hyminh.uth.domain.repository.SubscriptionRepository;
+import hyminh.uth.domain.store.ProgressHistoryStore;
+import hyminh.uth.domain.valueobject.CohortRetentionMatrix;
 import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.ProgressMetrics;
+import hyminh.uth.domain.valueobject.ProgressSummary;
 import hyminh.uth.domain.exception.MemberNotFoundException;
 import hyminh.uth.domain.exception.SubscriptionNotFoundException;
 import hyminh.uth.domain.exception.InvalidSubscriptionException;
+import hyminh.uth.domain.exception.VersionConflictException;
+import hyminh.uth.domain.time.BusinessClock;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 
 /**
  * Service class for managing Member-related business operations.
  * This class encapsulates the business logic for member management.
  * 
+ * Read-modify-write operations are optimistic: they change a copy of the stored member and
+ * save it with {@link MemberRepository#compareAndSave(Member)}, re-reading and retrying when
+ * another writer saved the member in between, so concurrent updates are never lost and no
+ * lock is held while the member is changed.
+ * 
+ * Every workout change saved through the service is also recorded in a
+ * {@link WorkoutLeaderboard}, so leaderboards never need to sort all members, and every
+ * registration and subscription change in a {@link CohortRetentionIndex}, so the cohort
+ * retention matrix never needs a scan of all members. Only cancellations made with
+ * {@link #cancelSubscription(MemberId)} reach the index.
+ * 
  * @author Gym Management System
  * @version 1.0
  */
 public class MemberService {
     
+    private static final int MAX_ATTEMPTS = 100;
+    
     private final MemberRepository memberRepository;
     private final SubscriptionRepository subscriptionRepository;
+    private final ProgressHistoryStore progressHistoryStore;
+    private final WorkoutLeaderboard leaderboard;
+    private final CohortRetentionIndex cohortRetention;
+    // Version of the last save whose progress was added to the history, per member
+    private final Map<MemberId, Long> historyVersions = new ConcurrentHashMap<>();
     
     /**
      * Constructs a new MemberService with the specified repositories.
@@ -31,14 +61,71 @@ public class MemberService {
      * @throws IllegalArgumentException if any parameter is null
      */
     public MemberService(MemberRepository memberRepository, SubscriptionRepository subscriptionRepository) {
+        this(memberRepository, subscriptionRepository, new ProgressHistoryStore());
+    }
+    
+    /**
+     * Constructs a new MemberService with the specified repositories and progress history store.
+     * 
+     * @param memberRepository the member repository
+     * @param subscriptionRepository the subscription repository
+     * @param progressHistoryStore the store that keeps progress history over time
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public MemberService(MemberRepository memberRepository, SubscriptionRepository subscriptionRepository,
+                         ProgressHistoryStore progressHistoryStore) {
+        this(memberRepository, subscriptionRepository, progressHistoryStore, new WorkoutLeaderboard());
+    }
+    
+    /**
+     * Constructs a new MemberService with the specified repositories, progress history store and
+     * leaderboard.
+     * 
+     * @param memberRepository the member repository
+     * @param subscriptionRepository the subscription repository
+     * @param progressHistoryStore the store that keeps progress history over time
+     * @param leaderboard the leaderboard that ranks members by workouts
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public MemberService(MemberRepository memberRepository, SubscriptionRepository subscriptionRepository,
+                         ProgressHistoryStore progressHistoryStore, WorkoutLeaderboard leaderboard) {
+        this(memberRepository, subscriptionRepository, progressHistoryStore, leaderboard, new CohortRetentionIndex());
+    }
+    
+    /**
+     * Constructs a new MemberService with the specified repositories, progress history store,
+     * leaderboard and cohort retention index.
+     * 
+     * @param memberRepository the member repository
+     * @param subscriptionRepository the subscription repository
+     * @param progressHistoryStore the store that keeps progress history over time
+     * @param leaderboard the leaderboard that ranks members by workouts
+     * @param cohortRetention the index that keeps the registration cohort retention matrix
+     * @throws IllegalArgumentException if any parameter is null
+     */
+    public MemberService(MemberRepository memberRepository, SubscriptionRepository subscriptionRepository,
+                         ProgressHistoryStore progressHistoryStore, WorkoutLeaderboard leaderboard,
+                         CohortRetentionIndex cohortRetention) {
         if (memberRepository == null) {
             throw new IllegalArgumentException("Member repository cannot be null");
         }
         if (subscriptionRepository == null) {
             throw new IllegalArgumentException("Subscription repository cannot be null");
         }
+        if (progressHistoryStore == null) {
+            throw new IllegalArgumentException("Progress history store cannot be null");
+        }
+        if (leaderboard == null) {
+            throw new IllegalArgumentException("Leaderboard cannot be null");
+        }
+        if (cohortRetention == null) {
+            throw new IllegalArgumentException("Cohort retention index cannot be null");
+        }
         this.memberRepository = memberRepository;
         this.subscriptionRepository = subscriptionRepository;
+        this.progressHistoryStore = progressHistoryStore;
+        this.leaderboard = leaderboard;
+        this.cohortRetention = cohortRetention;
     }
     
     /**
@@ -59,8 +146,10 @@ public class MemberService {
             throw new IllegalArgumentException("User ID already exists: " + userId);
         }
         
-        Member member = new Member(userId, username, password, email, phone, memberId);
-        return memberRepository.save(member);
+        Member member = memberRepository.save(new Member(userId, username, password, email, phone, memberId));
+        historyVersions.remove(memberId);   // A re-created member starts its versions again
+        cohortRetention.registerMember(member);
+        return member;
     }
     
     /**
@@ -97,7 +186,7 @@ public class MemberService {
      * @throws InvalidSubscriptionException if the subscription is invalid
      */
     public void assignSubscription(MemberId memberId, String subscriptionId) {
-        Member member = findById(memberId);
+        findById(memberId);
         Subscription subscription = subscriptionRepository.findById(subscriptionId)
                 .orElseThrow(() -> new SubscriptionNotFoundException("Subscription not found: " + subscriptionId));
         
@@ -105,8 +194,15 @@ public class MemberService {
             throw new InvalidSubscriptionException("Cannot assign expired subscription");
         }
         
-        member.assignSubscription(subscription);
-        memberRepository.save(member);
+        Subscription[] previous = new Subscription[1];
+        update(memberId, member -> {
+            previous[0] = member.getCurrentSubscription();
+            member.assignSubscription(subscription);
+        });
+        if (previous[0] != null && !previous[0].getSubscriptionId().equals(subscriptionId)) {
+            cohortRetention.endSubscription(memberId, previous[0].getSubscriptionId(), BusinessClock.today());
+        }
+        cohortRetention.recordSubscription(memberId, subscription);
     }
     
     /**
@@ -116,9 +212,44 @@ public class MemberService {
      * @throws MemberNotFoundException if the member is not found
      */
     public void removeSubscription(MemberId memberId) {
-        Member member = findById(memberId);
-        member.removeSubscription();
-        memberRepository.save(member);
+        Subscription[] previous = new Subscription[1];
+        update(memberId, member -> {
+            previous[0] = member.getCurrentSubscription();
+            member.removeSubscription();
+        });
+        if (previous[0] != null) {
+            cohortRetention.endSubscription(memberId, previous[0].getSubscriptionId(), BusinessClock.today());
+        }
+    }
+    
+    /**
+     * Cancels a member's current subscription, saves the cancelled status in both repositories
+     * and ends its coverage in the cohort retention index today. Cancel subscriptions of
+     * members here rather than with {@link SubscriptionRepository#cancel(String)} or
+     * {@link Subscription#cancel()}, which the index does not see.
+     * 
+     * @param memberId the member ID
+     * @return the cancelled subscription
+     * @throws MemberNotFoundException if the member is not found
+     * @throws InvalidSubscriptionException if the member has no subscription
+     * @throws SubscriptionNotFoundException if the subscription is not found
+     * @throws IllegalStateException if the subscription is already cancelled or expired
+     */
+    public Subscription cancelSubscription(MemberId memberId) {
+        Subscription current = findById(memberId).getCurrentSubscription();
+        if (current == null) {
+            throw new InvalidSubscriptionException("Member has no subscription to cancel");
+        }
+        String subscriptionId = current.getSubscriptionId();
+        Subscription cancelled = subscriptionRepository.cancel(subscriptionId);
+        update(memberId, member -> {
+            Subscription held = member.getCurrentSubscription();
+            if (held != null && held.getSubscriptionId().equals(subscriptionId)) {
+                member.assignSubscription(cancelled);
+            }
+        });
+        cohortRetention.endSubscription(memberId, subscriptionId, BusinessClock.today());
+        return cancelled;
     }
     
     /**
@@ -132,9 +263,13 @@ public class MemberService {
      * @throws IllegalArgumentException if any parameter is invalid
      */
     public void updateProgress(MemberId memberId, double weight, double bodyFat, int workoutsCompleted) {
-        Member member = findById(memberId);
-        member.updateProgress(weight, bodyFat, workoutsCompleted);
-        memberRepository.save(member);
+        int[] previousWorkouts = new int[1];
+        Member member = update(memberId, current -> {
+            previousWorkouts[0] = current.getWorkoutsCompleted();
+            current.updateProgress(weight, bodyFat, workoutsCompleted);
+        });
+        recordHistory(member, member.getProgressMetrics().getDate());
+        leaderboard.record(member, workoutsCompleted - previousWorkouts[0]);
     }
     
     /**
@@ -144,9 +279,81 @@ public class MemberService {
      * @throws MemberNotFoundException if the member is not found
      */
     public void incrementWorkouts(MemberId memberId) {
-        Member member = findById(memberId);
-        member.incrementWorkouts();
-        memberRepository.save(member);
+        addWorkouts(memberId, 1);
+    }
+    
+    /**
+     * Adds several completed workouts for a member with one save and one progress history record,
+     * as {@link CheckInPipeline} does for the check-ins of a member that arrive close together.
+     * 
+     * @param memberId the member ID
+     * @param count the number of workouts to add
+     * @throws MemberNotFoundException if the member is not found
+     * @throws IllegalArgumentException if count is not positive
+     */
+    public void addWorkouts(MemberId memberId, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Workout count must be positive");
+        }
+        Member member = update(memberId, current -> current.addWorkouts(count));
+        recordHistory(member, BusinessClock.today());
+        leaderboard.record(member, count);
+    }
+    
+    /**
+     * Adds every stored member to the leaderboard with its all-time workouts, for example after
+     * loading members from storage. Monthly counts only include workouts recorded since.
+     */
+    public void loadLeaderboard() {
+        for (Member member : memberRepository.findAll()) {
+            leaderboard.record(member, 0);
+        }
+    }
+    
+    /**
+     * Gets the workout leaderboard kept up to date by this service's workout and progress updates.
+     * 
+     * @return the workout leaderboard
+     */
+    public WorkoutLeaderboard getLeaderboard() {
+        return leaderboard;
+    }
+    
+    /**
+     * Adds every stored member and its current subscription to the cohort retention index, for
+     * example after loading members from storage. Earlier subscriptions are not stored, so
+     * months before the current subscription only count changes recorded since.
+     */
+    public void loadCohortRetention() {
+        for (Member member : memberRepository.findAll()) {
+            cohortRetention.registerMember(member);
+        }
+    }
+    
+    /**
+     * Gets the registration cohort retention matrix up to the current month.
+     * Subscriptions cancelled outside {@link #cancelSubscription(MemberId)} still count as
+     * retained until their end date.
+     * 
+     * @return the cohort retention matrix
+     */
+    public CohortRetentionMatrix getCohortRetentionMatrix() {
+        return cohortRetention.getMatrix();
+    }
+    
+    /**
+     * Summarizes a member's progress history between two dates.
+     * 
+     * @param memberId the member ID
+     * @param from the first date of the range
+     * @param to the last date of the range
+     * @return the progress summary for the range
+     * @throws MemberNotFoundException if the member is not found
+     * @throws IllegalArgumentException if the range is invalid
+     */
+    public ProgressSummary getProgressSummary(MemberId memberId, LocalDate from, LocalDate to) {
+        findById(memberId);
+        return progressHistoryStore.summarize(memberId, from, to);
     }
     
     /**
@@ -227,4 +434,52 @@ public class MemberService {
         
         return (double) activeSubscriptions / totalMembers * 100.0;
     }
+    
+    // ========== HELPER METHODS ==========
+    
+    /**
+     * Adds the progress of a saved member to the history. Saves of one member finish their
+     * compare-and-set in order but may reach this point in any order, so a save older than the
+     * last recorded one is skipped instead of overwriting it. A sample dated before the latest
+     * history sample is skipped too rather than rejected, because the save is already committed.
+     */
+    private void recordHistory(Member member, LocalDate date) {
+        ProgressMetrics metrics = member.getProgressMetrics();
+        historyVersions.compute(member.getMemberId(), (memberId, recorded) -> {
+            if (recorded != null && recorded > member.getVersion()) {
+                return recorded;
+            }
+            boolean inOrder = progressHistoryStore.getLatest(memberId)
+                    .map(latest -> !date.isBefore(latest.getDate()))
+                    .orElse(true);
+            if (inOrder) {
+                progressHistoryStore.record(memberId, date, metrics.getWeight(), metrics.getBodyFat(),
+                        metrics.getWorkoutsCompleted());
+            }
+            return member.getVersion();
+        });
+    }
+    
+    /**
+     * Applies a change to a copy of the stored member and saves it if no other writer saved the
+     * member since it was read, retrying on the re-read member otherwise. The change must be
+     * safe to run more than once.
+     * 
+     * @return the saved member
+     * @throws MemberNotFoundException if the member is not found
+     * @throws VersionConflictException if the member kept changing for {@value #MAX_ATTEMPTS} attempts
+     */
+    private Member update(MemberId memberId, Consumer<Member> change) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            Member member = findById(memberId).copy();
+            change.accept(member);
+            if (memberRepository.compareAndSave(member)) {
+                return member;
+            }
+            // Back off a little longer after every lost race so the winners can finish
+            LockSupport.parkNanos(Math.min(attempt, 10) * 1_000L);
+        }
+        throw new VersionConflictException("Member was modified concurrently " + MAX_ATTEMPTS
+                + " times in a row: " + memberId);
+    }
 }
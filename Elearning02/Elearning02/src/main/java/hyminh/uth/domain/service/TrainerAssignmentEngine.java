@@ -0,0 +1,235 @@
+package hyminh.uth.domain.service;
+
+import hyminh.uth.domain.entity.Trainer;
+import hyminh.uth.domain.valueobject.Specialization;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Assigns members to the least-loaded qualified trainer.
+ *
+ * The engine keeps one priority queue per {@link Specialization}, holding the available
+ * trainers of that specialization ordered by workload. A trainer qualifies for a
+ * specialization if it is their own or they are a {@link Specialization#GENERAL} trainer
+ * (see {@link Trainer#isQualifiedFor(Specialization)}), so each assignment compares the head
+ * of the requested queue with the head of the GENERAL queue, assigns the member to the less
+ * loaded one and puts that trainer back with its new workload: O(log T) per member.
+ * Specialists win ties against general trainers.
+ *
+ * Trainers leave the queues once they reach the capacity limit. Queue entries are checked
+ * lazily when they reach the head: trainers that became unavailable are dropped and trainers
+ * whose workload changed outside the engine are re-queued with their current workload.
+ * Call {@link #refresh(Trainer)} to bring a trainer back after they become available again or
+ * lose members.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class TrainerAssignmentEngine {
+
+    private static final Comparator<Entry> BY_WORKLOAD = Comparator
+            .comparingInt((Entry entry) -> entry.workload)
+            .thenComparing(entry -> entry.trainer.getUserId());
+
+    private final int capacity;
+    private final Map<Specialization, PriorityQueue<Entry>> queues = new EnumMap<>(Specialization.class);
+    private final Map<String, Entry> queued = new LinkedHashMap<>();
+
+    /**
+     * Constructs a new TrainerAssignmentEngine.
+     *
+     * @param capacity the maximum number of members per trainer
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public TrainerAssignmentEngine(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        for (Specialization specialization : Specialization.values()) {
+            queues.put(specialization, new PriorityQueue<>(BY_WORKLOAD));
+        }
+    }
+
+    /**
+     * Registers trainers with the engine.
+     *
+     * @param trainers the trainers to register
+     * @throws IllegalArgumentException if trainers is null or contains null
+     */
+    public synchronized void registerTrainers(Collection<Trainer> trainers) {
+        if (trainers == null) {
+            throw new IllegalArgumentException("Trainers cannot be null");
+        }
+        for (Trainer trainer : trainers) {
+            refresh(trainer);
+        }
+    }
+
+    /**
+     * Registers a trainer, or re-queues an already registered trainer with their current
+     * availability and workload.
+     *
+     * @param trainer the trainer
+     * @return true if the trainer can take new members, false otherwise
+     * @throws IllegalArgumentException if trainer is null
+     */
+    public synchronized boolean refresh(Trainer trainer) {
+        if (trainer == null) {
+            throw new IllegalArgumentException("Trainer cannot be null");
+        }
+        Entry previous = queued.remove(trainer.getUserId());
+        if (previous != null) {
+            queues.get(previous.trainer.getSpecialization()).remove(previous);
+        }
+        return enqueue(trainer);
+    }
+
+    /**
+     * Assigns one member to the least-loaded trainer qualified for a specialization.
+     *
+     * @param memberId the member ID
+     * @param required the specialization the member needs
+     * @return the assigned trainer, or empty if no qualified trainer has capacity left
+     * @throws IllegalArgumentException if any parameter is null or memberId is empty
+     */
+    public synchronized Optional<Trainer> assign(String memberId, Specialization required) {
+        if (memberId == null || memberId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Member ID cannot be null or empty");
+        }
+        if (required == null) {
+            throw new IllegalArgumentException("Required specialization cannot be null");
+        }
+        PriorityQueue<Entry> specialists = queues.get(required);
+        PriorityQueue<Entry> generalists = queues.get(Specialization.GENERAL);
+        Entry specialist = validHead(specialists);
+        Entry generalist = specialists == generalists ? null : validHead(generalists);
+        if (specialist == null && generalist == null) {
+            return Optional.empty();
+        }
+
+        PriorityQueue<Entry> source;
+        if (generalist == null || (specialist != null && specialist.workload <= generalist.workload)) {
+            source = specialists;
+        } else {
+            source = generalists;
+        }
+        Entry chosen = source.poll();
+        queued.remove(chosen.trainer.getUserId());
+        chosen.trainer.assignMember(memberId);
+        enqueue(chosen.trainer);
+        return Optional.of(chosen.trainer);
+    }
+
+    /**
+     * Assigns many members at once, in the iteration order of the requests.
+     *
+     * @param requests the required specialization per member ID
+     * @return the assignments and the members that could not be assigned
+     * @throws IllegalArgumentException if requests is null or contains null values
+     */
+    public synchronized Result assignAll(Map<String, Specialization> requests) {
+        if (requests == null) {
+            throw new IllegalArgumentException("Requests cannot be null");
+        }
+        Map<String, Trainer> assignments = new LinkedHashMap<>();
+        List<String> unassigned = new ArrayList<>();
+        for (Map.Entry<String, Specialization> request : requests.entrySet()) {
+            Optional<Trainer> trainer = assign(request.getKey(), request.getValue());
+            if (trainer.isPresent()) {
+                assignments.put(request.getKey(), trainer.get());
+            } else {
+                unassigned.add(request.getKey());
+            }
+        }
+        return new Result(assignments, unassigned);
+    }
+
+    /**
+     * Returns the number of trainers that can currently take new members.
+     *
+     * @return the number of queued trainers
+     */
+    public synchronized int getAvailableTrainerCount() {
+        return queued.size();
+    }
+
+    /**
+     * Returns the maximum number of members per trainer.
+     *
+     * @return the capacity per trainer
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // ========== HELPER METHODS ==========
+
+    private boolean enqueue(Trainer trainer) {
+        if (!trainer.isAvailable() || !trainer.canHandleMoreMembers(capacity)) {
+            return false;
+        }
+        Entry entry = new Entry(trainer, trainer.getWorkload());
+        queues.get(trainer.getSpecialization()).offer(entry);
+        queued.put(trainer.getUserId(), entry);
+        return true;
+    }
+
+    /**
+     * Returns the head of a queue after dropping or re-queuing entries that no longer match
+     * their trainer's state.
+     */
+    private Entry validHead(PriorityQueue<Entry> queue) {
+        Entry head;
+        while ((head = queue.peek()) != null) {
+            Trainer trainer = head.trainer;
+            if (trainer.isAvailable() && head.workload == trainer.getWorkload()
+                    && trainer.canHandleMoreMembers(capacity)) {
+                return head;
+            }
+            queue.poll();
+            queued.remove(trainer.getUserId());
+            enqueue(trainer);
+        }
+        return null;
+    }
+
+    /**
+     * Queued trainer with the workload it was queued under.
+     */
+    private static final class Entry {
+        final Trainer trainer;
+        final int workload;
+
+        Entry(Trainer trainer, int workload) {
+            this.trainer = trainer;
+            this.workload = workload;
+        }
+    }
+
+    /**
+     * Outcome of a bulk assignment.
+     */
+    public static final class Result {
+        private final Map<String, Trainer> assignments;
+        private final List<String> unassignedMemberIds;
+
+        Result(Map<String, Trainer> assignments, List<String> unassignedMemberIds) {
+            this.assignments = Collections.unmodifiableMap(assignments);
+            this.unassignedMemberIds = Collections.unmodifiableList(unassignedMemberIds);
+        }
+
+        // Getters
+        public Map<String, Trainer> getAssignments() { return assignments; }
+        public List<String> getUnassignedMemberIds() { return unassignedMemberIds; }
+        public int getAssignedCount() { return assignments.size(); }
+    }
+}
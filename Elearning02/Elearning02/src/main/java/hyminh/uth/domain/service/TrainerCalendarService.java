@@ -0,0 +1,142 @@
+package hyminh.uth.domain.service;
+
+import hyminh.uth.domain.entity.Trainer;
+import hyminh.uth.domain.exception.BookingConflictException;
+import hyminh.uth.domain.schedule.Booking;
+import hyminh.uth.domain.schedule.TrainerCalendar;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for booking personal-training sessions with trainers.
+ * Keeps one {@link TrainerCalendar} per trainer, so bookings for different trainers never
+ * contend with each other.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class TrainerCalendarService {
+
+    private final Map<String, TrainerCalendar> calendars = new ConcurrentHashMap<>();
+
+    /**
+     * Books a session with a trainer.
+     *
+     * @param trainer the trainer
+     * @param memberId the member ID
+     * @param start the session start
+     * @param length the session length
+     * @return the new booking
+     * @throws IllegalArgumentException if any parameter is invalid
+     * @throws IllegalStateException if the trainer is not available
+     * @throws BookingConflictException if the session overlaps an existing booking
+     */
+    public Booking book(Trainer trainer, String memberId, LocalDateTime start, Duration length) {
+        if (trainer == null) {
+            throw new IllegalArgumentException("Trainer cannot be null");
+        }
+        if (!trainer.isAvailable()) {
+            throw new IllegalStateException("Trainer is not available: " + trainer.getUserId());
+        }
+        return calendarFor(trainer.getUserId()).book(memberId, start, length);
+    }
+
+    /**
+     * Cancels a booking.
+     *
+     * @param booking the booking to cancel
+     * @return true if the booking was cancelled, false if it does not exist
+     * @throws IllegalArgumentException if booking is null
+     */
+    public boolean cancel(Booking booking) {
+        if (booking == null) {
+            throw new IllegalArgumentException("Booking cannot be null");
+        }
+        TrainerCalendar calendar = calendars.get(booking.getTrainerId());
+        return calendar != null && calendar.cancel(booking.getBookingId());
+    }
+
+    /**
+     * Finds the earliest start at or after {@code from} where a session with a trainer fits.
+     *
+     * @param trainerId the trainer ID
+     * @param from the earliest acceptable start
+     * @param length the session length
+     * @return the start of the first free slot
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public LocalDateTime findNextFreeSlot(String trainerId, LocalDateTime from, Duration length) {
+        return calendarFor(trainerId).findNextFreeSlot(from, length);
+    }
+
+    /**
+     * Checks if a trainer is free for a whole time range.
+     *
+     * @param trainerId the trainer ID
+     * @param start the range start
+     * @param end the range end
+     * @return true if the trainer has no booking in the range, false otherwise
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public boolean isFree(String trainerId, LocalDateTime start, LocalDateTime end) {
+        TrainerCalendar calendar = existingCalendar(trainerId);
+        return calendar == null ? validRange(start, end) : calendar.isFree(start, end);
+    }
+
+    /**
+     * Lists a trainer's bookings overlapping a time range, ordered by start.
+     *
+     * @param trainerId the trainer ID
+     * @param start the range start
+     * @param end the range end
+     * @return the bookings
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public List<Booking> getBookings(String trainerId, LocalDateTime start, LocalDateTime end) {
+        return calendarFor(trainerId).getBookings(start, end);
+    }
+
+    /**
+     * Finds a booking by ID.
+     *
+     * @param trainerId the trainer ID
+     * @param bookingId the booking ID
+     * @return the booking, or empty if it does not exist
+     */
+    public Optional<Booking> findBooking(String trainerId, String bookingId) {
+        TrainerCalendar calendar = existingCalendar(trainerId);
+        return calendar == null ? Optional.empty() : calendar.findBooking(bookingId);
+    }
+
+    /**
+     * Returns a trainer's calendar, creating an empty one on first use.
+     *
+     * @param trainerId the trainer ID
+     * @return the calendar
+     * @throws IllegalArgumentException if trainerId is null or empty
+     */
+    public TrainerCalendar calendarFor(String trainerId) {
+        if (trainerId == null || trainerId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Trainer ID cannot be null or empty");
+        }
+        return calendars.computeIfAbsent(trainerId, TrainerCalendar::new);
+    }
+
+    private TrainerCalendar existingCalendar(String trainerId) {
+        if (trainerId == null || trainerId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Trainer ID cannot be null or empty");
+        }
+        return calendars.get(trainerId);
+    }
+
+    private static boolean validRange(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !end.isAfter(start)) {
+            throw new IllegalArgumentException("End must be after start");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,498 @@
+package hyminh.uth.domain.store;
+
+import hyminh.uth.domain.valueobject.MemberId;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Kho lưu trữ điểm danh dạng bitmap theo ngày cho từng thành viên.
+ * Mỗi thành viên có một dãy bit, bit thứ n tương ứng với epoch day n (1 = có mặt).
+ *
+ * Các tính năng chính:
+ * - Ghi nhận / huỷ điểm danh theo ngày trong O(1)
+ * - Đếm số buổi trong một khoảng ngày bằng popcount thay vì quét danh sách
+ * - Tính chuỗi ngày liên tiếp (streak) hiện tại và dài nhất
+ * - Thống kê số thành viên có mặt theo ngày cho toàn bộ hoặc một nhóm (cohort)
+ *
+ * Bitmap được nén bằng cách chỉ cấp phát các word 64 bit nằm giữa lần điểm danh
+ * đầu tiên và cuối cùng của thành viên, nên một thành viên tập 3 năm chỉ tốn
+ * khoảng 150 byte. Thành viên được đánh chỉ số theo phần số của {@link MemberId}
+ * nên không cần map trung gian cho từng thành viên. Bảng slot được chia thành các trang
+ * {@value #PAGE_SIZE} thành viên, chỉ cấp phát khi có thành viên đầu tiên của trang điểm danh.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class AttendanceStore {
+
+    private static final int MAX_MEMBERS = 1_000_000;   // MemberId có dạng MEM-XXXXXX
+    private static final int LOCK_STRIPES = 256;        // Số khoá phân đoạn để giảm tranh chấp
+    private static final int PAGE_BITS = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;  // Số slot mỗi trang
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final long[] EMPTY = new long[0];
+
+    private final AtomicReferenceArray<Page> pages = new AtomicReferenceArray<>((MAX_MEMBERS + PAGE_MASK) >> PAGE_BITS);
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final Map<Long, AtomicInteger> dailyCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger trackedMembers = new AtomicInteger();
+    private final AtomicLong bitmapBytes = new AtomicLong();
+
+    /**
+     * Khởi tạo một AttendanceStore rỗng.
+     */
+    public AttendanceStore() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Ghi nhận điểm danh của thành viên vào một ngày.
+     *
+     * @param memberId ID thành viên
+     * @param date ngày điểm danh
+     * @return true nếu đây là lần điểm danh mới, false nếu ngày đó đã được ghi nhận
+     * @throws IllegalArgumentException nếu tham số null
+     */
+    public boolean recordAttendance(MemberId memberId, LocalDate date) {
+        int slot = slotOf(memberId);
+        long day = dayOf(date);
+        long word = Math.floorDiv(day, 64);
+        long mask = 1L << Math.floorMod(day, 64);
+
+        synchronized (lockFor(slot)) {
+            long[] words = wordsOf(slot);
+            if (words == null) {
+                words = EMPTY;
+                trackedMembers.incrementAndGet();
+            }
+            words = ensureCovers(slot, words, word);
+            int index = (int) (word - firstWordOf(slot));
+            if ((words[index] & mask) != 0) {
+                return false;
+            }
+            words[index] |= mask;
+        }
+        dailyCounts.computeIfAbsent(day, d -> new AtomicInteger()).incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Huỷ điểm danh của thành viên vào một ngày.
+     *
+     * @param memberId ID thành viên
+     * @param date ngày cần huỷ
+     * @return true nếu có điểm danh bị huỷ, false nếu không có gì thay đổi
+     * @throws IllegalArgumentException nếu tham số null
+     */
+    public boolean removeAttendance(MemberId memberId, LocalDate date) {
+        int slot = slotOf(memberId);
+        long day = dayOf(date);
+        long word = Math.floorDiv(day, 64);
+        long mask = 1L << Math.floorMod(day, 64);
+
+        synchronized (lockFor(slot)) {
+            long[] words = wordsOf(slot);
+            if (words == null) {
+                return false;
+            }
+            long index = word - firstWordOf(slot);
+            if (index < 0 || index >= words.length || (words[(int) index] & mask) == 0) {
+                return false;
+            }
+            words[(int) index] &= ~mask;
+        }
+        AtomicInteger counter = dailyCounts.get(day);
+        if (counter != null) {
+            counter.decrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * Kiểm tra thành viên có điểm danh vào ngày chỉ định không.
+     *
+     * @param memberId ID thành viên
+     * @param date ngày cần kiểm tra
+     * @return true nếu thành viên có mặt, false nếu không
+     * @throws IllegalArgumentException nếu tham số null
+     */
+    public boolean hasAttended(MemberId memberId, LocalDate date) {
+        int slot = slotOf(memberId);
+        long day = dayOf(date);
+        synchronized (lockFor(slot)) {
+            return testBit(wordsOf(slot), firstWordOf(slot), day);
+        }
+    }
+
+    /**
+     * Đếm số ngày thành viên có mặt trong khoảng [from, to] (bao gồm hai đầu).
+     *
+     * @param memberId ID thành viên
+     * @param from ngày bắt đầu
+     * @param to ngày kết thúc
+     * @return số ngày có mặt
+     * @throws IllegalArgumentException nếu tham số null hoặc from sau to
+     */
+    public int countAttendance(MemberId memberId, LocalDate from, LocalDate to) {
+        int slot = slotOf(memberId);
+        long fromDay = dayOf(from);
+        long toDay = dayOf(to);
+        if (fromDay > toDay) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+        synchronized (lockFor(slot)) {
+            return countBits(wordsOf(slot), firstWordOf(slot), fromDay, toDay);
+        }
+    }
+
+    /**
+     * Đếm số ngày có mặt trong {@code days} ngày gần nhất tính đến {@code asOf}.
+     *
+     * @param memberId ID thành viên
+     * @param asOf ngày mốc (bao gồm)
+     * @param days số ngày của cửa sổ
+     * @return số ngày có mặt trong cửa sổ
+     * @throws IllegalArgumentException nếu days không dương
+     */
+    public int countLastDays(MemberId memberId, LocalDate asOf, int days) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("Days must be positive");
+        }
+        if (asOf == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        return countAttendance(memberId, asOf.minusDays(days - 1L), asOf);
+    }
+
+    /**
+     * Tính số buổi tập trung bình mỗi tuần trong khoảng [from, to].
+     *
+     * @param memberId ID thành viên
+     * @param from ngày bắt đầu
+     * @param to ngày kết thúc
+     * @return số buổi trung bình mỗi tuần
+     */
+    public double getVisitsPerWeek(MemberId memberId, LocalDate from, LocalDate to) {
+        int visits = countAttendance(memberId, from, to);
+        long spanDays = dayOf(to) - dayOf(from) + 1;
+        return visits * 7.0 / spanDays;
+    }
+
+    /**
+     * Tính tỷ lệ điểm danh (phần trăm số ngày có mặt) trong khoảng [from, to].
+     *
+     * @param memberId ID thành viên
+     * @param from ngày bắt đầu
+     * @param to ngày kết thúc
+     * @return tỷ lệ điểm danh từ 0.0 đến 100.0
+     */
+    public double getAttendanceRate(MemberId memberId, LocalDate from, LocalDate to) {
+        int visits = countAttendance(memberId, from, to);
+        long spanDays = dayOf(to) - dayOf(from) + 1;
+        return (double) visits / spanDays * 100.0;
+    }
+
+    /**
+     * Tính chuỗi ngày có mặt liên tiếp kết thúc tại {@code asOf}.
+     *
+     * @param memberId ID thành viên
+     * @param asOf ngày kết thúc chuỗi (bao gồm)
+     * @return độ dài chuỗi, 0 nếu thành viên vắng mặt ngày asOf
+     */
+    public int getCurrentStreak(MemberId memberId, LocalDate asOf) {
+        int slot = slotOf(memberId);
+        long day = dayOf(asOf);
+        synchronized (lockFor(slot)) {
+            long[] words = wordsOf(slot);
+            if (words == null) {
+                return 0;
+            }
+            long index = Math.floorDiv(day, 64) - firstWordOf(slot);
+            if (index >= words.length) {
+                return 0;
+            }
+            int bit = Math.floorMod(day, 64);
+            int streak = 0;
+            while (index >= 0) {
+                // Giữ lại các bit từ 0 đến bit, tìm bit 0 cao nhất (ngày vắng gần nhất)
+                long range = bit == 63 ? -1L : (1L << (bit + 1)) - 1;
+                long gaps = ~words[(int) index] & range;
+                if (gaps != 0) {
+                    return streak + bit - (63 - Long.numberOfLeadingZeros(gaps));
+                }
+                streak += bit + 1;
+                index--;
+                bit = 63;
+            }
+            return streak;
+        }
+    }
+
+    /**
+     * Tính chuỗi ngày có mặt liên tiếp dài nhất trong toàn bộ lịch sử.
+     *
+     * @param memberId ID thành viên
+     * @return độ dài chuỗi dài nhất
+     */
+    public int getLongestStreak(MemberId memberId) {
+        int slot = slotOf(memberId);
+        synchronized (lockFor(slot)) {
+            long[] words = wordsOf(slot);
+            if (words == null) {
+                return 0;
+            }
+            int longest = 0;
+            int run = 0;
+            for (long w : words) {
+                if (w == -1L) {
+                    run += 64;
+                    continue;
+                }
+                // Chuỗi đang chạy nối tiếp bằng các bit 1 thấp nhất của word này
+                run += Long.numberOfTrailingZeros(~w);
+                longest = Math.max(longest, run);
+                // Chuỗi dài nhất nằm trọn trong word
+                longest = Math.max(longest, longestRunInside(w));
+                // Chuỗi mới bắt đầu từ các bit 1 cao nhất của word này
+                run = Long.numberOfLeadingZeros(~w);
+            }
+            return Math.max(longest, run);
+        }
+    }
+
+    /**
+     * Đếm số thành viên có mặt vào một ngày trên toàn hệ thống.
+     *
+     * @param date ngày cần thống kê
+     * @return số thành viên có mặt
+     */
+    public int countMembersPresentOn(LocalDate date) {
+        AtomicInteger counter = dailyCounts.get(dayOf(date));
+        return counter != null ? counter.get() : 0;
+    }
+
+    /**
+     * Thống kê số thành viên có mặt mỗi ngày trong khoảng [from, to].
+     *
+     * @param from ngày bắt đầu
+     * @param to ngày kết thúc
+     * @return mảng số lượng, phần tử i tương ứng với ngày from + i
+     * @throws IllegalArgumentException nếu tham số null hoặc from sau to
+     */
+    public int[] getDailyAttendance(LocalDate from, LocalDate to) {
+        long fromDay = dayOf(from);
+        long toDay = dayOf(to);
+        if (fromDay > toDay) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+        int[] result = new int[(int) (toDay - fromDay + 1)];
+        for (int i = 0; i < result.length; i++) {
+            AtomicInteger counter = dailyCounts.get(fromDay + i);
+            result[i] = counter != null ? counter.get() : 0;
+        }
+        return result;
+    }
+
+    /**
+     * Đếm số thành viên trong một nhóm (cohort) có mặt vào ngày chỉ định.
+     *
+     * @param cohort danh sách thành viên của nhóm
+     * @param date ngày cần thống kê
+     * @return số thành viên trong nhóm có mặt
+     * @throws IllegalArgumentException nếu tham số null
+     */
+    public int countMembersPresentOn(Collection<MemberId> cohort, LocalDate date) {
+        if (cohort == null) {
+            throw new IllegalArgumentException("Cohort cannot be null");
+        }
+        long day = dayOf(date);
+        int count = 0;
+        for (MemberId memberId : cohort) {
+            int slot = slotOf(memberId);
+            synchronized (lockFor(slot)) {
+                if (testBit(wordsOf(slot), firstWordOf(slot), day)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Xoá toàn bộ lịch sử điểm danh của một thành viên.
+     *
+     * @param memberId ID thành viên
+     */
+    public void clear(MemberId memberId) {
+        int slot = slotOf(memberId);
+        synchronized (lockFor(slot)) {
+            long[] words = wordsOf(slot);
+            if (words == null) {
+                return;
+            }
+            long first = firstWordOf(slot);
+            for (int i = 0; i < words.length; i++) {
+                long w = words[i];
+                while (w != 0) {
+                    long day = (first + i) * 64 + Long.numberOfTrailingZeros(w);
+                    AtomicInteger counter = dailyCounts.get(day);
+                    if (counter != null) {
+                        counter.decrementAndGet();
+                    }
+                    w &= w - 1;
+                }
+            }
+            pages.get(slot >>> PAGE_BITS).bitmaps[slot & PAGE_MASK] = null;
+            bitmapBytes.addAndGet(-sizeOf(words));
+            trackedMembers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Đếm số thành viên đang có bitmap điểm danh.
+     *
+     * @return số thành viên được theo dõi
+     */
+    public int getTrackedMemberCount() {
+        return trackedMembers.get();
+    }
+
+    /**
+     * Ước tính dung lượng heap mà các bitmap sử dụng (không tính các trang slot).
+     * Giá trị được cập nhật mỗi khi bitmap thay đổi kích thước nên không cần duyệt các slot.
+     *
+     * @return dung lượng ước tính (byte)
+     */
+    public long estimateBitmapBytes() {
+        return bitmapBytes.get();
+    }
+
+    // ========== CÁC PHƯƠNG THỨC HỖ TRỢ ==========
+
+    private long[] ensureCovers(int slot, long[] words, long word) {
+        Page page = pageFor(slot);
+        int offset = slot & PAGE_MASK;
+        long previousBytes = words.length == 0 ? 0 : sizeOf(words);
+        long first = page.firstWords[offset];
+        if (words.length == 0) {
+            words = new long[1];
+            page.firstWords[offset] = word;
+        } else if (word < first) {
+            // Mở rộng về phía trước: dịch các word hiện có sang phải
+            int shift = (int) (first - word);
+            long[] grown = new long[words.length + shift];
+            System.arraycopy(words, 0, grown, shift, words.length);
+            words = grown;
+            page.firstWords[offset] = word;
+        } else if (word - first >= words.length) {
+            words = Arrays.copyOf(words, (int) (word - first + 1));
+        }
+        page.bitmaps[offset] = words;
+        bitmapBytes.addAndGet(sizeOf(words) - previousBytes);
+        return words;
+    }
+
+    private long[] wordsOf(int slot) {
+        Page page = pages.get(slot >>> PAGE_BITS);
+        return page == null ? null : page.bitmaps[slot & PAGE_MASK];
+    }
+
+    private long firstWordOf(int slot) {
+        Page page = pages.get(slot >>> PAGE_BITS);
+        return page == null ? 0 : page.firstWords[slot & PAGE_MASK];
+    }
+
+    private Page pageFor(int slot) {
+        int index = slot >>> PAGE_BITS;
+        Page page = pages.get(index);
+        if (page == null) {
+            pages.compareAndSet(index, null, new Page());
+            page = pages.get(index);
+        }
+        return page;
+    }
+
+    private static long sizeOf(long[] words) {
+        return 16 + 8L * words.length;
+    }
+
+    private static boolean testBit(long[] words, long first, long day) {
+        if (words == null) {
+            return false;
+        }
+        long index = Math.floorDiv(day, 64) - first;
+        if (index < 0 || index >= words.length) {
+            return false;
+        }
+        return (words[(int) index] & (1L << Math.floorMod(day, 64))) != 0;
+    }
+
+    private static int countBits(long[] words, long first, long fromDay, long toDay) {
+        if (words == null || words.length == 0) {
+            return 0;
+        }
+        long firstDay = first * 64;
+        long lastDay = (first + words.length) * 64 - 1;
+        long from = Math.max(fromDay, firstDay);
+        long to = Math.min(toDay, lastDay);
+        if (from > to) {
+            return 0;
+        }
+        int fromIndex = (int) (Math.floorDiv(from, 64) - first);
+        int toIndex = (int) (Math.floorDiv(to, 64) - first);
+        long fromMask = -1L << Math.floorMod(from, 64);
+        long toMask = -1L >>> (63 - Math.floorMod(to, 64));
+        if (fromIndex == toIndex) {
+            return Long.bitCount(words[fromIndex] & fromMask & toMask);
+        }
+        int count = Long.bitCount(words[fromIndex] & fromMask);
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            count += Long.bitCount(words[i]);
+        }
+        return count + Long.bitCount(words[toIndex] & toMask);
+    }
+
+    private static int longestRunInside(long w) {
+        // Mỗi lần AND với chính nó dịch trái 1 bit sẽ rút ngắn mọi chuỗi bit 1 đi một
+        int length = 0;
+        while (w != 0) {
+            w &= w << 1;
+            length++;
+        }
+        return length;
+    }
+
+    private Object lockFor(int slot) {
+        return locks[slot & (LOCK_STRIPES - 1)];
+    }
+
+    private static int slotOf(MemberId memberId) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+        return memberId.getNumericValue();
+    }
+
+    private static long dayOf(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        return date.toEpochDay();
+    }
+
+    /**
+     * Bảng slot của {@value #PAGE_SIZE} thành viên liên tiếp, được truy cập dưới khoá của slot.
+     */
+    private static final class Page {
+        final long[][] bitmaps = new long[PAGE_SIZE][];  // Các word bitmap của từng thành viên
+        final long[] firstWords = new long[PAGE_SIZE];   // Chỉ số word đầu tiên (epochDay / 64)
+    }
+}
@@ -0,0 +1,593 @@
+package hyminh.uth.domain.store;
+
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.ProgressMetrics;
+import hyminh.uth.domain.valueobject.ProgressSummary;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kho lưu trữ lịch sử tiến độ (cân nặng, tỷ lệ mỡ, số buổi tập) theo thời gian cho từng thành viên.
+ *
+ * Các tính năng chính:
+ * - Lưu mẫu dưới dạng số nguyên đã lượng tử hoá (0.01 kg, 0.01 %) trong mảng nguyên thuỷ
+ * - Mỗi khối 64 mẫu được mã hoá delta + varint zigzag và kèm thống kê tổng hợp sẵn
+ * - Tự động giảm mẫu (downsample) các khối cũ hơn thời gian lưu thô thành trung bình theo tuần
+ * - Truy vấn tổng hợp (min/max/trung bình/xu hướng) theo khoảng ngày chỉ giải mã các khối ở biên
+ *
+ * Các mẫu phải được ghi theo thứ tự thời gian; ghi hai lần trong cùng một ngày sẽ thay thế mẫu trước.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class ProgressHistoryStore {
+
+    /**
+     * Số ngày mặc định giữ dữ liệu thô trước khi giảm mẫu.
+     */
+    public static final int DEFAULT_RAW_RETENTION_DAYS = 180;
+
+    private static final int BLOCK_SIZE = 64;             // Số mẫu trong một khối
+    private static final int DOWNSAMPLE_BUCKET_DAYS = 7;  // Độ rộng bucket khi giảm mẫu
+    private static final double SCALE = 100.0;            // Lượng tử hoá 0.01 đơn vị
+
+    private final Map<MemberId, Series> series = new ConcurrentHashMap<>();
+    private final int rawRetentionDays;
+
+    /**
+     * Khởi tạo kho với thời gian lưu dữ liệu thô mặc định.
+     */
+    public ProgressHistoryStore() {
+        this(DEFAULT_RAW_RETENTION_DAYS);
+    }
+
+    /**
+     * Khởi tạo kho với thời gian lưu dữ liệu thô chỉ định.
+     *
+     * @param rawRetentionDays số ngày giữ mẫu thô trước khi giảm mẫu
+     * @throws IllegalArgumentException nếu rawRetentionDays không dương
+     */
+    public ProgressHistoryStore(int rawRetentionDays) {
+        if (rawRetentionDays <= 0) {
+            throw new IllegalArgumentException("Raw retention days must be positive");
+        }
+        this.rawRetentionDays = rawRetentionDays;
+    }
+
+    /**
+     * Ghi nhận một mẫu tiến độ từ ProgressMetrics.
+     *
+     * @param metrics chỉ số tiến độ cần ghi
+     * @throws IllegalArgumentException nếu metrics null hoặc cũ hơn mẫu cuối cùng
+     */
+    public void record(ProgressMetrics metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Progress metrics cannot be null");
+        }
+        record(new MemberId(metrics.getMemberId()), metrics.getDate(), metrics.getWeight(),
+               metrics.getBodyFat(), metrics.getWorkoutsCompleted());
+    }
+
+    /**
+     * Ghi nhận một mẫu tiến độ.
+     *
+     * @param memberId ID thành viên
+     * @param date ngày ghi nhận
+     * @param weight cân nặng (kg)
+     * @param bodyFat tỷ lệ mỡ (%)
+     * @param workoutsCompleted tổng số buổi tập đã hoàn thành
+     * @throws IllegalArgumentException nếu tham số không hợp lệ hoặc ngày cũ hơn mẫu cuối cùng
+     */
+    public void record(MemberId memberId, LocalDate date, double weight, double bodyFat, int workoutsCompleted) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight cannot be negative");
+        }
+        if (bodyFat < 0 || bodyFat > 100) {
+            throw new IllegalArgumentException("Body fat percentage must be between 0 and 100");
+        }
+        if (workoutsCompleted < 0) {
+            throw new IllegalArgumentException("Workouts completed cannot be negative");
+        }
+
+        Series s = series.computeIfAbsent(memberId, id -> new Series((int) date.toEpochDay()));
+        synchronized (s) {
+            s.append((int) date.toEpochDay(), quantize(weight), quantize(bodyFat), workoutsCompleted,
+                     rawRetentionDays);
+        }
+    }
+
+    /**
+     * Tổng hợp tiến độ của thành viên trong khoảng [from, to].
+     *
+     * @param memberId ID thành viên
+     * @param from ngày bắt đầu
+     * @param to ngày kết thúc
+     * @return bản tổng hợp, rỗng nếu không có mẫu nào trong khoảng
+     * @throws IllegalArgumentException nếu tham số null hoặc from sau to
+     */
+    public ProgressSummary summarize(MemberId memberId, LocalDate from, LocalDate to) {
+        validateRange(memberId, from, to);
+        Series s = series.get(memberId);
+        if (s == null) {
+            return ProgressSummary.empty(memberId.getValue(), from, to);
+        }
+        Stats stats;
+        synchronized (s) {
+            stats = s.aggregate((int) from.toEpochDay(), (int) to.toEpochDay());
+        }
+        return stats.toSummary(memberId.getValue(), from, to);
+    }
+
+    /**
+     * Lấy các mẫu tiến độ trong khoảng [from, to] theo thứ tự thời gian.
+     * Các mẫu cũ đã giảm mẫu được trả về dưới dạng trung bình theo tuần.
+     *
+     * @param memberId ID thành viên
+     * @param from ngày bắt đầu
+     * @param to ngày kết thúc
+     * @return danh sách mẫu tiến độ
+     */
+    public List<ProgressMetrics> getHistory(MemberId memberId, LocalDate from, LocalDate to) {
+        validateRange(memberId, from, to);
+        List<ProgressMetrics> result = new ArrayList<>();
+        Series s = series.get(memberId);
+        if (s == null) {
+            return result;
+        }
+        String id = memberId.getValue();
+        synchronized (s) {
+            s.forEachInRange((int) from.toEpochDay(), (int) to.toEpochDay(), (day, w, f, k) ->
+                result.add(new ProgressMetrics(id, LocalDate.ofEpochDay(day), w / SCALE, f / SCALE, k, "")));
+        }
+        return result;
+    }
+
+    /**
+     * Lấy mẫu tiến độ gần nhất của thành viên.
+     *
+     * @param memberId ID thành viên
+     * @return Optional chứa mẫu gần nhất, rỗng nếu chưa có lịch sử
+     */
+    public Optional<ProgressMetrics> getLatest(MemberId memberId) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+        Series s = series.get(memberId);
+        if (s == null) {
+            return Optional.empty();
+        }
+        synchronized (s) {
+            int i = s.size - 1;
+            return Optional.of(new ProgressMetrics(memberId.getValue(), LocalDate.ofEpochDay(s.days[i]),
+                    s.weights[i] / SCALE, s.fats[i] / SCALE, s.workouts[i], ""));
+        }
+    }
+
+    /**
+     * Đếm số mẫu đang lưu của thành viên (sau khi giảm mẫu).
+     *
+     * @param memberId ID thành viên
+     * @return số mẫu
+     */
+    public int getSampleCount(MemberId memberId) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+        Series s = series.get(memberId);
+        if (s == null) {
+            return 0;
+        }
+        synchronized (s) {
+            int count = s.size;
+            for (Block block : s.blocks) {
+                count += block.count;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Giảm mẫu tất cả các khối kết thúc trước ngày cutoff cho mọi thành viên.
+     *
+     * @param cutoff ngày mốc, các khối cũ hơn sẽ được giảm mẫu
+     * @throws IllegalArgumentException nếu cutoff null
+     */
+    public void downsampleBefore(LocalDate cutoff) {
+        if (cutoff == null) {
+            throw new IllegalArgumentException("Cutoff date cannot be null");
+        }
+        int cutoffDay = (int) cutoff.toEpochDay();
+        for (Series s : series.values()) {
+            synchronized (s) {
+                s.downsampleBefore(cutoffDay);
+            }
+        }
+    }
+
+    /**
+     * Ước tính dung lượng heap mà các khối đã mã hoá và bộ đệm đang mở sử dụng.
+     *
+     * @return dung lượng ước tính (byte)
+     */
+    public long estimateEncodedBytes() {
+        long bytes = 0;
+        for (Series s : series.values()) {
+            synchronized (s) {
+                bytes += 4L * 16 + 4L * 4 * BLOCK_SIZE;
+                for (Block block : s.blocks) {
+                    bytes += 16 + block.data.length + Stats.BYTES;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    // ========== CÁC PHƯƠNG THỨC HỖ TRỢ ==========
+
+    private static int quantize(double value) {
+        return (int) Math.round(value * SCALE);
+    }
+
+    private static void validateRange(MemberId memberId, LocalDate from, LocalDate to) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+    }
+
+    /**
+     * Callback nhận từng mẫu đã giải mã.
+     */
+    @FunctionalInterface
+    private interface SampleConsumer {
+        void accept(int day, int weight, int bodyFat, int workouts);
+    }
+
+    /**
+     * Chuỗi mẫu của một thành viên: các khối đã mã hoá cộng với bộ đệm đang mở.
+     */
+    private static final class Series {
+        final int originDay;                        // Gốc trục thời gian cho hồi quy tuyến tính
+        final List<Block> blocks = new ArrayList<>();
+        final int[] days = new int[BLOCK_SIZE];
+        final int[] weights = new int[BLOCK_SIZE];
+        final int[] fats = new int[BLOCK_SIZE];
+        final int[] workouts = new int[BLOCK_SIZE];
+        int size;
+
+        Series(int originDay) {
+            this.originDay = originDay;
+        }
+
+        void append(int day, int weight, int fat, int workoutCount, int rawRetentionDays) {
+            if (size > 0) {
+                int lastDay = days[size - 1];
+                if (day < lastDay) {
+                    throw new IllegalArgumentException("Progress samples must be recorded in chronological order");
+                }
+                if (day == lastDay) {
+                    weights[size - 1] = weight;
+                    fats[size - 1] = fat;
+                    workouts[size - 1] = workoutCount;
+                    return;
+                }
+            }
+            if (size == BLOCK_SIZE) {
+                blocks.add(Block.encode(days, weights, fats, workouts, size, false, originDay));
+                size = 0;
+                downsampleBefore(day - rawRetentionDays);
+            }
+            days[size] = day;
+            weights[size] = weight;
+            fats[size] = fat;
+            workouts[size] = workoutCount;
+            size++;
+        }
+
+        void downsampleBefore(int cutoffDay) {
+            for (int i = 0; i < blocks.size(); i++) {
+                Block block = blocks.get(i);
+                if (block.lastDay >= cutoffDay) {
+                    break;
+                }
+                if (!block.downsampled) {
+                    blocks.set(i, block.downsample(originDay));
+                }
+            }
+        }
+
+        Stats aggregate(int fromDay, int toDay) {
+            Stats stats = new Stats(originDay);
+            for (int i = firstBlockEndingOnOrAfter(fromDay); i < blocks.size(); i++) {
+                Block block = blocks.get(i);
+                if (block.firstDay > toDay) {
+                    return stats;
+                }
+                if (block.firstDay >= fromDay && block.lastDay <= toDay) {
+                    stats.merge(block.stats);
+                } else {
+                    block.decode((day, w, f, k) -> {
+                        if (day >= fromDay && day <= toDay) {
+                            stats.add(day, w, f, k);
+                        }
+                    });
+                }
+            }
+            for (int i = 0; i < size && days[i] <= toDay; i++) {
+                if (days[i] >= fromDay) {
+                    stats.add(days[i], weights[i], fats[i], workouts[i]);
+                }
+            }
+            return stats;
+        }
+
+        void forEachInRange(int fromDay, int toDay, SampleConsumer consumer) {
+            for (int i = firstBlockEndingOnOrAfter(fromDay); i < blocks.size(); i++) {
+                Block block = blocks.get(i);
+                if (block.firstDay > toDay) {
+                    return;
+                }
+                block.decode((day, w, f, k) -> {
+                    if (day >= fromDay && day <= toDay) {
+                        consumer.accept(day, w, f, k);
+                    }
+                });
+            }
+            for (int i = 0; i < size && days[i] <= toDay; i++) {
+                if (days[i] >= fromDay) {
+                    consumer.accept(days[i], weights[i], fats[i], workouts[i]);
+                }
+            }
+        }
+
+        private int firstBlockEndingOnOrAfter(int day) {
+            int low = 0;
+            int high = blocks.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (blocks.get(mid).lastDay < day) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Khối mẫu bất biến đã mã hoá delta, kèm thống kê của toàn bộ khối.
+     */
+    private static final class Block {
+        final int firstDay;
+        final int lastDay;
+        final int count;
+        final boolean downsampled;
+        final byte[] data;
+        final Stats stats;
+
+        private Block(int firstDay, int lastDay, int count, boolean downsampled, byte[] data, Stats stats) {
+            this.firstDay = firstDay;
+            this.lastDay = lastDay;
+            this.count = count;
+            this.downsampled = downsampled;
+            this.data = data;
+            this.stats = stats;
+        }
+
+        static Block encode(int[] days, int[] weights, int[] fats, int[] workouts, int count,
+                            boolean downsampled, int originDay) {
+            ByteSink sink = new ByteSink(count * 5);
+            Stats stats = new Stats(originDay);
+            int prevDay = 0;
+            int prevWeight = 0;
+            int prevFat = 0;
+            int prevWorkouts = 0;
+            for (int i = 0; i < count; i++) {
+                // Mẫu đầu tiên lưu giá trị tuyệt đối (delta so với 0), các mẫu sau lưu chênh lệch
+                sink.writeZigZag(days[i] - prevDay);
+                sink.writeZigZag(weights[i] - prevWeight);
+                sink.writeZigZag(fats[i] - prevFat);
+                sink.writeZigZag(workouts[i] - prevWorkouts);
+                prevDay = days[i];
+                prevWeight = weights[i];
+                prevFat = fats[i];
+                prevWorkouts = workouts[i];
+                stats.add(days[i], weights[i], fats[i], workouts[i]);
+            }
+            return new Block(days[0], days[count - 1], count, downsampled, sink.toByteArray(), stats);
+        }
+
+        void decode(SampleConsumer consumer) {
+            int[] position = {0};
+            int day = 0;
+            int weight = 0;
+            int fat = 0;
+            int workoutCount = 0;
+            for (int i = 0; i < count; i++) {
+                day += readZigZag(data, position);
+                weight += readZigZag(data, position);
+                fat += readZigZag(data, position);
+                workoutCount += readZigZag(data, position);
+                consumer.accept(day, weight, fat, workoutCount);
+            }
+        }
+
+        Block downsample(int originDay) {
+            int[] days = new int[count];
+            int[] weights = new int[count];
+            int[] fats = new int[count];
+            int[] workouts = new int[count];
+            int[] out = {0};
+            long[] bucket = {Long.MIN_VALUE, 0, 0, 0, 0, 0};  // id, tổng cân nặng, tổng mỡ, số mẫu, ngày cuối, buổi tập cuối
+            decode((day, w, f, k) -> {
+                long bucketId = Math.floorDiv(day - originDay, DOWNSAMPLE_BUCKET_DAYS);
+                if (bucketId != bucket[0] && bucket[3] > 0) {
+                    flushBucket(bucket, days, weights, fats, workouts, out);
+                }
+                bucket[0] = bucketId;
+                bucket[1] += w;
+                bucket[2] += f;
+                bucket[3]++;
+                bucket[4] = day;
+                bucket[5] = k;
+            });
+            flushBucket(bucket, days, weights, fats, workouts, out);
+            Block block = encode(days, weights, fats, workouts, out[0], true, originDay);
+            // Giữ khoảng ngày và thống kê gốc: khối chỉ được gộp nguyên khi nằm trọn trong khoảng truy vấn,
+            // còn min/max không bị làm mượt bởi việc lấy trung bình
+            return new Block(firstDay, lastDay, block.count, true, block.data, stats);
+        }
+
+        private static void flushBucket(long[] bucket, int[] days, int[] weights, int[] fats,
+                                        int[] workouts, int[] out) {
+            int i = out[0]++;
+            days[i] = (int) bucket[4];
+            weights[i] = (int) Math.round((double) bucket[1] / bucket[3]);
+            fats[i] = (int) Math.round((double) bucket[2] / bucket[3]);
+            workouts[i] = (int) bucket[5];
+            bucket[1] = 0;
+            bucket[2] = 0;
+            bucket[3] = 0;
+        }
+
+        private static int readZigZag(byte[] data, int[] position) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position[0]++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    /**
+     * Bộ đệm byte có thể mở rộng dùng khi mã hoá varint.
+     */
+    private static final class ByteSink {
+        private byte[] buffer;
+        private int length;
+
+        ByteSink(int initialCapacity) {
+            this.buffer = new byte[Math.max(16, initialCapacity)];
+        }
+
+        void writeZigZag(int value) {
+            int v = (value << 1) ^ (value >> 31);
+            if (length + 5 > buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            while ((v & ~0x7F) != 0) {
+                buffer[length++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buffer[length++] = (byte) v;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, length);
+        }
+    }
+
+    /**
+     * Bộ tích luỹ thống kê có thể gộp (merge) theo thứ tự thời gian.
+     */
+    private static final class Stats {
+        static final int BYTES = 112;
+
+        final int originDay;
+        int count;
+        int minWeight = Integer.MAX_VALUE;
+        int maxWeight = Integer.MIN_VALUE;
+        int minFat = Integer.MAX_VALUE;
+        int maxFat = Integer.MIN_VALUE;
+        long sumWeight;
+        long sumFat;
+        double sumX;
+        double sumXX;
+        double sumXW;
+        int firstWeight;
+        int firstWorkouts;
+        int lastWeight;
+        int lastWorkouts;
+
+        Stats(int originDay) {
+            this.originDay = originDay;
+        }
+
+        void add(int day, int weight, int fat, int workouts) {
+            if (count == 0) {
+                firstWeight = weight;
+                firstWorkouts = workouts;
+            }
+            count++;
+            minWeight = Math.min(minWeight, weight);
+            maxWeight = Math.max(maxWeight, weight);
+            minFat = Math.min(minFat, fat);
+            maxFat = Math.max(maxFat, fat);
+            sumWeight += weight;
+            sumFat += fat;
+            double x = day - originDay;
+            sumX += x;
+            sumXX += x * x;
+            sumXW += x * weight;
+            lastWeight = weight;
+            lastWorkouts = workouts;
+        }
+
+        void merge(Stats other) {
+            if (other.count == 0) {
+                return;
+            }
+            if (count == 0) {
+                firstWeight = other.firstWeight;
+                firstWorkouts = other.firstWorkouts;
+            }
+            count += other.count;
+            minWeight = Math.min(minWeight, other.minWeight);
+            maxWeight = Math.max(maxWeight, other.maxWeight);
+            minFat = Math.min(minFat, other.minFat);
+            maxFat = Math.max(maxFat, other.maxFat);
+            sumWeight += other.sumWeight;
+            sumFat += other.sumFat;
+            sumX += other.sumX;
+            sumXX += other.sumXX;
+            sumXW += other.sumXW;
+            lastWeight = other.lastWeight;
+            lastWorkouts = other.lastWorkouts;
+        }
+
+        ProgressSummary toSummary(String memberId, LocalDate from, LocalDate to) {
+            if (count == 0) {
+                return ProgressSummary.empty(memberId, from, to);
+            }
+            double denominator = count * sumXX - sumX * sumX;
+            double slopePerDay = denominator == 0 ? 0.0 : (count * sumXW - sumX * sumWeight) / denominator;
+            return new ProgressSummary(memberId, from, to, count,
+                    minWeight / SCALE, maxWeight / SCALE, sumWeight / SCALE / count,
+                    minFat / SCALE, maxFat / SCALE, sumFat / SCALE / count,
+                    firstWeight / SCALE, lastWeight / SCALE,
+                    Math.max(0, lastWorkouts - firstWorkouts),
+                    slopePerDay * 7 / SCALE);
+        }
+    }
+}
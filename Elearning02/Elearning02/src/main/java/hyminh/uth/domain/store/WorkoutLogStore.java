@@ -0,0 +1,634 @@
+package hyminh.uth.domain.store;
+
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.PersonalRecord;
+import hyminh.uth.domain.valueobject.WorkoutSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kho nhật ký tập luyện: lưu từng set (số lần lặp, mức tạ, thời điểm) mà thành viên thực hiện
+ * cho từng bài tập, và phát hiện kỷ lục cá nhân ngay khi set được ghi.
+ *
+ * Các tính năng chính:
+ * - Mỗi set được đóng gói vào một số long duy nhất (giây, số lần lặp, mức tạ 0.01 kg) trong các
+ *   khối chỉ ghi thêm tối đa {@value #CHUNK_SIZE} set, mỗi khối kèm khoảng thời gian và 1RM ước
+ *   tính lớn nhất của khối
+ * - Tổng khối lượng, số set và các thành tích tốt nhất của từng bài tập được cộng dồn khi ghi,
+ *   nên truy vấn 1RM ước tính tốt nhất là O(1)
+ * - Khối lượng theo tuần (thứ Hai đến Chủ nhật) được cộng dồn vào mảng theo chỉ số tuần cho
+ *   từng thành viên và từng bài tập, nên truy vấn một tuần là O(1) dù lịch sử dài nhiều năm
+ * - Truy vấn 1RM tốt nhất trong một khoảng ngày dùng thống kê sẵn của các khối nằm trọn
+ *   trong khoảng và chỉ giải mã các khối ở biên
+ *
+ * 1RM được ước tính theo công thức Epley, weight × (1 + reps / 30), chỉ cho các set từ
+ * {@value #MAX_REPS_FOR_ESTIMATE} lần lặp trở xuống vì công thức kém chính xác với set dài hơn.
+ * Set đầu tiên của một bài tập chỉ đặt mốc, không được tính là kỷ lục.
+ *
+ * Các set của cùng một thành viên và bài tập phải được ghi theo thứ tự thời gian.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public class WorkoutLogStore {
+
+    /**
+     * Số set tối đa trong một khối.
+     */
+    public static final int CHUNK_SIZE = 512;
+
+    /**
+     * Số lần lặp tối đa của một set được dùng để ước tính 1RM.
+     */
+    public static final int MAX_REPS_FOR_ESTIMATE = 12;
+
+    private static final int INITIAL_CHUNK_CAPACITY = 16;
+    private static final double SCALE = 100.0;              // Lượng tử hoá 0.01 kg
+    private static final int WEIGHT_BITS = 20;              // Bố cục một set: giây | số lần lặp | mức tạ
+    private static final int REPS_BITS = 10;
+    private static final int SECOND_BITS = 34;
+    private static final int MAX_WEIGHT = (1 << WEIGHT_BITS) - 1;
+    private static final int MAX_REPS = (1 << REPS_BITS) - 1;
+    private static final long MAX_SECOND = (1L << SECOND_BITS) - 1;
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final long[] EMPTY = new long[0];
+
+    private final Map<MemberId, MemberLog> logs = new ConcurrentHashMap<>();
+
+    /**
+     * Ghi nhận một set và trả về các kỷ lục cá nhân mà set đó lập được.
+     *
+     * @param set set cần ghi
+     * @return các kỷ lục mới, rỗng nếu set không vượt thành tích trước đó
+     * @throws IllegalArgumentException nếu set null, vượt giới hạn lưu trữ hoặc cũ hơn set cuối cùng của bài tập
+     */
+    public List<PersonalRecord> logSet(WorkoutSet set) {
+        if (set == null) {
+            throw new IllegalArgumentException("Workout set cannot be null");
+        }
+        return logSet(set.getMemberId(), set.getExerciseId(), set.getPerformedAt(), set.getReps(), set.getWeight());
+    }
+
+    /**
+     * Ghi nhận một set và trả về các kỷ lục cá nhân mà set đó lập được.
+     *
+     * @param memberId ID thành viên
+     * @param exerciseId ID bài tập
+     * @param performedAt thời điểm thực hiện set
+     * @param reps số lần lặp, từ 1 đến 1023
+     * @param weight mức tạ (kg), 0 với bài tập dùng trọng lượng cơ thể, tối đa 10485.75
+     * @return các kỷ lục mới, rỗng nếu set không vượt thành tích trước đó
+     * @throws IllegalArgumentException nếu tham số không hợp lệ hoặc set cũ hơn set cuối cùng của bài tập
+     */
+    public List<PersonalRecord> logSet(MemberId memberId, String exerciseId, LocalDateTime performedAt,
+                                       int reps, double weight) {
+        validateSeries(memberId, exerciseId);
+        if (performedAt == null) {
+            throw new IllegalArgumentException("Performed time cannot be null");
+        }
+        if (reps <= 0 || reps > MAX_REPS) {
+            throw new IllegalArgumentException("Reps must be between 1 and " + MAX_REPS);
+        }
+        long second = performedAt.toEpochSecond(ZoneOffset.UTC);
+        if (second < 0 || second > MAX_SECOND) {
+            throw new IllegalArgumentException("Performed time is out of the supported range");
+        }
+        long quantizedWeight = Math.round(weight * SCALE);
+        if (!Double.isFinite(weight) || weight < 0 || quantizedWeight > MAX_WEIGHT) {
+            throw new IllegalArgumentException("Weight must be between 0 and " + MAX_WEIGHT / SCALE);
+        }
+
+        MemberLog log = logs.computeIfAbsent(memberId, id -> new MemberLog());
+        synchronized (log) {
+            Series series = log.exercises.computeIfAbsent(exerciseId, id -> new Series());
+            if (second < series.lastSecond) {
+                throw new IllegalArgumentException("Workout sets must be logged in chronological order");
+            }
+            List<PersonalRecord> records = series.append(memberId, exerciseId, performedAt, second, reps,
+                    (int) quantizedWeight);
+            log.weekly.add(weekOf(second), reps * quantizedWeight);
+            return records;
+        }
+    }
+
+    /**
+     * Lấy 1RM ước tính tốt nhất của thành viên cho một bài tập trên toàn bộ lịch sử.
+     *
+     * @param memberId ID thành viên
+     * @param exerciseId ID bài tập
+     * @return 1RM ước tính (kg), rỗng nếu chưa có set nào ước tính được
+     */
+    public OptionalDouble getBestEstimatedOneRepMax(MemberId memberId, String exerciseId) {
+        validateSeries(memberId, exerciseId);
+        MemberLog log = logs.get(memberId);
+        if (log == null) {
+            return OptionalDouble.empty();
+        }
+        synchronized (log) {
+            Series series = log.exercises.get(exerciseId);
+            return series == null ? OptionalDouble.empty() : toKilograms(series.bestEstimate);
+        }
+    }
+
+    /**
+     * Lấy 1RM ước tính tốt nhất của thành viên cho một bài tập trong khoảng [from, to].
+     *
+     * @param memberId ID thành viên
+     * @param exerciseId ID bài tập
+     * @param from ngày bắt đầu
+     * @param to ngày kết thúc
+     * @return 1RM ước tính (kg), rỗng nếu không có set nào ước tính được trong khoảng
+     * @throws IllegalArgumentException nếu tham số null hoặc from sau to
+     */
+    public OptionalDouble getBestEstimatedOneRepMax(MemberId memberId, String exerciseId,
+                                                    LocalDate from, LocalDate to) {
+        validateSeries(memberId, exerciseId);
+        validateRange(from, to);
+        MemberLog log = logs.get(memberId);
+        if (log == null) {
+            return OptionalDouble.empty();
+        }
+        synchronized (log) {
+            Series series = log.exercises.get(exerciseId);
+            if (series == null) {
+                return OptionalDouble.empty();
+            }
+            return toKilograms(series.bestEstimate(startOf(from), startOf(to.plusDays(1))));
+        }
+    }
+
+    /**
+     * Lấy 1RM ước tính tốt nhất của thành viên cho từng bài tập.
+     *
+     * @param memberId ID thành viên
+     * @return map từ ID bài tập sang 1RM ước tính (kg), sắp xếp theo ID bài tập
+     */
+    public Map<String, Double> getBestEstimatedOneRepMaxes(MemberId memberId) {
+        validateMemberId(memberId);
+        Map<String, Double> result = new TreeMap<>();
+        MemberLog log = logs.get(memberId);
+        if (log == null) {
+            return result;
+        }
+        synchronized (log) {
+            for (Map.Entry<String, Series> entry : log.exercises.entrySet()) {
+                if (entry.getValue().bestEstimate > 0) {
+                    result.put(entry.getKey(), entry.getValue().bestEstimate / SCALE);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tính tổng khối lượng (số lần lặp × mức tạ) của thành viên trong tuần chứa một ngày.
+     *
+     * @param memberId ID thành viên
+     * @param dayInWeek một ngày bất kỳ trong tuần
+     * @return tổng khối lượng (kg) của mọi bài tập trong tuần
+     */
+    public double getWeeklyVolume(MemberId memberId, LocalDate dayInWeek) {
+        validateMemberId(memberId);
+        validateDay(dayInWeek);
+        MemberLog log = logs.get(memberId);
+        if (log == null) {
+            return 0.0;
+        }
+        synchronized (log) {
+            return log.weekly.get(weekOf(dayInWeek)) / SCALE;
+        }
+    }
+
+    /**
+     * Tính tổng khối lượng của thành viên cho một bài tập trong tuần chứa một ngày.
+     *
+     * @param memberId ID thành viên
+     * @param exerciseId ID bài tập
+     * @param dayInWeek một ngày bất kỳ trong tuần
+     * @return tổng khối lượng (kg) của bài tập trong tuần
+     */
+    public double getWeeklyVolume(MemberId memberId, String exerciseId, LocalDate dayInWeek) {
+        validateSeries(memberId, exerciseId);
+        validateDay(dayInWeek);
+        MemberLog log = logs.get(memberId);
+        if (log == null) {
+            return 0.0;
+        }
+        synchronized (log) {
+            Series series = log.exercises.get(exerciseId);
+            return series == null ? 0.0 : series.weekly.get(weekOf(dayInWeek)) / SCALE;
+        }
+    }
+
+    /**
+     * Lấy tổng khối lượng theo tuần của thành viên cho mọi tuần giao với khoảng [from, to].
+     *
+     * @param memberId ID thành viên
+     * @param from ngày bắt đầu
+     * @param to ngày kết thúc
+     * @return map từ ngày thứ Hai của tuần sang tổng khối lượng (kg), theo thứ tự thời gian,
+     *         gồm cả các tuần không tập
+     * @throws IllegalArgumentException nếu tham số null hoặc from sau to
+     */
+    public Map<LocalDate, Double> getWeeklyVolumes(MemberId memberId, LocalDate from, LocalDate to) {
+        validateMemberId(memberId);
+        validateRange(from, to);
+        Map<LocalDate, Double> result = new LinkedHashMap<>();
+        MemberLog log = logs.get(memberId);
+        long lastWeek = weekOf(to);
+        for (long week = weekOf(from); week <= lastWeek; week++) {
+            result.put(mondayOf(week), 0.0);
+        }
+        if (log == null) {
+            return result;
+        }
+        synchronized (log) {
+            for (long week = weekOf(from); week <= lastWeek; week++) {
+                result.put(mondayOf(week), log.weekly.get(week) / SCALE);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tính tổng khối lượng của thành viên cho một bài tập trên toàn bộ lịch sử.
+     *
+     * @param memberId ID thành viên
+     * @param exerciseId ID bài tập
+     * @return tổng khối lượng (kg)
+     */
+    public double getTotalVolume(MemberId memberId, String exerciseId) {
+        validateSeries(memberId, exerciseId);
+        MemberLog log = logs.get(memberId);
+        if (log == null) {
+            return 0.0;
+        }
+        synchronized (log) {
+            Series series = log.exercises.get(exerciseId);
+            return series == null ? 0.0 : series.totalVolume / SCALE;
+        }
+    }
+
+    /**
+     * Đếm số set thành viên đã ghi cho một bài tập.
+     *
+     * @param memberId ID thành viên
+     * @param exerciseId ID bài tập
+     * @return số set
+     */
+    public int getSetCount(MemberId memberId, String exerciseId) {
+        validateSeries(memberId, exerciseId);
+        MemberLog log = logs.get(memberId);
+        if (log == null) {
+            return 0;
+        }
+        synchronized (log) {
+            Series series = log.exercises.get(exerciseId);
+            return series == null ? 0 : series.setCount;
+        }
+    }
+
+    /**
+     * Lấy các kỷ lục cá nhân của thành viên cho một bài tập theo thứ tự đạt được.
+     *
+     * @param memberId ID thành viên
+     * @param exerciseId ID bài tập
+     * @return danh sách kỷ lục
+     */
+    public List<PersonalRecord> getPersonalRecords(MemberId memberId, String exerciseId) {
+        validateSeries(memberId, exerciseId);
+        MemberLog log = logs.get(memberId);
+        if (log == null) {
+            return new ArrayList<>();
+        }
+        synchronized (log) {
+            Series series = log.exercises.get(exerciseId);
+            return series == null ? new ArrayList<>() : new ArrayList<>(series.records);
+        }
+    }
+
+    /**
+     * Lấy các set của thành viên cho một bài tập trong khoảng [from, to] theo thứ tự thời gian.
+     *
+     * @param memberId ID thành viên
+     * @param exerciseId ID bài tập
+     * @param from ngày bắt đầu
+     * @param to ngày kết thúc
+     * @return danh sách set
+     * @throws IllegalArgumentException nếu tham số null hoặc from sau to
+     */
+    public List<WorkoutSet> getSets(MemberId memberId, String exerciseId, LocalDate from, LocalDate to) {
+        validateSeries(memberId, exerciseId);
+        validateRange(from, to);
+        List<WorkoutSet> result = new ArrayList<>();
+        MemberLog log = logs.get(memberId);
+        if (log == null) {
+            return result;
+        }
+        long fromSecond = startOf(from);
+        long toSecond = startOf(to.plusDays(1));
+        synchronized (log) {
+            Series series = log.exercises.get(exerciseId);
+            if (series == null) {
+                return result;
+            }
+            for (int c = series.firstChunkEndingOnOrAfter(fromSecond); c < series.chunks.size(); c++) {
+                Chunk chunk = series.chunks.get(c);
+                if (chunk.firstSecond >= toSecond) {
+                    break;
+                }
+                for (int i = 0; i < chunk.size; i++) {
+                    long entry = chunk.entries[i];
+                    long second = secondOf(entry);
+                    if (second >= fromSecond && second < toSecond) {
+                        result.add(new WorkoutSet(memberId, exerciseId, LocalDateTime.ofEpochSecond(second, 0,
+                                ZoneOffset.UTC), repsOf(entry), weightOf(entry) / SCALE));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ước tính dung lượng heap mà các khối set đã đóng gói và tổng theo tuần sử dụng.
+     *
+     * @return dung lượng ước tính (byte)
+     */
+    public long estimateEncodedBytes() {
+        long bytes = 0;
+        for (MemberLog log : logs.values()) {
+            synchronized (log) {
+                bytes += 16 + 8L * log.weekly.volumes.length;
+                for (Series series : log.exercises.values()) {
+                    bytes += Series.BYTES + 8L * series.weekly.volumes.length;
+                    for (Chunk chunk : series.chunks) {
+                        bytes += Chunk.BYTES + 8L * chunk.entries.length;
+                    }
+                }
+            }
+        }
+        return bytes;
+    }
+
+    // ========== CÁC PHƯƠNG THỨC HỖ TRỢ ==========
+
+    private static long pack(long second, int reps, int weight) {
+        return second << (REPS_BITS + WEIGHT_BITS) | (long) reps << WEIGHT_BITS | weight;
+    }
+
+    private static long secondOf(long entry) {
+        return entry >>> (REPS_BITS + WEIGHT_BITS);
+    }
+
+    private static int repsOf(long entry) {
+        return (int) (entry >>> WEIGHT_BITS) & MAX_REPS;
+    }
+
+    private static int weightOf(long entry) {
+        return (int) entry & MAX_WEIGHT;
+    }
+
+    /**
+     * Ước tính 1RM theo công thức Epley (đơn vị 0.01 kg), 0 nếu set quá dài để ước tính.
+     */
+    private static int estimateOneRepMax(int reps, int weight) {
+        if (reps == 1) {
+            return weight;
+        }
+        if (reps > MAX_REPS_FOR_ESTIMATE) {
+            return 0;
+        }
+        return (int) Math.round(weight * (1 + reps / 30.0));
+    }
+
+    private static OptionalDouble toKilograms(int estimate) {
+        return estimate > 0 ? OptionalDouble.of(estimate / SCALE) : OptionalDouble.empty();
+    }
+
+    /**
+     * Chỉ số tuần tính từ tuần chứa 1970-01-01, tuần bắt đầu vào thứ Hai (epoch day 0 là thứ Năm).
+     */
+    private static long weekOf(long second) {
+        return Math.floorDiv(Math.floorDiv(second, SECONDS_PER_DAY) + 3, 7);
+    }
+
+    private static long weekOf(LocalDate date) {
+        return Math.floorDiv(date.toEpochDay() + 3, 7);
+    }
+
+    private static LocalDate mondayOf(long week) {
+        return LocalDate.ofEpochDay(week * 7 - 3);
+    }
+
+    private static long startOf(LocalDate date) {
+        return date.toEpochDay() * SECONDS_PER_DAY;
+    }
+
+    private static void validateMemberId(MemberId memberId) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+    }
+
+    private static void validateSeries(MemberId memberId, String exerciseId) {
+        validateMemberId(memberId);
+        if (exerciseId == null || exerciseId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Exercise ID cannot be null or empty");
+        }
+    }
+
+    private static void validateDay(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+    }
+
+    private static void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+    }
+
+    /**
+     * Nhật ký của một thành viên: chuỗi set theo từng bài tập và tổng khối lượng theo tuần.
+     */
+    private static final class MemberLog {
+        final Map<String, Series> exercises = new HashMap<>();
+        final WeeklyTotals weekly = new WeeklyTotals();
+    }
+
+    /**
+     * Chuỗi set của một thành viên cho một bài tập, kèm các giá trị cộng dồn.
+     */
+    private static final class Series {
+        static final int BYTES = 80;
+
+        final List<Chunk> chunks = new ArrayList<>();
+        final WeeklyTotals weekly = new WeeklyTotals();
+        final List<PersonalRecord> records = new ArrayList<>();
+        long lastSecond = Long.MIN_VALUE;
+        long totalVolume;
+        int setCount;
+        int bestWeight;
+        int bestEstimate;
+        int bestReps;
+
+        List<PersonalRecord> append(MemberId memberId, String exerciseId, LocalDateTime performedAt,
+                                    long second, int reps, int weight) {
+            Chunk chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+            if (chunk == null || chunk.size == CHUNK_SIZE) {
+                chunk = new Chunk(second);
+                chunks.add(chunk);
+            }
+            int estimate = estimateOneRepMax(reps, weight);
+            long volume = (long) reps * weight;
+            chunk.add(pack(second, reps, weight), second, estimate);
+            weekly.add(weekOf(second), volume);
+
+            // Set đầu tiên chỉ đặt mốc; các set sau so với thành tích tốt nhất trước đó
+            List<PersonalRecord> found = Collections.emptyList();
+            if (setCount > 0) {
+                if (weight > bestWeight) {
+                    found = addRecord(found, new PersonalRecord(memberId, exerciseId, PersonalRecord.Type.MAX_WEIGHT,
+                            weight / SCALE, bestWeight / SCALE, performedAt));
+                }
+                if (estimate > bestEstimate) {
+                    found = addRecord(found, new PersonalRecord(memberId, exerciseId,
+                            PersonalRecord.Type.ESTIMATED_ONE_REP_MAX, estimate / SCALE, bestEstimate / SCALE,
+                            performedAt));
+                }
+                if (reps > bestReps) {
+                    found = addRecord(found, new PersonalRecord(memberId, exerciseId, PersonalRecord.Type.MAX_REPS,
+                            reps, bestReps, performedAt));
+                }
+                records.addAll(found);
+            }
+            bestWeight = Math.max(bestWeight, weight);
+            bestEstimate = Math.max(bestEstimate, estimate);
+            bestReps = Math.max(bestReps, reps);
+            totalVolume += volume;
+            setCount++;
+            lastSecond = second;
+            return found;
+        }
+
+        /**
+         * 1RM ước tính lớn nhất của các set trong [fromSecond, toSecond).
+         */
+        int bestEstimate(long fromSecond, long toSecond) {
+            int best = 0;
+            for (int c = firstChunkEndingOnOrAfter(fromSecond); c < chunks.size(); c++) {
+                Chunk chunk = chunks.get(c);
+                if (chunk.firstSecond >= toSecond) {
+                    break;
+                }
+                if (chunk.firstSecond >= fromSecond && chunk.lastSecond < toSecond) {
+                    best = Math.max(best, chunk.bestEstimate);
+                    continue;
+                }
+                for (int i = 0; i < chunk.size; i++) {
+                    long entry = chunk.entries[i];
+                    long second = secondOf(entry);
+                    if (second >= fromSecond && second < toSecond) {
+                        best = Math.max(best, estimateOneRepMax(repsOf(entry), weightOf(entry)));
+                    }
+                }
+            }
+            return best;
+        }
+
+        int firstChunkEndingOnOrAfter(long second) {
+            int low = 0;
+            int high = chunks.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (chunks.get(mid).lastSecond < second) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private static List<PersonalRecord> addRecord(List<PersonalRecord> found, PersonalRecord record) {
+            if (found.isEmpty()) {
+                found = new ArrayList<>(3);
+            }
+            found.add(record);
+            return found;
+        }
+    }
+
+    /**
+     * Khối set chỉ ghi thêm, mỗi set là một số long đã đóng gói, kèm thống kê của khối.
+     */
+    private static final class Chunk {
+        static final int BYTES = 40;
+
+        final long firstSecond;
+        long[] entries = new long[INITIAL_CHUNK_CAPACITY];
+        int size;
+        long lastSecond;
+        int bestEstimate;
+
+        Chunk(long firstSecond) {
+            this.firstSecond = firstSecond;
+        }
+
+        void add(long entry, long second, int estimate) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, Math.min(CHUNK_SIZE, entries.length * 2));
+            }
+            entries[size++] = entry;
+            lastSecond = second;
+            bestEstimate = Math.max(bestEstimate, estimate);
+        }
+    }
+
+    /**
+     * Tổng khối lượng theo chỉ số tuần, lưu liên tục từ tuần đầu tiên đến tuần cuối cùng có dữ liệu.
+     */
+    private static final class WeeklyTotals {
+        long firstWeek;
+        long[] volumes = EMPTY;
+
+        void add(long week, long volume) {
+            if (volumes.length == 0) {
+                firstWeek = week;
+                volumes = new long[1];
+            } else if (week < firstWeek) {
+                // Các bài tập khác nhau có thể được ghi lệch thời gian, nên có thể phải mở rộng về trước
+                int shift = (int) (firstWeek - week);
+                long[] grown = new long[volumes.length + shift];
+                System.arraycopy(volumes, 0, grown, shift, volumes.length);
+                volumes = grown;
+                firstWeek = week;
+            } else if (week - firstWeek >= volumes.length) {
+                int needed = (int) (week - firstWeek + 1);
+                volumes = Arrays.copyOf(volumes, Math.max(needed, volumes.length + (volumes.length >> 1)));
+            }
+            volumes[(int) (week - firstWeek)] += volume;
+        }
+
+        long get(long week) {
+            long index = week - firstWeek;
+            return index >= 0 && index < volumes.length ? volumes[(int) index] : 0;
+        }
+    }
+}
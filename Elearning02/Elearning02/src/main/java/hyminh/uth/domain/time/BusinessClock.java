@@ -0,0 +1,170 @@
+package hyminh.uth.domain.time;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Đồng hồ nghiệp vụ dùng chung cho các entity, repository và service của tầng domain.
+ *
+ * Các tính năng chính:
+ * - Lưu cache giá trị "hôm nay" và chỉ tính lại khi qua nửa đêm, nên các vòng quét
+ *   hàng triệu bản ghi không phải tra cứu múi giờ và tạo LocalDate mới cho từng dòng
+ * - Có thể thay thế (inject) bằng đồng hồ cố định hoặc đồng hồ tuỳ chỉnh trong test
+ *   để các logic phụ thuộc ngày trở nên xác định
+ *
+ * Các phương thức tĩnh {@link #today()} và {@link #now()} uỷ quyền cho đồng hồ đang được cài đặt.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class BusinessClock {
+
+    private static volatile BusinessClock current = system();
+
+    private final Clock clock;
+    private volatile CachedDay cachedDay;
+
+    /**
+     * Khởi tạo đồng hồ nghiệp vụ dựa trên một {@link Clock}.
+     *
+     * @param clock đồng hồ nguồn
+     * @throws IllegalArgumentException nếu clock null
+     */
+    public BusinessClock(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.clock = clock;
+        this.cachedDay = computeDay(clock.millis());
+    }
+
+    /**
+     * Tạo đồng hồ theo giờ hệ thống và múi giờ mặc định.
+     *
+     * @return đồng hồ nghiệp vụ theo giờ hệ thống
+     */
+    public static BusinessClock system() {
+        return new BusinessClock(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Tạo đồng hồ cố định tại đầu ngày chỉ định, dùng cho test.
+     *
+     * @param date ngày cố định
+     * @return đồng hồ nghiệp vụ luôn trả về ngày đã cho
+     * @throws IllegalArgumentException nếu date null
+     */
+    public static BusinessClock fixed(LocalDate date) {
+        if (date == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        return new BusinessClock(Clock.fixed(date.atStartOfDay(zone).toInstant(), zone));
+    }
+
+    /**
+     * Trả về đồng hồ nghiệp vụ đang được cài đặt.
+     *
+     * @return đồng hồ hiện tại
+     */
+    public static BusinessClock current() {
+        return current;
+    }
+
+    /**
+     * Cài đặt đồng hồ nghiệp vụ dùng cho toàn bộ tầng domain.
+     *
+     * @param clock đồng hồ cần cài đặt
+     * @throws IllegalArgumentException nếu clock null
+     */
+    public static void install(BusinessClock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Business clock cannot be null");
+        }
+        current = clock;
+    }
+
+    /**
+     * Khôi phục đồng hồ về giờ hệ thống.
+     */
+    public static void reset() {
+        current = system();
+    }
+
+    /**
+     * Trả về ngày hôm nay theo đồng hồ đang được cài đặt.
+     *
+     * @return ngày hôm nay
+     */
+    public static LocalDate today() {
+        return current.currentDate();
+    }
+
+    /**
+     * Trả về thời điểm hiện tại theo đồng hồ đang được cài đặt.
+     *
+     * @return thời điểm hiện tại
+     */
+    public static LocalDateTime now() {
+        return current.currentDateTime();
+    }
+
+    /**
+     * Trả về ngày hiện tại; giá trị được cache cho đến nửa đêm kế tiếp.
+     *
+     * @return ngày hiện tại
+     */
+    public LocalDate currentDate() {
+        long millis = clock.millis();
+        CachedDay day = cachedDay;
+        if (millis < day.startMillis || millis >= day.endMillis) {
+            day = computeDay(millis);
+            cachedDay = day;
+        }
+        return day.date;
+    }
+
+    /**
+     * Trả về thời điểm hiện tại (không cache).
+     *
+     * @return thời điểm hiện tại
+     */
+    public LocalDateTime currentDateTime() {
+        return LocalDateTime.now(clock);
+    }
+
+    /**
+     * Trả về đồng hồ nguồn.
+     *
+     * @return đồng hồ nguồn
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    private CachedDay computeDay(long millis) {
+        ZoneId zone = clock.getZone();
+        LocalDate date = Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+        long start = date.atStartOfDay(zone).toInstant().toEpochMilli();
+        long end = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        return new CachedDay(date, start, end);
+    }
+
+    /**
+     * Ngày đã cache cùng khoảng thời gian [startMillis, endMillis) mà nó còn hợp lệ.
+     */
+    private static final class CachedDay {
+        final LocalDate date;
+        final long startMillis;
+        final long endMillis;
+
+        CachedDay(LocalDate date, long startMillis, long endMillis) {
+            this.date = date;
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package hyminh.uth.domain.valueobject;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Value object representing one privileged operation recorded in the admin audit log.
+ * The action is the permission the operation required, while the operation names what was
+ * done, for example "DELETE_USER" under {@link AdminAction#MANAGE_USERS}.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class AuditEvent {
+
+    private final long sequence;
+    private final LocalDateTime timestamp;
+    private final String adminId;
+    private final AdminAction action;
+    private final String operation;
+    private final String target;
+    private final boolean allowed;
+
+    /**
+     * Constructs a new AuditEvent with the specified values.
+     *
+     * @param sequence the position of the event in the log, starting at 1
+     * @param timestamp the time the operation was requested
+     * @param adminId the user ID of the admin
+     * @param action the permission the operation required
+     * @param operation the name of the operation
+     * @param target the ID of the object the operation applied to, may be null
+     * @param allowed whether the admin held the permission
+     * @throws IllegalArgumentException if any required parameter is null or empty, or sequence is not positive
+     */
+    public AuditEvent(long sequence, LocalDateTime timestamp, String adminId, AdminAction action,
+                      String operation, String target, boolean allowed) {
+        if (sequence <= 0) {
+            throw new IllegalArgumentException("Sequence must be positive");
+        }
+        if (timestamp == null) {
+            throw new IllegalArgumentException("Timestamp cannot be null");
+        }
+        if (adminId == null || adminId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Admin ID cannot be null or empty");
+        }
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        if (operation == null || operation.trim().isEmpty()) {
+            throw new IllegalArgumentException("Operation cannot be null or empty");
+        }
+
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.adminId = adminId;
+        this.action = action;
+        this.operation = operation;
+        this.target = target;
+        this.allowed = allowed;
+    }
+
+    // Getters
+    public long getSequence() { return sequence; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public String getAdminId() { return adminId; }
+    public AdminAction getAction() { return action; }
+    public String getOperation() { return operation; }
+    public String getTarget() { return target; }
+    public boolean isAllowed() { return allowed; }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        AuditEvent that = (AuditEvent) obj;
+        return sequence == that.sequence &&
+               allowed == that.allowed &&
+               action == that.action &&
+               Objects.equals(timestamp, that.timestamp) &&
+               Objects.equals(adminId, that.adminId) &&
+               Objects.equals(operation, that.operation) &&
+               Objects.equals(target, that.target);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sequence, timestamp, adminId, action, operation, target, allowed);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AuditEvent{sequence=%d, timestamp=%s, adminId='%s', action=%s, operation='%s', target='%s', allowed=%s}",
+                           sequence, timestamp, adminId, action, operation, target, allowed);
+    }
+}
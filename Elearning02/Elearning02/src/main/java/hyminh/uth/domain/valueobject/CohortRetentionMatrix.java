@@ -0,0 +1,221 @@
+package hyminh.uth.domain.valueobject;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Value object representing a registration cohort retention matrix as of a month.
+ * Row c holds the members who registered in cohort month c; column k holds how many of them
+ * were subscribed at some point during month c + k. Only months up to the as-of month are
+ * included, so later cohorts have shorter rows. Instances are produced by the cohort
+ * retention index and are immutable.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class CohortRetentionMatrix {
+
+    private final YearMonth asOf;
+    private final List<YearMonth> cohorts;
+    private final int[] cohortSizes;
+    private final int[][] retained;
+
+    /**
+     * Constructs a new CohortRetentionMatrix with the specified values.
+     *
+     * @param asOf the last month included
+     * @param cohorts the cohort months, oldest first
+     * @param cohortSizes the number of members registered in each cohort
+     * @param retained for each cohort, the subscribed members by months since registration
+     * @throws IllegalArgumentException if any parameter is null, the arrays do not match the
+     *                                  cohorts or a cohort lies after asOf
+     */
+    public CohortRetentionMatrix(YearMonth asOf, List<YearMonth> cohorts, int[] cohortSizes, int[][] retained) {
+        if (asOf == null || cohorts == null || cohortSizes == null || retained == null) {
+            throw new IllegalArgumentException("Matrix values cannot be null");
+        }
+        if (cohortSizes.length != cohorts.size() || retained.length != cohorts.size()) {
+            throw new IllegalArgumentException("Matrix rows must match the cohorts");
+        }
+        for (int row = 0; row < cohorts.size(); row++) {
+            if (cohorts.get(row).isAfter(asOf)) {
+                throw new IllegalArgumentException("Cohort cannot be after the as-of month: " + cohorts.get(row));
+            }
+            if (retained[row].length != monthsBetween(cohorts.get(row), asOf) + 1) {
+                throw new IllegalArgumentException("Row length must cover the cohort up to the as-of month");
+            }
+        }
+
+        this.asOf = asOf;
+        this.cohorts = List.copyOf(cohorts);
+        this.cohortSizes = cohortSizes.clone();
+        this.retained = new int[retained.length][];
+        for (int row = 0; row < retained.length; row++) {
+            this.retained[row] = retained[row].clone();
+        }
+    }
+
+    /**
+     * Returns the number of members of a cohort registered during that month.
+     *
+     * @param cohort the cohort month
+     * @return the cohort size, 0 for a month without registrations
+     */
+    public int getCohortSize(YearMonth cohort) {
+        int row = rowOf(cohort);
+        return row < 0 ? 0 : cohortSizes[row];
+    }
+
+    /**
+     * Returns the number of members of a cohort who were subscribed during a later month.
+     *
+     * @param cohort the cohort month
+     * @param monthsSinceJoin the number of months after the cohort month, 0 for the cohort month
+     * @return the number of subscribed members
+     * @throws IllegalArgumentException if monthsSinceJoin is negative or reaches past the as-of month
+     */
+    public int getRetained(YearMonth cohort, int monthsSinceJoin) {
+        validateMonthsSinceJoin(cohort, monthsSinceJoin);
+        int row = rowOf(cohort);
+        return row < 0 ? 0 : retained[row][monthsSinceJoin];
+    }
+
+    /**
+     * Calculates the share of a cohort that was subscribed during a later month.
+     *
+     * @param cohort the cohort month
+     * @param monthsSinceJoin the number of months after the cohort month
+     * @return the retention rate as a percentage, 0 for an empty cohort
+     * @throws IllegalArgumentException if monthsSinceJoin is negative or reaches past the as-of month
+     */
+    public double getRetentionRate(YearMonth cohort, int monthsSinceJoin) {
+        int size = getCohortSize(cohort);
+        int subscribed = getRetained(cohort, monthsSinceJoin);
+        return size == 0 ? 0.0 : (double) subscribed / size * 100.0;
+    }
+
+    /**
+     * Returns the number of month columns, which is the row length of the oldest cohort.
+     *
+     * @return the number of columns, 0 for an empty matrix
+     */
+    public int getColumnCount() {
+        return cohorts.isEmpty() ? 0 : retained[0].length;
+    }
+
+    /**
+     * Formats the matrix as CSV with member counts: one row per cohort with its size and one
+     * column per month since registration. Cells past the as-of month are empty.
+     *
+     * @return the CSV text, including a header row
+     */
+    public String toCsv() {
+        return csv(false);
+    }
+
+    /**
+     * Formats the matrix as CSV with retention percentages instead of member counts.
+     *
+     * @return the CSV text, including a header row
+     */
+    public String toRetentionCsv() {
+        return csv(true);
+    }
+
+    /**
+     * Writes the member count CSV to a writer.
+     *
+     * @param writer the writer
+     * @throws IllegalArgumentException if writer is null
+     * @throws UncheckedIOException if the writer fails
+     */
+    public void writeCsv(Writer writer) {
+        if (writer == null) {
+            throw new IllegalArgumentException("Writer cannot be null");
+        }
+        try {
+            writer.write(toCsv());
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write cohort retention CSV", e);
+        }
+    }
+
+    // Getters
+    public YearMonth getAsOf() { return asOf; }
+    public List<YearMonth> getCohorts() { return cohorts; }
+
+    private String csv(boolean percentages) {
+        int columns = getColumnCount();
+        StringBuilder csv = new StringBuilder(64 + cohorts.size() * (16 + columns * 6));
+        csv.append("cohort,members");
+        for (int column = 0; column < columns; column++) {
+            csv.append(",month_").append(column);
+        }
+        csv.append('\n');
+        for (int row = 0; row < cohorts.size(); row++) {
+            csv.append(cohorts.get(row)).append(',').append(cohortSizes[row]);
+            for (int column = 0; column < columns; column++) {
+                csv.append(',');
+                if (column < retained[row].length) {
+                    if (percentages) {
+                        double rate = cohortSizes[row] == 0 ? 0.0 : 100.0 * retained[row][column] / cohortSizes[row];
+                        csv.append(String.format(Locale.ROOT, "%.1f", rate));
+                    } else {
+                        csv.append(retained[row][column]);
+                    }
+                }
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    private int rowOf(YearMonth cohort) {
+        if (cohort == null) {
+            throw new IllegalArgumentException("Cohort cannot be null");
+        }
+        return cohorts.indexOf(cohort);
+    }
+
+    private void validateMonthsSinceJoin(YearMonth cohort, int monthsSinceJoin) {
+        if (cohort == null) {
+            throw new IllegalArgumentException("Cohort cannot be null");
+        }
+        if (monthsSinceJoin < 0 || monthsSinceJoin > monthsBetween(cohort, asOf)) {
+            throw new IllegalArgumentException("Months since join must be between 0 and the as-of month");
+        }
+    }
+
+    private static long monthsBetween(YearMonth from, YearMonth to) {
+        return (to.getYear() - from.getYear()) * 12L + to.getMonthValue() - from.getMonthValue();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        CohortRetentionMatrix that = (CohortRetentionMatrix) obj;
+        return Objects.equals(asOf, that.asOf) &&
+               Objects.equals(cohorts, that.cohorts) &&
+               Arrays.equals(cohortSizes, that.cohortSizes) &&
+               Arrays.deepEquals(retained, that.retained);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(asOf, cohorts, Arrays.hashCode(cohortSizes), Arrays.deepHashCode(retained));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CohortRetentionMatrix{asOf=%s, cohorts=%d, columns=%d}", asOf, cohorts.size(),
+                             getColumnCount());
+    }
+}
@@ -0,0 +1,62 @@
+package hyminh.uth.domain.valueobject;
+
+import java.util.Objects;
+
+/**
+ * Value object representing the position of a member on a workout leaderboard.
+ * Members with the same number of workouts share a rank, so ranks may skip (1, 2, 2, 4).
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class LeaderboardEntry {
+
+    private final MemberId memberId;
+    private final int rank;
+    private final int workouts;
+
+    /**
+     * Constructs a new LeaderboardEntry with the specified values.
+     *
+     * @param memberId the member ID
+     * @param rank the rank, starting at 1
+     * @param workouts the number of workouts counted for the leaderboard
+     * @throws IllegalArgumentException if memberId is null or rank is not positive
+     */
+    public LeaderboardEntry(MemberId memberId, int rank, int workouts) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+        if (rank <= 0) {
+            throw new IllegalArgumentException("Rank must be positive");
+        }
+        this.memberId = memberId;
+        this.rank = rank;
+        this.workouts = workouts;
+    }
+
+    // Getters
+    public MemberId getMemberId() { return memberId; }
+    public int getRank() { return rank; }
+    public int getWorkouts() { return workouts; }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        LeaderboardEntry that = (LeaderboardEntry) obj;
+        return rank == that.rank &&
+               workouts == that.workouts &&
+               Objects.equals(memberId, that.memberId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(memberId, rank, workouts);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LeaderboardEntry{rank=%d, memberId=%s, workouts=%d}", rank, memberId, workouts);
+    }
+}
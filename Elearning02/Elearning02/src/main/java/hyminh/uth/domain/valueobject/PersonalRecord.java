@@ -0,0 +1,109 @@
+package hyminh.uth.domain.valueobject;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Value object representing a personal record a member set on an exercise: a logged set that
+ * beat the member's previous best for one of the record types.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class PersonalRecord {
+
+    /**
+     * The kind of best a personal record beats.
+     */
+    public enum Type {
+        /**
+         * Heaviest weight lifted in a set, in kilograms.
+         */
+        MAX_WEIGHT,
+
+        /**
+         * Highest estimated one-repetition maximum, in kilograms.
+         */
+        ESTIMATED_ONE_REP_MAX,
+
+        /**
+         * Most repetitions in a single set.
+         */
+        MAX_REPS
+    }
+
+    private final MemberId memberId;
+    private final String exerciseId;
+    private final Type type;
+    private final double value;
+    private final double previousValue;
+    private final LocalDateTime achievedAt;
+
+    /**
+     * Constructs a new PersonalRecord with the specified values.
+     *
+     * @param memberId the member ID
+     * @param exerciseId the exercise ID
+     * @param type the record type
+     * @param value the new best
+     * @param previousValue the best it replaced
+     * @param achievedAt when the set was performed
+     * @throws IllegalArgumentException if any parameter is null or value does not exceed previousValue
+     */
+    public PersonalRecord(MemberId memberId, String exerciseId, Type type, double value, double previousValue,
+                          LocalDateTime achievedAt) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+        if (exerciseId == null || exerciseId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Exercise ID cannot be null or empty");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("Record type cannot be null");
+        }
+        if (achievedAt == null) {
+            throw new IllegalArgumentException("Achieved time cannot be null");
+        }
+        if (value <= previousValue) {
+            throw new IllegalArgumentException("Record value must exceed the previous value");
+        }
+        this.memberId = memberId;
+        this.exerciseId = exerciseId;
+        this.type = type;
+        this.value = value;
+        this.previousValue = previousValue;
+        this.achievedAt = achievedAt;
+    }
+
+    // Getters
+    public MemberId getMemberId() { return memberId; }
+    public String getExerciseId() { return exerciseId; }
+    public Type getType() { return type; }
+    public double getValue() { return value; }
+    public double getPreviousValue() { return previousValue; }
+    public LocalDateTime getAchievedAt() { return achievedAt; }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        PersonalRecord that = (PersonalRecord) obj;
+        return Double.compare(that.value, value) == 0 &&
+               Double.compare(that.previousValue, previousValue) == 0 &&
+               Objects.equals(memberId, that.memberId) &&
+               Objects.equals(exerciseId, that.exerciseId) &&
+               type == that.type &&
+               Objects.equals(achievedAt, that.achievedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(memberId, exerciseId, type, value, previousValue, achievedAt);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PersonalRecord{memberId=%s, exerciseId='%s', type=%s, value=%.2f, previous=%.2f, at=%s}",
+                memberId, exerciseId, type, value, previousValue, achievedAt);
+    }
+}
@@ -1,5 +1,6 @@
 package hyminh.uth.domain.valueobject;
 
+import hyminh.uth.domain.time.BusinessClock;
 import java.time.LocalDate;
 import java.util.Objects;
 
@@ -77,7 +78,7 @@ public final class ProgressMetrics {
      * @return a new ProgressMetrics instance with updated values
      */
     public ProgressMetrics updateMetrics(double newWeight, double newBodyFat) {
-        return new ProgressMetrics(memberId, LocalDate.now(), newWeight, newBodyFat, workoutsCompleted, notes);
+        return new ProgressMetrics(memberId, BusinessClock.today(), newWeight, newBodyFat, workoutsCompleted, notes);
     }
     
     /**
@@ -86,7 +87,25 @@ public final class ProgressMetrics {
      * @return a new ProgressMetrics instance with incremented workout count
      */
     public ProgressMetrics incrementWorkouts() {
-        return new ProgressMetrics(memberId, date, weight, bodyFat, workoutsCompleted + 1, notes);
+        return addWorkouts(1);
+    }
+    
+    /**
+     * Creates a new ProgressMetrics with several more completed workouts, so a batch of
+     * check-ins costs one instance instead of one per workout.
+     * 
+     * @param count the number of workouts to add
+     * @return a new ProgressMetrics instance with the added workouts
+     * @throws IllegalArgumentException if count is not positive or the total overflows
+     */
+    public ProgressMetrics addWorkouts(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Workout count must be positive");
+        }
+        if (workoutsCompleted > Integer.MAX_VALUE - count) {
+            throw new IllegalArgumentException("Workouts completed overflow");
+        }
+        return new ProgressMetrics(memberId, date, weight, bodyFat, workoutsCompleted + count, notes);
     }
     
     /**
@@ -143,6 +162,33 @@ public final class ProgressMetrics {
         return ((weight - targetWeight) / targetWeight) * 100;
     }
     
+    /**
+     * Calculates how far the member has progressed from the start of a history range
+     * towards a target weight.
+     * 
+     * @param targetWeight the target weight
+     * @param history the progress history summary to take the starting weight from
+     * @return the percentage of the way from the starting weight to the target
+     *         (falls back to {@link #calculateWeightProgress(double)} when the history is empty)
+     * @throws IllegalArgumentException if target weight is invalid or history is null
+     */
+    public double calculateWeightProgress(double targetWeight, ProgressSummary history) {
+        if (history == null) {
+            throw new IllegalArgumentException("History cannot be null");
+        }
+        if (history.isEmpty()) {
+            return calculateWeightProgress(targetWeight);
+        }
+        if (targetWeight <= 0) {
+            throw new IllegalArgumentException("Target weight must be positive");
+        }
+        double startWeight = history.getStartWeight();
+        if (Double.compare(startWeight, targetWeight) == 0) {
+            return 100.0;
+        }
+        return (startWeight - weight) / (startWeight - targetWeight) * 100;
+    }
+    
     // Getters
     public String getMemberId() { return memberId; }
     public LocalDate getDate() { return date; }
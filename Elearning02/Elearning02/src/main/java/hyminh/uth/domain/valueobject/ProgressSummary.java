@@ -0,0 +1,162 @@
+package hyminh.uth.domain.valueobject;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Value object representing aggregated progress statistics for a member over a date range.
+ * Instances are produced by the progress history store and are immutable.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class ProgressSummary {
+
+    private final String memberId;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final int sampleCount;
+    private final double minWeight;
+    private final double maxWeight;
+    private final double averageWeight;
+    private final double minBodyFat;
+    private final double maxBodyFat;
+    private final double averageBodyFat;
+    private final double startWeight;
+    private final double endWeight;
+    private final int workoutsCompleted;
+    private final double weightTrendPerWeek;
+
+    /**
+     * Constructs a new ProgressSummary with the specified values.
+     *
+     * @param memberId the member ID
+     * @param from the first date of the range
+     * @param to the last date of the range
+     * @param sampleCount the number of samples aggregated
+     * @param minWeight the minimum weight in the range
+     * @param maxWeight the maximum weight in the range
+     * @param averageWeight the average weight in the range
+     * @param minBodyFat the minimum body fat percentage in the range
+     * @param maxBodyFat the maximum body fat percentage in the range
+     * @param averageBodyFat the average body fat percentage in the range
+     * @param startWeight the first recorded weight in the range
+     * @param endWeight the last recorded weight in the range
+     * @param workoutsCompleted the number of workouts completed within the range
+     * @param weightTrendPerWeek the least-squares weight slope in kilograms per week
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public ProgressSummary(String memberId, LocalDate from, LocalDate to, int sampleCount,
+                           double minWeight, double maxWeight, double averageWeight,
+                           double minBodyFat, double maxBodyFat, double averageBodyFat,
+                           double startWeight, double endWeight, int workoutsCompleted,
+                           double weightTrendPerWeek) {
+        if (memberId == null || memberId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Member ID cannot be null or empty");
+        }
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date range cannot be null");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be negative");
+        }
+
+        this.memberId = memberId;
+        this.from = from;
+        this.to = to;
+        this.sampleCount = sampleCount;
+        this.minWeight = minWeight;
+        this.maxWeight = maxWeight;
+        this.averageWeight = averageWeight;
+        this.minBodyFat = minBodyFat;
+        this.maxBodyFat = maxBodyFat;
+        this.averageBodyFat = averageBodyFat;
+        this.startWeight = startWeight;
+        this.endWeight = endWeight;
+        this.workoutsCompleted = workoutsCompleted;
+        this.weightTrendPerWeek = weightTrendPerWeek;
+    }
+
+    /**
+     * Creates an empty summary for a range without any samples.
+     *
+     * @param memberId the member ID
+     * @param from the first date of the range
+     * @param to the last date of the range
+     * @return a new empty ProgressSummary instance
+     */
+    public static ProgressSummary empty(String memberId, LocalDate from, LocalDate to) {
+        return new ProgressSummary(memberId, from, to, 0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0, 0.0);
+    }
+
+    /**
+     * Checks if the summary contains no samples.
+     *
+     * @return true if no samples were aggregated, false otherwise
+     */
+    public boolean isEmpty() {
+        return sampleCount == 0;
+    }
+
+    /**
+     * Calculates the weight change over the range.
+     *
+     * @return the weight change (negative for weight loss)
+     */
+    public double getWeightChange() {
+        return endWeight - startWeight;
+    }
+
+    // Getters
+    public String getMemberId() { return memberId; }
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public int getSampleCount() { return sampleCount; }
+    public double getMinWeight() { return minWeight; }
+    public double getMaxWeight() { return maxWeight; }
+    public double getAverageWeight() { return averageWeight; }
+    public double getMinBodyFat() { return minBodyFat; }
+    public double getMaxBodyFat() { return maxBodyFat; }
+    public double getAverageBodyFat() { return averageBodyFat; }
+    public double getStartWeight() { return startWeight; }
+    public double getEndWeight() { return endWeight; }
+    public int getWorkoutsCompleted() { return workoutsCompleted; }
+    public double getWeightTrendPerWeek() { return weightTrendPerWeek; }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        ProgressSummary that = (ProgressSummary) obj;
+        return sampleCount == that.sampleCount &&
+               Double.compare(that.minWeight, minWeight) == 0 &&
+               Double.compare(that.maxWeight, maxWeight) == 0 &&
+               Double.compare(that.averageWeight, averageWeight) == 0 &&
+               Double.compare(that.minBodyFat, minBodyFat) == 0 &&
+               Double.compare(that.maxBodyFat, maxBodyFat) == 0 &&
+               Double.compare(that.averageBodyFat, averageBodyFat) == 0 &&
+               Double.compare(that.startWeight, startWeight) == 0 &&
+               Double.compare(that.endWeight, endWeight) == 0 &&
+               workoutsCompleted == that.workoutsCompleted &&
+               Double.compare(that.weightTrendPerWeek, weightTrendPerWeek) == 0 &&
+               Objects.equals(memberId, that.memberId) &&
+               Objects.equals(from, that.from) &&
+               Objects.equals(to, that.to);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(memberId, from, to, sampleCount, minWeight, maxWeight, averageWeight,
+                          minBodyFat, maxBodyFat, averageBodyFat, startWeight, endWeight,
+                          workoutsCompleted, weightTrendPerWeek);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ProgressSummary{memberId='%s', from=%s, to=%s, samples=%d, avgWeight=%.1fkg, trend=%.2fkg/week, workouts=%d}",
+                           memberId, from, to, sampleCount, averageWeight, weightTrendPerWeek, workoutsCompleted);
+    }
+}
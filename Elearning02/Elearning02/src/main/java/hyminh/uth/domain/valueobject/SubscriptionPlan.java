@@ -1,10 +1,13 @@
 package hyminh.uth.domain.valueobject;
 
+import hyminh.uth.domain.memory.StringPool;
 import java.util.Objects;
 
 /**
  * Value object representing a subscription plan.
  * This class encapsulates all plan-related data and business rules.
+ * Plan id, name and description are pooled, since every subscription loaded from storage
+ * carries its own copy of a plan shared by many members.
  * 
  * @author Gym Management System
  * @version 1.0
@@ -58,11 +61,11 @@ public final class SubscriptionPlan {
             throw new IllegalArgumentException("Plan type cannot be null");
         }
         
-        this.planId = planId;
-        this.planName = planName;
+        this.planId = StringPool.intern(planId);
+        this.planName = StringPool.intern(planName);
         this.durationMonths = durationMonths;
         this.price = price;
-        this.description = description;
+        this.description = StringPool.intern(description);
         this.planType = planType;
         this.includesPersonalTraining = includesPersonalTraining;
         this.includesGroupClasses = includesGroupClasses;
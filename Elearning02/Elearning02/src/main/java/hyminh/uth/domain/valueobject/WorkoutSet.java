@@ -0,0 +1,92 @@
+package hyminh.uth.domain.valueobject;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Value object representing one set a member performed: an exercise, a number of repetitions
+ * and the weight lifted per repetition.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+public final class WorkoutSet {
+
+    private final MemberId memberId;
+    private final String exerciseId;
+    private final LocalDateTime performedAt;
+    private final int reps;
+    private final double weight;
+
+    /**
+     * Constructs a new WorkoutSet with the specified values.
+     *
+     * @param memberId the member ID
+     * @param exerciseId the exercise ID
+     * @param performedAt when the set was performed
+     * @param reps the number of repetitions
+     * @param weight the weight lifted in kilograms, 0 for bodyweight exercises
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public WorkoutSet(MemberId memberId, String exerciseId, LocalDateTime performedAt, int reps, double weight) {
+        if (memberId == null) {
+            throw new IllegalArgumentException("Member ID cannot be null");
+        }
+        if (exerciseId == null || exerciseId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Exercise ID cannot be null or empty");
+        }
+        if (performedAt == null) {
+            throw new IllegalArgumentException("Performed time cannot be null");
+        }
+        if (reps <= 0) {
+            throw new IllegalArgumentException("Reps must be positive");
+        }
+        if (!Double.isFinite(weight) || weight < 0) {
+            throw new IllegalArgumentException("Weight must be a finite, non-negative number");
+        }
+        this.memberId = memberId;
+        this.exerciseId = exerciseId;
+        this.performedAt = performedAt;
+        this.reps = reps;
+        this.weight = weight;
+    }
+
+    /**
+     * Returns the volume of the set, repetitions times weight.
+     *
+     * @return the volume in kilograms
+     */
+    public double getVolume() {
+        return reps * weight;
+    }
+
+    // Getters
+    public MemberId getMemberId() { return memberId; }
+    public String getExerciseId() { return exerciseId; }
+    public LocalDateTime getPerformedAt() { return performedAt; }
+    public int getReps() { return reps; }
+    public double getWeight() { return weight; }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        WorkoutSet that = (WorkoutSet) obj;
+        return reps == that.reps &&
+               Double.compare(that.weight, weight) == 0 &&
+               Objects.equals(memberId, that.memberId) &&
+               Objects.equals(exerciseId, that.exerciseId) &&
+               Objects.equals(performedAt, that.performedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(memberId, exerciseId, performedAt, reps, weight);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("WorkoutSet{memberId=%s, exerciseId='%s', performedAt=%s, reps=%d, weight=%.2f}",
+                memberId, exerciseId, performedAt, reps, weight);
+    }
+}
@@ -0,0 +1,239 @@
+package hyminh.uth.domain.audit;
+
+import hyminh.uth.domain.entity.Admin;
+import hyminh.uth.domain.exception.AuditLogException;
+import hyminh.uth.domain.time.BusinessClock;
+import hyminh.uth.domain.valueobject.AdminAction;
+import hyminh.uth.domain.valueobject.AuditEvent;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AuditLog.
+ * This class contains test cases for recording, indexed queries, segment rolling, reopening
+ * after a crash and concurrent recording.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Audit Log Tests")
+class AuditLogTest {
+
+    private static final LocalDateTime MONDAY = LocalDate.of(2025, 3, 3).atStartOfDay();
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        BusinessClock.reset();
+    }
+
+    @Test
+    @DisplayName("Should record authorization attempts and find them by admin, action and operation")
+    void shouldFindEventsByAdminAndAction() throws Exception {
+        // Given
+        Admin full = new Admin("USER-000001", "admin_one", "password123", "admin1@example.com", "+84000001", "SENIOR");
+        Admin reports = new Admin("USER-000002", "admin_two", "password123", "admin2@example.com", "+84000002",
+                "JUNIOR", false, false, true, false);
+
+        try (AuditLog log = new AuditLog(directory)) {
+            // When
+            for (int day = 0; day < 14; day++) {
+                BusinessClock.install(BusinessClock.fixed(MONDAY.toLocalDate().plusDays(day)));
+                assertTrue(log.authorize(full, AdminAction.MANAGE_USERS, "DELETE_USER", "USER-1" + day));
+                log.authorize(full, AdminAction.MANAGE_REPORTS, "EXPORT_REPORT", null);
+                assertFalse(log.authorize(reports, AdminAction.MANAGE_USERS, "DELETE_USER", "USER-2" + day));
+            }
+            log.flush();
+
+            // Then
+            LocalDateTime from = MONDAY.plusDays(7);
+            LocalDateTime to = MONDAY.plusDays(14).minusNanos(1);
+            List<AuditEvent> deletes = log.find("USER-000001", AdminAction.MANAGE_USERS, "DELETE_USER", from, to);
+            assertEquals(7, deletes.size());
+            assertEquals("USER-17", deletes.get(0).getTarget());
+            assertTrue(deletes.stream().allMatch(AuditEvent::isAllowed));
+            assertEquals(22, deletes.get(0).getSequence());
+
+            List<AuditEvent> denied = log.find("USER-000002", null, from, to);
+            assertEquals(7, denied.size());
+            assertTrue(denied.stream().noneMatch(AuditEvent::isAllowed));
+            assertEquals(14, log.find(null, AdminAction.MANAGE_REPORTS, MONDAY, to).size());
+            assertEquals(42, log.find(null, null, MONDAY, to).size());
+            assertTrue(log.find("USER-000009", null, MONDAY, to).isEmpty());
+            assertThrows(IllegalArgumentException.class, () -> log.find(null, null, to, from));
+            assertEquals(43, log.getNextSequence());
+        }
+    }
+
+    @Test
+    @DisplayName("Should roll segments and keep sequences and queries after reopening")
+    void shouldRollSegmentsAndReopen() throws Exception {
+        // Given
+        BusinessClock.install(BusinessClock.fixed(MONDAY.toLocalDate()));
+        try (AuditLog log = new AuditLog(directory, 64, 4 * 1024)) {
+            recordMany(log, 500);
+            log.flush();
+            assertTrue(log.getSegmentCount() > 3);
+        }
+
+        // When
+        try (AuditLog reopened = new AuditLog(directory, 64, 4 * 1024)) {
+            reopened.record("USER-000003", AdminAction.MANAGE_SYSTEM_SETTINGS, "CHANGE_SETTING", "theme", true);
+            reopened.flush();
+
+            // Then
+            List<AuditEvent> all = reopened.find(null, null, MONDAY, MONDAY.plusDays(1));
+            assertEquals(501, all.size());
+            for (int i = 0; i < all.size(); i++) {
+                assertEquals(i + 1, all.get(i).getSequence());
+            }
+            assertEquals(250, reopened.find("USER-000001", AdminAction.MANAGE_USERS, MONDAY, MONDAY).size());
+            assertEquals("CHANGE_SETTING", all.get(500).getOperation());
+        }
+        assertTrue(indexFiles().size() > 3);
+    }
+
+    @Test
+    @DisplayName("Should rebuild a lost index and cut off a torn record after a crash")
+    void shouldRecoverTornSegment() throws Exception {
+        // Given
+        BusinessClock.install(BusinessClock.fixed(MONDAY.toLocalDate()));
+        try (AuditLog log = new AuditLog(directory)) {
+            recordMany(log, 100);
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(path -> path.toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+        for (Path index : indexFiles()) {
+            Files.delete(index);
+        }
+        try (FileChannel file = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            file.truncate(file.size() - 3);
+        }
+
+        // When
+        try (AuditLog reopened = new AuditLog(directory)) {
+            List<AuditEvent> all = reopened.find(null, null, MONDAY, MONDAY);
+
+            // Then
+            assertEquals(99, all.size());
+            assertEquals(100, reopened.getNextSequence());
+            assertEquals(49, reopened.find("USER-000002", AdminAction.MANAGE_REPORTS, MONDAY, MONDAY).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should report a renamed admin action as a corrupt segment")
+    void shouldRejectUnknownActionName() throws Exception {
+        // Given
+        BusinessClock.install(BusinessClock.fixed(MONDAY.toLocalDate()));
+        try (AuditLog log = new AuditLog(directory)) {
+            recordMany(log, 10);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String bytes = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+                Files.write(file, bytes.replace("MANAGE_REPORTS", "MANAGE_RAPORTS").getBytes(StandardCharsets.ISO_8859_1));
+            }
+        }
+
+        // When & Then
+        AuditLogException e = assertThrows(AuditLogException.class, () -> new AuditLog(directory));
+        assertTrue(e.getMessage().startsWith("Corrupt audit segment"));
+    }
+
+    @Test
+    @DisplayName("Should number events from concurrent admins without gaps or duplicates")
+    void shouldRecordConcurrently() throws Exception {
+        // Given
+        BusinessClock.install(BusinessClock.fixed(MONDAY.toLocalDate()));
+        int threads = 4;
+        int perThread = 2_000;
+
+        try (AuditLog log = new AuditLog(directory, 16, AuditLog.DEFAULT_SEGMENT_SIZE)) {
+            // When
+            List<Thread> producers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String adminId = "USER-00000" + t;
+                producers.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        log.record(adminId, AdminAction.MANAGE_USERS, "UPDATE_USER", "USER-" + i, true);
+                    }
+                }));
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            log.flush();
+
+            // Then
+            List<AuditEvent> all = log.find(null, AdminAction.MANAGE_USERS, MONDAY, MONDAY);
+            assertEquals(threads * perThread, all.size());
+            for (int i = 0; i < all.size(); i++) {
+                assertEquals(i + 1, all.get(i).getSequence());
+            }
+            for (int t = 0; t < threads; t++) {
+                List<AuditEvent> own = log.find("USER-00000" + t, null, MONDAY, MONDAY);
+                assertEquals(perThread, own.size());
+                assertEquals("USER-" + (perThread - 1), own.get(perThread - 1).getTarget());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject invalid events and recording after close")
+    void shouldRejectInvalidEvents() {
+        // Given
+        AuditLog log = new AuditLog(directory);
+
+        // Then
+        assertThrows(IllegalArgumentException.class,
+                () -> log.record(" ", AdminAction.MANAGE_USERS, "DELETE_USER", null, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> log.record("USER-000001", null, "DELETE_USER", null, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> log.record("USER-000001", AdminAction.MANAGE_USERS, "", null, true));
+        assertThrows(IllegalArgumentException.class, () -> new AuditLog(directory, 100, 1024 * 1024));
+
+        // When
+        log.close();
+
+        // Then
+        assertTrue(log.isClosed());
+        assertThrows(IllegalStateException.class,
+                () -> log.record("USER-000001", AdminAction.MANAGE_USERS, "DELETE_USER", null, true));
+    }
+
+    private static void recordMany(AuditLog log, int count) {
+        for (int i = 0; i < count; i++) {
+            if (i % 2 == 0) {
+                log.record("USER-000001", AdminAction.MANAGE_USERS, "DELETE_USER", "USER-" + i, true);
+            } else {
+                log.record("USER-000002", AdminAction.MANAGE_REPORTS, "EXPORT_REPORT", null, true);
+            }
+        }
+    }
+
+    private List<Path> indexFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".idx")).toList();
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package hyminh.uth.domain.codec;
+
+import hyminh.uth.domain.dto.ExerciseDTO;
+import hyminh.uth.domain.dto.MemberDTO;
+import hyminh.uth.domain.entity.Exercise;
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.PersistenceAccess;
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.exception.SnapshotFormatException;
+import hyminh.uth.domain.time.BusinessClock;
+import hyminh.uth.domain.valueobject.DifficultyLevel;
+import hyminh.uth.domain.valueobject.ExerciseType;
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.ProgressMetrics;
+import hyminh.uth.domain.valueobject.SubscriptionPlan;
+import hyminh.uth.domain.valueobject.SubscriptionStatus;
+import hyminh.uth.domain.valueobject.UserRole;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SnapshotCodec.
+ * This class contains test cases for round trips, streaming, schema evolution and corrupt input.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Snapshot Codec Tests")
+class SnapshotCodecTest {
+
+    private SnapshotCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        codec = new SnapshotCodec();
+    }
+
+    @Test
+    @DisplayName("Should round-trip members with subscription, history and progress")
+    void shouldRoundTripMembers() {
+        // Given
+        SubscriptionPlan plan = SubscriptionPlan.createPremium("PLAN-001", "Premium", 12, 5_990_000);
+        Member member = new Member("USER-001", "john_doe", "password123", "john@example.com",
+                "+1234567890", new MemberId("MEM-000042"));
+        member.assignSubscription(new Subscription("SUB-001", plan, BusinessClock.today()));
+        member.addWorkoutSchedule("SCH-1");
+        member.addAttendance("ATT-1");
+        member.updateProgress(72.5, 18.25, 14);
+        member.deactivate();
+        Member plain = new Member("USER-002", "jane_doe", "password456", "jane@example.com",
+                "+1234567891", new MemberId("MEM-000000"));
+
+        // When
+        List<Member> decoded = codec.decode(RecordFormat.MEMBER, codec.encode(RecordFormat.MEMBER, List.of(member, plain)));
+
+        // Then
+        Member copy = decoded.get(0);
+        assertEquals(member, copy);
+        assertEquals("password123", PersistenceAccess.passwordOf(copy));
+        assertFalse(copy.isActive());
+        assertEquals(member.getCreatedAt(), copy.getCreatedAt());
+        assertEquals(member.getLastModifiedAt(), copy.getLastModifiedAt());
+        assertEquals(member.getRegistrationDate(), copy.getRegistrationDate());
+        assertEquals(member.getProgressMetrics(), copy.getProgressMetrics());
+        assertEquals(List.of("SCH-1"), copy.getWorkoutScheduleIds());
+        assertEquals(List.of("ATT-1"), copy.getAttendanceIds());
+        Subscription subscription = copy.getCurrentSubscription();
+        assertEquals(plan, subscription.getPlan());
+        assertEquals(member.getCurrentSubscription().getEndDate(), subscription.getEndDate());
+        assertEquals(5_990_000, subscription.getAmount());
+        assertEquals(SubscriptionStatus.ACTIVE, subscription.getStatus());
+        assertNull(decoded.get(1).getCurrentSubscription());
+        assertEquals("MEM-000000", decoded.get(1).getMemberId().getValue());
+    }
+
+    @Test
+    @DisplayName("Should stream many exercises across blocks with shared dictionaries")
+    void shouldStreamExercisesAcrossBlocks() throws Exception {
+        // Given
+        List<Exercise> exercises = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            Exercise exercise = new Exercise("EX-" + i, "Đẩy ngực " + i, ExerciseType.values()[i % 10],
+                    DifficultyLevel.values()[i % 5], "Bài tập số " + i + " cho người mới",
+                    "Giữ lưng thẳng", Duration.ofSeconds(90 + i % 7), 3, 8 + i % 5, i * 0.1,
+                    "chest, triceps", i % 2 == 0 ? "barbell" : "none");
+            if (i % 3 == 0) {
+                exercise.deactivate();
+            }
+            exercises.add(exercise);
+        }
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.write(RecordFormat.EXERCISE, exercises, out);
+        List<Exercise> decoded = codec.read(RecordFormat.EXERCISE, new ByteArrayInputStream(out.toByteArray()));
+
+        // Then
+        assertTrue(out.size() > 128 * 1024, "snapshot should span several blocks");
+        assertEquals(exercises.size(), decoded.size());
+        for (int i = 0; i < exercises.size(); i++) {
+            Exercise expected = exercises.get(i);
+            Exercise actual = decoded.get(i);
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getDescription(), actual.getDescription());
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getDifficulty(), actual.getDifficulty());
+            assertEquals(expected.getEstimatedDuration(), actual.getEstimatedDuration());
+            assertEquals(expected.getDefaultReps(), actual.getDefaultReps());
+            assertEquals(expected.getDefaultWeight(), actual.getDefaultWeight());
+            assertEquals(expected.getEquipment(), actual.getEquipment());
+            assertEquals(expected.isActive(), actual.isActive());
+        }
+        assertArrayEquals(out.toByteArray(), codec.encode(RecordFormat.EXERCISE, exercises));
+    }
+
+    @Test
+    @DisplayName("Should round-trip DTOs including null fields")
+    void shouldRoundTripDtos() {
+        // Given
+        LocalDateTime created = LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_789);
+        MemberDTO full = new MemberDTO("USER-001", "john_doe", "john@example.com", "+1234567890",
+                UserRole.MEMBER, new MemberId("MEM-123456"), created.toLocalDate(), "SUB-001",
+                SubscriptionStatus.SUSPENDED, created.toLocalDate(), created.toLocalDate().plusMonths(1),
+                80.3, 21.7, 5, 10, 4, true, created, created.plusDays(1));
+        MemberDTO sparse = new MemberDTO("USER-002", "jane_doe", null, null, UserRole.ADMIN, null,
+                null, null, null, null, null, Double.NaN, 0.1 + 0.2, 0, 0, 0, false, null, null);
+        ExerciseDTO exercise = new ExerciseDTO("EX-1", "Plank", ExerciseType.CORE, null, null, null,
+                null, 1, 1, 0.0, null, null, true);
+
+        // When
+        List<MemberDTO> members = codec.decode(RecordFormat.MEMBER_DTO,
+                codec.encode(RecordFormat.MEMBER_DTO, List.of(full, sparse)));
+        ExerciseDTO exerciseCopy = codec.decode(RecordFormat.EXERCISE_DTO,
+                codec.encode(RecordFormat.EXERCISE_DTO, List.of(exercise))).get(0);
+
+        // Then
+        assertEquals(full.toString(), members.get(0).toString());
+        assertEquals(created, members.get(0).getCreatedAt());
+        assertEquals(SubscriptionStatus.SUSPENDED, members.get(0).getSubscriptionStatus());
+        assertEquals(80.3, members.get(0).getWeight());
+        MemberDTO sparseCopy = members.get(1);
+        assertNull(sparseCopy.getEmail());
+        assertNull(sparseCopy.getMemberId());
+        assertNull(sparseCopy.getRegistrationDate());
+        assertTrue(Double.isNaN(sparseCopy.getWeight()));
+        assertEquals(0.1 + 0.2, sparseCopy.getBodyFat());
+        assertEquals(UserRole.ADMIN, sparseCopy.getRole());
+        assertNull(exerciseCopy.getDifficulty());
+        assertNull(exerciseCopy.getEstimatedDuration());
+        assertEquals(ExerciseType.CORE, exerciseCopy.getType());
+    }
+
+    @Test
+    @DisplayName("Should skip fields appended by a newer schema version")
+    void shouldSkipUnknownTrailingFields() {
+        // Given: a newer writer that appends a field to every progress record
+        RecordFormat<ProgressMetrics> newer = new RecordFormat<>(4, "ProgressMetrics", 2) {
+            @Override
+            void write(ProgressMetrics value, RecordOutput out) {
+                RecordFormat.PROGRESS_METRICS.write(value, out);
+                out.out().writeString("added in v2");
+            }
+
+            @Override
+            ProgressMetrics read(RecordInput in, int end) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        List<ProgressMetrics> metrics = Arrays.asList(
+                new ProgressMetrics("MEM-000001", BusinessClock.today(), 70.0, 15.0, 3, "Ổn định"),
+                new ProgressMetrics("MEM-000002", BusinessClock.today(), 65.5, 22.0, 8, "Ổn định"));
+
+        // When
+        List<ProgressMetrics> decoded = codec.decode(RecordFormat.PROGRESS_METRICS, codec.encode(newer, metrics));
+
+        // Then
+        assertEquals(metrics, decoded);
+    }
+
+    @Test
+    @DisplayName("Should reject wrong types, newer format versions and truncated data")
+    void shouldRejectInvalidSnapshots() {
+        // Given
+        byte[] data = codec.encode(RecordFormat.PROGRESS_METRICS,
+                List.of(new ProgressMetrics("MEM-000001", BusinessClock.today())));
+        byte[] newerVersion = data.clone();
+        newerVersion[(data[4] & 0x80) != 0 ? 6 : 5] = (byte) (SnapshotCodec.FORMAT_VERSION + 1);
+
+        // When / Then
+        assertThrows(SnapshotFormatException.class, () -> codec.decode(RecordFormat.EXERCISE, data));
+        assertThrows(SnapshotFormatException.class, () -> codec.decode(RecordFormat.PROGRESS_METRICS, newerVersion));
+        assertThrows(SnapshotFormatException.class,
+                () -> codec.decode(RecordFormat.PROGRESS_METRICS, Arrays.copyOf(data, data.length - 3)));
+        assertThrows(SnapshotFormatException.class,
+                () -> codec.decode(RecordFormat.PROGRESS_METRICS, "not a snapshot".getBytes()));
+    }
+
+    @Test
+    @DisplayName("Should report malformed counts and timestamps as format errors")
+    void shouldRejectMalformedFields() {
+        // Given
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeVarInt(1);
+        writer.writeString("PlanType");
+        writer.writeVarInt(Integer.MAX_VALUE);
+        byte[] hugeEnumTable = writer.toByteArray();
+        writer.reset();
+        writer.writeVarInt(-1);
+        byte[] negativeCount = writer.toByteArray();
+        writer.reset();
+        writer.writeSignedVarLong(0);
+        writer.writeVarInt(1_000_000_000);
+        byte[] badNanos = writer.toByteArray();
+
+        // When / Then
+        assertThrows(SnapshotFormatException.class,
+                () -> new RecordInput(new BinaryReader(hugeEnumTable), 1).readEnumTable());
+        assertThrows(SnapshotFormatException.class, () -> new BinaryReader(negativeCount).readCount());
+        assertThrows(SnapshotFormatException.class, () -> new BinaryReader(badNanos).readDateTime());
+        assertThrows(SnapshotFormatException.class, () -> new BinaryReader(badNanos).readDuration());
+    }
+
+    @Test
+    @DisplayName("Should report a member without ID and an invalid plan as format errors")
+    void shouldRejectMalformedRecords() {
+        // Given
+        BinaryWriter writer = new BinaryWriter();
+        for (String field : List.of("USER-001", "john_doe", "password123", "john@example.com", "+1234567890")) {
+            writer.writeString(field);
+        }
+        MemberFormat.writeMemberId(writer, null);
+        byte[] memberWithoutId = writer.toByteArray();
+        writer.reset();
+        writer.writeVarInt(0);   // Inline plan
+        writer.writeString("PLAN-001");
+        writer.writeString("Premium");
+        writer.writeVarInt(0);   // Duration must be positive
+        writer.writeDouble(5_990_000);
+        writer.writeVarInt(0);
+        writer.writeVarInt(0);
+        writer.writeVarInt(0);
+        byte[] invalidPlan = writer.toByteArray();
+
+        // When / Then
+        assertThrows(SnapshotFormatException.class, () -> RecordFormat.MEMBER.read(
+                new RecordInput(new BinaryReader(memberWithoutId), 1), memberWithoutId.length));
+        assertThrows(SnapshotFormatException.class,
+                () -> new RecordInput(new BinaryReader(invalidPlan), 1).readPlan());
+    }
+}
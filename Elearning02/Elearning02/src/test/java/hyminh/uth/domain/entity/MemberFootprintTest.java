@@ -0,0 +1,118 @@
+package hyminh.uth.domain.entity;
+
+import hyminh.uth.domain.memory.StringPool;
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.ProgressMetrics;
+import hyminh.uth.domain.valueobject.SubscriptionPlan;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.openjdk.jol.info.GraphLayout;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the compact in-memory representation of User and Member.
+ * This class contains a JOL measurement of the retained bytes per member and round-trip checks
+ * of the packed fields.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Member Footprint Tests")
+class MemberFootprintTest {
+
+    private static final int MEMBERS = 10_000;
+
+    // Trước khi thu gọn một hội viên mới giữ khoảng 680 byte
+    private static final long MAX_BYTES_PER_MEMBER = 512;
+
+    @Test
+    @DisplayName("Should retain at most the target number of bytes per member")
+    void shouldStayWithinBytesPerMemberTarget() {
+        // Given
+        Member[] members = new Member[MEMBERS];
+        for (int i = 0; i < MEMBERS; i++) {
+            members[i] = member(i);
+        }
+
+        // When
+        long total = GraphLayout.parseInstance((Object) members).totalSize();
+        long array = GraphLayout.parseInstance((Object) new Member[MEMBERS]).totalSize();
+        long bytesPerMember = (total - array) / MEMBERS;
+
+        // Then
+        assertTrue(bytesPerMember <= MAX_BYTES_PER_MEMBER, "Bytes per member: " + bytesPerMember);
+    }
+
+    @Test
+    @DisplayName("Should share email domains and plan names between entities")
+    void shouldPoolRepeatedStrings() {
+        // Given
+        Member first = member(1);
+        Member second = member(2);
+        SubscriptionPlan plan = SubscriptionPlan.createBasic("PLAN-BASIC", new String("Gói cơ bản"), 1, 500_000);
+        SubscriptionPlan copy = SubscriptionPlan.createBasic("PLAN-BASIC", new String("Gói cơ bản"), 1, 500_000);
+
+        // Then
+        assertEquals("member000001@example.com", first.getEmail());
+        assertSame(StringPool.intern("example.com"), StringPool.intern(new String("example.com")));
+        assertSame(plan.getPlanName(), copy.getPlanName());
+        assertNotSame(first.getEmail(), second.getEmail());
+    }
+
+    @Test
+    @DisplayName("Should restore timestamps, progress and lists exactly")
+    void shouldRoundTripPackedFields() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 2, 29, 23, 59, 59, 123_456_789);
+        LocalDateTime modifiedAt = LocalDateTime.of(1969, 12, 31, 0, 0, 0, 1);
+        ProgressMetrics progress = new ProgressMetrics("MEM-000007", LocalDate.of(2024, 3, 1), 72.5, 18.0, 42,
+                "Tăng sức bền");
+
+        // When
+        Member member = Member.restore("USER-000007", "member_000007", "password123", "a.b@sub.example.com",
+                "+84000007", new MemberId("MEM-000007"), LocalDate.of(2024, 1, 15), createdAt, modifiedAt, true,
+                null, List.of("SCH-1", "SCH-2"), List.of(), progress);
+
+        // Then
+        assertEquals(createdAt, member.getCreatedAt());
+        assertEquals(modifiedAt, member.getLastModifiedAt());
+        assertEquals(LocalDate.of(2024, 1, 15), member.getRegistrationDate());
+        assertEquals("a.b@sub.example.com", member.getEmail());
+        assertEquals(progress, member.getProgressMetrics());
+        assertEquals(42, member.getWorkoutsCompleted());
+        assertEquals(List.of("SCH-1", "SCH-2"), member.getWorkoutScheduleIds());
+        assertTrue(member.getAttendanceIds().isEmpty());
+        assertEquals(member.getProgressMetrics(), member.copy().getProgressMetrics());
+    }
+
+    @Test
+    @DisplayName("Should create lists on first use and update workouts in place")
+    void shouldCreateListsLazily() {
+        // Given
+        Member member = member(3);
+
+        // When
+        member.removeWorkoutSchedule("SCH-1");
+        member.addWorkoutSchedule("SCH-1");
+        member.addAttendance("ATT-1");
+        member.addWorkouts(3);
+        member.incrementWorkouts();
+
+        // Then
+        assertEquals(List.of("SCH-1"), member.getWorkoutScheduleIds());
+        assertEquals(List.of("ATT-1"), member.getAttendanceIds());
+        assertEquals(100.0, member.getAttendanceRate());
+        assertEquals(4, member.getProgressMetrics().getWorkoutsCompleted());
+        assertThrows(IllegalArgumentException.class, () -> member.addWorkouts(0));
+        assertThrows(IllegalArgumentException.class, () -> member.addWorkouts(Integer.MAX_VALUE));
+    }
+
+    private static Member member(int number) {
+        String suffix = String.format("%06d", number);
+        return new Member("USER-" + suffix, "member_" + suffix, "password" + suffix,
+                "member" + suffix + "@example.com", "+849" + suffix, new MemberId("MEM-" + suffix));
+    }
+}
@@ -0,0 +1,203 @@
+package hyminh.uth.domain.index;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.repository.impl.InMemoryMemberRepository;
+import hyminh.uth.domain.repository.impl.InMemorySubscriptionRepository;
+import hyminh.uth.domain.service.MemberService;
+import hyminh.uth.domain.store.ProgressHistoryStore;
+import hyminh.uth.domain.time.BusinessClock;
+import hyminh.uth.domain.valueobject.CohortRetentionMatrix;
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.SubscriptionPlan;
+import hyminh.uth.domain.valueobject.SubscriptionStatus;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CohortRetentionIndex.
+ * This class contains test cases for incremental matrix maintenance, early endings, CSV
+ * export and the lifecycle changes recorded by MemberService.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Cohort Retention Index Tests")
+class CohortRetentionIndexTest {
+
+    private static final SubscriptionPlan PLAN = SubscriptionPlan.createBasic("PLAN-BASIC", "Gói cơ bản", 1, 500_000);
+
+    private CohortRetentionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CohortRetentionIndex();
+        // Cohort 2025-01: A subscribed for three months, B ended early, C only came back in April
+        register(1, LocalDate.of(2025, 1, 5));
+        register(2, LocalDate.of(2025, 1, 12));
+        register(3, LocalDate.of(2025, 1, 28));
+        index.recordSubscription(memberId(1), subscription("SUB-1", "2025-01-10", "2025-03-10"));
+        index.recordSubscription(memberId(2), subscription("SUB-2", "2025-01-20", "2025-02-20"));
+        index.endSubscription(memberId(2), "SUB-2", LocalDate.of(2025, 1, 31));
+        index.recordSubscription(memberId(3), subscription("SUB-3", "2025-04-01", "2025-05-01"));
+        // Cohort 2025-03: D is subscribed, E left the gym
+        register(4, LocalDate.of(2025, 3, 3));
+        register(5, LocalDate.of(2025, 3, 9));
+        index.recordSubscription(memberId(4), subscription("SUB-4", "2025-03-05", "2025-06-05"));
+        index.recordSubscription(memberId(5), subscription("SUB-5", "2025-03-09", "2025-04-09"));
+        index.removeMember(memberId(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        BusinessClock.reset();
+    }
+
+    @Test
+    @DisplayName("Should count members subscribed in each month since registration")
+    void shouldBuildMatrix() {
+        // When
+        CohortRetentionMatrix matrix = index.getMatrix(YearMonth.of(2025, 4));
+
+        // Then
+        assertEquals(List.of(YearMonth.of(2025, 1), YearMonth.of(2025, 3)), matrix.getCohorts());
+        assertEquals(3, matrix.getCohortSize(YearMonth.of(2025, 1)));
+        assertEquals(1, matrix.getCohortSize(YearMonth.of(2025, 3)));
+        assertEquals(0, matrix.getCohortSize(YearMonth.of(2025, 2)));
+        assertEquals(2, matrix.getRetained(YearMonth.of(2025, 1), 0));
+        assertEquals(1, matrix.getRetained(YearMonth.of(2025, 1), 3));
+        assertEquals(100.0, matrix.getRetentionRate(YearMonth.of(2025, 3), 1));
+        assertEquals(4, matrix.getColumnCount());
+        assertThrows(IllegalArgumentException.class, () -> matrix.getRetained(YearMonth.of(2025, 3), 2));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    @DisplayName("Should export the matrix as CSV")
+    void shouldExportCsv() {
+        // When
+        CohortRetentionMatrix matrix = index.getMatrix(YearMonth.of(2025, 4));
+        StringWriter writer = new StringWriter();
+        matrix.writeCsv(writer);
+
+        // Then
+        String expected = """
+                cohort,members,month_0,month_1,month_2,month_3
+                2025-01,3,2,1,1,1
+                2025-03,1,1,1,,
+                """;
+        assertEquals(expected, matrix.toCsv());
+        assertEquals(expected, writer.toString());
+        assertEquals("""
+                cohort,members,month_0,month_1,month_2,month_3
+                2025-01,3,66.7,33.3,33.3,33.3
+                2025-03,1,100.0,100.0,,
+                """, matrix.toRetentionCsv());
+    }
+
+    @Test
+    @DisplayName("Should apply later changes and cut the matrix at the as-of month")
+    void shouldApplyChangesIncrementally() {
+        // When
+        index.endSubscription(memberId(1), "SUB-1", LocalDate.of(2025, 1, 31));
+        index.endSubscription(memberId(3), "SUB-3", LocalDate.of(2025, 3, 31));
+        boolean unknown = index.recordSubscription(memberId(9), subscription("SUB-9", "2025-01-01", "2025-02-01"));
+
+        // Then
+        assertFalse(unknown);
+        assertEquals("""
+                cohort,members,month_0,month_1,month_2,month_3
+                2025-01,3,2,0,0,0
+                2025-03,1,1,1,,
+                """, index.getMatrix(YearMonth.of(2025, 4)).toCsv());
+        assertEquals("""
+                cohort,members,month_0,month_1
+                2025-01,3,2,0
+                """, index.getMatrix(YearMonth.of(2025, 2)).toCsv());
+        assertTrue(index.getMatrix(YearMonth.of(2024, 12)).getCohorts().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should follow registrations and subscription changes made through MemberService")
+    void shouldBeMaintainedByMemberService() {
+        // Given
+        InMemorySubscriptionRepository subscriptions = new InMemorySubscriptionRepository();
+        CohortRetentionIndex serviceIndex = new CohortRetentionIndex();
+        MemberService service = new MemberService(new InMemoryMemberRepository(), subscriptions,
+                new ProgressHistoryStore(), new WorkoutLeaderboard(), serviceIndex);
+        BusinessClock.install(BusinessClock.fixed(LocalDate.of(2025, 1, 15)));
+        service.createMember("USER-000001", "member_000001", "password123", "member000001@example.com",
+                "+84000001", memberId(1));
+        service.createMember("USER-000002", "member_000002", "password123", "member000002@example.com",
+                "+84000002", memberId(2));
+        subscriptions.save(new Subscription("SUB-1", PLAN, LocalDate.of(2025, 1, 15)));
+        subscriptions.save(new Subscription("SUB-2", PLAN, LocalDate.of(2025, 2, 10)));
+
+        // When
+        service.assignSubscription(memberId(1), "SUB-1");          // January and February
+        service.assignSubscription(memberId(2), "SUB-2");
+        service.removeSubscription(memberId(2));                   // Removed before it starts
+        BusinessClock.install(BusinessClock.fixed(LocalDate.of(2025, 3, 20)));
+        subscriptions.save(new Subscription("SUB-3", PLAN, LocalDate.of(2025, 3, 20)));
+        service.assignSubscription(memberId(2), "SUB-3");          // March and April
+        BusinessClock.install(BusinessClock.fixed(LocalDate.of(2025, 4, 2)));
+        service.removeSubscription(memberId(2));                   // Ends early, in April
+
+        // Then
+        assertEquals("""
+                cohort,members,month_0,month_1,month_2,month_3
+                2025-01,2,1,1,1,1
+                """, service.getCohortRetentionMatrix().toCsv());
+    }
+
+    @Test
+    @DisplayName("Should end coverage when MemberService cancels a subscription")
+    void shouldEndCoverageOnCancellation() {
+        // Given
+        InMemorySubscriptionRepository subscriptions = new InMemorySubscriptionRepository();
+        CohortRetentionIndex serviceIndex = new CohortRetentionIndex();
+        MemberService service = new MemberService(new InMemoryMemberRepository(), subscriptions,
+                new ProgressHistoryStore(), new WorkoutLeaderboard(), serviceIndex);
+        BusinessClock.install(BusinessClock.fixed(LocalDate.of(2025, 1, 15)));
+        service.createMember("USER-000001", "member_000001", "password123", "member000001@example.com",
+                "+84000001", memberId(1));
+        subscriptions.save(new Subscription("SUB-1", PLAN, LocalDate.of(2025, 1, 15)));
+        service.assignSubscription(memberId(1), "SUB-1");          // Would cover January and February
+
+        // When
+        BusinessClock.install(BusinessClock.fixed(LocalDate.of(2025, 1, 31)));
+        Subscription cancelled = service.cancelSubscription(memberId(1));
+
+        // Then
+        assertEquals(SubscriptionStatus.CANCELLED, cancelled.getStatus());
+        assertEquals(SubscriptionStatus.CANCELLED, service.findById(memberId(1)).getCurrentSubscription().getStatus());
+        assertEquals(SubscriptionStatus.CANCELLED, subscriptions.findById("SUB-1").orElseThrow().getStatus());
+        assertEquals("""
+                cohort,members,month_0,month_1
+                2025-01,1,1,0
+                """, serviceIndex.getMatrix(YearMonth.of(2025, 2)).toCsv());
+    }
+
+    private void register(int number, LocalDate registrationDate) {
+        BusinessClock.install(BusinessClock.fixed(registrationDate));
+        String suffix = String.format("%06d", number);
+        index.registerMember(new Member("USER-" + suffix, "member_" + suffix, "password123",
+                "member" + suffix + "@example.com", "+84" + suffix, memberId(number)));
+    }
+
+    private static Subscription subscription(String subscriptionId, String startDate, String endDate) {
+        return Subscription.restore(subscriptionId, PLAN, LocalDate.parse(startDate), LocalDate.parse(endDate),
+                PLAN.getPrice(), SubscriptionStatus.ACTIVE, LocalDate.parse(startDate));
+    }
+
+    private static MemberId memberId(int number) {
+        return new MemberId(String.format("MEM-%06d", number));
+    }
+}
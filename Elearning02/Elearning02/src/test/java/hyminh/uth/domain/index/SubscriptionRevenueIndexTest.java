@@ -0,0 +1,109 @@
+package hyminh.uth.domain.index;
+
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.index.SubscriptionRevenueIndex.DateField;
+import hyminh.uth.domain.repository.impl.InMemorySubscriptionRepository;
+import hyminh.uth.domain.valueobject.PlanType;
+import hyminh.uth.domain.valueobject.SubscriptionPlan;
+import java.time.LocalDate;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SubscriptionRevenueIndex as maintained by InMemorySubscriptionRepository.
+ * This class contains test cases for date-range revenue and plan-mix queries.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Subscription Revenue Index Tests")
+class SubscriptionRevenueIndexTest {
+
+    private InMemorySubscriptionRepository repository;
+    private SubscriptionPlan basicPlan;
+    private SubscriptionPlan premiumPlan;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemorySubscriptionRepository();
+        basicPlan = SubscriptionPlan.createBasic("PLAN-001", "Basic Plan", 1, 29.99);
+        premiumPlan = SubscriptionPlan.createPremium("PLAN-002", "Premium Plan", 12, 299.99);
+        today = LocalDate.now();
+    }
+
+    @Test
+    @DisplayName("Should answer start-date range revenue by plan type")
+    void shouldAnswerRangeRevenueByPlanType() {
+        // Given
+        repository.save(new Subscription("SUB-001", basicPlan, today.plusDays(1)));
+        repository.save(new Subscription("SUB-002", premiumPlan, today.plusDays(10)));
+        repository.save(new Subscription("SUB-003", premiumPlan, today.plusDays(40)));
+        SubscriptionRevenueIndex index = repository.getRevenueIndex();
+
+        // When
+        double premiumFirstMonth = index.getRevenue(DateField.START, PlanType.PREMIUM, today, today.plusDays(30));
+        double allFirstMonth = index.getRevenue(DateField.START, today, today.plusDays(30));
+
+        // Then
+        assertEquals(299.99, premiumFirstMonth, 0.001);
+        assertEquals(329.98, allFirstMonth, 0.001);
+        assertEquals(629.97, repository.calculateTotalRevenue(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should move revenue out of active totals on cancellation and delete")
+    void shouldUpdateOnCancellationAndDelete() {
+        // Given
+        repository.save(new Subscription("SUB-001", basicPlan, today));
+        repository.save(new Subscription("SUB-002", premiumPlan, today));
+
+        // When
+        repository.cancel("SUB-001");
+        Map<PlanType, Double> mix = repository.getRevenueIndex()
+                .getPlanMix(DateField.CREATED, today, today, true);
+
+        // Then
+        assertEquals(299.99, repository.calculateActiveRevenue(), 0.001);
+        assertEquals(0.0, mix.get(PlanType.BASIC), 0.001);
+        assertEquals(299.99, mix.get(PlanType.PREMIUM), 0.001);
+
+        // When
+        repository.deleteById("SUB-002");
+
+        // Then
+        assertEquals(0.0, repository.calculateActiveRevenue(), 0.001);
+        assertEquals(29.99, repository.calculateTotalRevenue(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should exclude a subscription cancelled in place from active revenue")
+    void shouldReflectInPlaceCancellationInActiveRevenue() {
+        // Given
+        Subscription subscription = repository.save(new Subscription("SUB-001", basicPlan, today));
+        repository.save(new Subscription("SUB-002", premiumPlan, today));
+
+        // When - cancelled on the object without saving it again
+        subscription.cancel();
+
+        // Then
+        assertEquals(299.99, repository.calculateActiveRevenue(), 0.001);
+        assertEquals(329.98, repository.calculateTotalRevenue(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should grow to cover dates far outside the initial window")
+    void shouldGrowToCoverDistantDates() {
+        // Given
+        repository.save(new Subscription("SUB-001", basicPlan, today.plusYears(8)));
+        repository.save(new Subscription("SUB-002", basicPlan, today.plusDays(2)));
+
+        // When & Then
+        assertEquals(29.99, repository.getRevenueIndex()
+                .getRevenue(DateField.START, today.plusYears(8), today.plusYears(8)), 0.001);
+        assertEquals(59.98, repository.calculateActiveRevenue(), 0.001);
+    }
+}
@@ -0,0 +1,228 @@
+package hyminh.uth.domain.index;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.PersistenceAccess;
+import hyminh.uth.domain.index.WorkoutLeaderboard.Period;
+import hyminh.uth.domain.repository.impl.InMemoryMemberRepository;
+import hyminh.uth.domain.repository.impl.InMemorySubscriptionRepository;
+import hyminh.uth.domain.service.MemberService;
+import hyminh.uth.domain.store.ProgressHistoryStore;
+import hyminh.uth.domain.time.BusinessClock;
+import hyminh.uth.domain.valueobject.LeaderboardEntry;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WorkoutLeaderboard.
+ * This class contains test cases for ranking, top-K reads, branch boards, monthly windows and
+ * maintenance through MemberService.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Workout Leaderboard Tests")
+class WorkoutLeaderboardTest {
+
+    @AfterEach
+    void tearDown() {
+        BusinessClock.reset();
+    }
+
+    @Test
+    @DisplayName("Should rank members by workouts with shared ranks for ties")
+    void shouldRankWithTies() {
+        // Given
+        WorkoutLeaderboard leaderboard = new WorkoutLeaderboard();
+        int[] workouts = {5, 9, 5, 0, 12};
+        for (int i = 0; i < workouts.length; i++) {
+            leaderboard.record(member(i + 1, workouts[i]), workouts[i]);
+        }
+
+        // When
+        List<LeaderboardEntry> top = leaderboard.getTop(Period.MONTH, 10);
+
+        // Then
+        assertEquals(List.of(new LeaderboardEntry(memberId(5), 1, 12), new LeaderboardEntry(memberId(2), 2, 9),
+                new LeaderboardEntry(memberId(1), 3, 5), new LeaderboardEntry(memberId(3), 3, 5)), top);
+        assertEquals(3, leaderboard.findEntry(Period.ALL_TIME, memberId(3)).orElseThrow().getRank());
+        assertTrue(leaderboard.findEntry(Period.MONTH, memberId(4)).isEmpty());
+        assertEquals(2, leaderboard.getTop(Period.MONTH, 2).size());
+        assertEquals(4, leaderboard.getRankedCount(Period.MONTH));
+    }
+
+    @Test
+    @DisplayName("Should match a full sort after random updates")
+    void shouldMatchFullSort() {
+        // Given
+        WorkoutLeaderboard leaderboard = new WorkoutLeaderboard();
+        Random random = new Random(42);
+        int[] totals = new int[500];
+        Member[] members = new Member[totals.length];
+        for (int i = 0; i < totals.length; i++) {
+            members[i] = member(i + 1, 0);
+        }
+
+        // When
+        for (int step = 0; step < 20_000; step++) {
+            int index = random.nextInt(totals.length);
+            int added = random.nextInt(10) == 0 ? -random.nextInt(totals[index] + 1) : 1 + random.nextInt(3);
+            totals[index] += added;
+            PersistenceAccess.setVersion(members[index], members[index].getVersion() + 1);
+            members[index].updateProgress(70.0, 20.0, totals[index]);
+            leaderboard.record(members[index], added);
+        }
+
+        // Then
+        List<Integer> expected = new ArrayList<>();
+        for (int total : totals) {
+            if (total > 0) {
+                expected.add(total);
+            }
+        }
+        expected.sort(Comparator.reverseOrder());
+        List<LeaderboardEntry> top = leaderboard.getTop(Period.ALL_TIME, expected.size() + 10);
+        assertEquals(expected, top.stream().map(LeaderboardEntry::getWorkouts).toList());
+        for (int i = 0; i < totals.length; i++) {
+            if (totals[i] > 0) {
+                int total = totals[i];
+                long above = expected.stream().filter(value -> value > total).count();
+                assertEquals(above + 1, leaderboard.findEntry(Period.ALL_TIME, memberId(i + 1)).orElseThrow().getRank());
+            }
+        }
+        assertEquals(top, leaderboard.getTop(Period.MONTH, expected.size() + 10));
+    }
+
+    @Test
+    @DisplayName("Should keep separate boards per branch")
+    void shouldRankWithinBranches() {
+        // Given
+        WorkoutLeaderboard leaderboard = new WorkoutLeaderboard(
+                member -> member.getMemberId().getValue().endsWith("1") ? "HN" : "HCM");
+        leaderboard.record(member(1, 3), 3);
+        leaderboard.record(member(2, 7), 7);
+
+        // When
+        leaderboard.record(member(11, 4), 4);
+
+        // Then
+        assertEquals(List.of(memberId(11), memberId(1)), ids(leaderboard.getTop(Period.MONTH, "HN", 10)));
+        assertEquals(List.of(memberId(2)), ids(leaderboard.getTop(Period.MONTH, "HCM", 10)));
+        assertEquals(2, leaderboard.findEntry(Period.MONTH, memberId(11)).orElseThrow().getRank());
+        assertEquals(1, leaderboard.findBranchEntry(Period.MONTH, memberId(11)).orElseThrow().getRank());
+        assertTrue(leaderboard.getTop(Period.MONTH, "DN", 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> leaderboard.getTop(Period.MONTH, null, 10));
+        leaderboard.remove(memberId(11));
+        assertEquals(List.of(memberId(1)), ids(leaderboard.getTop(Period.MONTH, "HN", 10)));
+        assertTrue(leaderboard.findEntry(Period.ALL_TIME, memberId(11)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should start a new monthly window when the month changes")
+    void shouldResetMonthlyBoards() {
+        // Given
+        BusinessClock.install(BusinessClock.fixed(LocalDate.of(2025, 1, 31)));
+        WorkoutLeaderboard leaderboard = new WorkoutLeaderboard();
+        leaderboard.record(member(1, 10), 10);
+        leaderboard.record(member(2, 4), 4);
+
+        // When
+        BusinessClock.install(BusinessClock.fixed(LocalDate.of(2025, 2, 1)));
+        Member member = member(2, 6);
+        PersistenceAccess.setVersion(member, 2);
+        leaderboard.record(member, 2);
+
+        // Then
+        assertEquals(YearMonth.of(2025, 2), leaderboard.getMonth());
+        assertEquals(List.of(new LeaderboardEntry(memberId(2), 1, 2)), leaderboard.getTop(Period.MONTH, 10));
+        assertEquals(List.of(memberId(1), memberId(2)), ids(leaderboard.getTop(Period.ALL_TIME, 10)));
+        assertTrue(leaderboard.findEntry(Period.MONTH, memberId(1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should ignore the total of a record older than the last one")
+    void shouldIgnoreStaleTotals() {
+        // Given
+        WorkoutLeaderboard leaderboard = new WorkoutLeaderboard();
+        Member newer = member(1, 8);
+        PersistenceAccess.setVersion(newer, 3);
+        Member older = member(1, 7);
+        PersistenceAccess.setVersion(older, 2);
+
+        // When
+        leaderboard.record(newer, 1);
+        leaderboard.record(older, 1);
+
+        // Then
+        assertEquals(8, leaderboard.findEntry(Period.ALL_TIME, memberId(1)).orElseThrow().getWorkouts());
+        assertEquals(2, leaderboard.findEntry(Period.MONTH, memberId(1)).orElseThrow().getWorkouts());
+    }
+
+    @Test
+    @DisplayName("Should be maintained by MemberService under concurrent updates")
+    void shouldBeMaintainedByMemberService() throws Exception {
+        // Given
+        InMemoryMemberRepository repository = new InMemoryMemberRepository();
+        WorkoutLeaderboard leaderboard = new WorkoutLeaderboard();
+        MemberService service = new MemberService(repository, new InMemorySubscriptionRepository(),
+                new ProgressHistoryStore(), leaderboard);
+        for (int i = 1; i <= 4; i++) {
+            repository.save(member(i, i == 4 ? 50 : 0));
+        }
+        service.loadLeaderboard();
+
+        // When
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 300; i++) {
+                        service.incrementWorkouts(memberId(1 + i % 3));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        service.updateProgress(memberId(3), 70.0, 20.0, 390);
+
+        // Then
+        assertEquals(List.of(new LeaderboardEntry(memberId(1), 1, 400), new LeaderboardEntry(memberId(2), 1, 400),
+                new LeaderboardEntry(memberId(3), 3, 390)), leaderboard.getTop(Period.MONTH, 10));
+        assertEquals(new LeaderboardEntry(memberId(4), 4, 50),
+                leaderboard.findEntry(Period.ALL_TIME, memberId(4)).orElseThrow());
+    }
+
+    private static List<MemberId> ids(List<LeaderboardEntry> entries) {
+        return entries.stream().map(LeaderboardEntry::getMemberId).toList();
+    }
+
+    private static Member member(int number, int workouts) {
+        String suffix = String.format("%06d", number);
+        Member member = new Member("USER-" + suffix, "member_" + suffix, "password123",
+                "member" + suffix + "@example.com", "+84" + suffix, memberId(number));
+        if (workouts > 0) {
+            member.updateProgress(70.0, 20.0, workouts);
+        }
+        return member;
+    }
+
+    private static MemberId memberId(int number) {
+        return new MemberId(String.format("MEM-%06d", number));
+    }
+}
@@ -0,0 +1,124 @@
+package hyminh.uth.domain.query;
+
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.query.QueryPlan.AccessPath;
+import hyminh.uth.domain.repository.impl.InMemorySubscriptionRepository;
+import hyminh.uth.domain.valueobject.PlanType;
+import hyminh.uth.domain.valueobject.SubscriptionPlan;
+import hyminh.uth.domain.valueobject.SubscriptionStatus;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for QueryEngine as used by InMemorySubscriptionRepository.
+ * This class contains test cases for access path selection, index maintenance and top-k ordering.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Query Engine Tests")
+class QueryEngineTest {
+
+    private InMemorySubscriptionRepository repository;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemorySubscriptionRepository();
+        today = LocalDate.now();
+        SubscriptionPlan basicPlan = SubscriptionPlan.createBasic("PLAN-001", "Basic Plan", 1, 29.99);
+        SubscriptionPlan premiumPlan = SubscriptionPlan.createPremium("PLAN-002", "Premium Plan", 12, 299.99);
+        for (int i = 0; i < 50; i++) {
+            SubscriptionPlan plan = i % 10 == 0 ? premiumPlan : basicPlan;
+            repository.save(new Subscription(String.format("SUB-%03d", i), plan, today.plusDays(i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Should use the most selective index and apply the residual filter")
+    void shouldUseSelectiveIndex() {
+        // Given
+        Query<Subscription> query = Query.where(SubscriptionAttributes.STATUS.eq(SubscriptionStatus.ACTIVE)
+                .and(SubscriptionAttributes.PLAN_TYPE.eq(PlanType.PREMIUM))
+                .and(SubscriptionAttributes.START_DATE.matches("after today", date -> date.isAfter(today))));
+
+        // When
+        QueryPlan plan = repository.explain(query);
+        List<Subscription> results = repository.query(query);
+
+        // Then
+        assertEquals(AccessPath.INDEX_LOOKUP, plan.getAccessPath());
+        assertEquals("planType", plan.getIndexName());
+        assertEquals(5, plan.getEstimatedRows());
+        assertTrue(plan.explain().startsWith("INDEX_LOOKUP planType=PREMIUM"));
+        assertEquals(4, results.size());
+    }
+
+    @Test
+    @DisplayName("Should fall back to a scan when the index is not selective")
+    void shouldScanWhenIndexNotSelective() {
+        // Given
+        Query<Subscription> query = Query.where(SubscriptionAttributes.PLAN_TYPE.eq(PlanType.BASIC));
+
+        // When
+        QueryPlan plan = repository.explain(query);
+
+        // Then
+        assertEquals(AccessPath.FULL_SCAN, plan.getAccessPath());
+        assertEquals(45, repository.query(query).size());
+    }
+
+    @Test
+    @DisplayName("Should drop deleted entities from index buckets")
+    void shouldRemoveDeletedEntityFromBuckets() {
+        // Given
+        Query<Subscription> premium = Query.where(SubscriptionAttributes.PLAN_TYPE.eq(PlanType.PREMIUM));
+
+        // When
+        repository.deleteById("SUB-010");
+
+        // Then
+        assertEquals(AccessPath.INDEX_LOOKUP, repository.explain(premium).getAccessPath());
+        assertEquals(List.of("SUB-000", "SUB-020", "SUB-030", "SUB-040"), repository.query(premium).stream()
+                .map(Subscription::getSubscriptionId).sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Should match status changes made in place without a save")
+    void shouldMatchInPlaceStatusChanges() {
+        // Given
+        Query<Subscription> cancelled = Query.where(SubscriptionAttributes.STATUS.eq(SubscriptionStatus.CANCELLED));
+
+        // When
+        repository.findById("SUB-007").orElseThrow().cancel();
+        repository.deleteById("SUB-008");
+
+        // Then
+        assertEquals(AccessPath.FULL_SCAN, repository.explain(cancelled).getAccessPath());
+        assertEquals(List.of("SUB-007"), repository.query(cancelled).stream()
+                .map(Subscription::getSubscriptionId).toList());
+        assertEquals(48, repository.query(
+                Query.where(SubscriptionAttributes.STATUS.eq(SubscriptionStatus.ACTIVE))).size());
+    }
+
+    @Test
+    @DisplayName("Should return the top-k entities in order")
+    void shouldReturnTopK() {
+        // Given
+        Query<Subscription> query = Query.where(Specification.<Subscription>all())
+                .orderBy(SubscriptionAttributes.START_DATE, true)
+                .limit(3);
+
+        // When
+        List<Subscription> results = repository.query(query);
+
+        // Then
+        assertEquals(List.of("SUB-049", "SUB-048", "SUB-047"), results.stream()
+                .map(Subscription::getSubscriptionId).toList());
+        assertTrue(repository.explain(query).explain().endsWith("top-k startDate DESC -> limit 3"));
+    }
+}
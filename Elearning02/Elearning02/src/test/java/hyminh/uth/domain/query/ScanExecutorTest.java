@@ -0,0 +1,93 @@
+package hyminh.uth.domain.query;
+
+import hyminh.uth.domain.query.ScanExecutor.Mode;
+import hyminh.uth.domain.repository.impl.InMemoryExerciseRepository;
+import hyminh.uth.domain.repository.impl.InMemoryMemberRepository;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ScanExecutor.
+ * This class contains test cases for chunked parallel scans and the adaptive mode switch.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Scan Executor Tests")
+class ScanExecutorTest {
+
+    private ScanExecutor executor;
+    private List<Integer> numbers;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ScanExecutor(ScanExecutor.newPool(4));
+        executor.setChunkSize(100);
+        numbers = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Should keep encounter order when merging parallel chunks")
+    void shouldKeepEncounterOrder() {
+        // Given
+        executor.setMode(Mode.PARALLEL);
+
+        // When
+        List<Integer> evens = executor.filter(numbers, n -> n % 2 == 0);
+
+        // Then
+        assertEquals(numbers.stream().filter(n -> n % 2 == 0).collect(Collectors.toList()), evens);
+        assertEquals(3_334, executor.count(numbers, n -> n % 3 == 0));
+    }
+
+    @Test
+    @DisplayName("Should run parallel scans on the dedicated pool")
+    void shouldRunOnDedicatedPool() {
+        // Given
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        // When
+        executor.filterParallel(numbers, n -> threads.add(Thread.currentThread().getName()));
+
+        // Then
+        assertFalse(threads.isEmpty());
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("repository-scan-")));
+    }
+
+    @Test
+    @DisplayName("Should switch to parallel scans at the threshold in adaptive mode")
+    void shouldSwitchAtThreshold() {
+        // Given
+        executor.setParallelThreshold(5_000);
+
+        // When & Then
+        assertFalse(executor.isParallel(4_999));
+        assertTrue(executor.isParallel(5_000));
+
+        executor.setMode(Mode.SEQUENTIAL);
+        assertFalse(executor.isParallel(1_000_000));
+    }
+
+    @Test
+    @DisplayName("Should keep the mode of each repository's default executor separate")
+    void shouldNotShareModeBetweenRepositories() {
+        // Given
+        InMemoryMemberRepository members = new InMemoryMemberRepository();
+        InMemoryExerciseRepository exercises = new InMemoryExerciseRepository();
+
+        // When
+        members.getScanExecutor().setMode(Mode.SEQUENTIAL);
+
+        // Then
+        assertEquals(Mode.SEQUENTIAL, members.getScanExecutor().getMode());
+        assertEquals(Mode.ADAPTIVE, exercises.getScanExecutor().getMode());
+        assertEquals(Mode.ADAPTIVE, new ScanExecutor().getMode());
+    }
+}
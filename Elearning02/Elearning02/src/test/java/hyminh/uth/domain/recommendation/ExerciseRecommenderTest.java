@@ -0,0 +1,110 @@
+package hyminh.uth.domain.recommendation;
+
+import hyminh.uth.domain.entity.Exercise;
+import hyminh.uth.domain.valueobject.DifficultyLevel;
+import hyminh.uth.domain.valueobject.ExerciseType;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExerciseRecommender.
+ * This class contains test cases for candidate filtering, top-k ranking and the nightly batch.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Exercise Recommender Tests")
+class ExerciseRecommenderTest {
+
+    private ExerciseRecommender recommender;
+
+    @BeforeEach
+    void setUp() {
+        recommender = new ExerciseRecommender();
+        List<Exercise> exercises = new ArrayList<>();
+        exercises.add(Exercise.createSimple("EX-001", "Push Up", ExerciseType.STRENGTH,
+                DifficultyLevel.BEGINNER, "Bodyweight push", "Chest, Triceps", "None"));
+        exercises.add(Exercise.createSimple("EX-002", "Bench Press", ExerciseType.STRENGTH,
+                DifficultyLevel.INTERMEDIATE, "Barbell press", "Chest, Triceps", "Barbell, Bench"));
+        exercises.add(Exercise.createSimple("EX-003", "Squat", ExerciseType.COMPOUND,
+                DifficultyLevel.INTERMEDIATE, "Barbell squat", "Legs, Glutes", "Barbell"));
+        exercises.add(Exercise.createSimple("EX-004", "Running", ExerciseType.CARDIO,
+                DifficultyLevel.NOVICE, "Treadmill run", "Legs", "Treadmill"));
+        exercises.add(Exercise.createSimple("EX-005", "Muscle Up", ExerciseType.PLYOMETRIC,
+                DifficultyLevel.EXPERT, "Explosive pull", "Back, Chest", "Pull-up bar"));
+        Exercise inactive = Exercise.createSimple("EX-006", "Plank", ExerciseType.CORE,
+                DifficultyLevel.BEGINNER, "Hold", "Core", "None");
+        inactive.deactivate();
+        exercises.add(inactive);
+        recommender.rebuild(exercises);
+    }
+
+    @Test
+    @DisplayName("Should precompute candidates per level from active exercises")
+    void shouldPrecomputeSegments() {
+        // When & Then
+        assertEquals(1, recommender.getCandidateCount(DifficultyLevel.BEGINNER));
+        assertEquals(4, recommender.getCandidateCount(DifficultyLevel.INTERMEDIATE));
+        assertEquals(5, recommender.getCandidateCount(DifficultyLevel.EXPERT));
+    }
+
+    @Test
+    @DisplayName("Should rank by muscles and skip exercises needing missing equipment")
+    void shouldRankByMusclesAndEquipment() {
+        // Given
+        MemberProfile profile = new MemberProfile(new MemberId("MEM-000001"), DifficultyLevel.INTERMEDIATE,
+                Set.of("Barbell", "Bench"), Set.of("chest"), Set.of(), Set.of());
+
+        // When
+        List<Recommendation> top = recommender.recommend(profile, 2);
+
+        // Then - Running needs a treadmill; Bench Press fits the level and targets chest
+        assertEquals(List.of("EX-002", "EX-001"), ids(top));
+        assertEquals(1.5, top.get(0).getScore(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should push recently done exercises down the ranking")
+    void shouldPenalizeRecentExercises() {
+        // Given
+        MemberProfile profile = new MemberProfile(new MemberId("MEM-000001"), DifficultyLevel.INTERMEDIATE,
+                Set.of("barbell", "bench", "treadmill"), Set.of(), Set.of(ExerciseType.STRENGTH), Set.of("EX-002"));
+
+        // When
+        List<Recommendation> top = recommender.recommend(profile, 4);
+
+        // Then
+        assertEquals(List.of("EX-001", "EX-003", "EX-004", "EX-002"), ids(top));
+    }
+
+    @Test
+    @DisplayName("Should publish nightly batch results per member")
+    void shouldRunNightlyBatch() {
+        // Given
+        List<MemberProfile> profiles = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            profiles.add(new MemberProfile(new MemberId(String.format("MEM-%06d", i)),
+                    DifficultyLevel.values()[i % 5], Set.of("barbell"), Set.of("legs"), Set.of(), Set.of()));
+        }
+
+        // When
+        Map<MemberId, List<Recommendation>> results = recommender.runNightlyBatch(profiles, 3);
+
+        // Then
+        assertEquals(100, results.size());
+        assertEquals(List.of("EX-001"), ids(recommender.getRecommendations(new MemberId("MEM-000005"))));
+        assertEquals(List.of("EX-003", "EX-001"), ids(recommender.getRecommendations(new MemberId("MEM-000002"))));
+    }
+
+    private static List<String> ids(List<Recommendation> recommendations) {
+        return recommendations.stream().map(Recommendation::getExerciseId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,145 @@
+package hyminh.uth.domain.recommendation;
+
+import hyminh.uth.domain.entity.Exercise;
+import hyminh.uth.domain.repository.impl.InMemoryExerciseRepository;
+import hyminh.uth.domain.valueobject.DifficultyLevel;
+import hyminh.uth.domain.valueobject.ExerciseType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExerciseSimilarityIndex.
+ * This class contains test cases for nearest-neighbour substitution, filters and agreement
+ * between the clustered search and the exact scan.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Exercise Similarity Index Tests")
+class ExerciseSimilarityIndexTest {
+
+    private static final Exercise BENCH_PRESS = exercise("EX-001", ExerciseType.STRENGTH, DifficultyLevel.INTERMEDIATE,
+            "Chest, Triceps", "Barbell, Bench", 4, 8, 60.0);
+
+    private List<Exercise> catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new ArrayList<>(List.of(
+                BENCH_PRESS,
+                exercise("EX-002", ExerciseType.STRENGTH, DifficultyLevel.INTERMEDIATE,
+                        "Chest, Triceps", "Dumbbell, Bench", 4, 10, 25.0),
+                exercise("EX-003", ExerciseType.STRENGTH, DifficultyLevel.BEGINNER,
+                        "Chest, Triceps", "None", 3, 15, 0.0),
+                exercise("EX-004", ExerciseType.CARDIO, DifficultyLevel.BEGINNER,
+                        "Full Body", "Treadmill", 1, 1, 0.0),
+                exercise("EX-005", ExerciseType.FLEXIBILITY, DifficultyLevel.BEGINNER,
+                        "Hamstrings, Lower Back", "None", 2, 5, 0.0)));
+    }
+
+    @Test
+    @DisplayName("Should rank exercises with the same type, muscles and equipment first")
+    void shouldFindNearestAlternatives() {
+        // Given
+        ExerciseSimilarityIndex index = new ExerciseSimilarityIndex();
+        index.rebuild(catalog);
+
+        // When
+        List<Recommendation> similar = index.findSimilar(BENCH_PRESS, 3);
+
+        // Then
+        assertEquals(List.of("EX-002", "EX-003"),
+                similar.stream().limit(2).map(Recommendation::getExerciseId).toList());
+        assertEquals(3, similar.size());
+        assertTrue(similar.get(0).getScore() > similar.get(1).getScore());
+        assertTrue(similar.get(0).getScore() <= 1.0);
+        assertEquals(4, index.findSimilar(BENCH_PRESS, 10).size());
+        assertTrue(index.findSimilar(BENCH_PRESS, 0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should skip filtered exercises such as those needing broken equipment")
+    void shouldApplyFilter() {
+        // Given
+        ExerciseSimilarityIndex index = new ExerciseSimilarityIndex(1);
+        index.rebuild(catalog);
+
+        // When
+        List<Recommendation> withoutBench = index.findSimilar(BENCH_PRESS, 2,
+                exercise -> !exercise.requiresEquipment("Bench"));
+
+        // Then
+        assertEquals(List.of("EX-003", "EX-005"),
+                withoutBench.stream().map(Recommendation::getExerciseId).toList());
+        assertThrows(IllegalArgumentException.class, () -> index.findSimilar(BENCH_PRESS, 2, null));
+        assertThrows(IllegalArgumentException.class, () -> index.findSimilar(BENCH_PRESS, -1));
+    }
+
+    @Test
+    @DisplayName("Should agree with the exact scan on a larger catalog")
+    void shouldMatchExactScan() {
+        // Given
+        Random random = new Random(7);
+        String[] muscles = {"Chest", "Back", "Shoulders", "Core", "Glutes", "Quadriceps", "Hamstrings", "Calves"};
+        String[] equipment = {"None", "Barbell", "Dumbbell", "Kettlebell", "Cable Machine", "Resistance Band"};
+        for (int i = 0; i < 2_000; i++) {
+            catalog.add(exercise(String.format("EX-%05d", 100 + i),
+                    ExerciseType.values()[random.nextInt(ExerciseType.values().length)],
+                    DifficultyLevel.values()[random.nextInt(DifficultyLevel.values().length)],
+                    muscles[random.nextInt(muscles.length)] + ", " + muscles[random.nextInt(muscles.length)],
+                    equipment[random.nextInt(equipment.length)], 2 + random.nextInt(4), 5 + random.nextInt(15),
+                    random.nextInt(40) * 2.5));
+        }
+        ExerciseSimilarityIndex index = new ExerciseSimilarityIndex();
+        index.rebuild(catalog);
+        ExerciseSimilarityIndex everyCluster = new ExerciseSimilarityIndex(index.getClusterCount());
+        everyCluster.rebuild(catalog);
+
+        // When
+        int found = 0;
+        for (int q = 0; q < 50; q++) {
+            Exercise query = catalog.get(random.nextInt(catalog.size()));
+            List<Recommendation> exact = index.findSimilarExact(query, 10, exercise -> true);
+            double threshold = exact.get(9).getScore() - 1e-9;
+            found += (int) index.findSimilar(query, 10).stream().filter(hit -> hit.getScore() >= threshold).count();
+            assertEquals(exact.stream().map(Recommendation::getScore).toList(),
+                    everyCluster.findSimilar(query, 10).stream().map(Recommendation::getScore).toList());
+        }
+
+        // Then
+        assertEquals(2_005, index.size());
+        assertEquals(45, index.getClusterCount());
+        assertTrue(found >= 0.9 * 500, "recall@10 was " + found / 500.0);
+    }
+
+    @Test
+    @DisplayName("Should index only the active exercises of a repository")
+    void shouldRebuildFromRepository() {
+        // Given
+        InMemoryExerciseRepository repository = new InMemoryExerciseRepository();
+        catalog.forEach(repository::save);
+        repository.findById("EX-002").orElseThrow().deactivate();
+        ExerciseSimilarityIndex index = new ExerciseSimilarityIndex();
+
+        // When
+        List<Recommendation> beforeRebuild = index.findSimilar(BENCH_PRESS, 3);
+        index.rebuild(repository);
+
+        // Then
+        assertTrue(beforeRebuild.isEmpty());
+        assertEquals(4, index.size());
+        assertEquals("EX-003", index.findSimilar(BENCH_PRESS, 1).get(0).getExerciseId());
+    }
+
+    private static Exercise exercise(String id, ExerciseType type, DifficultyLevel difficulty, String muscles,
+                                     String equipment, int sets, int reps, double weight) {
+        return new Exercise(id, "Exercise " + id, type, difficulty, "Description of " + id,
+                "Follow proper form and technique", Duration.ofMinutes(10), sets, reps, weight, muscles, equipment);
+    }
+}
@@ -0,0 +1,182 @@
+package hyminh.uth.domain.replication;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.repository.MemberRepository;
+import hyminh.uth.domain.repository.SubscriptionRepository;
+import hyminh.uth.domain.repository.impl.InMemoryMemberRepository;
+import hyminh.uth.domain.repository.impl.InMemorySubscriptionRepository;
+import hyminh.uth.domain.time.BusinessClock;
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.SubscriptionPlan;
+import hyminh.uth.domain.valueobject.SubscriptionStatus;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReplicationLeader and ReplicationFollower over a loopback socket.
+ * This class contains test cases for change streaming, snapshot catch-up and lag reporting.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Replication Tests")
+class ReplicationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final SubscriptionPlan PLAN = SubscriptionPlan.createBasic("PLAN-BASIC", "Basic", 1, 500_000);
+
+    private ReplicationLeader leader;
+    private MemberRepository members;
+    private SubscriptionRepository subscriptions;
+    private InMemoryMemberRepository replicaMembers;
+    private InMemorySubscriptionRepository replicaSubscriptions;
+    private ReplicationFollower follower;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        leader = new ReplicationLeader(new InMemoryMemberRepository(), new InMemorySubscriptionRepository(),
+                100, Duration.ofMillis(2), 4);
+        leader.start(0);
+        members = leader.getMemberRepository();
+        subscriptions = leader.getSubscriptionRepository();
+        replicaMembers = new InMemoryMemberRepository();
+        replicaSubscriptions = new InMemorySubscriptionRepository();
+        follower = new ReplicationFollower(replicaMembers, replicaSubscriptions);
+    }
+
+    @AfterEach
+    void tearDown() {
+        follower.close();
+        leader.close();
+    }
+
+    @Test
+    @DisplayName("Should apply saves, updates and deletes on the follower")
+    void shouldReplicateChanges() throws Exception {
+        // Given
+        follower.connect("localhost", leader.getPort());
+        for (int i = 1; i <= 50; i++) {
+            Member member = member(i);
+            Subscription subscription = new Subscription("SUB-" + i, PLAN, BusinessClock.today());
+            member.assignSubscription(subscription);
+            subscriptions.save(subscription);
+            members.save(member);
+        }
+
+        // When
+        Member updated = members.findById(memberId(7)).orElseThrow();
+        updated.incrementWorkouts();
+        members.save(updated);
+        members.deleteById(memberId(9));
+        subscriptions.cancel("SUB-3");
+        long sequence = leader.flush();
+
+        // Then
+        assertTrue(follower.awaitSequence(sequence, TIMEOUT));
+        assertEquals(49, replicaMembers.count());
+        assertEquals(50, replicaSubscriptions.count());
+        assertFalse(replicaMembers.existsById(memberId(9)));
+        assertEquals(1, replicaMembers.findById(memberId(7)).orElseThrow().getProgressMetrics().getWorkoutsCompleted());
+        assertEquals(SubscriptionStatus.CANCELLED, replicaSubscriptions.findById("SUB-3").orElseThrow().getStatus());
+        assertEquals("SUB-12", replicaMembers.findById(memberId(12)).orElseThrow()
+                .getCurrentSubscription().getSubscriptionId());
+        assertEquals(1, follower.getSnapshotCount());
+        assertNull(follower.getFailure());
+    }
+
+    @Test
+    @DisplayName("Should replicate the saved state, not later unsaved changes to the same object")
+    void shouldReplicateSavedState() throws Exception {
+        // Given
+        follower.connect("localhost", leader.getPort());
+        members.save(member(1));
+        assertTrue(follower.awaitSequence(leader.flush(), TIMEOUT));   // Past the initial snapshot
+        Subscription subscription = new Subscription("SUB-1", PLAN, BusinessClock.today());
+        subscriptions.save(subscription);
+
+        // When
+        subscription.cancel();   // Never saved
+        long sequence = leader.flush();
+
+        // Then
+        assertTrue(follower.awaitSequence(sequence, TIMEOUT));
+        assertEquals(SubscriptionStatus.ACTIVE, replicaSubscriptions.findById("SUB-1").orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should catch up from a snapshot when the change log no longer has the missing batches")
+    void shouldCatchUpFromSnapshot() throws Exception {
+        // Given
+        follower.connect("localhost", leader.getPort());
+        members.save(member(1));
+        assertTrue(follower.awaitSequence(leader.flush(), TIMEOUT));
+        follower.close();
+        for (int i = 2; i <= 20; i++) {
+            members.save(member(i));
+            leader.flush();   // One batch each: more than the log keeps
+        }
+        members.deleteById(memberId(1));
+        long sequence = leader.flush();
+
+        // When
+        waitUntilDisconnected();
+        follower.connect("localhost", leader.getPort());
+
+        // Then
+        assertTrue(follower.awaitSequence(sequence, TIMEOUT));
+        assertEquals(2, follower.getSnapshotCount());
+        assertEquals(19, replicaMembers.count());
+        assertFalse(replicaMembers.existsById(memberId(1)));
+    }
+
+    @Test
+    @DisplayName("Should resume from the change log and report no lag once caught up")
+    void shouldResumeFromLogAndReportLag() throws Exception {
+        // Given
+        follower.connect("localhost", leader.getPort());
+        members.save(member(1));
+        assertTrue(follower.awaitSequence(leader.flush(), TIMEOUT));
+        follower.close();
+        members.save(member(2));
+        long sequence = leader.flush();
+
+        // When
+        waitUntilDisconnected();
+        follower.connect("localhost", leader.getPort());
+
+        // Then
+        assertTrue(follower.awaitSequence(sequence, TIMEOUT));
+        assertEquals(1, follower.getSnapshotCount());
+        assertEquals(2, replicaMembers.count());
+        assertEquals(0, follower.getSequenceLag());
+        assertTrue(follower.getLagMillis() >= 0 && follower.getMaxLagMillis() < TIMEOUT.toMillis());
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (leader.getReplicationLag() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, leader.getReplicationLag());
+        assertEquals(1, leader.getFollowerCount());
+    }
+
+    private void waitUntilDisconnected() throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (leader.getFollowerCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static MemberId memberId(int number) {
+        return new MemberId(String.format("MEM-%06d", number));
+    }
+
+    private static Member member(int number) {
+        String suffix = String.format("%06d", number);
+        return new Member("USER-" + suffix, "member_" + suffix, "password", "member" + suffix + "@example.com",
+                "+849" + suffix, memberId(number));
+    }
+}
@@ -0,0 +1,149 @@
+package hyminh.uth.domain.repository.cache;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.repository.impl.InMemoryMemberRepository;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WTinyLfuCache and the caching repository decorators.
+ * This class contains test cases for admission, expiration, negative caching and invalidation.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Caching Repository Tests")
+class CachingRepositoryTest {
+
+    @Test
+    @DisplayName("Should keep frequently used entries when a scan of one-off keys passes through")
+    void shouldResistScans() {
+        // Given
+        WTinyLfuCache<Integer, String> cache = new WTinyLfuCache<>(100, Duration.ofMinutes(1), Duration.ZERO);
+        for (int round = 0; round < 5; round++) {
+            for (int key = 0; key < 50; key++) {
+                cache.get(key, String::valueOf);
+            }
+        }
+
+        // When
+        for (int key = 1_000; key < 11_000; key++) {
+            cache.get(key, String::valueOf);
+        }
+
+        // Then
+        int retained = 0;
+        for (int key = 0; key < 50; key++) {
+            if (cache.getIfPresent(key) != null) {
+                retained++;
+            }
+        }
+        assertTrue(retained >= 45, "Hot entries retained: " + retained);
+        assertTrue(cache.size() <= 100);
+        assertTrue(cache.stats().getEvictionCount() >= 9_900);
+    }
+
+    @Test
+    @DisplayName("Should expire entries and cached misses after their time to live")
+    void shouldExpireEntries() {
+        // Given
+        AtomicLong now = new AtomicLong();
+        WTinyLfuCache<String, String> cache = new WTinyLfuCache<>(10, Duration.ofSeconds(60),
+                Duration.ofSeconds(5), now::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        cache.get("present", key -> { loads.incrementAndGet(); return "value"; });
+        cache.get("absent", key -> { loads.incrementAndGet(); return null; });
+        cache.get("present", key -> { loads.incrementAndGet(); return "value"; });
+        assertNull(cache.get("absent", key -> { loads.incrementAndGet(); return null; }));
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        cache.get("present", key -> { loads.incrementAndGet(); return "value"; });
+        cache.get("absent", key -> { loads.incrementAndGet(); return null; });
+        now.addAndGet(Duration.ofSeconds(60).toNanos());
+        cache.get("present", key -> { loads.incrementAndGet(); return "value"; });
+
+        // Then
+        assertEquals(4, loads.get());
+        CacheStats stats = cache.stats();
+        assertEquals(3, stats.getHitCount());
+        assertEquals(1, stats.getNegativeHitCount());
+        assertEquals(4, stats.getMissCount());
+        assertEquals(2, stats.getExpirationCount());
+    }
+
+    @Test
+    @DisplayName("Should not cache a value loaded before a concurrent invalidation")
+    void shouldDropLoadsRacingWithInvalidation() {
+        // Given
+        WTinyLfuCache<String, String> cache = new WTinyLfuCache<>(10, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        // When
+        String loaded = cache.get("key", key -> {
+            cache.invalidate(key);   // A write lands while the old value is being read
+            return "stale";
+        });
+
+        // Then
+        assertEquals("stale", loaded);
+        assertNull(cache.getIfPresent("key"));
+        assertEquals("fresh", cache.get("key", key -> "fresh"));
+        assertEquals("fresh", cache.getIfPresent("key"));
+    }
+
+    @Test
+    @DisplayName("Should serve member lookups from the cache and invalidate them on writes")
+    void shouldInvalidateMembersOnWrite() {
+        // Given
+        CountingMemberRepository backend = new CountingMemberRepository();
+        CachingMemberRepository repository = new CachingMemberRepository(backend);
+        MemberId memberId = new MemberId("MEM-000001");
+        assertFalse(repository.existsById(memberId));
+        assertFalse(repository.existsById(memberId));
+        assertEquals(1, backend.lookups.get());
+
+        // When
+        Member member = new Member("USER-000001", "member_000001", "password", "member1@example.com",
+                "+84900000001", memberId);
+        repository.save(member);
+        Member found = repository.findById(memberId).orElseThrow();
+        repository.findById(memberId);
+        repository.findByUserId("USER-000001");
+        repository.findByUserId("USER-000001");
+        repository.deleteById(memberId);
+
+        // Then
+        assertSame(member, found);
+        assertEquals(3, backend.lookups.get());
+        assertTrue(repository.findById(memberId).isEmpty());
+        assertTrue(repository.findByUserId("USER-000001").isEmpty());
+        CacheStats stats = repository.getStats();
+        assertEquals(1, stats.getNegativeHitCount());
+        assertTrue(stats.hitRate() > 0.3);
+    }
+
+    /**
+     * In-memory repository counting lookups by ID and user ID, standing in for a slow backend.
+     */
+    private static final class CountingMemberRepository extends InMemoryMemberRepository {
+        final AtomicInteger lookups = new AtomicInteger();
+
+        @Override
+        public Optional<Member> findById(MemberId memberId) {
+            lookups.incrementAndGet();
+            return super.findById(memberId);
+        }
+
+        @Override
+        public Optional<Member> findByUserId(String userId) {
+            lookups.incrementAndGet();
+            return super.findByUserId(userId);
+        }
+    }
+}
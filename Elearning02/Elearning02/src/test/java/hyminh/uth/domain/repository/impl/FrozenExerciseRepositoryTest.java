@@ -0,0 +1,170 @@
+package hyminh.uth.domain.repository.impl;
+
+import hyminh.uth.domain.entity.Exercise;
+import hyminh.uth.domain.query.ExerciseAttributes;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.search.ExerciseSearchIndex;
+import hyminh.uth.domain.valueobject.DifficultyLevel;
+import hyminh.uth.domain.valueobject.ExerciseType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FrozenExerciseRepository and its minimal perfect hash.
+ * This class contains test cases for ID lookups, precomputed finders, version publishing and
+ * cached substring finders.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Frozen Exercise Repository Tests")
+class FrozenExerciseRepositoryTest {
+
+    private FrozenExerciseRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FrozenExerciseRepository();
+        repository.saveAll(List.of(
+                exercise("EX-003", "Push Up", ExerciseType.STRENGTH, DifficultyLevel.BEGINNER, "Chest", "None"),
+                exercise("EX-001", "Bench Press", ExerciseType.STRENGTH, DifficultyLevel.INTERMEDIATE,
+                        "Chest, Triceps", "Barbell, Bench"),
+                exercise("EX-002", "Treadmill Run", ExerciseType.CARDIO, DifficultyLevel.NOVICE,
+                        "Full Body", "Treadmill")));
+    }
+
+    @Test
+    @DisplayName("Should map every key to its own slot")
+    void shouldBuildMinimalPerfectHash() {
+        // Given
+        String[] keys = new String[50_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "EX-" + i;
+        }
+
+        // When
+        MinimalPerfectHash hash = MinimalPerfectHash.build(keys);
+
+        // Then
+        Set<Integer> slots = new HashSet<>();
+        for (String key : keys) {
+            int slot = hash.slotOf(key);
+            assertTrue(slot >= 0 && slot < keys.length);
+            assertTrue(slots.add(slot), "slot " + slot + " used twice");
+        }
+        assertEquals(-1, MinimalPerfectHash.build(new String[0]).slotOf("EX-1"));
+        assertThrows(IllegalArgumentException.class, () -> MinimalPerfectHash.build(new String[] {"A", "A"}));
+        assertThrows(IllegalArgumentException.class, () -> MinimalPerfectHash.build(new String[] {"A", null}));
+    }
+
+    @Test
+    @DisplayName("Should find exercises by ID and answer the indexed finders sorted by ID")
+    void shouldAnswerFinders() {
+        // When
+        Optional<Exercise> benchPress = repository.findById("EX-001");
+
+        // Then
+        assertEquals("Bench Press", benchPress.orElseThrow().getName());
+        assertSame(benchPress, repository.findById("EX-001"));
+        assertTrue(repository.findById("EX-999").isEmpty());
+        assertEquals(List.of("EX-001", "EX-003"), ids(repository.findByType(ExerciseType.STRENGTH)));
+        assertTrue(repository.findByType(ExerciseType.FLEXIBILITY).isEmpty());
+        assertEquals(List.of("EX-002"), ids(repository.findByDifficulty(DifficultyLevel.NOVICE)));
+        assertEquals(List.of("EX-002", "EX-003"), ids(repository.findSuitableFor(DifficultyLevel.NOVICE)));
+        assertEquals(List.of("EX-001", "EX-002", "EX-003"), ids(repository.findAll()));
+        assertEquals(2, repository.countByTargetMuscle("chest"));
+        assertEquals(List.of("EX-001"), ids(repository.findByEquipment("bench")));
+        assertEquals(List.of("EX-002"), ids(repository.searchText("treadmill", 5)));
+        assertEquals(List.of("EX-001", "EX-003"),
+                ids(repository.query(Query.where(ExerciseAttributes.TYPE.eq(ExerciseType.STRENGTH)))));
+        assertThrows(UnsupportedOperationException.class, () -> repository.findAll().clear());
+    }
+
+    @Test
+    @DisplayName("Should publish every write as a new version without changing earlier results")
+    void shouldPublishNewVersions() {
+        // Given
+        long version = repository.getVersion();
+        List<Exercise> strengthBefore = repository.findByType(ExerciseType.STRENGTH);
+        Exercise pushUp = repository.findById("EX-003").orElseThrow();
+
+        // When
+        repository.save(exercise("EX-004", "Deadlift", ExerciseType.STRENGTH, DifficultyLevel.ADVANCED,
+                "Back, Glutes", "Barbell"));
+        boolean deleted = repository.deleteById("EX-001");
+        pushUp.deactivate();
+        long activeBeforeSave = repository.countActiveExercises();
+        repository.save(pushUp);
+
+        // Then
+        assertTrue(deleted);
+        assertFalse(repository.deleteById("EX-001"));
+        assertEquals(version + 3, repository.getVersion());
+        assertEquals(List.of("EX-001", "EX-003"), ids(strengthBefore));
+        assertEquals(List.of("EX-003", "EX-004"), ids(repository.findByType(ExerciseType.STRENGTH)));
+        assertEquals(3, activeBeforeSave);
+        assertEquals(List.of("EX-003"), ids(repository.findInactiveExercises()));
+        assertFalse(repository.existsById("EX-001"));
+        assertEquals(3, repository.count());
+    }
+
+    @Test
+    @DisplayName("Should publish the query and search indexes together with the catalog")
+    void shouldPublishIndexesWithCatalog() {
+        // Given
+        ExerciseSearchIndex searchBefore = repository.getSearchIndex();
+        Query<Exercise> cardio = Query.where(ExerciseAttributes.TYPE.eq(ExerciseType.CARDIO));
+
+        // When
+        repository.saveAll(List.of(
+                exercise("EX-004", "Rowing", ExerciseType.CARDIO, DifficultyLevel.NOVICE, "Back", "Rower"),
+                exercise("EX-005", "Cycling", ExerciseType.CARDIO, DifficultyLevel.NOVICE, "Legs", "Bike")));
+
+        // Then
+        assertEquals(3, searchBefore.size());
+        assertEquals(5, repository.getSearchIndex().size());
+        assertEquals(List.of("EX-004"), ids(repository.searchText("rowing", 10)));
+        assertEquals(List.of("EX-002", "EX-004", "EX-005"), ids(repository.query(cardio)).stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("Should cache substring finder results within a version")
+    void shouldCacheSearchResults() {
+        // When
+        List<Exercise> first = repository.findByTargetMuscle("Chest");
+        List<Exercise> second = repository.findByTargetMuscle("Chest");
+        repository.save(exercise("EX-005", "Chest Fly", ExerciseType.STRENGTH, DifficultyLevel.NOVICE,
+                "Chest", "Dumbbell"));
+        List<Exercise> afterWrite = repository.findByTargetMuscle("Chest");
+
+        // Then
+        assertSame(first, second);
+        assertEquals(2, first.size());
+        assertEquals(3, afterWrite.size());
+        assertEquals(List.of("EX-005"), ids(repository.searchByName("fly")));
+        assertThrows(IllegalArgumentException.class, () -> repository.findByTargetMuscle(" "));
+        assertThrows(IllegalArgumentException.class, () -> repository.saveAll(null));
+    }
+
+    private static List<String> ids(List<Exercise> exercises) {
+        List<String> ids = new ArrayList<>();
+        for (Exercise exercise : exercises) {
+            ids.add(exercise.getExerciseId());
+        }
+        return ids;
+    }
+
+    private static Exercise exercise(String id, String name, ExerciseType type, DifficultyLevel difficulty,
+                                     String muscles, String equipment) {
+        return new Exercise(id, name, type, difficulty, "Description of " + name,
+                "Follow proper form and technique", Duration.ofMinutes(10), 3, 10, 0.0, muscles, equipment);
+    }
+}
@@ -0,0 +1,258 @@
+package hyminh.uth.domain.repository.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import hyminh.uth.domain.entity.Admin;
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.PersistenceAccess;
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.entity.Trainer;
+import hyminh.uth.domain.repository.impl.InMemorySubscriptionRepository;
+import hyminh.uth.domain.time.BusinessClock;
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.Specialization;
+import hyminh.uth.domain.valueobject.SubscriptionPlan;
+import hyminh.uth.domain.valueobject.SubscriptionStatus;
+import hyminh.uth.domain.valueobject.UserRole;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the JDBC repositories, run against an in-memory H2 database.
+ * This class contains test cases for round trips, batched saves, streaming scans, key conflicts and finders.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("JDBC Repository Tests")
+class JdbcRepositoryTest {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    private HikariDataSource dataSource;
+    private JdbcMemberRepository memberRepository;
+    private JdbcUserRepository userRepository;
+    private JdbcSubscriptionRepository subscriptionRepository;
+
+    @BeforeEach
+    void setUp() {
+        BusinessClock.install(BusinessClock.fixed(TODAY));
+        dataSource = JdbcDataSources.pooled("jdbc:h2:mem:gym" + DATABASES.incrementAndGet() + ";DB_CLOSE_DELAY=-1",
+                "sa", "", 4);
+        JdbcSchema.create(dataSource);
+        memberRepository = new JdbcMemberRepository(dataSource);
+        userRepository = new JdbcUserRepository(dataSource);
+        subscriptionRepository = new JdbcSubscriptionRepository(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+        BusinessClock.reset();
+    }
+
+    @Test
+    @DisplayName("Should store and load a member with its subscription, schedules and progress")
+    void shouldRoundTripMember() {
+        // Given
+        Member member = member(1);
+        member.assignSubscription(new Subscription("SUB-000001",
+                SubscriptionPlan.createPremium("PLAN-PREMIUM", "Gói cao cấp", 6, 2_700_000), TODAY));
+        member.addWorkoutSchedule("SCH-1");
+        member.addWorkoutSchedule("SCH-2");
+        member.addAttendance("ATT-1");
+        member.updateProgress(72.5, 18.25, 12);
+
+        // When
+        memberRepository.save(member);
+        Member loaded = memberRepository.findById(member.getMemberId()).orElseThrow();
+
+        // Then
+        assertEquals(member.getUserId(), loaded.getUserId());
+        assertEquals(member.getUsername(), loaded.getUsername());
+        assertEquals(PersistenceAccess.passwordOf(member), PersistenceAccess.passwordOf(loaded));
+        assertEquals(member.getCreatedAt(), loaded.getCreatedAt());
+        assertEquals(member.getRegistrationDate(), loaded.getRegistrationDate());
+        assertEquals(List.of("SCH-1", "SCH-2"), loaded.getWorkoutScheduleIds());
+        assertEquals(List.of("ATT-1"), loaded.getAttendanceIds());
+        assertEquals(72.5, loaded.getProgressMetrics().getWeight());
+        assertEquals(12, loaded.getProgressMetrics().getWorkoutsCompleted());
+        Subscription subscription = loaded.getCurrentSubscription();
+        assertEquals("SUB-000001", subscription.getSubscriptionId());
+        assertEquals(TODAY.plusMonths(6), subscription.getEndDate());
+        assertTrue(subscription.getPlan().includesPersonalTraining());
+        assertEquals(member.getMemberId(), memberRepository.findByUserId(member.getUserId()).orElseThrow().getMemberId());
+        assertEquals(1, memberRepository.findWithActiveSubscriptions().size());
+        assertEquals(1, memberRepository.countByRegistrationMonth(2025, 6));
+        assertTrue(subscriptionRepository.existsById("SUB-000001"));
+        assertEquals(UserRole.MEMBER, userRepository.findById(member.getUserId()).orElseThrow().getRole());
+    }
+
+    @Test
+    @DisplayName("Should insert and update members in batches and stream them back")
+    void shouldSaveMembersInBatches() {
+        // Given
+        List<Member> members = new ArrayList<>();
+        for (int i = 1; i <= 2_500; i++) {
+            members.add(member(i));
+        }
+
+        // When
+        memberRepository.saveAll(members);
+        for (int i = 0; i < members.size(); i += 2) {
+            members.get(i).deactivate();
+        }
+        memberRepository.saveAll(members);
+        AtomicInteger streamed = new AtomicInteger();
+        memberRepository.forEach(member -> streamed.incrementAndGet());
+
+        // Then
+        assertEquals(2_500, memberRepository.count());
+        assertEquals(2_500, streamed.get());
+        assertEquals(1_250, memberRepository.findInactiveMembers().size());
+        assertEquals(1_250, userRepository.countInactiveUsers());
+        assertFalse(memberRepository.findById(new MemberId("MEM-000001")).orElseThrow().isActive());
+        assertTrue(memberRepository.deleteById(new MemberId("MEM-000002")));
+        assertFalse(userRepository.existsById("USER-000002"));
+        assertEquals(2_499, memberRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject clashing keys with the in-memory messages and keep failed batches atomic")
+    void shouldRejectConflicts() {
+        // Given
+        memberRepository.save(member(1));
+        Member sameUserId = new Member("USER-000001", "other", "password1", "other@example.com", "+84900000099",
+                new MemberId("MEM-000099"));
+        Member sameUsername = new Member("USER-000002", "member_000001", "password2", "member2@example.com",
+                "+84900000002", new MemberId("MEM-000002"));
+
+        // When
+        IllegalArgumentException userIdConflict = assertThrows(IllegalArgumentException.class,
+                () -> memberRepository.save(sameUserId));
+        IllegalArgumentException usernameConflict = assertThrows(IllegalArgumentException.class,
+                () -> memberRepository.saveAll(List.of(member(3), sameUsername)));
+
+        // Then
+        assertEquals("User ID already exists: USER-000001", userIdConflict.getMessage());
+        assertEquals("Username already exists: member_000001", usernameConflict.getMessage());
+        assertEquals(1, memberRepository.count());
+        assertFalse(memberRepository.existsById(new MemberId("MEM-000003")));
+    }
+
+    @Test
+    @DisplayName("Should save a member only while its stored version is unchanged")
+    void shouldCompareAndSaveByVersion() {
+        // Given
+        Member fresh = member(1);
+        assertTrue(memberRepository.compareAndSave(fresh));
+        Member first = memberRepository.findById(fresh.getMemberId()).orElseThrow();
+        Member second = memberRepository.findById(fresh.getMemberId()).orElseThrow();
+
+        // When
+        first.incrementWorkouts();
+        boolean firstSaved = memberRepository.compareAndSave(first);
+        second.incrementWorkouts();
+        boolean secondSaved = memberRepository.compareAndSave(second);
+        memberRepository.saveAll(List.of(first, member(2)));
+
+        // Then
+        assertEquals(1, fresh.getVersion());
+        assertTrue(firstSaved);
+        assertFalse(secondSaved);
+        assertFalse(memberRepository.compareAndSave(member(1)));
+        assertEquals(3, first.getVersion());
+        Member loaded = memberRepository.findById(fresh.getMemberId()).orElseThrow();
+        assertEquals(3, loaded.getVersion());
+        assertEquals(1, loaded.getProgressMetrics().getWorkoutsCompleted());
+        assertEquals(1, memberRepository.findById(new MemberId("MEM-000002")).orElseThrow().getVersion());
+    }
+
+    @Test
+    @DisplayName("Should store trainers and admins and find members by trainer")
+    void shouldRoundTripTrainersAndAdmins() {
+        // Given
+        Trainer trainer = new Trainer("TRAINER-1", "trainer_one", "password1", "trainer@example.com",
+                "+84911111111", Specialization.GENERAL, 5);
+        trainer.assignMember("MEM-000002");
+        trainer.assignMember("MEM-000001");
+        Admin admin = new Admin("ADMIN-1", "admin_one", "password1", "admin@example.com", "+84922222222",
+                "SENIOR", true, false, true, false);
+        userRepository.saveAll(List.of(member(1), member(2), trainer, admin));
+
+        // When
+        Trainer loaded = (Trainer) userRepository.findByUsername("trainer_one").orElseThrow();
+        Admin loadedAdmin = (Admin) userRepository.findByEmail("admin@example.com").orElseThrow();
+        List<String> trainees = memberRepository.findByTrainerId("TRAINER-1").stream()
+                .map(member -> member.getMemberId().getValue())
+                .collect(Collectors.toList());
+
+        // Then
+        assertEquals(List.of("MEM-000002", "MEM-000001"), loaded.getAssignedMemberIds());
+        assertEquals(trainer.getCertificationDate(), loaded.getCertificationDate());
+        assertEquals(List.of("MEM-000002", "MEM-000001"), trainees);
+        assertEquals(2, memberRepository.countByTrainerId("TRAINER-1"));
+        assertFalse(loadedAdmin.canManageSubscriptions());
+        assertEquals("SENIOR", loadedAdmin.getAdminLevel());
+        assertEquals(2, userRepository.countByRole(UserRole.MEMBER));
+        assertEquals(1, userRepository.findByRole(UserRole.TRAINER).size());
+
+        // Saving another role under the same ID replaces the user
+        userRepository.save(new Admin("TRAINER-1", "trainer_one", "password1", "trainer@example.com",
+                "+84911111111", "JUNIOR"));
+        assertEquals(UserRole.ADMIN, userRepository.findById("TRAINER-1").orElseThrow().getRole());
+        assertEquals(0, memberRepository.countByTrainerId("TRAINER-1"));
+    }
+
+    @Test
+    @DisplayName("Should answer subscription finders like the in-memory repository")
+    void shouldMatchInMemorySubscriptionFinders() {
+        // Given
+        InMemorySubscriptionRepository inMemory = new InMemorySubscriptionRepository();
+        SubscriptionPlan plan = SubscriptionPlan.createBasic("PLAN-BASIC", "Gói cơ bản", 1, 500_000);
+        List<Subscription> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            LocalDate start = TODAY.minusDays(60).plusDays(i % 90);
+            SubscriptionStatus status = i % 7 == 0 ? SubscriptionStatus.CANCELLED : SubscriptionStatus.ACTIVE;
+            subscriptions.add(Subscription.restore("SUB-" + i, plan, start, start.plusMonths(1), 100_000 + i * 10.5,
+                    status, start.minusDays(i % 3)));
+        }
+        subscriptions.forEach(inMemory::save);
+
+        // When
+        subscriptionRepository.saveAll(subscriptions);
+        LocalDate horizon = TODAY.plusDays(10);
+
+        // Then
+        assertEquals(ids(inMemory.findActiveSubscriptions()), ids(subscriptionRepository.findActiveSubscriptions()));
+        assertEquals(ids(inMemory.findExpiredSubscriptions()), ids(subscriptionRepository.findExpiredSubscriptions()));
+        assertEquals(ids(inMemory.findExpiringBy(horizon)), ids(subscriptionRepository.findExpiringBy(horizon)));
+        assertEquals(ids(inMemory.findByStartDateAfter(TODAY)), ids(subscriptionRepository.findByStartDateAfter(TODAY)));
+        assertEquals(ids(inMemory.findByEndDateBefore(TODAY)), ids(subscriptionRepository.findByEndDateBefore(TODAY)));
+        assertEquals(ids(inMemory.findByCreatedDate(TODAY)), ids(subscriptionRepository.findByCreatedDate(TODAY)));
+        assertEquals(inMemory.countExpiringBy(horizon), subscriptionRepository.countExpiringBy(horizon));
+        assertEquals(inMemory.countByStatus(SubscriptionStatus.CANCELLED),
+                subscriptionRepository.countByStatus(SubscriptionStatus.CANCELLED));
+        assertEquals(inMemory.calculateTotalRevenue(), subscriptionRepository.calculateTotalRevenue(), 0.001);
+        assertEquals(inMemory.calculateActiveRevenue(), subscriptionRepository.calculateActiveRevenue(), 0.001);
+    }
+
+    private static Member member(int i) {
+        String suffix = String.format("%06d", i);
+        return new Member("USER-" + suffix, "member_" + suffix, "password" + suffix,
+                "member" + suffix + "@example.com", "+849" + suffix, new MemberId("MEM-" + suffix));
+    }
+
+    private static Set<String> ids(List<? extends Subscription> subscriptions) {
+        return subscriptions.stream().map(Subscription::getSubscriptionId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,245 @@
+package hyminh.uth.domain.repository.shard;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.PersistenceAccess;
+import hyminh.uth.domain.query.MemberAttributes;
+import hyminh.uth.domain.query.Query;
+import hyminh.uth.domain.query.QueryPlan;
+import hyminh.uth.domain.query.QueryPlan.AccessPath;
+import hyminh.uth.domain.query.Specification;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ShardedMemberRepository and ConsistentHashRing.
+ * This class contains test cases for routing, cross-shard queries, branch placement and resizing.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Sharded Member Repository Tests")
+class ShardedMemberRepositoryTest {
+
+    @Test
+    @DisplayName("Should spread keys evenly and move only keys of the new shard when growing")
+    void shouldRouteConsistently() {
+        // Given
+        ConsistentHashRing ring = new ConsistentHashRing(4);
+        ConsistentHashRing grown = ring.resize(5);
+        int[] load = new int[4];
+        int moved = 0;
+
+        // When
+        for (int i = 1; i <= 20_000; i++) {
+            String key = memberId(i).getValue();
+            int before = ring.shardFor(key);
+            int after = grown.shardFor(key);
+            load[before]++;
+            if (before != after) {
+                moved++;
+                assertEquals(4, after);
+            }
+        }
+
+        // Then
+        for (int shardLoad : load) {
+            assertTrue(shardLoad > 3_500 && shardLoad < 6_500, "Unbalanced shard: " + shardLoad);
+        }
+        assertTrue(moved > 2_500 && moved < 5_500, "Moved " + moved + " of 20000");
+    }
+
+    @Test
+    @DisplayName("Should find members on any shard and merge cross-shard finders and queries")
+    void shouldMergeAcrossShards() {
+        // Given
+        ShardedMemberRepository repository = new ShardedMemberRepository(4);
+        for (int i = 1; i <= 200; i++) {
+            Member member = member(i);
+            for (int w = 0; w < i % 20; w++) {
+                member.incrementWorkouts();
+            }
+            if (i % 5 == 0) {
+                member.deactivate();
+            }
+            repository.save(member);
+        }
+
+        // When
+        Query<Member> query = Query.where(Specification.<Member>all())
+                .orderBy(MemberAttributes.WORKOUTS_COMPLETED, true)
+                .limit(5);
+        List<Member> top = repository.query(query);
+
+        // Then
+        assertEquals(200, repository.count());
+        assertTrue(repository.getShardSizes().stream().allMatch(size -> size > 20));
+        assertEquals(member(123).getUserId(), repository.findById(memberId(123)).orElseThrow().getUserId());
+        assertEquals(memberId(77), repository.findByUserId("USER-000077").orElseThrow().getMemberId());
+        assertEquals(160, repository.findActiveMembers().size());
+        assertEquals(40, repository.findInactiveMembers().size());
+        assertEquals(5, top.size());
+        assertTrue(top.stream().allMatch(member -> member.getProgressMetrics().getWorkoutsCompleted() == 19));
+        assertTrue(repository.deleteById(memberId(123)));
+        assertFalse(repository.existsById(memberId(123)));
+        assertEquals(199, repository.findAll().size());
+    }
+
+    @Test
+    @DisplayName("Should reject null IDs and explain queries as a fan-out over every shard")
+    void shouldRejectNullIdsAndExplainFanOut() {
+        // Given
+        ShardedMemberRepository repository = new ShardedMemberRepository(4);
+        for (int i = 1; i <= 100; i++) {
+            repository.save(member(i));
+        }
+
+        // When
+        QueryPlan plan = repository.explain(Query.where(MemberAttributes.WORKOUTS_COMPLETED.eq(0)));
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> repository.findById(null));
+        assertThrows(IllegalArgumentException.class, () -> repository.deleteById(null));
+        assertThrows(IllegalArgumentException.class, () -> repository.findByUserId(null));
+        assertEquals(AccessPath.FAN_OUT, plan.getAccessPath());
+        assertEquals(4, plan.getPartitionPlans().size());
+        assertEquals(100, plan.getTotalRows());
+        assertTrue(plan.explain().startsWith("FAN_OUT 4 partitions [FULL_SCAN, FULL_SCAN, FULL_SCAN, FULL_SCAN]"));
+    }
+
+    @Test
+    @DisplayName("Should keep user IDs unique across shards")
+    void shouldRejectDuplicateUserIdOnAnotherShard() {
+        // Given
+        ShardedMemberRepository repository = new ShardedMemberRepository(8);
+        repository.save(member(1));
+        int other = 2;
+        while (repository.getRing().shardFor(memberId(other).getValue())
+                == repository.getRing().shardFor(memberId(1).getValue())) {
+            other++;
+        }
+        Member duplicate = new Member("USER-000001", "duplicate", "password", "dup@example.com",
+                "+84900000000", memberId(other));
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> repository.save(duplicate));
+        assertFalse(repository.existsById(memberId(other)));
+    }
+
+    @Test
+    @DisplayName("Should place all members of a branch on one shard")
+    void shouldColocateBranches() {
+        // Given
+        Map<String, String> branchOf = new ConcurrentHashMap<>();
+        ShardedMemberRepository repository = new ShardedMemberRepository(8,
+                member -> branchOf.get(member.getUserId()), RebalanceStrategy.allAtOnce(), ForkJoinPool.commonPool());
+        for (int i = 1; i <= 300; i++) {
+            branchOf.put(member(i).getUserId(), "BRANCH-" + (i % 3));
+            repository.save(member(i));
+        }
+
+        // When
+        List<Member> branch = repository.findByBranch("BRANCH-1");
+        branchOf.put("USER-000001", "BRANCH-2");
+        repository.save(member(1));
+
+        // Then
+        assertEquals(100, branch.size());
+        assertEquals(300, repository.count());
+        assertEquals(101, repository.findByBranch("BRANCH-2").size());
+        assertEquals(99, repository.findByBranch("BRANCH-1").size());
+        assertTrue(repository.findById(memberId(1)).isPresent());
+        assertTrue(repository.getShardSizes().stream().filter(size -> size > 0).count() <= 3);
+    }
+
+    @Test
+    @DisplayName("Should keep member versions when members move to another shard")
+    void shouldKeepVersionsAcrossMoves() {
+        // Given - members saved three times, so each one is at version 3
+        Map<String, String> branchOf = new ConcurrentHashMap<>();
+        ShardedMemberRepository repository = new ShardedMemberRepository(2,
+                member -> branchOf.get(member.getUserId()), RebalanceStrategy.allAtOnce(), ForkJoinPool.commonPool());
+        for (int i = 1; i <= 200; i++) {
+            Member member = member(i);
+            for (int save = 0; save < 3; save++) {
+                repository.save(member);
+            }
+        }
+
+        // When
+        repository.resize(4);
+        Member moved = repository.findById(memberId(1)).orElseThrow().copy();
+        branchOf.put(moved.getUserId(), "BRANCH-1");
+        assertTrue(repository.compareAndSave(moved));
+
+        // Then
+        assertTrue(repository.findAll().stream()
+                .filter(member -> !member.getMemberId().equals(memberId(1)))
+                .allMatch(member -> member.getVersion() == 3));
+        assertEquals(4, repository.findById(memberId(1)).orElseThrow().getVersion());
+        Member stale = member(2);
+        PersistenceAccess.setVersion(stale, 1);
+        assertFalse(repository.compareAndSave(stale));
+    }
+
+    @Test
+    @DisplayName("Should keep every member readable while resizing under concurrent writes")
+    void shouldResizeOnline() throws Exception {
+        // Given
+        ShardedMemberRepository repository = new ShardedMemberRepository(2, null,
+                RebalanceStrategy.batched(50), ForkJoinPool.commonPool());
+        for (int i = 1; i <= 2_000; i++) {
+            repository.save(member(i));
+        }
+        AtomicInteger missing = new AtomicInteger();
+        Set<Integer> written = new HashSet<>();
+        Thread writer = new Thread(() -> {
+            for (int i = 2_001; i <= 2_500; i++) {
+                repository.save(member(i));
+                written.add(i);
+                if (repository.findById(memberId(1 + i % 2_000)).isEmpty()) {
+                    missing.incrementAndGet();
+                }
+            }
+        });
+
+        // When
+        writer.start();
+        int moved = repository.resize(5);
+        writer.join();
+        repository.deleteById(memberId(10));
+
+        // Then
+        assertEquals(0, missing.get());
+        assertEquals(500, written.size());
+        assertTrue(moved > 0 && moved < 2_500);
+        assertFalse(repository.isRebalancing());
+        assertEquals(5, repository.getShardCount());
+        assertEquals(2_499, repository.count());
+        for (int i = 1; i <= 2_500; i++) {
+            assertEquals(i != 10, repository.existsById(memberId(i)), "Member " + i);
+        }
+
+        long staying = repository.getShardSizes().get(0);
+        assertEquals(2_499 - staying, repository.resize(1));
+        assertEquals(List.of(2_499L), repository.getShardSizes());
+    }
+
+    private static MemberId memberId(int number) {
+        return new MemberId(String.format("MEM-%06d", number));
+    }
+
+    private static Member member(int number) {
+        String suffix = String.format("%06d", number);
+        return new Member("USER-" + suffix, "member_" + suffix, "password", "member" + suffix + "@example.com",
+                "+849" + suffix, memberId(number));
+    }
+}
@@ -0,0 +1,160 @@
+package hyminh.uth.domain.schedule;
+
+import hyminh.uth.domain.exception.BookingConflictException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TrainerCalendar.
+ * This class contains test cases for booking, conflict detection, cancellation and free slot search.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Trainer Calendar Tests")
+class TrainerCalendarTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 1, 6, 8, 0);
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    private TrainerCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new TrainerCalendar("TRAINER-001");
+    }
+
+    @Test
+    @DisplayName("Should reject overlapping bookings and accept adjacent ones")
+    void shouldDetectConflicts() {
+        // Given
+        Booking existing = calendar.book("MEM-000001", MONDAY, HOUR);
+
+        // When / Then
+        assertThrows(BookingConflictException.class,
+                () -> calendar.book("MEM-000002", MONDAY.plusMinutes(30), HOUR));
+        assertThrows(BookingConflictException.class,
+                () -> calendar.book("MEM-000002", MONDAY.minusMinutes(30), HOUR));
+        assertEquals(existing, calendar.findConflict(MONDAY.plusMinutes(10), MONDAY.plusMinutes(20)).orElse(null));
+
+        Booking after = calendar.book("MEM-000002", MONDAY.plus(HOUR), HOUR);
+        Booking before = calendar.book("MEM-000003", MONDAY.minus(HOUR), HOUR);
+        assertEquals(List.of(before, existing, after), calendar.getBookings(MONDAY.minusDays(1), MONDAY.plusDays(1)));
+        assertEquals(3, calendar.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should free the slot when a booking is cancelled")
+    void shouldCancelBooking() {
+        // Given
+        Booking booking = calendar.book("MEM-000001", MONDAY, HOUR);
+
+        // When
+        boolean cancelled = calendar.cancel(booking.getBookingId());
+
+        // Then
+        assertTrue(cancelled);
+        assertFalse(calendar.cancel(booking.getBookingId()));
+        assertTrue(calendar.isFree(MONDAY, MONDAY.plus(HOUR)));
+        assertEquals(0, calendar.getBookingCount());
+        assertNotNull(calendar.book("MEM-000002", MONDAY, HOUR));
+    }
+
+    @Test
+    @DisplayName("Should find the first gap long enough for the session")
+    void shouldFindNextFreeSlot() {
+        // Given: 8:00-9:00, 9:00-10:00, 10:30-11:00, 12:00-13:00
+        calendar.book("MEM-000001", MONDAY, HOUR);
+        calendar.book("MEM-000002", MONDAY.plusHours(1), HOUR);
+        calendar.book("MEM-000003", MONDAY.plusMinutes(150), Duration.ofMinutes(30));
+        calendar.book("MEM-000004", MONDAY.plusHours(4), HOUR);
+
+        // When / Then
+        assertEquals(MONDAY.minusHours(1), calendar.findNextFreeSlot(MONDAY.minusHours(1), HOUR));
+        assertEquals(MONDAY.plusHours(2), calendar.findNextFreeSlot(MONDAY.plusMinutes(15), Duration.ofMinutes(30)));
+        assertEquals(MONDAY.plusHours(3), calendar.findNextFreeSlot(MONDAY, HOUR));
+        assertEquals(MONDAY.plusHours(5), calendar.findNextFreeSlot(MONDAY, Duration.ofMinutes(61)));
+    }
+
+    @Test
+    @DisplayName("Should match a brute-force search on random calendars")
+    void shouldMatchBruteForce() {
+        // Given
+        Random random = new Random(7);
+        List<Booking> booked = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            LocalDateTime start = MONDAY.plusMinutes(15L * random.nextInt(20_000));
+            Duration length = Duration.ofMinutes(15L * (1 + random.nextInt(8)));
+            try {
+                booked.add(calendar.book("MEM-000001", start, length));
+            } catch (BookingConflictException e) {
+                // Expected for overlapping random slots
+            }
+            if (!booked.isEmpty() && random.nextInt(4) == 0) {
+                Booking victim = booked.remove(random.nextInt(booked.size()));
+                assertTrue(calendar.cancel(victim.getBookingId()));
+            }
+        }
+
+        // When / Then
+        assertEquals(booked.size(), calendar.getBookingCount());
+        for (int i = 0; i < 200; i++) {
+            LocalDateTime from = MONDAY.plusMinutes(5L * random.nextInt(60_000));
+            Duration length = Duration.ofMinutes(15L * (1 + random.nextInt(16)));
+            assertEquals(bruteForceSlot(booked, from, length), calendar.findNextFreeSlot(from, length));
+        }
+    }
+
+    @Test
+    @DisplayName("Should accept exactly one of many concurrent bookings for the same slot")
+    void shouldResolveConcurrentBookings() throws Exception {
+        // Given
+        int threads = 16;
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                String memberId = String.format("MEM-%06d", i + 1);
+                results.add(executor.submit(() -> {
+                    try {
+                        calendar.book(memberId, MONDAY.plusMinutes(10), HOUR);
+                        return true;
+                    } catch (BookingConflictException e) {
+                        return false;
+                    }
+                }));
+            }
+        }
+
+        // Then
+        int accepted = 0;
+        for (Future<Boolean> result : results) {
+            accepted += result.get() ? 1 : 0;
+        }
+        assertEquals(1, accepted);
+        assertEquals(1, calendar.getBookingCount());
+    }
+
+    private static LocalDateTime bruteForceSlot(List<Booking> bookings, LocalDateTime from, Duration length) {
+        List<Booking> sorted = new ArrayList<>(bookings);
+        sorted.sort((a, b) -> a.getStart().compareTo(b.getStart()));
+        LocalDateTime candidate = from;
+        for (Booking booking : sorted) {
+            if (booking.overlaps(candidate, candidate.plus(length))) {
+                candidate = booking.getEnd();
+            }
+        }
+        return candidate;
+    }
+}
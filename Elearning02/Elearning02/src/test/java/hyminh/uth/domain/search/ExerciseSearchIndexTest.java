@@ -0,0 +1,123 @@
+package hyminh.uth.domain.search;
+
+import hyminh.uth.domain.entity.Exercise;
+import hyminh.uth.domain.repository.impl.InMemoryExerciseRepository;
+import hyminh.uth.domain.valueobject.DifficultyLevel;
+import hyminh.uth.domain.valueobject.ExerciseType;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExerciseSearchIndex and TextAnalyzer.
+ * This class contains test cases for analysis, BM25 ranking and incremental updates through
+ * the exercise repository.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Exercise Search Index Tests")
+class ExerciseSearchIndexTest {
+
+    private ExerciseSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ExerciseSearchIndex();
+        index.index(exercise("EX-001", "Bird Dog", "A core exercise that is safe for lower back pain.",
+                "Kneel on all fours, then extend one arm and the opposite leg slowly.", "Core, Lower Back"));
+        index.index(exercise("EX-002", "Deadlift", "Heavy hip hinge for the back and hamstrings.",
+                "Keep the back neutral while lifting the bar.", "Back, Hamstrings"));
+        index.index(exercise("EX-003", "Cat-Cow Stretch", "Gentle spine mobility, safe when the lower back is stiff.",
+                "Round and arch the back while breathing.", "Lower Back"));
+        index.index(exercise("EX-004", "Giãn cơ lưng", "Bài tập giãn cơ an toàn cho người đau lưng.",
+                "Nằm ngửa, kéo gối về phía ngực và giữ 30 giây.", "Lưng dưới"));
+        index.index(exercise("EX-005", "Jumping Jacks", "Cardio warm-up for the whole body.",
+                "Jump while raising the arms over the head.", "Full Body"));
+    }
+
+    @Test
+    @DisplayName("Should fold diacritics, split words and stem English suffixes")
+    void shouldAnalyzeText() {
+        assertEquals(List.of("dau", "lung", "an", "toan"), TextAnalyzer.analyze("Đau LƯNG, an toàn!"));
+        assertEquals(List.of("stretch", "stretch", "stretch", "rais", "rais"),
+                TextAnalyzer.analyze("stretching stretches stretched raising raised"));
+        assertEquals(List.of("knee", "injury", "press"), TextAnalyzer.analyze("knee injuries of presses"));
+        assertTrue(TextAnalyzer.analyze(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should rank exercises matching more and rarer terms first")
+    void shouldRankByRelevance() {
+        // When
+        List<SearchHit> hits = index.search("lower back pain safe", 10);
+
+        // Then
+        assertEquals("EX-001", hits.get(0).getExerciseId());
+        assertEquals("EX-003", hits.get(1).getExerciseId());
+        assertEquals("EX-002", hits.get(2).getExerciseId());
+        assertEquals(3, hits.size());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+        assertEquals(1, index.search("lower back pain safe", 1).size());
+        assertTrue(index.search("swimming", 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.search("back", 0));
+    }
+
+    @Test
+    @DisplayName("Should find Vietnamese text with or without diacritics")
+    void shouldMatchVietnameseWithoutDiacritics() {
+        // When
+        List<SearchHit> folded = index.search("dau lung", 10);
+        List<SearchHit> accented = index.search("đau lưng", 10);
+
+        // Then
+        assertEquals("EX-004", folded.get(0).getExerciseId());
+        assertEquals(folded, accented);
+    }
+
+    @Test
+    @DisplayName("Should update the index incrementally on repository save and delete")
+    void shouldFollowRepositoryChanges() {
+        // Given
+        InMemoryExerciseRepository repository = new InMemoryExerciseRepository();
+        repository.save(exercise("EX-010", "Plank", "Core hold.", "Hold a straight line.", "Core"));
+        repository.save(exercise("EX-011", "Side Plank", "Core hold on one side.", "Hold on one elbow.", "Obliques"));
+
+        // When
+        repository.save(exercise("EX-010", "Plank", "Shoulder and core hold.", "Hold a straight line.", "Core"));
+        repository.deleteById("EX-011");
+
+        // Then
+        assertEquals(List.of("EX-010"), repository.searchText("shoulder", 5).stream()
+                .map(Exercise::getExerciseId).toList());
+        assertEquals(1, repository.searchText("plank core", 5).size());
+        assertEquals(1, repository.getSearchIndex().size());
+        assertThrows(IllegalArgumentException.class, () -> repository.searchText(" ", 5));
+    }
+
+    @Test
+    @DisplayName("Should keep results correct after replaced entries are compacted")
+    void shouldCompactReplacedEntries() {
+        // When
+        for (int i = 0; i < 3_000; i++) {
+            index.index(exercise("EX-002", "Deadlift", "Hinge number v" + i + " for the back.",
+                    "Keep the back neutral.", "Back"));
+        }
+
+        // Then
+        assertEquals(5, index.size());
+        assertEquals("EX-002", index.search("v2999", 10).get(0).getExerciseId());
+        assertTrue(index.search("v1000", 10).isEmpty());
+        assertEquals("EX-004", index.search("giãn cơ", 10).get(0).getExerciseId());
+        assertEquals(5, index.search("back lung body", 10).size());
+    }
+
+    private static Exercise exercise(String id, String name, String description, String instructions,
+                                     String targetMuscles) {
+        return new Exercise(id, name, ExerciseType.FLEXIBILITY, DifficultyLevel.BEGINNER, description, instructions,
+                Duration.ofMinutes(5), 3, 10, 0.0, targetMuscles, "None");
+    }
+}
@@ -0,0 +1,96 @@
+package hyminh.uth.domain.service;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.exception.MemberNotFoundException;
+import hyminh.uth.domain.repository.impl.InMemoryMemberRepository;
+import hyminh.uth.domain.repository.impl.InMemorySubscriptionRepository;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AsyncMemberService.
+ * This class contains test cases for asynchronous single and batch member operations.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Async Member Service Tests")
+class AsyncMemberServiceTest {
+
+    private MemberService memberService;
+    private AsyncMemberService asyncService;
+
+    @BeforeEach
+    void setUp() {
+        memberService = new MemberService(new InMemoryMemberRepository(), new InMemorySubscriptionRepository());
+        asyncService = new AsyncMemberService(memberService);
+        for (int i = 1; i <= 20; i++) {
+            String suffix = String.format("%06d", i);
+            memberService.createMember("USER-" + suffix, "member_" + suffix, "password123",
+                    "member" + suffix + "@example.com", "+84" + suffix, new MemberId("MEM-" + suffix));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncService.close();
+    }
+
+    @Test
+    @DisplayName("Should find members in request order and skip unknown IDs")
+    void shouldFindAllByIdInOrder() {
+        // Given
+        List<MemberId> ids = List.of(new MemberId("MEM-000005"), new MemberId("MEM-999999"),
+                new MemberId("MEM-000002"));
+
+        // When
+        List<Member> members = asyncService.findAllById(ids).join();
+
+        // Then
+        assertEquals(List.of("MEM-000005", "MEM-000002"), members.stream()
+                .map(member -> member.getMemberId().getValue())
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should not lose increments for repeated member IDs")
+    void shouldNotLoseConcurrentIncrements() {
+        // Given - every member listed 50 times
+        List<MemberId> ids = new ArrayList<>();
+        for (int round = 0; round < 50; round++) {
+            for (int i = 1; i <= 20; i++) {
+                ids.add(new MemberId(String.format("MEM-%06d", i)));
+            }
+        }
+
+        // When
+        asyncService.incrementWorkoutsAll(ids).join();
+
+        // Then
+        for (int i = 1; i <= 20; i++) {
+            Member member = memberService.findById(new MemberId(String.format("MEM-%06d", i)));
+            assertEquals(50, member.getProgressMetrics().getWorkoutsCompleted());
+        }
+    }
+
+    @Test
+    @DisplayName("Should complete exceptionally when a member is not found")
+    void shouldCompleteExceptionallyForMissingMember() {
+        // When
+        CompletionException exception = assertThrows(CompletionException.class, () ->
+            asyncService.incrementWorkoutsAll(List.of(new MemberId("MEM-000001"), new MemberId("MEM-999999"))).join());
+
+        // Then
+        assertInstanceOf(MemberNotFoundException.class, exception.getCause());
+        assertEquals(1, memberService.findById(new MemberId("MEM-000001"))
+                .getProgressMetrics().getWorkoutsCompleted());
+    }
+}
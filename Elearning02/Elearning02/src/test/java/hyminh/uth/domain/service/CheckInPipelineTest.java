@@ -0,0 +1,158 @@
+package hyminh.uth.domain.service;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.repository.impl.InMemoryMemberRepository;
+import hyminh.uth.domain.repository.impl.InMemorySubscriptionRepository;
+import hyminh.uth.domain.valueobject.MemberId;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CheckInPipeline.
+ * This class contains test cases for coalescing, backpressure, failures and flushing on close.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Check-in Pipeline Tests")
+class CheckInPipelineTest {
+
+    private static final int MEMBERS = 10;
+
+    private GatedMemberRepository repository;
+    private MemberService memberService;
+
+    @BeforeEach
+    void setUp() {
+        repository = new GatedMemberRepository();
+        memberService = new MemberService(repository, new InMemorySubscriptionRepository());
+        for (int i = 1; i <= MEMBERS; i++) {
+            String suffix = String.format("%06d", i);
+            memberService.createMember("USER-" + suffix, "member_" + suffix, "password123",
+                    "member" + suffix + "@example.com", "+84" + suffix, new MemberId("MEM-" + suffix));
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply every check-in with one save per member per batch")
+    void shouldCoalesceCheckInsPerMember() throws InterruptedException {
+        // Given
+        try (CheckInPipeline pipeline = new CheckInPipeline(memberService, 4_096, Duration.ofMillis(200), 10_000)) {
+            // When
+            for (int i = 0; i < 1_000; i++) {
+                pipeline.checkIn(memberId(1 + i % MEMBERS));
+            }
+            pipeline.flush();
+
+            // Then
+            for (int i = 1; i <= MEMBERS; i++) {
+                assertEquals(100, memberService.findById(memberId(i)).getProgressMetrics().getWorkoutsCompleted());
+            }
+            assertEquals(1_000, pipeline.getSubmittedCount());
+            assertEquals(1_000, pipeline.getAppliedCount());
+            assertEquals(pipeline.getSaveCount(), repository.saves.get());
+            assertTrue(pipeline.getSaveCount() <= MEMBERS * pipeline.getBatchCount());
+            assertTrue(pipeline.getSaveCount() < 1_000 / 10);
+        }
+    }
+
+    @Test
+    @DisplayName("Should block or reject check-ins while the queue is full")
+    void shouldApplyBackpressure() throws InterruptedException {
+        // Given
+        repository.gate = new CountDownLatch(1);
+        try (CheckInPipeline pipeline = new CheckInPipeline(memberService, 4, Duration.ZERO, 100)) {
+            pipeline.checkIn(memberId(1));
+            assertTrue(repository.entered.await(5, TimeUnit.SECONDS));   // Worker is stuck saving
+
+            // When
+            for (int i = 0; i < 4; i++) {
+                assertTrue(pipeline.tryCheckIn(memberId(2), Duration.ZERO));
+            }
+            boolean accepted = pipeline.tryCheckIn(memberId(2), Duration.ofMillis(20));
+            repository.gate.countDown();
+            pipeline.flush();
+
+            // Then
+            assertFalse(accepted);
+            assertEquals(1, pipeline.getRejectedCount());
+            assertEquals(5, pipeline.getAppliedCount());
+            assertEquals(4, memberService.findById(memberId(2)).getProgressMetrics().getWorkoutsCompleted());
+        }
+    }
+
+    @Test
+    @DisplayName("Should count check-ins of unknown members as failed and keep going")
+    void shouldCountFailedCheckIns() throws InterruptedException {
+        // Given
+        try (CheckInPipeline pipeline = new CheckInPipeline(memberService, 64, Duration.ofMillis(5), 100)) {
+            // When
+            pipeline.checkIn(memberId(1));
+            pipeline.checkIn(new MemberId("MEM-999999"));
+            pipeline.checkIn(new MemberId("MEM-999999"));
+            pipeline.checkIn(memberId(1));
+            pipeline.flush();
+
+            // Then
+            assertEquals(2, pipeline.getAppliedCount());
+            assertEquals(2, pipeline.getFailedCount());
+            assertEquals(2, memberService.findById(memberId(1)).getProgressMetrics().getWorkoutsCompleted());
+        }
+    }
+
+    @Test
+    @DisplayName("Should apply queued check-ins on close without waiting for the window")
+    void shouldFlushOnClose() throws InterruptedException {
+        // Given
+        CheckInPipeline pipeline = new CheckInPipeline(memberService, 1_024, Duration.ofSeconds(30), 10_000);
+        for (int i = 0; i < 500; i++) {
+            pipeline.checkIn(memberId(1 + i % MEMBERS));
+        }
+
+        // When
+        long start = System.nanoTime();
+        pipeline.close();
+        long elapsed = System.nanoTime() - start;
+
+        // Then
+        assertTrue(elapsed < TimeUnit.SECONDS.toNanos(10));
+        assertTrue(pipeline.isClosed());
+        assertEquals(500, pipeline.getAppliedCount());
+        assertEquals(50, memberService.findById(memberId(3)).getProgressMetrics().getWorkoutsCompleted());
+        assertThrows(IllegalStateException.class, () -> pipeline.checkIn(memberId(1)));
+    }
+
+    private static MemberId memberId(int number) {
+        return new MemberId(String.format("MEM-%06d", number));
+    }
+
+    /**
+     * Counts saves and can hold them until a gate opens, to fill the queue while the worker waits.
+     */
+    private static final class GatedMemberRepository extends InMemoryMemberRepository {
+        final AtomicInteger saves = new AtomicInteger();
+        final CountDownLatch entered = new CountDownLatch(1);
+        volatile CountDownLatch gate;
+
+        @Override
+        public boolean compareAndSave(Member member) {
+            entered.countDown();
+            CountDownLatch current = gate;
+            if (current != null) {
+                try {
+                    current.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            saves.incrementAndGet();
+            return super.compareAndSave(member);
+        }
+    }
+}
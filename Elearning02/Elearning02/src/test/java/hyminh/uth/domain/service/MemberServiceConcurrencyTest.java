@@ -0,0 +1,191 @@
+package hyminh.uth.domain.service;
+
+import hyminh.uth.domain.entity.Member;
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.repository.MemberRepository;
+import hyminh.uth.domain.repository.cache.CachingMemberRepository;
+import hyminh.uth.domain.repository.impl.InMemoryMemberRepository;
+import hyminh.uth.domain.repository.impl.InMemorySubscriptionRepository;
+import hyminh.uth.domain.repository.shard.ShardedMemberRepository;
+import hyminh.uth.domain.store.ProgressHistoryStore;
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.SubscriptionPlan;
+import hyminh.uth.domain.time.BusinessClock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the optimistic read-modify-write operations of MemberService.
+ * This class contains test cases for compare-and-set saves and concurrent updates of one member.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Member Service Concurrency Tests")
+class MemberServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS = 1_000;
+
+    private final MemberId memberId = new MemberId("MEM-000001");
+
+    @Test
+    @DisplayName("Should reject a save based on a stale version")
+    void shouldRejectStaleVersion() {
+        // Given
+        InMemoryMemberRepository repository = new InMemoryMemberRepository();
+        repository.save(member());
+        Member first = repository.findById(memberId).orElseThrow().copy();
+        Member second = repository.findById(memberId).orElseThrow().copy();
+
+        // When
+        first.incrementWorkouts();
+        boolean firstSaved = repository.compareAndSave(first);
+        second.incrementWorkouts();
+        boolean secondSaved = repository.compareAndSave(second);
+
+        // Then
+        assertTrue(firstSaved);
+        assertFalse(secondSaved);
+        assertEquals(2, first.getVersion());
+        assertEquals(1, second.getVersion());
+        assertEquals(1, repository.findById(memberId).orElseThrow().getProgressMetrics().getWorkoutsCompleted());
+        assertFalse(repository.compareAndSave(new Member("USER-000002", "other", "password123",
+                "other@example.com", "+84000002", memberId)));
+    }
+
+    @Test
+    @DisplayName("Should not lose concurrent workout increments")
+    void shouldNotLoseConcurrentIncrements() throws Exception {
+        for (MemberRepository repository : List.of(new InMemoryMemberRepository(), new ShardedMemberRepository(4),
+                new CachingMemberRepository(new InMemoryMemberRepository()))) {
+            // Given
+            MemberService service = new MemberService(repository, new InMemorySubscriptionRepository());
+            repository.save(member());
+
+            // When
+            runConcurrently(THREADS, () -> {
+                for (int i = 0; i < INCREMENTS; i++) {
+                    service.incrementWorkouts(memberId);
+                }
+            });
+
+            // Then
+            Member stored = service.findById(memberId);
+            assertEquals(THREADS * INCREMENTS, stored.getProgressMetrics().getWorkoutsCompleted(),
+                    repository.getClass().getSimpleName());
+            assertEquals(1 + THREADS * INCREMENTS, stored.getVersion());
+        }
+    }
+
+    @Test
+    @DisplayName("Should record the progress history of the latest save when saves finish out of order")
+    void shouldRecordHistoryOfLatestSave() throws Exception {
+        // Given
+        InMemoryMemberRepository repository = new InMemoryMemberRepository();
+        ProgressHistoryStore history = new ProgressHistoryStore();
+        MemberService service = new MemberService(repository, new InMemorySubscriptionRepository(), history);
+        repository.save(member());
+
+        // When
+        runConcurrently(THREADS, () -> {
+            for (int i = 0; i < INCREMENTS; i++) {
+                service.incrementWorkouts(memberId);
+            }
+        });
+
+        // Then
+        assertEquals(THREADS * INCREMENTS, history.getLatest(memberId).orElseThrow().getWorkoutsCompleted());
+        assertEquals(1, history.getSampleCount(memberId));
+    }
+
+    @Test
+    @DisplayName("Should keep a committed save when its history sample is older than the latest one")
+    void shouldSkipOutOfOrderHistorySample() {
+        // Given - the history already has a sample dated tomorrow
+        InMemoryMemberRepository repository = new InMemoryMemberRepository();
+        ProgressHistoryStore history = new ProgressHistoryStore();
+        MemberService service = new MemberService(repository, new InMemorySubscriptionRepository(), history);
+        repository.save(member());
+        history.record(memberId, BusinessClock.today().plusDays(1), 70.0, 20.0, 0);
+
+        // When
+        assertDoesNotThrow(() -> service.incrementWorkouts(memberId));
+
+        // Then
+        assertEquals(1, service.findById(memberId).getProgressMetrics().getWorkoutsCompleted());
+        assertEquals(1, history.getSampleCount(memberId));
+    }
+
+    @Test
+    @DisplayName("Should keep every change when different fields are updated concurrently")
+    void shouldMergeConcurrentUpdatesOfDifferentFields() throws Exception {
+        // Given
+        InMemoryMemberRepository repository = new InMemoryMemberRepository();
+        InMemorySubscriptionRepository subscriptions = new InMemorySubscriptionRepository();
+        subscriptions.save(new Subscription("SUB-000001",
+                SubscriptionPlan.createBasic("PLAN-BASIC", "Gói cơ bản", 1, 500_000), BusinessClock.today()));
+        MemberService service = new MemberService(repository, subscriptions);
+        repository.save(member());
+
+        // When
+        runConcurrently(List.of(() -> {
+            for (int i = 0; i < INCREMENTS; i++) {
+                service.incrementWorkouts(memberId);
+            }
+        }, () -> {
+            for (int i = 0; i < INCREMENTS; i++) {
+                service.assignSubscription(memberId, "SUB-000001");
+                service.removeSubscription(memberId);
+            }
+            service.assignSubscription(memberId, "SUB-000001");
+        }));
+
+        // Then
+        Member stored = service.findById(memberId);
+        assertEquals("SUB-000001", stored.getCurrentSubscription().getSubscriptionId());
+        assertEquals(INCREMENTS, stored.getProgressMetrics().getWorkoutsCompleted());
+        assertEquals(1 + INCREMENTS + 2 * INCREMENTS + 1, stored.getVersion());
+    }
+
+    private static void runConcurrently(int threads, Runnable task) throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tasks.add(task);
+        }
+        runConcurrently(tasks);
+    }
+
+    private static void runConcurrently(List<Runnable> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private Member member() {
+        return new Member("USER-000001", "member_000001", "password123", "member000001@example.com",
+                "+84000001", memberId);
+    }
+}
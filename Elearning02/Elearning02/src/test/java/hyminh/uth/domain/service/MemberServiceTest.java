@@ -8,6 +8,7 @@ import hyminh.uth.domain.exception.MemberNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import static org.junit.jupiter.api.Assertions.*;
@@ -169,18 +170,18 @@ class MemberServiceTest {
         int workoutsCompleted = 10;
         
         when(memberRepository.findById(memberId)).thenReturn(java.util.Optional.of(member));
-        when(memberRepository.save(any(Member.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(memberRepository.compareAndSave(any(Member.class))).thenReturn(true);
         
         // When
         memberService.updateProgress(memberId, weight, bodyFat, workoutsCompleted);
         
         // Then
-        assertEquals(weight, member.getProgressMetrics().getWeight());
-        assertEquals(bodyFat, member.getProgressMetrics().getBodyFat());
-        assertEquals(workoutsCompleted, member.getProgressMetrics().getWorkoutsCompleted());
-        
+        ArgumentCaptor<Member> saved = ArgumentCaptor.forClass(Member.class);
         verify(memberRepository).findById(memberId);
-        verify(memberRepository).save(member);
+        verify(memberRepository).compareAndSave(saved.capture());
+        assertEquals(weight, saved.getValue().getProgressMetrics().getWeight());
+        assertEquals(bodyFat, saved.getValue().getProgressMetrics().getBodyFat());
+        assertEquals(workoutsCompleted, saved.getValue().getProgressMetrics().getWorkoutsCompleted());
     }
     
     @Test
@@ -192,16 +193,16 @@ class MemberServiceTest {
         int initialWorkouts = member.getProgressMetrics().getWorkoutsCompleted();
         
         when(memberRepository.findById(memberId)).thenReturn(java.util.Optional.of(member));
-        when(memberRepository.save(any(Member.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(memberRepository.compareAndSave(any(Member.class))).thenReturn(true);
         
         // When
         memberService.incrementWorkouts(memberId);
         
         // Then
-        assertEquals(initialWorkouts + 1, member.getProgressMetrics().getWorkoutsCompleted());
-        
+        ArgumentCaptor<Member> saved = ArgumentCaptor.forClass(Member.class);
         verify(memberRepository).findById(memberId);
-        verify(memberRepository).save(member);
+        verify(memberRepository).compareAndSave(saved.capture());
+        assertEquals(initialWorkouts + 1, saved.getValue().getProgressMetrics().getWorkoutsCompleted());
     }
     
     @Test
@@ -0,0 +1,97 @@
+package hyminh.uth.domain.service;
+
+import hyminh.uth.domain.entity.Trainer;
+import hyminh.uth.domain.valueobject.Specialization;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TrainerAssignmentEngine.
+ * This class contains test cases for workload balancing, qualification and capacity limits.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Trainer Assignment Engine Tests")
+class TrainerAssignmentEngineTest {
+
+    private TrainerAssignmentEngine engine;
+    private Trainer strengthA;
+    private Trainer strengthB;
+    private Trainer general;
+
+    @BeforeEach
+    void setUp() {
+        engine = new TrainerAssignmentEngine(3);
+        strengthA = createTrainer(1, Specialization.STRENGTH);
+        strengthB = createTrainer(2, Specialization.STRENGTH);
+        general = createTrainer(3, Specialization.GENERAL);
+        engine.registerTrainers(List.of(strengthA, strengthB, general));
+    }
+
+    @Test
+    @DisplayName("Should spread members across the least-loaded qualified trainers")
+    void shouldBalanceWorkload() {
+        // Given
+        Map<String, Specialization> requests = new LinkedHashMap<>();
+        for (int i = 1; i <= 6; i++) {
+            requests.put("MEM-00000" + i, Specialization.STRENGTH);
+        }
+
+        // When
+        TrainerAssignmentEngine.Result result = engine.assignAll(requests);
+
+        // Then
+        assertEquals(6, result.getAssignedCount());
+        assertEquals(2, strengthA.getWorkload());
+        assertEquals(2, strengthB.getWorkload());
+        assertEquals(2, general.getWorkload());
+    }
+
+    @Test
+    @DisplayName("Should respect capacity and report unassigned members")
+    void shouldRespectCapacity() {
+        // Given
+        Map<String, Specialization> requests = new LinkedHashMap<>();
+        for (int i = 1; i <= 5; i++) {
+            requests.put("MEM-00000" + i, Specialization.CARDIO);
+        }
+
+        // When
+        TrainerAssignmentEngine.Result result = engine.assignAll(requests);
+
+        // Then - only the general trainer qualifies for cardio
+        assertEquals(3, general.getWorkload());
+        assertEquals(List.of("MEM-000004", "MEM-000005"), result.getUnassignedMemberIds());
+        assertEquals(2, engine.getAvailableTrainerCount());
+    }
+
+    @Test
+    @DisplayName("Should skip unavailable trainers and pick them up again after refresh")
+    void shouldHandleAvailabilityChanges() {
+        // Given
+        strengthA.setAvailability(false);
+        strengthB.setAvailability(false);
+
+        // When
+        Optional<Trainer> first = engine.assign("MEM-000001", Specialization.STRENGTH);
+        strengthA.setAvailability(true);
+        engine.refresh(strengthA);
+        Optional<Trainer> second = engine.assign("MEM-000002", Specialization.STRENGTH);
+
+        // Then
+        assertEquals(general, first.orElseThrow());
+        assertEquals(strengthA, second.orElseThrow());
+    }
+
+    private static Trainer createTrainer(int number, Specialization specialization) {
+        return new Trainer("TRAINER-00" + number, "trainer_" + number, "password123",
+                "trainer" + number + "@example.com", "+8490000" + number, specialization, 3);
+    }
+}
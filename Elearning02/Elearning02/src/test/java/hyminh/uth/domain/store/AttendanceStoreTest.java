@@ -0,0 +1,114 @@
+package hyminh.uth.domain.store;
+
+import hyminh.uth.domain.valueobject.MemberId;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AttendanceStore.
+ * This class contains test cases for the per-member attendance bitmaps.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Attendance Store Tests")
+class AttendanceStoreTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private AttendanceStore store;
+    private MemberId memberId;
+
+    @BeforeEach
+    void setUp() {
+        store = new AttendanceStore();
+        memberId = new MemberId("MEM-000001");
+    }
+
+    @Test
+    @DisplayName("Should record attendance only once per day")
+    void shouldRecordAttendanceOnlyOncePerDay() {
+        // When & Then
+        assertTrue(store.recordAttendance(memberId, START));
+        assertFalse(store.recordAttendance(memberId, START));
+        assertTrue(store.hasAttended(memberId, START));
+        assertFalse(store.hasAttended(memberId, START.plusDays(1)));
+        assertEquals(1, store.countMembersPresentOn(START));
+    }
+
+    @Test
+    @DisplayName("Should count attendance across word boundaries")
+    void shouldCountAttendanceAcrossWordBoundaries() {
+        // Given - every other day for 200 days, recorded out of order
+        for (int i = 198; i >= 0; i -= 2) {
+            store.recordAttendance(memberId, START.plusDays(i));
+        }
+
+        // When & Then
+        assertEquals(100, store.countAttendance(memberId, START, START.plusDays(199)));
+        assertEquals(15, store.countLastDays(memberId, START.plusDays(29), 30));
+        assertEquals(0, store.countAttendance(memberId, START.minusDays(100), START.minusDays(1)));
+        assertEquals(3.5, store.getVisitsPerWeek(memberId, START, START.plusDays(13)), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should calculate current and longest streaks")
+    void shouldCalculateCurrentAndLongestStreaks() {
+        // Given - a 70 day streak, a gap, then a 5 day streak
+        for (int i = 0; i < 70; i++) {
+            store.recordAttendance(memberId, START.plusDays(i));
+        }
+        for (int i = 72; i < 77; i++) {
+            store.recordAttendance(memberId, START.plusDays(i));
+        }
+
+        // When & Then
+        assertEquals(5, store.getCurrentStreak(memberId, START.plusDays(76)));
+        assertEquals(70, store.getCurrentStreak(memberId, START.plusDays(69)));
+        assertEquals(0, store.getCurrentStreak(memberId, START.plusDays(71)));
+        assertEquals(70, store.getLongestStreak(memberId));
+    }
+
+    @Test
+    @DisplayName("Should count cohort attendance and keep daily totals on removal")
+    void shouldCountCohortAttendance() {
+        // Given
+        MemberId other = new MemberId("MEM-000002");
+        store.recordAttendance(memberId, START);
+        store.recordAttendance(other, START);
+
+        // When
+        store.removeAttendance(other, START);
+
+        // Then
+        assertEquals(1, store.countMembersPresentOn(List.of(memberId, other), START));
+        assertArrayEquals(new int[]{1, 0}, store.getDailyAttendance(START, START.plusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Should track bitmap size as members grow and are cleared")
+    void shouldTrackBitmapSize() {
+        // Given
+        MemberId far = new MemberId("MEM-999999");
+        assertEquals(0, store.estimateBitmapBytes());
+
+        // When
+        store.recordAttendance(memberId, START);
+        store.recordAttendance(memberId, START.plusDays(200));   // 4 words
+        store.recordAttendance(far, START);
+
+        // Then
+        assertEquals(2, store.getTrackedMemberCount());
+        assertEquals((16 + 8 * 4) + (16 + 8), store.estimateBitmapBytes());
+        assertTrue(store.hasAttended(far, START));
+        assertFalse(store.hasAttended(new MemberId("MEM-500000"), START));
+        store.clear(memberId);
+        store.clear(far);
+        assertEquals(0, store.estimateBitmapBytes());
+        assertEquals(0, store.getTrackedMemberCount());
+    }
+}
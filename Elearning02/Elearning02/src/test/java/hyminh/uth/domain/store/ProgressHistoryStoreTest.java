@@ -0,0 +1,128 @@
+package hyminh.uth.domain.store;
+
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.ProgressMetrics;
+import hyminh.uth.domain.valueobject.ProgressSummary;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProgressHistoryStore.
+ * This class contains test cases for progress history recording, aggregation and downsampling.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Progress History Store Tests")
+class ProgressHistoryStoreTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    private ProgressHistoryStore store;
+    private MemberId memberId;
+
+    @BeforeEach
+    void setUp() {
+        store = new ProgressHistoryStore(90);
+        memberId = new MemberId("MEM-000001");
+    }
+
+    @Test
+    @DisplayName("Should aggregate samples across sealed blocks")
+    void shouldAggregateSamplesAcrossBlocks() {
+        // Given - 80 days losing 0.1 kg per day
+        for (int i = 0; i < 80; i++) {
+            store.record(memberId, START.plusDays(i), 90.0 - i * 0.1, 25.0, i);
+        }
+
+        // When
+        ProgressSummary summary = store.summarize(memberId, START.plusDays(10), START.plusDays(79));
+
+        // Then
+        assertEquals(70, summary.getSampleCount());
+        assertEquals(89.0, summary.getMaxWeight(), 0.001);
+        assertEquals(82.1, summary.getMinWeight(), 0.001);
+        assertEquals(-0.7, summary.getWeightTrendPerWeek(), 0.001);
+        assertEquals(69, summary.getWorkoutsCompleted());
+        assertEquals(25.0, summary.getAverageBodyFat(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should replace sample recorded twice on the same day")
+    void shouldReplaceSameDaySample() {
+        // When
+        store.record(memberId, START, 80.0, 20.0, 1);
+        store.record(memberId, START, 79.5, 20.0, 2);
+
+        // Then
+        assertEquals(1, store.getSampleCount(memberId));
+        assertEquals(79.5, store.getLatest(memberId).orElseThrow().getWeight(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should reject samples recorded out of order")
+    void shouldRejectOutOfOrderSamples() {
+        // Given
+        store.record(memberId, START.plusDays(1), 80.0, 20.0, 1);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () ->
+            store.record(memberId, START, 80.0, 20.0, 1));
+    }
+
+    @Test
+    @DisplayName("Should downsample old blocks to weekly samples")
+    void shouldDownsampleOldBlocks() {
+        // Given - one year of daily samples with a 90 day raw retention
+        for (int i = 0; i < 365; i++) {
+            store.record(memberId, START.plusDays(i), 80.0, 20.0, i);
+        }
+
+        // When
+        List<ProgressMetrics> firstMonth = store.getHistory(memberId, START, START.plusDays(27));
+        ProgressSummary year = store.summarize(memberId, START, START.plusDays(364));
+
+        // Then
+        assertTrue(store.getSampleCount(memberId) < 365);
+        assertEquals(4, firstMonth.size());
+        assertEquals(80.0, year.getAverageWeight(), 0.001);
+        assertEquals(364, year.getWorkoutsCompleted());
+    }
+
+    @Test
+    @DisplayName("Should exclude samples before the range start inside a downsampled block")
+    void shouldSummarizeFromInsideDownsampledBlock() {
+        // Given - the first block (days 0-63) is downsampled to weekly averages
+        for (int i = 0; i < 365; i++) {
+            store.record(memberId, START.plusDays(i), 90.0 - i * 0.1, 25.0, i);
+        }
+
+        // When - the range starts in the middle of the first weekly bucket
+        ProgressSummary summary = store.summarize(memberId, START.plusDays(3), START.plusDays(63));
+
+        // Then - only the weekly samples on days 6, 13, ..., 62 and 63 are counted
+        assertEquals(10, summary.getSampleCount());
+        assertEquals(89.7, summary.getMaxWeight(), 0.001);
+        assertEquals(57, summary.getWorkoutsCompleted());
+    }
+
+    @Test
+    @DisplayName("Should calculate weight progress from history")
+    void shouldCalculateWeightProgressFromHistory() {
+        // Given
+        store.record(memberId, START, 90.0, 25.0, 0);
+        store.record(memberId, START.plusDays(30), 85.0, 23.0, 12);
+        ProgressSummary summary = store.summarize(memberId, START, START.plusDays(30));
+        ProgressMetrics current = store.getLatest(memberId).orElseThrow();
+
+        // When
+        double progress = current.calculateWeightProgress(80.0, summary);
+
+        // Then
+        assertEquals(50.0, progress, 0.001);
+    }
+}
@@ -0,0 +1,147 @@
+package hyminh.uth.domain.store;
+
+import hyminh.uth.domain.valueobject.MemberId;
+import hyminh.uth.domain.valueobject.PersonalRecord;
+import hyminh.uth.domain.valueobject.WorkoutSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WorkoutLogStore.
+ * This class contains test cases for set logging, personal record detection, estimated
+ * one-repetition maximums and weekly volume.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Workout Log Store Tests")
+class WorkoutLogStoreTest {
+
+    // 2024-01-01 is a Monday
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2024, 1, 1, 18, 0);
+    private static final String BENCH_PRESS = "EX-001";
+    private static final String PULL_UP = "EX-002";
+
+    private WorkoutLogStore store;
+    private MemberId memberId;
+
+    @BeforeEach
+    void setUp() {
+        store = new WorkoutLogStore();
+        memberId = new MemberId("MEM-000001");
+    }
+
+    @Test
+    @DisplayName("Should detect personal records as sets arrive")
+    void shouldDetectPersonalRecords() {
+        // When
+        List<PersonalRecord> first = store.logSet(memberId, BENCH_PRESS, MONDAY, 5, 80.0);
+        List<PersonalRecord> same = store.logSet(memberId, BENCH_PRESS, MONDAY.plusMinutes(3), 5, 80.0);
+        List<PersonalRecord> heavier = store.logSet(memberId, BENCH_PRESS, MONDAY.plusMinutes(6), 3, 85.0);
+        List<PersonalRecord> longer = store.logSet(memberId, BENCH_PRESS, MONDAY.plusMinutes(9), 10, 70.0);
+
+        // Then
+        assertTrue(first.isEmpty());
+        assertTrue(same.isEmpty());
+        // 85 × (1 + 3/30) = 93.5 beats 80 × (1 + 5/30) = 93.33
+        assertEquals(List.of(PersonalRecord.Type.MAX_WEIGHT, PersonalRecord.Type.ESTIMATED_ONE_REP_MAX),
+                heavier.stream().map(PersonalRecord::getType).toList());
+        assertEquals(85.0, heavier.get(0).getValue(), 0.001);
+        assertEquals(80.0, heavier.get(0).getPreviousValue(), 0.001);
+        // 70 × (1 + 10/30) = 93.33 does not beat 93.5, only the reps are a record
+        assertEquals(List.of(PersonalRecord.Type.MAX_REPS), longer.stream().map(PersonalRecord::getType).toList());
+        assertEquals(3, store.getPersonalRecords(memberId, BENCH_PRESS).size());
+        assertEquals(93.5, store.getBestEstimatedOneRepMax(memberId, BENCH_PRESS).orElseThrow(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should estimate the one-repetition maximum only from short sets")
+    void shouldEstimateOneRepMax() {
+        // When
+        store.logSet(memberId, PULL_UP, MONDAY, 15, 0.0);
+        store.logSet(memberId, BENCH_PRESS, MONDAY, 15, 60.0);
+        store.logSet(new WorkoutSet(memberId, BENCH_PRESS, MONDAY.plusDays(2), 1, 100.0));
+
+        // Then
+        assertTrue(store.getBestEstimatedOneRepMax(memberId, PULL_UP).isEmpty());
+        assertTrue(store.getBestEstimatedOneRepMax(memberId, BENCH_PRESS, MONDAY.toLocalDate(),
+                MONDAY.toLocalDate()).isEmpty());
+        assertEquals(Map.of(BENCH_PRESS, 100.0), store.getBestEstimatedOneRepMaxes(memberId));
+        assertTrue(store.getBestEstimatedOneRepMax(new MemberId("MEM-000002"), BENCH_PRESS).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should answer best estimates over date ranges spanning many chunks")
+    void shouldAnswerRangeQueriesAcrossChunks() {
+        // Given - 3 years of one set a day with a slowly rising weight
+        int days = 3 * 365;
+        for (int day = 0; day < days; day++) {
+            store.logSet(memberId, BENCH_PRESS, MONDAY.plusDays(day), 1, 50.0 + day * 0.05);
+        }
+
+        // When
+        double best = store.getBestEstimatedOneRepMax(memberId, BENCH_PRESS,
+                MONDAY.toLocalDate().plusDays(100), MONDAY.toLocalDate().plusDays(900)).orElseThrow();
+
+        // Then
+        assertEquals(50.0 + 900 * 0.05, best, 0.001);
+        assertEquals(days, store.getSetCount(memberId, BENCH_PRESS));
+        assertEquals(3, store.getSets(memberId, BENCH_PRESS, MONDAY.toLocalDate().plusDays(510),
+                MONDAY.toLocalDate().plusDays(512)).size());
+        assertEquals(50.0 + (days - 1) * 0.05, store.getBestEstimatedOneRepMax(memberId, BENCH_PRESS).orElseThrow(),
+                0.001);
+    }
+
+    @Test
+    @DisplayName("Should sum volume per week for the member and per exercise")
+    void shouldTrackWeeklyVolume() {
+        // Given
+        store.logSet(memberId, BENCH_PRESS, MONDAY, 5, 80.0);
+        store.logSet(memberId, BENCH_PRESS, MONDAY.plusDays(6).withHour(23), 10, 60.0);
+        store.logSet(memberId, BENCH_PRESS, MONDAY.plusDays(7), 5, 82.5);
+        store.logSet(memberId, PULL_UP, MONDAY.minusDays(1), 8, 10.0);
+
+        // When
+        Map<LocalDate, Double> weeks = store.getWeeklyVolumes(memberId, LocalDate.of(2023, 12, 31),
+                LocalDate.of(2024, 1, 16));
+
+        // Then
+        assertEquals(List.of(LocalDate.of(2023, 12, 25), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 8),
+                LocalDate.of(2024, 1, 15)), List.copyOf(weeks.keySet()));
+        assertEquals(List.of(80.0, 1_000.0, 412.5, 0.0), List.copyOf(weeks.values()));
+        assertEquals(1_000.0, store.getWeeklyVolume(memberId, LocalDate.of(2024, 1, 3)), 0.001);
+        assertEquals(412.5, store.getWeeklyVolume(memberId, BENCH_PRESS, LocalDate.of(2024, 1, 14)), 0.001);
+        assertEquals(0.0, store.getWeeklyVolume(memberId, PULL_UP, LocalDate.of(2024, 1, 3)), 0.001);
+        assertEquals(1_412.5, store.getTotalVolume(memberId, BENCH_PRESS), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid and out-of-order sets")
+    void shouldRejectInvalidSets() {
+        // Given
+        store.logSet(memberId, BENCH_PRESS, MONDAY, 5, 80.0);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> store.logSet(memberId, BENCH_PRESS, MONDAY.minusMinutes(1), 5, 80.0));
+        assertThrows(IllegalArgumentException.class, () -> store.logSet(memberId, BENCH_PRESS, MONDAY, 0, 80.0));
+        assertThrows(IllegalArgumentException.class, () -> store.logSet(memberId, BENCH_PRESS, MONDAY, 5, -1.0));
+        assertThrows(IllegalArgumentException.class, () -> store.logSet(memberId, BENCH_PRESS, MONDAY, 5, 20_000.0));
+        assertThrows(IllegalArgumentException.class, () -> store.logSet(memberId, BENCH_PRESS, MONDAY, 5, Double.NaN));
+        assertThrows(IllegalArgumentException.class,
+                () -> store.logSet(memberId, BENCH_PRESS, MONDAY, 5, Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class,
+                () -> new WorkoutSet(memberId, BENCH_PRESS, MONDAY, 5, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> store.logSet(null));
+        assertThrows(IllegalArgumentException.class, () -> store.getWeeklyVolumes(memberId,
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)));
+        assertEquals(1, store.getSetCount(memberId, BENCH_PRESS));
+        assertDoesNotThrow(() -> store.logSet(memberId, PULL_UP, MONDAY.minusDays(1), 5, 0.0));
+    }
+}
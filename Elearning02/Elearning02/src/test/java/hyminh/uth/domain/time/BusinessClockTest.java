@@ -0,0 +1,94 @@
+package hyminh.uth.domain.time;
+
+import hyminh.uth.domain.entity.Subscription;
+import hyminh.uth.domain.valueobject.SubscriptionPlan;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BusinessClock.
+ * This class contains test cases for the cached business day and clock injection.
+ *
+ * @author Gym Management System
+ * @version 1.0
+ */
+@DisplayName("Business Clock Tests")
+class BusinessClockTest {
+
+    @AfterEach
+    void tearDown() {
+        BusinessClock.reset();
+    }
+
+    @Test
+    @DisplayName("Should tick to the next day at midnight")
+    void shouldTickAtMidnight() {
+        // Given
+        MutableClock source = new MutableClock(Instant.parse("2024-03-10T23:59:59Z"));
+        BusinessClock clock = new BusinessClock(source);
+        LocalDate before = clock.currentDate();
+
+        // When
+        source.advance(Duration.ofSeconds(1));
+
+        // Then
+        assertEquals(LocalDate.of(2024, 3, 10), before);
+        assertEquals(LocalDate.of(2024, 3, 11), clock.currentDate());
+    }
+
+    @Test
+    @DisplayName("Should make subscription expiry deterministic when installed")
+    void shouldDriveEntityDateLogic() {
+        // Given
+        BusinessClock.install(BusinessClock.fixed(LocalDate.of(2024, 1, 1)));
+        SubscriptionPlan plan = SubscriptionPlan.createBasic("PLAN-001", "Basic Plan", 1, 29.99);
+        Subscription subscription = new Subscription("SUB-001", plan, LocalDate.of(2024, 1, 1));
+
+        // When
+        BusinessClock.install(BusinessClock.fixed(LocalDate.of(2024, 2, 2)));
+
+        // Then
+        assertEquals(LocalDate.of(2024, 1, 1), subscription.getCreatedAt());
+        assertTrue(subscription.isExpired());
+        assertFalse(subscription.isActive());
+        assertEquals(0, subscription.getDaysRemaining());
+    }
+
+    /**
+     * Test clock whose instant can be moved forward.
+     */
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}